@@ -111,6 +111,7 @@ import io.agentscope.core.skill.repository.AgentSkillRepository;
 import io.agentscope.core.state.AgentState;
 import io.agentscope.core.state.AgentStateStore;
 import io.agentscope.core.state.LegacyStateLoader;
+import io.agentscope.core.state.ReactiveAgentStateStore;
 import io.agentscope.core.tool.AgentTool;
 import io.agentscope.core.tool.ToolBase;
 import io.agentscope.core.tool.ToolCallParam;
@@ -123,9 +124,11 @@ import io.agentscope.core.util.JsonSchemaUtils;
 import io.agentscope.core.util.JsonUtils;
 import io.agentscope.core.util.MessageUtils;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -144,6 +147,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.context.ContextView;
 
 /**
  * ReAct (Reasoning and Acting) Agent implementation.
@@ -236,14 +240,27 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
     private final List<MiddlewareBase> middlewares;
     private final boolean enablePendingToolRecovery;
 
+    /**
+     * Whether read-only tool calls are started while the model is still streaming; see {@link
+     * Builder#speculativeToolExecution(boolean)}.
+     */
+    private final boolean speculativeToolExecution;
+
     // ==================== Persistence ====================
 
     private final AgentStateStore stateStore;
 
+    /**
+     * Non-blocking view of {@link #stateStore} used on the call path (per-call load and save), so
+     * a slow store round-trip never parks the thread running the call. {@code null} when no store
+     * is configured.
+     */
+    private final ReactiveAgentStateStore reactiveStateStore;
+
     /**
      * Builder-time fallback {@code sessionId}, used only when a call does not supply a
      * {@code sessionId} via its {@link RuntimeContext}. Each call still picks its own active slot
-     * (see {@link #activateSlotForContext(RuntimeContext)}); this is only the fallback when RC
+     * (see {@link #activateSlotForContext(RuntimeContext, AgentState)}); this is only the fallback when RC
      * carries no per-call session identity.
      */
     private final String defaultSessionId;
@@ -258,15 +275,13 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
     /** Active per-call RuntimeContext, set during call lifecycle only. */
     private volatile RuntimeContext activeRc;
 
-    /** Cache of state per {@code (userId, sessionId)} slot key. */
-    private final ConcurrentHashMap<String, AgentState> stateCache = new ConcurrentHashMap<>();
-
     /**
-     * Per-slot permission engine cache: runtime-added ASK rules accumulate within the owning
-     * slot rather than leaking across users / sessions.
+     * Cache of state and permission engine per {@code (userId, sessionId)} slot key. Runtime-added
+     * ASK rules accumulate within the owning slot rather than leaking across users / sessions.
+     * Bounded (LRU by session count and total context size, plus idle expiry) when a store is
+     * configured; unbounded otherwise, since it is then the only copy of each session.
      */
-    private final ConcurrentHashMap<String, PermissionEngine> permissionEngineCache =
-            new ConcurrentHashMap<>();
+    private final SessionStateCache stateCache;
 
     private final ModelConfig modelConfig;
     private final ReactConfig reactConfig;
@@ -297,12 +312,21 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         this.generateOptions = builder.generateOptions;
         this.toolExecutionContext = builder.toolExecutionContext;
         this.enablePendingToolRecovery = builder.enablePendingToolRecovery;
+        this.speculativeToolExecution = builder.speculativeToolExecution;
         List<MiddlewareBase> mws = new ArrayList<>();
         mws.add(new GracefulShutdownMiddleware(shutdownManager));
         mws.addAll(builder.middlewares);
         this.middlewares = List.copyOf(mws);
 
         this.stateStore = builder.stateStore;
+        this.reactiveStateStore = reactiveViewOf(builder.stateStore);
+        this.stateCache =
+                builder.stateStore != null
+                        ? SessionStateCache.bounded(
+                                builder.stateCacheMaxSessions,
+                                builder.stateCacheMaxWeight,
+                                builder.stateCacheExpireAfterAccess)
+                        : SessionStateCache.unbounded();
         this.defaultSessionId =
                 builder.defaultSessionId != null && !builder.defaultSessionId.isBlank()
                         ? builder.defaultSessionId
@@ -367,20 +391,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         try {
             return stateStore
                     .get(userId, sessionId, "agent_state", AgentState.class)
-                    .orElseGet(
-                            () -> {
-                                AgentState legacy =
-                                        LegacyStateLoader.loadFromLegacySession(
-                                                stateStore, userId, sessionId);
-                                if (legacy != null
-                                        && (!legacy.getContext().isEmpty()
-                                                || !legacy.getToolContext()
-                                                        .getActivatedGroups()
-                                                        .isEmpty())) {
-                                    return legacy;
-                                }
-                                return fresh;
-                            });
+                    .orElseGet(() -> legacyOrFresh(stateStore, userId, sessionId, fresh));
         } catch (Exception e) {
             log.warn(
                     "Failed to load AgentState for slot (userId={}, sessionId={}): {}",
@@ -391,6 +402,41 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         }
     }
 
+    /**
+     * Non-blocking counterpart of {@link #loadOrCreateAgentStateForSlot}: reads the
+     * {@code agent_state} entry through {@link #reactiveStateStore}, falling back to the legacy
+     * keys (offloaded, since {@link LegacyStateLoader} is blocking) and finally a fresh state.
+     */
+    private Mono<AgentState> loadOrCreateAgentStateForSlotAsync(String userId, String sessionId) {
+        AgentState fresh = freshState(initialPermissionContext, getAgentId(), userId, sessionId);
+        return reactiveStateStore
+                .get(userId, sessionId, "agent_state", AgentState.class)
+                .switchIfEmpty(
+                        Mono.fromCallable(() -> legacyOrFresh(stateStore, userId, sessionId, fresh))
+                                .subscribeOn(Schedulers.boundedElastic()))
+                .onErrorResume(
+                        e -> {
+                            log.warn(
+                                    "Failed to load AgentState for slot (userId={}, sessionId={}):"
+                                            + " {}",
+                                    userId,
+                                    sessionId,
+                                    e.getMessage());
+                            return Mono.just(fresh);
+                        });
+    }
+
+    private static AgentState legacyOrFresh(
+            AgentStateStore stateStore, String userId, String sessionId, AgentState fresh) {
+        AgentState legacy = LegacyStateLoader.loadFromLegacySession(stateStore, userId, sessionId);
+        if (legacy != null
+                && (!legacy.getContext().isEmpty()
+                        || !legacy.getToolContext().getActivatedGroups().isEmpty())) {
+            return legacy;
+        }
+        return fresh;
+    }
+
     private static AgentState freshState(
             PermissionContextState permCtx, String agentId, String userId, String sessionId) {
         AgentState.Builder asb =
@@ -415,10 +461,14 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         }
         syncToolkitToState(scope.state);
         SlotRef ref = SlotRef.parse(scope.slotKey);
-        AgentState toSave = scope.state;
-        return Mono.<Void>fromRunnable(
-                        () -> stateStore.save(ref.userId, ref.sessionId, "agent_state", toSave))
-                .subscribeOn(Schedulers.boundedElastic());
+        AgentState state = scope.state;
+        // Re-validate the cached state against the version the store reports after our write,
+        // so the next call on this slot can skip the reload if nobody else writes in between.
+        return reactiveStateStore
+                .save(ref.userId, ref.sessionId, "agent_state", state)
+                .then(reactiveStateStore.version(ref.userId, ref.sessionId, "agent_state"))
+                .doOnNext(version -> stateCache.updateVersion(scope.slotKey, state, version))
+                .then();
     }
 
     /**
@@ -429,12 +479,15 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
      * <p>When a {@link AgentStateStore} is configured the state is always reloaded from the store
      * at the beginning of each call so that distributed deployments (where the same sessionId may
      * drift across machines) see the latest persisted state rather than a stale local cache entry.
-     * The per-call cost of one store read is negligible compared to the LLM round-trip.
+     * On the {@code call()} path that read has already happened without blocking in
+     * {@link #prepareAgentExecution(List, RuntimeContext)} and arrives here as {@code preloaded}
+     * (the cached instance itself when the store's version token shows it is unchanged); a
+     * {@code null} {@code preloaded} falls back to a synchronous load.
      *
      * <p>Safe to call from {@code beforeAgentExecution} only — caller must hold the
      * {@code AgentBase.acquireExecution} lock.
      */
-    private CallExecution activateSlotForContext(RuntimeContext ctx) {
+    private CallExecution activateSlotForContext(RuntimeContext ctx, AgentState preloaded) {
         String sid = ctx != null ? ctx.getSessionId() : null;
         if (sid == null || sid.isBlank()) {
             sid = defaultSessionId;
@@ -446,14 +499,22 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         AgentState loaded;
         if (stateStore != null) {
             loaded =
-                    loadOrCreateAgentStateForSlot(
-                            stateStore, finalUid, finalSid, initialPermissionContext, getAgentId());
-            stateCache.put(slot, loaded);
+                    preloaded != null
+                            ? preloaded
+                            : loadOrCreateAgentStateForSlot(
+                                    stateStore,
+                                    finalUid,
+                                    finalSid,
+                                    initialPermissionContext,
+                                    getAgentId());
+            // Clears the version token: only a successful save at the end of this call
+            // re-validates the cached state.
+            stateCache.putState(slot, loaded);
         } else {
             loaded =
-                    stateCache.computeIfAbsent(
+                    stateCache.computeStateIfAbsent(
                             slot,
-                            k ->
+                            () ->
                                     loadOrCreateAgentStateForSlot(
                                             null,
                                             finalUid,
@@ -461,15 +522,10 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                                             initialPermissionContext,
                                             getAgentId()));
         }
-        PermissionEngine loadedEngine;
-        if (stateStore != null) {
-            loadedEngine = new PermissionEngine(loaded.getPermissionContext());
-            permissionEngineCache.put(slot, loadedEngine);
-        } else {
-            loadedEngine =
-                    permissionEngineCache.computeIfAbsent(
-                            slot, k -> new PermissionEngine(loaded.getPermissionContext()));
-        }
+        PermissionEngine loadedEngine =
+                stateCache.computeEngineIfAbsent(
+                        slot, loaded, () -> new PermissionEngine(loaded.getPermissionContext()));
+        stateCache.pin(slot);
         CallExecution scope = new CallExecution(loaded, loadedEngine, slot);
         if (toolkit != null) {
             toolkit.setActiveGroups(loaded.getToolContext().getActivatedGroups());
@@ -507,8 +563,56 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         return slotKey(uid, sid);
     }
 
+    /**
+     * Returns the reactive view of {@code store}, falling back to the offloading adapter for
+     * stores (such as proxies) whose {@link AgentStateStore#reactive()} yields {@code null}.
+     */
+    private static ReactiveAgentStateStore reactiveViewOf(AgentStateStore store) {
+        if (store == null) {
+            return null;
+        }
+        ReactiveAgentStateStore reactive = store.reactive();
+        return reactive != null ? reactive : ReactiveAgentStateStore.offloading(store);
+    }
+
+    /**
+     * Loads the call's session state through the {@link ReactiveAgentStateStore} before the call
+     * body runs, so the store round-trip does not block the thread driving the call. Completes
+     * empty when no store is configured (the slot is then served from the local cache).
+     */
+    @Override
+    protected Mono<Object> prepareAgentExecution(List<Msg> msgs, RuntimeContext rc) {
+        if (reactiveStateStore == null) {
+            return Mono.empty();
+        }
+        String sid = rc != null ? rc.getSessionId() : null;
+        if (sid == null || sid.isBlank()) {
+            sid = defaultSessionId;
+        }
+        String uid = rc != null ? rc.getUserId() : null;
+        SessionStateCache.Cached cached = stateCache.lookup(slotKey(uid, sid));
+        Mono<AgentState> load = loadOrCreateAgentStateForSlotAsync(uid, sid);
+        if (cached == null || cached.version() == null) {
+            return load.map(state -> (Object) state);
+        }
+        // Hot session: a matching version token means the store still holds exactly what this
+        // agent last saved, so the cached instance is reused instead of re-reading the state.
+        return reactiveStateStore
+                .version(uid, sid, "agent_state")
+                .onErrorResume(e -> Mono.empty())
+                .filter(cached.version()::equals)
+                .map(v -> cached.state())
+                .switchIfEmpty(load)
+                .map(state -> (Object) state);
+    }
+
     @Override
     protected Object beforeAgentExecution(List<Msg> msgs, RuntimeContext rc) {
+        return beforeAgentExecution(msgs, rc, null);
+    }
+
+    @Override
+    protected Object beforeAgentExecution(List<Msg> msgs, RuntimeContext rc, Object prepared) {
         RuntimeContext ctx = rc;
         if (ctx == null) {
             ctx = RuntimeContext.empty();
@@ -518,7 +622,8 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         // that slot's cached state / permissionEngine. The returned reference is the authoritative
         // per-call scope (carried on the Reactor Context); the instance field is only a
         // side-channel default for out-of-call accessors.
-        CallExecution scope = activateSlotForContext(ctx);
+        CallExecution scope =
+                activateSlotForContext(ctx, prepared instanceof AgentState s ? s : null);
         // Expose the call-scoped AgentState on the RuntimeContext so middlewares / tools resolve
         // the active session's state via rc.getAgentState() (call-scoped, concurrency-safe)
         // rather than agent.getAgentState() (not call-scoped under concurrency).
@@ -604,6 +709,14 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         unbindRuntimeContextFromHooks();
     }
 
+    @Override
+    protected void releaseAgentExecution(Object scope) {
+        if (scope instanceof CallExecution ce) {
+            ce.cancelSpeculation();
+            stateCache.unpin(ce.slotKey);
+        }
+    }
+
     private RuntimeContext buildMergedRuntimeContext(RuntimeContext run) {
         if (run == null) {
             if (toolExecutionContext != null) {
@@ -696,7 +809,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
     @Deprecated
     @Override
     public void interrupt(InterruptSource source) {
-        AgentState target = stateCache.get(slotKey(null, defaultSessionId));
+        AgentState target = stateCache.getState(slotKey(null, defaultSessionId));
         if (target != null) {
             target.interruptControl().trigger(source, null);
         }
@@ -1378,7 +1491,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
      * {@link AgentState} + {@link PermissionEngine} + slot key, and hosts the entire ReAct
      * reasoning loop. Non-static inner class so the loop references the enclosing agent's
      * immutable config ({@code model}, {@code toolkit}, {@code middlewares}, …) and lifecycle
-     * helpers directly. Built per-call by {@link #activateSlotForContext(RuntimeContext)}.
+     * helpers directly. Built per-call by {@link #activateSlotForContext(RuntimeContext, AgentState)}.
      */
     final class CallExecution {
         AgentState state;
@@ -1433,6 +1546,12 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         /** Native structured-output format set on the per-call scope for native-path calls. */
         ResponseFormat nativeResponseFormat;
 
+        /**
+         * Tool calls started during the current reasoning round when speculative tool execution
+         * is enabled; claimed by the following acting phase. {@code null} otherwise.
+         */
+        SpeculativeToolCalls speculativeToolCalls;
+
         CallExecution(AgentState state, PermissionEngine permissionEngine, String slotKey) {
             this.state = state;
             this.permissionEngine = permissionEngine;
@@ -1887,6 +2006,10 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             }
 
             ReasoningContext context = new ReasoningContext(getName());
+            cancelSpeculation();
+            if (speculativeToolExecution) {
+                speculativeToolCalls = new SpeculativeToolCalls();
+            }
 
             return checkInterrupted()
                     .then(
@@ -2123,6 +2246,14 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                                                             : new ConcurrentHashMap<>(),
                                                     events);
                                         }
+                                        SpeculativeToolCalls speculation = speculativeToolCalls;
+                                        if (withToolEvents && speculation != null) {
+                                            return Flux.deferContextual(
+                                                    ctx -> {
+                                                        speculate(context, speculation, ctx);
+                                                        return Flux.fromIterable(events);
+                                                    });
+                                        }
                                         return Flux.fromIterable(events);
                                     });
 
@@ -2190,6 +2321,52 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             }
         }
 
+        /**
+         * Starts every tool call whose arguments just finished streaming, provided its tool is a
+         * read-only, concurrency-safe {@link ToolBase} that the permission gate would allow right
+         * now. The acting phase later adopts the result if the call reaches it unchanged.
+         */
+        private void speculate(
+                ReasoningContext context, SpeculativeToolCalls speculation, ContextView ctx) {
+            List<ToolUseBlock> completed = context.pollCompletedToolCalls();
+            if (completed.isEmpty()) {
+                return;
+            }
+            boolean useEngine = !state.getPermissionContext().isTrivial();
+            for (ToolUseBlock call : completed) {
+                if (STRUCTURED_OUTPUT_TOOL_NAME.equals(call.getName())
+                        || !(toolkit.getTool(call.getName()) instanceof ToolBase tb)
+                        || !tb.isReadOnly()
+                        || !tb.isConcurrencySafe()
+                        || tb.isExternalTool()) {
+                    continue;
+                }
+                speculation.start(
+                        call,
+                        evaluateOne(call, useEngine)
+                                .filter(v -> v.behavior() == PermissionBehavior.ALLOW)
+                                .flatMap(v -> callTool(call))
+                                .contextWrite(c -> c.putAll(ctx)));
+            }
+        }
+
+        private void cancelSpeculation() {
+            SpeculativeToolCalls speculation = speculativeToolCalls;
+            speculativeToolCalls = null;
+            if (speculation != null) {
+                speculation.cancelAll();
+            }
+        }
+
+        private Mono<ToolResultBlock> callTool(ToolUseBlock call) {
+            return toolkit.callTools(
+                            List.of(call),
+                            toolExecutionConfig,
+                            ReActAgent.this,
+                            buildMergedRuntimeContext(rc))
+                    .map(results -> results.get(0));
+        }
+
         private String resolveToolCallId(ToolUseBlock tub, ReasoningContext context) {
             if (tub.getId() != null && !tub.getId().isEmpty()) {
                 return tub.getId();
@@ -2736,7 +2913,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
          */
         private Mono<List<Map.Entry<ToolUseBlock, ToolResultBlock>>> executeToolCalls(
                 List<ToolUseBlock> toolCalls) {
-            return dispatchToolCalls(toolCalls)
+            return dispatchWithSpeculation(toolCalls)
                     .map(
                             results ->
                                     IntStream.range(0, toolCalls.size())
@@ -2779,6 +2956,53 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                             });
         }
 
+        /**
+         * Resolve tool results for {@code toolCalls}, in the same order, adopting results of calls
+         * already started by {@link #speculate} and dispatching the rest. A speculative call that
+         * was not run (e.g. not permitted at stream time) is executed on its own.
+         */
+        private Mono<List<ToolResultBlock>> dispatchWithSpeculation(List<ToolUseBlock> toolCalls) {
+            SpeculativeToolCalls speculation = speculativeToolCalls;
+            speculativeToolCalls = null;
+            if (speculation == null || speculation.isEmpty()) {
+                return dispatchToolCalls(toolCalls);
+            }
+            List<Mono<ToolResultBlock>> adopted = new ArrayList<>(toolCalls.size());
+            List<ToolUseBlock> rest = new ArrayList<>();
+            for (ToolUseBlock call : toolCalls) {
+                Mono<ToolResultBlock> result = speculation.claim(call);
+                adopted.add(
+                        result == null
+                                ? null
+                                : result.switchIfEmpty(Mono.defer(() -> callTool(call))));
+                if (result == null) {
+                    rest.add(call);
+                }
+            }
+            speculation.cancelAll();
+            if (rest.size() == toolCalls.size()) {
+                return dispatchToolCalls(toolCalls);
+            }
+            Mono<List<ToolResultBlock>> restResults =
+                    rest.isEmpty() ? Mono.just(List.of()) : dispatchToolCalls(rest);
+            Mono<List<ToolResultBlock>> adoptedResults =
+                    Flux.fromIterable(adopted)
+                            .filter(Objects::nonNull)
+                            .flatMapSequential(Function.identity())
+                            .collectList();
+            return Mono.zip(restResults, adoptedResults)
+                    .map(
+                            t -> {
+                                Iterator<ToolResultBlock> fromRest = t.getT1().iterator();
+                                Iterator<ToolResultBlock> fromAdopted = t.getT2().iterator();
+                                List<ToolResultBlock> merged = new ArrayList<>(toolCalls.size());
+                                for (Mono<ToolResultBlock> a : adopted) {
+                                    merged.add(a == null ? fromRest.next() : fromAdopted.next());
+                                }
+                                return merged;
+                            });
+        }
+
         /**
          * Resolve tool results for {@code toolCalls}, in the same order. When this call is a
          * structured-output call, any {@code generate_response} invocations are executed against
@@ -3361,9 +3585,9 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
      */
     public AgentState getAgentState(String userId, String sessionId) {
         String slot = slotKey(userId, sessionId);
-        return stateCache.computeIfAbsent(
+        return stateCache.computeStateIfAbsent(
                 slot,
-                k ->
+                () ->
                         loadOrCreateAgentStateForSlot(
                                 stateStore,
                                 userId,
@@ -3372,6 +3596,27 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
                                 getAgentId()));
     }
 
+    /**
+     * Replaces the cached {@link AgentState} of the given {@code (userId, sessionId)} slot with a
+     * fresh one, as built for a session this agent has never seen, and drops the slot's cached
+     * {@link PermissionEngine}. Conversation, permission grants, tool context (read-file cache,
+     * activated groups, spawn registry) and interrupt flags all start over. The configured
+     * {@link AgentStateStore}, if any, is not touched, so the next call on the slot reloads
+     * whatever it holds.
+     *
+     * <p>Used to recycle an agent instance between unrelated runs. Must not be called while a
+     * call on the slot is in flight.
+     *
+     * @param userId user identity for the slot (may be {@code null})
+     * @param sessionId session identity (falls back to the default session id when {@code null})
+     */
+    public void resetSession(String userId, String sessionId) {
+        String sid = (sessionId == null || sessionId.isBlank()) ? defaultSessionId : sessionId;
+        stateCache.putState(
+                slotKey(userId, sid),
+                freshState(initialPermissionContext, getAgentId(), userId, sid));
+    }
+
     /**
      * Switches the {@link PermissionMode} for the given {@code (userId, sessionId)} session at
      * runtime and rebuilds that session's cached {@link PermissionEngine} so the change takes
@@ -3397,7 +3642,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         String slot = slotKey(userId, sid);
         AgentState s = getAgentState(userId, sid);
         s.setPermissionContext(s.getPermissionContext().withMode(mode));
-        permissionEngineCache.put(slot, new PermissionEngine(s.getPermissionContext()));
+        stateCache.putEngine(slot, new PermissionEngine(s.getPermissionContext()));
         saveAgentState(userId, sid);
     }
 
@@ -3452,9 +3697,11 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             return;
         }
         String slot = slotKey(userId, sessionId);
-        AgentState s = stateCache.get(slot);
+        AgentState s = stateCache.getState(slot);
         if (s != null) {
             stateStore.save(userId, sessionId, "agent_state", s);
+            stateCache.updateVersion(
+                    slot, s, stateStore.version(userId, sessionId, "agent_state").orElse(null));
         }
     }
 
@@ -3492,8 +3739,8 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
     public PermissionEngine getPermissionEngine() {
         String slot = slotKey(null, defaultSessionId);
         AgentState s = getAgentState(null, defaultSessionId);
-        return permissionEngineCache.computeIfAbsent(
-                slot, k -> new PermissionEngine(s.getPermissionContext()));
+        return stateCache.computeEngineIfAbsent(
+                slot, s, () -> new PermissionEngine(s.getPermissionContext()));
     }
 
     /** @deprecated Use {@code getAgentState(userId, sessionId).getPermissionContext()} instead. */
@@ -3565,6 +3812,7 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         private boolean taskListEnabled = false;
         private ToolExecutionContext toolExecutionContext;
         private boolean enablePendingToolRecovery = false;
+        private boolean speculativeToolExecution = false;
 
         // 2.0 core fields
         private PermissionContextState permissionContext;
@@ -3575,6 +3823,10 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
         private Boolean flatStopOnReject;
         private AgentStateStore stateStore;
         private String defaultSessionId;
+        private int stateCacheMaxSessions = SessionStateCache.DEFAULT_MAX_SESSIONS;
+        private long stateCacheMaxWeight = SessionStateCache.DEFAULT_MAX_WEIGHT;
+        private Duration stateCacheExpireAfterAccess =
+                SessionStateCache.DEFAULT_EXPIRE_AFTER_ACCESS;
 
         // ==================== 1.x legacy compatibility fields ====================
         // Below fields back the deprecated `longTermMemory(...)`, `knowledge(...)`,
@@ -3827,6 +4079,28 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Enables or disables speculative tool execution.
+         *
+         * <p>When enabled, a tool call is started as soon as its arguments have finished
+         * streaming, while the model is still producing the rest of the response, instead of
+         * waiting for the acting phase. Only tools that are {@link ToolBase#isReadOnly() read-only}
+         * and {@link ToolBase#isConcurrencySafe() concurrency-safe}, and that the permission gate
+         * allows without asking, are started early. The acting phase adopts their results in call
+         * order if the calls reach it unchanged; calls modified by hooks or middleware, or dropped
+         * before acting, are cancelled and their results discarded.
+         *
+         * <p>Tool output streamed while a call runs speculatively is not forwarded as delta
+         * events; its complete result is emitted when acting starts. Default OFF.
+         *
+         * @param enable true to start eligible tool calls while the model is streaming
+         * @return This builder instance for method chaining
+         */
+        public Builder speculativeToolExecution(boolean enable) {
+            this.speculativeToolExecution = enable;
+            return this;
+        }
+
         /**
          * Sets the execution configuration for model API calls.
          *
@@ -3927,6 +4201,23 @@ public class ReActAgent extends AgentBase implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Bounds the per-session state cache kept when a {@link #stateStore(AgentStateStore)} is
+         * configured. Least-recently-used sessions are evicted once more than {@code maxSessions}
+         * sessions or more than {@code maxMessages} context messages (summed over sessions) are
+         * cached, and sessions idle for longer than {@code expireAfterAccess} are dropped; an
+         * evicted session is reloaded from the store on its next call. Sessions with a call in
+         * flight are never evicted. Defaults: 10,000 sessions, 1,000,000 messages, 30 minutes.
+         * Without a store the cache is the only copy of each session and is never bounded.
+         */
+        public Builder stateCache(int maxSessions, long maxMessages, Duration expireAfterAccess) {
+            this.stateCacheMaxSessions = maxSessions;
+            this.stateCacheMaxWeight = maxMessages;
+            this.stateCacheExpireAfterAccess =
+                    Objects.requireNonNull(expireAfterAccess, "expireAfterAccess must not be null");
+            return this;
+        }
+
         /**
          * Sets the model-call retry budget (max attempts including the first try). Defaults to
          * {@link ModelConfig#DEFAULT_MAX_RETRIES} when unset.
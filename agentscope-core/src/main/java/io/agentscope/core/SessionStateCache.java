@@ -0,0 +1,272 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core;
+
+import io.agentscope.core.permission.PermissionEngine;
+import io.agentscope.core.state.AgentState;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Per-{@code (userId, sessionId)} slot cache of {@link AgentState} and its {@link PermissionEngine}
+ * used by {@link ReActAgent}.
+ *
+ * <p>A <em>bounded</em> cache (used when an {@link io.agentscope.core.state.AgentStateStore} is
+ * configured, so the store stays authoritative) evicts least-recently-used slots once it holds
+ * more than {@code maxSessions} slots or more than {@code maxWeight} context messages in total,
+ * and drops slots idle for longer than {@code expireAfterAccess}. Slots pinned by an in-flight
+ * call are never evicted, so {@code interrupt(userId, sessionId)} always reaches the running
+ * state. An <em>unbounded</em> cache (no store: the cache is the only copy) never evicts.
+ *
+ * <p>Each slot also records the store version token observed after the last successful save.
+ * {@link ReActAgent} compares it with the store's current token to skip reloading unchanged
+ * sessions; the token is cleared while a call runs so a failed call never validates its partial
+ * in-memory state.
+ *
+ * <p>All operations synchronize on the cache; none of them perform I/O.
+ */
+final class SessionStateCache {
+
+    static final int DEFAULT_MAX_SESSIONS = 10_000;
+
+    static final long DEFAULT_MAX_WEIGHT = 1_000_000L;
+
+    static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    private final boolean bounded;
+    private final int maxSessions;
+    private final long maxWeight;
+    private final long expireAfterAccessNanos;
+    private final LongSupplier clock;
+
+    /** Access-ordered: iteration starts at the least-recently-used slot. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalWeight;
+
+    private SessionStateCache(
+            boolean bounded,
+            int maxSessions,
+            long maxWeight,
+            Duration expireAfterAccess,
+            LongSupplier clock) {
+        this.bounded = bounded;
+        this.maxSessions = maxSessions;
+        this.maxWeight = maxWeight;
+        this.expireAfterAccessNanos = expireAfterAccess.toNanos();
+        this.clock = clock;
+    }
+
+    /** Creates a cache that never evicts. */
+    static SessionStateCache unbounded() {
+        return new SessionStateCache(
+                false, Integer.MAX_VALUE, Long.MAX_VALUE, Duration.ZERO, System::nanoTime);
+    }
+
+    /** Creates an evicting cache with the given limits. */
+    static SessionStateCache bounded(int maxSessions, long maxWeight, Duration expireAfterAccess) {
+        return bounded(maxSessions, maxWeight, expireAfterAccess, System::nanoTime);
+    }
+
+    static SessionStateCache bounded(
+            int maxSessions, long maxWeight, Duration expireAfterAccess, LongSupplier clock) {
+        if (maxSessions <= 0) {
+            throw new IllegalArgumentException("maxSessions must be positive");
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        if (expireAfterAccess.isNegative() || expireAfterAccess.isZero()) {
+            throw new IllegalArgumentException("expireAfterAccess must be positive");
+        }
+        return new SessionStateCache(true, maxSessions, maxWeight, expireAfterAccess, clock);
+    }
+
+    /** Cached state and version token of one slot. */
+    record Cached(AgentState state, String version) {}
+
+    /** Returns the cached state of {@code slot}, or {@code null}. */
+    synchronized AgentState getState(String slot) {
+        Entry e = touch(slot);
+        return e != null ? e.state : null;
+    }
+
+    /** Returns the cached state and version token of {@code slot}, or {@code null}. */
+    synchronized Cached lookup(String slot) {
+        Entry e = touch(slot);
+        return e != null ? new Cached(e.state, e.version) : null;
+    }
+
+    /**
+     * Returns the cached state of {@code slot}, loading it with {@code loader} when absent. The
+     * loader runs outside the cache lock; if two threads race, the first stored state wins.
+     */
+    AgentState computeStateIfAbsent(String slot, Supplier<AgentState> loader) {
+        AgentState cached = getState(slot);
+        if (cached != null) {
+            return cached;
+        }
+        AgentState loaded = loader.get();
+        synchronized (this) {
+            Entry e = entries.get(slot);
+            if (e != null) {
+                return e.state;
+            }
+            insert(slot, loaded, null, null);
+            evict();
+            return loaded;
+        }
+    }
+
+    /** Stores {@code state} for {@code slot}, dropping any cached engine and version token. */
+    synchronized void putState(String slot, AgentState state) {
+        Entry e = entries.get(slot);
+        if (e == null) {
+            insert(slot, state, null, null);
+        } else {
+            e.state = state;
+            e.engine = null;
+            e.version = null;
+            touchWeight(e);
+        }
+        evict();
+    }
+
+    /** Returns the engine of {@code slot}, creating it with {@code factory} when absent. */
+    synchronized PermissionEngine computeEngineIfAbsent(
+            String slot, AgentState state, Supplier<PermissionEngine> factory) {
+        Entry e = touch(slot);
+        if (e == null) {
+            e = insert(slot, state, null, null);
+        }
+        if (e.engine == null) {
+            e.engine = factory.get();
+        }
+        PermissionEngine engine = e.engine;
+        evict();
+        return engine;
+    }
+
+    /** Replaces the engine of {@code slot}; no-op if the slot is not cached. */
+    synchronized void putEngine(String slot, PermissionEngine engine) {
+        Entry e = touch(slot);
+        if (e != null) {
+            e.engine = engine;
+        }
+    }
+
+    /**
+     * Records the store version token for {@code slot}, provided it still caches {@code state}.
+     * Pass {@code null} to mark the cached state as unvalidated.
+     */
+    synchronized void updateVersion(String slot, AgentState state, String version) {
+        Entry e = entries.get(slot);
+        if (e != null && e.state == state) {
+            e.version = version;
+        }
+    }
+
+    /** Protects {@code slot} from eviction until the matching {@link #unpin(String)}. */
+    synchronized void pin(String slot) {
+        Entry e = entries.get(slot);
+        if (e != null) {
+            e.pins++;
+        }
+    }
+
+    /** Releases one {@link #pin(String)} and re-weighs the slot, whose context has grown. */
+    synchronized void unpin(String slot) {
+        Entry e = entries.get(slot);
+        if (e != null && e.pins > 0) {
+            e.pins--;
+            touchWeight(e);
+            evict();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry touch(String slot) {
+        Entry e = entries.get(slot);
+        if (e != null) {
+            e.lastAccess = clock.getAsLong();
+        }
+        return e;
+    }
+
+    private Entry insert(String slot, AgentState state, PermissionEngine engine, String version) {
+        Entry e = new Entry(state);
+        e.engine = engine;
+        e.version = version;
+        e.lastAccess = clock.getAsLong();
+        e.weight = weigh(state);
+        totalWeight += e.weight;
+        entries.put(slot, e);
+        return e;
+    }
+
+    private void touchWeight(Entry e) {
+        long weight = weigh(e.state);
+        totalWeight += weight - e.weight;
+        e.weight = weight;
+        e.lastAccess = clock.getAsLong();
+    }
+
+    private void evict() {
+        if (!bounded) {
+            return;
+        }
+        long now = clock.getAsLong();
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry e = it.next().getValue();
+            boolean expired = now - e.lastAccess > expireAfterAccessNanos;
+            boolean overCapacity = entries.size() > maxSessions || totalWeight > maxWeight;
+            if (!expired && !overCapacity) {
+                // Access order: every later slot was used more recently.
+                return;
+            }
+            if (e.pins == 0) {
+                it.remove();
+                totalWeight -= e.weight;
+            }
+        }
+    }
+
+    /** Weight = context length, plus one so empty sessions still count. */
+    private static long weigh(AgentState state) {
+        return state.contextMutable().size() + 1L;
+    }
+
+    private static final class Entry {
+        AgentState state;
+        PermissionEngine engine;
+        String version;
+        int pins;
+        long weight;
+        long lastAccess;
+
+        Entry(AgentState state) {
+            this.state = state;
+        }
+    }
+}
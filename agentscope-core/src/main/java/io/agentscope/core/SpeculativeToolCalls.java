@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core;
+
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Tool calls started by {@link ReActAgent} while the model was still streaming, keyed by tool
+ * call id.
+ *
+ * <p>A speculative result is only handed to the acting phase when the call that finally reaches
+ * it has the same id, name and arguments as the one that was started; calls rewritten by hooks
+ * or middleware, and calls that never reach acting, are cancelled. Only read-only tools are
+ * started this way, so a discarded execution has no effect beyond the wasted work.
+ *
+ * <p>Thread-safe: calls are started from the model stream and claimed from the acting phase.
+ */
+final class SpeculativeToolCalls {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribes to {@code execution} now and keeps its outcome for {@link #claim}. An empty
+     * {@code execution} means the call was not run (for example, it was not permitted) and must
+     * be executed normally.
+     */
+    void start(ToolUseBlock call, Mono<ToolResultBlock> execution) {
+        Sinks.One<ToolResultBlock> result = Sinks.one();
+        Entry entry = new Entry(call, result);
+        if (entries.putIfAbsent(call.getId(), entry) != null) {
+            return;
+        }
+        entry.subscription.update(
+                execution.subscribe(
+                        result::tryEmitValue, result::tryEmitError, result::tryEmitEmpty));
+    }
+
+    /**
+     * Claims the speculative result for {@code call}.
+     *
+     * @return the result, which completes empty if the call was not run; {@code null} if no
+     *     matching call was started
+     */
+    Mono<ToolResultBlock> claim(ToolUseBlock call) {
+        Entry entry = entries.remove(call.getId());
+        if (entry == null) {
+            return null;
+        }
+        if (!matches(entry.call, call)) {
+            entry.cancel();
+            return null;
+        }
+        return entry.result.asMono();
+    }
+
+    /** Cancels every unclaimed call. */
+    void cancelAll() {
+        entries.values()
+                .removeIf(
+                        entry -> {
+                            entry.cancel();
+                            return true;
+                        });
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private static boolean matches(ToolUseBlock started, ToolUseBlock actual) {
+        return Objects.equals(started.getName(), actual.getName())
+                && Objects.equals(started.getInput(), actual.getInput());
+    }
+
+    private static final class Entry {
+        final ToolUseBlock call;
+        final Sinks.One<ToolResultBlock> result;
+
+        /** Disposing it before the subscription is set also disposes that subscription. */
+        final Disposable.Swap subscription = Disposables.swap();
+
+        Entry(ToolUseBlock call, Sinks.One<ToolResultBlock> result) {
+            this.call = call;
+            this.result = result;
+        }
+
+        void cancel() {
+            subscription.dispose();
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -242,6 +243,15 @@ public abstract class AgentBase implements Agent {
     public static final String SHUTDOWN_REQUEST_ID_KEY =
             "io.agentscope.core.agent.AgentBase.shutdownRequestId";
 
+    /**
+     * Reactor Context key carrying how long this call waited, in nanoseconds, behind earlier calls
+     * sharing its {@link #callSerializationKey(RuntimeContext) serialization key} before it was
+     * admitted. Only present for serialized calls; hooks and middlewares running inside the call can
+     * read it (e.g. via {@code Mono.deferContextual}) to observe per-session queueing.
+     */
+    public static final String CALL_QUEUE_WAIT_NANOS_KEY =
+            "io.agentscope.core.agent.AgentBase.callQueueWaitNanos";
+
     /**
      * Shared {@code call()} lifecycle: acquire execution, then (inside {@code deferContextual} so
      * the caller-supplied {@link RuntimeContext} is read per-subscription) run {@link
@@ -301,7 +311,24 @@ public abstract class AgentBase implements Agent {
             RuntimeContext rc,
             Function<List<Msg>, Mono<Msg>> doCallFn,
             String requestId) {
-        Object scope = beforeAgentExecution(msgs, rc);
+        // Non-blocking preparation (e.g. loading the session's persisted state) runs first, still
+        // inside the serialization gate, and its result is handed to beforeAgentExecution.
+        return prepareAgentExecution(msgs, rc)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(
+                        prepared ->
+                                runPreparedLifecycleBody(
+                                        msgs, rc, doCallFn, requestId, prepared.orElse(null)));
+    }
+
+    private Mono<Msg> runPreparedLifecycleBody(
+            List<Msg> msgs,
+            RuntimeContext rc,
+            Function<List<Msg>, Mono<Msg>> doCallFn,
+            String requestId,
+            Object prepared) {
+        Object scope = beforeAgentExecution(msgs, rc, prepared);
         // Bind this call's resolved per-session state to the tracked shutdown request so graceful
         // shutdown interrupts / saves the exact (userId, sessionId) session rather than the agent's
         // no-arg "most-recently-active" accessors.
@@ -318,6 +345,7 @@ public abstract class AgentBase implements Agent {
                                                 .onErrorResume(
                                                         createErrorHandler(
                                                                 msgs.toArray(new Msg[0]))));
+        body = body.doFinally(signal -> releaseAgentExecution(scope));
         return scope == null ? body : body.contextWrite(c -> c.put(CALL_SCOPE_KEY, scope));
     }
 
@@ -339,11 +367,13 @@ public abstract class AgentBase implements Agent {
      * Serializes {@code action} against other actions sharing {@code key}: this call waits for the
      * previously-enqueued call with the same key to terminate before running, then becomes the tail
      * the next same-key call waits on. Releases its slot on any terminal signal (complete, error, or
-     * cancel) so a failed/cancelled call never blocks the queue.
+     * cancel) so a failed/cancelled call never blocks the queue. The time spent waiting is exposed
+     * to the action under {@link #CALL_QUEUE_WAIT_NANOS_KEY}.
      */
     private <T> Mono<T> serializeOnKey(Object key, Mono<T> action) {
         return Mono.defer(
                 () -> {
+                    long enqueuedAt = System.nanoTime();
                     Sinks.Empty<Void> release = Sinks.empty();
                     Mono<Void> releaseMono = release.asMono();
                     @SuppressWarnings("unchecked")
@@ -355,7 +385,16 @@ public abstract class AgentBase implements Agent {
                                 return releaseMono;
                             });
                     return prev[0].onErrorComplete()
-                            .then(action)
+                            .then(
+                                    Mono.defer(
+                                            () -> {
+                                                long waited = System.nanoTime() - enqueuedAt;
+                                                return action.contextWrite(
+                                                        c ->
+                                                                c.put(
+                                                                        CALL_QUEUE_WAIT_NANOS_KEY,
+                                                                        waited));
+                                            }))
                             .doFinally(
                                     sig -> {
                                         release.tryEmitEmpty();
@@ -588,12 +627,50 @@ public abstract class AgentBase implements Agent {
         return null;
     }
 
+    /**
+     * Asynchronous preparation step run once the call has been admitted by the serialization gate
+     * and before {@link #beforeAgentExecution(List, RuntimeContext, Object)}. Agents use it to
+     * perform I/O (such as loading persisted session state through a {@link
+     * io.agentscope.core.state.ReactiveAgentStateStore}) without blocking the thread that runs the
+     * call. The default completes empty.
+     *
+     * @param msgs the messages passed by the caller to {@code call()}
+     * @param rc the caller-supplied per-call {@link RuntimeContext}, or {@code null}
+     * @return a Mono emitting a value to hand to {@code beforeAgentExecution}, or empty for none
+     */
+    protected Mono<Object> prepareAgentExecution(List<Msg> msgs, RuntimeContext rc) {
+        return Mono.empty();
+    }
+
+    /**
+     * Variant of {@link #beforeAgentExecution(List, RuntimeContext)} that also receives the value
+     * emitted by {@link #prepareAgentExecution(List, RuntimeContext)}. The default ignores it and
+     * delegates to the two-argument form.
+     *
+     * @param msgs the messages passed by the caller to {@code call()}
+     * @param rc the caller-supplied per-call {@link RuntimeContext}, or {@code null}
+     * @param prepared the value emitted by {@code prepareAgentExecution}, or {@code null}
+     * @return this call's per-call scope object, or {@code null} if this agent type keeps none
+     */
+    protected Object beforeAgentExecution(List<Msg> msgs, RuntimeContext rc, Object prepared) {
+        return beforeAgentExecution(msgs, rc);
+    }
+
     /**
      * Invoked in {@code Mono.using} cleanup, before clearing the running state. Pairs with {@link
      * #beforeAgentExecution(List, RuntimeContext)}. The default is a no-op.
      */
     protected void afterAgentExecution() {}
 
+    /**
+     * Invoked once the call body for {@code scope} terminates (complete, error, or cancel). Pairs
+     * with {@link #beforeAgentExecution(List, RuntimeContext, Object)} for agents that hold
+     * per-call resources keyed by their scope. The default is a no-op.
+     *
+     * @param scope the value returned by {@code beforeAgentExecution}, or {@code null}
+     */
+    protected void releaseAgentExecution(Object scope) {}
+
     /**
      * Pushes {@code ctx} to all {@link RuntimeContextAware} hooks registered for this agent. The
      * per-call {@link RuntimeContext} itself is no longer stored on a shared instance field; it
@@ -268,6 +268,17 @@ public class ReasoningContext {
         return toolCallsAcc.getAllAccumulatedToolCalls();
     }
 
+    /**
+     * Get the tool calls whose arguments finished streaming since the previous poll.
+     *
+     * @hidden
+     * @return newly completed tool calls, possibly empty
+     * @see ToolCallsAccumulator#pollCompletedToolCalls()
+     */
+    public List<ToolUseBlock> pollCompletedToolCalls() {
+        return toolCallsAcc.pollCompletedToolCalls();
+    }
+
     /**
      * Get the accumulated ChatUsage.
      *
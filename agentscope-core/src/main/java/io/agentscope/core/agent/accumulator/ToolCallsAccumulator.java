@@ -18,6 +18,7 @@ package io.agentscope.core.agent.accumulator;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.ToolUseBlock;
 import io.agentscope.core.util.JsonUtils;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -56,6 +57,9 @@ public class ToolCallsAccumulator implements ContentAccumulator<ToolUseBlock> {
         StringBuilder rawContent = new StringBuilder();
         Map<String, Object> metadata = new HashMap<>();
 
+        /** Whether this call was already returned by {@link #pollCompletedToolCalls()}. */
+        boolean polled;
+
         void merge(ToolUseBlock block) {
             // Update ID if present
             if (this.toolId == null && block.getId() != null && !block.getId().isEmpty()) {
@@ -122,6 +126,28 @@ public class ToolCallsAccumulator implements ContentAccumulator<ToolUseBlock> {
                     .build();
         }
 
+        /**
+         * Whether the arguments can no longer change: the raw JSON forms a complete object (no
+         * valid fragment can follow a closed object), or a later tool call has started.
+         */
+        boolean isComplete(boolean superseded) {
+            if (toolId == null || name == null) {
+                return false;
+            }
+            if (superseded) {
+                return true;
+            }
+            int end = rawContent.length();
+            while (end > 0 && Character.isWhitespace(rawContent.charAt(end - 1))) {
+                end--;
+            }
+            // Only parse once the object could be closed, so long arguments are not re-parsed
+            // on every fragment.
+            return end > 0
+                    && rawContent.charAt(end - 1) == '}'
+                    && JsonUtils.isValidJsonObject(rawContent.toString());
+        }
+
         private boolean isPlaceholder(String name) {
             // Common placeholder names
             return "__fragment__".equals(name)
@@ -232,6 +258,27 @@ public class ToolCallsAccumulator implements ContentAccumulator<ToolUseBlock> {
         return builders.values().stream().map(ToolCallBuilder::build).collect(Collectors.toList());
     }
 
+    /**
+     * Returns the tool calls whose arguments became complete since the previous poll, in stream
+     * order. Each call is returned at most once; use it to start work on a call before the rest
+     * of the response has streamed.
+     *
+     * @hidden
+     * @return newly completed tool calls, possibly empty
+     */
+    public List<ToolUseBlock> pollCompletedToolCalls() {
+        List<ToolUseBlock> completed = new ArrayList<>();
+        List<ToolCallBuilder> all = new ArrayList<>(builders.values());
+        for (int i = 0; i < all.size(); i++) {
+            ToolCallBuilder builder = all.get(i);
+            if (!builder.polled && builder.isComplete(i < all.size() - 1)) {
+                builder.polled = true;
+                completed.add(builder.build());
+            }
+        }
+        return completed;
+    }
+
     /**
      * Get accumulated tool call by ID.
      *
@@ -0,0 +1,563 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.formatter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded cache of base64-encoded media payloads, so formatters that inline images, audio and
+ * video do not re-read or re-download the same source every time the conversation history is
+ * formatted.
+ *
+ * <p>Local files are keyed by absolute path and validated against their size and modification
+ * time on every lookup. Remote URLs are served from the cache for {@link
+ * Builder#freshFor(Duration)} after they were fetched; after that they are revalidated with a
+ * conditional request ({@code If-None-Match} / {@code If-Modified-Since}), so an unchanged
+ * resource costs a {@code 304} instead of a full download. Concurrent fetches of the same URL
+ * share one request. Downloads run on the JDK {@link HttpClient}'s asynchronous API; see {@link
+ * #urlToBase64Async(String)}.
+ *
+ * <p>Payloads are held in memory up to {@link Builder#maxMemoryBytes(long)}. Entries evicted from
+ * memory spill to files under {@link Builder#spillDirectory(Path)}, bounded by {@link
+ * Builder#maxDiskBytes(long)}, and are promoted back on their next hit. Without a spill directory
+ * the default instance spills to a private temporary directory created on first use.
+ *
+ * <p><strong>Thread-safety:</strong> instances are safe for concurrent use.
+ */
+public final class MediaCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaCache.class);
+
+    private static final long WARN_SIZE_BYTES = 10 * 1024 * 1024;
+    private static final long MAX_SIZE_BYTES = 50 * 1024 * 1024;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static volatile MediaCache defaultCache;
+
+    /** Cached payload with the validators needed to tell whether it is still current. */
+    private record Entry(
+            String base64, String validator, String etag, String lastModified, long checkedAt) {
+
+        long weight() {
+            return base64.length();
+        }
+    }
+
+    /** An entry spilled to disk; {@code file} holds its base64 payload. */
+    private record Spilled(
+            Path file,
+            long bytes,
+            String validator,
+            String etag,
+            String lastModified,
+            long checkedAt) {}
+
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+    private final long freshForMillis;
+    private final Path configuredSpillDir;
+    private final LongSupplier clock;
+    private final HttpClient httpClient;
+
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<String, Spilled> disk = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private long memoryBytes;
+    private long diskBytes;
+    private Path spillDir;
+
+    private MediaCache(Builder builder) {
+        this.maxMemoryBytes = builder.maxMemoryBytes;
+        this.maxDiskBytes = builder.maxDiskBytes;
+        this.freshForMillis = builder.freshFor.toMillis();
+        this.configuredSpillDir = builder.spillDirectory;
+        this.clock = builder.clock;
+        this.httpClient =
+                builder.httpClient != null
+                        ? builder.httpClient
+                        : HttpClient.newBuilder()
+                                .connectTimeout(CONNECT_TIMEOUT)
+                                .followRedirects(HttpClient.Redirect.NORMAL)
+                                .build();
+    }
+
+    /** Returns the shared cache used by {@link MediaUtils} and the built-in formatters. */
+    public static MediaCache getDefault() {
+        MediaCache cache = defaultCache;
+        if (cache == null) {
+            synchronized (MediaCache.class) {
+                cache = defaultCache;
+                if (cache == null) {
+                    cache = builder().build();
+                    defaultCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Replaces the shared cache. The previous instance is cleared.
+     *
+     * @param cache the new shared cache
+     */
+    public static void setDefault(MediaCache cache) {
+        MediaCache previous;
+        synchronized (MediaCache.class) {
+            previous = defaultCache;
+            defaultCache = cache;
+        }
+        if (previous != null && previous != cache) {
+            previous.clear();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the base64 encoding of a local file, read from disk only when the file is not cached
+     * or has changed since it was cached.
+     *
+     * @param path the local file path
+     * @return base64-encoded file contents
+     * @throws IOException if the file does not exist, is not readable or exceeds the size limit
+     */
+    public String fileToBase64(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath().normalize();
+        if (!Files.exists(absolute)) {
+            throw new IOException("File does not exist: " + path);
+        }
+        if (!Files.isReadable(absolute)) {
+            throw new IOException("File is not readable: " + path);
+        }
+        BasicFileAttributes attrs = Files.readAttributes(absolute, BasicFileAttributes.class);
+        String validator = attrs.size() + ":" + attrs.lastModifiedTime().toMillis();
+        String key = "file:" + absolute;
+
+        Entry cached = lookup(key);
+        if (cached != null && validator.equals(cached.validator())) {
+            return cached.base64();
+        }
+
+        if (attrs.size() > MAX_SIZE_BYTES) {
+            throw new IOException(
+                    "File too large: " + attrs.size() + " bytes (max: " + MAX_SIZE_BYTES + ")");
+        }
+        if (attrs.size() > WARN_SIZE_BYTES) {
+            log.warn("Large file detected: {} bytes at {}", attrs.size(), path);
+        }
+        String base64 = Base64.getEncoder().encodeToString(Files.readAllBytes(absolute));
+        store(key, new Entry(base64, validator, null, null, clock.getAsLong()));
+        return base64;
+    }
+
+    /**
+     * Returns the base64 encoding of a remote resource, downloading it only when it is not cached
+     * or a revalidation shows it has changed. Blocks the calling thread; reactive callers should
+     * use {@link #urlToBase64Async(String)}.
+     *
+     * @param url the remote URL
+     * @return base64-encoded content
+     * @throws IOException if the download fails, exceeds the size limit or returns an error status
+     */
+    public String urlToBase64(String url) throws IOException {
+        try {
+            return fetch(url).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while downloading " + url, e);
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause(), url);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #urlToBase64(String)}.
+     *
+     * @param url the remote URL
+     * @return a Mono emitting the base64-encoded content, or an {@link IOException}
+     */
+    public Mono<String> urlToBase64Async(String url) {
+        return Mono.fromFuture(() -> fetch(url), true)
+                .onErrorMap(
+                        e ->
+                                asIOException(
+                                        e instanceof CompletionException ? e.getCause() : e, url));
+    }
+
+    /** Drops every cached payload, including spilled files. */
+    public void clear() {
+        List<Path> files = new ArrayList<>();
+        synchronized (this) {
+            memory.clear();
+            memoryBytes = 0;
+            disk.values().forEach(s -> files.add(s.file()));
+            disk.clear();
+            diskBytes = 0;
+        }
+        files.forEach(MediaCache::deleteQuietly);
+    }
+
+    /** Approximate size of the payloads held in memory, in bytes. */
+    public synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    /** Total size of the payloads spilled to disk, in bytes. */
+    public synchronized long diskBytes() {
+        return diskBytes;
+    }
+
+    private CompletableFuture<String> fetch(String url) {
+        String key = "url:" + url;
+        Entry cached = lookup(key);
+        long now = clock.getAsLong();
+        if (cached != null && now - cached.checkedAt() < freshForMillis) {
+            return CompletableFuture.completedFuture(cached.base64());
+        }
+        CompletableFuture<String> existing = inFlight.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<String> started = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, started);
+        if (existing != null) {
+            return existing;
+        }
+        download(url, key, cached)
+                .whenComplete(
+                        (base64, error) -> {
+                            inFlight.remove(key, started);
+                            if (error != null) {
+                                started.completeExceptionally(error);
+                            } else {
+                                started.complete(base64);
+                            }
+                        });
+        return started;
+    }
+
+    private CompletableFuture<String> download(String url, String key, Entry cached) {
+        log.debug("Downloading remote URL for base64 encoding: {}", url);
+        HttpRequest.Builder request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(
+                    new IOException("Invalid URL: " + url + " (" + e.getMessage() + ")", e));
+        }
+        if (cached != null && cached.etag() != null) {
+            request.header("If-None-Match", cached.etag());
+        }
+        if (cached != null && cached.lastModified() != null) {
+            request.header("If-Modified-Since", cached.lastModified());
+        }
+        return httpClient
+                .sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> onResponse(url, key, cached, response));
+    }
+
+    private String onResponse(String url, String key, Entry cached, HttpResponse<byte[]> response) {
+        long now = clock.getAsLong();
+        if (response.statusCode() == 304 && cached != null) {
+            store(
+                    key,
+                    new Entry(
+                            cached.base64(),
+                            cached.validator(),
+                            cached.etag(),
+                            cached.lastModified(),
+                            now));
+            return cached.base64();
+        }
+        if (response.statusCode() != 200) {
+            throw new UncheckedIOException(
+                    new IOException(
+                            "Failed to download URL: HTTP "
+                                    + response.statusCode()
+                                    + " for "
+                                    + url));
+        }
+        byte[] bytes = response.body();
+        if (bytes.length > MAX_SIZE_BYTES) {
+            throw new UncheckedIOException(
+                    new IOException(
+                            "Downloaded content too large: "
+                                    + bytes.length
+                                    + " bytes (max: "
+                                    + MAX_SIZE_BYTES
+                                    + ")"));
+        }
+        if (bytes.length > WARN_SIZE_BYTES) {
+            log.warn("Large download detected: {} bytes from {}", bytes.length, url);
+        }
+        String base64 = Base64.getEncoder().encodeToString(bytes);
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        store(key, new Entry(base64, etag, etag, lastModified, now));
+        return base64;
+    }
+
+    private static IOException asIOException(Throwable error, String url) {
+        if (error instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (error instanceof IOException io) {
+            return io;
+        }
+        return new IOException("Failed to download URL: " + url, error);
+    }
+
+    // ==================== Memory and disk tiers ====================
+
+    private Entry lookup(String key) {
+        Spilled spilled;
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                return entry;
+            }
+            spilled = disk.remove(key);
+            if (spilled == null) {
+                return null;
+            }
+            diskBytes -= spilled.bytes();
+        }
+        try {
+            String base64 = Files.readString(spilled.file(), StandardCharsets.ISO_8859_1);
+            Entry entry =
+                    new Entry(
+                            base64,
+                            spilled.validator(),
+                            spilled.etag(),
+                            spilled.lastModified(),
+                            spilled.checkedAt());
+            store(key, entry);
+            return entry;
+        } catch (IOException e) {
+            log.debug("Dropping unreadable spilled media {}: {}", spilled.file(), e.getMessage());
+            return null;
+        } finally {
+            deleteQuietly(spilled.file());
+        }
+    }
+
+    private void store(String key, Entry entry) {
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        synchronized (this) {
+            removeFromMemory(key);
+            Spilled stale = disk.remove(key);
+            if (stale != null) {
+                diskBytes -= stale.bytes();
+                deleteQuietly(stale.file());
+            }
+            if (entry.weight() <= maxMemoryBytes) {
+                memory.put(key, entry);
+                memoryBytes += entry.weight();
+            } else {
+                evicted.add(Map.entry(key, entry));
+            }
+            Iterator<Map.Entry<String, Entry>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> e = eldest.next();
+                memoryBytes -= e.getValue().weight();
+                evicted.add(Map.entry(e.getKey(), e.getValue()));
+                eldest.remove();
+            }
+        }
+        for (Map.Entry<String, Entry> e : evicted) {
+            spill(e.getKey(), e.getValue());
+        }
+    }
+
+    private void removeFromMemory(String key) {
+        Entry old = memory.remove(key);
+        if (old != null) {
+            memoryBytes -= old.weight();
+        }
+    }
+
+    private void spill(String key, Entry entry) {
+        long bytes = entry.weight();
+        if (bytes > maxDiskBytes) {
+            return;
+        }
+        Path file;
+        try {
+            file = spillDirectory().resolve(digest(key) + ".b64");
+            Files.writeString(file, entry.base64(), StandardCharsets.ISO_8859_1);
+        } catch (IOException e) {
+            log.debug("Failed to spill media payload to disk: {}", e.getMessage());
+            return;
+        }
+        List<Path> dropped = new ArrayList<>();
+        synchronized (this) {
+            if (memory.containsKey(key)) {
+                // Reloaded while it was being written
+                dropped.add(file);
+            } else {
+                Spilled old =
+                        disk.put(
+                                key,
+                                new Spilled(
+                                        file,
+                                        bytes,
+                                        entry.validator(),
+                                        entry.etag(),
+                                        entry.lastModified(),
+                                        entry.checkedAt()));
+                if (old != null) {
+                    diskBytes -= old.bytes();
+                }
+                diskBytes += bytes;
+                Iterator<Spilled> eldest = disk.values().iterator();
+                while (diskBytes > maxDiskBytes && eldest.hasNext()) {
+                    Spilled s = eldest.next();
+                    diskBytes -= s.bytes();
+                    dropped.add(s.file());
+                    eldest.remove();
+                }
+            }
+        }
+        dropped.forEach(MediaCache::deleteQuietly);
+    }
+
+    private synchronized Path spillDirectory() throws IOException {
+        if (spillDir == null) {
+            if (configuredSpillDir != null) {
+                spillDir = Files.createDirectories(configuredSpillDir);
+            } else {
+                spillDir = Files.createTempDirectory("agentscope-media-");
+                Path dir = spillDir;
+                Runtime.getRuntime()
+                        .addShutdownHook(
+                                new Thread(() -> deleteSpillDir(dir), "agentscope-media-cleanup"));
+            }
+        }
+        return spillDir;
+    }
+
+    private static void deleteSpillDir(Path dir) {
+        try (var files = Files.list(dir)) {
+            files.forEach(MediaCache::deleteQuietly);
+        } catch (IOException e) {
+            // Best effort
+        }
+        deleteQuietly(dir);
+    }
+
+    private static String digest(String key) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    /** Builder for {@link MediaCache}. */
+    public static final class Builder {
+        private long maxMemoryBytes = 64L * 1024 * 1024;
+        private long maxDiskBytes = 512L * 1024 * 1024;
+        private Duration freshFor = Duration.ofMinutes(5);
+        private Path spillDirectory;
+        private HttpClient httpClient;
+        private LongSupplier clock = System::currentTimeMillis;
+
+        private Builder() {}
+
+        /** Upper bound on the encoded payloads held in memory (default 64 MiB). */
+        public Builder maxMemoryBytes(long maxMemoryBytes) {
+            this.maxMemoryBytes = maxMemoryBytes;
+            return this;
+        }
+
+        /** Upper bound on the encoded payloads spilled to disk; 0 disables spilling. */
+        public Builder maxDiskBytes(long maxDiskBytes) {
+            this.maxDiskBytes = maxDiskBytes;
+            return this;
+        }
+
+        /**
+         * How long a downloaded URL is served without revalidation (default 5 minutes). {@link
+         * Duration#ZERO} revalidates on every lookup.
+         */
+        public Builder freshFor(Duration freshFor) {
+            this.freshFor = freshFor;
+            return this;
+        }
+
+        /** Directory for spilled payloads; defaults to a private temporary directory. */
+        public Builder spillDirectory(Path spillDirectory) {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        /** HTTP client used for downloads; defaults to a JDK client with redirects enabled. */
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /** Millisecond clock used for URL freshness; for tests. */
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public MediaCache build() {
+            return new MediaCache(this);
+        }
+    }
+}
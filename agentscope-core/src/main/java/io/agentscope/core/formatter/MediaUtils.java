@@ -21,14 +21,11 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
 import java.net.URI;
-import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Base64;
 import java.util.List;
 import javax.imageio.ImageIO;
 import org.slf4j.Logger;
@@ -79,71 +76,29 @@ public class MediaUtils {
     /**
      * Convert a local file to base64 encoded string.
      * Validates file size before reading (max 50MB).
-     * Used when APIs require base64-encoded media content.
+     * Used when APIs require base64-encoded media content. Encodings are served from
+     * {@link MediaCache#getDefault()} while the file is unchanged.
      *
      * @param path The local file path
      * @return Base64-encoded string of file contents
      * @throws IOException If file cannot be read or exceeds size limit
      */
     public static String fileToBase64(String path) throws IOException {
-        Path filePath = Path.of(path);
-        if (!Files.exists(filePath)) {
-            throw new IOException("File does not exist: " + path);
-        }
-        if (!Files.isReadable(filePath)) {
-            throw new IOException("File is not readable: " + path);
-        }
-        checkFileSize(path);
-        byte[] bytes = Files.readAllBytes(filePath);
-        return Base64.getEncoder().encodeToString(bytes);
+        return MediaCache.getDefault().fileToBase64(Path.of(path));
     }
 
     /**
      * Download a remote URL and convert to base64.
      * Used for APIs that require base64 encoding instead of direct URLs (e.g., OpenAI audio).
-     * Validates downloaded size (max 50MB) and sets connection timeouts.
+     * Validates downloaded size (max 50MB) and sets connection timeouts. Downloads are cached by
+     * {@link MediaCache#getDefault()} and revalidated with the server's ETag / Last-Modified.
      *
      * @param url The remote URL to download
      * @return Base64-encoded string of downloaded content
      * @throws IOException If download fails, exceeds size limit, or returns non-200 status
      */
     public static String downloadUrlToBase64(String url) throws IOException {
-        log.debug("Downloading remote URL for base64 encoding: {}", url);
-
-        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
-        try {
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(10000); // 10 seconds
-            connection.setReadTimeout(30000); // 30 seconds
-            connection.connect();
-
-            int responseCode = connection.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                throw new IOException(
-                        "Failed to download URL: HTTP " + responseCode + " for " + url);
-            }
-
-            try (InputStream is = connection.getInputStream()) {
-                byte[] bytes = is.readAllBytes();
-
-                // Check size after download
-                if (bytes.length > MAX_SIZE_BYTES) {
-                    throw new IOException(
-                            "Downloaded content too large: "
-                                    + bytes.length
-                                    + " bytes (max: "
-                                    + MAX_SIZE_BYTES
-                                    + ")");
-                }
-                if (bytes.length > WARN_SIZE_BYTES) {
-                    log.warn("Large download detected: {} bytes from {}", bytes.length, url);
-                }
-
-                return Base64.getEncoder().encodeToString(bytes);
-            }
-        } finally {
-            connection.disconnect();
-        }
+        return MediaCache.getDefault().urlToBase64(url);
     }
 
     /**
@@ -397,18 +352,4 @@ public class MediaUtils {
             return false;
         }
     }
-
-    /**
-     * Check file size before reading.
-     */
-    private static void checkFileSize(String path) throws IOException {
-        long size = Files.size(Path.of(path));
-        if (size > MAX_SIZE_BYTES) {
-            throw new IOException(
-                    "File too large: " + size + " bytes (max: " + MAX_SIZE_BYTES + ")");
-        }
-        if (size > WARN_SIZE_BYTES) {
-            log.warn("Large file detected: {} bytes at {}", size, path);
-        }
-    }
 }
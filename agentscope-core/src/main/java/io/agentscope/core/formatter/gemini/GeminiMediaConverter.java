@@ -17,6 +17,7 @@ package io.agentscope.core.formatter.gemini;
 
 import com.google.genai.types.Blob;
 import com.google.genai.types.Part;
+import io.agentscope.core.formatter.MediaCache;
 import io.agentscope.core.message.AudioBlock;
 import io.agentscope.core.message.Base64Source;
 import io.agentscope.core.message.ImageBlock;
@@ -24,9 +25,6 @@ import io.agentscope.core.message.Source;
 import io.agentscope.core.message.URLSource;
 import io.agentscope.core.message.VideoBlock;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URI;
-import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -128,20 +126,20 @@ public class GeminiMediaConverter {
     /**
      * Read a file from URL/path as byte array.
      *
-     * <p>Supports both remote URLs (http://, https://) and local file paths.
+     * <p>Supports both remote URLs (http://, https://) and local file paths. Contents come from
+     * {@link MediaCache#getDefault()}, so history that is re-formatted every turn does not re-read
+     * or re-download unchanged media.
      *
      * @param url File URL or path
      * @return File content as byte array
      * @throws IOException If file cannot be read
      */
     private byte[] readFileAsBytes(String url) throws IOException {
+        MediaCache cache = MediaCache.getDefault();
         // Check if it's a remote URL
         if (url.startsWith("http://") || url.startsWith("https://")) {
             try {
-                URL remoteUrl = URI.create(url).toURL();
-                try (InputStream in = remoteUrl.openStream()) {
-                    return in.readAllBytes();
-                }
+                return Base64.getDecoder().decode(cache.urlToBase64(url));
             } catch (IOException e) {
                 throw new IOException("Failed to download remote file: " + url, e);
             }
@@ -151,7 +149,7 @@ public class GeminiMediaConverter {
             if (!Files.exists(path)) {
                 throw new IOException("File not found: " + url);
             }
-            return Files.readAllBytes(path);
+            return Base64.getDecoder().decode(cache.fileToBase64(path));
         }
     }
 
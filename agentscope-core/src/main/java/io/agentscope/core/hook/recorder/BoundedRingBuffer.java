@@ -0,0 +1,101 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.hook.recorder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer / single-consumer ring buffer.
+ *
+ * <p>Each slot carries a sequence number: a producer claims the next position with a CAS on the
+ * head only when that slot's sequence says it is free, publishes the element, then advances the
+ * slot's sequence so the consumer can take it. {@link #offer} never blocks and fails when the
+ * buffer is full. Only one thread may call {@link #poll}.
+ */
+final class BoundedRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /** Creates a buffer holding at least {@code capacity} elements (rounded up to a power of 2). */
+    BoundedRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /** Adds {@code element}; returns {@code false} if the buffer is full. */
+    boolean offer(E element) {
+        long position = head.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long delta = sequences.get(index) - position;
+            if (delta == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = head.get();
+            } else if (delta < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+        elements.set(index, element);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /** Takes the oldest element, or returns {@code null} if none is published yet. */
+    E poll() {
+        long position = tail.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.set(index, null);
+        sequences.set(index, position + mask + 1);
+        tail.set(position + 1);
+        return element;
+    }
+
+    /** Approximate number of elements claimed by producers and not yet polled. */
+    int size() {
+        return (int) Math.max(0, Math.min(capacity(), head.get() - tail.get()));
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+}
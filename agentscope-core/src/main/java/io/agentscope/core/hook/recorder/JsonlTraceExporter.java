@@ -32,18 +32,26 @@ import io.agentscope.core.hook.ReasoningChunkEvent;
 import io.agentscope.core.hook.ReasoningEvent;
 import io.agentscope.core.hook.SummaryChunkEvent;
 import io.agentscope.core.util.JsonUtils;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Method;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -59,7 +67,13 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -77,6 +91,17 @@ import reactor.core.publisher.Mono;
  *       execution unless {@link Builder#failFast(boolean)} is enabled.</li>
  *   <li>This exporter performs blocking file IO on an internal single-threaded queue to keep file
  *       order, step IDs, and run IDs consistent.</li>
+ *   <li>By default each event completes only after its line is written. With {@link
+ *       Builder#async(boolean)} events are instead encoded on the calling thread (hook events are
+ *       mutable and may change once the hook returns), handed to a bounded lock-free ring buffer
+ *       and the hook returns immediately; a single writer thread drains the buffer in batches and
+ *       flushes once per batch (or every {@link Builder#flushInterval(Duration)}). When the buffer
+ *       is full the {@link OverflowPolicy} decides whether the event is dropped, waits, or is
+ *       sampled; {@link #stats()} reports written, dropped and failed events.</li>
+ *   <li>The file can be rotated by size ({@link Builder#rotateAtBytes(long)}) and/or age ({@link
+ *       Builder#rotateEvery(Duration)}); rotated files get a timestamp suffix, e.g. {@code
+ *       trace-20260101-120000-000.jsonl}, and {@link Builder#maxRotatedFiles(int)} bounds how many
+ *       are kept.</li>
  * </ul>
  *
  * @deprecated since 2.0.0. The hook system is replaced by
@@ -88,6 +113,8 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(JsonlTraceExporter.class);
     private static final long CLOSE_TIMEOUT_SECONDS = 30L;
+    private static final int MAX_BATCH = 1024;
+    private static final long BLOCKED_OFFER_PARK_NANOS = 50_000L;
     private static final OpenTelemetryAccess OPEN_TELEMETRY_ACCESS = OpenTelemetryAccess.create();
 
     private final Path outputFile;
@@ -96,36 +123,79 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
     private final int priority;
     private final Predicate<HookEvent> eventFilter;
 
-    private final Object lock = new Object();
-    private final BufferedWriter writer;
+    private final TraceFile out;
     private final ExecutorService exportExecutor;
+    private final AsyncWriter asyncWriter;
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
     // WeakHashMap keeps per-agent run state from accumulating indefinitely after agent instances
-    // become unreachable. Concurrency safety does not rely on WeakHashMap itself: all access to
-    // this map is serialized through the exporter’s single-threaded queue.
+    // become unreachable. It is not thread-safe itself, so every access synchronizes on it: the
+    // synchronous queue updates it on its thread, asynchronous producers on theirs.
     private final Map<String, RunState> runStates = new WeakHashMap<>();
 
-    private JsonlTraceExporter(
-            Path outputFile,
-            boolean append,
-            boolean flushEveryLine,
-            boolean failFast,
-            int priority,
-            Predicate<HookEvent> eventFilter) {
-        this.outputFile = Objects.requireNonNull(outputFile, "outputFile cannot be null");
-        this.flushEveryLine = flushEveryLine;
-        this.failFast = failFast;
-        this.priority = priority;
+    private JsonlTraceExporter(Builder builder, Predicate<HookEvent> eventFilter) {
+        this.outputFile = Objects.requireNonNull(builder.outputFile, "outputFile cannot be null");
+        this.flushEveryLine = builder.flushEveryLine;
+        this.failFast = builder.failFast;
+        this.priority = builder.priority;
         this.eventFilter = Objects.requireNonNull(eventFilter, "eventFilter cannot be null");
-        this.writer = openWriter(outputFile, append);
-        this.exportExecutor = createExportExecutor();
+        this.out =
+                new TraceFile(
+                        outputFile,
+                        builder.append,
+                        builder.rotateAtBytes,
+                        builder.rotateEvery,
+                        builder.maxRotatedFiles);
+        if (builder.async) {
+            this.exportExecutor = null;
+            this.asyncWriter = new AsyncWriter(builder);
+        } else {
+            this.exportExecutor = createExportExecutor();
+            this.asyncWriter = null;
+        }
     }
 
     public static Builder builder(Path outputFile) {
         return new Builder(outputFile);
     }
 
+    /** What the asynchronous mode does with an event when its buffer is full. */
+    public enum OverflowPolicy {
+        /** Drop the event and count it in {@link Stats#dropped()}; never delays the agent. */
+        DROP,
+        /** Wait until the writer makes room; no event is lost but the agent thread is held up. */
+        BLOCK,
+        /**
+         * Once the buffer is half full, keep only one in {@link Builder#sampleRate(int)} streaming
+         * chunk events and drop chunk events that do not fit; lifecycle events (call, reasoning,
+         * acting, summary, error) wait for room like {@link #BLOCK} so the trace keeps its shape.
+         */
+        SAMPLE
+    }
+
+    /**
+     * Export counters.
+     *
+     * @param written lines written to the file
+     * @param dropped events discarded by the {@link OverflowPolicy} or rejected after close
+     * @param failed events that could not be serialized or written
+     * @param queued events waiting in the asynchronous buffer (always 0 in synchronous mode)
+     */
+    public record Stats(long written, long dropped, long failed, int queued) {}
+
+    /** Returns the current export counters. */
+    public Stats stats() {
+        return new Stats(
+                written.sum(),
+                dropped.sum(),
+                failed.sum(),
+                asyncWriter != null ? asyncWriter.buffer.size() : 0);
+    }
+
     @Override
     public int priority() {
         return priority;
@@ -138,22 +208,32 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
             return Mono.just(nonNullEvent);
         }
 
-        return Mono.defer(() -> enqueueWrite(nonNullEvent, OPEN_TELEMETRY_ACCESS.captureCurrent()))
-                .onErrorResume(
-                        error -> {
-                            if (failFast) {
-                                return Mono.error(error);
-                            }
-                            log.warn(
-                                    "Failed to export hook event to JSONL: {}",
-                                    error.getMessage(),
-                                    error);
-                            return Mono.just(nonNullEvent);
-                        });
+        Mono<T> export =
+                asyncWriter != null
+                        ? Mono.fromCallable(
+                                () -> {
+                                    asyncWriter.submit(
+                                            nonNullEvent, OPEN_TELEMETRY_ACCESS.captureCurrent());
+                                    return nonNullEvent;
+                                })
+                        : Mono.defer(
+                                () ->
+                                        enqueueWrite(
+                                                nonNullEvent,
+                                                OPEN_TELEMETRY_ACCESS.captureCurrent()));
+        return export.onErrorResume(
+                error -> {
+                    if (failFast) {
+                        return Mono.error(error);
+                    }
+                    log.warn("Failed to export hook event to JSONL: {}", error.getMessage(), error);
+                    return Mono.just(nonNullEvent);
+                });
     }
 
     private <T extends HookEvent> Mono<T> enqueueWrite(T event, OpenTelemetryIds openTelemetryIds) {
         if (closed.get()) {
+            dropped.increment();
             return Mono.error(
                     new RejectedExecutionException(
                             "JSONL exporter is closed: " + outputFile.toAbsolutePath()));
@@ -177,17 +257,28 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
     }
 
     private void writeEvent(HookEvent event, OpenTelemetryIds openTelemetryIds) throws IOException {
-        RunState runState = getOrUpdateRunState(event);
+        try {
+            out.write(encode(event, openTelemetryIds), flushEveryLine);
+            written.increment();
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            throw e;
+        }
+    }
 
+    private byte[] encode(HookEvent event, OpenTelemetryIds openTelemetryIds) {
         Map<String, Object> record = new LinkedHashMap<>();
         record.put("ts", event.getTimestamp());
         record.put("event_type", event.getType().name());
         record.put("agent_id", event.getAgent().getAgentId());
         record.put("agent_name", event.getAgent().getName());
 
-        record.put("run_id", runState.currentRunId);
-        record.put("turn_id", runState.turnId);
-        record.put("step_id", runState.stepId);
+        synchronized (runStates) {
+            RunState runState = getOrUpdateRunState(event);
+            record.put("run_id", runState.currentRunId);
+            record.put("turn_id", runState.turnId);
+            record.put("step_id", runState.stepId);
+        }
 
         if (openTelemetryIds != null) {
             openTelemetryIds.putIfPresent(record);
@@ -241,14 +332,8 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
             record.put("stacktrace", stackTraceToString(e.getError()));
         }
 
-        String line = JsonUtils.getJsonCodec().toJson(record);
-        synchronized (lock) {
-            writer.write(line);
-            writer.newLine();
-            if (flushEveryLine) {
-                writer.flush();
-            }
-        }
+        // Encoded before writing so a serialization failure never leaves a partial line.
+        return JsonUtils.getJsonCodec().toJsonBytes(record);
     }
 
     private RunState getOrUpdateRunState(HookEvent event) {
@@ -264,30 +349,6 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
         return state;
     }
 
-    private static BufferedWriter openWriter(Path outputFile, boolean append) {
-        try {
-            Path parent = outputFile.toAbsolutePath().getParent();
-            if (parent != null) {
-                Files.createDirectories(parent);
-            }
-
-            OpenOption[] options =
-                    append
-                            ? new OpenOption[] {
-                                StandardOpenOption.CREATE, StandardOpenOption.APPEND
-                            }
-                            : new OpenOption[] {
-                                StandardOpenOption.CREATE,
-                                StandardOpenOption.TRUNCATE_EXISTING,
-                                StandardOpenOption.WRITE
-                            };
-            return Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8, options);
-        } catch (IOException e) {
-            throw new IllegalStateException(
-                    "Failed to open JSONL output file: " + outputFile.toAbsolutePath(), e);
-        }
-    }
-
     private static String stackTraceToString(Throwable error) {
         if (error == null) {
             return null;
@@ -304,6 +365,17 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
         if (!closed.compareAndSet(false, true)) {
             return;
         }
+        if (asyncWriter != null) {
+            try {
+                asyncWriter.stop();
+            } finally {
+                synchronized (runStates) {
+                    runStates.clear();
+                }
+                out.close();
+            }
+            return;
+        }
 
         boolean drained = false;
         try {
@@ -327,11 +399,10 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
             } else {
                 exportExecutor.shutdownNow();
             }
-            runStates.clear();
-            synchronized (lock) {
-                writer.flush();
-                writer.close();
+            synchronized (runStates) {
+                runStates.clear();
             }
+            out.close();
         }
     }
 
@@ -345,6 +416,351 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
         return Executors.newSingleThreadExecutor(threadFactory);
     }
 
+    private static boolean isChunk(HookEventType type) {
+        return type == HookEventType.REASONING_CHUNK
+                || type == HookEventType.ACTING_CHUNK
+                || type == HookEventType.SUMMARY_CHUNK;
+    }
+
+    /**
+     * Asynchronous mode: producers encode their event and publish the line into a lock-free ring
+     * buffer, and a single daemon thread drains it in batches, writing every line of a batch
+     * before one flush (group commit).
+     */
+    private final class AsyncWriter implements Runnable {
+        private final BoundedRingBuffer<byte[]> buffer;
+        private final OverflowPolicy overflowPolicy;
+        private final int sampleRate;
+        private final long flushIntervalNanos;
+        private final AtomicLong sampledChunks = new AtomicLong();
+        private final AtomicInteger producers = new AtomicInteger();
+        private final Thread thread;
+
+        private volatile boolean parked;
+        private volatile boolean stopping;
+
+        private AsyncWriter(Builder builder) {
+            this.buffer = new BoundedRingBuffer<>(builder.bufferCapacity);
+            this.overflowPolicy = builder.overflowPolicy;
+            this.sampleRate = builder.sampleRate;
+            this.flushIntervalNanos = builder.flushInterval.toNanos();
+            this.thread = new Thread(this, "agentscope-jsonl-trace-writer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * Encodes and publishes one event. Producers register in {@link #producers} before
+         * checking {@link #closed}, and {@link #stop()} waits for them to leave before telling the
+         * writer to finish, so a line is either rejected here or drained by the writer.
+         */
+        private void submit(HookEvent event, OpenTelemetryIds openTelemetryIds) {
+            producers.incrementAndGet();
+            try {
+                if (closed.get()) {
+                    dropped.increment();
+                    throw new RejectedExecutionException(
+                            "JSONL exporter is closed: " + outputFile.toAbsolutePath());
+                }
+                byte[] line;
+                try {
+                    line = encode(event, openTelemetryIds);
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    throw e;
+                }
+                publish(line, isChunk(event.getType()));
+            } finally {
+                producers.decrementAndGet();
+            }
+        }
+
+        private void publish(byte[] pending, boolean chunk) {
+            boolean accepted =
+                    switch (overflowPolicy) {
+                        case DROP -> buffer.offer(pending);
+                        case BLOCK -> offerBlocking(pending);
+                        case SAMPLE -> {
+                            if (!chunk) {
+                                yield offerBlocking(pending);
+                            }
+                            if (buffer.size() >= buffer.capacity() / 2
+                                    && sampledChunks.getAndIncrement() % sampleRate != 0) {
+                                yield false;
+                            }
+                            yield buffer.offer(pending);
+                        }
+                    };
+            if (accepted) {
+                wakeWriter();
+            } else {
+                dropped.increment();
+            }
+        }
+
+        private boolean offerBlocking(byte[] pending) {
+            while (!buffer.offer(pending)) {
+                if (closed.get()) {
+                    dropped.increment();
+                    throw new RejectedExecutionException(
+                            "JSONL exporter is closed: " + outputFile.toAbsolutePath());
+                }
+                wakeWriter();
+                LockSupport.parkNanos(BLOCKED_OFFER_PARK_NANOS);
+            }
+            return true;
+        }
+
+        private void wakeWriter() {
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            List<byte[]> batch = new ArrayList<>();
+            boolean dirty = false;
+            long lastFlush = System.nanoTime();
+            while (true) {
+                byte[] pending;
+                while (batch.size() < MAX_BATCH && (pending = buffer.poll()) != null) {
+                    batch.add(pending);
+                }
+                if (!batch.isEmpty()) {
+                    for (byte[] line : batch) {
+                        dirty |= writeQuietly(line);
+                    }
+                    batch.clear();
+                    if (flushEveryLine) {
+                        flushQuietly();
+                        dirty = false;
+                        lastFlush = System.nanoTime();
+                    }
+                    continue;
+                }
+                long sinceFlush = System.nanoTime() - lastFlush;
+                if (dirty && sinceFlush >= flushIntervalNanos) {
+                    flushQuietly();
+                    dirty = false;
+                    lastFlush = System.nanoTime();
+                }
+                if (stopping) {
+                    // Producers are rejected once closed; take whatever they published before
+                    if (buffer.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                parked = true;
+                if (buffer.isEmpty() && !stopping) {
+                    LockSupport.parkNanos(
+                            dirty ? flushIntervalNanos - sinceFlush : flushIntervalNanos);
+                }
+                parked = false;
+            }
+            flushQuietly();
+        }
+
+        private boolean writeQuietly(byte[] line) {
+            try {
+                out.write(line, false);
+                written.increment();
+                return true;
+            } catch (Throwable error) {
+                failed.increment();
+                log.warn("Failed to export hook event to JSONL: {}", error.getMessage(), error);
+                return false;
+            }
+        }
+
+        private void flushQuietly() {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                log.warn("Failed to flush JSONL trace: {}", e.getMessage());
+            }
+        }
+
+        private void stop() throws IOException {
+            // Producers that passed the closed check before close() still publish their line.
+            while (producers.get() > 0) {
+                wakeWriter();
+                LockSupport.parkNanos(BLOCKED_OFFER_PARK_NANOS);
+            }
+            stopping = true;
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(
+                        "Interrupted while waiting for JSONL exporter to finish pending writes", e);
+            }
+            if (thread.isAlive()) {
+                thread.interrupt();
+                throw new IOException(
+                        "Timed out while waiting for JSONL exporter to finish pending writes");
+            }
+        }
+    }
+
+    /** The output file, with optional size / age based rotation. All methods are synchronized. */
+    private static final class TraceFile {
+        private static final DateTimeFormatter ROTATED_SUFFIX =
+                DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+        /** How long to keep writing to the current file after a failed rotation. */
+        private static final long ROTATE_RETRY_MILLIS = 60_000;
+
+        private final Path path;
+        private final long rotateAtBytes;
+        private final long rotateEveryMillis;
+        private final int maxRotatedFiles;
+        private final String baseName;
+        private final String extension;
+
+        private OutputStream out;
+        private long bytes;
+        private long openedAt;
+        private long rotateRetryAt;
+
+        private TraceFile(
+                Path path,
+                boolean append,
+                long rotateAtBytes,
+                Duration rotateEvery,
+                int maxRotatedFiles) {
+            this.path = path;
+            this.rotateAtBytes = rotateAtBytes;
+            this.rotateEveryMillis = rotateEvery != null ? rotateEvery.toMillis() : 0;
+            this.maxRotatedFiles = maxRotatedFiles;
+            String name = path.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            this.baseName = dot > 0 ? name.substring(0, dot) : name;
+            this.extension = dot > 0 ? name.substring(dot) : "";
+            this.out = openOutput(path, append);
+            try {
+                this.bytes = append && Files.exists(path) ? Files.size(path) : 0;
+            } catch (IOException e) {
+                this.bytes = 0;
+            }
+            this.openedAt = System.currentTimeMillis();
+        }
+
+        synchronized void write(byte[] line, boolean flush) throws IOException {
+            rotateIfNeeded(line.length + 1L);
+            out.write(line);
+            out.write('\n');
+            bytes += line.length + 1L;
+            if (flush) {
+                out.flush();
+            }
+        }
+
+        synchronized void flush() throws IOException {
+            out.flush();
+        }
+
+        synchronized void close() throws IOException {
+            out.flush();
+            out.close();
+        }
+
+        private void rotateIfNeeded(long incoming) throws IOException {
+            long now = System.currentTimeMillis();
+            boolean bySize = rotateAtBytes > 0 && bytes > 0 && bytes + incoming > rotateAtBytes;
+            boolean byAge = rotateEveryMillis > 0 && now - openedAt >= rotateEveryMillis;
+            if (!bySize && !byAge || now < rotateRetryAt) {
+                return;
+            }
+            if (bytes == 0) {
+                openedAt = now;
+                return;
+            }
+            out.flush();
+            out.close();
+            try {
+                Files.move(path, rotatedPath(now));
+            } catch (IOException e) {
+                // Keep appending to the current file rather than losing every later event
+                log.warn("Failed to rotate JSONL trace {}: {}", path, e.getMessage());
+                out = openOutput(path, true);
+                rotateRetryAt = now + ROTATE_RETRY_MILLIS;
+                return;
+            }
+            out = openOutput(path, false);
+            bytes = 0;
+            openedAt = now;
+            pruneRotated();
+        }
+
+        private Path rotatedPath(long now) {
+            String stamp =
+                    ROTATED_SUFFIX.format(Instant.ofEpochMilli(now).atZone(ZoneId.systemDefault()));
+            Path candidate = path.resolveSibling(baseName + "-" + stamp + extension);
+            for (int i = 1; Files.exists(candidate); i++) {
+                candidate = path.resolveSibling(baseName + "-" + stamp + "-" + i + extension);
+            }
+            return candidate;
+        }
+
+        private void pruneRotated() {
+            if (maxRotatedFiles <= 0) {
+                return;
+            }
+            Pattern rotated =
+                    Pattern.compile(
+                            Pattern.quote(baseName)
+                                    + "-\\d{8}-\\d{6}-\\d{3}(-\\d+)?"
+                                    + Pattern.quote(extension));
+            Path dir = path.toAbsolutePath().getParent();
+            try (Stream<Path> siblings = Files.list(dir)) {
+                List<Path> files =
+                        siblings.filter(p -> rotated.matcher(p.getFileName().toString()).matches())
+                                .sorted(Comparator.comparing(TraceFile::modifiedTime))
+                                .toList();
+                for (int i = 0; i < files.size() - maxRotatedFiles; i++) {
+                    Files.deleteIfExists(files.get(i));
+                }
+            } catch (IOException e) {
+                log.warn("Failed to prune rotated JSONL traces in {}: {}", dir, e.getMessage());
+            }
+        }
+
+        private static FileTime modifiedTime(Path file) {
+            try {
+                return Files.getLastModifiedTime(file);
+            } catch (IOException e) {
+                return FileTime.fromMillis(0);
+            }
+        }
+
+        private static OutputStream openOutput(Path outputFile, boolean append) {
+            try {
+                Path parent = outputFile.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+
+                OpenOption[] options =
+                        append
+                                ? new OpenOption[] {
+                                    StandardOpenOption.CREATE, StandardOpenOption.APPEND
+                                }
+                                : new OpenOption[] {
+                                    StandardOpenOption.CREATE,
+                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                    StandardOpenOption.WRITE
+                                };
+                return new BufferedOutputStream(Files.newOutputStream(outputFile, options));
+            } catch (IOException e) {
+                throw new IllegalStateException(
+                        "Failed to open JSONL output file: " + outputFile.toAbsolutePath(), e);
+            }
+        }
+    }
+
     private static final class RunState {
         private String currentRunId = UUID.randomUUID().toString();
         private long turnId = 0;
@@ -446,6 +862,16 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
         private boolean failFast = false;
         private int priority = 900;
 
+        private boolean async = false;
+        private int bufferCapacity = 8192;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+        private int sampleRate = 10;
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        private long rotateAtBytes = 0;
+        private Duration rotateEvery;
+        private int maxRotatedFiles = 0;
+
         private Set<HookEventType> enabledEvents =
                 EnumSet.of(
                         HookEventType.PRE_CALL,
@@ -485,6 +911,69 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
             return this;
         }
 
+        /**
+         * Hands events to a background writer instead of completing each event after its line is
+         * written (default: false). In this mode {@link #failFast(boolean)} only covers events
+         * rejected after {@link JsonlTraceExporter#close()}; write errors are logged and counted.
+         */
+        public Builder async(boolean async) {
+            this.async = async;
+            return this;
+        }
+
+        /** Capacity of the asynchronous buffer, rounded up to a power of 2 (default: 8192). */
+        public Builder bufferCapacity(int bufferCapacity) {
+            if (bufferCapacity <= 0) {
+                throw new IllegalArgumentException("bufferCapacity must be positive");
+            }
+            this.bufferCapacity = bufferCapacity;
+            return this;
+        }
+
+        /** What to do when the asynchronous buffer is full (default: {@link OverflowPolicy#DROP}). */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy =
+                    Objects.requireNonNull(overflowPolicy, "overflowPolicy cannot be null");
+            return this;
+        }
+
+        /** Keeps one in this many chunk events under {@link OverflowPolicy#SAMPLE} (default: 10). */
+        public Builder sampleRate(int sampleRate) {
+            if (sampleRate <= 0) {
+                throw new IllegalArgumentException("sampleRate must be positive");
+            }
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Longest time written lines stay unflushed in asynchronous mode when {@link
+         * #flushEveryLine(boolean)} is disabled (default: 1 second).
+         */
+        public Builder flushInterval(Duration flushInterval) {
+            this.flushInterval =
+                    Objects.requireNonNull(flushInterval, "flushInterval cannot be null");
+            return this;
+        }
+
+        /** Rotates the file before it would grow past this many bytes (default: 0, disabled). */
+        public Builder rotateAtBytes(long rotateAtBytes) {
+            this.rotateAtBytes = rotateAtBytes;
+            return this;
+        }
+
+        /** Rotates the file once it has been open this long (default: null, disabled). */
+        public Builder rotateEvery(Duration rotateEvery) {
+            this.rotateEvery = rotateEvery;
+            return this;
+        }
+
+        /** Keeps at most this many rotated files, deleting the oldest (default: 0, keep all). */
+        public Builder maxRotatedFiles(int maxRotatedFiles) {
+            this.maxRotatedFiles = maxRotatedFiles;
+            return this;
+        }
+
         /** Hook priority (default: 900, low priority for logging/export). */
         public Builder priority(int priority) {
             this.priority = priority;
@@ -541,8 +1030,7 @@ public final class JsonlTraceExporter implements Hook, AutoCloseable {
             }
 
             Predicate<HookEvent> filter = e -> e != null && types.contains(e.getType());
-            return new JsonlTraceExporter(
-                    outputFile, append, flushEveryLine, failFast, priority, filter);
+            return new JsonlTraceExporter(this, filter);
         }
     }
 }
@@ -269,20 +269,27 @@ public class DashScopeHttpClient {
                             .body(requestBody)
                             .build();
 
-            return transport.stream(httpRequest)
+            return transport
+                    .streamFrames(httpRequest)
                     .map(
-                            data -> {
+                            frame -> {
                                 try {
-                                    // Decrypt response if encryption is enabled
+                                    // Decrypt response if encryption is enabled; otherwise decode
+                                    // straight from the frame bytes
                                     if (finalEncryptionContext != null) {
-                                        data = decryptResponse(data, finalEncryptionContext);
+                                        String data =
+                                                decryptResponse(
+                                                        HttpTransport.decodeFrame(frame),
+                                                        finalEncryptionContext);
+                                        return JsonUtils.getJsonCodec()
+                                                .fromJson(data, DashScopeResponse.class);
                                     }
                                     return JsonUtils.getJsonCodec()
-                                            .fromJson(data, DashScopeResponse.class);
+                                            .fromJson(frame, DashScopeResponse.class);
                                 } catch (JsonException e) {
                                     log.warn(
                                             "Failed to parse SSE data: {}. Error: {}",
-                                            data,
+                                            HttpTransport.decodeFrame(frame),
                                             e.getMessage());
                                     // Return null and filter out later
                                     return null;
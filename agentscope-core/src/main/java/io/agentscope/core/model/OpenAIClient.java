@@ -28,6 +28,7 @@ import io.agentscope.core.util.JsonException;
 import io.agentscope.core.util.JsonUtils;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -97,6 +98,10 @@ public class OpenAIClient {
     private static final Pattern VERSION_PATTERN = Pattern.compile(".*/v\\d+$");
     private static final Pattern RATE_LIMIT_PATTERN = Pattern.compile(".*\\b429\\b.*");
 
+    /** SSE end-of-stream marker, compared against raw frames (ByteBuffer equality is by content). */
+    private static final ByteBuffer SSE_DONE_MARKER =
+            ByteBuffer.wrap("[DONE]".getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+
     /**
      * Normalize the base URL by removing trailing slashes.
      *
@@ -396,11 +401,13 @@ public class OpenAIClient {
                             .body(requestBody)
                             .build();
 
-            return transport.stream(httpRequest)
-                    .filter(data -> !data.equals("[DONE]"))
+            // Chunks are decoded straight from the frame bytes; the text is only materialized
+            // for error reporting.
+            return transport
+                    .streamFrames(httpRequest)
                     .<OpenAIResponse>handle(
-                            (data, sink) -> {
-                                OpenAIResponse response = parseStreamData(data);
+                            (frame, sink) -> {
+                                OpenAIResponse response = parseStreamData(frame);
                                 if (response != null) {
                                     // Check for error in streaming response chunk
                                     if (response.isError()) {
@@ -413,7 +420,7 @@ public class OpenAIClient {
                                                         "OpenAI API error in streaming response: "
                                                                 + errorMessage,
                                                         errorCode,
-                                                        data));
+                                                        HttpTransport.decodeFrame(frame)));
                                         return;
                                     }
                                     sink.next(response);
@@ -479,27 +486,31 @@ public class OpenAIClient {
     }
 
     /**
-     * Parse a single SSE data line to OpenAIResponse.
+     * Parse a single SSE data frame to OpenAIResponse, reading the JSON directly from its bytes.
      *
-     * @param data the SSE data (without "data: " prefix)
-     * @return the parsed OpenAIResponse, or null if parsing fails
+     * @param frame the SSE data bytes (without "data: " prefix)
+     * @return the parsed OpenAIResponse, or null if parsing fails or the frame is the end marker
      */
-    private OpenAIResponse parseStreamData(String data) {
+    private OpenAIResponse parseStreamData(ByteBuffer frame) {
         if (log.isDebugEnabled()) {
-            log.debug("SSE data: {}", data);
+            log.debug("SSE data: {}", HttpTransport.decodeFrame(frame));
         }
         try {
-            if (data == null || data.isEmpty()) {
+            if (!frame.hasRemaining()) {
                 log.debug("Ignoring empty SSE data");
                 return null;
             }
-            OpenAIResponse response = JsonUtils.getJsonCodec().fromJson(data, OpenAIResponse.class);
+            if (SSE_DONE_MARKER.equals(frame)) {
+                return null;
+            }
+            OpenAIResponse response =
+                    JsonUtils.getJsonCodec().fromJson(frame, OpenAIResponse.class);
 
             // Defensive null check after deserialization
             if (response == null) {
                 log.warn(
                         "OpenAIResponse deserialization returned null for data: {}",
-                        data.length() > 100 ? data.substring(0, 100) + "..." : data);
+                        abbreviate(frame));
                 return null;
             }
             return response;
@@ -507,7 +518,7 @@ public class OpenAIClient {
             log.error(
                     "Failed to parse SSE data - JSON error: {}. Content: {}.",
                     e.getMessage(),
-                    data != null && data.length() > 100 ? data.substring(0, 100) + "..." : data);
+                    abbreviate(frame));
             return null;
         } catch (Exception e) {
             log.warn("Failed to parse SSE data - unexpected error: {}", e.getMessage(), e);
@@ -515,6 +526,11 @@ public class OpenAIClient {
         }
     }
 
+    private static String abbreviate(ByteBuffer frame) {
+        String data = HttpTransport.decodeFrame(frame);
+        return data.length() > 100 ? data.substring(0, 100) + "..." : data;
+    }
+
     /**
      * Build HTTP headers for API requests.
      *
@@ -15,6 +15,8 @@
  */
 package io.agentscope.core.model.transport;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import reactor.core.publisher.Flux;
 
 /**
@@ -26,7 +28,7 @@ import reactor.core.publisher.Flux;
  * <p>The transport layer is responsible for:
  * <ul>
  *   <li>Executing synchronous HTTP requests</li>
- *   <li>Handling streaming (SSE) responses</li>
+ *   <li>Handling streaming (SSE / NDJSON) responses, as Strings or raw byte frames</li>
  *   <li>Managing connection lifecycle</li>
  * </ul>
  */
@@ -53,6 +55,37 @@ public interface HttpTransport {
      */
     Flux<String> stream(HttpRequest request);
 
+    /**
+     * Execute a streaming HTTP request (Server-Sent Events or NDJSON) and emit raw frames.
+     *
+     * <p>Byte-level counterpart of {@link #stream(HttpRequest)}: each element holds the UTF-8
+     * bytes of one SSE {@code data:} payload (or one NDJSON line) exactly as {@code stream} would
+     * emit it as a String, framed without decoding to characters. Parsers can then deserialize
+     * straight from the bytes (see {@link io.agentscope.core.util.JsonCodec#fromJson(byte[], int,
+     * int, Class)}), which avoids several intermediate Strings per chunk on high token-rate
+     * streams. Every buffer is heap-backed and owned by the subscriber.
+     *
+     * <p>The default adapts {@link #stream(HttpRequest)}; built-in transports override it and
+     * implement {@code stream} on top of it instead.
+     *
+     * @param request the HTTP request to execute
+     * @return a Flux emitting one buffer per SSE data payload / NDJSON line
+     */
+    default Flux<ByteBuffer> streamFrames(HttpRequest request) {
+        return stream(request).map(data -> ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Decode a frame emitted by {@link #streamFrames(HttpRequest)} to a String, without consuming
+     * the buffer.
+     *
+     * @param frame the frame to decode
+     * @return the frame's UTF-8 text
+     */
+    static String decodeFrame(ByteBuffer frame) {
+        return StandardCharsets.UTF_8.decode(frame.duplicate()).toString();
+    }
+
     /**
      * Close the transport and release any resources.
      *
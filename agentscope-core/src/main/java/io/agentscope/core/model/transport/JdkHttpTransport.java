@@ -15,10 +15,8 @@
  */
 package io.agentscope.core.model.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.Authenticator;
 import java.net.InetSocketAddress;
 import java.net.PasswordAuthentication;
@@ -29,6 +27,7 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpClient.Redirect;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
@@ -68,8 +67,6 @@ import reactor.core.scheduler.Schedulers;
 public class JdkHttpTransport implements HttpTransport {
 
     private static final Logger log = LoggerFactory.getLogger(JdkHttpTransport.class);
-    private static final String SSE_DATA_PREFIX = "data:";
-    private static final String SSE_DONE_MARKER = "[DONE]";
 
     private final HttpClient client;
     private final HttpTransportConfig config;
@@ -189,6 +186,11 @@ public class JdkHttpTransport implements HttpTransport {
 
     @Override
     public Flux<String> stream(HttpRequest request) {
+        return streamFrames(request).map(HttpTransport::decodeFrame);
+    }
+
+    @Override
+    public Flux<ByteBuffer> streamFrames(HttpRequest request) {
         if (closed.get()) {
             return Flux.error(new HttpTransportException("Transport has been closed"));
         }
@@ -239,7 +241,7 @@ public class JdkHttpTransport implements HttpTransport {
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
-    private Flux<String> processStreamResponse(
+    private Flux<ByteBuffer> processStreamResponse(
             java.net.http.HttpResponse<InputStream> response, HttpRequest request) {
         InputStream inputStream = response.body();
         if (inputStream == null) {
@@ -251,28 +253,9 @@ public class JdkHttpTransport implements HttpTransport {
                 TransportConstants.STREAM_FORMAT_NDJSON.equals(
                         request.getHeaders().get(TransportConstants.STREAM_FORMAT_HEADER));
 
-        // Use Flux.using to manage resource lifecycle
-        return Flux.using(
-                () ->
-                        new BufferedReader(
-                                new InputStreamReader(inputStream, StandardCharsets.UTF_8)),
-                reader -> isNdjson ? readNdJsonLines(reader) : readSseLines(reader),
-                this::closeQuietly);
-    }
-
-    private Flux<String> readSseLines(BufferedReader reader) {
-        return Flux.fromStream(reader.lines())
-                .filter(line -> line.startsWith(SSE_DATA_PREFIX))
-                .map(line -> line.substring(SSE_DATA_PREFIX.length()).trim())
-                .takeWhile(data -> !SSE_DONE_MARKER.equals(data))
-                .doOnNext(data -> log.debug("Received SSE data chunk"))
-                .filter(data -> !data.isEmpty());
-    }
-
-    private Flux<String> readNdJsonLines(BufferedReader reader) {
-        return Flux.fromStream(reader.lines())
-                .doOnNext(line -> log.debug("Received NDJSON line"))
-                .filter(line -> !line.isEmpty());
+        // Frames are cut from the raw bytes; the body is closed when the Flux terminates
+        return StreamFrameDecoder.frames(() -> inputStream, isNdjson)
+                .doOnNext(frame -> log.debug("Received {} frame", isNdjson ? "NDJSON" : "SSE"));
     }
 
     @Override
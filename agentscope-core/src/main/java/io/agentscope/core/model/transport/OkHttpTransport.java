@@ -15,14 +15,12 @@
  */
 package io.agentscope.core.model.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.Proxy;
 import java.net.ProxySelector;
 import java.net.SocketAddress;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -64,8 +62,6 @@ public class OkHttpTransport implements HttpTransport {
     private static final Logger log = LoggerFactory.getLogger(OkHttpTransport.class);
     private static final MediaType JSON_MEDIA_TYPE =
             MediaType.parse("application/json; charset=utf-8");
-    private static final String SSE_DATA_PREFIX = "data:";
-    private static final String SSE_DONE_MARKER = "[DONE]";
 
     private final OkHttpClient client;
     private final HttpTransportConfig config;
@@ -211,6 +207,11 @@ public class OkHttpTransport implements HttpTransport {
 
     @Override
     public Flux<String> stream(HttpRequest request) {
+        return streamFrames(request).map(HttpTransport::decodeFrame);
+    }
+
+    @Override
+    public Flux<ByteBuffer> streamFrames(HttpRequest request) {
         Request okHttpRequest = buildOkHttpRequest(request);
         log.debug(
                 "Streaming request: method={}, url={}",
@@ -220,90 +221,37 @@ public class OkHttpTransport implements HttpTransport {
         boolean isNdjson =
                 TransportConstants.STREAM_FORMAT_NDJSON.equals(
                         request.getHeaders().get(TransportConstants.STREAM_FORMAT_HEADER));
-        return Flux.<String>create(
-                        sink -> {
-                            Response response = null;
-                            BufferedReader reader = null;
-                            try {
-                                response = client.newCall(okHttpRequest).execute();
-
-                                if (!response.isSuccessful()) {
-                                    String errorBody = getResponseBodyString(response);
-                                    log.error(
-                                            "HTTP error: status={}, body={}",
-                                            response.code(),
-                                            errorBody);
-                                    sink.error(
-                                            new HttpTransportException(
-                                                    "HTTP request failed with status "
-                                                            + response.code(),
-                                                    response.code(),
-                                                    errorBody));
-                                    return;
-                                }
-
-                                ResponseBody body = response.body();
-                                if (body == null) {
-                                    sink.complete();
-                                    return;
-                                }
-
-                                reader =
-                                        new BufferedReader(
-                                                new InputStreamReader(
-                                                        body.byteStream(), StandardCharsets.UTF_8));
-
-                                String line;
-                                while ((line = reader.readLine()) != null) {
-                                    if (sink.isCancelled()) {
-                                        break;
-                                    }
-
-                                    // Skip empty lines
-                                    if (line.isEmpty()) {
-                                        continue;
-                                    }
-
-                                    // Handle NDJSON format
-                                    if (isNdjson) {
-                                        sink.next(line);
-                                        continue;
-                                    }
-
-                                    // Parse SSE data lines
-                                    if (line.startsWith(SSE_DATA_PREFIX)) {
-                                        String data =
-                                                line.substring(SSE_DATA_PREFIX.length()).trim();
-
-                                        // Check for stream end marker
-                                        if (SSE_DONE_MARKER.equals(data)) {
-                                            log.debug("Received SSE [DONE] marker");
-                                            break;
-                                        }
-
-                                        if (!data.isEmpty()) {
-                                            sink.next(data);
-                                        }
-                                    }
-                                    // Skip other SSE fields (event:, id:, retry:, comments)
-                                }
-
-                                sink.complete();
-                            } catch (IOException e) {
-                                if (!sink.isCancelled()) {
-                                    sink.error(
-                                            new HttpTransportException(
-                                                    "SSE stream read failed: " + e.getMessage(),
-                                                    e));
-                                }
-                            } finally {
-                                closeQuietly(reader);
-                                if (response != null) {
-                                    closeQuietly(response.body());
-                                }
-                                closeQuietly(response);
+        return Flux.using(
+                        () -> client.newCall(okHttpRequest).execute(),
+                        response -> {
+                            if (!response.isSuccessful()) {
+                                String errorBody = getResponseBodyString(response);
+                                log.error(
+                                        "HTTP error: status={}, body={}",
+                                        response.code(),
+                                        errorBody);
+                                return Flux.<ByteBuffer>error(
+                                        new HttpTransportException(
+                                                "HTTP request failed with status "
+                                                        + response.code(),
+                                                response.code(),
+                                                errorBody));
+                            }
+
+                            ResponseBody body = response.body();
+                            if (body == null) {
+                                return Flux.<ByteBuffer>empty();
                             }
-                        })
+                            // Frames are cut from the raw bytes; other SSE fields (event:, id:,
+                            // retry:, comments) are skipped and [DONE] ends the stream
+                            return StreamFrameDecoder.frames(body::byteStream, isNdjson);
+                        },
+                        this::closeQuietly)
+                .onErrorMap(
+                        IOException.class,
+                        e ->
+                                new HttpTransportException(
+                                        "SSE stream read failed: " + e.getMessage(), e))
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
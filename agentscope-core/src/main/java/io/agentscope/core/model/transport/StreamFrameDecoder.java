@@ -0,0 +1,237 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.model.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import reactor.core.publisher.Flux;
+
+/**
+ * Incremental, byte-level framer for SSE and NDJSON response bodies.
+ *
+ * <p>Bytes are fed as they arrive from the socket and split on line terminators ({@code \n},
+ * {@code \r\n} or a lone {@code \r}) without decoding them to characters. Each frame is copied
+ * exactly once into its own array:
+ *
+ * <ul>
+ *   <li>SSE: the payload of every {@code data:} line, with surrounding whitespace removed. Other
+ *       fields ({@code event:}, {@code id:}, {@code retry:}, comments) and blank payloads are
+ *       skipped, and the {@code [DONE]} marker ends the stream.
+ *   <li>NDJSON: every non-empty line.
+ * </ul>
+ *
+ * <p>Instances are not thread-safe; use one per response body.
+ */
+final class StreamFrameDecoder {
+
+    private static final byte[] SSE_DATA_PREFIX = "data:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SSE_DONE_MARKER = "[DONE]".getBytes(StandardCharsets.US_ASCII);
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final boolean ndjson;
+
+    /** Bytes of a line split across reads. */
+    private byte[] partial = new byte[256];
+
+    private int partialLength;
+    private boolean lastWasCr;
+    private boolean done;
+
+    StreamFrameDecoder(boolean ndjson) {
+        this.ndjson = ndjson;
+    }
+
+    /**
+     * Reads an SSE or NDJSON body as a pull-driven stream of frames: the body is only read when
+     * downstream requests more frames, and it is closed on completion, error or cancellation.
+     *
+     * @param body supplier of the response body, invoked on subscription
+     * @param ndjson whether the body is NDJSON rather than SSE
+     * @return a Flux of frames, each backed by its own heap array
+     */
+    static Flux<ByteBuffer> frames(Callable<InputStream> body, boolean ndjson) {
+        return Flux.generate(
+                () -> new BodyReader(body.call(), new StreamFrameDecoder(ndjson)),
+                (reader, sink) -> {
+                    try {
+                        ByteBuffer frame = reader.next();
+                        if (frame == null) {
+                            sink.complete();
+                        } else {
+                            sink.next(frame);
+                        }
+                    } catch (IOException e) {
+                        sink.error(
+                                new HttpTransportException(
+                                        "SSE stream read failed: " + e.getMessage(), e));
+                    }
+                    return reader;
+                },
+                BodyReader::close);
+    }
+
+    /**
+     * Feeds {@code length} bytes from {@code bytes} starting at {@code offset}, passing every
+     * completed frame to {@code sink}.
+     *
+     * @return {@code false} once the SSE {@code [DONE]} marker has been seen; further input is
+     *     ignored
+     */
+    boolean feed(byte[] bytes, int offset, int length, Consumer<ByteBuffer> sink) {
+        if (done) {
+            return false;
+        }
+        int end = offset + length;
+        int lineStart = offset;
+        for (int i = offset; i < end; i++) {
+            byte b = bytes[i];
+            if (b != '\n' && b != '\r') {
+                continue;
+            }
+            if (b == '\n' && lastWasCr && i == lineStart && partialLength == 0) {
+                // Second half of a CRLF pair.
+                lastWasCr = false;
+                lineStart = i + 1;
+                continue;
+            }
+            lastWasCr = b == '\r';
+            boolean more;
+            if (partialLength > 0) {
+                appendPartial(bytes, lineStart, i - lineStart);
+                more = onLine(partial, 0, partialLength, sink);
+                partialLength = 0;
+            } else {
+                more = onLine(bytes, lineStart, i - lineStart, sink);
+            }
+            lineStart = i + 1;
+            if (!more) {
+                done = true;
+                return false;
+            }
+        }
+        if (lineStart < end) {
+            lastWasCr = false;
+            appendPartial(bytes, lineStart, end - lineStart);
+        }
+        return true;
+    }
+
+    /** Emits a final line that was not terminated before the end of the body. */
+    void finish(Consumer<ByteBuffer> sink) {
+        if (!done && partialLength > 0) {
+            done = !onLine(partial, 0, partialLength, sink);
+            partialLength = 0;
+        }
+    }
+
+    private boolean onLine(byte[] bytes, int offset, int length, Consumer<ByteBuffer> sink) {
+        if (length == 0) {
+            return true;
+        }
+        if (ndjson) {
+            sink.accept(copy(bytes, offset, length));
+            return true;
+        }
+        if (!startsWith(bytes, offset, length, SSE_DATA_PREFIX)) {
+            return true;
+        }
+        int start = offset + SSE_DATA_PREFIX.length;
+        int end = offset + length;
+        // Bytes <= 0x20 are never part of a multi-byte UTF-8 sequence, so this equals String.trim.
+        while (start < end && (bytes[start] & 0xff) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        if (end - start == SSE_DONE_MARKER.length
+                && startsWith(bytes, start, end - start, SSE_DONE_MARKER)) {
+            return false;
+        }
+        if (end > start) {
+            sink.accept(copy(bytes, start, end - start));
+        }
+        return true;
+    }
+
+    private void appendPartial(byte[] bytes, int offset, int length) {
+        if (partialLength + length > partial.length) {
+            partial = Arrays.copyOf(partial, Math.max(partial.length * 2, partialLength + length));
+        }
+        System.arraycopy(bytes, offset, partial, partialLength, length);
+        partialLength += length;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer copy(byte[] bytes, int offset, int length) {
+        return ByteBuffer.wrap(Arrays.copyOfRange(bytes, offset, offset + length));
+    }
+
+    /** Pulls frames from a body, reading only when no decoded frame is pending. */
+    private static final class BodyReader {
+
+        private final InputStream in;
+        private final StreamFrameDecoder decoder;
+        private final ArrayDeque<ByteBuffer> ready = new ArrayDeque<>();
+        private final byte[] buffer = new byte[READ_BUFFER_SIZE];
+        private boolean eof;
+
+        BodyReader(InputStream in, StreamFrameDecoder decoder) {
+            this.in = in;
+            this.decoder = decoder;
+        }
+
+        ByteBuffer next() throws IOException {
+            while (ready.isEmpty() && !eof && in != null) {
+                int n = in.read(buffer);
+                if (n < 0) {
+                    decoder.finish(ready::add);
+                    eof = true;
+                } else if (!decoder.feed(buffer, 0, n, ready::add)) {
+                    eof = true;
+                }
+            }
+            return ready.poll();
+        }
+
+        void close() {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                    // Nothing useful to do on close failure.
+                }
+            }
+        }
+    }
+}
@@ -19,6 +19,8 @@ import io.agentscope.core.agent.Agent;
 import io.agentscope.core.agent.RuntimeContext;
 import io.agentscope.core.middleware.MiddlewareBase;
 import io.agentscope.core.skill.repository.AgentSkillRepository;
+import io.agentscope.core.skill.repository.CachingSkillRepository;
+import io.agentscope.core.skill.repository.LazyAgentSkill;
 import io.agentscope.core.tool.Toolkit;
 import io.agentscope.core.tool.ToolkitAware;
 import java.io.IOException;
@@ -28,10 +30,13 @@ import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,7 +55,8 @@ import reactor.core.publisher.Mono;
  * different content under the same skill name as the {@link RuntimeContext} switches users, so
  * caching by skill id alone would mask those swaps. {@code bindToolkit} /
  * {@code registerSkillLoadTool} are idempotent on a fresh {@link SkillBox}, so the rebuild stays
- * cheap.
+ * cheap. Querying the repositories is not: wrap database- or remote-backed ones in a {@link
+ * CachingSkillRepository} so the per-call merge is served from memory.
  *
  * <p>Subclasses can plug runtime visibility logic (canary lists, environment gates, etc.) by
  * overriding {@link #filterVisible(List, RuntimeContext)} — the default implementation returns
@@ -78,6 +84,9 @@ public class DynamicSkillMiddleware implements MiddlewareBase, ToolkitAware {
     /** Hash of the last merged-and-filtered skill view; identical hash ⇒ reuse {@link #currentSkillBox}. */
     private volatile String lastSignature;
 
+    /** Per-skill digests of the last view, keyed by instance; see {@link #computeSignature}. */
+    private volatile Map<AgentSkill, String> skillDigests = new IdentityHashMap<>();
+
     public DynamicSkillMiddleware(List<AgentSkillRepository> repositories, Toolkit toolkit) {
         this(repositories, toolkit, null, false, null);
     }
@@ -307,50 +316,68 @@ public class DynamicSkillMiddleware implements MiddlewareBase, ToolkitAware {
     }
 
     /**
-     * Build a deterministic SHA-256 over the merged skill view: per-skill {@code name +
-     * sha256(content) + sha256(sorted-resource-keys) + originDir}. Two reload calls with the
-     * same repository content produce the same signature, regardless of map iteration order.
+     * Build a deterministic SHA-256 over the merged skill view from one digest per skill (see
+     * {@link #digest(AgentSkill)}). Two reload calls with the same repository content produce the
+     * same signature, regardless of map iteration order. Digests are memoised by skill instance,
+     * so a repository that hands back the same instances (e.g. {@link CachingSkillRepository})
+     * is not re-hashed on every call.
      */
-    private static String computeSignature(List<AgentSkill> visible) {
-        // Use a sorted set so that LinkedHashMap insertion-order changes don't perturb the hash.
-        Set<String> sortedNames = new TreeSet<>();
+    private String computeSignature(List<AgentSkill> visible) {
+        Map<AgentSkill, String> previous = skillDigests;
+        Map<AgentSkill, String> digests = new IdentityHashMap<>();
+        // Sorted by name so that LinkedHashMap insertion-order changes don't perturb the hash.
+        Map<String, String> byName = new TreeMap<>();
         for (AgentSkill s : visible) {
-            sortedNames.add(s.getName());
+            String digest = previous.get(s);
+            if (digest == null) {
+                digest = digest(s);
+            }
+            digests.put(s, digest);
+            byName.put(s.getName(), digest);
         }
-        Map<String, AgentSkill> byName = new LinkedHashMap<>();
-        for (AgentSkill s : visible) {
-            byName.put(s.getName(), s);
+        skillDigests = digests;
+        MessageDigest md = sha256();
+        for (Map.Entry<String, String> entry : byName.entrySet()) {
+            md.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            md.update(entry.getValue().getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 1);
         }
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            for (String name : sortedNames) {
-                AgentSkill s = byName.get(name);
-                md.update(name.getBytes(StandardCharsets.UTF_8));
-                md.update((byte) 0);
-                md.update(
-                        s.getSkillContent() != null
-                                ? s.getSkillContent().getBytes(StandardCharsets.UTF_8)
-                                : new byte[0]);
-                md.update((byte) 0);
-                Set<String> sortedResources = new TreeSet<>(s.getResources().keySet());
-                for (String key : sortedResources) {
-                    md.update(key.getBytes(StandardCharsets.UTF_8));
-                    String val = s.getResources().get(key);
-                    if (val != null) {
-                        md.update(val.getBytes(StandardCharsets.UTF_8));
-                    }
-                    md.update((byte) 0);
-                }
-                s.getOriginDir()
-                        .ifPresent(p -> md.update(p.toString().getBytes(StandardCharsets.UTF_8)));
-                md.update((byte) 1);
-            }
-            byte[] hash = md.digest();
-            StringBuilder hex = new StringBuilder(hash.length * 2);
-            for (byte b : hash) {
-                hex.append(String.format("%02x", b));
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    /**
+     * Per-skill digest: {@code sha256(content) + sha256(sorted-resource-keys) + originDir}, or
+     * the catalog version for a {@link LazyAgentSkill} that has one, so computing the signature
+     * never forces lazy content to load.
+     */
+    private static String digest(AgentSkill s) {
+        if (s instanceof LazyAgentSkill lazy && lazy.getVersion() != null) {
+            return "v:" + lazy.getSource() + ":" + lazy.getVersion();
+        }
+        MessageDigest md = sha256();
+        md.update(
+                s.getSkillContent() != null
+                        ? s.getSkillContent().getBytes(StandardCharsets.UTF_8)
+                        : new byte[0]);
+        md.update((byte) 0);
+        Map<String, String> resources = s.getResources();
+        Set<String> sortedResources = new TreeSet<>(resources.keySet());
+        for (String key : sortedResources) {
+            md.update(key.getBytes(StandardCharsets.UTF_8));
+            String val = resources.get(key);
+            if (val != null) {
+                md.update(val.getBytes(StandardCharsets.UTF_8));
             }
-            return hex.toString();
+            md.update((byte) 0);
+        }
+        s.getOriginDir().ifPresent(p -> md.update(p.toString().getBytes(StandardCharsets.UTF_8)));
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("SHA-256 unavailable", e);
         }
@@ -59,6 +59,33 @@ public interface AgentSkillRepository extends AutoCloseable {
      */
     List<AgentSkill> getAllSkills();
 
+    /**
+     * Lists the catalog entries of all skills, without their content or resources.
+     *
+     * <p>The default implementation derives them from {@link #getAllSkills()}. Repositories for
+     * which loading content is expensive (databases, remote services) should override this with a
+     * query that only touches the metadata.
+     *
+     * @return metadata of all skills (never null, may be empty)
+     */
+    default List<SkillMetadata> listSkillMetadata() {
+        return getAllSkills().stream().map(SkillMetadata::of).toList();
+    }
+
+    /**
+     * Returns a cheap token that changes whenever any skill in the repository is added, removed
+     * or modified, e.g. the current commit id or a row count plus last update timestamp.
+     *
+     * <p>Used by {@link CachingSkillRepository} to decide whether its cached catalog is still
+     * current. The default returns {@code null}, meaning the repository cannot tell and cached
+     * catalogs expire by time only.
+     *
+     * @return the catalog version, or {@code null} if unknown
+     */
+    default String getCatalogVersion() {
+        return null;
+    }
+
     /**
      * Saves or updates a skill in the repository.
      *
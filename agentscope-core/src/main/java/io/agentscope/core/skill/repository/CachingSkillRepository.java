@@ -0,0 +1,350 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.skill.repository;
+
+import io.agentscope.core.skill.AgentSkill;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorator that keeps an in-memory snapshot of another repository's catalog, so resolving the
+ * skills of an agent call is a memory lookup instead of a database query or remote fetch.
+ *
+ * <p>The snapshot is revalidated at most once per {@code revalidateAfter} interval (5 seconds by
+ * default). Revalidation asks the delegate for its {@link AgentSkillRepository#getCatalogVersion()
+ * catalog version} and only reloads the catalog when the version changed; delegates that do not
+ * report a version are reloaded on every revalidation. If a revalidation fails, the previous
+ * snapshot keeps being served until the next interval. Writes through this repository and {@link
+ * #invalidate()} (e.g. from a change listener) force a reload on the next read.
+ *
+ * <p>With {@code lazyContent(true)} the catalog is built from {@link
+ * AgentSkillRepository#listSkillMetadata()} and each skill is a {@link LazyAgentSkill} that
+ * fetches its content and resources from the delegate when first read. Lazy
+ * skills whose version did not change are carried over into the next snapshot, so each skill is
+ * loaded at most once per version. This pays off for delegates that override {@code
+ * listSkillMetadata()} with a metadata-only query, such as the JDBC repositories.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * AgentSkillRepository repo = CachingSkillRepository.builder(mysqlRepository)
+ *         .revalidateAfter(Duration.ofSeconds(10))
+ *         .lazyContent(true)
+ *         .build();
+ * }</pre>
+ */
+public class CachingSkillRepository implements AgentSkillRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingSkillRepository.class);
+
+    private record Snapshot(
+            String version,
+            List<AgentSkill> skills,
+            Map<String, AgentSkill> byName,
+            long checkedAt) {
+
+        Snapshot checkedAt(long now) {
+            return new Snapshot(version, skills, byName, now);
+        }
+    }
+
+    private final AgentSkillRepository delegate;
+    private final long revalidateAfterNanos;
+    private final boolean lazyContent;
+    private final LongSupplier clock;
+
+    /** Unlisted skills fetched by name; only valid for the snapshot they were fetched under. */
+    private final Map<String, AgentSkill> loadedSkills = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    private CachingSkillRepository(Builder builder) {
+        this.delegate = builder.delegate;
+        this.revalidateAfterNanos = builder.revalidateAfter.toNanos();
+        this.lazyContent = builder.lazyContent;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * Gets the wrapped repository.
+     *
+     * @return The delegate repository
+     */
+    public AgentSkillRepository getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns {@code repository} itself, or the repository it wraps if it is a {@link
+     * CachingSkillRepository}. Use it before type checks against concrete repository classes.
+     *
+     * @param repository The repository to unwrap
+     * @return The innermost repository
+     */
+    public static AgentSkillRepository unwrap(AgentSkillRepository repository) {
+        AgentSkillRepository current = repository;
+        while (current instanceof CachingSkillRepository caching) {
+            current = caching.delegate;
+        }
+        return current;
+    }
+
+    /** Drops the cached catalog; the next read reloads it from the delegate. */
+    public void invalidate() {
+        synchronized (this) {
+            snapshot = null;
+            loadedSkills.clear();
+        }
+    }
+
+    @Override
+    public AgentSkill getSkill(String name) {
+        AgentSkill listed = current().byName().get(name);
+        if (listed != null) {
+            return listed;
+        }
+        // Repositories that cannot list (e.g. Nacos) still get their lookups cached per snapshot
+        AgentSkill loaded = loadedSkills.get(name);
+        if (loaded != null) {
+            return loaded;
+        }
+        loaded = delegate.getSkill(name);
+        if (loaded != null) {
+            loadedSkills.put(name, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public List<String> getAllSkillNames() {
+        return List.copyOf(current().byName().keySet());
+    }
+
+    @Override
+    public List<AgentSkill> getAllSkills() {
+        return current().skills();
+    }
+
+    @Override
+    public List<SkillMetadata> listSkillMetadata() {
+        List<SkillMetadata> metadata = new ArrayList<>();
+        for (AgentSkill skill : current().skills()) {
+            String version = skill instanceof LazyAgentSkill lazy ? lazy.getVersion() : null;
+            metadata.add(
+                    version != null
+                            ? new SkillMetadata(skill.getMetadata(), skill.getSource(), version)
+                            : SkillMetadata.of(skill));
+        }
+        return metadata;
+    }
+
+    @Override
+    public String getCatalogVersion() {
+        return current().version();
+    }
+
+    @Override
+    public boolean save(List<AgentSkill> skills, boolean force) {
+        try {
+            return delegate.save(skills, force);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean delete(String skillName) {
+        try {
+            return delegate.delete(skillName);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean skillExists(String skillName) {
+        return current().byName().containsKey(skillName)
+                || loadedSkills.containsKey(skillName)
+                || delegate.skillExists(skillName);
+    }
+
+    @Override
+    public AgentSkillRepositoryInfo getRepositoryInfo() {
+        return delegate.getRepositoryInfo();
+    }
+
+    @Override
+    public String getSource() {
+        return delegate.getSource();
+    }
+
+    @Override
+    public void setWriteable(boolean writeable) {
+        delegate.setWriteable(writeable);
+    }
+
+    @Override
+    public boolean isWriteable() {
+        return delegate.isWriteable();
+    }
+
+    @Override
+    public void close() {
+        invalidate();
+        try {
+            delegate.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close skill repository {}", delegate.getSource(), e);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot cached = snapshot;
+        if (cached != null && clock.getAsLong() - cached.checkedAt() < revalidateAfterNanos) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = snapshot;
+            long now = clock.getAsLong();
+            if (cached != null && now - cached.checkedAt() < revalidateAfterNanos) {
+                return cached;
+            }
+            try {
+                String version = delegate.getCatalogVersion();
+                if (cached != null && version != null && version.equals(cached.version())) {
+                    snapshot = cached.checkedAt(now);
+                } else {
+                    snapshot = load(version, cached, now);
+                    loadedSkills.clear();
+                }
+            } catch (RuntimeException e) {
+                if (cached == null) {
+                    throw e;
+                }
+                logger.warn(
+                        "Failed to revalidate skill repository {}, serving cached catalog: {}",
+                        delegate.getSource(),
+                        e.getMessage());
+                snapshot = cached.checkedAt(now);
+            }
+            return snapshot;
+        }
+    }
+
+    private Snapshot load(String version, Snapshot previous, long now) {
+        Map<String, AgentSkill> byName = new LinkedHashMap<>();
+        if (lazyContent) {
+            for (SkillMetadata metadata : delegate.listSkillMetadata()) {
+                byName.put(metadata.name(), lazySkill(metadata, previous));
+            }
+        } else {
+            for (AgentSkill skill : delegate.getAllSkills()) {
+                if (skill != null && skill.getName() != null) {
+                    byName.put(skill.getName(), skill);
+                }
+            }
+        }
+        return new Snapshot(
+                version, List.copyOf(byName.values()), Collections.unmodifiableMap(byName), now);
+    }
+
+    private AgentSkill lazySkill(SkillMetadata metadata, Snapshot previous) {
+        if (previous != null
+                && metadata.version() != null
+                && previous.byName().get(metadata.name()) instanceof LazyAgentSkill old
+                && metadata.version().equals(old.getVersion())
+                && Objects.equals(metadata.metadata(), old.getMetadata())) {
+            return old;
+        }
+        String name = metadata.name();
+        return new LazyAgentSkill(metadata, () -> delegate.getSkill(name));
+    }
+
+    /**
+     * Creates a builder wrapping the given repository.
+     *
+     * @param delegate The repository to cache (must not be null)
+     * @return A new builder
+     */
+    public static Builder builder(AgentSkillRepository delegate) {
+        return new Builder(delegate);
+    }
+
+    /** Builder for {@link CachingSkillRepository}. */
+    public static class Builder {
+        private final AgentSkillRepository delegate;
+        private Duration revalidateAfter = Duration.ofSeconds(5);
+        private boolean lazyContent;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder(AgentSkillRepository delegate) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("Delegate repository cannot be null");
+            }
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sets how long a snapshot is served before the delegate's catalog version is checked
+         * again. {@link Duration#ZERO} checks on every read.
+         *
+         * @param revalidateAfter The revalidation interval (must not be negative)
+         * @return This builder
+         */
+        public Builder revalidateAfter(Duration revalidateAfter) {
+            if (revalidateAfter == null || revalidateAfter.isNegative()) {
+                throw new IllegalArgumentException("revalidateAfter must not be negative");
+            }
+            this.revalidateAfter = revalidateAfter;
+            return this;
+        }
+
+        /**
+         * Sets whether skill content and resources are loaded on first use instead of with the
+         * catalog.
+         *
+         * @param lazyContent {@code true} to build the catalog from metadata only
+         * @return This builder
+         */
+        public Builder lazyContent(boolean lazyContent) {
+            this.lazyContent = lazyContent;
+            return this;
+        }
+
+        /** Overrides the nanosecond clock; for tests. */
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Builds the repository.
+         *
+         * @return A new CachingSkillRepository
+         */
+        public CachingSkillRepository build() {
+            return new CachingSkillRepository(this);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.skill.repository;
+
+import io.agentscope.core.skill.AgentSkill;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * An {@link AgentSkill} built from {@link SkillMetadata} whose content and resources are fetched
+ * from the repository the first time they are read, typically when the model calls the skill load
+ * tool.
+ *
+ * <p>Name, description, metadata, source and skill id are answered from the catalog entry without
+ * loading. Everything else loads the full skill once and delegates to it. Instances are created
+ * by {@link CachingSkillRepository} and reused for as long as the skill's {@link #getVersion()
+ * version} is unchanged.
+ */
+public final class LazyAgentSkill extends AgentSkill {
+
+    private static final String PLACEHOLDER_CONTENT = "(not loaded)";
+
+    private final String version;
+    private final Supplier<AgentSkill> loader;
+    private volatile AgentSkill loaded;
+
+    LazyAgentSkill(SkillMetadata metadata, Supplier<AgentSkill> loader) {
+        super(metadata.metadata(), PLACEHOLDER_CONTENT, null, metadata.source(), null);
+        this.version = metadata.version();
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the catalog version this skill was listed with.
+     *
+     * @return the version token, or {@code null} if the repository does not report one
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks whether the content has been fetched yet.
+     *
+     * @return {@code true} once content or resources have been read
+     */
+    public boolean isLoaded() {
+        return loaded != null;
+    }
+
+    @Override
+    public String getSkillContent() {
+        return load().getSkillContent();
+    }
+
+    @Override
+    public Map<String, String> getResources() {
+        return load().getResources();
+    }
+
+    @Override
+    public String getResource(String resourcePath) {
+        return load().getResource(resourcePath);
+    }
+
+    @Override
+    public Set<String> getResourcePaths() {
+        return load().getResourcePaths();
+    }
+
+    @Override
+    public Optional<Path> getOriginDir() {
+        return load().getOriginDir();
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return load().toBuilder();
+    }
+
+    private AgentSkill load() {
+        AgentSkill skill = loaded;
+        if (skill == null) {
+            synchronized (this) {
+                skill = loaded;
+                if (skill == null) {
+                    skill = loader.get();
+                    if (skill == null) {
+                        throw new IllegalArgumentException("Skill not found: " + getName());
+                    }
+                    loaded = skill;
+                }
+            }
+        }
+        return skill;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.skill.repository;
+
+import io.agentscope.core.skill.AgentSkill;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Catalog entry for a skill: everything needed to advertise it in a prompt, without its {@code
+ * skillContent} or resources.
+ *
+ * <p>{@code version} is an opaque token that changes whenever the skill's content, resources or
+ * metadata change (a row id plus update timestamp, a content hash, ...). It may be {@code null}
+ * when the repository cannot tell, in which case callers must treat every listing as a possible
+ * change.
+ *
+ * @param metadata the skill metadata; always contains non-empty {@code name} and {@code
+ *     description} strings
+ * @param source the source identifier the loaded skill will report, as in {@link
+ *     AgentSkill#getSource()}
+ * @param version opaque change token, or {@code null} if unknown
+ */
+public record SkillMetadata(Map<String, Object> metadata, String source, String version) {
+
+    public SkillMetadata {
+        if (metadata == null
+                || !(metadata.get("name") instanceof String name)
+                || name.isEmpty()
+                || !(metadata.get("description") instanceof String description)
+                || description.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "The skill must have `name` and `description` fields.");
+        }
+        metadata = Collections.unmodifiableMap(new LinkedHashMap<>(metadata));
+        source = source != null ? source : "custom";
+    }
+
+    /** Returns the skill name. */
+    public String name() {
+        return (String) metadata.get("name");
+    }
+
+    /** Returns the skill description. */
+    public String description() {
+        return (String) metadata.get("description");
+    }
+
+    /**
+     * Describes a fully loaded skill, using a SHA-256 over its metadata, content and resources as
+     * the version.
+     *
+     * @param skill the skill (never null)
+     * @return the skill's metadata
+     */
+    public static SkillMetadata of(AgentSkill skill) {
+        return new SkillMetadata(skill.getMetadata(), skill.getSource(), contentHash(skill));
+    }
+
+    private static String contentHash(AgentSkill skill) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            update(md, String.valueOf(new TreeMap<>(skill.getMetadata())));
+            update(md, skill.getSkillContent());
+            for (Map.Entry<String, String> e : new TreeMap<>(skill.getResources()).entrySet()) {
+                update(md, e.getKey());
+                update(md, e.getValue());
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static void update(MessageDigest md, String value) {
+        if (value != null) {
+            md.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        md.update((byte) 0);
+    }
+}
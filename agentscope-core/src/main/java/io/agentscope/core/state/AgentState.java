@@ -78,6 +78,12 @@ public final class AgentState implements State {
      */
     private transient volatile InterruptControl interruptControl;
 
+    /**
+     * What {@link AgentStateJournal} last persisted for this instance. Runtime-only (never
+     * serialized) and excluded from {@code equals}/{@code hashCode}.
+     */
+    private transient volatile AgentStateJournal.Cursor journalCursor;
+
     private AgentState(Builder builder) {
         this.sessionId = builder.sessionId == null ? newHex() : builder.sessionId;
         this.userId = builder.userId;
@@ -266,6 +272,14 @@ public final class AgentState implements State {
         return local;
     }
 
+    AgentStateJournal.Cursor journalCursor() {
+        return journalCursor;
+    }
+
+    void journalCursor(AgentStateJournal.Cursor cursor) {
+        this.journalCursor = cursor;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
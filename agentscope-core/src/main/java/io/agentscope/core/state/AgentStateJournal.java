@@ -0,0 +1,436 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.permission.PermissionContextState;
+import io.agentscope.core.util.JsonCodec;
+import io.agentscope.core.util.JsonUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Append-only journal for {@link AgentState}, layered on top of an {@link AgentStateStore}'s list
+ * primitives.
+ *
+ * <p>Instead of rewriting the whole state on every save, the journal appends a
+ * {@link AgentStateJournalEntry.Kind#DELTA DELTA} entry holding only the messages added to the
+ * context since the previous write and the sub-state sections that changed. Every
+ * {@link Builder#compactionInterval(int) compactionInterval} deltas — or whenever the already
+ * persisted part of the context was rewritten (e.g. by conversation compaction) — the journal is
+ * compacted into a single {@link AgentStateJournalEntry.Kind#SNAPSHOT SNAPSHOT} entry.
+ *
+ * <p>Stores opt in by routing {@code AgentState} values through {@link #write} and {@link #read};
+ * callers keep using {@code save(userId, sessionId, "agent_state", state)} and
+ * {@code get(..., AgentState.class)} unchanged:
+ *
+ * <pre>{@code
+ * AgentStateStore store =
+ *         new JsonFileAgentStateStore(Path.of("state"), AgentStateJournal.builder().build());
+ * }</pre>
+ *
+ * <p>The journal remembers what it last persisted through a runtime-only cursor attached to the
+ * {@link AgentState} instance it read or wrote. States without a cursor (freshly built, or
+ * loaded from a different slot) are always written as a snapshot, so the journal never appends a
+ * delta against a base it has not seen.
+ *
+ * <p><b>Thread Safety:</b> instances are stateless and may be shared; concurrent writes of the
+ * same {@link AgentState} are serialised on that state.
+ */
+public final class AgentStateJournal {
+
+    /** Default number of deltas appended between two snapshots. */
+    public static final int DEFAULT_COMPACTION_INTERVAL = 50;
+
+    /** Suffix appended to the state key to form the journal's list key. */
+    private static final String JOURNAL_KEY_SUFFIX = "_journal";
+
+    private final int compactionInterval;
+
+    private AgentStateJournal(Builder builder) {
+        this.compactionInterval = builder.compactionInterval;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Returns the number of deltas appended between two snapshots. */
+    public int getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    /**
+     * Returns the list key under which the journal for {@code key} is stored.
+     *
+     * @param key the logical state key (e.g. {@code "agent_state"})
+     * @return the journal list key (e.g. {@code "agent_state_journal"})
+     */
+    public static String journalKey(String key) {
+        return key + JOURNAL_KEY_SUFFIX;
+    }
+
+    /**
+     * Persist {@code state}, appending a delta when possible and a snapshot otherwise.
+     *
+     * @param store the backing store (must not route this call back into the journal)
+     * @param userId nullable user identifier
+     * @param sessionId session identifier
+     * @param key the logical state key
+     * @param state the state to persist
+     */
+    public void write(
+            AgentStateStore store, String userId, String sessionId, String key, AgentState state) {
+        Objects.requireNonNull(state, "state must not be null");
+        String journalKey = journalKey(key);
+        synchronized (state) {
+            JsonCodec codec = JsonUtils.getJsonCodec();
+            List<Msg> context = state.contextMutable();
+            Cursor cursor = state.journalCursor();
+            Sections sections = Sections.of(state, codec);
+
+            if (!canAppend(cursor, store, userId, sessionId, key, context)) {
+                long seq = cursor != null ? cursor.seq + 1 : 0;
+                store.save(
+                        userId,
+                        sessionId,
+                        journalKey,
+                        List.of(AgentStateJournalEntry.snapshot(seq, state)));
+                state.journalCursor(
+                        Cursor.after(store, userId, sessionId, key, seq, 0, context, sections));
+                return;
+            }
+
+            int baseSize = cursor.contextSize;
+            List<Msg> appended = new ArrayList<>(context.subList(baseSize, context.size()));
+            boolean changed =
+                    !appended.isEmpty()
+                            || !sections.scalarsEqual(cursor.sections)
+                            || !sections.summary.equals(cursor.sections.summary)
+                            || !sections.permissionJson.equals(cursor.sections.permissionJson)
+                            || !sections.toolJson.equals(cursor.sections.toolJson)
+                            || !sections.tasksJson.equals(cursor.sections.tasksJson)
+                            || !sections.planModeJson.equals(cursor.sections.planModeJson);
+            if (!changed) {
+                return;
+            }
+
+            long seq = cursor.seq + 1;
+            AgentStateJournalEntry delta =
+                    new AgentStateJournalEntry(
+                            seq,
+                            AgentStateJournalEntry.Kind.DELTA,
+                            null,
+                            baseSize,
+                            appended,
+                            sections.summary.equals(cursor.sections.summary)
+                                    ? null
+                                    : state.getSummary(),
+                            Objects.equals(sections.replyId, cursor.sections.replyId)
+                                    ? null
+                                    : state.getReplyId(),
+                            state.getCurIter(),
+                            state.isShutdownInterrupted(),
+                            sections.permissionJson.equals(cursor.sections.permissionJson)
+                                    ? null
+                                    : state.getPermissionContext(),
+                            sections.toolJson.equals(cursor.sections.toolJson)
+                                    ? null
+                                    : state.getToolContext(),
+                            sections.tasksJson.equals(cursor.sections.tasksJson)
+                                    ? null
+                                    : state.getTasksContext(),
+                            sections.planModeJson.equals(cursor.sections.planModeJson)
+                                    ? null
+                                    : state.getPlanModeContext(),
+                            sections.replyId == null && cursor.sections.replyId != null
+                                    ? List.of(AgentStateJournalEntry.REPLY_ID)
+                                    : null);
+            store.append(userId, sessionId, journalKey, List.of(delta));
+            state.journalCursor(
+                    Cursor.after(
+                            store,
+                            userId,
+                            sessionId,
+                            key,
+                            seq,
+                            cursor.deltasSinceSnapshot + 1,
+                            context,
+                            sections));
+        }
+    }
+
+    /**
+     * Rebuild the state by replaying the journal: the latest snapshot followed by every later
+     * delta. The returned instance carries a cursor so the next {@link #write} appends a delta.
+     *
+     * @return the replayed state, or empty when no journal exists for the slot
+     */
+    public Optional<AgentState> read(
+            AgentStateStore store, String userId, String sessionId, String key) {
+        List<AgentStateJournalEntry> entries =
+                store.getList(userId, sessionId, journalKey(key), AgentStateJournalEntry.class);
+        int start = -1;
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (entries.get(i).kind() == AgentStateJournalEntry.Kind.SNAPSHOT) {
+                start = i;
+                break;
+            }
+        }
+        if (start < 0) {
+            return Optional.empty();
+        }
+
+        AgentState base = entries.get(start).snapshot();
+        List<Msg> context = new ArrayList<>(base.contextMutable());
+        String summary = base.getSummary();
+        String replyId = base.getReplyId();
+        int curIter = base.getCurIter();
+        boolean shutdownInterrupted = base.isShutdownInterrupted();
+        PermissionContextState permissionContext = base.getPermissionContext();
+        ToolContextState toolContext = base.getToolContext();
+        TaskContextState tasksContext = base.getTasksContext();
+        PlanModeContextState planModeContext = base.getPlanModeContext();
+        long seq = entries.get(start).seq();
+
+        for (int i = start + 1; i < entries.size(); i++) {
+            AgentStateJournalEntry delta = entries.get(i);
+            if (delta.kind() != AgentStateJournalEntry.Kind.DELTA) {
+                continue;
+            }
+            int baseSize = delta.baseContextSize() != null ? delta.baseContextSize() : 0;
+            if (baseSize < context.size()) {
+                context.subList(baseSize, context.size()).clear();
+            }
+            if (delta.appended() != null) {
+                context.addAll(delta.appended());
+            }
+            if (delta.summary() != null) {
+                summary = delta.summary();
+            }
+            if (delta.replyId() != null) {
+                replyId = delta.replyId();
+            } else if (delta.clears(AgentStateJournalEntry.REPLY_ID)) {
+                replyId = null;
+            }
+            if (delta.curIter() != null) {
+                curIter = delta.curIter();
+            }
+            if (delta.shutdownInterrupted() != null) {
+                shutdownInterrupted = delta.shutdownInterrupted();
+            }
+            if (delta.permissionContext() != null) {
+                permissionContext = delta.permissionContext();
+            }
+            if (delta.toolContext() != null) {
+                toolContext = delta.toolContext();
+            }
+            if (delta.tasksContext() != null) {
+                tasksContext = delta.tasksContext();
+            }
+            if (delta.planModeContext() != null) {
+                planModeContext = delta.planModeContext();
+            }
+            seq = delta.seq();
+        }
+
+        AgentState state =
+                AgentState.builder()
+                        .sessionId(base.getSessionId())
+                        .userId(base.getUserId())
+                        .summary(summary)
+                        .context(context)
+                        .replyId(replyId)
+                        .curIter(curIter)
+                        .shutdownInterrupted(shutdownInterrupted)
+                        .permissionContext(permissionContext)
+                        .toolContext(toolContext)
+                        .tasksContext(tasksContext)
+                        .planModeContext(planModeContext)
+                        .build();
+        state.journalCursor(
+                Cursor.after(
+                        store,
+                        userId,
+                        sessionId,
+                        key,
+                        seq,
+                        entries.size() - start - 1,
+                        state.contextMutable(),
+                        Sections.of(state, JsonUtils.getJsonCodec())));
+        return Optional.of(state);
+    }
+
+    private boolean canAppend(
+            Cursor cursor,
+            AgentStateStore store,
+            String userId,
+            String sessionId,
+            String key,
+            List<Msg> context) {
+        if (cursor == null || !cursor.isFor(store, userId, sessionId, key)) {
+            return false;
+        }
+        if (cursor.deltasSinceSnapshot >= compactionInterval) {
+            return false;
+        }
+        if (context.size() < cursor.contextSize) {
+            return false;
+        }
+        // The persisted prefix must be untouched; otherwise a delta cannot express the change.
+        return cursor.prefixUnchanged(context);
+    }
+
+    /**
+     * Runtime-only record of what the journal last persisted for an {@link AgentState} instance.
+     */
+    static final class Cursor {
+        private final AgentStateStore store;
+        private final String userId;
+        private final String sessionId;
+        private final String key;
+        private final long seq;
+        private final int deltasSinceSnapshot;
+        private final int contextSize;
+        private final Msg[] persisted;
+        private final int[] metadataHashes;
+        private final Sections sections;
+
+        private Cursor(
+                AgentStateStore store,
+                String userId,
+                String sessionId,
+                String key,
+                long seq,
+                int deltasSinceSnapshot,
+                Msg[] persisted,
+                Sections sections) {
+            this.store = store;
+            this.userId = userId;
+            this.sessionId = sessionId;
+            this.key = key;
+            this.seq = seq;
+            this.deltasSinceSnapshot = deltasSinceSnapshot;
+            this.contextSize = persisted.length;
+            this.persisted = persisted;
+            this.metadataHashes = new int[persisted.length];
+            for (int i = 0; i < persisted.length; i++) {
+                metadataHashes[i] = persisted[i].getMetadata().hashCode();
+            }
+            this.sections = sections;
+        }
+
+        static Cursor after(
+                AgentStateStore store,
+                String userId,
+                String sessionId,
+                String key,
+                long seq,
+                int deltasSinceSnapshot,
+                List<Msg> context,
+                Sections sections) {
+            return new Cursor(
+                    store,
+                    userId,
+                    sessionId,
+                    key,
+                    seq,
+                    deltasSinceSnapshot,
+                    context.toArray(new Msg[0]),
+                    sections);
+        }
+
+        /**
+         * Checks every persisted message is still in place. {@link Msg} is immutable apart from
+         * its metadata map, so the same instance with the same metadata means the same content;
+         * a replaced or re-created message forces a snapshot.
+         */
+        boolean prefixUnchanged(List<Msg> context) {
+            for (int i = 0; i < contextSize; i++) {
+                Msg msg = context.get(i);
+                if (msg != persisted[i] || msg.getMetadata().hashCode() != metadataHashes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isFor(AgentStateStore store, String userId, String sessionId, String key) {
+            return this.store == store
+                    && Objects.equals(this.userId, userId)
+                    && Objects.equals(this.sessionId, sessionId)
+                    && Objects.equals(this.key, key);
+        }
+    }
+
+    /** Serialised fingerprint of the non-context parts of an {@link AgentState}. */
+    private record Sections(
+            String summary,
+            String replyId,
+            int curIter,
+            boolean shutdownInterrupted,
+            String permissionJson,
+            String toolJson,
+            String tasksJson,
+            String planModeJson) {
+
+        static Sections of(AgentState state, JsonCodec codec) {
+            return new Sections(
+                    state.getSummary(),
+                    state.getReplyId(),
+                    state.getCurIter(),
+                    state.isShutdownInterrupted(),
+                    codec.toJson(state.getPermissionContext()),
+                    codec.toJson(state.getToolContext()),
+                    codec.toJson(state.getTasksContext()),
+                    codec.toJson(state.getPlanModeContext()));
+        }
+
+        boolean scalarsEqual(Sections other) {
+            return curIter == other.curIter
+                    && shutdownInterrupted == other.shutdownInterrupted
+                    && Objects.equals(replyId, other.replyId);
+        }
+    }
+
+    /** Builder for {@link AgentStateJournal}. */
+    public static final class Builder {
+        private int compactionInterval = DEFAULT_COMPACTION_INTERVAL;
+
+        private Builder() {}
+
+        /**
+         * Number of deltas appended before the journal is compacted into a fresh snapshot.
+         * Smaller values bound replay cost on load; larger values minimise bytes written per save.
+         *
+         * @param compactionInterval positive number of deltas between snapshots
+         * @return this builder
+         */
+        public Builder compactionInterval(int compactionInterval) {
+            if (compactionInterval < 1) {
+                throw new IllegalArgumentException("compactionInterval must be positive");
+            }
+            this.compactionInterval = compactionInterval;
+            return this;
+        }
+
+        public AgentStateJournal build() {
+            return new AgentStateJournal(this);
+        }
+    }
+}
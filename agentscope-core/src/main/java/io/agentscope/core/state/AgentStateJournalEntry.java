@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.permission.PermissionContextState;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One record of an {@link AgentStateJournal}.
+ *
+ * <p>A {@link Kind#SNAPSHOT} entry carries the complete {@link AgentState}; a {@link Kind#DELTA}
+ * entry carries only what changed since the previous entry: the messages appended to the context
+ * (after truncating it to {@code baseContextSize}), the scalar fields, and whichever sub-state
+ * sections were modified. Unchanged fields are {@code null} and omitted from JSON; a field that
+ * was set to {@code null} is named in {@code cleared} instead.
+ *
+ * @param seq monotonically increasing sequence number within one journal
+ * @param kind whether this entry is a full snapshot or a delta
+ * @param snapshot the full state ({@link Kind#SNAPSHOT} only)
+ * @param baseContextSize context size the delta applies on top of ({@link Kind#DELTA} only)
+ * @param appended messages appended after {@code baseContextSize} ({@link Kind#DELTA} only)
+ * @param summary new summary, or {@code null} when unchanged
+ * @param replyId new reply identifier, or {@code null} when unchanged or cleared
+ * @param curIter reasoning iteration at the time of the write
+ * @param shutdownInterrupted shutdown flag at the time of the write
+ * @param permissionContext new permission context, or {@code null} when unchanged
+ * @param toolContext new tool context, or {@code null} when unchanged
+ * @param tasksContext new task context, or {@code null} when unchanged
+ * @param planModeContext new plan-mode context, or {@code null} when unchanged
+ * @param cleared JSON names of the fields set to {@code null} by this delta, or {@code null}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AgentStateJournalEntry(
+        @JsonProperty("seq") long seq,
+        @JsonProperty("kind") Kind kind,
+        @JsonProperty("snapshot") AgentState snapshot,
+        @JsonProperty("base_context_size") Integer baseContextSize,
+        @JsonProperty("appended") List<Msg> appended,
+        @JsonProperty("summary") String summary,
+        @JsonProperty("reply_id") String replyId,
+        @JsonProperty("cur_iter") Integer curIter,
+        @JsonProperty("shutdown_interrupted") Boolean shutdownInterrupted,
+        @JsonProperty("permission_context") PermissionContextState permissionContext,
+        @JsonProperty("tool_context") ToolContextState toolContext,
+        @JsonProperty("tasks_context") TaskContextState tasksContext,
+        @JsonProperty("plan_mode_context") PlanModeContextState planModeContext,
+        @JsonProperty("cleared") List<String> cleared)
+        implements State {
+
+    /** Name of the reply identifier in {@code cleared}. */
+    static final String REPLY_ID = "reply_id";
+
+    /** Journal entry kinds. */
+    public enum Kind {
+        /** Full state; replay restarts from here. */
+        SNAPSHOT,
+        /** Incremental change on top of the previous entry. */
+        DELTA
+    }
+
+    public AgentStateJournalEntry {
+        Objects.requireNonNull(kind, "kind must not be null");
+        if (kind == Kind.SNAPSHOT) {
+            Objects.requireNonNull(snapshot, "snapshot must not be null for SNAPSHOT entries");
+        }
+        appended = appended == null ? null : List.copyOf(appended);
+        cleared = cleared == null ? null : List.copyOf(cleared);
+    }
+
+    static AgentStateJournalEntry snapshot(long seq, AgentState state) {
+        return new AgentStateJournalEntry(
+                seq,
+                Kind.SNAPSHOT,
+                state,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null);
+    }
+
+    /** Returns whether this delta sets the field named {@code field} to {@code null}. */
+    boolean clears(String field) {
+        return cleared != null && cleared.contains(field);
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.agentscope.core.state;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -56,6 +57,9 @@ import java.util.Set;
  *
  * // List all sessions owned by a user (null lists anonymous sessions)
  * Set<String> mySessions = store.listSessionIds("alice");
+ *
+ * // Page through a user's sessions, most recently updated first
+ * SessionPage page = store.listSessions(SessionQuery.builder().userId("alice").limit(50).build());
  * }</pre>
  */
 public interface AgentStateStore {
@@ -91,6 +95,32 @@ public interface AgentStateStore {
      */
     void save(String userId, String sessionId, String key, List<? extends State> values);
 
+    /**
+     * Append items to the end of a list state without re-sending the items already stored.
+     *
+     * <p>Unlike {@link #save(String, String, String, List)}, {@code items} holds only the new
+     * elements. After an append the stored change-detection hash (if any) no longer describes the
+     * list, so the next full {@code save} of the same key rewrites it.
+     *
+     * <p>The default implementation reads the existing list and saves the concatenation;
+     * implementations backed by append-capable storage should override it.
+     *
+     * @param userId nullable user identifier
+     * @param sessionId session identifier; must be non-null and non-blank
+     * @param key the state key
+     * @param items the elements to append
+     */
+    default void append(String userId, String sessionId, String key, List<? extends State> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Class<State> itemType = (Class<State>) items.get(0).getClass();
+        List<State> merged = new ArrayList<>(getList(userId, sessionId, key, itemType));
+        merged.addAll(items);
+        save(userId, sessionId, key, merged);
+    }
+
     /**
      * Get a single state value.
      *
@@ -116,6 +146,24 @@ public interface AgentStateStore {
     <T extends State> List<T> getList(
             String userId, String sessionId, String key, Class<T> itemType);
 
+    /**
+     * Returns an opaque token that changes whenever the value stored under {@code key} changes,
+     * without reading the value itself.
+     *
+     * <p>Callers that cache a loaded state compare tokens to skip reloading an unchanged value,
+     * so a token must be cheap to obtain (file metadata, a counter) and must never repeat for
+     * different contents. The default returns empty ("unknown"), which makes callers always
+     * reload.
+     *
+     * @param userId nullable user identifier
+     * @param sessionId session identifier; must be non-null and non-blank
+     * @param key the state key
+     * @return the current version token, or empty if unknown or the key is absent
+     */
+    default Optional<String> version(String userId, String sessionId, String key) {
+        return Optional.empty();
+    }
+
     /**
      * Check if a session exists.
      *
@@ -151,11 +199,60 @@ public interface AgentStateStore {
      * only that user's sessions. There is no API to list across users in one call — that is
      * a separate administrative concern (admin starter handles it by iterating known users).
      *
+     * <p>The whole set is materialized in memory; prefer {@link #listSessions(SessionQuery)} on
+     * stores that may hold many sessions.
+     *
      * @param userId nullable user identifier
      * @return set of session identifiers stored under {@code userId}
      */
     Set<String> listSessionIds(String userId);
 
+    /**
+     * List one page of the sessions under {@code query.getUserId()}, with their metadata.
+     *
+     * <p>The default implementation loads {@link #listSessionIds(String)} and pages through it in
+     * memory; it knows no metadata, so every session reports {@code lastModified == 0} and
+     * {@code -1} for the other values, and {@link SessionQuery.SortBy#LAST_UPDATED} degrades to
+     * id order. Implementations backed by storage that can keep a sorted index should override
+     * this with a keyset query that only reads one page.
+     *
+     * @param query the page to list
+     * @return the requested page
+     */
+    default SessionPage listSessions(SessionQuery query) {
+        List<SessionInfo> candidates = new ArrayList<>();
+        for (String sessionId : listSessionIds(query.getUserId())) {
+            candidates.add(new SessionInfo(query.getUserId(), sessionId, -1, 0, -1, -1));
+        }
+        return SessionPage.paginate(candidates, query);
+    }
+
+    /**
+     * Returns a non-blocking view of this store for use inside reactive pipelines.
+     *
+     * <p>The default wraps this store with {@link ReactiveAgentStateStore#offloading(
+     * AgentStateStore)}, so blocking I/O runs on {@code boundedElastic} instead of the calling
+     * Reactor thread. Stores backed by a non-blocking client should override this and return a
+     * native implementation.
+     *
+     * @return a reactive view sharing this store's data
+     */
+    default ReactiveAgentStateStore reactive() {
+        return ReactiveAgentStateStore.offloading(this);
+    }
+
+    /**
+     * Returns the store this one decorates, or {@code null} when it holds the data itself.
+     *
+     * <p>Decorators (metrics, caching) override this so callers that look at the concrete store
+     * type can see through them.
+     *
+     * @return the decorated store, or {@code null}
+     */
+    default AgentStateStore getDelegate() {
+        return null;
+    }
+
     /**
      * Clean up any resources used by this store. Implementations should override this if they
      * need cleanup.
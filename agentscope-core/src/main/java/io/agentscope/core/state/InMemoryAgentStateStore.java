@@ -15,6 +15,7 @@
  */
 package io.agentscope.core.state;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +23,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * In-memory implementation of the {@link AgentStateStore} interface.
@@ -51,16 +53,37 @@ public class InMemoryAgentStateStore implements AgentStateStore {
     /** users → (sessionId → SessionData) */
     private final Map<String, Map<String, SessionData>> users = new ConcurrentHashMap<>();
 
+    /** Store-wide sequence backing {@link #version}; never reused, even across deletes. */
+    private final AtomicLong versionSeq = new AtomicLong();
+
     @Override
     public void save(String userId, String sessionId, String key, State value) {
         SessionData data = lookupOrCreate(userId, sessionId);
         data.setSingleState(key, value);
+        data.versions.put(key, versionSeq.incrementAndGet());
+        if (value instanceof AgentState agentState) {
+            data.messageCount = agentState.getContext().size();
+        }
+        data.touch();
     }
 
     @Override
     public void save(String userId, String sessionId, String key, List<? extends State> values) {
         SessionData data = lookupOrCreate(userId, sessionId);
         data.setListState(key, values);
+        data.versions.put(key, versionSeq.incrementAndGet());
+        data.touch();
+    }
+
+    @Override
+    public void append(String userId, String sessionId, String key, List<? extends State> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        SessionData data = lookupOrCreate(userId, sessionId);
+        data.appendListState(key, items);
+        data.versions.put(key, versionSeq.incrementAndGet());
+        data.touch();
     }
 
     @Override
@@ -101,6 +124,15 @@ public class InMemoryAgentStateStore implements AgentStateStore {
         return (List<T>) list;
     }
 
+    @Override
+    public Optional<String> version(String userId, String sessionId, String key) {
+        SessionData data = lookup(userId, sessionId);
+        if (data == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(data.versions.get(key)).map(String::valueOf);
+    }
+
     @Override
     public boolean exists(String userId, String sessionId) {
         return lookup(userId, sessionId) != null;
@@ -119,6 +151,8 @@ public class InMemoryAgentStateStore implements AgentStateStore {
         SessionData data = lookup(userId, sessionId);
         if (data != null) {
             data.removeSingleState(key);
+            data.versions.remove(key);
+            data.touch();
         }
     }
 
@@ -131,6 +165,26 @@ public class InMemoryAgentStateStore implements AgentStateStore {
         return new HashSet<>(userBucket.keySet());
     }
 
+    @Override
+    public SessionPage listSessions(SessionQuery query) {
+        Map<String, SessionData> userBucket = users.get(normalizeUser(query.getUserId()));
+        if (userBucket == null) {
+            return SessionPage.EMPTY;
+        }
+        List<SessionInfo> candidates = new ArrayList<>(userBucket.size());
+        userBucket.forEach(
+                (sessionId, data) ->
+                        candidates.add(
+                                new SessionInfo(
+                                        query.getUserId(),
+                                        sessionId,
+                                        -1,
+                                        data.lastUpdated,
+                                        data.singleStates.size() + data.listStates.size(),
+                                        data.messageCount)));
+        return SessionPage.paginate(candidates, query);
+    }
+
     /** Total number of {@code (userId, sessionId)} slots currently stored. */
     public int getSessionCount() {
         return users.values().stream().mapToInt(Map::size).sum();
@@ -170,6 +224,13 @@ public class InMemoryAgentStateStore implements AgentStateStore {
     private static class SessionData {
         private final Map<String, State> singleStates = new ConcurrentHashMap<>();
         private final Map<String, List<State>> listStates = new ConcurrentHashMap<>();
+        private final Map<String, Long> versions = new ConcurrentHashMap<>();
+        private volatile long lastUpdated;
+        private volatile int messageCount = -1;
+
+        void touch() {
+            lastUpdated = System.currentTimeMillis();
+        }
 
         void setSingleState(String key, State value) {
             singleStates.put(key, value);
@@ -187,6 +248,17 @@ public class InMemoryAgentStateStore implements AgentStateStore {
             listStates.put(key, List.copyOf(values));
         }
 
+        void appendListState(String key, List<? extends State> items) {
+            listStates.merge(
+                    key,
+                    List.copyOf(items),
+                    (existing, added) -> {
+                        List<State> merged = new ArrayList<>(existing);
+                        merged.addAll(added);
+                        return List.copyOf(merged);
+                    });
+        }
+
         List<? extends State> getListState(String key) {
             return listStates.get(key);
         }
@@ -15,24 +15,30 @@
  */
 package io.agentscope.core.state;
 
+import io.agentscope.core.util.JsonCodec;
 import io.agentscope.core.util.JsonUtils;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import reactor.core.publisher.Mono;
@@ -62,6 +68,16 @@ import reactor.core.scheduler.Schedulers;
  *
  * <p>Features: atomic file operations, UTF-8 encoding, graceful handling of missing
  * sessions, hash-based append-or-rewrite for list state.
+ *
+ * <p>When constructed with an {@link AgentStateJournal}, {@link AgentState} values are not
+ * rewritten as a whole {@code <key>.json} document on every save; instead each save appends one
+ * line to {@code <key>_journal.jsonl} holding only the new messages and changed sections, and the
+ * journal is periodically compacted into a snapshot. Reads replay the journal and fall back to
+ * {@code <key>.json} for sessions written before journaling was enabled.
+ *
+ * <p>Every write also appends a line to the user's summary index {@code @sessions.log} (last
+ * update time and message count per session), which {@link #listSessions(SessionQuery)} pages
+ * through without visiting the session directories; see {@link JsonFileSessionIndex}.
  */
 public class JsonFileAgentStateStore implements AgentStateStore {
 
@@ -73,6 +89,12 @@ public class JsonFileAgentStateStore implements AgentStateStore {
 
     private final Path rootDirectory;
 
+    /** Journal used for {@link AgentState} values; {@code null} = whole-document rewrites. */
+    private final AgentStateJournal journal;
+
+    /** Summary indexes keyed by user directory name, created on first use. */
+    private final Map<String, JsonFileSessionIndex> indexes = new ConcurrentHashMap<>();
+
     /**
      * Create a {@code JsonFileAgentStateStore} with the default root:
      * {@code ~/.agentscope/state}.
@@ -87,7 +109,19 @@ public class JsonFileAgentStateStore implements AgentStateStore {
      * @param rootDirectory root directory under which user / session sub-directories live
      */
     public JsonFileAgentStateStore(Path rootDirectory) {
+        this(rootDirectory, null);
+    }
+
+    /**
+     * Create a {@code JsonFileAgentStateStore} that persists {@link AgentState} values through an
+     * append-only journal.
+     *
+     * @param rootDirectory root directory under which user / session sub-directories live
+     * @param journal journal for {@link AgentState} values, or {@code null} to rewrite them whole
+     */
+    public JsonFileAgentStateStore(Path rootDirectory, AgentStateJournal journal) {
         this.rootDirectory = rootDirectory;
+        this.journal = journal;
         try {
             Files.createDirectories(rootDirectory);
         } catch (IOException e) {
@@ -97,14 +131,29 @@ public class JsonFileAgentStateStore implements AgentStateStore {
 
     @Override
     public void save(String userId, String sessionId, String key, State value) {
+        if (journal != null && value instanceof AgentState agentState) {
+            journal.write(this, userId, sessionId, key, agentState);
+            indexFor(userId).touch(sessionId, agentState.getContext().size());
+            return;
+        }
         Path file = getStatePath(userId, sessionId, key);
         ensureDirectoryExists(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
         try {
-            String json = JsonUtils.getJsonCodec().toPrettyJson(value);
-            atomicWriteString(file, json);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                JsonUtils.getJsonCodec().writePrettyTo(value, out);
+            }
+            Files.move(
+                    tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             throw new RuntimeException("Failed to save state: " + key, e);
         }
+        indexFor(userId)
+                .touch(
+                        sessionId,
+                        value instanceof AgentState agentState
+                                ? agentState.getContext().size()
+                                : -1);
     }
 
     @Override
@@ -130,49 +179,75 @@ public class JsonFileAgentStateStore implements AgentStateStore {
         } catch (IOException e) {
             throw new RuntimeException("Failed to save list: " + key, e);
         }
+        indexFor(userId).touch(sessionId, -1);
+    }
+
+    @Override
+    public void append(String userId, String sessionId, String key, List<? extends State> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Path file = getListPath(userId, sessionId, key);
+        ensureDirectoryExists(file.getParent());
+        try {
+            appendToList(file, items);
+            // The stored hash no longer describes the list; force the next save to rewrite it.
+            Files.deleteIfExists(getHashPath(userId, sessionId, key));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append to list: " + key, e);
+        }
+        // Journal appends are followed by the save(State) call that records the message count.
+        indexFor(userId).touch(sessionId, -1);
     }
 
     private void rewriteEntireList(Path file, List<? extends State> values) throws IOException {
         Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
-        try (BufferedWriter writer =
-                Files.newBufferedWriter(
-                        tmp,
-                        StandardCharsets.UTF_8,
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.TRUNCATE_EXISTING,
-                        StandardOpenOption.WRITE)) {
-            for (State item : values) {
-                writer.write(JsonUtils.getJsonCodec().toJson(item));
-                writer.newLine();
-            }
+        try (OutputStream out =
+                new BufferedOutputStream(
+                        Files.newOutputStream(
+                                tmp,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.WRITE))) {
+            writeLines(out, values);
         }
         Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
     }
 
     private void appendToList(Path file, List<? extends State> items) throws IOException {
-        try (BufferedWriter writer =
-                Files.newBufferedWriter(
-                        file,
-                        StandardCharsets.UTF_8,
-                        StandardOpenOption.CREATE,
-                        StandardOpenOption.APPEND)) {
-            for (State item : items) {
-                writer.write(JsonUtils.getJsonCodec().toJson(item));
-                writer.newLine();
-            }
+        try (OutputStream out =
+                new BufferedOutputStream(
+                        Files.newOutputStream(
+                                file, StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            writeLines(out, items);
+        }
+    }
+
+    /** Writes one compact JSON document per line, encoding each item straight to bytes. */
+    private static void writeLines(OutputStream out, List<? extends State> items)
+            throws IOException {
+        JsonCodec codec = JsonUtils.getJsonCodec();
+        for (State item : items) {
+            codec.writeTo(item, out);
+            out.write('\n');
         }
     }
 
     @Override
     public <T extends State> Optional<T> get(
             String userId, String sessionId, String key, Class<T> type) {
+        if (journal != null && type == AgentState.class) {
+            Optional<AgentState> replayed = journal.read(this, userId, sessionId, key);
+            if (replayed.isPresent()) {
+                return Optional.of(type.cast(replayed.get()));
+            }
+        }
         Path file = getStatePath(userId, sessionId, key);
         if (!Files.exists(file)) {
             return Optional.empty();
         }
-        try {
-            String json = Files.readString(file, StandardCharsets.UTF_8);
-            return Optional.of(JsonUtils.getJsonCodec().fromJson(json, type));
+        try (InputStream in = Files.newInputStream(file)) {
+            return Optional.of(JsonUtils.getJsonCodec().readFrom(in, type));
         } catch (IOException e) {
             throw new RuntimeException("Failed to load state: " + key, e);
         }
@@ -185,20 +260,51 @@ public class JsonFileAgentStateStore implements AgentStateStore {
         if (!Files.exists(file)) {
             return List.of();
         }
+        // One streaming parser over the file instead of decoding each line to a String.
+        try (InputStream in = Files.newInputStream(file)) {
+            return JsonUtils.getJsonCodec().readValuesFrom(in, itemType);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load list: " + key, e);
+        }
+    }
+
+    /**
+     * Returns a fingerprint of the files backing {@code key}: file identity (inode), size and
+     * modification time of {@code <key>.json}, {@code <key>.jsonl} and, with a journal, the
+     * journal file. Full rewrites go through an atomic rename (new file identity) and journal
+     * writes only ever grow the file, so every write changes the token.
+     */
+    @Override
+    public Optional<String> version(String userId, String sessionId, String key) {
+        StringBuilder token = new StringBuilder();
         try {
-            List<T> result = new ArrayList<>();
-            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (!line.isBlank()) {
-                        result.add(JsonUtils.getJsonCodec().fromJson(line, itemType));
-                    }
-                }
+            appendFingerprint(token, getStatePath(userId, sessionId, key));
+            appendFingerprint(token, getListPath(userId, sessionId, key));
+            if (journal != null) {
+                appendFingerprint(
+                        token, getListPath(userId, sessionId, AgentStateJournal.journalKey(key)));
             }
-            return result;
         } catch (IOException e) {
-            throw new RuntimeException("Failed to load list: " + key, e);
+            throw new RuntimeException("Failed to read state version: " + key, e);
+        }
+        return token.isEmpty() ? Optional.empty() : Optional.of(token.toString());
+    }
+
+    private static void appendFingerprint(StringBuilder token, Path file) throws IOException {
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return;
         }
+        token.append(file.getFileName())
+                .append('@')
+                .append(attrs.fileKey())
+                .append(':')
+                .append(attrs.size())
+                .append(':')
+                .append(attrs.lastModifiedTime().toInstant())
+                .append(';');
     }
 
     @Override
@@ -212,15 +318,24 @@ public class JsonFileAgentStateStore implements AgentStateStore {
         if (Files.exists(dir)) {
             deleteDirectory(dir);
         }
+        indexFor(userId).remove(sessionId);
     }
 
     @Override
     public void delete(String userId, String sessionId, String key) {
         try {
             Files.deleteIfExists(getStatePath(userId, sessionId, key));
+            if (journal != null) {
+                String journalKey = AgentStateJournal.journalKey(key);
+                Files.deleteIfExists(getListPath(userId, sessionId, journalKey));
+                Files.deleteIfExists(getHashPath(userId, sessionId, journalKey));
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to delete state: " + key, e);
         }
+        if (exists(userId, sessionId)) {
+            indexFor(userId).touch(sessionId, -1);
+        }
     }
 
     @Override
@@ -240,6 +355,56 @@ public class JsonFileAgentStateStore implements AgentStateStore {
         }
     }
 
+    /**
+     * Lists a page of sessions from the user's summary index. Size and component count are read
+     * from the session directories of the returned page only.
+     */
+    @Override
+    public SessionPage listSessions(SessionQuery query) {
+        String userId = query.getUserId();
+        List<SessionInfo> fetched = new ArrayList<>();
+        for (JsonFileSessionIndex.Entry entry : indexFor(userId).query(query)) {
+            long size = 0;
+            int components = 0;
+            Path dir = getSessionDir(userId, entry.sessionId());
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(".json") || name.endsWith(".jsonl")) {
+                        size += Files.size(file);
+                        components++;
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // Deleted by another process after the index was read.
+                size = -1;
+                components = -1;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read session: " + entry.sessionId(), e);
+            }
+            fetched.add(
+                    new SessionInfo(
+                            userId,
+                            entry.sessionId(),
+                            size,
+                            entry.lastUpdated(),
+                            components,
+                            entry.messageCount()));
+        }
+        return SessionPage.fromOrdered(fetched, query);
+    }
+
+    private JsonFileSessionIndex indexFor(String userId) {
+        String userSegment = safeSegment(normalizeUser(userId));
+        return indexes.computeIfAbsent(
+                userSegment, u -> new JsonFileSessionIndex(rootDirectory.resolve(u)));
+    }
+
+    /** Returns the journal used for {@link AgentState} values, or {@code null} if disabled. */
+    public AgentStateJournal getJournal() {
+        return journal;
+    }
+
     /** Returns the configured root directory (for diagnostics). */
     public Path getRootDirectory() {
         return rootDirectory;
@@ -269,8 +434,11 @@ public class JsonFileAgentStateStore implements AgentStateStore {
                                                 deletedCount++;
                                             }
                                         }
+                                        Files.deleteIfExists(
+                                                userDir.resolve(JsonFileSessionIndex.FILE_NAME));
                                     }
                                 }
+                                indexes.values().forEach(JsonFileSessionIndex::invalidate);
                                 return deletedCount;
                             } catch (IOException e) {
                                 throw new RuntimeException("Failed to clear sessions", e);
@@ -326,8 +494,26 @@ public class JsonFileAgentStateStore implements AgentStateStore {
         if (!Files.exists(file)) {
             return 0;
         }
-        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
-            return lines.filter(line -> !line.isBlank()).count();
+        // Counts non-blank lines on the raw bytes; the list may be large and is never decoded here.
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            long count = 0;
+            boolean lineHasContent = false;
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    int b = buffer[i] & 0xff;
+                    if (b == '\n') {
+                        if (lineHasContent) {
+                            count++;
+                        }
+                        lineHasContent = false;
+                    } else if (b > ' ') {
+                        lineHasContent = true;
+                    }
+                }
+            }
+            return lineHasContent ? count + 1 : count;
         } catch (IOException e) {
             return 0;
         }
@@ -374,7 +560,7 @@ public class JsonFileAgentStateStore implements AgentStateStore {
         return sessionId;
     }
 
-    private static String safeSegment(String value) {
+    static String safeSegment(String value) {
         if (SAFE_FILENAME_PATTERN.matcher(value).matches()) {
             return value;
         }
@@ -383,7 +569,7 @@ public class JsonFileAgentStateStore implements AgentStateStore {
                 .encodeToString(value.getBytes(StandardCharsets.UTF_8));
     }
 
-    private static String decodeSegment(String segment) {
+    static String decodeSegment(String segment) {
         if (SAFE_FILENAME_PATTERN.matcher(segment).matches()) {
             return segment;
         }
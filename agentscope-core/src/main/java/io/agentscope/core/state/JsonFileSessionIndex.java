@@ -0,0 +1,458 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Summary index of one user's sessions in a {@link JsonFileAgentStateStore}, so listing a page
+ * does not walk every session directory.
+ *
+ * <p>The index is an append-only log {@code <root>/<user>/@sessions.log} with one line per
+ * session update ({@code U <updatedMillis> <messageCount> <id>}) or deletion ({@code D <id>}).
+ * It is replayed into two sorted in-memory views, by update time and by id, which answer a page
+ * query in {@code O(log n + limit)}. Before every access the log is checked for lines appended by
+ * other processes sharing the directory, and only the new tail is read. The log is compacted to
+ * one line per live session once it holds more than twice as many lines.
+ *
+ * <p>Appends, compaction and the rebuild of a missing log hold an exclusive {@link FileLock} on
+ * {@code @sessions.lock} next to the log (a lock on the log itself would not survive compaction
+ * replacing it), and compaction re-reads the tail under the lock, so a line appended by another
+ * process is never dropped by a rewrite. Within one JVM the file lock is paired with a per-path
+ * lock, as file locks are held per process.
+ *
+ * <p>A missing log (sessions written before the index existed, or by older versions) is rebuilt
+ * once from the session directories, using the newest file modification time in each.
+ *
+ * <p>Instances are thread-safe; all methods synchronize on the instance.
+ */
+final class JsonFileSessionIndex {
+
+    /** Log file name; {@code @} never occurs in an encoded session directory name. */
+    static final String FILE_NAME = "@sessions.log";
+
+    static final String LOCK_FILE_NAME = "@sessions.lock";
+
+    /** In-JVM side of the lock; {@link FileChannel#lock()} only excludes other processes. */
+    private static final Map<Path, ReentrantLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    private static final int COMPACT_MIN_RECORDS = 1024;
+
+    private static final Comparator<SessionCursor> BY_TIME =
+            Comparator.comparingLong(SessionCursor::lastUpdated)
+                    .thenComparing(SessionCursor::sessionId);
+
+    /** Index state of one session. */
+    record Entry(String sessionId, long lastUpdated, int messageCount) {}
+
+    private final Path userDir;
+    private final Path file;
+    private final Path lockFile;
+
+    private final NavigableMap<String, Entry> byId = new TreeMap<>();
+    private final NavigableSet<SessionCursor> byTime = new TreeSet<>(BY_TIME);
+
+    private boolean loaded;
+    private Object fileKey;
+    private long readBytes;
+    private int records;
+
+    JsonFileSessionIndex(Path userDir) {
+        this.userDir = userDir;
+        this.file = userDir.resolve(FILE_NAME);
+        this.lockFile = userDir.resolve(LOCK_FILE_NAME);
+    }
+
+    /**
+     * Records an update of {@code sessionId} at the current time.
+     *
+     * @param messageCount the session's new message count, or {@code -1} to keep the known one
+     */
+    synchronized void touch(String sessionId, int messageCount) {
+        refresh();
+        long now = System.currentTimeMillis();
+        Entry previous = byId.get(sessionId);
+        int messages =
+                messageCount >= 0 || previous == null ? messageCount : previous.messageCount();
+        put(new Entry(sessionId, now, messages));
+        append("U " + now + " " + messages + " " + JsonFileAgentStateStore.safeSegment(sessionId));
+    }
+
+    /** Records the deletion of {@code sessionId}. */
+    synchronized void remove(String sessionId) {
+        refresh();
+        if (remove(byId.get(sessionId))) {
+            append("D " + JsonFileAgentStateStore.safeSegment(sessionId));
+        }
+    }
+
+    /** Drops the in-memory views so the next access reloads the log. */
+    synchronized void invalidate() {
+        clear();
+        loaded = false;
+    }
+
+    /**
+     * Returns up to {@code query.getLimit() + 1} entries matching {@code query}, in its order and
+     * after its cursor.
+     */
+    synchronized List<Entry> query(SessionQuery query) {
+        refresh();
+        int wanted = query.getLimit() + 1;
+        List<Entry> result = new ArrayList<>(Math.min(wanted, byId.size()));
+        Iterator<Entry> it =
+                query.getSortBy() == SessionQuery.SortBy.SESSION_ID
+                        ? idOrder(query)
+                        : timeOrder(query);
+        while (it.hasNext() && result.size() < wanted) {
+            Entry entry = it.next();
+            if (pastRange(query, entry)) {
+                break;
+            }
+            if (query.matches(entry.sessionId(), entry.lastUpdated())
+                    && query.isAfterCursor(entry.sessionId(), entry.lastUpdated())) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /** Iterates by update time, starting at the tighter of the cursor and the time range. */
+    private Iterator<Entry> timeOrder(SessionQuery query) {
+        SessionCursor cursor = query.getDecodedCursor();
+        NavigableSet<SessionCursor> view;
+        if (!query.isDescending()) {
+            SessionCursor from =
+                    query.getUpdatedAfter() != null
+                            ? new SessionCursor(query.getUpdatedAfter(), "")
+                            : null;
+            if (cursor != null && (from == null || BY_TIME.compare(cursor, from) >= 0)) {
+                view = byTime.tailSet(cursor, false);
+            } else {
+                view = from != null ? byTime.tailSet(from, true) : byTime;
+            }
+        } else {
+            SessionCursor to =
+                    query.getUpdatedBefore() != null
+                            ? new SessionCursor(query.getUpdatedBefore(), "")
+                            : null;
+            if (cursor != null && (to == null || BY_TIME.compare(cursor, to) <= 0)) {
+                view = byTime.headSet(cursor, false).descendingSet();
+            } else {
+                view =
+                        to != null
+                                ? byTime.headSet(to, false).descendingSet()
+                                : byTime.descendingSet();
+            }
+        }
+        return view.stream().map(key -> byId.get(key.sessionId())).iterator();
+    }
+
+    /** Iterates by id, starting at the tighter of the cursor and the id prefix. */
+    private Iterator<Entry> idOrder(SessionQuery query) {
+        String cursor =
+                query.getDecodedCursor() != null ? query.getDecodedCursor().sessionId() : null;
+        String prefix = query.getSessionIdPrefix();
+        NavigableMap<String, Entry> view;
+        if (!query.isDescending()) {
+            if (cursor != null && (prefix == null || cursor.compareTo(prefix) >= 0)) {
+                view = byId.tailMap(cursor, false);
+            } else {
+                view = prefix != null ? byId.tailMap(prefix, true) : byId;
+            }
+        } else {
+            String to = prefix != null ? prefix + Character.MAX_VALUE : null;
+            if (cursor != null && (to == null || cursor.compareTo(to) <= 0)) {
+                view = byId.headMap(cursor, false).descendingMap();
+            } else {
+                view = to != null ? byId.headMap(to, true).descendingMap() : byId.descendingMap();
+            }
+        }
+        return view.values().iterator();
+    }
+
+    /** Whether {@code entry} and everything after it in the query's order is out of range. */
+    private static boolean pastRange(SessionQuery query, Entry entry) {
+        if (query.getSortBy() == SessionQuery.SortBy.SESSION_ID) {
+            String prefix = query.getSessionIdPrefix();
+            if (prefix == null || entry.sessionId().startsWith(prefix)) {
+                return false;
+            }
+            int cmp = entry.sessionId().compareTo(prefix);
+            return query.isDescending() ? cmp < 0 : cmp > 0;
+        }
+        Long bound = query.isDescending() ? query.getUpdatedAfter() : query.getUpdatedBefore();
+        if (bound == null) {
+            return false;
+        }
+        return query.isDescending() ? entry.lastUpdated() < bound : entry.lastUpdated() >= bound;
+    }
+
+    private void put(Entry entry) {
+        remove(byId.get(entry.sessionId()));
+        byId.put(entry.sessionId(), entry);
+        byTime.add(new SessionCursor(entry.lastUpdated(), entry.sessionId()));
+    }
+
+    private boolean remove(Entry entry) {
+        if (entry == null) {
+            return false;
+        }
+        byId.remove(entry.sessionId());
+        byTime.remove(new SessionCursor(entry.lastUpdated(), entry.sessionId()));
+        return true;
+    }
+
+    private void clear() {
+        byId.clear();
+        byTime.clear();
+        fileKey = null;
+        readBytes = 0;
+        records = 0;
+    }
+
+    /** Brings the in-memory views up to date with the log. */
+    private void refresh() {
+        try {
+            if (!sync(false)) {
+                locked(() -> sync(true));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read session index: " + file, e);
+        }
+    }
+
+    /**
+     * Reads what other processes appended since the last call.
+     *
+     * @param locked whether the caller holds the lock
+     * @return {@code false} when the log has to be rebuilt or compacted, which needs the lock
+     */
+    private boolean sync(boolean locked) throws IOException {
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            if (loaded && records == 0) {
+                return true;
+            }
+            if (!locked) {
+                return false;
+            }
+            // First access, or the log was removed (e.g. clearAllSessions): rebuild.
+            clear();
+            rebuild();
+            loaded = true;
+            return true;
+        }
+        if (!loaded || !Objects.equals(attrs.fileKey(), fileKey) || attrs.size() < readBytes) {
+            // First access, or another process compacted the log: reload it whole.
+            clear();
+            fileKey = attrs.fileKey();
+            loaded = true;
+        }
+        if (attrs.size() > readBytes) {
+            readFrom(readBytes);
+        }
+        if (records > COMPACT_MIN_RECORDS && records > 2 * byId.size()) {
+            if (!locked) {
+                return false;
+            }
+            compact();
+        }
+        return true;
+    }
+
+    /** Runs {@code action} holding both the in-JVM and the file lock of this user directory. */
+    private void locked(IOAction action) throws IOException {
+        Files.createDirectories(userDir);
+        ReentrantLock processLock =
+                PROCESS_LOCKS.computeIfAbsent(
+                        lockFile.toAbsolutePath().normalize(), unused -> new ReentrantLock());
+        processLock.lock();
+        try (FileChannel channel =
+                        FileChannel.open(
+                                lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock ignored = channel.lock()) {
+            action.run();
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    private void readFrom(long offset) throws IOException {
+        byte[] tail;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            tail = new byte[(int) Math.min(Integer.MAX_VALUE, size - offset)];
+            ByteBuffer buffer = ByteBuffer.wrap(tail);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, position);
+                if (n < 0) {
+                    break;
+                }
+                position += n;
+            }
+        }
+        // Only consume complete lines; a concurrent writer may be mid-line.
+        int lineStart = 0;
+        for (int i = 0; i < tail.length; i++) {
+            if (tail[i] == '\n') {
+                apply(new String(tail, lineStart, i - lineStart, StandardCharsets.UTF_8));
+                records++;
+                lineStart = i + 1;
+            }
+        }
+        readBytes = offset + lineStart;
+    }
+
+    private void apply(String line) {
+        String[] parts = line.split(" ");
+        try {
+            if (parts.length == 4 && parts[0].equals("U")) {
+                String sessionId = JsonFileAgentStateStore.decodeSegment(parts[3]);
+                put(new Entry(sessionId, Long.parseLong(parts[1]), Integer.parseInt(parts[2])));
+            } else if (parts.length == 2 && parts[0].equals("D")) {
+                remove(byId.get(JsonFileAgentStateStore.decodeSegment(parts[1])));
+            }
+        } catch (NumberFormatException e) {
+            // Skip a corrupt line rather than failing every listing.
+        }
+    }
+
+    private void append(String line) {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        try {
+            locked(
+                    () -> {
+                        try (FileChannel channel =
+                                FileChannel.open(
+                                        file,
+                                        StandardOpenOption.CREATE,
+                                        StandardOpenOption.WRITE,
+                                        StandardOpenOption.APPEND)) {
+                            long position = channel.size();
+                            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                            while (buffer.hasRemaining()) {
+                                channel.write(buffer);
+                            }
+                            Object key =
+                                    Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+                            if ((position == readBytes && Objects.equals(key, fileKey))
+                                    || (fileKey == null && position == 0)) {
+                                // Nobody else wrote since the last refresh: our line is
+                                // already applied.
+                                readBytes += bytes.length;
+                                records++;
+                                fileKey = key;
+                            }
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update session index: " + file, e);
+        }
+    }
+
+    /** Rebuilds a missing log from the session directories. */
+    private void rebuild() throws IOException {
+        if (!Files.isDirectory(userDir)) {
+            return;
+        }
+        try (Stream<Path> dirs = Files.list(userDir)) {
+            for (Path dir : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                String sessionId =
+                        JsonFileAgentStateStore.decodeSegment(dir.getFileName().toString());
+                put(new Entry(sessionId, lastModified(dir), -1));
+            }
+        }
+        if (!byId.isEmpty()) {
+            compact();
+        }
+    }
+
+    private static long lastModified(Path dir) throws IOException {
+        FileTime newest = Files.getLastModifiedTime(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path f : (Iterable<Path>) files::iterator) {
+                FileTime time = Files.getLastModifiedTime(f);
+                if (time.compareTo(newest) > 0) {
+                    newest = time;
+                }
+            }
+        }
+        return newest.toMillis();
+    }
+
+    /** Rewrites the log with one line per live session. */
+    private void compact() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (Entry entry : byId.values()) {
+            content.append("U ")
+                    .append(entry.lastUpdated())
+                    .append(' ')
+                    .append(entry.messageCount())
+                    .append(' ')
+                    .append(JsonFileAgentStateStore.safeSegment(entry.sessionId()))
+                    .append('\n');
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        Files.createDirectories(userDir);
+        Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+        readBytes = bytes.length;
+        records = byId.size();
+    }
+
+    /** Returns a snapshot of all entries keyed by session id; for tests. */
+    synchronized Map<String, Entry> entries() {
+        refresh();
+        return new HashMap<>(byId);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import java.util.List;
+import java.util.Objects;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link ReactiveAgentStateStore} that runs a blocking {@link AgentStateStore} on a dedicated
+ * {@link Scheduler}. Used for stores without a native non-blocking client, such as JDBC and the
+ * local filesystem.
+ */
+final class OffloadingReactiveAgentStateStore implements ReactiveAgentStateStore {
+
+    private final AgentStateStore delegate;
+    private final Scheduler scheduler;
+
+    OffloadingReactiveAgentStateStore(AgentStateStore delegate, Scheduler scheduler) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler must not be null");
+    }
+
+    @Override
+    public Mono<Void> save(String userId, String sessionId, String key, State value) {
+        return Mono.<Void>fromRunnable(() -> delegate.save(userId, sessionId, key, value))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> save(
+            String userId, String sessionId, String key, List<? extends State> values) {
+        return Mono.<Void>fromRunnable(() -> delegate.save(userId, sessionId, key, values))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> append(
+            String userId, String sessionId, String key, List<? extends State> items) {
+        return Mono.<Void>fromRunnable(() -> delegate.append(userId, sessionId, key, items))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public <T extends State> Mono<T> get(
+            String userId, String sessionId, String key, Class<T> type) {
+        return Mono.fromCallable(() -> delegate.get(userId, sessionId, key, type))
+                .flatMap(Mono::justOrEmpty)
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public <T extends State> Flux<T> getList(
+            String userId, String sessionId, String key, Class<T> itemType) {
+        return Mono.fromCallable(() -> delegate.getList(userId, sessionId, key, itemType))
+                .flatMapIterable(list -> list)
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<String> version(String userId, String sessionId, String key) {
+        return Mono.fromCallable(() -> delegate.version(userId, sessionId, key))
+                .flatMap(Mono::justOrEmpty)
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Boolean> exists(String userId, String sessionId) {
+        return Mono.fromCallable(() -> delegate.exists(userId, sessionId)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> delete(String userId, String sessionId) {
+        return Mono.<Void>fromRunnable(() -> delegate.delete(userId, sessionId))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> delete(String userId, String sessionId, String key) {
+        return Mono.<Void>fromRunnable(() -> delegate.delete(userId, sessionId, key))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<String> listSessionIds(String userId) {
+        return Mono.fromCallable(() -> delegate.listSessionIds(userId))
+                .flatMapIterable(ids -> ids)
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<SessionPage> listSessions(SessionQuery query) {
+        return Mono.fromCallable(() -> delegate.listSessions(query)).subscribeOn(scheduler);
+    }
+}
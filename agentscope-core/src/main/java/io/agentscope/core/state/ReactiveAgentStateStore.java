@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking view of an {@link AgentStateStore}.
+ *
+ * <p>Mirrors the synchronous SPI operation for operation, but every method returns a lazy
+ * {@link Mono} / {@link Flux} that performs no I/O until subscribed and never blocks the
+ * subscribing thread. Slot addressing ({@code userId} nullable, {@code sessionId} required) is the
+ * same as {@link AgentStateStore}.
+ *
+ * <p>Obtain one through {@link AgentStateStore#reactive()}. Stores backed by a non-blocking client
+ * (e.g. the Lettuce path of the Redis store) return a native implementation; every other store is
+ * wrapped by {@link #offloading(AgentStateStore, Scheduler)}, which runs the blocking calls on a
+ * dedicated scheduler so Reactor event-loop threads are never parked on I/O.
+ *
+ * <pre>{@code
+ * ReactiveAgentStateStore reactive = store.reactive();
+ * reactive.get("alice", "session-1", "agent_state", AgentState.class)
+ *         .defaultIfEmpty(AgentState.builder().sessionId("session-1").build())
+ *         .flatMap(state -> ...);
+ * }</pre>
+ */
+public interface ReactiveAgentStateStore {
+
+    /**
+     * Save a single state value (full replacement).
+     *
+     * @see AgentStateStore#save(String, String, String, State)
+     */
+    Mono<Void> save(String userId, String sessionId, String key, State value);
+
+    /**
+     * Save a list of state values; callers always pass the full list.
+     *
+     * @see AgentStateStore#save(String, String, String, List)
+     */
+    Mono<Void> save(String userId, String sessionId, String key, List<? extends State> values);
+
+    /**
+     * Append items to the end of a list state.
+     *
+     * @see AgentStateStore#append(String, String, String, List)
+     */
+    Mono<Void> append(String userId, String sessionId, String key, List<? extends State> items);
+
+    /**
+     * Get a single state value.
+     *
+     * @return a Mono emitting the value, or completing empty if not found
+     * @see AgentStateStore#get(String, String, String, Class)
+     */
+    <T extends State> Mono<T> get(String userId, String sessionId, String key, Class<T> type);
+
+    /**
+     * Get a list of state values.
+     *
+     * @return a Flux of the stored items in order (empty if not found)
+     * @see AgentStateStore#getList(String, String, String, Class)
+     */
+    <T extends State> Flux<T> getList(
+            String userId, String sessionId, String key, Class<T> itemType);
+
+    /**
+     * Get the version token of a state value. The default completes empty ("unknown").
+     *
+     * @return a Mono emitting the token, or completing empty if unknown or absent
+     * @see AgentStateStore#version(String, String, String)
+     */
+    default Mono<String> version(String userId, String sessionId, String key) {
+        return Mono.empty();
+    }
+
+    /**
+     * Check if a session exists.
+     *
+     * @see AgentStateStore#exists(String, String)
+     */
+    Mono<Boolean> exists(String userId, String sessionId);
+
+    /**
+     * Delete a session and all its data.
+     *
+     * @see AgentStateStore#delete(String, String)
+     */
+    Mono<Void> delete(String userId, String sessionId);
+
+    /**
+     * Delete a single state entry within a session.
+     *
+     * @see AgentStateStore#delete(String, String, String)
+     */
+    Mono<Void> delete(String userId, String sessionId, String key);
+
+    /**
+     * List session identifiers visible under the given user namespace.
+     *
+     * @see AgentStateStore#listSessionIds(String)
+     */
+    Flux<String> listSessionIds(String userId);
+
+    /**
+     * List one page of sessions with their metadata. The default pages through {@link
+     * #listSessionIds(String)} in memory.
+     *
+     * @see AgentStateStore#listSessions(SessionQuery)
+     */
+    default Mono<SessionPage> listSessions(SessionQuery query) {
+        return listSessionIds(query.getUserId())
+                .map(id -> new SessionInfo(query.getUserId(), id, -1, 0, -1, -1))
+                .collectList()
+                .map(candidates -> SessionPage.paginate(candidates, query));
+    }
+
+    /**
+     * Wrap a blocking store, running each operation on {@link Schedulers#boundedElastic()}.
+     *
+     * @param store the blocking store to wrap
+     * @return a non-blocking view of {@code store}
+     */
+    static ReactiveAgentStateStore offloading(AgentStateStore store) {
+        return offloading(store, Schedulers.boundedElastic());
+    }
+
+    /**
+     * Wrap a blocking store, running each operation on the given scheduler. Use a scheduler sized
+     * to the backing connection pool (e.g. the JDBC pool) to bound the number of parked threads.
+     *
+     * @param store the blocking store to wrap
+     * @param scheduler the scheduler blocking calls are offloaded to
+     * @return a non-blocking view of {@code store}
+     */
+    static ReactiveAgentStateStore offloading(AgentStateStore store, Scheduler scheduler) {
+        return new OffloadingReactiveAgentStateStore(store, scheduler);
+    }
+}
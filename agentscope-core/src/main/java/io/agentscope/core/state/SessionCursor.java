@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a session listing: the sort key of the last session of a page.
+ *
+ * <p>Callers treat the {@link #encode() encoded} form as opaque; stores use the decoded fields to
+ * build keyset conditions such as {@code (updated_at, session_id) < (?, ?)}. Both fields are
+ * always present, so a cursor stays valid if the query's sort order changes between pages.
+ *
+ * @param lastUpdated last update time of the session, in epoch milliseconds
+ * @param sessionId id of the session
+ */
+public record SessionCursor(long lastUpdated, String sessionId) {
+
+    /**
+     * Creates the cursor that continues after the given session.
+     *
+     * @param info the last session of a page
+     * @return the cursor pointing after it
+     */
+    public static SessionCursor of(SessionInfo info) {
+        return new SessionCursor(info.getLastModified(), info.getSessionId());
+    }
+
+    /**
+     * Encodes this cursor as an opaque URL-safe string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        String raw = lastUpdated + ":" + sessionId;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}.
+     *
+     * @param encoded the encoded cursor
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if {@code encoded} is not a valid cursor
+     */
+    public static SessionCursor decode(String encoded) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid session cursor: " + encoded, e);
+        }
+        int sep = raw.indexOf(':');
+        if (sep <= 0 || sep == raw.length() - 1) {
+            throw new IllegalArgumentException("Invalid session cursor: " + encoded);
+        }
+        try {
+            return new SessionCursor(Long.parseLong(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid session cursor: " + encoded, e);
+        }
+    }
+}
@@ -20,13 +20,18 @@ package io.agentscope.core.state;
  * Information about a session.
  * <p>
  * Contains metadata about stored sessions including size, modification time,
- * and the number of state components saved in the session.
+ * the number of state components saved in the session and the number of conversation messages.
+ * Stores that cannot determine a value cheaply report {@code -1} for it.
+ *
+ * @see AgentStateStore#listSessions(SessionQuery)
  */
 public class SessionInfo {
+    private final String userId;
     private final String sessionId;
     private final long size;
     private final long lastModified;
     private final int componentCount;
+    private final int messageCount;
 
     /**
      * Create a new SessionInfo instance.
@@ -37,10 +42,41 @@ public class SessionInfo {
      * @param componentCount Number of state components stored in the session
      */
     public SessionInfo(String sessionId, long size, long lastModified, int componentCount) {
+        this(null, sessionId, size, lastModified, componentCount, -1);
+    }
+
+    /**
+     * Create a new SessionInfo instance owned by a user.
+     *
+     * @param userId         Owning user, or {@code null} for anonymous sessions
+     * @param sessionId      Unique identifier for the session
+     * @param size           Size of the session storage in bytes, or {@code -1} if unknown
+     * @param lastModified   Last modification timestamp in milliseconds since epoch
+     * @param componentCount Number of state components stored in the session, or {@code -1}
+     * @param messageCount   Number of messages in the session's agent context, or {@code -1}
+     */
+    public SessionInfo(
+            String userId,
+            String sessionId,
+            long size,
+            long lastModified,
+            int componentCount,
+            int messageCount) {
+        this.userId = userId;
         this.sessionId = sessionId;
         this.size = size;
         this.lastModified = lastModified;
         this.componentCount = componentCount;
+        this.messageCount = messageCount;
+    }
+
+    /**
+     * Get the user that owns this session.
+     *
+     * @return The user ID, or {@code null} for anonymous sessions
+     */
+    public String getUserId() {
+        return userId;
     }
 
     /**
@@ -79,15 +115,25 @@ public class SessionInfo {
         return componentCount;
     }
 
+    /**
+     * Get the number of messages in the session's agent context, as of the last save.
+     *
+     * @return Number of messages, or {@code -1} if unknown
+     */
+    public int getMessageCount() {
+        return messageCount;
+    }
+
     /**
      * Returns a string representation of the session information.
      *
-     * @return Formatted string containing session ID, size, last modified time, and component count
+     * @return Formatted string containing session ID, size, last modified time, component and
+     *     message count
      */
     @Override
     public String toString() {
         return String.format(
-                "SessionInfo{id='%s', size=%d, lastModified=%d, components=%d}",
-                sessionId, size, lastModified, componentCount);
+                "SessionInfo{id='%s', size=%d, lastModified=%d, components=%d, messages=%d}",
+                sessionId, size, lastModified, componentCount, messageCount);
     }
 }
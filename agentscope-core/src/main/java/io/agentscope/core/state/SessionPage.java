@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One page of a session listing returned by {@link AgentStateStore#listSessions(SessionQuery)}.
+ *
+ * @param sessions the sessions of this page, in the query's order
+ * @param nextCursor cursor for the next page, or {@code null} if this is the last page
+ */
+public record SessionPage(List<SessionInfo> sessions, String nextCursor) {
+
+    /** An empty last page. */
+    public static final SessionPage EMPTY = new SessionPage(List.of(), null);
+
+    public SessionPage {
+        sessions = List.copyOf(sessions);
+    }
+
+    /**
+     * Checks whether more sessions follow this page.
+     *
+     * @return {@code true} if {@link #nextCursor()} is set
+     */
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Builds a page from sessions already filtered, ordered and positioned after the query's
+     * cursor. Stores fetch up to {@code limit + 1} rows: the extra row only signals that another
+     * page exists and is not returned.
+     *
+     * @param fetched up to {@code query.getLimit() + 1} sessions in the query's order
+     * @param query the query the sessions were fetched for
+     * @return the page
+     */
+    public static SessionPage fromOrdered(List<SessionInfo> fetched, SessionQuery query) {
+        if (fetched.size() <= query.getLimit()) {
+            return new SessionPage(fetched, null);
+        }
+        List<SessionInfo> page = fetched.subList(0, query.getLimit());
+        return new SessionPage(page, SessionCursor.of(page.get(page.size() - 1)).encode());
+    }
+
+    /**
+     * Pages through sessions held in memory: applies the query's filters, order and cursor.
+     *
+     * @param candidates all sessions of the query's user, in any order
+     * @param query the query
+     * @return the requested page
+     */
+    public static SessionPage paginate(Collection<SessionInfo> candidates, SessionQuery query) {
+        List<SessionInfo> fetched =
+                candidates.stream()
+                        .filter(query::matches)
+                        .filter(s -> query.isAfterCursor(s.getSessionId(), s.getLastModified()))
+                        .sorted(query.comparator())
+                        .limit(query.getLimit() + 1L)
+                        .toList();
+        return fromOrdered(fetched, query);
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import java.util.Comparator;
+
+/**
+ * One page request for {@link AgentStateStore#listSessions(SessionQuery)}.
+ *
+ * <p>Pages are addressed by an opaque cursor (keyset pagination) rather than an offset, so every
+ * page costs the same regardless of how deep into the listing it is, and sessions saved or
+ * deleted between two requests never cause entries to be skipped or repeated across the pages
+ * before and after them. Pass the {@link SessionPage#nextCursor()} of one page to {@link
+ * Builder#cursor(String)} to request the next one.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * SessionQuery query = SessionQuery.builder()
+ *         .userId("alice")
+ *         .limit(50)
+ *         .updatedAfter(System.currentTimeMillis() - Duration.ofDays(7).toMillis())
+ *         .build();
+ * SessionPage page = store.listSessions(query);
+ * while (page.hasMore()) {
+ *     page = store.listSessions(query.withCursor(page.nextCursor()));
+ * }
+ * }</pre>
+ */
+public final class SessionQuery {
+
+    /** Page size used when none is given. */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /** Largest accepted page size. */
+    public static final int MAX_LIMIT = 1000;
+
+    /** Sort keys supported by every store. */
+    public enum SortBy {
+        /** Last update time, ties broken by session id. */
+        LAST_UPDATED,
+        /** Session id. */
+        SESSION_ID
+    }
+
+    private final String userId;
+    private final int limit;
+    private final String cursor;
+    private final SessionCursor decodedCursor;
+    private final SortBy sortBy;
+    private final boolean descending;
+    private final Long updatedAfter;
+    private final Long updatedBefore;
+    private final String sessionIdPrefix;
+
+    private SessionQuery(Builder builder) {
+        this.userId = builder.userId;
+        this.limit = builder.limit;
+        this.cursor = builder.cursor;
+        this.decodedCursor = builder.cursor != null ? SessionCursor.decode(builder.cursor) : null;
+        this.sortBy = builder.sortBy;
+        this.descending = builder.descending;
+        this.updatedAfter = builder.updatedAfter;
+        this.updatedBefore = builder.updatedBefore;
+        this.sessionIdPrefix = builder.sessionIdPrefix;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a copy of this query that starts after the given cursor.
+     *
+     * @param cursor the {@link SessionPage#nextCursor()} of the previous page, or {@code null}
+     * @return a new query
+     */
+    public SessionQuery withCursor(String cursor) {
+        return toBuilder().cursor(cursor).build();
+    }
+
+    /**
+     * Returns a builder initialized with this query's settings.
+     *
+     * @return a new Builder instance
+     */
+    public Builder toBuilder() {
+        Builder builder =
+                new Builder()
+                        .userId(userId)
+                        .limit(limit)
+                        .cursor(cursor)
+                        .sortBy(sortBy)
+                        .descending(descending)
+                        .sessionIdPrefix(sessionIdPrefix);
+        builder.updatedAfter = updatedAfter;
+        builder.updatedBefore = updatedBefore;
+        return builder;
+    }
+
+    /** Returns the user whose sessions are listed; {@code null} lists anonymous sessions. */
+    public String getUserId() {
+        return userId;
+    }
+
+    /** Returns the maximum number of sessions in one page. */
+    public int getLimit() {
+        return limit;
+    }
+
+    /** Returns the opaque cursor this page starts after, or {@code null} for the first page. */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /** Returns the decoded cursor this page starts after, or {@code null} for the first page. */
+    public SessionCursor getDecodedCursor() {
+        return decodedCursor;
+    }
+
+    /** Returns the sort key. */
+    public SortBy getSortBy() {
+        return sortBy;
+    }
+
+    /** Returns whether sessions are listed in descending order. */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Returns the inclusive lower bound on the last update time in epoch milliseconds, or
+     * {@code null} if unbounded.
+     */
+    public Long getUpdatedAfter() {
+        return updatedAfter;
+    }
+
+    /**
+     * Returns the exclusive upper bound on the last update time in epoch milliseconds, or
+     * {@code null} if unbounded.
+     */
+    public Long getUpdatedBefore() {
+        return updatedBefore;
+    }
+
+    /** Returns the required session id prefix, or {@code null} if any id matches. */
+    public String getSessionIdPrefix() {
+        return sessionIdPrefix;
+    }
+
+    /**
+     * Checks whether a session passes this query's filters. The cursor is not considered.
+     *
+     * @param info the session to check
+     * @return {@code true} if the session matches the time range and id prefix
+     */
+    public boolean matches(SessionInfo info) {
+        return matches(info.getSessionId(), info.getLastModified());
+    }
+
+    /**
+     * Checks whether a session passes this query's filters. The cursor is not considered.
+     *
+     * @param sessionId the session id
+     * @param lastUpdated the last update time in epoch milliseconds
+     * @return {@code true} if the session matches the time range and id prefix
+     */
+    public boolean matches(String sessionId, long lastUpdated) {
+        if (updatedAfter != null && lastUpdated < updatedAfter) {
+            return false;
+        }
+        if (updatedBefore != null && lastUpdated >= updatedBefore) {
+            return false;
+        }
+        return sessionIdPrefix == null || sessionId.startsWith(sessionIdPrefix);
+    }
+
+    /**
+     * Checks whether a session sorts after this query's cursor, i.e. belongs to this page or a
+     * later one. Always {@code true} for the first page.
+     *
+     * @param sessionId the session id
+     * @param lastUpdated the last update time in epoch milliseconds
+     * @return {@code true} if the session comes after the cursor in this query's order
+     */
+    public boolean isAfterCursor(String sessionId, long lastUpdated) {
+        if (decodedCursor == null) {
+            return true;
+        }
+        return compare(
+                        lastUpdated,
+                        sessionId,
+                        decodedCursor.lastUpdated(),
+                        decodedCursor.sessionId())
+                > 0;
+    }
+
+    /**
+     * Returns the order in which this query lists sessions.
+     *
+     * @return a comparator consistent with {@link #isAfterCursor(String, long)}
+     */
+    public Comparator<SessionInfo> comparator() {
+        return (a, b) ->
+                compare(
+                        a.getLastModified(),
+                        a.getSessionId(),
+                        b.getLastModified(),
+                        b.getSessionId());
+    }
+
+    private int compare(long t1, String id1, long t2, String id2) {
+        int result = sortBy == SortBy.LAST_UPDATED ? Long.compare(t1, t2) : 0;
+        if (result == 0) {
+            result = id1.compareTo(id2);
+        }
+        return descending ? -result : result;
+    }
+
+    /** Builder for {@link SessionQuery}. */
+    public static class Builder {
+        private String userId;
+        private int limit = DEFAULT_LIMIT;
+        private String cursor;
+        private SortBy sortBy = SortBy.LAST_UPDATED;
+        private boolean descending = true;
+        private Long updatedAfter;
+        private Long updatedBefore;
+        private String sessionIdPrefix;
+
+        private Builder() {}
+
+        /**
+         * Sets the user whose sessions are listed. Default is {@code null} (anonymous sessions).
+         *
+         * @param userId nullable user identifier
+         * @return this builder
+         */
+        public Builder userId(String userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of sessions in one page. Default is {@value #DEFAULT_LIMIT}.
+         *
+         * @param limit the page size, between 1 and {@value #MAX_LIMIT}
+         * @return this builder
+         */
+        public Builder limit(int limit) {
+            if (limit <= 0 || limit > MAX_LIMIT) {
+                throw new IllegalArgumentException(
+                        "limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Sets the cursor returned by the previous page.
+         *
+         * @param cursor the previous page's next cursor, or {@code null} for the first page
+         * @return this builder
+         */
+        public Builder cursor(String cursor) {
+            this.cursor = cursor == null || cursor.isBlank() ? null : cursor;
+            return this;
+        }
+
+        /**
+         * Sets the sort key. Default is {@link SortBy#LAST_UPDATED}.
+         *
+         * @param sortBy the sort key
+         * @return this builder
+         */
+        public Builder sortBy(SortBy sortBy) {
+            if (sortBy == null) {
+                throw new IllegalArgumentException("sortBy must not be null");
+            }
+            this.sortBy = sortBy;
+            return this;
+        }
+
+        /**
+         * Sets whether sessions are listed in descending order. Default is {@code true}, i.e.
+         * most recently updated first.
+         *
+         * @param descending {@code true} for descending order
+         * @return this builder
+         */
+        public Builder descending(boolean descending) {
+            this.descending = descending;
+            return this;
+        }
+
+        /**
+         * Only lists sessions updated at or after the given time.
+         *
+         * @param epochMillis inclusive lower bound in epoch milliseconds
+         * @return this builder
+         */
+        public Builder updatedAfter(long epochMillis) {
+            this.updatedAfter = epochMillis;
+            return this;
+        }
+
+        /**
+         * Only lists sessions updated before the given time.
+         *
+         * @param epochMillis exclusive upper bound in epoch milliseconds
+         * @return this builder
+         */
+        public Builder updatedBefore(long epochMillis) {
+            this.updatedBefore = epochMillis;
+            return this;
+        }
+
+        /**
+         * Only lists sessions whose id starts with the given prefix.
+         *
+         * @param prefix the id prefix, or {@code null} for any id
+         * @return this builder
+         */
+        public Builder sessionIdPrefix(String prefix) {
+            this.sessionIdPrefix = prefix == null || prefix.isEmpty() ? null : prefix;
+            return this;
+        }
+
+        /**
+         * Builds the query.
+         *
+         * @return a new SessionQuery
+         * @throws IllegalArgumentException if the cursor is malformed
+         */
+        public SessionQuery build() {
+            return new SessionQuery(this);
+        }
+    }
+}
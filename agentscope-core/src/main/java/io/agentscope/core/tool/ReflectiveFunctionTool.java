@@ -34,7 +34,8 @@ import reactor.core.publisher.Mono;
  * machinery in {@link ToolExecutor}, and the agent's pending-confirmation flow.
  *
  * <p>Construction validates the {@code stateInjected} contract: the annotation flag must agree
- * with the presence of an {@link AgentState} parameter on the underlying method.
+ * with the presence of an {@link AgentState} parameter on the underlying method. It also resolves
+ * the method's {@link ToolMethodInvoker.InvocationPlan}, so calls do not repeat that work.
  */
 final class ReflectiveFunctionTool extends ToolBase {
 
@@ -42,6 +43,7 @@ final class ReflectiveFunctionTool extends ToolBase {
     private final Method method;
     private final ToolResultConverter customConverter;
     private final ToolMethodInvoker methodInvoker;
+    private final ToolMethodInvoker.InvocationPlan invocationPlan;
     private final Boolean strict;
 
     private ReflectiveFunctionTool(
@@ -56,6 +58,7 @@ final class ReflectiveFunctionTool extends ToolBase {
         this.method = method;
         this.customConverter = customConverter;
         this.methodInvoker = methodInvoker;
+        this.invocationPlan = methodInvoker.plan(toolObject, method);
         this.strict = strict;
     }
 
@@ -161,7 +164,7 @@ final class ReflectiveFunctionTool extends ToolBase {
         if (isExternalTool()) {
             return Mono.error(new ToolSuspendException());
         }
-        return methodInvoker.invokeAsync(toolObject, method, param, customConverter);
+        return methodInvoker.invokeAsync(invocationPlan, param, customConverter);
     }
 
     Method getMethod() {
@@ -32,6 +32,7 @@ class RegisteredToolFunction {
     private final String mcpClientName; // null for non-MCP tools
     private volatile Map<String, Object>
             presetParameters; // preset parameters for context injection
+    private volatile ToolValidator.CompiledSchema inputSchema; // null for a null tool
 
     /**
      * Normalizes preset parameters map to ensure non-null return.
@@ -73,6 +74,7 @@ class RegisteredToolFunction {
         this.extendedModel = extendedModel;
         this.mcpClientName = mcpClientName;
         this.presetParameters = normalizePresetParameters(presetParameters);
+        this.inputSchema = tool != null ? ToolValidator.compile(tool.getParameters()) : null;
     }
 
     /**
@@ -127,6 +129,25 @@ class RegisteredToolFunction {
         this.presetParameters = normalizePresetParameters(newPresetParameters);
     }
 
+    /**
+     * Gets the tool's input schema, compiled for validation.
+     *
+     * <p>The schema is compiled when the tool is registered and only recompiled if the tool later
+     * reports a different schema. Preset parameters are excluded from the schema when it is
+     * generated, so updating them does not affect it.
+     *
+     * @return The compiled input schema
+     */
+    ToolValidator.CompiledSchema getInputSchema() {
+        Map<String, Object> parameters = tool.getParameters();
+        ToolValidator.CompiledSchema compiled = inputSchema;
+        if (compiled == null || !compiled.isCompiledFrom(parameters)) {
+            compiled = ToolValidator.compile(parameters);
+            inputSchema = compiled;
+        }
+        return compiled;
+    }
+
     /**
      * Get the extended JSON schema by merging base parameters with extended model.
      *
@@ -208,7 +208,9 @@ class ToolExecutor {
 
         // Validate input against schema
         String validationError =
-                ToolValidator.validateInput(toolCall.getContent(), tool.getParameters());
+                registered != null
+                        ? registered.getInputSchema().validate(toolCall.getContent())
+                        : ToolValidator.validateInput(toolCall.getContent(), tool.getParameters());
         if (validationError != null) {
             String errorMsg =
                     String.format(
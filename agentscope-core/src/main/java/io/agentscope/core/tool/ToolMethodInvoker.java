@@ -23,20 +23,34 @@ import io.agentscope.core.message.ToolResultBlock;
 import io.agentscope.core.state.AgentState;
 import io.agentscope.core.util.ExceptionUtils;
 import io.agentscope.core.util.JsonUtils;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 
 /**
  * Invokes tool methods with type conversion and error handling.
  * This class handles reflection-based method invocation and parameter conversion.
+ *
+ * <p>Everything that only depends on the method is resolved once into an {@link InvocationPlan}
+ * when the tool is registered: how each parameter is injected or converted, and a
+ * {@link MethodHandle} bound to the tool object. A tool call then only converts its input values
+ * and invokes the handle.
  */
 class ToolMethodInvoker {
 
+    private static final Logger logger = LoggerFactory.getLogger(ToolMethodInvoker.class);
+
     private final ToolResultConverter defaultConverter;
 
     ToolMethodInvoker(ToolResultConverter resultConverter) {
@@ -46,6 +60,10 @@ class ToolMethodInvoker {
     /**
      * Invoke tool method asynchronously with custom converter support.
      *
+     * <p>Resolves the invocation plan on every call; registered tools use
+     * {@link #invokeAsync(InvocationPlan, ToolCallParam, ToolResultConverter)} with a plan
+     * prepared once.
+     *
      * @param toolObject the object containing the method
      * @param method the method to invoke
      * @param param the tool call parameters containing input, toolUseBlock, agent, and context
@@ -57,6 +75,30 @@ class ToolMethodInvoker {
             Method method,
             ToolCallParam param,
             ToolResultConverter customConverter) {
+        return invokeAsync(plan(toolObject, method), param, customConverter);
+    }
+
+    /**
+     * Resolves how {@code method} is invoked on {@code toolObject}.
+     *
+     * @param toolObject the object containing the method (ignored for static methods)
+     * @param method the method to invoke
+     * @return the invocation plan, safe to share between concurrent calls
+     */
+    InvocationPlan plan(Object toolObject, Method method) {
+        return new InvocationPlan(toolObject, method);
+    }
+
+    /**
+     * Invoke a prepared tool method asynchronously with custom converter support.
+     *
+     * @param plan the invocation plan from {@link #plan(Object, Method)}
+     * @param param the tool call parameters containing input, toolUseBlock, agent, and context
+     * @param customConverter custom converter for this invocation (null to use default)
+     * @return Mono containing ToolResultBlock
+     */
+    Mono<ToolResultBlock> invokeAsync(
+            InvocationPlan plan, ToolCallParam param, ToolResultConverter customConverter) {
         // Use custom converter if provided, otherwise use default
         final ToolResultConverter converter =
                 customConverter != null ? customConverter : defaultConverter;
@@ -66,28 +108,22 @@ class ToolMethodInvoker {
         RuntimeContext runtimeContext = param.getRuntimeContext();
         ToolEmitter emitter = param.getEmitter();
 
-        Class<?> returnType = method.getReturnType();
+        Class<?> returnType = plan.method.getReturnType();
 
         if (returnType == CompletableFuture.class) {
             // Async method returning CompletableFuture: invoke and convert to Mono
             return Mono.fromCallable(
                             () -> {
-                                method.setAccessible(true);
-                                Object[] args =
-                                        convertParameters(
-                                                method, input, agent, runtimeContext, emitter);
                                 @SuppressWarnings("unchecked")
                                 CompletableFuture<Object> future =
-                                        (CompletableFuture<Object>) method.invoke(toolObject, args);
+                                        (CompletableFuture<Object>)
+                                                plan.invoke(input, agent, runtimeContext, emitter);
                                 return future;
                             })
                     .flatMap(
                             future ->
                                     Mono.fromFuture(future)
-                                            .map(
-                                                    r ->
-                                                            converter.convert(
-                                                                    r, extractGenericType(method)))
+                                            .map(r -> converter.convert(r, plan.asyncResultType))
                                             .onErrorResume(this::handleError))
                     .onErrorResume(this::handleError);
 
@@ -95,17 +131,15 @@ class ToolMethodInvoker {
             // Async method returning Mono: invoke and flatMap
             return Mono.fromCallable(
                             () -> {
-                                method.setAccessible(true);
-                                Object[] args =
-                                        convertParameters(
-                                                method, input, agent, runtimeContext, emitter);
                                 @SuppressWarnings("unchecked")
-                                Mono<Object> mono = (Mono<Object>) method.invoke(toolObject, args);
+                                Mono<Object> mono =
+                                        (Mono<Object>)
+                                                plan.invoke(input, agent, runtimeContext, emitter);
                                 return mono;
                             })
                     .flatMap(
                             mono ->
-                                    mono.map(r -> converter.convert(r, extractGenericType(method)))
+                                    mono.map(r -> converter.convert(r, plan.asyncResultType))
                                             .onErrorResume(this::handleError))
                     .onErrorResume(this::handleError);
 
@@ -113,88 +147,163 @@ class ToolMethodInvoker {
             // Sync method: wrap in Mono.fromCallable
             return Mono.fromCallable(
                             () -> {
-                                method.setAccessible(true);
-                                Object[] args =
-                                        convertParameters(
-                                                method, input, agent, runtimeContext, emitter);
-                                Object result = method.invoke(toolObject, args);
-                                return converter.convert(result, method.getGenericReturnType());
+                                Object result = plan.invoke(input, agent, runtimeContext, emitter);
+                                return converter.convert(
+                                        result, plan.method.getGenericReturnType());
                             })
                     .onErrorResume(this::handleError);
         }
     }
 
     /**
-     * Convert input parameters to method arguments with automatic injection support.
+     * How a tool method is invoked, resolved once per method.
      *
-     * <p>This method handles automatic injection of framework-managed objects:
+     * <p>Parameters are classified by {@link #argumentSource(Parameter)}:
      * <ul>
      *   <li>{@link ToolEmitter} - Streaming output emitter</li>
      *   <li>{@link Agent} - Current agent instance</li>
+     *   <li>{@link AgentState} - Call-scoped agent state</li>
      *   <li>{@link RuntimeContext} - Per-call runtime context</li>
      *   <li>{@link ToolExecutionContext} - Business context (deprecated)</li>
      *   <li>Custom POJO types - Retrieved from RuntimeContext by type</li>
+     *   <li>Everything else - Converted from the input map</li>
      * </ul>
      *
-     * <p>Parameters without {@link ToolParam} annotation are treated as auto-injected types.
-     * Parameters with {@link ToolParam} are converted from the input map.
-     *
-     * @param method the method
-     * @param input the input map
-     * @param agent the agent for Agent injection (may be null)
-     * @param runtimeContext the runtime context for injection (may be null)
-     * @param emitter the tool emitter for ToolEmitter injection (may be null)
-     * @return array of converted arguments
+     * <p>The method is invoked through a {@link MethodHandle} when one can be obtained, falling
+     * back to {@link Method#invoke}. Exceptions thrown by the method are wrapped in an {@link
+     * InvocationTargetException} either way, so error handling does not depend on the path taken.
      */
-    private Object[] convertParameters(
-            Method method,
-            Map<String, Object> input,
-            Agent agent,
-            RuntimeContext runtimeContext,
-            ToolEmitter emitter) {
-        Parameter[] parameters = method.getParameters();
-
-        if (parameters.length == 0) {
-            return new Object[0];
+    final class InvocationPlan {
+
+        private final Object target;
+        private final Method method;
+        private final ArgumentSource[] arguments;
+        private final Class<?>[] parameterTypes;
+        private final Class<?>[] argumentTypes;
+        private final Type asyncResultType;
+
+        /** Takes the arguments as an {@code Object[]} and returns {@code Object}; may be null. */
+        private final MethodHandle handle;
+
+        private InvocationPlan(Object toolObject, Method method) {
+            this.target = toolObject;
+            this.method = method;
+            Parameter[] parameters = method.getParameters();
+            this.parameterTypes = method.getParameterTypes();
+            this.arguments = new ArgumentSource[parameters.length];
+            this.argumentTypes = new Class<?>[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                arguments[i] = argumentSource(parameters[i]);
+                argumentTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+            }
+            this.asyncResultType = extractGenericType(method);
+            this.handle = spreadHandle(toolObject, method);
         }
 
-        Object[] args = new Object[parameters.length];
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter param = parameters[i];
+        Method getMethod() {
+            return method;
+        }
 
-            // Special handling: inject ToolEmitter automatically
-            if (param.getType() == ToolEmitter.class) {
-                args[i] = emitter;
-            }
-            // Special handling: inject Agent automatically
-            else if (param.getType() == Agent.class) {
-                args[i] = agent;
-            }
-            // Special handling: inject AgentState (matches @Tool(stateInjected=true)). Prefer the
-            // call-scoped state carried on the RuntimeContext (concurrency-safe) and fall back to
-            // the agent's current state only when the context does not carry one.
-            else if (param.getType() == AgentState.class) {
-                AgentState rcState = runtimeContext != null ? runtimeContext.getAgentState() : null;
-                args[i] =
-                        rcState != null ? rcState : (agent != null ? agent.getAgentState() : null);
+        private Object invoke(
+                Map<String, Object> input,
+                Agent agent,
+                RuntimeContext runtimeContext,
+                ToolEmitter emitter)
+                throws Exception {
+            Object[] args = new Object[arguments.length];
+            boolean handleApplicable = handle != null;
+            for (int i = 0; i < args.length; i++) {
+                args[i] = arguments[i].resolve(input, agent, runtimeContext, emitter);
+                // A null primitive or a mismatched value is reported by Method.invoke as an
+                // IllegalArgumentException rather than failing inside the handle.
+                handleApplicable &=
+                        args[i] == null
+                                ? !parameterTypes[i].isPrimitive()
+                                : argumentTypes[i].isInstance(args[i]);
             }
-            // Inject RuntimeContext directly
-            else if (param.getType() == RuntimeContext.class) {
-                args[i] = runtimeContext;
+            if (!handleApplicable) {
+                method.setAccessible(true);
+                return method.invoke(target, args);
             }
-            // Deprecated: inject ToolExecutionContext (bridge from RuntimeContext)
-            else if (param.getType() == ToolExecutionContext.class) {
-                args[i] = runtimeContext != null ? runtimeContext.asToolExecutionContext() : null;
-            }
-            // User-defined POJO: try to resolve from RuntimeContext
-            else if (isUserContextPojo(param)) {
-                args[i] = resolveContextParameter(param, runtimeContext);
-            } else {
-                args[i] = convertSingleParameter(param, input);
+            try {
+                return (Object) handle.invokeExact(args);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
             }
         }
+    }
 
-        return args;
+    /** Resolves one method argument for a call. */
+    @FunctionalInterface
+    private interface ArgumentSource {
+        Object resolve(
+                Map<String, Object> input,
+                Agent agent,
+                RuntimeContext runtimeContext,
+                ToolEmitter emitter);
+    }
+
+    private ArgumentSource argumentSource(Parameter param) {
+        Class<?> type = param.getType();
+
+        // Special handling: inject ToolEmitter automatically
+        if (type == ToolEmitter.class) {
+            return (input, agent, rc, emitter) -> emitter;
+        }
+        // Special handling: inject Agent automatically
+        if (type == Agent.class) {
+            return (input, agent, rc, emitter) -> agent;
+        }
+        // Special handling: inject AgentState (matches @Tool(stateInjected=true)). Prefer the
+        // call-scoped state carried on the RuntimeContext (concurrency-safe) and fall back to the
+        // agent's current state only when the context does not carry one.
+        if (type == AgentState.class) {
+            return (input, agent, rc, emitter) -> {
+                AgentState rcState = rc != null ? rc.getAgentState() : null;
+                return rcState != null ? rcState : (agent != null ? agent.getAgentState() : null);
+            };
+        }
+        // Inject RuntimeContext directly
+        if (type == RuntimeContext.class) {
+            return (input, agent, rc, emitter) -> rc;
+        }
+        // Deprecated: inject ToolExecutionContext (bridge from RuntimeContext)
+        if (type == ToolExecutionContext.class) {
+            return (input, agent, rc, emitter) -> rc != null ? rc.asToolExecutionContext() : null;
+        }
+        // User-defined POJO: try to resolve from RuntimeContext
+        if (isUserContextPojo(param)) {
+            return (input, agent, rc, emitter) -> resolveContextParameter(type, rc);
+        }
+        String paramName = parameterName(param);
+        Type paramType = param.getParameterizedType();
+        // Direct assignment is only possible when there is no generic info to preserve
+        boolean directAssignable = !(paramType instanceof ParameterizedType);
+        return (input, agent, rc, emitter) ->
+                convertSingleParameter(input.get(paramName), type, paramType, directAssignable);
+    }
+
+    /**
+     * Obtains a handle for {@code method} bound to {@code toolObject} and adapted to take its
+     * arguments as an {@code Object[]}, or null if the method cannot be accessed that way.
+     */
+    private static MethodHandle spreadHandle(Object toolObject, Method method) {
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(toolObject);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (RuntimeException | IllegalAccessException e) {
+            logger.debug(
+                    "Falling back to reflective invocation for tool method {}#{}: {}",
+                    method.getDeclaringClass().getName(),
+                    method.getName(),
+                    e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -252,13 +361,11 @@ class ToolMethodInvoker {
     /**
      * Resolve a context parameter from RuntimeContext.
      *
-     * @param param The parameter to resolve
+     * @param targetType The type of the parameter to resolve
      * @param runtimeContext The runtime context (may be null)
      * @return Resolved parameter value, or null if resolution fails
      */
-    private Object resolveContextParameter(Parameter param, RuntimeContext runtimeContext) {
-        Class<?> targetType = param.getType();
-
+    private Object resolveContextParameter(Class<?> targetType, RuntimeContext runtimeContext) {
         if (runtimeContext != null) {
             Object value = runtimeContext.get(targetType);
             if (value != null) {
@@ -274,34 +381,36 @@ class ToolMethodInvoker {
     }
 
     /**
-     * Convert a single parameter from input map.
-     *
-     * @param parameter the parameter to convert
-     * @param input the input map
-     * @return converted parameter value
+     * Name of the input value bound to a parameter: the explicit {@link ToolParam} name, or the
+     * reflective parameter name.
      */
-    private Object convertSingleParameter(Parameter parameter, Map<String, Object> input) {
-        // First check for @ToolParam annotation to get explicit parameter name
-        String paramName = parameter.getName(); // fallback to reflection name
+    private static String parameterName(Parameter parameter) {
         ToolParam toolParamAnnotation = parameter.getAnnotation(ToolParam.class);
         if (toolParamAnnotation != null && !toolParamAnnotation.name().isEmpty()) {
-            paramName = toolParamAnnotation.name();
+            return toolParamAnnotation.name();
         }
+        return parameter.getName();
+    }
 
-        Object value = input.get(paramName);
-
+    /**
+     * Convert a single parameter value from the input map.
+     *
+     * @param value the input value (may be null)
+     * @param rawType the parameter's raw type
+     * @param paramType the parameter's full generic type
+     * @param directAssignable whether a value of a matching raw type can be used as is
+     * @return converted parameter value
+     */
+    private Object convertSingleParameter(
+            Object value, Class<?> rawType, Type paramType, boolean directAssignable) {
         if (value == null) {
             return null;
         }
 
-        Class<?> rawType = parameter.getType();
-        Type paramType = parameter.getParameterizedType();
-
         // Direct assignment only if:
         // 1. Raw types match, AND
         // 2. The parameter is not a parameterized type (no generic info to preserve)
-        if (rawType.isAssignableFrom(value.getClass())
-                && !(paramType instanceof ParameterizedType)) {
+        if (directAssignable && rawType.isAssignableFrom(value.getClass())) {
             return value;
         }
 
@@ -385,7 +494,7 @@ class ToolMethodInvoker {
      * @param method the method
      * @return the generic type, or null if not found
      */
-    private Type extractGenericType(Method method) {
+    private static Type extractGenericType(Method method) {
         Type genericReturnType = method.getGenericReturnType();
         if (genericReturnType instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType) genericReturnType;
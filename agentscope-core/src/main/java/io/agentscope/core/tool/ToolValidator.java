@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -70,36 +71,106 @@ public final class ToolValidator {
      *   <li>Nested object and array validation</li>
      * </ul>
      *
+     * <p>The schema is compiled on every call; registered tools validate against a schema
+     * compiled once at registration (see {@link RegisteredToolFunction#getInputSchema()}).
+     *
      * @param input The input parameters to validate
      * @param schema The JSON Schema to validate against (from tool.getParameters())
      * @return null if validation passes, or an error message describing the validation failures
      */
     public static String validateInput(String input, Map<String, Object> schema) {
+        return compile(schema).validate(input);
+    }
+
+    /**
+     * Compiles a tool input schema once so that it can be validated against repeatedly without
+     * serializing and re-parsing the schema on every call.
+     *
+     * <p>Compilation never throws: a schema that cannot be compiled yields a validator that reports
+     * the compilation failure for every input, as {@link #validateInput(String, Map)} does.
+     *
+     * @param schema The JSON Schema to compile (null or empty accepts every input)
+     * @return The compiled schema, never null
+     */
+    static CompiledSchema compile(Map<String, Object> schema) {
         if (schema == null || schema.isEmpty()) {
-            return null; // No schema, validation passes
+            return new CompiledSchema(schema, null, null, null);
         }
-
         try {
-            // Convert schema to JSON string
-            String schemaJson = JsonUtils.getJsonCodec().toJson(schema);
+            JsonNode schemaNode = OBJECT_MAPPER.readTree(JsonUtils.getJsonCodec().toJson(schema));
+            return new CompiledSchema(
+                    schema, schemaNode, SCHEMA_REGISTRY.getSchema(schemaNode), null);
+        } catch (Exception e) {
+            return new CompiledSchema(schema, null, null, e.getMessage());
+        }
+    }
 
-            // Create Schema from the schema string
-            Schema jsonSchema = SCHEMA_REGISTRY.getSchema(schemaJson);
+    /**
+     * A tool input schema compiled by {@link #compile(Map)}. Immutable and safe to share between
+     * concurrent tool calls.
+     */
+    static final class CompiledSchema {
 
-            String normalizedInput = normalizeOptionalNullFields(input, schemaJson);
+        private final Map<String, Object> source;
+        private final JsonNode schemaNode;
+        private final Schema schema;
+        private final String compileError;
 
-            // Validate
-            List<Error> errors = jsonSchema.validate(normalizedInput, InputFormat.JSON);
+        private CompiledSchema(
+                Map<String, Object> source,
+                JsonNode schemaNode,
+                Schema schema,
+                String compileError) {
+            this.source = source;
+            this.schemaNode = schemaNode;
+            this.schema = schema;
+            this.compileError = compileError;
+        }
 
-            if (errors.isEmpty()) {
-                return null; // Validation passed
+        /**
+         * Whether this was compiled from {@code schema}, so it can still be used for a tool that
+         * now reports that schema.
+         */
+        boolean isCompiledFrom(Map<String, Object> schema) {
+            return source == schema || Objects.equals(source, schema);
+        }
+
+        /**
+         * Validate tool input parameters against this schema.
+         *
+         * @param input The input parameters to validate
+         * @return null if validation passes, or an error message describing the validation
+         *     failures
+         * @see ToolValidator#validateInput(String, Map)
+         */
+        String validate(String input) {
+            if (compileError != null) {
+                return "Schema validation error: " + compileError;
+            }
+            if (schema == null) {
+                return null; // No schema, validation passes
             }
 
-            // Format error messages
-            return errors.stream().map(Error::getMessage).collect(Collectors.joining("; "));
+            try {
+                List<Error> errors;
+                if (input == null || input.isBlank()) {
+                    errors = schema.validate(input, InputFormat.JSON);
+                } else {
+                    JsonNode root = OBJECT_MAPPER.readTree(input);
+                    pruneOptionalNullObjectFields(root, schemaNode, schemaNode);
+                    errors = schema.validate(root);
+                }
 
-        } catch (Exception e) {
-            return "Schema validation error: " + e.getMessage();
+                if (errors.isEmpty()) {
+                    return null; // Validation passed
+                }
+
+                // Format error messages
+                return errors.stream().map(Error::getMessage).collect(Collectors.joining("; "));
+
+            } catch (Exception e) {
+                return "Schema validation error: " + e.getMessage();
+            }
         }
     }
 
@@ -109,18 +180,6 @@ public final class ToolValidator {
      * <p>This treats explicit nulls the same as omitted optional fields, while still allowing
      * required-field validation to fail naturally after the null-valued property is removed.
      */
-    private static String normalizeOptionalNullFields(String input, String schemaJson)
-            throws Exception {
-        if (input == null || input.isBlank()) {
-            return input;
-        }
-
-        JsonNode root = OBJECT_MAPPER.readTree(input);
-        JsonNode schemaRoot = OBJECT_MAPPER.readTree(schemaJson);
-        pruneOptionalNullObjectFields(root, schemaRoot, schemaRoot);
-        return OBJECT_MAPPER.writeValueAsString(root);
-    }
-
     private static void pruneOptionalNullObjectFields(
             JsonNode inputNode, JsonNode schemaNode, JsonNode schemaRoot) {
         if (inputNode == null || schemaNode == null) {
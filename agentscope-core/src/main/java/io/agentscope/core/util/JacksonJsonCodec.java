@@ -16,13 +16,24 @@
 
 package io.agentscope.core.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +49,12 @@ import org.slf4j.LoggerFactory;
  * <p>Users can access the underlying ObjectMapper via {@link #getObjectMapper()}
  * for advanced operations not covered by the JsonCodec interface.
  *
+ * <p>Readers for each target class and the compact and pretty writers are built once and
+ * reused, since {@link ObjectReader} and {@link ObjectWriter} are immutable and thread-safe.
+ * They capture the mapper's configuration when first built, so a custom ObjectMapper must be
+ * fully configured before it is passed to this codec. Stream-based methods never close the
+ * streams they are given.
+ *
  * @see JsonCodec
  * @see JsonUtils
  */
@@ -47,11 +64,20 @@ public class JacksonJsonCodec implements JsonCodec {
 
     private final ObjectMapper objectMapper;
 
+    private final ObjectWriter writer;
+
+    private final ObjectWriter prettyWriter;
+
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /** Resolved target types for {@link #convertValue(Object, Type)}, e.g. tool parameters. */
+    private final ConcurrentMap<Type, JavaType> javaTypes = new ConcurrentHashMap<>();
+
     /**
      * Creates a new JacksonJsonCodec with default ObjectMapper configuration.
      */
     public JacksonJsonCodec() {
-        this.objectMapper = createDefaultObjectMapper();
+        this(createDefaultObjectMapper());
     }
 
     /**
@@ -61,6 +87,8 @@ public class JacksonJsonCodec implements JsonCodec {
      */
     public JacksonJsonCodec(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.prettyWriter = writer.withDefaultPrettyPrinter();
     }
 
     /**
@@ -84,10 +112,15 @@ public class JacksonJsonCodec implements JsonCodec {
         return objectMapper;
     }
 
+    private ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(
+                type, t -> objectMapper.readerFor(t).without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+    }
+
     @Override
     public String toJson(Object obj) {
         try {
-            return objectMapper.writeValueAsString(obj);
+            return writer.writeValueAsString(obj);
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize object to JSON: {}", e.getMessage(), e);
             throw new JsonException("Failed to serialize object to JSON", e);
@@ -97,22 +130,91 @@ public class JacksonJsonCodec implements JsonCodec {
     @Override
     public String toPrettyJson(Object obj) {
         try {
-            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(obj);
+            return prettyWriter.writeValueAsString(obj);
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize object to pretty JSON: {}", e.getMessage(), e);
             throw new JsonException("Failed to serialize object to pretty JSON", e);
         }
     }
 
+    @Override
+    public byte[] toJsonBytes(Object obj) {
+        try {
+            return writer.writeValueAsBytes(obj);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize object to JSON: {}", e.getMessage(), e);
+            throw new JsonException("Failed to serialize object to JSON", e);
+        }
+    }
+
+    @Override
+    public void writeTo(Object obj, OutputStream out) {
+        try {
+            writer.writeValue(out, obj);
+        } catch (IOException e) {
+            log.error("Failed to write object as JSON: {}", e.getMessage(), e);
+            throw new JsonException("Failed to write object as JSON", e);
+        }
+    }
+
+    @Override
+    public void writePrettyTo(Object obj, OutputStream out) {
+        try {
+            prettyWriter.writeValue(out, obj);
+        } catch (IOException e) {
+            log.error("Failed to write object as pretty JSON: {}", e.getMessage(), e);
+            throw new JsonException("Failed to write object as pretty JSON", e);
+        }
+    }
+
     @Override
     public <T> T fromJson(String json, Class<T> type) {
         try {
-            return objectMapper.readValue(json, type);
+            return readerFor(type).readValue(json);
         } catch (JsonProcessingException e) {
             throw new JsonException("Failed to deserialize JSON to " + type.getName(), e);
         }
     }
 
+    @Override
+    public <T> T fromJson(byte[] json, int offset, int length, Class<T> type) {
+        try {
+            return readerFor(type).readValue(json, offset, length);
+        } catch (IOException e) {
+            throw new JsonException("Failed to deserialize JSON to " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T readFrom(InputStream in, Class<T> type) {
+        try {
+            return readerFor(type).readValue(in);
+        } catch (IOException e) {
+            throw new JsonException("Failed to deserialize JSON to " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> List<T> readValuesFrom(InputStream in, Class<T> type) {
+        try (MappingIterator<T> values = readerFor(type).readValues(in)) {
+            return values.readAll();
+        } catch (IOException e) {
+            throw new JsonException("Failed to deserialize JSON values to " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T readFrom(InputStream in, TypeReference<T> typeRef) {
+        try {
+            return objectMapper
+                    .readerFor(typeRef)
+                    .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                    .readValue(in);
+        } catch (IOException e) {
+            throw new JsonException("Failed to deserialize JSON", e);
+        }
+    }
+
     @Override
     public <T> T fromJson(String json, TypeReference<T> typeRef) {
         try {
@@ -143,7 +245,8 @@ public class JacksonJsonCodec implements JsonCodec {
     @Override
     public Object convertValue(Object from, Type toType) {
         try {
-            JavaType javaType = objectMapper.getTypeFactory().constructType(toType);
+            JavaType javaType =
+                    javaTypes.computeIfAbsent(toType, objectMapper.getTypeFactory()::constructType);
             return objectMapper.convertValue(from, javaType);
         } catch (IllegalArgumentException e) {
             throw new JsonException("Failed to convert value to " + toType.getTypeName(), e);
@@ -17,7 +17,16 @@
 package io.agentscope.core.util;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface for JSON serialization and deserialization operations.
@@ -39,6 +48,10 @@ import java.lang.reflect.Type;
  *
  * // Deserialize with generic type
  * List<MyClass> list = codec.fromJson(json, new TypeReference<List<MyClass>>() {});
+ *
+ * // Stream large values without an intermediate String
+ * codec.writeTo(myObject, outputStream);
+ * MyClass read = codec.readFrom(inputStream, MyClass.class);
  * }</pre>
  *
  * @see JacksonJsonCodec
@@ -64,6 +77,55 @@ public interface JsonCodec {
      */
     String toPrettyJson(Object obj);
 
+    /**
+     * Serialize an object to UTF-8 encoded JSON bytes.
+     *
+     * <p>The default encodes {@link #toJson(Object)}; implementations with a byte-level
+     * generator should override it to skip the intermediate String.
+     *
+     * @param obj the object to serialize
+     * @return UTF-8 encoded JSON
+     * @throws JsonException if serialization fails
+     */
+    default byte[] toJsonBytes(Object obj) {
+        return toJson(obj).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Serialize an object as UTF-8 encoded JSON directly to a stream.
+     *
+     * <p>The output is a single line, so this can be used to write JSONL records. The stream is
+     * neither flushed nor closed.
+     *
+     * @param obj the object to serialize
+     * @param out the stream to write to
+     * @throws JsonException if serialization or writing fails
+     */
+    default void writeTo(Object obj, OutputStream out) {
+        try {
+            out.write(toJsonBytes(obj));
+        } catch (IOException e) {
+            throw new JsonException("Failed to write JSON", e);
+        }
+    }
+
+    /**
+     * Serialize an object as pretty-printed UTF-8 encoded JSON directly to a stream.
+     *
+     * <p>The stream is neither flushed nor closed.
+     *
+     * @param obj the object to serialize
+     * @param out the stream to write to
+     * @throws JsonException if serialization or writing fails
+     */
+    default void writePrettyTo(Object obj, OutputStream out) {
+        try {
+            out.write(toPrettyJson(obj).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new JsonException("Failed to write JSON", e);
+        }
+    }
+
     /**
      * Deserialize a JSON string to an object of the specified type.
      *
@@ -75,6 +137,128 @@ public interface JsonCodec {
      */
     <T> T fromJson(String json, Class<T> type);
 
+    /**
+     * Deserialize UTF-8 encoded JSON bytes to an object of the specified type.
+     *
+     * <p>Lets callers that already hold raw bytes (e.g. frames from {@link
+     * io.agentscope.core.model.transport.HttpTransport#streamFrames}) skip decoding to a String.
+     * The default decodes and delegates to {@link #fromJson(String, Class)}; implementations
+     * with a byte-level parser should override it.
+     *
+     * @param json the buffer holding the JSON bytes
+     * @param offset the index of the first JSON byte
+     * @param length the number of JSON bytes
+     * @param type the target class type
+     * @param <T> the type parameter
+     * @return deserialized object
+     * @throws JsonException if deserialization fails
+     */
+    default <T> T fromJson(byte[] json, int offset, int length, Class<T> type) {
+        return fromJson(new String(json, offset, length, StandardCharsets.UTF_8), type);
+    }
+
+    /**
+     * Deserialize UTF-8 encoded JSON bytes to an object of the specified type.
+     *
+     * @param json the JSON bytes
+     * @param type the target class type
+     * @param <T> the type parameter
+     * @return deserialized object
+     * @throws JsonException if deserialization fails
+     */
+    default <T> T fromJson(byte[] json, Class<T> type) {
+        return fromJson(json, 0, json.length, type);
+    }
+
+    /**
+     * Deserialize the remaining UTF-8 encoded JSON bytes of a buffer to an object of the
+     * specified type. The buffer's position is not changed.
+     *
+     * @param json the buffer holding the JSON bytes
+     * @param type the target class type
+     * @param <T> the type parameter
+     * @return deserialized object
+     * @throws JsonException if deserialization fails
+     */
+    default <T> T fromJson(ByteBuffer json, Class<T> type) {
+        if (json.hasArray()) {
+            return fromJson(
+                    json.array(), json.arrayOffset() + json.position(), json.remaining(), type);
+        }
+        byte[] bytes = new byte[json.remaining()];
+        json.duplicate().get(bytes);
+        return fromJson(bytes, type);
+    }
+
+    /**
+     * Deserialize a single UTF-8 encoded JSON value read from a stream. The stream is not
+     * closed.
+     *
+     * <p>The default reads the whole stream into memory; implementations with a streaming
+     * parser should override it.
+     *
+     * @param in the stream to read from
+     * @param type the target class type
+     * @param <T> the type parameter
+     * @return deserialized object
+     * @throws JsonException if reading or deserialization fails
+     */
+    default <T> T readFrom(InputStream in, Class<T> type) {
+        try {
+            return fromJson(in.readAllBytes(), type);
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON", e);
+        }
+    }
+
+    /**
+     * Deserialize a sequence of UTF-8 encoded JSON values separated by whitespace, such as a JSON
+     * Lines file, read from a stream. The stream is not closed.
+     *
+     * <p>The default reads the stream line by line; implementations with a streaming parser
+     * should override it.
+     *
+     * @param in the stream to read from
+     * @param type the target class type of every value
+     * @param <T> the type parameter
+     * @return the deserialized values, in stream order
+     * @throws JsonException if reading or deserialization fails
+     */
+    default <T> List<T> readValuesFrom(InputStream in, Class<T> type) {
+        BufferedReader reader =
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<T> values = new ArrayList<>();
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    values.add(fromJson(line, type));
+                }
+            }
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON", e);
+        }
+        return values;
+    }
+
+    /**
+     * Deserialize a single UTF-8 encoded JSON value with generic type read from a stream. The
+     * stream is not closed.
+     *
+     * @param in the stream to read from
+     * @param typeRef the type reference for generic types
+     * @param <T> the type parameter
+     * @return deserialized object
+     * @throws JsonException if reading or deserialization fails
+     */
+    default <T> T readFrom(InputStream in, TypeReference<T> typeRef) {
+        try {
+            return fromJson(new String(in.readAllBytes(), StandardCharsets.UTF_8), typeRef);
+        } catch (IOException e) {
+            throw new JsonException("Failed to read JSON", e);
+        }
+    }
+
     /**
      * Deserialize a JSON string to an object with generic type.
      *
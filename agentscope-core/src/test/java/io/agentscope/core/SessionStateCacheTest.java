@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.state.AgentState;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SessionStateCache")
+class SessionStateCacheTest {
+
+    private static AgentState state(int messages) {
+        AgentState s = AgentState.builder().sessionId("s").build();
+        for (int i = 0; i < messages; i++) {
+            s.contextMutable()
+                    .add(
+                            Msg.builder()
+                                    .name("user")
+                                    .role(MsgRole.USER)
+                                    .content(TextBlock.builder().text("m" + i).build())
+                                    .build());
+        }
+        return s;
+    }
+
+    @Test
+    @DisplayName("evicts the least-recently-used slot beyond maxSessions")
+    void evictsLeastRecentlyUsed() {
+        SessionStateCache cache = SessionStateCache.bounded(2, 1_000, Duration.ofHours(1));
+        cache.putState("a", state(0));
+        cache.putState("b", state(0));
+        cache.getState("a");
+        cache.putState("c", state(0));
+
+        assertNotNull(cache.getState("a"));
+        assertNull(cache.getState("b"));
+        assertNotNull(cache.getState("c"));
+    }
+
+    @Test
+    @DisplayName("weight is the context size, and a grown slot is re-weighed on unpin")
+    void evictsByWeight() {
+        SessionStateCache cache = SessionStateCache.bounded(100, 10, Duration.ofHours(1));
+        AgentState a = state(3);
+        cache.putState("a", a);
+        cache.putState("b", state(3));
+        assertEquals(2, cache.size());
+
+        cache.pin("a");
+        a.contextMutable().addAll(state(6).contextMutable());
+        cache.getState("b");
+        cache.unpin("a");
+
+        // a (now weight 10) + b (weight 4) exceed the limit; unpin touched a, so b is evicted.
+        assertEquals(1, cache.size());
+        assertSame(a, cache.getState("a"));
+    }
+
+    @Test
+    @DisplayName("pinned slots survive capacity and idle eviction")
+    void pinnedSlotsAreKept() {
+        AtomicLong now = new AtomicLong();
+        SessionStateCache cache =
+                SessionStateCache.bounded(1, 1_000, Duration.ofNanos(100), now::get);
+        AgentState a = state(0);
+        cache.putState("a", a);
+        cache.pin("a");
+        now.addAndGet(1_000);
+        cache.putState("b", state(0));
+
+        assertSame(a, cache.getState("a"));
+        assertNull(cache.getState("b"));
+
+        cache.unpin("a");
+        now.addAndGet(1_000);
+        cache.putState("c", state(0));
+        assertNull(cache.getState("a"));
+        assertNotNull(cache.getState("c"));
+    }
+
+    @Test
+    @DisplayName("version token is bound to the cached instance and cleared by putState")
+    void versionTracksInstance() {
+        SessionStateCache cache = SessionStateCache.bounded(10, 1_000, Duration.ofHours(1));
+        AgentState a = state(0);
+        cache.putState("a", a);
+        cache.updateVersion("a", a, "v1");
+        assertEquals("v1", cache.lookup("a").version());
+
+        cache.updateVersion("a", state(0), "v2");
+        assertEquals("v1", cache.lookup("a").version(), "stale instance must not re-validate");
+
+        cache.putState("a", a);
+        assertNull(cache.lookup("a").version());
+    }
+
+    @Test
+    @DisplayName("unbounded cache never evicts")
+    void unboundedNeverEvicts() {
+        SessionStateCache cache = SessionStateCache.unbounded();
+        for (int i = 0; i < 100; i++) {
+            cache.computeStateIfAbsent("s" + i, () -> state(1));
+        }
+        assertEquals(100, cache.size());
+    }
+}
@@ -25,6 +25,9 @@ import io.agentscope.core.ReActAgent;
 import io.agentscope.core.event.AgentEndEvent;
 import io.agentscope.core.event.AgentEvent;
 import io.agentscope.core.event.AgentStartEvent;
+import io.agentscope.core.hook.Hook;
+import io.agentscope.core.hook.HookEvent;
+import io.agentscope.core.hook.PreCallEvent;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.Msg;
 import io.agentscope.core.message.MsgRole;
@@ -35,9 +38,12 @@ import io.agentscope.core.model.GenerateOptions;
 import io.agentscope.core.model.ToolSchema;
 import io.agentscope.core.state.AgentState;
 import io.agentscope.core.state.InMemoryAgentStateStore;
+import io.agentscope.core.state.State;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.DisplayName;
@@ -116,6 +122,76 @@ class ReActAgentPerSessionStateTest {
         assertEquals("", other.getSummary());
     }
 
+    @Test
+    @DisplayName("call() loads and saves slot state off the calling thread via reactive()")
+    void callUsesReactiveStoreOffTheCallingThread() {
+        List<String> ioThreads = new CopyOnWriteArrayList<>();
+        InMemoryAgentStateStore store =
+                new InMemoryAgentStateStore() {
+                    @Override
+                    public <T extends State> Optional<T> get(
+                            String userId, String sessionId, String key, Class<T> type) {
+                        ioThreads.add("get:" + Thread.currentThread().getName());
+                        return super.get(userId, sessionId, key, type);
+                    }
+
+                    @Override
+                    public void save(String userId, String sessionId, String key, State value) {
+                        ioThreads.add("save:" + Thread.currentThread().getName());
+                        super.save(userId, sessionId, key, value);
+                    }
+                };
+        AgentState seeded = agent(store).getAgentState("u1", "sessA");
+        seeded.setSummary("persisted");
+        store.save("u1", "sessA", "agent_state", seeded);
+        ioThreads.clear();
+
+        ReActAgent agent = agent(store);
+        agent.call(
+                        List.of(userMsg("hello")),
+                        RuntimeContext.builder().userId("u1").sessionId("sessA").build())
+                .block(Duration.ofSeconds(30));
+
+        assertEquals("persisted", agent.getAgentState("u1", "sessA").getSummary());
+        assertTrue(ioThreads.stream().anyMatch(t -> t.startsWith("get:")), ioThreads.toString());
+        assertTrue(ioThreads.stream().anyMatch(t -> t.startsWith("save:")), ioThreads.toString());
+        String caller = Thread.currentThread().getName();
+        for (String entry : ioThreads) {
+            assertFalse(entry.endsWith(":" + caller), "store I/O ran on the caller: " + ioThreads);
+        }
+    }
+
+    @Test
+    @DisplayName("hot sessions skip the store reload while the version token is unchanged")
+    void hotSessionSkipsReload() {
+        List<String> reads = new CopyOnWriteArrayList<>();
+        InMemoryAgentStateStore store =
+                new InMemoryAgentStateStore() {
+                    @Override
+                    public <T extends State> Optional<T> get(
+                            String userId, String sessionId, String key, Class<T> type) {
+                        reads.add(key);
+                        return super.get(userId, sessionId, key, type);
+                    }
+                };
+        ReActAgent agent = agent(store);
+        RuntimeContext rc = RuntimeContext.builder().userId("u1").sessionId("hot").build();
+
+        agent.call(List.of(userMsg("one")), rc).block(Duration.ofSeconds(30));
+        AgentState first = agent.getAgentState("u1", "hot");
+        reads.clear();
+        agent.call(List.of(userMsg("two")), rc).block(Duration.ofSeconds(30));
+
+        assertFalse(reads.contains("agent_state"), "unchanged session was reloaded: " + reads);
+        assertSame(first, agent.getAgentState("u1", "hot"));
+
+        // A foreign write bumps the version, so the next call reloads.
+        store.save("u1", "hot", "agent_state", AgentState.builder().sessionId("hot").build());
+        agent.call(List.of(userMsg("three")), rc).block(Duration.ofSeconds(30));
+        assertTrue(reads.contains("agent_state"));
+        assertFalse(allText(agent.getAgentState("u1", "hot")).contains("one"));
+    }
+
     private static Msg userMsg(String text) {
         return Msg.builder()
                 .name("user")
@@ -205,6 +281,45 @@ class ReActAgentPerSessionStateTest {
         }
     }
 
+    @Test
+    @DisplayName("serialized calls expose their gate queue wait on the Reactor Context")
+    @SuppressWarnings("deprecation")
+    void serializedCallsExposeQueueWait() {
+        List<Long> waits = new CopyOnWriteArrayList<>();
+        Hook probe =
+                new Hook() {
+                    @Override
+                    public <T extends HookEvent> Mono<T> onEvent(T event) {
+                        if (!(event instanceof PreCallEvent)) {
+                            return Mono.just(event);
+                        }
+                        return Mono.deferContextual(
+                                cv -> {
+                                    waits.add(
+                                            cv.getOrDefault(
+                                                    AgentBase.CALL_QUEUE_WAIT_NANOS_KEY, -1L));
+                                    return Mono.just(event);
+                                });
+                    }
+                };
+        ReActAgent agent =
+                ReActAgent.builder()
+                        .name("asst")
+                        .sysPrompt("hi")
+                        .model(new NoopModel())
+                        .stateStore(new InMemoryAgentStateStore())
+                        .hook(probe)
+                        .build();
+
+        agent.call(
+                        List.of(userMsg("hello")),
+                        RuntimeContext.builder().userId("u").sessionId("queued").build())
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(1, waits.size());
+        assertTrue(waits.get(0) >= 0, "queue wait must be published for a serialized call");
+    }
+
     @Test
     @DisplayName("concurrent streamEvents each receive their own bookended event stream")
     void concurrentStreamEventsAreIsolated() {
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.agent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.ReActAgent;
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.model.ChatModelBase;
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.ToolSchema;
+import io.agentscope.core.permission.PermissionContextState;
+import io.agentscope.core.permission.PermissionDecision;
+import io.agentscope.core.tool.ToolBase;
+import io.agentscope.core.tool.ToolCallParam;
+import io.agentscope.core.tool.Toolkit;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@DisplayName("ReActAgent speculative tool execution")
+class ReActAgentSpeculativeToolTest {
+
+    private static final class ScriptedModel extends ChatModelBase {
+        private final List<Supplier<Flux<ChatResponse>>> scripts;
+        private final AtomicInteger idx = new AtomicInteger();
+
+        ScriptedModel(List<Supplier<Flux<ChatResponse>>> scripts) {
+            this.scripts = scripts;
+        }
+
+        @Override
+        public String getModelName() {
+            return "scripted";
+        }
+
+        @Override
+        protected Flux<ChatResponse> doStream(
+                List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+            int i = idx.getAndIncrement();
+            return i < scripts.size() ? scripts.get(i).get() : Flux.just(text("done"));
+        }
+    }
+
+    private static class RecordingTool extends ToolBase {
+        final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        final CompletableFuture<Void> firstCall = new CompletableFuture<>();
+
+        RecordingTool(String name, boolean readOnly) {
+            super(
+                    name,
+                    name,
+                    Map.of(
+                            "type",
+                            "object",
+                            "properties",
+                            Map.of("query", Map.of("type", "string"))),
+                    readOnly,
+                    true,
+                    false,
+                    null,
+                    false,
+                    false);
+        }
+
+        @Override
+        public Mono<PermissionDecision> checkPermissions(
+                Map<String, Object> input, PermissionContextState ctx) {
+            return Mono.just(PermissionDecision.allow("ok"));
+        }
+
+        @Override
+        public Mono<ToolResultBlock> callAsync(ToolCallParam param) {
+            Object q = param.getInput().get("query");
+            calls.add(String.valueOf(q));
+            firstCall.complete(null);
+            return Mono.just(ToolResultBlock.text(getName() + ":" + q));
+        }
+    }
+
+    private static ChatResponse text(String text) {
+        return ChatResponse.builder()
+                .content(List.<ContentBlock>of(TextBlock.builder().text(text).build()))
+                .build();
+    }
+
+    private static ChatResponse toolCall(String id, String name, String query) {
+        return ChatResponse.builder()
+                .content(
+                        List.<ContentBlock>of(
+                                ToolUseBlock.builder()
+                                        .id(id)
+                                        .name(name)
+                                        .content("{\"query\":\"" + query + "\"}")
+                                        .build()))
+                .build();
+    }
+
+    private static ReActAgent agent(ScriptedModel model, ToolBase tool) {
+        Toolkit toolkit = new Toolkit();
+        toolkit.registerAgentTool(tool);
+        return ReActAgent.builder()
+                .name("asst")
+                .model(model)
+                .toolkit(toolkit)
+                .speculativeToolExecution(true)
+                .build();
+    }
+
+    private static List<String> toolResults(ReActAgent agent) {
+        return agent.getAgentState().getContext().stream()
+                .flatMap(m -> m.getContentBlocks(ToolResultBlock.class).stream())
+                .map(r -> ((TextBlock) r.getOutput().get(0)).getText())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("read-only call starts mid-stream and its result is adopted in call order")
+    void readOnlyCallStartsWhileStreaming() {
+        RecordingTool lookup = new RecordingTool("lookup", true);
+        // The second tool call is only streamed after the first one has started running, so the
+        // turn can only complete if the first call was dispatched during streaming.
+        ScriptedModel model =
+                new ScriptedModel(
+                        List.of(
+                                () ->
+                                        Flux.concat(
+                                                Flux.just(toolCall("c1", "lookup", "a")),
+                                                Mono.fromFuture(lookup.firstCall)
+                                                        .timeout(Duration.ofSeconds(5))
+                                                        .thenReturn(
+                                                                toolCall("c2", "lookup", "b")))));
+        ReActAgent agent = agent(model, lookup);
+
+        agent.call(Msg.builder().role(MsgRole.USER).textContent("go").build())
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of("a", "b"), lookup.calls, "each call must run exactly once");
+        assertEquals(List.of("lookup:a", "lookup:b"), toolResults(agent));
+    }
+
+    @Test
+    @DisplayName("tools that are not read-only wait for the acting phase")
+    void mutatingCallWaitsForActing() {
+        AtomicBoolean streamDone = new AtomicBoolean();
+        AtomicBoolean ranBeforeStreamEnd = new AtomicBoolean();
+        RecordingTool write =
+                new RecordingTool("write", false) {
+                    @Override
+                    public Mono<ToolResultBlock> callAsync(ToolCallParam param) {
+                        ranBeforeStreamEnd.compareAndSet(false, !streamDone.get());
+                        return super.callAsync(param);
+                    }
+                };
+        ScriptedModel model =
+                new ScriptedModel(
+                        List.of(
+                                () ->
+                                        Flux.concat(
+                                                        Flux.just(toolCall("c1", "write", "a")),
+                                                        Mono.delay(Duration.ofMillis(100))
+                                                                .thenReturn(text("working")))
+                                                .doOnComplete(() -> streamDone.set(true))));
+        ReActAgent agent = agent(model, write);
+
+        agent.call(Msg.builder().role(MsgRole.USER).textContent("go").build())
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(List.of("a"), write.calls);
+        assertFalse(ranBeforeStreamEnd.get());
+        assertTrue(toolResults(agent).contains("write:a"));
+    }
+}
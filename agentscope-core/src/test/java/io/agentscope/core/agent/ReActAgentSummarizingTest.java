@@ -31,6 +31,7 @@ import io.agentscope.core.message.ToolResultBlock;
 import io.agentscope.core.message.ToolUseBlock;
 import io.agentscope.core.model.ChatResponse;
 import io.agentscope.core.model.ChatUsage;
+import io.agentscope.core.state.AgentState;
 import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.List;
@@ -687,12 +688,12 @@ class ReActAgentSummarizingTest {
 
     private static Msg invokeSummarizing(ReActAgent agent) {
         try {
-            // Create a CallExecution for the default session via activateSlotForContext(null)
+            // Create a CallExecution for the default session via activateSlotForContext(null, null)
             Method activateMethod =
                     ReActAgent.class.getDeclaredMethod(
-                            "activateSlotForContext", RuntimeContext.class);
+                            "activateSlotForContext", RuntimeContext.class, AgentState.class);
             activateMethod.setAccessible(true);
-            Object exec = activateMethod.invoke(agent, (Object) null);
+            Object exec = activateMethod.invoke(agent, null, null);
             Method method = exec.getClass().getDeclaredMethod("summarizing");
             method.setAccessible(true);
             @SuppressWarnings("unchecked")
@@ -412,4 +412,35 @@ class ToolCallsAccumulatorTest {
         assertEquals("{\"city\": \"Tokyo\"}", toolCall.getContent());
         assertEquals("Tokyo", toolCall.getInput().get("city"));
     }
+
+    @Test
+    @DisplayName("Should poll a tool call once, as soon as its JSON arguments are complete")
+    void testPollCompletedToolCalls() {
+        accumulator.add(
+                ToolUseBlock.builder().id("call_1").name("read").content("{\"path\": ").build());
+        assertTrue(accumulator.pollCompletedToolCalls().isEmpty());
+
+        accumulator.add(
+                ToolUseBlock.builder().id("").name("__fragment__").content("\"a.txt\"}").build());
+        List<ToolUseBlock> completed = accumulator.pollCompletedToolCalls();
+        assertEquals(1, completed.size());
+        assertEquals("call_1", completed.get(0).getId());
+        assertEquals("a.txt", completed.get(0).getInput().get("path"));
+
+        assertTrue(accumulator.pollCompletedToolCalls().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should treat a tool call as complete once a later call starts")
+    void testPollCompletedWhenSuperseded() {
+        Map<String, Object> args = new HashMap<>();
+        args.put("q", "x");
+        accumulator.add(ToolUseBlock.builder().id("call_1").name("search").input(args).build());
+        assertTrue(accumulator.pollCompletedToolCalls().isEmpty());
+
+        accumulator.add(ToolUseBlock.builder().id("call_2").name("read").content("{").build());
+        List<ToolUseBlock> completed = accumulator.pollCompletedToolCalls();
+        assertEquals(1, completed.size());
+        assertEquals("call_1", completed.get(0).getId());
+    }
 }
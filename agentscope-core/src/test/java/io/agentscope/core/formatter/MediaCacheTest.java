@@ -0,0 +1,188 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.formatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+@Tag("unit")
+@DisplayName("MediaCache Unit Tests")
+class MediaCacheTest {
+
+    @TempDir Path tempDir;
+
+    private HttpServer server;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile String body = "v1";
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(
+                "/img.png",
+                exchange -> {
+                    String etag = "\"" + body + "\"";
+                    String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+                    requests.add(ifNoneMatch == null ? "GET" : "GET " + ifNoneMatch);
+                    exchange.getResponseHeaders().add("ETag", etag);
+                    if (etag.equals(ifNoneMatch)) {
+                        exchange.sendResponseHeaders(304, -1);
+                    } else {
+                        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                        exchange.sendResponseHeaders(200, bytes.length);
+                        try (OutputStream out = exchange.getResponseBody()) {
+                            out.write(bytes);
+                        }
+                    }
+                    exchange.close();
+                });
+        server.createContext(
+                "/missing.png",
+                exchange -> {
+                    exchange.sendResponseHeaders(404, -1);
+                    exchange.close();
+                });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static String b64(String text) {
+        return Base64.getEncoder().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should reuse a file encoding until the file changes")
+    void testFileEncodingIsReusedUntilModified() throws IOException {
+        MediaCache cache = MediaCache.builder().spillDirectory(tempDir.resolve("spill")).build();
+        Path file = tempDir.resolve("a.png");
+        Files.writeString(file, "first");
+
+        String first = cache.fileToBase64(file);
+        assertEquals(b64("first"), first);
+        assertTrue(first == cache.fileToBase64(file), "Should return the cached instance");
+
+        Files.writeString(file, "second!");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(5)));
+        assertEquals(b64("second!"), cache.fileToBase64(file));
+        assertThrows(IOException.class, () -> cache.fileToBase64(tempDir.resolve("none.png")));
+    }
+
+    @Test
+    @DisplayName("Should serve fresh URLs from cache and revalidate stale ones with ETag")
+    void testUrlRevalidation() throws IOException {
+        AtomicLong now = new AtomicLong(1_000);
+        MediaCache cache =
+                MediaCache.builder()
+                        .freshFor(Duration.ofSeconds(60))
+                        .spillDirectory(tempDir.resolve("spill"))
+                        .clock(now::get)
+                        .build();
+        String url = url("/img.png");
+
+        assertEquals(b64("v1"), cache.urlToBase64(url));
+        assertEquals(b64("v1"), cache.urlToBase64(url));
+        assertEquals(List.of("GET"), requests);
+
+        now.addAndGet(61_000);
+        assertEquals(b64("v1"), cache.urlToBase64Async(url).block());
+        assertEquals(List.of("GET", "GET \"v1\""), requests);
+
+        body = "v2";
+        now.addAndGet(61_000);
+        assertEquals(b64("v2"), cache.urlToBase64(url));
+        assertEquals(List.of("GET", "GET \"v1\"", "GET \"v1\""), requests);
+    }
+
+    @Test
+    @DisplayName("Should surface HTTP errors as IOException")
+    void testUrlErrorStatus() {
+        MediaCache cache = MediaCache.builder().spillDirectory(tempDir.resolve("spill")).build();
+
+        IOException e =
+                assertThrows(IOException.class, () -> cache.urlToBase64(url("/missing.png")));
+        assertTrue(e.getMessage().contains("HTTP 404"), e.getMessage());
+        StepVerifier.create(cache.urlToBase64Async(url("/missing.png")))
+                .expectError(IOException.class)
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Should spill evicted entries to disk and promote them back")
+    void testSpillToDisk() throws IOException {
+        Path spill = tempDir.resolve("spill");
+        MediaCache cache =
+                MediaCache.builder()
+                        .maxMemoryBytes(32)
+                        .maxDiskBytes(1024)
+                        .spillDirectory(spill)
+                        .build();
+        Path a = tempDir.resolve("a.png");
+        Path b = tempDir.resolve("b.png");
+        Files.writeString(a, "a".repeat(20));
+        Files.writeString(b, "b".repeat(20));
+
+        String encodedA = cache.fileToBase64(a);
+        cache.fileToBase64(b);
+        assertEquals(encodedA.length(), cache.diskBytes());
+        try (var files = Files.list(spill)) {
+            assertEquals(1, files.count());
+        }
+
+        // Rewrite the source without changing size or mtime: a cache hit must not re-read it
+        FileTime mtime = Files.getLastModifiedTime(a);
+        Files.writeString(a, "z".repeat(20));
+        Files.setLastModifiedTime(a, mtime);
+        assertEquals(encodedA, cache.fileToBase64(a));
+
+        cache.clear();
+        assertEquals(0, cache.memoryBytes());
+        assertEquals(0, cache.diskBytes());
+        try (var files = Files.list(spill)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
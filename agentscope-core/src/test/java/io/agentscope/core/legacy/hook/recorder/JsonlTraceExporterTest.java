@@ -65,6 +65,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -360,6 +361,181 @@ class JsonlTraceExporterTest {
         assertEquals("89abcdef01234567", record.get("span_id"));
     }
 
+    @Test
+    void asyncModeWritesEventsInOrderAndDrainsOnClose() throws Exception {
+        Path output = tempDir.resolve("async.jsonl");
+        TestAgent agent = new TestAgent("agent-1", "TestAgent");
+        GenerateOptions options = GenerateOptions.builder().build();
+        int eventCount = 500;
+
+        JsonlTraceExporter exporter =
+                JsonlTraceExporter.builder(output)
+                        .append(false)
+                        .flushEveryLine(false)
+                        .async(true)
+                        .overflowPolicy(JsonlTraceExporter.OverflowPolicy.BLOCK)
+                        .bufferCapacity(16)
+                        .build();
+        exporter.onEvent(new PreCallEvent(agent, List.of(textMsg(MsgRole.USER, "hi")))).block();
+        for (int i = 0; i < eventCount; i++) {
+            exporter.onEvent(
+                            new PostReasoningEvent(
+                                    agent, "mock-model", options, textMsg(MsgRole.ASSISTANT, "m")))
+                    .block();
+        }
+        exporter.close();
+
+        List<Map<String, Object>> records = readAll(output);
+        assertEquals(eventCount + 1, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i, ((Number) records.get(i).get("step_id")).intValue());
+        }
+        JsonlTraceExporter.Stats stats = exporter.stats();
+        assertEquals(eventCount + 1, stats.written());
+        assertEquals(0, stats.dropped());
+    }
+
+    @Test
+    void asyncModeAccountsForEveryEventUnderOverflow() throws Exception {
+        Path output = tempDir.resolve("overflow.jsonl");
+        GenerateOptions options = GenerateOptions.builder().build();
+        int threads = 8;
+        int perThread = 2_000;
+
+        JsonlTraceExporter exporter =
+                JsonlTraceExporter.builder(output)
+                        .append(false)
+                        .async(true)
+                        .overflowPolicy(JsonlTraceExporter.OverflowPolicy.SAMPLE)
+                        .sampleRate(4)
+                        .bufferCapacity(8)
+                        .includeReasoningChunks(true)
+                        .build();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                TestAgent agent = new TestAgent("agent-" + t, "Agent-" + t);
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    exporter.onEvent(
+                                                    new PreCallEvent(
+                                                            agent,
+                                                            List.of(textMsg(MsgRole.USER, "hi"))))
+                                            .block();
+                                    Msg chunk = textMsg(MsgRole.ASSISTANT, "c");
+                                    for (int i = 0; i < perThread; i++) {
+                                        exporter.onEvent(
+                                                        new ReasoningChunkEvent(
+                                                                agent,
+                                                                "mock-model",
+                                                                options,
+                                                                chunk,
+                                                                chunk))
+                                                .block();
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        exporter.close();
+
+        List<Map<String, Object>> records = readAll(output);
+        JsonlTraceExporter.Stats stats = exporter.stats();
+        assertEquals(threads * (perThread + 1L), stats.written() + stats.dropped());
+        assertEquals(stats.written(), records.size());
+        // Lifecycle events are never sampled out
+        assertEquals(
+                threads,
+                records.stream().filter(r -> "PRE_CALL".equals(r.get("event_type"))).count());
+    }
+
+    @Test
+    void asyncModeEncodesOnSubmitAndRejectsAfterClose() throws Exception {
+        Path output = tempDir.resolve("snapshot.jsonl");
+        TestAgent agent = new TestAgent("agent-1", "TestAgent");
+
+        JsonlTraceExporter exporter =
+                JsonlTraceExporter.builder(output).append(false).async(true).failFast(true).build();
+        PostReasoningEvent event =
+                new PostReasoningEvent(
+                        agent,
+                        "mock-model",
+                        GenerateOptions.builder().build(),
+                        textMsg(MsgRole.ASSISTANT, "original"));
+        exporter.onEvent(event).block();
+        // Later hooks may rewrite the event; the exported line must keep what was submitted.
+        event.setReasoningMessage(textMsg(MsgRole.ASSISTANT, "rewritten"));
+        exporter.close();
+
+        assertThrows(RuntimeException.class, () -> exporter.onEvent(event).block());
+
+        List<Map<String, Object>> records = readAll(output);
+        assertEquals(1, records.size());
+        assertTrue(records.get(0).get("reasoning_message").toString().contains("original"));
+        assertEquals(1, exporter.stats().written());
+        assertEquals(1, exporter.stats().dropped());
+    }
+
+    @Test
+    void rotatesBySizeAndKeepsNewestFiles() throws Exception {
+        Path output = tempDir.resolve("rotate/trace.jsonl");
+        TestAgent agent = new TestAgent("agent-1", "TestAgent");
+
+        try (JsonlTraceExporter exporter =
+                JsonlTraceExporter.builder(output)
+                        .append(false)
+                        .rotateAtBytes(600)
+                        .maxRotatedFiles(2)
+                        .build()) {
+            for (int i = 0; i < 20; i++) {
+                exporter.onEvent(new PostCallEvent(agent, textMsg(MsgRole.ASSISTANT, "out-" + i)))
+                        .block();
+            }
+        }
+
+        List<Path> rotated;
+        try (var files = Files.list(output.getParent())) {
+            rotated =
+                    files.filter(p -> p.getFileName().toString().matches("trace-[0-9-]+\\.jsonl"))
+                            .toList();
+        }
+        assertEquals(2, rotated.size(), () -> "Rotated files: " + rotated);
+        assertTrue(Files.size(output) <= 600);
+        List<Map<String, Object>> current = readAll(output);
+        assertEquals(20, ((Number) current.get(current.size() - 1).get("step_id")).intValue());
+        for (Path file : rotated) {
+            assertTrue(Files.size(file) <= 600);
+        }
+    }
+
+    @Test
+    void keepsWritingWhenRotationFails() throws Exception {
+        Path output = tempDir.resolve("rotate-fail/trace.jsonl");
+        TestAgent agent = new TestAgent("agent-1", "TestAgent");
+
+        try (JsonlTraceExporter exporter =
+                JsonlTraceExporter.builder(output).append(false).rotateAtBytes(600).build()) {
+            exporter.onEvent(new PostCallEvent(agent, textMsg(MsgRole.ASSISTANT, "first"))).block();
+            // Moving a file that no longer exists makes the next rotation fail.
+            Files.delete(output);
+            for (int i = 0; i < 20; i++) {
+                exporter.onEvent(new PostCallEvent(agent, textMsg(MsgRole.ASSISTANT, "out-" + i)))
+                        .block();
+            }
+            assertEquals(21, exporter.stats().written());
+            assertEquals(0, exporter.stats().failed());
+        }
+
+        List<Map<String, Object>> current = readAll(output);
+        assertEquals(21, ((Number) current.get(current.size() - 1).get("step_id")).intValue());
+    }
+
     private static Msg textMsg(MsgRole role, String text) {
         return Msg.builder().role(role).content(TextBlock.builder().text(text).build()).build();
     }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.model.transport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("StreamFrameDecoder")
+class StreamFrameDecoderTest {
+
+    private static List<String> decode(String body, boolean ndjson, int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        StreamFrameDecoder decoder = new StreamFrameDecoder(ndjson);
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            int len = Math.min(chunkSize, bytes.length - i);
+            if (!decoder.feed(bytes, i, len, f -> out.add(HttpTransport.decodeFrame(f)))) {
+                return out;
+            }
+        }
+        decoder.finish(f -> out.add(HttpTransport.decodeFrame(f)));
+        return out;
+    }
+
+    @Test
+    @DisplayName("extracts SSE data payloads across arbitrary chunk boundaries")
+    void sseAcrossChunks() {
+        String body =
+                ": keep-alive\n"
+                        + "event: message\n"
+                        + "data: {\"a\":\"héllo 世界\"}\r\n"
+                        + "id: 1\n\n"
+                        + "data:   \n"
+                        + "data:{\"b\":2}\r"
+                        + "data: [DONE]\n"
+                        + "data: {\"ignored\":true}\n";
+        for (int chunk = 1; chunk <= body.length(); chunk++) {
+            assertEquals(
+                    List.of("{\"a\":\"héllo 世界\"}", "{\"b\":2}"),
+                    decode(body, false, chunk),
+                    "chunk size " + chunk);
+        }
+    }
+
+    @Test
+    @DisplayName("emits every non-empty NDJSON line, including an unterminated last line")
+    void ndjsonLines() {
+        String body = "{\"a\":1}\r\n\n{\"b\":2}\n{\"c\":3}";
+        assertEquals(List.of("{\"a\":1}", "{\"b\":2}", "{\"c\":3}"), decode(body, true, 3));
+    }
+
+    @Test
+    @DisplayName("frames() pulls on demand and closes the body on early cancel")
+    void framesClosesBodyOnCancel() {
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream body =
+                new ByteArrayInputStream(
+                        "data: 1\ndata: 2\ndata: 3\n".getBytes(StandardCharsets.UTF_8)) {
+                    @Override
+                    public void close() {
+                        closed.set(true);
+                    }
+                };
+
+        List<String> first =
+                StreamFrameDecoder.frames(() -> body, false)
+                        .map(HttpTransport::decodeFrame)
+                        .take(1)
+                        .collectList()
+                        .block();
+
+        assertEquals(List.of("1"), first);
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.skill.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.skill.AgentSkill;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("CachingSkillRepository Unit Tests")
+class CachingSkillRepositoryTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private CountingRepository delegate;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new CountingRepository();
+        delegate.put(new AgentSkill("alpha", "first", "alpha body", Map.of("a.txt", "A")));
+        delegate.put(new AgentSkill("beta", "second", "beta body", null));
+    }
+
+    private CachingSkillRepository.Builder builder() {
+        return CachingSkillRepository.builder(delegate)
+                .revalidateAfter(Duration.ofSeconds(5))
+                .clock(now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Should serve the catalog from memory and reload only when the version changes")
+    void testRevalidatesByCatalogVersion() {
+        CachingSkillRepository repo = builder().build();
+
+        List<AgentSkill> first = repo.getAllSkills();
+        assertEquals(2, first.size());
+        assertSame(first, repo.getAllSkills());
+        assertEquals(1, delegate.fullLoads);
+        assertEquals(1, delegate.versionProbes);
+
+        advance(Duration.ofSeconds(6));
+        assertSame(first, repo.getAllSkills(), "Unchanged version must keep the snapshot");
+        assertEquals(1, delegate.fullLoads);
+        assertEquals(2, delegate.versionProbes);
+
+        delegate.put(new AgentSkill("gamma", "third", "gamma body", null));
+        assertEquals(2, repo.getAllSkills().size(), "Change is not seen before the interval");
+        advance(Duration.ofSeconds(6));
+        assertEquals(3, repo.getAllSkills().size());
+        assertEquals(2, delegate.fullLoads);
+    }
+
+    @Test
+    @DisplayName("Should load content lazily and keep loaded skills while their version holds")
+    void testLazyContent() {
+        CachingSkillRepository repo = builder().lazyContent(true).build();
+
+        AgentSkill alpha = repo.getSkill("alpha");
+        LazyAgentSkill lazy = assertInstanceOf(LazyAgentSkill.class, alpha);
+        assertEquals("first", lazy.getDescription());
+        assertEquals("alpha_custom", lazy.getSkillId());
+        assertFalse(lazy.isLoaded());
+        assertEquals(0, delegate.skillLoads);
+
+        assertEquals("alpha body", lazy.getSkillContent());
+        assertEquals("A", lazy.getResource("a.txt"));
+        assertTrue(lazy.isLoaded());
+        assertEquals(1, delegate.skillLoads);
+        assertEquals(0, delegate.fullLoads);
+
+        delegate.put(new AgentSkill("beta", "second", "beta body v2", null));
+        advance(Duration.ofSeconds(6));
+        assertSame(lazy, repo.getSkill("alpha"), "Unchanged skill must be carried over");
+        AgentSkill beta = repo.getSkill("beta");
+        assertEquals("beta body v2", beta.getSkillContent());
+        assertEquals(2, delegate.skillLoads);
+    }
+
+    @Test
+    @DisplayName("Should invalidate on writes and serve the stale catalog when revalidation fails")
+    void testWritesAndFailures() {
+        CachingSkillRepository repo = builder().build();
+        List<AgentSkill> first = repo.getAllSkills();
+
+        repo.delete("beta");
+        List<AgentSkill> afterDelete = repo.getAllSkills();
+        assertNotSame(first, afterDelete);
+        assertEquals(List.of("alpha"), repo.getAllSkillNames());
+
+        delegate.failing = true;
+        advance(Duration.ofSeconds(6));
+        assertSame(afterDelete, repo.getAllSkills());
+        assertSame(CountingRepository.class, CachingSkillRepository.unwrap(repo).getClass());
+    }
+
+    /** In-memory repository that counts how often each read path is used. */
+    private static final class CountingRepository implements AgentSkillRepository {
+        private final Map<String, AgentSkill> skills = new LinkedHashMap<>();
+        private int revision;
+        private int fullLoads;
+        private int skillLoads;
+        private int versionProbes;
+        private boolean failing;
+
+        void put(AgentSkill skill) {
+            skills.put(skill.getName(), skill);
+            revision++;
+        }
+
+        @Override
+        public AgentSkill getSkill(String name) {
+            skillLoads++;
+            return skills.get(name);
+        }
+
+        @Override
+        public List<String> getAllSkillNames() {
+            return new ArrayList<>(skills.keySet());
+        }
+
+        @Override
+        public List<AgentSkill> getAllSkills() {
+            fullLoads++;
+            return new ArrayList<>(skills.values());
+        }
+
+        @Override
+        public List<SkillMetadata> listSkillMetadata() {
+            return skills.values().stream().map(SkillMetadata::of).toList();
+        }
+
+        @Override
+        public String getCatalogVersion() {
+            versionProbes++;
+            if (failing) {
+                throw new IllegalStateException("unavailable");
+            }
+            return String.valueOf(revision);
+        }
+
+        @Override
+        public boolean save(List<AgentSkill> toSave, boolean force) {
+            toSave.forEach(this::put);
+            return true;
+        }
+
+        @Override
+        public boolean delete(String skillName) {
+            revision++;
+            return skills.remove(skillName) != null;
+        }
+
+        @Override
+        public boolean skillExists(String skillName) {
+            return skills.containsKey(skillName);
+        }
+
+        @Override
+        public AgentSkillRepositoryInfo getRepositoryInfo() {
+            return new AgentSkillRepositoryInfo("memory", "memory", true);
+        }
+
+        @Override
+        public String getSource() {
+            return "memory";
+        }
+
+        @Override
+        public void setWriteable(boolean writeable) {}
+
+        @Override
+        public boolean isWriteable() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.permission.PermissionMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("AgentStateJournal Tests")
+class AgentStateJournalTest {
+
+    private static final String KEY = "agent_state";
+    private static final String JOURNAL_KEY = AgentStateJournal.journalKey(KEY);
+
+    @TempDir Path tempDir;
+
+    private JsonFileAgentStateStore store;
+
+    @BeforeEach
+    void setUp() {
+        store =
+                new JsonFileAgentStateStore(
+                        tempDir, AgentStateJournal.builder().compactionInterval(3).build());
+    }
+
+    private static Msg msg(MsgRole role, String text) {
+        return Msg.builder().role(role).textContent(text).build();
+    }
+
+    private List<AgentStateJournalEntry> entries() {
+        return store.getList("alice", "s1", JOURNAL_KEY, AgentStateJournalEntry.class);
+    }
+
+    @Test
+    @DisplayName("First save of a fresh state writes a snapshot")
+    void firstSaveWritesSnapshot() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        state.contextMutable().add(msg(MsgRole.USER, "hello"));
+
+        store.save("alice", "s1", KEY, state);
+
+        List<AgentStateJournalEntry> entries = entries();
+        assertEquals(1, entries.size());
+        assertEquals(AgentStateJournalEntry.Kind.SNAPSHOT, entries.get(0).kind());
+        assertFalse(Files.exists(tempDir.resolve("alice").resolve("s1").resolve(KEY + ".json")));
+    }
+
+    @Test
+    @DisplayName("Subsequent saves append deltas with only new messages and changed sections")
+    void subsequentSavesAppendDeltas() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        state.contextMutable().add(msg(MsgRole.USER, "hello"));
+        store.save("alice", "s1", KEY, state);
+
+        state.contextMutable().add(msg(MsgRole.ASSISTANT, "hi there"));
+        state.setCurIter(1);
+        store.save("alice", "s1", KEY, state);
+
+        List<AgentStateJournalEntry> entries = entries();
+        assertEquals(2, entries.size());
+        AgentStateJournalEntry delta = entries.get(1);
+        assertEquals(AgentStateJournalEntry.Kind.DELTA, delta.kind());
+        assertEquals(1, delta.baseContextSize());
+        assertEquals(1, delta.appended().size());
+        assertEquals("hi there", delta.appended().get(0).getTextContent());
+        assertNull(delta.permissionContext());
+        assertNull(delta.toolContext());
+        assertNull(delta.summary());
+    }
+
+    @Test
+    @DisplayName("Unchanged state is not written again")
+    void unchangedStateSkipsWrite() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        store.save("alice", "s1", KEY, state);
+        store.save("alice", "s1", KEY, state);
+
+        assertEquals(1, entries().size());
+    }
+
+    @Test
+    @DisplayName("Replay reconstructs the latest state")
+    void replayReconstructsState() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        state.contextMutable().add(msg(MsgRole.USER, "q1"));
+        store.save("alice", "s1", KEY, state);
+
+        state.contextMutable().add(msg(MsgRole.ASSISTANT, "a1"));
+        state.setSummary("talked about q1");
+        state.setPermissionContext(state.getPermissionContext().withMode(PermissionMode.BYPASS));
+        store.save("alice", "s1", KEY, state);
+
+        AgentState loaded = store.get("alice", "s1", KEY, AgentState.class).orElseThrow();
+        assertEquals(2, loaded.getContext().size());
+        assertEquals("a1", loaded.getContext().get(1).getTextContent());
+        assertEquals("talked about q1", loaded.getSummary());
+        assertEquals(PermissionMode.BYPASS, loaded.getPermissionContext().getMode());
+        assertEquals(state.getReplyId(), loaded.getReplyId());
+    }
+
+    @Test
+    @DisplayName("A reloaded state keeps appending deltas")
+    void reloadedStateAppendsDeltas() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        state.contextMutable().add(msg(MsgRole.USER, "q1"));
+        store.save("alice", "s1", KEY, state);
+
+        AgentState loaded = store.get("alice", "s1", KEY, AgentState.class).orElseThrow();
+        loaded.contextMutable().add(msg(MsgRole.ASSISTANT, "a1"));
+        store.save("alice", "s1", KEY, loaded);
+
+        List<AgentStateJournalEntry> entries = entries();
+        assertEquals(2, entries.size());
+        assertEquals(AgentStateJournalEntry.Kind.DELTA, entries.get(1).kind());
+    }
+
+    @Test
+    @DisplayName("Rewriting persisted context compacts into a snapshot")
+    void rewrittenContextCompacts() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        state.contextMutable().add(msg(MsgRole.USER, "q1"));
+        state.contextMutable().add(msg(MsgRole.ASSISTANT, "a1"));
+        store.save("alice", "s1", KEY, state);
+        state.contextMutable().add(msg(MsgRole.USER, "q2"));
+        store.save("alice", "s1", KEY, state);
+
+        state.contextMutable().clear();
+        state.contextMutable().add(msg(MsgRole.USER, "compacted"));
+        store.save("alice", "s1", KEY, state);
+
+        List<AgentStateJournalEntry> entries = entries();
+        assertEquals(1, entries.size());
+        assertEquals(AgentStateJournalEntry.Kind.SNAPSHOT, entries.get(0).kind());
+        AgentState loaded = store.get("alice", "s1", KEY, AgentState.class).orElseThrow();
+        assertEquals(1, loaded.getContext().size());
+        assertEquals("compacted", loaded.getContext().get(0).getTextContent());
+    }
+
+    @Test
+    @DisplayName("Replacing any persisted message compacts into a snapshot")
+    void replacedMiddleMessageCompacts() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        for (int i = 0; i < 20; i++) {
+            state.contextMutable().add(msg(MsgRole.USER, "q" + i));
+        }
+        store.save("alice", "s1", KEY, state);
+
+        // Position 7 is not one of the positions a sampled hash would look at.
+        state.contextMutable().set(7, msg(MsgRole.USER, "edited"));
+        state.contextMutable().add(msg(MsgRole.ASSISTANT, "a"));
+        store.save("alice", "s1", KEY, state);
+
+        assertEquals(1, entries().size());
+        AgentState loaded = store.get("alice", "s1", KEY, AgentState.class).orElseThrow();
+        assertEquals("edited", loaded.getContext().get(7).getTextContent());
+        assertEquals(21, loaded.getContext().size());
+    }
+
+    @Test
+    @DisplayName("Replay applies explicit clears and keeps unchanged fields")
+    void replayAppliesClears() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        store.save("alice", "s1", KEY, state);
+        state.setCurIter(2);
+        store.save("alice", "s1", KEY, state);
+        assertNull(entries().get(1).replyId());
+
+        store.append(
+                "alice",
+                "s1",
+                JOURNAL_KEY,
+                List.of(
+                        new AgentStateJournalEntry(
+                                2,
+                                AgentStateJournalEntry.Kind.DELTA,
+                                null,
+                                0,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                null,
+                                List.of(AgentStateJournalEntry.REPLY_ID))));
+
+        AgentState loaded = store.get("alice", "s1", KEY, AgentState.class).orElseThrow();
+        assertEquals(2, loaded.getCurIter());
+        assertNotEquals(state.getReplyId(), loaded.getReplyId());
+    }
+
+    @Test
+    @DisplayName("Journal is compacted after the configured number of deltas")
+    void compactsAfterInterval() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        store.save("alice", "s1", KEY, state);
+        for (int i = 0; i < 3; i++) {
+            state.contextMutable().add(msg(MsgRole.USER, "m" + i));
+            store.save("alice", "s1", KEY, state);
+        }
+        assertEquals(4, entries().size());
+
+        state.contextMutable().add(msg(MsgRole.USER, "m3"));
+        store.save("alice", "s1", KEY, state);
+
+        List<AgentStateJournalEntry> entries = entries();
+        assertEquals(1, entries.size());
+        assertEquals(4, entries.get(0).snapshot().getContext().size());
+    }
+
+    @Test
+    @DisplayName("A state without a cursor for this slot is written as a snapshot")
+    void foreignStateWritesSnapshot() {
+        AgentState state = AgentState.builder().sessionId("s1").userId("alice").build();
+        state.contextMutable().add(msg(MsgRole.USER, "q1"));
+        store.save("alice", "s1", KEY, state);
+        state.contextMutable().add(msg(MsgRole.USER, "q2"));
+        store.save("alice", "s1", KEY, state);
+
+        AgentState other = AgentState.builder().sessionId("s1").userId("alice").build();
+        other.contextMutable().add(msg(MsgRole.USER, "replaced"));
+        store.save("alice", "s1", KEY, other);
+
+        AgentState loaded = store.get("alice", "s1", KEY, AgentState.class).orElseThrow();
+        assertEquals(1, loaded.getContext().size());
+        assertEquals("replaced", loaded.getContext().get(0).getTextContent());
+    }
+
+    @Test
+    @DisplayName("Falls back to the whole-document file written before journaling")
+    void fallsBackToLegacyDocument() {
+        AgentState legacy = AgentState.builder().sessionId("s1").userId("alice").build();
+        legacy.contextMutable().add(msg(MsgRole.USER, "old"));
+        new JsonFileAgentStateStore(tempDir).save("alice", "s1", KEY, legacy);
+
+        AgentState loaded = store.get("alice", "s1", KEY, AgentState.class).orElseThrow();
+        assertEquals("old", loaded.getContext().get(0).getTextContent());
+    }
+
+    @Test
+    @DisplayName("Deleting the key removes the journal")
+    void deleteRemovesJournal() {
+        store.save("alice", "s1", KEY, AgentState.builder().sessionId("s1").build());
+        store.delete("alice", "s1", KEY);
+
+        assertTrue(entries().isEmpty());
+        assertTrue(store.get("alice", "s1", KEY, AgentState.class).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Equal entries have equal hash codes")
+    void equalEntriesHashAlike() {
+        List<Msg> context = List.of(msg(MsgRole.USER, "q1"));
+        AgentState a = AgentState.builder().sessionId("s1").replyId("r1").context(context).build();
+        AgentState b =
+                AgentState.builder()
+                        .sessionId("s1")
+                        .replyId("r1")
+                        .context(context)
+                        .toolContext(a.getToolContext())
+                        .build();
+        AgentStateJournalEntry first = AgentStateJournalEntry.snapshot(0, a);
+        AgentStateJournalEntry second = AgentStateJournalEntry.snapshot(0, b);
+
+        assertNotSame(first.snapshot(), second.snapshot());
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    @DisplayName("Default append concatenates onto the stored list")
+    void inMemoryAppend() {
+        InMemoryAgentStateStore memory = new InMemoryAgentStateStore();
+        AgentStateJournal journal = AgentStateJournal.builder().build();
+        AgentState state = AgentState.builder().sessionId("s1").build();
+        journal.write(memory, null, "s1", KEY, state);
+        state.contextMutable().add(msg(MsgRole.USER, "q1"));
+        journal.write(memory, null, "s1", KEY, state);
+
+        assertEquals(
+                2, memory.getList(null, "s1", JOURNAL_KEY, AgentStateJournalEntry.class).size());
+        AgentState loaded = journal.read(memory, null, "s1", KEY).orElseThrow();
+        assertEquals(1, loaded.getContext().size());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/** Tests for the offloading {@link ReactiveAgentStateStore} returned by the default SPI. */
+@DisplayName("ReactiveAgentStateStore offloading adapter")
+class ReactiveAgentStateStoreTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("operations are lazy and round-trip through the blocking store")
+    void roundTrip() {
+        InMemoryAgentStateStore store = new InMemoryAgentStateStore();
+        ReactiveAgentStateStore reactive = store.reactive();
+
+        AgentState state = AgentState.builder().sessionId("s1").summary("hello").build();
+        // Not subscribed: nothing is written.
+        reactive.save("u1", "s1", "agent_state", state);
+        assertFalse(store.exists("u1", "s1"));
+
+        reactive.save("u1", "s1", "agent_state", state).block(TIMEOUT);
+        assertTrue(reactive.exists("u1", "s1").block(TIMEOUT));
+        AgentState loaded =
+                reactive.get("u1", "s1", "agent_state", AgentState.class).block(TIMEOUT);
+        assertEquals("hello", loaded.getSummary());
+        assertNull(reactive.get("u1", "missing", "agent_state", AgentState.class).block(TIMEOUT));
+        assertEquals(Set.of("s1"), Set.copyOf(reactive.listSessionIds("u1").collectList().block()));
+
+        reactive.delete("u1", "s1").block(TIMEOUT);
+        assertFalse(store.exists("u1", "s1"));
+    }
+
+    @Test
+    @DisplayName("blocking calls run on the configured scheduler")
+    void runsOnScheduler() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        InMemoryAgentStateStore store =
+                new InMemoryAgentStateStore() {
+                    @Override
+                    public void save(
+                            String userId,
+                            String sessionId,
+                            String key,
+                            List<? extends State> values) {
+                        thread.set(Thread.currentThread().getName());
+                        super.save(userId, sessionId, key, values);
+                    }
+                };
+        Scheduler scheduler = Schedulers.newSingle("state-io");
+        try {
+            ReactiveAgentStateStore reactive = ReactiveAgentStateStore.offloading(store, scheduler);
+            reactive.save("u1", "s1", "items", List.of(AgentState.builder().build()))
+                    .block(TIMEOUT);
+            assertTrue(thread.get().startsWith("state-io"), thread.get());
+        } finally {
+            scheduler.dispose();
+        }
+    }
+}
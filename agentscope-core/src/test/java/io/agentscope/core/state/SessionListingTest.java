@@ -0,0 +1,259 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.state.InMemoryAgentStateStoreTest.TestState;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for cursor-paginated session listing. */
+@DisplayName("Session listing Tests")
+class SessionListingTest {
+
+    @TempDir Path tempDir;
+
+    private static AgentState agentState(String sessionId, int messages) {
+        AgentState state = AgentState.builder().sessionId(sessionId).userId("alice").build();
+        for (int i = 0; i < messages; i++) {
+            state.contextMutable()
+                    .add(Msg.builder().role(MsgRole.USER).textContent("m" + i).build());
+        }
+        return state;
+    }
+
+    /** Follows cursors until the last page and returns every listed session id in order. */
+    private static List<String> listAll(AgentStateStore store, SessionQuery query) {
+        List<String> ids = new ArrayList<>();
+        SessionPage page = store.listSessions(query);
+        while (true) {
+            assertTrue(page.sessions().size() <= query.getLimit());
+            page.sessions().forEach(s -> ids.add(s.getSessionId()));
+            if (!page.hasMore()) {
+                return ids;
+            }
+            page = store.listSessions(query.withCursor(page.nextCursor()));
+        }
+    }
+
+    private static void saveSessions(AgentStateStore store, int count) {
+        for (int i = 0; i < count; i++) {
+            store.save("alice", String.format("s%02d", i), "k", new TestState("v", i));
+        }
+    }
+
+    @Test
+    @DisplayName("Cursor should round-trip and reject malformed input")
+    void testCursorRoundTrip() {
+        SessionCursor cursor = new SessionCursor(1234L, "a:b/c");
+        assertEquals(cursor, SessionCursor.decode(cursor.encode()));
+        assertThrows(IllegalArgumentException.class, () -> SessionCursor.decode("not a cursor"));
+        assertThrows(
+                IllegalArgumentException.class, () -> SessionQuery.builder().cursor("%%%").build());
+        assertThrows(IllegalArgumentException.class, () -> SessionQuery.builder().limit(0));
+    }
+
+    @Test
+    @DisplayName("In-memory store should page through every session exactly once")
+    void testInMemoryPagination() {
+        InMemoryAgentStateStore store = new InMemoryAgentStateStore();
+        saveSessions(store, 25);
+        store.save("bob", "other", "k", new TestState("v", 0));
+
+        SessionQuery byTime = SessionQuery.builder().userId("alice").limit(7).build();
+        List<String> ids = listAll(store, byTime);
+        assertEquals(25, ids.size());
+        assertEquals(25, new HashSet<>(ids).size());
+
+        SessionQuery byId =
+                SessionQuery.builder()
+                        .userId("alice")
+                        .limit(10)
+                        .sortBy(SessionQuery.SortBy.SESSION_ID)
+                        .descending(false)
+                        .build();
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(sorted, listAll(store, byId));
+    }
+
+    @Test
+    @DisplayName("Default implementation should page through listSessionIds")
+    void testDefaultListSessions() {
+        InMemoryAgentStateStore backing = new InMemoryAgentStateStore();
+        saveSessions(backing, 5);
+        AgentStateStore store =
+                new AgentStateStore() {
+                    @Override
+                    public void save(String u, String s, String k, State v) {}
+
+                    @Override
+                    public void save(String u, String s, String k, List<? extends State> v) {}
+
+                    @Override
+                    public <T extends State> java.util.Optional<T> get(
+                            String u, String s, String k, Class<T> t) {
+                        return java.util.Optional.empty();
+                    }
+
+                    @Override
+                    public <T extends State> List<T> getList(
+                            String u, String s, String k, Class<T> t) {
+                        return List.of();
+                    }
+
+                    @Override
+                    public boolean exists(String u, String s) {
+                        return false;
+                    }
+
+                    @Override
+                    public void delete(String u, String s) {}
+
+                    @Override
+                    public java.util.Set<String> listSessionIds(String userId) {
+                        return backing.listSessionIds(userId);
+                    }
+                };
+
+        SessionQuery query =
+                SessionQuery.builder()
+                        .userId("alice")
+                        .limit(2)
+                        .sortBy(SessionQuery.SortBy.SESSION_ID)
+                        .descending(false)
+                        .build();
+        assertEquals(List.of("s00", "s01", "s02", "s03", "s04"), listAll(store, query));
+    }
+
+    @Test
+    @DisplayName("File store should list sessions from its summary index")
+    void testJsonFileListSessions() {
+        JsonFileAgentStateStore store = new JsonFileAgentStateStore(tempDir);
+        saveSessions(store, 12);
+        store.save("alice", "chat-1", "agent_state", agentState("chat-1", 3));
+        store.delete("alice", "s03");
+
+        SessionQuery query = SessionQuery.builder().userId("alice").limit(5).build();
+        List<String> ids = listAll(store, query);
+        assertEquals(12, ids.size());
+        assertFalse(ids.contains("s03"));
+        assertEquals(12, new HashSet<>(ids).size());
+
+        SessionInfo chat =
+                store.listSessions(
+                                SessionQuery.builder()
+                                        .userId("alice")
+                                        .sessionIdPrefix("chat-")
+                                        .build())
+                        .sessions()
+                        .get(0);
+        assertEquals("chat-1", chat.getSessionId());
+        assertEquals("alice", chat.getUserId());
+        assertEquals(3, chat.getMessageCount());
+        assertEquals(1, chat.getComponentCount());
+        assertTrue(chat.getSize() > 0);
+        assertTrue(chat.getLastModified() > 0);
+
+        SessionQuery prefixed =
+                SessionQuery.builder()
+                        .userId("alice")
+                        .limit(3)
+                        .sortBy(SessionQuery.SortBy.SESSION_ID)
+                        .descending(true)
+                        .sessionIdPrefix("s0")
+                        .build();
+        assertEquals(
+                List.of("s09", "s08", "s07", "s06", "s05", "s04", "s02", "s01", "s00"),
+                listAll(store, prefixed));
+
+        SessionQuery future =
+                SessionQuery.builder()
+                        .userId("alice")
+                        .updatedAfter(System.currentTimeMillis() + 60_000)
+                        .build();
+        assertTrue(store.listSessions(future).sessions().isEmpty());
+        assertNull(store.listSessions(future).nextCursor());
+    }
+
+    @Test
+    @DisplayName("File index should be shared across instances and rebuilt when missing")
+    void testJsonFileIndexReload() throws Exception {
+        JsonFileAgentStateStore first = new JsonFileAgentStateStore(tempDir);
+        JsonFileAgentStateStore second = new JsonFileAgentStateStore(tempDir);
+        saveSessions(first, 3);
+        assertEquals(
+                3,
+                second.listSessions(SessionQuery.builder().userId("alice").build())
+                        .sessions()
+                        .size());
+
+        // Writes by the first instance are picked up from the log tail.
+        first.save("alice", "late", "agent_state", agentState("late", 2));
+        SessionInfo late =
+                second.listSessions(
+                                SessionQuery.builder()
+                                        .userId("alice")
+                                        .sessionIdPrefix("late")
+                                        .build())
+                        .sessions()
+                        .get(0);
+        assertEquals(2, late.getMessageCount());
+
+        // A store that finds no log rebuilds it from the session directories.
+        Files.delete(tempDir.resolve("alice").resolve(JsonFileSessionIndex.FILE_NAME));
+        JsonFileAgentStateStore third = new JsonFileAgentStateStore(tempDir);
+        SessionQuery all =
+                SessionQuery.builder()
+                        .userId("alice")
+                        .sortBy(SessionQuery.SortBy.SESSION_ID)
+                        .descending(false)
+                        .build();
+        assertEquals(List.of("late", "s00", "s01", "s02"), listAll(third, all));
+        assertTrue(Files.exists(tempDir.resolve("alice").resolve(JsonFileSessionIndex.FILE_NAME)));
+    }
+
+    @Test
+    @DisplayName("File index log should be compacted once it outgrows the live sessions")
+    void testJsonFileIndexCompaction() throws Exception {
+        JsonFileAgentStateStore store = new JsonFileAgentStateStore(tempDir);
+        for (int i = 0; i < 1500; i++) {
+            store.save("alice", "s" + (i % 3), "k", new TestState("v", i));
+        }
+        assertEquals(
+                3,
+                store.listSessions(SessionQuery.builder().userId("alice").build())
+                        .sessions()
+                        .size());
+        long lines =
+                Files.readAllLines(tempDir.resolve("alice").resolve(JsonFileSessionIndex.FILE_NAME))
+                        .size();
+        assertTrue(lines < 1500, "log should have been compacted, has " + lines + " lines");
+    }
+}
@@ -959,4 +959,55 @@ class ToolMethodInvokerTest {
         Assertions.assertFalse(ToolTestUtils.isErrorResponse(response));
         Assertions.assertEquals("\"value|null\"", ToolTestUtils.extractContent(response));
     }
+
+    private static final class PrivateTools {
+        private int calls;
+
+        private String count(@ToolParam(name = "value", description = "value") String value) {
+            calls++;
+            return value + calls;
+        }
+
+        private static long twice(@ToolParam(name = "value", description = "value") long value) {
+            return value * 2;
+        }
+    }
+
+    @Test
+    void testPlan_ReusedAcrossCallsOnPrivateMethod() throws Exception {
+        PrivateTools tools = new PrivateTools();
+        Method method = PrivateTools.class.getDeclaredMethod("count", String.class);
+        ToolMethodInvoker.InvocationPlan plan = invoker.plan(tools, method);
+
+        for (int i = 1; i <= 3; i++) {
+            Map<String, Object> input = Map.of("value", "v");
+            ToolCallParam param =
+                    ToolCallParam.builder()
+                            .toolUseBlock(new ToolUseBlock("id", "count", input))
+                            .input(input)
+                            .build();
+            ToolResultBlock response = invoker.invokeAsync(plan, param, null).block();
+            Assertions.assertEquals("\"v" + i + "\"", ToolTestUtils.extractContent(response));
+        }
+    }
+
+    @Test
+    void testPlan_StaticMethodWithConvertedPrimitive() throws Exception {
+        Method method = PrivateTools.class.getDeclaredMethod("twice", long.class);
+
+        ToolResultBlock response = invokeWithParam(null, method, Map.of("value", 21));
+
+        Assertions.assertFalse(ToolTestUtils.isErrorResponse(response));
+        Assertions.assertEquals("42", ToolTestUtils.extractContent(response));
+    }
+
+    @Test
+    void testPlan_MissingPrimitiveReportedAsError() throws Exception {
+        Method method = PrivateTools.class.getDeclaredMethod("twice", long.class);
+
+        ToolResultBlock response = invokeWithParam(null, method, Map.of());
+
+        Assertions.assertTrue(
+                ToolTestUtils.extractContent(response).contains("Tool execution failed"));
+    }
 }
@@ -16,6 +16,8 @@
 package io.agentscope.core.tool;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -29,6 +31,7 @@ import io.agentscope.core.message.ToolUseBlock;
 import io.agentscope.core.util.JsonUtils;
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.DisplayName;
@@ -126,6 +129,56 @@ class ToolValidatorTest {
         }
     }
 
+    @Nested
+    @DisplayName("compile - Compiled Schemas")
+    class CompiledSchemas {
+
+        private final Map<String, Object> schema =
+                Map.of(
+                        "type",
+                        "object",
+                        "properties",
+                        Map.of(
+                                "count",
+                                Map.of("type", "integer"),
+                                "note",
+                                Map.of("type", "string")),
+                        "required",
+                        List.of("count"));
+
+        @Test
+        @DisplayName("Should report the same results as validateInput on repeated use")
+        void testCompiledMatchesValidateInput() {
+            ToolValidator.CompiledSchema compiled = ToolValidator.compile(schema);
+            for (String input :
+                    List.of(
+                            "{\"count\":1}",
+                            "{\"count\":\"x\"}",
+                            "{\"count\":1,\"note\":null}",
+                            "{}")) {
+                assertEquals(ToolValidator.validateInput(input, schema), compiled.validate(input));
+            }
+            assertNull(compiled.validate("{\"count\":1,\"note\":null}"));
+            assertNotNull(compiled.validate("{}"));
+        }
+
+        @Test
+        @DisplayName("Should recognize its source schema by value")
+        void testIsCompiledFrom() {
+            ToolValidator.CompiledSchema compiled = ToolValidator.compile(schema);
+            assertTrue(compiled.isCompiledFrom(new HashMap<>(schema)));
+            assertFalse(compiled.isCompiledFrom(Map.of("type", "object")));
+        }
+
+        @Test
+        @DisplayName("Should report an uncompilable schema on validation instead of throwing")
+        void testInvalidSchema() {
+            ToolValidator.CompiledSchema compiled =
+                    ToolValidator.compile(Map.of("type", new Object()));
+            assertTrue(compiled.validate("{}").startsWith("Schema validation error"));
+        }
+    }
+
     @Nested
     @DisplayName("validateInput - Required Fields")
     class ValidateInputRequiredFields {
@@ -17,15 +17,22 @@
 package io.agentscope.core.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -273,4 +280,84 @@ class JacksonJsonCodecTest {
         assertEquals(original.author.age, deserialized.author.age);
         assertEquals(original.tags, deserialized.tags);
     }
+
+    @Test
+    void testStreamRoundTripLeavesStreamsOpen() throws Exception {
+        AtomicBoolean outClosed = new AtomicBoolean();
+        ByteArrayOutputStream out =
+                new ByteArrayOutputStream() {
+                    @Override
+                    public void close() {
+                        outClosed.set(true);
+                    }
+                };
+        codec.writeTo(new SimpleModel("Alice", 30), out);
+        out.write('\n');
+        codec.writeTo(new SimpleModel("Bob", 25), out);
+        assertFalse(outClosed.get());
+
+        byte[] bytes = out.toByteArray();
+        int newline = new String(bytes, StandardCharsets.UTF_8).indexOf('\n');
+        assertEquals("Alice", codec.fromJson(bytes, 0, newline, SimpleModel.class).name);
+
+        AtomicBoolean inClosed = new AtomicBoolean();
+        InputStream in =
+                new ByteArrayInputStream(codec.toJsonBytes(new SimpleModel("Carol", 40))) {
+                    @Override
+                    public void close() {
+                        inClosed.set(true);
+                    }
+                };
+        assertEquals(40, codec.readFrom(in, SimpleModel.class).age);
+        assertFalse(inClosed.get());
+    }
+
+    @Test
+    void testWritePrettyToMatchesToPrettyJson() {
+        SimpleModel model = new SimpleModel("Alice", 30);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.writePrettyTo(model, out);
+        assertEquals(codec.toPrettyJson(model), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFromJsonByteBufferUsesRemainingBytes() {
+        byte[] json = "xx{\"name\":\"Alice\",\"age\":30}yy".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer heap = ByteBuffer.wrap(json, 2, json.length - 4).slice();
+        assertEquals("Alice", codec.fromJson(heap, SimpleModel.class).name);
+        assertEquals(0, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(json.length - 4);
+        direct.put(json, 2, json.length - 4).flip();
+        assertEquals(30, codec.fromJson(direct, SimpleModel.class).age);
+    }
+
+    @Test
+    void testReadValuesFromJsonLines() {
+        String lines = "{\"name\":\"Alice\",\"age\":30}\n\n{\"name\":\"Bob\",\"age\":25}\n";
+        AtomicBoolean inClosed = new AtomicBoolean();
+        InputStream in =
+                new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)) {
+                    @Override
+                    public void close() {
+                        inClosed.set(true);
+                    }
+                };
+
+        List<SimpleModel> values = codec.readValuesFrom(in, SimpleModel.class);
+
+        assertEquals(2, values.size());
+        assertEquals("Alice", values.get(0).name);
+        assertEquals(25, values.get(1).age);
+        assertFalse(inClosed.get());
+        assertTrue(
+                codec.readValuesFrom(new ByteArrayInputStream(new byte[0]), SimpleModel.class)
+                        .isEmpty());
+    }
+
+    @Test
+    void testReadFromInvalidJsonThrows() {
+        InputStream in = new ByteArrayInputStream("{not json".getBytes(StandardCharsets.UTF_8));
+        assertThrows(JsonException.class, () -> codec.readFrom(in, SimpleModel.class));
+    }
 }
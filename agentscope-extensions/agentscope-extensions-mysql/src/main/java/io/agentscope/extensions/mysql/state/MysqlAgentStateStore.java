@@ -15,8 +15,14 @@
  */
 package io.agentscope.extensions.mysql.state;
 
+import io.agentscope.core.state.AgentState;
+import io.agentscope.core.state.AgentStateJournal;
 import io.agentscope.core.state.AgentStateStore;
 import io.agentscope.core.state.ListHashUtil;
+import io.agentscope.core.state.SessionCursor;
+import io.agentscope.core.state.SessionInfo;
+import io.agentscope.core.state.SessionPage;
+import io.agentscope.core.state.SessionQuery;
 import io.agentscope.core.state.State;
 import io.agentscope.core.util.JsonUtils;
 import java.sql.Connection;
@@ -24,10 +30,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.regex.Pattern;
 import javax.sql.DataSource;
 
@@ -40,6 +50,8 @@ import javax.sql.DataSource;
  * <ul>
  *   <li>Single state: stored as JSON with item_index = 0
  *   <li>List state: each item stored in a separate row with item_index = 0, 1, 2, ...
+ *   <li>Version: a random token in the row {@code <stateKey>:_version}, replaced in the same
+ *       transaction as every write of the key and returned by {@link #version}
  * </ul>
  *
  * <p>Table Schema (auto-created if createIfNotExist=true):
@@ -56,10 +68,32 @@ import javax.sql.DataSource;
  * ) DEFAULT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
  * </pre>
  *
+ * <p>A summary table {@code <table>_index} keeps one row per session, maintained in the same
+ * transaction as every write, so {@link #listSessions(SessionQuery)} reads one page with an
+ * indexed keyset query instead of {@code SELECT DISTINCT} over all state rows:
+ *
+ * <pre>
+ * CREATE TABLE IF NOT EXISTS agentscope_sessions_index (
+ *     user_id VARCHAR(255) NOT NULL,
+ *     session_id VARCHAR(255) NOT NULL,
+ *     updated_at BIGINT NOT NULL,
+ *     message_count INT NOT NULL DEFAULT -1,
+ *     PRIMARY KEY (user_id, session_id),
+ *     KEY idx_user_updated (user_id, updated_at, session_id)
+ * ) DEFAULT CHARACTER SET utf8mb4 COLLATE utf8mb4_bin;
+ * </pre>
+ *
+ * <p>With {@code createIfNotExist=true} the summary table is created and filled from existing
+ * rows on first start. Otherwise it is used only if it already exists; without it, {@link
+ * #listSessions(SessionQuery)} falls back to {@link #listSessionIds(String)}.
+ *
  * <p>Features:
  *
  * <ul>
  *   <li>True incremental list storage (only INSERTs new items, no read-modify-write)
+ *   <li>Optional {@link AgentStateJournal} mode: {@link AgentState} values are stored as
+ *       append-only journal rows under {@code <stateKey>_journal} instead of re-upserting the
+ *       whole document on every save
  *   <li>Type-safe state serialization using Jackson
  *   <li>Automatic table creation
  *   <li>SQL injection prevention through parameterized queries
@@ -73,6 +107,12 @@ public class MysqlAgentStateStore implements AgentStateStore {
     /** Suffix for hash storage keys. */
     private static final String HASH_KEY_SUFFIX = ":_hash";
 
+    /** Suffix for version token keys. */
+    private static final String VERSION_KEY_SUFFIX = ":_version";
+
+    /** Suffix appended to the table name for the per-session summary table. */
+    private static final String INDEX_TABLE_SUFFIX = "_index";
+
     /** item_index value for single state values. */
     private static final int SINGLE_STATE_INDEX = 0;
 
@@ -90,6 +130,8 @@ public class MysqlAgentStateStore implements AgentStateStore {
     private final DataSource dataSource;
     private final String databaseName;
     private final String tableName;
+    private final AgentStateJournal journal;
+    private final boolean sessionIndex;
 
     @FunctionalInterface
     private interface SqlOperation {
@@ -147,6 +189,27 @@ public class MysqlAgentStateStore implements AgentStateStore {
             String databaseName,
             String tableName,
             boolean createIfNotExist) {
+        this(dataSource, databaseName, tableName, createIfNotExist, null);
+    }
+
+    /**
+     * Create a MysqlAgentStateStore that persists {@link AgentState} values through an
+     * append-only journal.
+     *
+     * @param dataSource DataSource for database connections
+     * @param databaseName Custom database name (uses default if null or empty)
+     * @param tableName Custom table name (uses default if null or empty)
+     * @param createIfNotExist If true, auto-create database and table; if false, require existing
+     * @param journal Journal for {@link AgentState} values, or null to upsert them whole
+     * @throws IllegalArgumentException if dataSource is null
+     * @throws IllegalStateException if createIfNotExist is false and database/table does not exist
+     */
+    public MysqlAgentStateStore(
+            DataSource dataSource,
+            String databaseName,
+            String tableName,
+            boolean createIfNotExist,
+            AgentStateJournal journal) {
         if (dataSource == null) {
             throw new IllegalArgumentException("DataSource cannot be null");
         }
@@ -160,6 +223,7 @@ public class MysqlAgentStateStore implements AgentStateStore {
                 (tableName == null || tableName.trim().isEmpty())
                         ? DEFAULT_TABLE_NAME
                         : tableName.trim();
+        this.journal = journal;
 
         // Validate database and table names to prevent SQL injection
         validateIdentifier(this.databaseName, "Database name");
@@ -169,10 +233,12 @@ public class MysqlAgentStateStore implements AgentStateStore {
             // Create database and table if they don't exist
             createDatabaseIfNotExist();
             createTableIfNotExist();
+            this.sessionIndex = createIndexTableIfNotExist();
         } else {
             // Verify database and table exist
             verifyDatabaseExists();
             verifyTableExists();
+            this.sessionIndex = tableExists(getIndexTableName());
         }
     }
 
@@ -222,6 +288,72 @@ public class MysqlAgentStateStore implements AgentStateStore {
         }
     }
 
+    /**
+     * Create the session summary table if it doesn't exist, filling it from the existing state
+     * rows when it is created.
+     *
+     * @return false if the table name leaves no room for the index suffix
+     */
+    private boolean createIndexTableIfNotExist() {
+        if (tableName.length() + INDEX_TABLE_SUFFIX.length() > MAX_IDENTIFIER_LENGTH) {
+            return false;
+        }
+        if (tableExists(getIndexTableName())) {
+            return true;
+        }
+        String createTableSql =
+                "CREATE TABLE IF NOT EXISTS "
+                        + getFullIndexTableName()
+                        + " (user_id VARCHAR(255) NOT NULL, session_id VARCHAR(255) NOT NULL,"
+                        + " updated_at BIGINT NOT NULL, message_count INT NOT NULL DEFAULT -1,"
+                        + " PRIMARY KEY (user_id, session_id), KEY idx_user_updated (user_id,"
+                        + " updated_at, session_id)) DEFAULT CHARACTER SET utf8mb4"
+                        + " COLLATE utf8mb4_bin";
+        // Sessions written before the summary table existed; the message count is unknown.
+        String backfillSql =
+                "INSERT IGNORE INTO "
+                        + getFullIndexTableName()
+                        + " (user_id, session_id, updated_at, message_count)"
+                        + " SELECT SUBSTRING_INDEX(session_id, ':', 1),"
+                        + " SUBSTRING(session_id, LOCATE(':', session_id) + 1),"
+                        + " FLOOR(UNIX_TIMESTAMP(MAX(updated_at)) * 1000), -1 FROM "
+                        + getFullTableName()
+                        + " GROUP BY session_id";
+
+        try (Connection conn = dataSource.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(createTableSql)) {
+                stmt.execute();
+            }
+            executeInWriteTransaction(
+                    conn,
+                    () -> {
+                        try (PreparedStatement stmt = conn.prepareStatement(backfillSql)) {
+                            stmt.executeUpdate();
+                        }
+                    });
+            return true;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create session index table: " + tableName, e);
+        }
+    }
+
+    private boolean tableExists(String table) {
+        String checkSql =
+                "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                        + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?";
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(checkSql)) {
+            stmt.setString(1, databaseName);
+            stmt.setString(2, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to check table existence: " + table, e);
+        }
+    }
+
     /**
      * Verify that the database exists.
      *
@@ -290,6 +422,14 @@ public class MysqlAgentStateStore implements AgentStateStore {
         return "`" + databaseName + "`.`" + tableName + "`";
     }
 
+    private String getIndexTableName() {
+        return tableName + INDEX_TABLE_SUFFIX;
+    }
+
+    private String getFullIndexTableName() {
+        return "`" + databaseName + "`.`" + getIndexTableName() + "`";
+    }
+
     /**
      * Execute a write operation in an explicit transaction.
      *
@@ -324,6 +464,24 @@ public class MysqlAgentStateStore implements AgentStateStore {
 
     @Override
     public void save(String userId, String sessionId, String key, State value) {
+        if (journal != null && value instanceof AgentState agentState) {
+            journal.write(this, userId, sessionId, key, agentState);
+            if (sessionIndex) {
+                try (Connection conn = dataSource.getConnection()) {
+                    executeInWriteTransaction(
+                            conn,
+                            () ->
+                                    touchSession(
+                                            conn,
+                                            userId,
+                                            sessionId,
+                                            agentState.getContext().size()));
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to save state: " + key, e);
+                }
+            }
+            return;
+        }
         String slotId = slotId(userId, sessionId);
         validateSessionId(slotId);
         validateStateKey(key);
@@ -349,6 +507,14 @@ public class MysqlAgentStateStore implements AgentStateStore {
 
                             stmt.executeUpdate();
                         }
+                        saveVersion(conn, slotId, key);
+                        touchSession(
+                                conn,
+                                userId,
+                                sessionId,
+                                value instanceof AgentState agentState
+                                        ? agentState.getContext().size()
+                                        : -1);
                     });
         } catch (Exception e) {
             throw new RuntimeException("Failed to save state: " + key, e);
@@ -398,11 +564,15 @@ public class MysqlAgentStateStore implements AgentStateStore {
                             deleteListItems(conn, slotId, key);
                             insertAllItems(conn, slotId, key, values);
                             saveHash(conn, slotId, hashKey, currentHash);
+                            saveVersion(conn, slotId, key);
+                            touchSession(conn, userId, sessionId, -1);
                         } else if (values.size() > existingCount) {
                             List<? extends State> newItems =
                                     values.subList(existingCount, values.size());
                             insertItems(conn, slotId, key, newItems, existingCount);
                             saveHash(conn, slotId, hashKey, currentHash);
+                            saveVersion(conn, slotId, key);
+                            touchSession(conn, userId, sessionId, -1);
                         }
                     });
         } catch (Exception e) {
@@ -410,6 +580,69 @@ public class MysqlAgentStateStore implements AgentStateStore {
         }
     }
 
+    /**
+     * Append items to a list state with a single batched INSERT after the current max index.
+     *
+     * <p>The stored list hash is removed in the same transaction, so the next {@link
+     * #save(String, String, String, List)} of this key performs a full rewrite.
+     */
+    @Override
+    public void append(String userId, String sessionId, String key, List<? extends State> items) {
+        String slotId = slotId(userId, sessionId);
+        validateSessionId(slotId);
+        validateStateKey(key);
+
+        if (items.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
+            executeInWriteTransaction(
+                    conn,
+                    () -> {
+                        int existingCount = getListCount(conn, slotId, key);
+                        insertItems(conn, slotId, key, items, existingCount);
+                        deleteListItems(conn, slotId, key + HASH_KEY_SUFFIX);
+                        saveVersion(conn, slotId, key);
+                        touchSession(conn, userId, sessionId, -1);
+                    });
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to append to list: " + key, e);
+        }
+    }
+
+    /**
+     * Record a write to a session in the summary table.
+     *
+     * @param conn database connection, inside the write's transaction
+     * @param userId the user identifier
+     * @param sessionId the session identifier
+     * @param messageCount the context size of a saved {@link AgentState}, or -1 to keep the
+     *     stored count
+     */
+    private void touchSession(Connection conn, String userId, String sessionId, int messageCount)
+            throws SQLException {
+        if (!sessionIndex) {
+            return;
+        }
+        String upsertSql =
+                "INSERT INTO "
+                        + getFullIndexTableName()
+                        + " (user_id, session_id, updated_at, message_count)"
+                        + " VALUES (?, ?, ?, ?)"
+                        + " ON DUPLICATE KEY UPDATE updated_at = VALUES(updated_at),"
+                        + " message_count = IF(VALUES(message_count) < 0, message_count,"
+                        + " VALUES(message_count))";
+
+        try (PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
+            stmt.setString(1, normalizeUser(userId));
+            stmt.setString(2, sessionId);
+            stmt.setLong(3, System.currentTimeMillis());
+            stmt.setInt(4, messageCount);
+            stmt.executeUpdate();
+        }
+    }
+
     /**
      * Get stored hash value for a list.
      *
@@ -465,6 +698,18 @@ public class MysqlAgentStateStore implements AgentStateStore {
         }
     }
 
+    /**
+     * Replace the version token of a state key with a new random one, so that tokens never repeat,
+     * even after the session is deleted and written again.
+     *
+     * @param conn database connection, inside the write's transaction
+     * @param sessionId session identifier
+     * @param key the state key that was written
+     */
+    private void saveVersion(Connection conn, String sessionId, String key) throws SQLException {
+        saveHash(conn, sessionId, key + VERSION_KEY_SUFFIX, UUID.randomUUID().toString());
+    }
+
     /**
      * Delete all items for a list state.
      *
@@ -564,6 +809,12 @@ public class MysqlAgentStateStore implements AgentStateStore {
     @Override
     public <T extends State> Optional<T> get(
             String userId, String sessionId, String key, Class<T> type) {
+        if (journal != null && type == AgentState.class) {
+            Optional<AgentState> replayed = journal.read(this, userId, sessionId, key);
+            if (replayed.isPresent()) {
+                return Optional.of(type.cast(replayed.get()));
+            }
+        }
         String slotId = slotId(userId, sessionId);
         validateSessionId(slotId);
         validateStateKey(key);
@@ -626,6 +877,54 @@ public class MysqlAgentStateStore implements AgentStateStore {
         }
     }
 
+    /**
+     * Returns the version tokens of {@code key} and, with a journal, of its journal, read with one
+     * primary-key lookup and without transferring the state itself.
+     */
+    @Override
+    public Optional<String> version(String userId, String sessionId, String key) {
+        String slotId = slotId(userId, sessionId);
+        validateSessionId(slotId);
+        validateStateKey(key);
+
+        List<String> versionKeys = new ArrayList<>(2);
+        versionKeys.add(key + VERSION_KEY_SUFFIX);
+        if (journal != null) {
+            versionKeys.add(AgentStateJournal.journalKey(key) + VERSION_KEY_SUFFIX);
+        }
+        String selectSql =
+                "SELECT state_key, state_data FROM "
+                        + getFullTableName()
+                        + " WHERE session_id = ? AND item_index = ? AND state_key IN ("
+                        + String.join(", ", Collections.nCopies(versionKeys.size(), "?"))
+                        + ")";
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+            stmt.setString(1, slotId);
+            stmt.setInt(2, SINGLE_STATE_INDEX);
+            for (int i = 0; i < versionKeys.size(); i++) {
+                stmt.setString(i + 3, versionKeys.get(i));
+            }
+            Map<String, String> tokens = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tokens.put(rs.getString("state_key"), rs.getString("state_data"));
+                }
+            }
+            if (tokens.isEmpty()) {
+                return Optional.empty();
+            }
+            StringBuilder joined = new StringBuilder();
+            for (String versionKey : versionKeys) {
+                joined.append(tokens.getOrDefault(versionKey, "-")).append('/');
+            }
+            return Optional.of(joined.toString());
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read state version: " + key, e);
+        }
+    }
+
     @Override
     public boolean exists(String userId, String sessionId) {
         String slotId = slotId(userId, sessionId);
@@ -652,6 +951,8 @@ public class MysqlAgentStateStore implements AgentStateStore {
         validateSessionId(slotId);
 
         String deleteSql = "DELETE FROM " + getFullTableName() + " WHERE session_id = ?";
+        String deleteIndexSql =
+                "DELETE FROM " + getFullIndexTableName() + " WHERE user_id = ? AND session_id = ?";
 
         try (Connection conn = dataSource.getConnection()) {
             executeInWriteTransaction(
@@ -661,6 +962,13 @@ public class MysqlAgentStateStore implements AgentStateStore {
                             stmt.setString(1, slotId);
                             stmt.executeUpdate();
                         }
+                        if (sessionIndex) {
+                            try (PreparedStatement stmt = conn.prepareStatement(deleteIndexSql)) {
+                                stmt.setString(1, normalizeUser(userId));
+                                stmt.setString(2, sessionId);
+                                stmt.executeUpdate();
+                            }
+                        }
                     });
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete session: " + slotId, e);
@@ -694,6 +1002,141 @@ public class MysqlAgentStateStore implements AgentStateStore {
         }
     }
 
+    /**
+     * Lists a page of sessions from the summary table.
+     *
+     * <p>The page is one keyset query on {@code (user_id, updated_at, session_id)} or the primary
+     * key, reading at most {@code limit + 1} rows; the cursor becomes a {@code WHERE} bound rather
+     * than an {@code OFFSET}, so deep pages cost the same as the first. Size (total length of the
+     * stored JSON) and component count are then aggregated for the page's sessions only.
+     *
+     * <p>Without the summary table this falls back to {@link #listSessionIds(String)}.
+     */
+    @Override
+    public SessionPage listSessions(SessionQuery query) {
+        if (!sessionIndex) {
+            return AgentStateStore.super.listSessions(query);
+        }
+        boolean byTime = query.getSortBy() == SessionQuery.SortBy.LAST_UPDATED;
+        String comparison = query.isDescending() ? "<" : ">";
+        String direction = query.isDescending() ? " DESC" : " ASC";
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql =
+                new StringBuilder("SELECT session_id, updated_at, message_count FROM ")
+                        .append(getFullIndexTableName())
+                        .append(" WHERE user_id = ?");
+        params.add(normalizeUser(query.getUserId()));
+        if (query.getUpdatedAfter() != null) {
+            sql.append(" AND updated_at >= ?");
+            params.add(query.getUpdatedAfter());
+        }
+        if (query.getUpdatedBefore() != null) {
+            sql.append(" AND updated_at < ?");
+            params.add(query.getUpdatedBefore());
+        }
+        if (query.getSessionIdPrefix() != null) {
+            sql.append(" AND session_id LIKE ? ESCAPE '!'");
+            params.add(escapeLike(query.getSessionIdPrefix()) + "%");
+        }
+        SessionCursor cursor = query.getDecodedCursor();
+        if (cursor != null && byTime) {
+            sql.append(" AND (updated_at ")
+                    .append(comparison)
+                    .append(" ? OR (updated_at = ? AND session_id ")
+                    .append(comparison)
+                    .append(" ?))");
+            params.add(cursor.lastUpdated());
+            params.add(cursor.lastUpdated());
+            params.add(cursor.sessionId());
+        } else if (cursor != null) {
+            sql.append(" AND session_id ").append(comparison).append(" ?");
+            params.add(cursor.sessionId());
+        }
+        sql.append(" ORDER BY ");
+        if (byTime) {
+            sql.append("updated_at").append(direction).append(", ");
+        }
+        sql.append("session_id").append(direction).append(" LIMIT ?");
+        params.add(query.getLimit() + 1);
+
+        try (Connection conn = dataSource.getConnection()) {
+            List<SessionInfo> fetched = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    stmt.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        fetched.add(
+                                new SessionInfo(
+                                        query.getUserId(),
+                                        rs.getString("session_id"),
+                                        -1,
+                                        rs.getLong("updated_at"),
+                                        -1,
+                                        rs.getInt("message_count")));
+                    }
+                }
+            }
+            SessionPage page = SessionPage.fromOrdered(fetched, query);
+            return new SessionPage(
+                    describe(conn, query.getUserId(), page.sessions()), page.nextCursor());
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list sessions", e);
+        }
+    }
+
+    /** Fills in size and component count for one page of sessions. */
+    private List<SessionInfo> describe(Connection conn, String userId, List<SessionInfo> sessions)
+            throws SQLException {
+        if (sessions.isEmpty()) {
+            return sessions;
+        }
+        StringBuilder sql =
+                new StringBuilder(
+                                "SELECT session_id, COUNT(DISTINCT state_key) AS components,"
+                                        + " SUM(LENGTH(state_data)) AS size FROM ")
+                        .append(getFullTableName())
+                        .append(" WHERE session_id IN (");
+        for (int i = 0; i < sessions.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(") AND state_key NOT LIKE '%:!_hash' ESCAPE '!'")
+                .append(" AND state_key NOT LIKE '%:!_version' ESCAPE '!' GROUP BY session_id");
+
+        Map<String, long[]> stats = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < sessions.size(); i++) {
+                stmt.setString(i + 1, slotId(userId, sessions.get(i).getSessionId()));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    stats.put(
+                            rs.getString("session_id"),
+                            new long[] {rs.getLong("size"), rs.getLong("components")});
+                }
+            }
+        }
+        List<SessionInfo> described = new ArrayList<>(sessions.size());
+        for (SessionInfo info : sessions) {
+            long[] stat =
+                    stats.getOrDefault(slotId(userId, info.getSessionId()), new long[] {0, 0});
+            described.add(
+                    new SessionInfo(
+                            userId,
+                            info.getSessionId(),
+                            stat[0],
+                            info.getLastModified(),
+                            (int) stat[1],
+                            info.getMessageCount()));
+        }
+        return described;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     private static final String ANON_USER = "__anon__";
 
     private static String normalizeUser(String userId) {
@@ -741,6 +1184,15 @@ public class MysqlAgentStateStore implements AgentStateStore {
         return tableName;
     }
 
+    /**
+     * Get the journal used for {@link AgentState} values.
+     *
+     * @return The journal, or null if journaling is disabled
+     */
+    public AgentStateJournal getJournal() {
+        return journal;
+    }
+
     /**
      * Get the DataSource used for database connections.
      *
@@ -768,6 +1220,13 @@ public class MysqlAgentStateStore implements AgentStateStore {
                         try (PreparedStatement stmt = conn.prepareStatement(clearSql)) {
                             deletedRows[0] = stmt.executeUpdate();
                         }
+                        if (sessionIndex) {
+                            try (PreparedStatement stmt =
+                                    conn.prepareStatement(
+                                            "DELETE FROM " + getFullIndexTableName())) {
+                                stmt.executeUpdate();
+                            }
+                        }
                     });
             return deletedRows[0];
         } catch (Exception e) {
@@ -796,6 +1255,12 @@ public class MysqlAgentStateStore implements AgentStateStore {
 
         try (Connection conn = dataSource.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(clearSql)) {
+            if (sessionIndex) {
+                try (PreparedStatement indexStmt =
+                        conn.prepareStatement("TRUNCATE TABLE " + getFullIndexTableName())) {
+                    indexStmt.executeUpdate();
+                }
+            }
             return stmt.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException("Failed to truncate sessions", e);
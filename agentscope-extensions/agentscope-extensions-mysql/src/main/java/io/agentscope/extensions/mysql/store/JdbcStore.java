@@ -27,6 +27,11 @@ import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -85,6 +90,12 @@ public class JdbcStore implements BaseStore {
     /** Default table name used when the builder is not customised. */
     public static final String DEFAULT_TABLE_NAME = "agentscope_store";
 
+    /**
+     * Maximum keys per multi-key statement; keeps the bind-parameter count well below the
+     * smallest driver limit (SQLite's 999).
+     */
+    private static final int BATCH_SIZE = 500;
+
     private static final Pattern VALID_TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
 
     private final DataSource dataSource;
@@ -157,6 +168,43 @@ public class JdbcStore implements BaseStore {
         }
     }
 
+    /** Fetches the items with one {@code IN} query per {@value #BATCH_SIZE} keys. */
+    @Override
+    public Map<String, StoreItem> batchGet(List<String> namespace, Collection<String> keys) {
+        Map<String, StoreItem> found = new HashMap<>();
+        queryInBatches(
+                dialect.getBatchSelectSql(),
+                namespace,
+                keys,
+                rs ->
+                        found.put(
+                                rs.getString(1),
+                                new StoreItem(
+                                        rs.getString(1),
+                                        deserialize(rs.getString(2)),
+                                        rs.getLong(3))),
+                "batchGet");
+        return inKeyOrder(keys, found);
+    }
+
+    /** Reads only {@code item_key} and {@code version}, leaving the JSON values on the server. */
+    @Override
+    public Map<String, Long> batchGetVersions(List<String> namespace, Collection<String> keys) {
+        Map<String, Long> found = new HashMap<>();
+        queryInBatches(
+                dialect.getBatchVersionSql(),
+                namespace,
+                keys,
+                rs -> found.put(rs.getString(1), rs.getLong(2)),
+                "batchGetVersions");
+        return inKeyOrder(keys, found);
+    }
+
+    @Override
+    public boolean hasVersionLookup() {
+        return true;
+    }
+
     @Override
     public void put(List<String> namespace, String key, Map<String, Object> value) {
         validateKey(key);
@@ -263,6 +311,58 @@ public class JdbcStore implements BaseStore {
     //  Helpers
     // -------------------------------------------------------------------------
 
+    /** Consumes one result row. */
+    @FunctionalInterface
+    private interface RowHandler {
+        void accept(ResultSet rs) throws SQLException;
+    }
+
+    private void queryInBatches(
+            String template,
+            List<String> namespace,
+            Collection<String> keys,
+            RowHandler handler,
+            String operation) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        if (distinct.isEmpty()) {
+            return;
+        }
+        distinct.forEach(JdbcStore::validateKey);
+        String nsPath = namespacePath(namespace);
+        try (Connection c = dataSource.getConnection()) {
+            for (int from = 0; from < distinct.size(); from += BATCH_SIZE) {
+                List<String> chunk =
+                        distinct.subList(from, Math.min(from + BATCH_SIZE, distinct.size()));
+                String markers = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                try (PreparedStatement ps =
+                        c.prepareStatement(String.format(template, tableName, markers))) {
+                    ps.setString(1, nsPath);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setString(i + 2, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            handler.accept(rs);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("JdbcStore " + operation + " failed", e);
+        }
+    }
+
+    private static <V> Map<String, V> inKeyOrder(Collection<String> keys, Map<String, V> found) {
+        Map<String, V> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            V value = found.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
     private String serialize(Map<String, Object> value) {
         try {
             return objectMapper.writeValueAsString(value == null ? Map.of() : value);
@@ -106,6 +106,28 @@ public interface JdbcStoreDialect {
         return "SELECT value_json, version FROM %s WHERE namespace_path = ? AND item_key = ?";
     }
 
+    /**
+     * Returns the SQL to fetch several items of one namespace.
+     *
+     * <p>The template has two placeholders: {@code %1$s} for the table name and {@code %2$s} for
+     * the comma-separated {@code ?} markers of the key list. Bind parameters in order:
+     * {@code (namespace_path, item_key...)}. Projection must be
+     * {@code (item_key, value_json, version)} in that column order.
+     */
+    default String getBatchSelectSql() {
+        return "SELECT item_key, value_json, version FROM %1$s"
+                + " WHERE namespace_path = ? AND item_key IN (%2$s)";
+    }
+
+    /**
+     * Returns the SQL to fetch the versions of several items of one namespace, without their
+     * values. Placeholders and bind parameters as for {@link #getBatchSelectSql}; projection must
+     * be {@code (item_key, version)}.
+     */
+    default String getBatchVersionSql() {
+        return "SELECT item_key, version FROM %1$s WHERE namespace_path = ? AND item_key IN (%2$s)";
+    }
+
     /**
      * Returns the SQL to delete a single item.
      *
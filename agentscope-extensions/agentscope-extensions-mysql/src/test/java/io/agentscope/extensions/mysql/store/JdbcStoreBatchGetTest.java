@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.extensions.mysql.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.harness.agent.filesystem.remote.store.StoreItem;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+class JdbcStoreBatchGetTest {
+
+    private static final List<String> NS = List.of("ws", "files");
+
+    @TempDir Path tempDir;
+    private JdbcStore store;
+
+    @BeforeEach
+    void setUp() {
+        SQLiteDataSource dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + tempDir.resolve("store.db"));
+        store =
+                JdbcStore.builder(dataSource)
+                        .dialect(new SqliteJdbcStoreDialect())
+                        .initializeSchema(true)
+                        .build();
+    }
+
+    @Test
+    void batchGetReturnsFoundItemsInRequestOrder() {
+        store.put(NS, "/a.txt", Map.of("content", "a"));
+        store.put(NS, "/b.txt", Map.of("content", "b"));
+        store.put(NS, "/b.txt", Map.of("content", "b2"));
+        store.put(List.of("ws", "other"), "/c.txt", Map.of("content", "c"));
+
+        Map<String, StoreItem> items = store.batchGet(NS, List.of("/b.txt", "/c.txt", "/a.txt"));
+
+        assertEquals(List.of("/b.txt", "/a.txt"), new ArrayList<>(items.keySet()));
+        assertEquals("b2", items.get("/b.txt").value().get("content"));
+        assertEquals(2, items.get("/b.txt").version());
+        assertEquals(
+                Map.of("/b.txt", 2L, "/a.txt", 1L), store.batchGetVersions(NS, items.keySet()));
+        assertTrue(store.batchGet(NS, List.of()).isEmpty());
+    }
+
+    @Test
+    void batchGetSpansMultipleStatements() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            keys.add("/f" + i);
+            if (i % 2 == 0) {
+                store.put(NS, "/f" + i, Map.of("i", i));
+            }
+        }
+
+        Map<String, StoreItem> items = store.batchGet(NS, keys);
+
+        assertEquals(600, items.size());
+        assertEquals(1_198, items.get("/f1198").value().get("i"));
+        assertEquals(600, store.batchGetVersions(NS, keys).size());
+    }
+}
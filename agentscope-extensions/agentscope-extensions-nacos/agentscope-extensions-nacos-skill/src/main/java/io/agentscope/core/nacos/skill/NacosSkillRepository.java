@@ -21,6 +21,7 @@ import com.alibaba.nacos.common.utils.StringUtils;
 import io.agentscope.core.skill.AgentSkill;
 import io.agentscope.core.skill.repository.AgentSkillRepository;
 import io.agentscope.core.skill.repository.AgentSkillRepositoryInfo;
+import io.agentscope.core.skill.repository.CachingSkillRepository;
 import io.agentscope.core.skill.util.SkillUtil;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -180,6 +181,17 @@ public class NacosSkillRepository implements AgentSkillRepository {
         }
     }
 
+    /**
+     * Returns a constant token when a skill version is pinned, since a published Nacos skill
+     * version never changes; {@code null} otherwise, as labels and the latest version can move
+     * at any time. With a pinned version, a {@link CachingSkillRepository} therefore keeps
+     * downloaded skills until it is invalidated.
+     */
+    @Override
+    public String getCatalogVersion() {
+        return StringUtils.isNotBlank(skillVersion) ? "version:" + skillVersion : null;
+    }
+
     @Override
     public AgentSkillRepositoryInfo getRepositoryInfo() {
         return new AgentSkillRepositoryInfo(REPO_TYPE, location, false);
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.embedding;
+
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.util.JsonUtils;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of embedding vectors keyed by a hash of the embedded content.
+ *
+ * <p>Keys are SHA-256 digests of the model name, the model dimensions and the JSON form of the
+ * content block, so the same content embedded by a different model is never confused. Recently
+ * used vectors are kept in memory up to {@code maxEntries}; when a directory is configured every
+ * vector is also written there, one file per key, and read back on an in-memory miss. This lets
+ * re-ingesting unchanged chunks skip the embedding API, also across restarts.
+ *
+ * <p>The disk tier is best-effort: I/O failures are logged and treated as a miss. Vectors are
+ * copied on the way in and out, so callers may modify the arrays they pass or receive.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * EmbeddingCache cache = EmbeddingCache.builder()
+ *     .maxEntries(50_000)
+ *     .directory(Path.of("/var/cache/agentscope/embeddings"))
+ *     .build();
+ * }</pre>
+ */
+public final class EmbeddingCache {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingCache.class);
+
+    private final int maxEntries;
+    private final Path directory;
+    private final Map<String, double[]> entries;
+
+    private EmbeddingCache(Builder builder) {
+        this.maxEntries = builder.maxEntries;
+        this.directory = builder.directory;
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+                        return size() > EmbeddingCache.this.maxEntries;
+                    }
+                };
+    }
+
+    /**
+     * Creates a new builder for EmbeddingCache.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Computes the cache key for embedding {@code block} with {@code model}.
+     *
+     * @param model the embedding model
+     * @param block the content block
+     * @return the hex-encoded SHA-256 key
+     */
+    public static String key(EmbeddingModel model, ContentBlock block) {
+        String content = JsonUtils.getJsonCodec().toJson(block);
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        digest.update(model.getModelName().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Integer.toString(model.getDimensions()).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(content.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Looks up a cached vector.
+     *
+     * @param key the key from {@link #key(EmbeddingModel, ContentBlock)}
+     * @return a copy of the cached vector, or null if there is none
+     */
+    public double[] get(String key) {
+        double[] embedding;
+        synchronized (entries) {
+            embedding = entries.get(key);
+        }
+        if (embedding == null && directory != null) {
+            embedding = read(key);
+            if (embedding != null) {
+                synchronized (entries) {
+                    entries.put(key, embedding);
+                }
+            }
+        }
+        return embedding != null ? embedding.clone() : null;
+    }
+
+    /**
+     * Stores a vector, writing it to the cache directory if one is configured.
+     *
+     * @param key the key from {@link #key(EmbeddingModel, ContentBlock)}
+     * @param embedding the vector to cache
+     */
+    public void put(String key, double[] embedding) {
+        double[] copy = embedding.clone();
+        synchronized (entries) {
+            entries.put(key, copy);
+        }
+        if (directory != null) {
+            write(key, copy);
+        }
+    }
+
+    /**
+     * Returns whether lookups may read from disk.
+     *
+     * @return true if a cache directory is configured
+     */
+    public boolean isPersistent() {
+        return directory != null;
+    }
+
+    /**
+     * Returns the number of vectors held in memory.
+     *
+     * @return the in-memory entry count
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ".vec");
+    }
+
+    private double[] read(String key) {
+        try (InputStream in = Files.newInputStream(file(key));
+                DataInputStream data = new DataInputStream(in)) {
+            double[] embedding = new double[data.readInt()];
+            for (int i = 0; i < embedding.length; i++) {
+                embedding[i] = data.readDouble();
+            }
+            return embedding;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read cached embedding {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(String key, double[] embedding) {
+        Path target = file(key);
+        Path tmp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            tmp = Files.createTempFile(target.getParent(), key, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp);
+                    DataOutputStream data = new DataOutputStream(out)) {
+                data.writeInt(embedding.length);
+                for (double v : embedding) {
+                    data.writeDouble(v);
+                }
+            }
+            Files.move(
+                    tmp,
+                    target,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write cached embedding {}: {}", key, e.getMessage());
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // best effort
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder for EmbeddingCache.
+     */
+    public static class Builder {
+        private int maxEntries = 10_000;
+        private Path directory;
+
+        private Builder() {}
+
+        /**
+         * Sets how many vectors are kept in memory; least recently used ones are evicted first.
+         *
+         * @param maxEntries the in-memory capacity (default 10,000)
+         * @return this builder instance
+         */
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets a directory in which vectors are also stored on disk.
+         *
+         * @param directory the cache directory (null to keep vectors in memory only)
+         * @return this builder instance
+         */
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Builds the EmbeddingCache instance.
+         *
+         * @return a new EmbeddingCache
+         * @throws IllegalArgumentException if maxEntries is negative
+         */
+        public EmbeddingCache build() {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException(
+                        "maxEntries must not be negative, got: " + maxEntries);
+            }
+            return new EmbeddingCache(this);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package io.agentscope.core.embedding;
 
 import io.agentscope.core.message.ContentBlock;
+import java.util.List;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -48,6 +50,27 @@ public interface EmbeddingModel {
      */
     Mono<double[]> embed(ContentBlock block);
 
+    /**
+     * Generate embedding vectors for several content blocks.
+     *
+     * <p>The returned list has one vector per block, in the same order as {@code blocks}. The
+     * default implementation calls {@link #embed(ContentBlock)} for each block in turn; providers
+     * whose API accepts several inputs per request should override it to send them together,
+     * splitting requests larger than {@link #getMaxBatchSize()}.
+     *
+     * @param blocks the content blocks to embed
+     * @return Mono that emits the embedding vectors in input order
+     * @throws EmbeddingException if embedding generation fails for any block
+     */
+    default Mono<List<double[]>> embedAll(List<ContentBlock> blocks) {
+        if (blocks == null) {
+            return Mono.error(
+                    new EmbeddingException(
+                            "ContentBlock list cannot be null", getModelName(), null));
+        }
+        return Flux.fromIterable(blocks).concatMap(this::embed).collectList();
+    }
+
     /**
      * Get the model name for logging and identification.
      *
@@ -62,4 +85,16 @@ public interface EmbeddingModel {
      * @return the dimension of embedding vectors
      */
     int getDimensions();
+
+    /**
+     * Get the largest number of content blocks this model embeds in a single provider request.
+     *
+     * <p>Callers embedding many blocks use this to size the lists they pass to
+     * {@link #embedAll(List)}. The default of 1 means the model has no native batch API.
+     *
+     * @return the maximum batch size, at least 1
+     */
+    default int getMaxBatchSize() {
+        return 1;
+    }
 }
@@ -17,6 +17,7 @@ package io.agentscope.core.embedding;
 
 import io.agentscope.core.model.ExecutionConfig;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
 import org.slf4j.Logger;
@@ -190,6 +191,28 @@ public final class EmbeddingUtils {
                 batchEmbeddingMono, config, modelName, provider, logger, "Batch embedding");
     }
 
+    /**
+     * Splits a list into consecutive sublists of at most {@code size} elements.
+     *
+     * <p>This is used by embedding models with a batch API to keep each request within the
+     * provider's input limit.
+     *
+     * @param values the list to split
+     * @param size the maximum sublist size, at least 1
+     * @param <T> the element type
+     * @return the sublists, in order; views of {@code values}
+     */
+    public static <T> List<List<T>> partition(List<T> values, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive, got: " + size);
+        }
+        List<List<T>> batches = new ArrayList<>((values.size() + size - 1) / size);
+        for (int from = 0; from < values.size(); from += size) {
+            batches.add(values.subList(from, Math.min(values.size(), from + size)));
+        }
+        return batches;
+    }
+
     /**
      * Ensures ExecutionConfig has MODEL_DEFAULTS applied.
      *
@@ -25,9 +25,11 @@ import io.agentscope.core.embedding.EmbeddingUtils;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.model.ExecutionConfig;
+import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -45,6 +47,9 @@ public class DashScopeTextEmbedding implements EmbeddingModel {
 
     private static final Logger log = LoggerFactory.getLogger(DashScopeTextEmbedding.class);
 
+    /** Texts per request accepted by the text-embedding-v3 and v4 models. */
+    private static final int MAX_BATCH_SIZE = 10;
+
     private final String apiKey;
     private final String modelName;
     private final int dimensions;
@@ -86,119 +91,200 @@ public class DashScopeTextEmbedding implements EmbeddingModel {
 
     @Override
     public Mono<double[]> embed(ContentBlock block) {
-        if (block == null) {
-            return Mono.error(
-                    new EmbeddingException("ContentBlock cannot be null", modelName, "dashscope"));
+        String text;
+        try {
+            text = requireText(block);
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
         }
 
-        if (!(block instanceof TextBlock textBlock)) {
+        Mono<double[]> embeddingMono = request(List.of(text)).map(embeddings -> embeddings.get(0));
+
+        // Apply timeout and retry
+        return EmbeddingUtils.applyTimeoutAndRetry(
+                embeddingMono, defaultExecutionConfig, modelName, "dashscope", log);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Blocks are sent as the texts of one embedding call, at most
+     * {@link #getMaxBatchSize()} per request. Timeout and retry apply to each request.
+     */
+    @Override
+    public Mono<List<double[]>> embedAll(List<ContentBlock> blocks) {
+        if (blocks == null) {
             return Mono.error(
                     new EmbeddingException(
-                            "DashScopeTextEmbedding only supports TextBlock, but got: "
-                                    + block.getClass().getSimpleName(),
-                            modelName,
-                            "dashscope"));
+                            "ContentBlock list cannot be null", modelName, "dashscope"));
+        }
+        List<String> texts = new ArrayList<>(blocks.size());
+        try {
+            for (ContentBlock block : blocks) {
+                texts.add(requireText(block));
+            }
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
+        }
+
+        return Flux.fromIterable(EmbeddingUtils.partition(texts, MAX_BATCH_SIZE))
+                .concatMap(
+                        batch ->
+                                EmbeddingUtils.applyTimeoutAndRetryBatch(
+                                        request(batch),
+                                        defaultExecutionConfig,
+                                        modelName,
+                                        "dashscope",
+                                        log))
+                .collectList()
+                .map(
+                        batches -> {
+                            List<double[]> embeddings = new ArrayList<>(texts.size());
+                            batches.forEach(embeddings::addAll);
+                            return embeddings;
+                        });
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+
+    private String requireText(ContentBlock block) {
+        if (block == null) {
+            throw new EmbeddingException("ContentBlock cannot be null", modelName, "dashscope");
+        }
+
+        if (!(block instanceof TextBlock textBlock)) {
+            throw new EmbeddingException(
+                    "DashScopeTextEmbedding only supports TextBlock, but got: "
+                            + block.getClass().getSimpleName(),
+                    modelName,
+                    "dashscope");
         }
 
         String text = textBlock.getText();
         if (text == null || text.trim().isEmpty()) {
-            return Mono.error(
-                    new EmbeddingException(
-                            "TextBlock text cannot be null or empty", modelName, "dashscope"));
+            throw new EmbeddingException(
+                    "TextBlock text cannot be null or empty", modelName, "dashscope");
         }
+        return text;
+    }
 
-        Mono<double[]> embeddingMono =
-                Mono.fromCallable(
-                                () -> {
-                                    try {
-                                        TextEmbedding embedding =
-                                                baseUrl != null
-                                                        ? new TextEmbedding(baseUrl)
-                                                        : new TextEmbedding();
-                                        TextEmbeddingParam param =
-                                                TextEmbeddingParam.builder()
-                                                        .apiKey(apiKey)
-                                                        .model(modelName)
-                                                        .dimension(dimensions)
-                                                        .texts(List.of(text))
-                                                        .build();
-
-                                        log.debug(
-                                                "DashScope embedding call: model={},"
-                                                        + " text_length={}",
-                                                modelName,
-                                                text.length());
-
-                                        TextEmbeddingResult result = embedding.call(param);
-
-                                        if (result == null || result.getOutput() == null) {
-                                            throw new EmbeddingException(
-                                                    "Empty response from DashScope embedding API",
-                                                    modelName,
-                                                    "dashscope");
-                                        }
-
-                                        List<TextEmbeddingResultItem> embeddings =
-                                                result.getOutput().getEmbeddings();
-                                        if (embeddings == null
-                                                || embeddings.isEmpty()
-                                                || embeddings.get(0) == null) {
-                                            throw new EmbeddingException(
-                                                    "No embedding data in response",
-                                                    modelName,
-                                                    "dashscope");
-                                        }
-
-                                        List<Double> embeddingValues =
-                                                embeddings.get(0).getEmbedding();
-                                        if (embeddingValues == null || embeddingValues.isEmpty()) {
-                                            throw new EmbeddingException(
-                                                    "Empty embedding vector in response",
-                                                    modelName,
-                                                    "dashscope");
-                                        }
-
-                                        // Convert List<Double> to double[]
-                                        double[] embeddingArray =
-                                                EmbeddingUtils.convertDoubleListToArray(
-                                                        embeddingValues);
-
-                                        // Validate dimension
-                                        if (embeddingArray.length != dimensions) {
-                                            log.warn(
-                                                    "Embedding dimension mismatch: expected={},"
-                                                            + " actual={}",
-                                                    dimensions,
-                                                    embeddingArray.length);
-                                        }
-
-                                        return embeddingArray;
-                                    } catch (EmbeddingException e) {
-                                        throw e;
-                                    } catch (Exception e) {
+    /**
+     * Embeds {@code texts} with a single API call, returning the vectors in input order.
+     */
+    private Mono<List<double[]>> request(List<String> texts) {
+        return Mono.fromCallable(
+                        () -> {
+                            try {
+                                TextEmbedding embedding =
+                                        baseUrl != null
+                                                ? new TextEmbedding(baseUrl)
+                                                : new TextEmbedding();
+                                TextEmbeddingParam param =
+                                        TextEmbeddingParam.builder()
+                                                .apiKey(apiKey)
+                                                .model(modelName)
+                                                .dimension(dimensions)
+                                                .texts(texts)
+                                                .build();
+
+                                log.debug(
+                                        "DashScope embedding call: model={}, inputs={},"
+                                                + " text_length={}",
+                                        modelName,
+                                        texts.size(),
+                                        texts.stream().mapToInt(String::length).sum());
+
+                                TextEmbeddingResult result = embedding.call(param);
+
+                                if (result == null || result.getOutput() == null) {
+                                    throw new EmbeddingException(
+                                            "Empty response from DashScope embedding API",
+                                            modelName,
+                                            "dashscope");
+                                }
+
+                                List<TextEmbeddingResultItem> embeddings =
+                                        result.getOutput().getEmbeddings();
+                                if (embeddings == null
+                                        || embeddings.isEmpty()
+                                        || embeddings.get(0) == null) {
+                                    throw new EmbeddingException(
+                                            "No embedding data in response",
+                                            modelName,
+                                            "dashscope");
+                                }
+                                if (embeddings.size() != texts.size()) {
+                                    throw new EmbeddingException(
+                                            "Expected "
+                                                    + texts.size()
+                                                    + " embeddings in response, got "
+                                                    + embeddings.size(),
+                                            modelName,
+                                            "dashscope");
+                                }
+
+                                // Items carry the position of their input; fall back to
+                                // response order when it is missing
+                                double[][] ordered = new double[texts.size()][];
+                                for (int i = 0; i < embeddings.size(); i++) {
+                                    TextEmbeddingResultItem item = embeddings.get(i);
+                                    Integer textIndex = item == null ? null : item.getTextIndex();
+                                    int index = textIndex != null ? textIndex : i;
+                                    if (item == null
+                                            || index < 0
+                                            || index >= ordered.length
+                                            || ordered[index] != null) {
                                         throw new EmbeddingException(
-                                                "Failed to generate embedding: " + e.getMessage(),
-                                                e,
+                                                "Invalid embedding index in response: " + index,
                                                 modelName,
                                                 "dashscope");
                                     }
-                                })
-                        .onErrorMap(
-                                e -> {
-                                    if (e instanceof EmbeddingException) {
-                                        return e;
-                                    }
-                                    return new EmbeddingException(
-                                            "DashScope embedding API call failed: "
-                                                    + e.getMessage(),
-                                            e,
-                                            modelName,
-                                            "dashscope");
-                                });
+                                    ordered[index] = toArray(item.getEmbedding());
+                                }
+                                return List.of(ordered);
+                            } catch (EmbeddingException e) {
+                                throw e;
+                            } catch (Exception e) {
+                                throw new EmbeddingException(
+                                        "Failed to generate embedding: " + e.getMessage(),
+                                        e,
+                                        modelName,
+                                        "dashscope");
+                            }
+                        })
+                .onErrorMap(
+                        e -> {
+                            if (e instanceof EmbeddingException) {
+                                return e;
+                            }
+                            return new EmbeddingException(
+                                    "DashScope embedding API call failed: " + e.getMessage(),
+                                    e,
+                                    modelName,
+                                    "dashscope");
+                        });
+    }
 
-        // Apply timeout and retry
-        return EmbeddingUtils.applyTimeoutAndRetry(
-                embeddingMono, defaultExecutionConfig, modelName, "dashscope", log);
+    private double[] toArray(List<Double> embeddingValues) {
+        if (embeddingValues == null || embeddingValues.isEmpty()) {
+            throw new EmbeddingException(
+                    "Empty embedding vector in response", modelName, "dashscope");
+        }
+
+        // Convert List<Double> to double[]
+        double[] embeddingArray = EmbeddingUtils.convertDoubleListToArray(embeddingValues);
+
+        // Validate dimension
+        if (embeddingArray.length != dimensions) {
+            log.warn(
+                    "Embedding dimension mismatch: expected={}, actual={}",
+                    dimensions,
+                    embeddingArray.length);
+        }
+        return embeddingArray;
     }
 
     @Override
@@ -27,9 +27,11 @@ import io.agentscope.core.embedding.EmbeddingUtils;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.model.ExecutionConfig;
+import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -47,6 +49,9 @@ public class OpenAITextEmbedding implements EmbeddingModel {
 
     private static final Logger log = LoggerFactory.getLogger(OpenAITextEmbedding.class);
 
+    /** Inputs per request; the API accepts up to 2048 but also caps total tokens per request. */
+    private static final int MAX_BATCH_SIZE = 256;
+
     private final String apiKey;
     private final String modelName;
     private final int dimensions;
@@ -88,134 +93,208 @@ public class OpenAITextEmbedding implements EmbeddingModel {
 
     @Override
     public Mono<double[]> embed(ContentBlock block) {
-        if (block == null) {
-            return Mono.error(
-                    new EmbeddingException("ContentBlock cannot be null", modelName, "openai"));
+        String text;
+        try {
+            text = requireText(block);
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
         }
 
-        if (!(block instanceof TextBlock textBlock)) {
+        Mono<double[]> embeddingMono = request(List.of(text)).map(embeddings -> embeddings.get(0));
+
+        // Apply timeout and retry
+        return EmbeddingUtils.applyTimeoutAndRetry(
+                embeddingMono, defaultExecutionConfig, modelName, "openai", log);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Blocks are sent as the array input of the embeddings API, at most
+     * {@link #getMaxBatchSize()} per request. Timeout and retry apply to each request.
+     */
+    @Override
+    public Mono<List<double[]>> embedAll(List<ContentBlock> blocks) {
+        if (blocks == null) {
             return Mono.error(
                     new EmbeddingException(
-                            "OpenAITextEmbedding only supports TextBlock, but got: "
-                                    + block.getClass().getSimpleName(),
-                            modelName,
-                            "openai"));
+                            "ContentBlock list cannot be null", modelName, "openai"));
+        }
+        List<String> texts = new ArrayList<>(blocks.size());
+        try {
+            for (ContentBlock block : blocks) {
+                texts.add(requireText(block));
+            }
+        } catch (EmbeddingException e) {
+            return Mono.error(e);
+        }
+
+        return Flux.fromIterable(EmbeddingUtils.partition(texts, MAX_BATCH_SIZE))
+                .concatMap(
+                        batch ->
+                                EmbeddingUtils.applyTimeoutAndRetryBatch(
+                                        request(batch),
+                                        defaultExecutionConfig,
+                                        modelName,
+                                        "openai",
+                                        log))
+                .collectList()
+                .map(
+                        batches -> {
+                            List<double[]> embeddings = new ArrayList<>(texts.size());
+                            batches.forEach(embeddings::addAll);
+                            return embeddings;
+                        });
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+
+    private String requireText(ContentBlock block) {
+        if (block == null) {
+            throw new EmbeddingException("ContentBlock cannot be null", modelName, "openai");
+        }
+
+        if (!(block instanceof TextBlock textBlock)) {
+            throw new EmbeddingException(
+                    "OpenAITextEmbedding only supports TextBlock, but got: "
+                            + block.getClass().getSimpleName(),
+                    modelName,
+                    "openai");
         }
 
         String text = textBlock.getText();
         if (text == null || text.trim().isEmpty()) {
-            return Mono.error(
-                    new EmbeddingException(
-                            "TextBlock text cannot be null or empty", modelName, "openai"));
+            throw new EmbeddingException(
+                    "TextBlock text cannot be null or empty", modelName, "openai");
         }
+        return text;
+    }
 
-        Mono<double[]> embeddingMono =
-                Mono.fromCallable(
-                                () -> {
-                                    try {
-                                        // Initialize OpenAI client
-                                        OpenAIOkHttpClient.Builder clientBuilder =
-                                                OpenAIOkHttpClient.builder();
-
-                                        if (apiKey != null) {
-                                            clientBuilder.apiKey(apiKey);
-                                        }
-
-                                        if (baseUrl != null) {
-                                            clientBuilder.baseUrl(baseUrl);
-                                        }
-
-                                        // Set unified AgentScope User-Agent (overrides OpenAI SDK
-                                        // default)
-                                        clientBuilder.putHeader(
-                                                "User-Agent", Version.getUserAgent());
-
-                                        OpenAIClient client = clientBuilder.build();
-
-                                        EmbeddingCreateParams createParams =
-                                                EmbeddingCreateParams.builder()
-                                                        .model(modelName)
-                                                        .dimensions(dimensions)
-                                                        .encodingFormat(
-                                                                EmbeddingCreateParams.EncodingFormat
-                                                                        .FLOAT)
-                                                        .inputOfArrayOfStrings(List.of(text))
-                                                        .build();
-
-                                        log.debug(
-                                                "OpenAI embedding call: model={},"
-                                                        + " text_length={}",
-                                                modelName,
-                                                text.length());
-
-                                        CreateEmbeddingResponse result =
-                                                client.embeddings().create(createParams);
-
-                                        if (result == null || result.data() == null) {
-                                            throw new EmbeddingException(
-                                                    "Empty response from OpenAI embedding API",
-                                                    modelName,
-                                                    "openai");
-                                        }
-
-                                        List<Embedding> embeddings = result.data();
-                                        if (embeddings == null
-                                                || embeddings.isEmpty()
-                                                || embeddings.get(0) == null) {
-                                            throw new EmbeddingException(
-                                                    "No embedding data in response",
-                                                    modelName,
-                                                    "openai");
-                                        }
-
-                                        List<Float> embeddingValues = embeddings.get(0).embedding();
-                                        if (embeddingValues == null || embeddingValues.isEmpty()) {
-                                            throw new EmbeddingException(
-                                                    "Empty embedding vector in response",
-                                                    modelName,
-                                                    "openai");
-                                        }
-
-                                        // Convert List<Float> to double[]
-                                        double[] embeddingArray =
-                                                EmbeddingUtils.convertFloatListToDoubleArray(
-                                                        embeddingValues);
-
-                                        // Validate dimension
-                                        if (embeddingArray.length != dimensions) {
-                                            log.warn(
-                                                    "Embedding dimension mismatch: expected={},"
-                                                            + " actual={}",
-                                                    dimensions,
-                                                    embeddingArray.length);
-                                        }
-
-                                        return embeddingArray;
-                                    } catch (EmbeddingException e) {
-                                        throw e;
-                                    } catch (Exception e) {
+    /**
+     * Embeds {@code texts} with a single API call, returning the vectors in input order.
+     */
+    private Mono<List<double[]>> request(List<String> texts) {
+        return Mono.fromCallable(
+                        () -> {
+                            try {
+                                // Initialize OpenAI client
+                                OpenAIOkHttpClient.Builder clientBuilder =
+                                        OpenAIOkHttpClient.builder();
+
+                                if (apiKey != null) {
+                                    clientBuilder.apiKey(apiKey);
+                                }
+
+                                if (baseUrl != null) {
+                                    clientBuilder.baseUrl(baseUrl);
+                                }
+
+                                // Set unified AgentScope User-Agent (overrides OpenAI SDK
+                                // default)
+                                clientBuilder.putHeader("User-Agent", Version.getUserAgent());
+
+                                OpenAIClient client = clientBuilder.build();
+
+                                EmbeddingCreateParams createParams =
+                                        EmbeddingCreateParams.builder()
+                                                .model(modelName)
+                                                .dimensions(dimensions)
+                                                .encodingFormat(
+                                                        EmbeddingCreateParams.EncodingFormat.FLOAT)
+                                                .inputOfArrayOfStrings(texts)
+                                                .build();
+
+                                log.debug(
+                                        "OpenAI embedding call: model={}, inputs={},"
+                                                + " text_length={}",
+                                        modelName,
+                                        texts.size(),
+                                        texts.stream().mapToInt(String::length).sum());
+
+                                CreateEmbeddingResponse result =
+                                        client.embeddings().create(createParams);
+
+                                if (result == null || result.data() == null) {
+                                    throw new EmbeddingException(
+                                            "Empty response from OpenAI embedding API",
+                                            modelName,
+                                            "openai");
+                                }
+
+                                List<Embedding> embeddings = result.data();
+                                if (embeddings == null
+                                        || embeddings.isEmpty()
+                                        || embeddings.get(0) == null) {
+                                    throw new EmbeddingException(
+                                            "No embedding data in response", modelName, "openai");
+                                }
+                                if (embeddings.size() != texts.size()) {
+                                    throw new EmbeddingException(
+                                            "Expected "
+                                                    + texts.size()
+                                                    + " embeddings in response, got "
+                                                    + embeddings.size(),
+                                            modelName,
+                                            "openai");
+                                }
+
+                                // Each item carries the position of its input
+                                double[][] ordered = new double[texts.size()][];
+                                for (Embedding embedding : embeddings) {
+                                    long index = embedding == null ? -1 : embedding.index();
+                                    if (index < 0
+                                            || index >= ordered.length
+                                            || ordered[(int) index] != null) {
                                         throw new EmbeddingException(
-                                                "Failed to generate embedding: " + e.getMessage(),
-                                                e,
+                                                "Invalid embedding index in response: " + index,
                                                 modelName,
                                                 "openai");
                                     }
-                                })
-                        .onErrorMap(
-                                e -> {
-                                    if (e instanceof EmbeddingException) {
-                                        return e;
-                                    }
-                                    return new EmbeddingException(
-                                            "OpenAI embedding API call failed: " + e.getMessage(),
-                                            e,
-                                            modelName,
-                                            "openai");
-                                });
+                                    ordered[(int) index] = toArray(embedding.embedding());
+                                }
+                                return List.of(ordered);
+                            } catch (EmbeddingException e) {
+                                throw e;
+                            } catch (Exception e) {
+                                throw new EmbeddingException(
+                                        "Failed to generate embedding: " + e.getMessage(),
+                                        e,
+                                        modelName,
+                                        "openai");
+                            }
+                        })
+                .onErrorMap(
+                        e -> {
+                            if (e instanceof EmbeddingException) {
+                                return e;
+                            }
+                            return new EmbeddingException(
+                                    "OpenAI embedding API call failed: " + e.getMessage(),
+                                    e,
+                                    modelName,
+                                    "openai");
+                        });
+    }
 
-        // Apply timeout and retry
-        return EmbeddingUtils.applyTimeoutAndRetry(
-                embeddingMono, defaultExecutionConfig, modelName, "openai", log);
+    private double[] toArray(List<Float> embeddingValues) {
+        if (embeddingValues == null || embeddingValues.isEmpty()) {
+            throw new EmbeddingException("Empty embedding vector in response", modelName, "openai");
+        }
+
+        // Convert List<Float> to double[]
+        double[] embeddingArray = EmbeddingUtils.convertFloatListToDoubleArray(embeddingValues);
+
+        // Validate dimension
+        if (embeddingArray.length != dimensions) {
+            log.warn(
+                    "Embedding dimension mismatch: expected={}, actual={}",
+                    dimensions,
+                    embeddingArray.length);
+        }
+        return embeddingArray;
     }
 
     @Override
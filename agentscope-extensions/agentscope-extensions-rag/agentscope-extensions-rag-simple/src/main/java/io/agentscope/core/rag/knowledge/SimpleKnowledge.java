@@ -15,6 +15,8 @@
  */
 package io.agentscope.core.rag.knowledge;
 
+import io.agentscope.core.embedding.EmbeddingCache;
+import io.agentscope.core.embedding.EmbeddingException;
 import io.agentscope.core.embedding.EmbeddingModel;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.TextBlock;
@@ -26,11 +28,14 @@ import io.agentscope.core.rag.store.VDBStoreBase;
 import io.agentscope.core.rag.store.dto.SearchDocumentDto;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Simple implementation of a knowledge base.
@@ -41,7 +46,8 @@ import reactor.core.publisher.Mono;
  *
  * <p>Workflow:
  * <ul>
- *   <li><b>addDocuments:</b> Embed documents → Store documents (with metadata/payload) in vector store
+ *   <li><b>addDocuments:</b> Embed documents in batches (skipping cached content) → Store
+ *       documents (with metadata/payload) in vector store
  *   <li><b>retrieve:</b> Embed query → Search documents → Filter by threshold → Return documents
  * </ul>
  *
@@ -72,17 +78,37 @@ public class SimpleKnowledge implements Knowledge {
 
     private static final Logger log = LoggerFactory.getLogger(SimpleKnowledge.class);
 
+    /** Batches embedded concurrently by {@link #addDocuments(List)} unless configured. */
+    private static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    /** Documents written per {@link VDBStoreBase#add(List)} call unless configured. */
+    private static final int DEFAULT_STORE_BATCH_SIZE = 1000;
+
     private final EmbeddingModel embeddingModel;
     private final VDBStoreBase embeddingStore;
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final int storeBatchSize;
+    private final EmbeddingCache embeddingCache;
 
     /**
      * Creates a new SimpleKnowledge instance.
      *
      * @param embeddingModel the embedding model to use for generating vectors
      * @param embeddingStore the vector store to use for storage and search
-     * @throws IllegalArgumentException if any parameter is null
+     * @param batchSize the number of documents embedded per request
+     * @param maxConcurrency the maximum number of embedding requests in flight
+     * @param storeBatchSize the number of documents written to the store per call
+     * @param embeddingCache the embedding cache, or null to always call the model
+     * @throws IllegalArgumentException if the model or store is null
      */
-    private SimpleKnowledge(EmbeddingModel embeddingModel, VDBStoreBase embeddingStore) {
+    private SimpleKnowledge(
+            EmbeddingModel embeddingModel,
+            VDBStoreBase embeddingStore,
+            int batchSize,
+            int maxConcurrency,
+            int storeBatchSize,
+            EmbeddingCache embeddingCache) {
         if (embeddingModel == null) {
             throw new IllegalArgumentException("Embedding model cannot be null");
         }
@@ -91,8 +117,24 @@ public class SimpleKnowledge implements Knowledge {
         }
         this.embeddingModel = embeddingModel;
         this.embeddingStore = embeddingStore;
+        this.batchSize = batchSize;
+        this.maxConcurrency = maxConcurrency;
+        this.storeBatchSize = storeBatchSize;
+        this.embeddingCache = embeddingCache;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Documents are embedded in batches of {@code batchSize} through
+     * {@link EmbeddingModel#embedAll(List)}, with at most {@code maxConcurrency} batches in flight.
+     * Embedded documents are written to the vector store in input order, {@code storeBatchSize}
+     * at a time, so store writes are not sized by the embedding batch. If a write fails,
+     * documents already written remain in the store.
+     *
+     * <p>When an {@link EmbeddingCache} is configured, content embedded before is taken from the
+     * cache and only the remaining blocks are sent to the model.
+     */
     @Override
     public Mono<Void> addDocuments(List<Document> documents) {
         if (documents == null) {
@@ -103,34 +145,112 @@ public class SimpleKnowledge implements Knowledge {
         }
 
         return Flux.fromIterable(documents)
-                .flatMap(
+                .filter(
                         doc -> {
                             // Extract ContentBlock from document metadata
-                            ContentBlock contentBlock = extractContentBlock(doc.getMetadata());
-                            if (contentBlock == null) {
+                            if (extractContentBlock(doc.getMetadata()) == null) {
                                 log.warn(
                                         "Cannot extract ContentBlock from document: {}",
                                         doc.getId());
-                                return Mono.empty();
+                                return false;
                             }
-                            // Generate embedding for document content
-                            return embeddingModel
-                                    .embed(contentBlock)
-                                    .doOnNext(embedding -> doc.setEmbedding(embedding))
-                                    .thenReturn(doc);
-                        })
-                .collectList()
-                .flatMap(
-                        docsWithEmbeddings -> {
-                            // Batch store documents in vector store (includes metadata/payload)
-                            if (docsWithEmbeddings.isEmpty()) {
-                                return Mono.empty();
-                            }
-                            return embeddingStore.add(docsWithEmbeddings);
+                            return true;
                         })
+                .buffer(batchSize)
+                .flatMapSequential(this::embedBatch, maxConcurrency)
+                .concatMapIterable(batch -> batch)
+                // Batch store documents in vector store (includes metadata/payload)
+                .buffer(storeBatchSize)
+                .concatMap(embeddingStore::add)
+                .then()
                 .doOnError(error -> log.error("Failed to add documents to knowledge base", error));
     }
 
+    /**
+     * Sets the embedding of every document in {@code batch}, using the cache where possible.
+     */
+    private Mono<List<Document>> embedBatch(List<Document> batch) {
+        if (embeddingCache == null) {
+            List<ContentBlock> blocks =
+                    batch.stream().map(doc -> doc.getMetadata().getContent()).toList();
+            return embeddingModel
+                    .embedAll(blocks)
+                    .map(
+                            embeddings -> {
+                                requireCount(blocks.size(), embeddings);
+                                for (int i = 0; i < batch.size(); i++) {
+                                    batch.get(i).setEmbedding(embeddings.get(i));
+                                }
+                                return batch;
+                            });
+        }
+
+        // Documents still to embed, grouped by cache key so duplicate content is embedded once
+        Mono<Map<String, List<Document>>> lookup =
+                Mono.fromCallable(
+                        () -> {
+                            Map<String, List<Document>> misses = new LinkedHashMap<>();
+                            for (Document doc : batch) {
+                                String key =
+                                        EmbeddingCache.key(
+                                                embeddingModel, doc.getMetadata().getContent());
+                                double[] embedding = embeddingCache.get(key);
+                                if (embedding != null) {
+                                    doc.setEmbedding(embedding);
+                                } else {
+                                    misses.computeIfAbsent(key, k -> new ArrayList<>()).add(doc);
+                                }
+                            }
+                            return misses;
+                        });
+        if (embeddingCache.isPersistent()) {
+            lookup = lookup.subscribeOn(Schedulers.boundedElastic());
+        }
+
+        return lookup.flatMap(
+                misses -> {
+                    if (misses.isEmpty()) {
+                        return Mono.just(batch);
+                    }
+                    List<String> keys = new ArrayList<>(misses.keySet());
+                    List<ContentBlock> blocks =
+                            keys.stream()
+                                    .map(key -> misses.get(key).get(0).getMetadata().getContent())
+                                    .toList();
+                    Mono<List<double[]>> embedded = embeddingModel.embedAll(blocks);
+                    if (embeddingCache.isPersistent()) {
+                        // Cache writes hit the disk; keep them off the embedding client's thread
+                        embedded = embedded.publishOn(Schedulers.boundedElastic());
+                    }
+                    return embedded.map(
+                            embeddings -> {
+                                requireCount(blocks.size(), embeddings);
+                                for (int i = 0; i < keys.size(); i++) {
+                                    double[] embedding = embeddings.get(i);
+                                    embeddingCache.put(keys.get(i), embedding);
+                                    List<Document> docs = misses.get(keys.get(i));
+                                    docs.get(0).setEmbedding(embedding);
+                                    for (int j = 1; j < docs.size(); j++) {
+                                        docs.get(j).setEmbedding(embedding.clone());
+                                    }
+                                }
+                                return batch;
+                            });
+                });
+    }
+
+    private void requireCount(int expected, List<double[]> embeddings) {
+        if (embeddings == null || embeddings.size() != expected) {
+            throw new EmbeddingException(
+                    "Expected "
+                            + expected
+                            + " embeddings, got "
+                            + (embeddings == null ? 0 : embeddings.size()),
+                    embeddingModel.getModelName(),
+                    null);
+        }
+    }
+
     @Override
     public Mono<List<Document>> retrieve(String query, RetrieveConfig config) {
         if (query == null) {
@@ -221,6 +341,10 @@ public class SimpleKnowledge implements Knowledge {
     public static class Builder {
         private EmbeddingModel embeddingModel;
         private VDBStoreBase embeddingStore;
+        private int batchSize;
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        private int storeBatchSize = DEFAULT_STORE_BATCH_SIZE;
+        private EmbeddingCache embeddingCache;
 
         private Builder() {}
 
@@ -246,6 +370,50 @@ public class SimpleKnowledge implements Knowledge {
             return this;
         }
 
+        /**
+         * Sets how many documents are embedded per request.
+         *
+         * @param batchSize the batch size (default {@link EmbeddingModel#getMaxBatchSize()})
+         * @return this builder for method chaining
+         */
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets how many embedding requests may be in flight at once.
+         *
+         * @param maxConcurrency the maximum concurrency (default 4)
+         * @return this builder for method chaining
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets how many embedded documents are written to the vector store per call.
+         *
+         * @param storeBatchSize the store batch size (default 1000)
+         * @return this builder for method chaining
+         */
+        public Builder storeBatchSize(int storeBatchSize) {
+            this.storeBatchSize = storeBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets a cache used to skip embedding content that was embedded before.
+         *
+         * @param embeddingCache the embedding cache (null to disable caching)
+         * @return this builder for method chaining
+         */
+        public Builder embeddingCache(EmbeddingCache embeddingCache) {
+            this.embeddingCache = embeddingCache;
+            return this;
+        }
+
         /**
          * Builds a new SimpleKnowledge instance.
          *
@@ -259,7 +427,24 @@ public class SimpleKnowledge implements Knowledge {
             if (embeddingStore == null) {
                 throw new IllegalArgumentException("Embedding store is required");
             }
-            return new SimpleKnowledge(embeddingModel, embeddingStore);
+            if (batchSize < 0) {
+                throw new IllegalArgumentException("Batch size must not be negative");
+            }
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("Max concurrency must be positive");
+            }
+            if (storeBatchSize < 1) {
+                throw new IllegalArgumentException("Store batch size must be positive");
+            }
+            int effectiveBatchSize =
+                    batchSize > 0 ? batchSize : Math.max(1, embeddingModel.getMaxBatchSize());
+            return new SimpleKnowledge(
+                    embeddingModel,
+                    embeddingStore,
+                    effectiveBatchSize,
+                    maxConcurrency,
+                    storeBatchSize,
+                    embeddingCache);
         }
     }
 }
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import io.agentscope.core.rag.model.Document;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Dense storage of unit-length float32 vectors for brute-force cosine search.
+ *
+ * <p>All vectors live in a single contiguous {@code float[]}, one row of {@code dimensions}
+ * values per slot, normalized when they are added so that cosine similarity reduces to a dot
+ * product. Removing a document moves the last row into the freed slot, so rows stay packed.
+ *
+ * <p>Search keeps only the best {@code k} rows in a bounded heap rather than scoring and sorting
+ * every document. Large arenas are scanned in fixed-size chunks on the common fork-join pool and
+ * the per-chunk results merged.
+ *
+ * <p>Not thread-safe: callers must not modify the arena while it is being searched.
+ */
+final class FloatVectorArena {
+
+    /** Rows scanned by one fork-join task. */
+    static final int CHUNK_ROWS = 8192;
+
+    /** Arenas with fewer rows are scanned on the calling thread. */
+    static final int PARALLEL_THRESHOLD = 4 * CHUNK_ROWS;
+
+    private final int dimensions;
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private float[] vectors;
+    private Document[] documents;
+    private int size;
+
+    FloatVectorArena(int dimensions) {
+        this.dimensions = dimensions;
+        this.vectors = new float[16 * dimensions];
+        this.documents = new Document[16];
+    }
+
+    int size() {
+        return size;
+    }
+
+    Document document(int slot) {
+        return documents[slot];
+    }
+
+    /** Adds {@code document}, replacing any document with the same id. */
+    void put(Document document) {
+        Integer existing = slotsById.get(document.getId());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+        } else {
+            ensureCapacity(size + 1);
+            slot = size++;
+            slotsById.put(document.getId(), slot);
+        }
+        documents[slot] = document;
+        normalizeInto(document.getEmbedding(), vectors, slot * dimensions);
+    }
+
+    /** Removes the document with {@code id}, returning whether it was present. */
+    boolean remove(String id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return false;
+        }
+        int last = --size;
+        if (slot != last) {
+            System.arraycopy(vectors, last * dimensions, vectors, slot * dimensions, dimensions);
+            documents[slot] = documents[last];
+            slotsById.put(documents[slot].getId(), slot);
+        }
+        documents[last] = null;
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(documents, 0, size, null);
+        slotsById.clear();
+        size = 0;
+    }
+
+    /**
+     * Finds the {@code k} rows most similar to {@code query}.
+     *
+     * @param query the query, already normalized with {@link #normalize(double[])}
+     * @param vectorName only rows of documents with this vector name are considered; null for all
+     * @param k the maximum number of rows to return
+     * @param minScore rows scoring below this are skipped
+     * @return the best rows, highest score first
+     */
+    int[] search(float[] query, String vectorName, int k, float minScore) {
+        int chunks = (size + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        TopK best;
+        if (size < PARALLEL_THRESHOLD) {
+            best = scan(query, vectorName, k, minScore, 0, size);
+        } else {
+            best =
+                    IntStream.range(0, chunks)
+                            .parallel()
+                            .mapToObj(
+                                    c ->
+                                            scan(
+                                                    query,
+                                                    vectorName,
+                                                    k,
+                                                    minScore,
+                                                    c * CHUNK_ROWS,
+                                                    Math.min(size, (c + 1) * CHUNK_ROWS)))
+                            .reduce(TopK::merge)
+                            .orElseGet(() -> new TopK(k));
+        }
+        return best.sortedSlots();
+    }
+
+    private TopK scan(float[] query, String vectorName, int k, float minScore, int from, int to) {
+        TopK best = new TopK(k);
+        for (int slot = from; slot < to; slot++) {
+            if (vectorName != null && !vectorName.equals(documents[slot].getVectorName())) {
+                continue;
+            }
+            float score = dot(query, vectors, slot * dimensions, dimensions);
+            if (score >= minScore) {
+                best.offer(slot, score);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Dot product of {@code a} with the row of {@code b} starting at {@code offset}. Four
+     * independent accumulators keep the loop free of a serial dependency on a single sum.
+     */
+    static float dot(float[] a, float[] b, int offset, int length) {
+        float s0 = 0f;
+        float s1 = 0f;
+        float s2 = 0f;
+        float s3 = 0f;
+        int i = 0;
+        for (int upper = length & ~3; i < upper; i += 4) {
+            s0 += a[i] * b[offset + i];
+            s1 += a[i + 1] * b[offset + i + 1];
+            s2 += a[i + 2] * b[offset + i + 2];
+            s3 += a[i + 3] * b[offset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[i] * b[offset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /** Returns {@code vector} scaled to unit length as float32; a zero vector stays zero. */
+    static float[] normalize(double[] vector) {
+        float[] out = new float[vector.length];
+        normalizeInto(vector, out, 0);
+        return out;
+    }
+
+    private static void normalizeInto(double[] vector, float[] target, int offset) {
+        double norm = 0.0;
+        for (double v : vector) {
+            norm += v * v;
+        }
+        double scale = norm == 0.0 ? 0.0 : 1.0 / Math.sqrt(norm);
+        for (int i = 0; i < vector.length; i++) {
+            target[offset + i] = (float) (vector[i] * scale);
+        }
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows > documents.length) {
+            int newRows = Math.max(rows, documents.length * 2);
+            vectors = Arrays.copyOf(vectors, Math.multiplyExact(newRows, dimensions));
+            documents = Arrays.copyOf(documents, newRows);
+        }
+    }
+
+    /** Bounded min-heap of the best {@code k} (slot, score) pairs seen so far. */
+    static final class TopK {
+
+        private final int k;
+        private int[] slots;
+        private float[] scores;
+        private int count;
+
+        TopK(int k) {
+            this.k = k;
+            // Grown on demand, so a very large k does not allocate up front.
+            int capacity = Math.min(k, 64);
+            this.slots = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void offer(int slot, float score) {
+            if (count < k) {
+                if (count == slots.length) {
+                    int capacity = (int) Math.min(k, 2L * slots.length);
+                    slots = Arrays.copyOf(slots, capacity);
+                    scores = Arrays.copyOf(scores, capacity);
+                }
+                slots[count] = slot;
+                scores[count] = score;
+                siftUp(count++);
+            } else if (score > scores[0]) {
+                slots[0] = slot;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        TopK merge(TopK other) {
+            for (int i = 0; i < other.count; i++) {
+                offer(other.slots[i], other.scores[i]);
+            }
+            return this;
+        }
+
+        /** Slots ordered by descending score; empties the heap. */
+        int[] sortedSlots() {
+            int[] out = new int[count];
+            while (count > 0) {
+                out[count - 1] = slots[0];
+                int last = --count;
+                slots[0] = slots[last];
+                scores[0] = scores[last];
+                siftDown(0);
+            }
+            return out;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= count) {
+                    return;
+                }
+                int smallest = left;
+                int right = left + 1;
+                if (right < count && scores[right] < scores[left]) {
+                    smallest = right;
+                }
+                if (scores[i] <= scores[smallest]) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int slot = slots[a];
+            slots[a] = slots[b];
+            slots[b] = slot;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,544 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Hierarchical Navigable Small World graph over cosine similarity (Malkov and Yashunin).
+ *
+ * <p>Nodes are numbered densely in insertion order. Their raw vectors are kept as float32 rows
+ * of one contiguous array together with the inverse of each row's norm, so similarity to a
+ * normalized query is a dot product and a multiply. Every node has a random top layer; layer 0
+ * holds up to {@code 2 * m} links per node and higher layers up to {@code m}, chosen with the
+ * neighbour-diversity heuristic.
+ *
+ * <p>Deleted nodes are tombstoned: they stay in the graph so that it remains connected, are still
+ * traversed, and are never returned by {@link #search}. Callers rebuild the graph once
+ * tombstones dominate.
+ *
+ * <p>Not thread-safe for writes. Concurrent {@link #search} calls are safe as long as no node is
+ * inserted or deleted meanwhile.
+ */
+final class HnswGraph {
+
+    private static final int MAGIC = 0x484E5357; // "HNSW"
+    private static final int FORMAT_VERSION = 1;
+    private static final long LEVEL_SEED = 42L;
+
+    private static final ThreadLocal<int[]> VISIT_MARKS = ThreadLocal.withInitial(() -> new int[0]);
+    private static final ThreadLocal<int[]> VISIT_EPOCH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final int dimensions;
+    private final int m;
+    private final int maxLinks0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random = new Random(LEVEL_SEED);
+
+    private float[] vectors;
+    private float[] inverseNorms;
+
+    /** {@code links[node][layer]}: element 0 is the link count, followed by the links. */
+    private int[][][] links;
+
+    private final BitSet deleted = new BitSet();
+    private int count;
+    private int deletedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    HnswGraph(int dimensions, int m, int efConstruction) {
+        this.dimensions = dimensions;
+        this.m = m;
+        this.maxLinks0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(Math.max(m, 2));
+        this.vectors = new float[16 * dimensions];
+        this.inverseNorms = new float[16];
+        this.links = new int[16][][];
+    }
+
+    int size() {
+        return count;
+    }
+
+    int deletedCount() {
+        return deletedCount;
+    }
+
+    boolean isDeleted(int node) {
+        return deleted.get(node);
+    }
+
+    /** Copies the raw vector of {@code node}, widened to double. */
+    double[] vector(int node) {
+        double[] out = new double[dimensions];
+        int offset = node * dimensions;
+        for (int i = 0; i < dimensions; i++) {
+            out[i] = vectors[offset + i];
+        }
+        return out;
+    }
+
+    /** Tombstones {@code node}. */
+    void delete(int node) {
+        if (!deleted.get(node)) {
+            deleted.set(node);
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Inserts a vector as a new node.
+     *
+     * @param vector the raw vector; it is stored as float32 without normalization
+     * @return the new node number
+     */
+    int insert(double[] vector) {
+        int node = count;
+        ensureCapacity(node + 1);
+        int offset = node * dimensions;
+        double norm = 0.0;
+        for (int i = 0; i < dimensions; i++) {
+            vectors[offset + i] = (float) vector[i];
+            norm += vector[i] * vector[i];
+        }
+        inverseNorms[node] = norm == 0.0 ? 0f : (float) (1.0 / Math.sqrt(norm));
+
+        int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+        links[node] = new int[level + 1][];
+        for (int layer = 0; layer <= level; layer++) {
+            links[node][layer] = new int[(layer == 0 ? maxLinks0 : m) + 1];
+        }
+        count++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return node;
+        }
+
+        float[] query = normalizedRow(node);
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        int[] entries = {current};
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            Candidates found = searchLayer(query, entries, efConstruction, layer, false);
+            int[] sorted = found.sortedNodes();
+            int[] neighbours = selectNeighbours(node, sorted, m);
+            for (int neighbour : neighbours) {
+                addLink(node, layer, neighbour);
+                addLink(neighbour, layer, node);
+            }
+            entries = sorted;
+        }
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+        return node;
+    }
+
+    /**
+     * Finds up to {@code k} live nodes most similar to {@code query}.
+     *
+     * @param query the query, normalized to unit length
+     * @param k the maximum number of nodes to return
+     * @param ef the size of the dynamic candidate list; raised to {@code k} if smaller
+     * @return the nodes found, most similar first
+     */
+    int[] search(float[] query, int k, int ef) {
+        if (entryPoint < 0 || deletedCount == count) {
+            return new int[0];
+        }
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > 0; layer--) {
+            current = greedyClosest(query, current, layer);
+        }
+        int[] found =
+                searchLayer(query, new int[] {current}, Math.max(ef, k), 0, true).sortedNodes();
+        return found.length > k ? Arrays.copyOf(found, k) : found;
+    }
+
+    /** Similarity between a normalized query and a node. */
+    float similarity(float[] query, int node) {
+        return FloatVectorArena.dot(query, vectors, node * dimensions, dimensions)
+                * inverseNorms[node];
+    }
+
+    private float similarity(int a, int b) {
+        float dot = 0f;
+        int offsetA = a * dimensions;
+        int offsetB = b * dimensions;
+        for (int i = 0; i < dimensions; i++) {
+            dot += vectors[offsetA + i] * vectors[offsetB + i];
+        }
+        return dot * inverseNorms[a] * inverseNorms[b];
+    }
+
+    private float[] normalizedRow(int node) {
+        float[] out = new float[dimensions];
+        int offset = node * dimensions;
+        float scale = inverseNorms[node];
+        for (int i = 0; i < dimensions; i++) {
+            out[i] = vectors[offset + i] * scale;
+        }
+        return out;
+    }
+
+    private int greedyClosest(float[] query, int start, int layer) {
+        int current = start;
+        float best = similarity(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] list = links[current][layer];
+            for (int i = 1; i <= list[0]; i++) {
+                float score = similarity(query, list[i]);
+                if (score > best) {
+                    best = score;
+                    current = list[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Candidates searchLayer(
+            float[] query, int[] entries, int ef, int layer, boolean liveOnly) {
+        int epoch = nextVisitEpoch();
+        int[] marks = VISIT_MARKS.get();
+        Candidates frontier = new Candidates(false);
+        Candidates results = new Candidates(true);
+        for (int entry : entries) {
+            if (marks[entry] == epoch) {
+                continue;
+            }
+            marks[entry] = epoch;
+            float score = similarity(query, entry);
+            frontier.push(entry, score);
+            if (!liveOnly || !deleted.get(entry)) {
+                results.pushBounded(entry, score, ef);
+            }
+        }
+        while (frontier.size() > 0) {
+            float score = frontier.topScore();
+            if (results.size() >= ef && score < results.topScore()) {
+                break;
+            }
+            int node = frontier.pop();
+            if (layer >= links[node].length) {
+                continue;
+            }
+            int[] list = links[node][layer];
+            for (int i = 1; i <= list[0]; i++) {
+                int neighbour = list[i];
+                if (marks[neighbour] == epoch) {
+                    continue;
+                }
+                marks[neighbour] = epoch;
+                float s = similarity(query, neighbour);
+                if (results.size() < ef || s > results.topScore()) {
+                    frontier.push(neighbour, s);
+                    if (!liveOnly || !deleted.get(neighbour)) {
+                        results.pushBounded(neighbour, s, ef);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Neighbour-diversity heuristic: a candidate is kept only if it is more similar to {@code
+     * base} than to every neighbour kept so far. Remaining slots are filled with the best
+     * pruned candidates.
+     *
+     * @param candidates candidates ordered by descending similarity to {@code base}
+     */
+    private int[] selectNeighbours(int base, int[] candidates, int max) {
+        int[] selected = new int[Math.min(max, candidates.length)];
+        int n = 0;
+        boolean[] pruned = new boolean[candidates.length];
+        for (int c = 0; c < candidates.length && n < selected.length; c++) {
+            int candidate = candidates[c];
+            if (candidate == base) {
+                pruned[c] = true;
+                continue;
+            }
+            float toBase = similarity(base, candidate);
+            boolean diverse = true;
+            for (int s = 0; s < n && diverse; s++) {
+                diverse = similarity(candidate, selected[s]) <= toBase;
+            }
+            if (diverse) {
+                selected[n++] = candidate;
+            } else {
+                pruned[c] = true;
+            }
+        }
+        for (int c = 0; c < candidates.length && n < selected.length; c++) {
+            if (pruned[c] && candidates[c] != base) {
+                selected[n++] = candidates[c];
+            }
+        }
+        return n == selected.length ? selected : Arrays.copyOf(selected, n);
+    }
+
+    private void addLink(int node, int layer, int target) {
+        int[] list = links[node][layer];
+        int size = list[0];
+        for (int i = 1; i <= size; i++) {
+            if (list[i] == target) {
+                return;
+            }
+        }
+        if (size + 1 < list.length) {
+            list[++list[0]] = target;
+            return;
+        }
+        // Full: re-select among the existing links and the new one.
+        Candidates all = new Candidates(false);
+        for (int i = 1; i <= size; i++) {
+            all.push(list[i], similarity(node, list[i]));
+        }
+        all.push(target, similarity(node, target));
+        int[] kept = selectNeighbours(node, all.drain(), list.length - 1);
+        list[0] = kept.length;
+        System.arraycopy(kept, 0, list, 1, kept.length);
+    }
+
+    private int nextVisitEpoch() {
+        int[] marks = VISIT_MARKS.get();
+        if (marks.length < count) {
+            marks = new int[Math.max(count, marks.length * 2)];
+            VISIT_MARKS.set(marks);
+            VISIT_EPOCH.get()[0] = 0;
+        }
+        int[] epoch = VISIT_EPOCH.get();
+        if (++epoch[0] == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            epoch[0] = 1;
+        }
+        return epoch[0];
+    }
+
+    private void ensureCapacity(int nodes) {
+        if (nodes > links.length) {
+            int capacity = Math.max(nodes, links.length * 2);
+            vectors = Arrays.copyOf(vectors, Math.multiplyExact(capacity, dimensions));
+            inverseNorms = Arrays.copyOf(inverseNorms, capacity);
+            links = Arrays.copyOf(links, capacity);
+        }
+    }
+
+    // ==================== Serialization ====================
+
+    /** Number of bytes {@link #writeTo} writes. */
+    long serializedSize() {
+        long size = 8L * Integer.BYTES;
+        size += (long) count * dimensions * Float.BYTES;
+        size += (long) count * (Integer.BYTES + 1);
+        for (int node = 0; node < count; node++) {
+            for (int[] list : links[node]) {
+                size += (long) (list[0] + 1) * Integer.BYTES;
+            }
+        }
+        return size;
+    }
+
+    /** Writes the graph: a header, the raw vectors, then tombstones and links per node. */
+    void writeTo(ByteBuffer out) {
+        out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(dimensions).putInt(m);
+        out.putInt(efConstruction).putInt(count).putInt(entryPoint).putInt(maxLevel);
+        out.asFloatBuffer().put(vectors, 0, count * dimensions);
+        out.position(out.position() + count * dimensions * Float.BYTES);
+        for (int node = 0; node < count; node++) {
+            out.put(deleted.get(node) ? (byte) 1 : (byte) 0);
+            out.putInt(links[node].length);
+            for (int[] list : links[node]) {
+                out.putInt(list[0]);
+                for (int i = 1; i <= list[0]; i++) {
+                    out.putInt(list[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a graph written by {@link #writeTo}.
+     *
+     * @throws IllegalStateException if the data is not a graph of the expected dimensions
+     */
+    static HnswGraph readFrom(ByteBuffer in, int expectedDimensions) {
+        if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+            throw new IllegalStateException("Not an HNSW index file of a supported version");
+        }
+        int dimensions = in.getInt();
+        if (dimensions != expectedDimensions) {
+            throw new IllegalStateException(
+                    String.format(
+                            "Index dimension mismatch: expected %d, got %d",
+                            expectedDimensions, dimensions));
+        }
+        HnswGraph graph = new HnswGraph(dimensions, in.getInt(), in.getInt());
+        int count = in.getInt();
+        graph.entryPoint = in.getInt();
+        graph.maxLevel = in.getInt();
+        graph.ensureCapacity(count);
+        in.asFloatBuffer().get(graph.vectors, 0, count * dimensions);
+        in.position(in.position() + count * dimensions * Float.BYTES);
+        for (int node = 0; node < count; node++) {
+            double norm = 0.0;
+            for (int i = node * dimensions, end = i + dimensions; i < end; i++) {
+                norm += (double) graph.vectors[i] * graph.vectors[i];
+            }
+            graph.inverseNorms[node] = norm == 0.0 ? 0f : (float) (1.0 / Math.sqrt(norm));
+            if (in.get() != 0) {
+                graph.deleted.set(node);
+                graph.deletedCount++;
+            }
+            int layers = in.getInt();
+            graph.links[node] = new int[layers][];
+            for (int layer = 0; layer < layers; layer++) {
+                int[] list = new int[(layer == 0 ? graph.maxLinks0 : graph.m) + 1];
+                list[0] = in.getInt();
+                for (int i = 1; i <= list[0]; i++) {
+                    list[i] = in.getInt();
+                }
+                graph.links[node][layer] = list;
+            }
+        }
+        graph.count = count;
+        return graph;
+    }
+
+    /**
+     * Binary heap of (node, similarity) pairs: a max-heap for the search frontier, or a min-heap
+     * holding the best results found so far.
+     */
+    private static final class Candidates {
+
+        private final boolean minHeap;
+        private int[] nodes = new int[16];
+        private float[] scores = new float[16];
+        private int size;
+
+        Candidates(boolean minHeap) {
+            this.minHeap = minHeap;
+        }
+
+        int size() {
+            return size;
+        }
+
+        float topScore() {
+            return scores[0];
+        }
+
+        void push(int node, float score) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            nodes[size] = node;
+            scores[size] = score;
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(i, parent)) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        /** For a min-heap: pushes and then evicts the worst entry beyond {@code bound}. */
+        void pushBounded(int node, float score, int bound) {
+            push(node, score);
+            if (size > bound) {
+                pop();
+            }
+        }
+
+        int pop() {
+            int top = nodes[0];
+            size--;
+            nodes[0] = nodes[size];
+            scores[0] = scores[size];
+            int i = 0;
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    break;
+                }
+                int child = left;
+                if (left + 1 < size && before(left + 1, left)) {
+                    child = left + 1;
+                }
+                if (!before(child, i)) {
+                    break;
+                }
+                swap(i, child);
+                i = child;
+            }
+            return top;
+        }
+
+        /** Removes every entry, returning them in pop order. */
+        int[] drain() {
+            int[] out = new int[size];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = pop();
+            }
+            return out;
+        }
+
+        /** Removes every entry, returning them by descending similarity. */
+        int[] sortedNodes() {
+            int[] out = drain();
+            if (minHeap) {
+                for (int i = 0, j = out.length - 1; i < j; i++, j--) {
+                    int t = out[i];
+                    out[i] = out[j];
+                    out[j] = t;
+                }
+            }
+            return out;
+        }
+
+        private boolean before(int a, int b) {
+            return minHeap ? scores[a] < scores[b] : scores[a] > scores[b];
+        }
+
+        private void swap(int a, int b) {
+            int node = nodes[a];
+            nodes[a] = nodes[b];
+            nodes[b] = node;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,864 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import io.agentscope.core.message.ContentBlock;
+import io.agentscope.core.rag.exception.VectorStoreException;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import io.agentscope.core.util.JsonCodec;
+import io.agentscope.core.util.JsonUtils;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Embedded approximate nearest-neighbour vector store backed by HNSW graphs.
+ *
+ * <p>Unlike {@link InMemoryStore}, which scores every document, this store navigates a
+ * Hierarchical Navigable Small World graph (see {@link HnswGraph}), so search cost grows roughly
+ * logarithmically with the number of documents. It needs no external service, which makes it
+ * suitable for single-node deployments with more documents than a brute-force scan handles well.
+ *
+ * <p>Documents are partitioned by {@link Document#getVectorName() vector name}, one graph per
+ * name. A search with a vector name only visits that partition; a search without one visits all
+ * partitions and merges the results. The graph holds float32 copies of the vectors for
+ * navigation; each document also keeps its original {@code double[]} embedding, against which
+ * the returned candidates are re-scored, so reported scores are cosine similarities at full
+ * precision and returned embeddings are the ones that were added.
+ *
+ * <p>Deleting or re-adding a document tombstones its graph node. A partition is rebuilt from its
+ * live documents once tombstones make up more than half of it.
+ *
+ * <p><b>Persistence:</b> when a {@link Builder#persistenceDirectory(Path) persistence directory}
+ * is configured, each partition is stored there as a snapshot file ({@code .hnsw}, holding the raw
+ * float32 vectors, the graph links and the documents), and every write goes to one write log
+ * ({@value #WRITE_LOG_FILE}, see {@link HnswWriteLog}). An {@code add} or {@code delete} call only
+ * appends its documents and deletions to the log and forces it to disk, so a write costs in
+ * proportion to its own size; moving a document to another partition is a single record. Once
+ * the log outgrows the snapshots of the partitions it changed (and at least {@value
+ * #SNAPSHOT_MIN_LOG_BYTES} bytes), those partitions are snapshotted again in the background,
+ * each written through a memory mapping and atomically replaced, and the log starts over; {@link
+ * #flush()} and {@link #close()} do the same immediately. When the store is built, snapshots are
+ * memory-mapped and loaded and the log replayed on top. Vectors are persisted as float32 only,
+ * so after a reload both the embeddings and the re-scored similarities carry float precision.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * HnswStore store = HnswStore.builder()
+ *     .dimensions(1024)
+ *     .m(16)
+ *     .efSearch(64)
+ *     .persistenceDirectory(Path.of("data/vectors"))
+ *     .build();
+ *
+ * store.add(documents).block();
+ * List<Document> results = store.search(
+ *     SearchDocumentDto.builder().queryEmbedding(queryEmbedding).limit(5).build()).block();
+ * }</pre>
+ *
+ * <p><b>Exception Handling:</b>
+ * <ul>
+ *   <li>{@link IllegalArgumentException} - for invalid input parameters (null documents, null embeddings, invalid limit)
+ *   <li>{@link VectorStoreException} - for dimension mismatches and persistence failures
+ * </ul>
+ */
+public class HnswStore implements VDBStoreBase, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HnswStore.class);
+
+    private static final String FILE_SUFFIX = ".hnsw";
+
+    /** Name of the write log shared by all partitions. */
+    static final String WRITE_LOG_FILE = "hnsw.log";
+
+    /** Logs smaller than this are never folded into new snapshots in the background. */
+    static final long SNAPSHOT_MIN_LOG_BYTES = 1 << 20;
+
+    private static final String DEFAULT_PARTITION_FILE = "default";
+
+    /** Partitions with fewer nodes are never rebuilt to drop tombstones. */
+    private static final int COMPACTION_MIN_NODES = 64;
+
+    private final int dimensions;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final Path persistenceDirectory;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Partition> partitions = new LinkedHashMap<>();
+    private final Map<String, Partition> partitionsById = new HashMap<>();
+    private volatile boolean closed;
+
+    /** Persistence state; unused without a persistence directory. */
+    private HnswWriteLog writeLog;
+
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+
+    private HnswStore(Builder builder) throws VectorStoreException {
+        if (builder.dimensions <= 0) {
+            throw new IllegalArgumentException("Dimensions must be positive");
+        }
+        if (builder.m < 2) {
+            throw new IllegalArgumentException("M must be at least 2");
+        }
+        if (builder.efConstruction <= 0 || builder.efSearch <= 0) {
+            throw new IllegalArgumentException("efConstruction and efSearch must be positive");
+        }
+        this.dimensions = builder.dimensions;
+        this.m = builder.m;
+        this.efConstruction = builder.efConstruction;
+        this.efSearch = builder.efSearch;
+        this.persistenceDirectory = builder.persistenceDirectory;
+        if (persistenceDirectory != null) {
+            load();
+        }
+    }
+
+    @Override
+    public Mono<Void> add(final List<Document> documentList) {
+        if (documentList == null) {
+            return Mono.error(new IllegalArgumentException("Document list cannot be null"));
+        }
+        if (documentList.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return Mono.fromCallable(
+                        () -> {
+                            for (Document document : documentList) {
+                                if (document == null) {
+                                    throw new IllegalArgumentException("Document cannot be null");
+                                }
+                                if (document.getEmbedding() == null) {
+                                    throw new IllegalArgumentException(
+                                            "Document must have embedding set");
+                                }
+                                validateDimensions(document.getEmbedding(), "Embedding");
+                            }
+
+                            lock.writeLock().lock();
+                            try {
+                                ensureOpen();
+                                Set<Partition> touched = new LinkedHashSet<>();
+                                for (Document document : documentList) {
+                                    Partition previous = partitionsById.remove(document.getId());
+                                    if (previous != null) {
+                                        previous.remove(document.getId());
+                                        touched.add(previous);
+                                    }
+                                    Partition partition = partitionFor(document.getVectorName());
+                                    partition.insert(document);
+                                    logAdd(document);
+                                    partitionsById.put(document.getId(), partition);
+                                    touched.add(partition);
+                                }
+                                afterWrite(touched);
+                            } finally {
+                                lock.writeLock().unlock();
+                            }
+                            return null;
+                        })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    @Override
+    public Mono<List<Document>> search(SearchDocumentDto searchDocumentDto) {
+        String vectorName = searchDocumentDto.getVectorName();
+        double[] queryEmbedding = searchDocumentDto.getQueryEmbedding();
+        int limit = searchDocumentDto.getLimit();
+        Double scoreThreshold = searchDocumentDto.getScoreThreshold();
+
+        try {
+            validateDimensions(queryEmbedding, "Query embedding");
+        } catch (Exception e) {
+            return Mono.error(e);
+        }
+
+        if (limit <= 0) {
+            return Mono.error(new IllegalArgumentException("Limit must be positive"));
+        }
+
+        return Mono.fromCallable(
+                () -> {
+                    float[] query = FloatVectorArena.normalize(queryEmbedding);
+                    List<Document> results = new ArrayList<>();
+                    lock.readLock().lock();
+                    try {
+                        List<Partition> targets;
+                        if (vectorName != null) {
+                            Partition partition = partitions.get(partitionKey(vectorName));
+                            targets = partition != null ? List.of(partition) : List.of();
+                        } else {
+                            targets = List.copyOf(partitions.values());
+                        }
+                        for (Partition partition : targets) {
+                            partition.search(
+                                    query,
+                                    queryEmbedding,
+                                    limit,
+                                    efSearch,
+                                    scoreThreshold,
+                                    results);
+                        }
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+
+                    results.sort(
+                            Comparator.comparing(
+                                    Document::getScore,
+                                    Comparator.nullsLast(Comparator.reverseOrder())));
+                    return results.size() > limit
+                            ? new ArrayList<>(results.subList(0, limit))
+                            : results;
+                });
+    }
+
+    @Override
+    public Mono<Boolean> delete(final String id) {
+        if (id == null) {
+            return Mono.error(new IllegalArgumentException("Document ID cannot be null"));
+        }
+        return Mono.fromCallable(
+                        () -> {
+                            lock.writeLock().lock();
+                            try {
+                                ensureOpen();
+                                Partition partition = partitionsById.remove(id);
+                                if (partition == null) {
+                                    return false;
+                                }
+                                partition.remove(id);
+                                logDelete(id);
+                                afterWrite(Set.of(partition));
+                                return true;
+                            } finally {
+                                lock.writeLock().unlock();
+                            }
+                        })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Folds the write log into new snapshots of the partitions it changed, so the next load does
+     * not have to replay it. No-op without a persistence directory.
+     *
+     * @throws VectorStoreException if a snapshot cannot be written
+     */
+    public void flush() throws VectorStoreException {
+        if (persistenceDirectory == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes pending log records into snapshots and releases the log file. Later writes fail.
+     *
+     * @throws VectorStoreException if a snapshot cannot be written
+     */
+    @Override
+    public void close() throws VectorStoreException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (persistenceDirectory == null) {
+                return;
+            }
+            try {
+                snapshot();
+            } finally {
+                try {
+                    writeLog.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close HNSW write log", e);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of documents currently stored.
+     *
+     * @return the number of live documents across all partitions
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return partitionsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if the store is empty.
+     *
+     * @return true if the store contains no documents, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets the dimension of vectors stored in this store.
+     *
+     * @return the vector dimension
+     */
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    private void validateDimensions(final double[] embedding, final String paramName)
+            throws VectorStoreException {
+        if (embedding == null) {
+            throw new IllegalArgumentException(paramName + " cannot be null");
+        }
+        if (embedding.length != dimensions) {
+            throw new VectorStoreException(
+                    String.format(
+                            "%s dimension mismatch: expected %d, got %d",
+                            paramName, dimensions, embedding.length));
+        }
+    }
+
+    private void ensureOpen() throws VectorStoreException {
+        if (closed) {
+            throw new VectorStoreException("HnswStore has been closed");
+        }
+    }
+
+    /**
+     * Returns the partition of {@code vectorName}, creating it when absent. A new partition gets
+     * its snapshot file with the next snapshot; until then its documents live in the write log.
+     */
+    private Partition partitionFor(String vectorName) {
+        return partitions.computeIfAbsent(
+                partitionKey(vectorName),
+                key -> new Partition(vectorName, new HnswGraph(dimensions, m, efConstruction)));
+    }
+
+    private void logAdd(Document document) throws VectorStoreException {
+        if (writeLog != null) {
+            try {
+                writeLog.appendAdd(
+                        document.getEmbedding(),
+                        JsonUtils.getJsonCodec().toJsonBytes(toStored(document)));
+            } catch (IOException e) {
+                throw new VectorStoreException("Failed to buffer HNSW log record", e);
+            }
+        }
+    }
+
+    private void logDelete(String id) throws VectorStoreException {
+        if (writeLog != null) {
+            try {
+                writeLog.appendDelete(id);
+            } catch (IOException e) {
+                throw new VectorStoreException("Failed to buffer HNSW log record", e);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds tombstone-heavy partitions, marks the changed ones dirty, commits the write log,
+     * and schedules a snapshot once the log outgrew the snapshots of the dirty partitions.
+     */
+    private void afterWrite(Set<Partition> touched) throws VectorStoreException {
+        for (Partition partition : touched) {
+            HnswGraph graph = partition.graph;
+            if (graph.size() >= COMPACTION_MIN_NODES && graph.deletedCount() * 2 > graph.size()) {
+                partition.rebuild(new HnswGraph(dimensions, m, efConstruction));
+            }
+            partition.dirty = true;
+        }
+        if (writeLog == null) {
+            return;
+        }
+        try {
+            writeLog.commit();
+        } catch (IOException e) {
+            throw new VectorStoreException(
+                    "Failed to append to HNSW log " + persistenceDirectory.resolve(WRITE_LOG_FILE),
+                    e);
+        }
+        long logBytes = writeLog.size();
+        if (logBytes >= SNAPSHOT_MIN_LOG_BYTES) {
+            long snapshotBytes = 0;
+            for (Partition partition : partitions.values()) {
+                if (partition.dirty) {
+                    snapshotBytes += partition.snapshotBytes;
+                }
+            }
+            if (logBytes > snapshotBytes && snapshotScheduled.compareAndSet(false, true)) {
+                Schedulers.boundedElastic().schedule(this::snapshotInBackground);
+            }
+        }
+    }
+
+    private void snapshotInBackground() {
+        snapshotScheduled.set(false);
+        lock.readLock().lock();
+        try {
+            if (!closed) {
+                snapshot();
+            }
+        } catch (VectorStoreException e) {
+            log.warn("Background HNSW snapshot failed, keeping the write log: {}", e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a new snapshot of every dirty partition and starts the log over. Callers hold at
+     * least the read lock, so no write can append to the log meanwhile. If a snapshot fails, the
+     * log is kept: replaying it over the snapshots already replaced is harmless.
+     */
+    private void snapshot() throws VectorStoreException {
+        synchronized (writeLog) {
+            boolean wrote = false;
+            for (Partition partition : partitions.values()) {
+                if (partition.dirty) {
+                    writeSnapshot(partition);
+                    partition.dirty = false;
+                    wrote = true;
+                }
+            }
+            if (!wrote) {
+                return;
+            }
+            try {
+                writeLog.reset();
+            } catch (IOException e) {
+                throw new VectorStoreException(
+                        "Failed to reset HNSW log " + persistenceDirectory.resolve(WRITE_LOG_FILE),
+                        e);
+            }
+        }
+    }
+
+    private static String partitionKey(String vectorName) {
+        return vectorName == null ? "" : "v:" + vectorName;
+    }
+
+    // ==================== Persistence ====================
+
+    private Path partitionFile(String vectorName) {
+        String name =
+                vectorName == null
+                        ? DEFAULT_PARTITION_FILE
+                        : "v-"
+                                + Base64.getUrlEncoder()
+                                        .withoutPadding()
+                                        .encodeToString(
+                                                vectorName.getBytes(StandardCharsets.UTF_8));
+        return persistenceDirectory.resolve(name + FILE_SUFFIX);
+    }
+
+    /**
+     * Writes a snapshot file: the graph, the vector name, then one length-prefixed JSON document
+     * per graph node (length -1 for tombstoned nodes).
+     */
+    private void writeSnapshot(Partition partition) throws VectorStoreException {
+        JsonCodec codec = JsonUtils.getJsonCodec();
+        HnswGraph graph = partition.graph;
+        byte[] name =
+                partition.vectorName != null
+                        ? partition.vectorName.getBytes(StandardCharsets.UTF_8)
+                        : null;
+        byte[][] documents = new byte[graph.size()][];
+        long size = graph.serializedSize() + Integer.BYTES + (name != null ? name.length : 0);
+        for (int node = 0; node < documents.length; node++) {
+            Document document = partition.documents.get(node);
+            if (document != null) {
+                documents[node] = codec.toJsonBytes(toStored(document));
+                size += documents[node].length;
+            }
+            size += Integer.BYTES;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new VectorStoreException(
+                    "HNSW partition exceeds the 2 GB file limit: " + partition.vectorName);
+        }
+
+        Path target = partitionFile(partition.vectorName);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(persistenceDirectory);
+            try (FileChannel channel =
+                    FileChannel.open(
+                            tmp,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.READ,
+                            StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                graph.writeTo(out);
+                putBytes(out, name);
+                for (byte[] document : documents) {
+                    putBytes(out, document);
+                }
+                out.force();
+            }
+            Files.move(
+                    tmp,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new VectorStoreException("Failed to persist HNSW index to " + target, e);
+        }
+        partition.snapshotBytes = size;
+    }
+
+    /**
+     * Loads the snapshots in the persistence directory, then replays the write log on top. The
+     * log replay is store-wide: an add record moves its document out of whichever partition holds
+     * it, so a document that a crash left in two snapshots ends up only where it was last added.
+     */
+    private void load() throws VectorStoreException {
+        JsonCodec codec = JsonUtils.getJsonCodec();
+        try {
+            Files.createDirectories(persistenceDirectory);
+            try (DirectoryStream<Path> files =
+                    Files.newDirectoryStream(persistenceDirectory, "*" + FILE_SUFFIX)) {
+                for (Path file : files) {
+                    Partition partition = readSnapshot(file, codec);
+                    partitions.put(partitionKey(partition.vectorName), partition);
+                }
+            }
+            writeLog =
+                    HnswWriteLog.open(
+                            persistenceDirectory.resolve(WRITE_LOG_FILE),
+                            dimensions,
+                            new HnswWriteLog.Replay() {
+                                @Override
+                                public void add(double[] vector, byte[] json) {
+                                    Document document = fromStored(codec.fromJson(json, Map.class));
+                                    document.setEmbedding(vector);
+                                    removeEverywhere(document.getId());
+                                    Partition partition = partitionFor(document.getVectorName());
+                                    partition.insert(document);
+                                    partition.dirty = true;
+                                }
+
+                                @Override
+                                public void delete(String id) {
+                                    removeEverywhere(id);
+                                }
+                            });
+        } catch (IOException | RuntimeException e) {
+            throw new VectorStoreException(
+                    "Failed to load HNSW index from " + persistenceDirectory, e);
+        }
+        for (Partition partition : partitions.values()) {
+            for (String id : partition.nodesById.keySet()) {
+                partitionsById.put(id, partition);
+            }
+        }
+        log.debug(
+                "Loaded {} documents in {} HNSW partitions from {}",
+                partitionsById.size(),
+                partitions.size(),
+                persistenceDirectory);
+    }
+
+    private Partition readSnapshot(Path file, JsonCodec codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            HnswGraph graph = HnswGraph.readFrom(in, dimensions);
+            byte[] name = getBytes(in);
+            Partition partition =
+                    new Partition(
+                            name != null ? new String(name, StandardCharsets.UTF_8) : null, graph);
+            partition.snapshotBytes = channel.size();
+            for (int node = 0; node < graph.size(); node++) {
+                byte[] json = getBytes(in);
+                Document document =
+                        json != null ? fromStored(codec.fromJson(json, Map.class)) : null;
+                partition.documents.add(document);
+                if (document != null) {
+                    document.setEmbedding(graph.vector(node));
+                    partition.nodesById.put(document.getId(), node);
+                }
+            }
+            return partition;
+        }
+    }
+
+    /** Removes {@code id} from every partition, during log replay. */
+    private void removeEverywhere(String id) {
+        for (Partition partition : partitions.values()) {
+            if (partition.nodesById.containsKey(id)) {
+                partition.remove(id);
+                partition.dirty = true;
+            }
+        }
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static byte[] getBytes(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static Map<String, Object> toStored(Document document) {
+        DocumentMetadata metadata = document.getMetadata();
+        Map<String, Object> stored = new LinkedHashMap<>();
+        // Serialized on its own so the polymorphic type id is kept, as in PgVectorStore.
+        stored.put("content", JsonUtils.getJsonCodec().toJson(metadata.getContent()));
+        stored.put("docId", metadata.getDocId());
+        stored.put("chunkId", metadata.getChunkId());
+        stored.put("payload", metadata.getPayload());
+        stored.put("vectorName", document.getVectorName());
+        return stored;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Document fromStored(Map<?, ?> stored) {
+        JsonCodec codec = JsonUtils.getJsonCodec();
+        DocumentMetadata metadata =
+                new DocumentMetadata(
+                        codec.fromJson((String) stored.get("content"), ContentBlock.class),
+                        (String) stored.get("docId"),
+                        (String) stored.get("chunkId"),
+                        (Map<String, Object>) stored.get("payload"));
+        Document document = new Document(metadata);
+        document.setVectorName((String) stored.get("vectorName"));
+        return document;
+    }
+
+    /** One graph and the documents of its nodes, for a single vector name. */
+    private static final class Partition {
+
+        private final String vectorName;
+        private HnswGraph graph;
+
+        /** Document per graph node, with a copy of its embedding; null for tombstoned nodes. */
+        private final List<Document> documents = new ArrayList<>();
+
+        private final Map<String, Integer> nodesById = new HashMap<>();
+
+        /** Persistence state; unused without a persistence directory. */
+        private long snapshotBytes;
+
+        /** Whether the write log holds changes not yet in this partition's snapshot. */
+        private boolean dirty;
+
+        Partition(String vectorName, HnswGraph graph) {
+            this.vectorName = vectorName;
+            this.graph = graph;
+        }
+
+        void insert(Document document) {
+            double[] embedding = document.getEmbedding();
+            int node = graph.insert(embedding);
+            Document stored = new Document(document.getMetadata());
+            stored.setEmbedding(Arrays.copyOf(embedding, embedding.length));
+            stored.setVectorName(document.getVectorName());
+            documents.add(stored);
+            nodesById.put(document.getId(), node);
+        }
+
+        void remove(String id) {
+            Integer node = nodesById.remove(id);
+            if (node != null) {
+                graph.delete(node);
+                documents.set(node, null);
+            }
+        }
+
+        void search(
+                float[] query,
+                double[] queryEmbedding,
+                int limit,
+                int ef,
+                Double scoreThreshold,
+                List<Document> results) {
+            for (int node : graph.search(query, limit, ef)) {
+                Document document = documents.get(node);
+                double[] embedding = document.getEmbedding();
+                double similarity = DistanceCalculator.cosineSimilarity(queryEmbedding, embedding);
+                if (scoreThreshold != null && similarity < scoreThreshold) {
+                    continue;
+                }
+                Document result = new Document(document.getMetadata());
+                result.setEmbedding(embedding);
+                result.setScore(similarity);
+                result.setVectorName(document.getVectorName());
+                results.add(result);
+            }
+        }
+
+        /** Re-inserts the live documents into {@code fresh}, dropping every tombstone. */
+        void rebuild(HnswGraph fresh) {
+            List<Document> live = new ArrayList<>(documents);
+            graph = fresh;
+            documents.clear();
+            nodesById.clear();
+            for (int node = 0; node < live.size(); node++) {
+                Document document = live.get(node);
+                if (document != null) {
+                    int freshNode = fresh.insert(document.getEmbedding());
+                    documents.add(document);
+                    nodesById.put(document.getId(), freshNode);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a new builder for HnswStore.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for HnswStore.
+     */
+    public static class Builder {
+        private int dimensions = 1024; // Default dimensions
+        private int m = 16;
+        private int efConstruction = 200;
+        private int efSearch = 64;
+        private Path persistenceDirectory;
+
+        private Builder() {}
+
+        /**
+         * Sets the vector dimensions.
+         *
+         * @param dimensions the dimension of vectors to be stored (must be positive)
+         * @return this builder for method chaining
+         */
+        public Builder dimensions(int dimensions) {
+            this.dimensions = dimensions;
+            return this;
+        }
+
+        /**
+         * Sets the number of links per node on the upper layers; layer 0 keeps twice as many.
+         * Higher values improve recall at the cost of memory and insertion time (default 16).
+         *
+         * @param m the link count (at least 2)
+         * @return this builder for method chaining
+         */
+        public Builder m(int m) {
+            this.m = m;
+            return this;
+        }
+
+        /**
+         * Sets the size of the candidate list used while inserting (default 200).
+         *
+         * @param efConstruction the candidate list size (must be positive)
+         * @return this builder for method chaining
+         */
+        public Builder efConstruction(int efConstruction) {
+            this.efConstruction = efConstruction;
+            return this;
+        }
+
+        /**
+         * Sets the size of the candidate list used while searching; it is raised to the search
+         * limit when smaller. Higher values improve recall at the cost of latency (default 64).
+         *
+         * @param efSearch the candidate list size (must be positive)
+         * @return this builder for method chaining
+         */
+        public Builder efSearch(int efSearch) {
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        /**
+         * Enables persistence to a local directory, which is created if missing. Indexes already
+         * stored there are loaded when the store is built.
+         *
+         * @param persistenceDirectory the directory, or null to keep the index in memory only
+         * @return this builder for method chaining
+         */
+        public Builder persistenceDirectory(Path persistenceDirectory) {
+            this.persistenceDirectory = persistenceDirectory;
+            return this;
+        }
+
+        /**
+         * Builds a new HnswStore instance.
+         *
+         * @return a new HnswStore instance
+         * @throws IllegalArgumentException if a parameter is out of range
+         * @throws VectorStoreException if an existing index cannot be loaded
+         */
+        public HnswStore build() throws VectorStoreException {
+            return new HnswStore(this);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only log of the writes made to an {@link HnswStore} since its partitions were last
+ * snapshotted.
+ *
+ * <p>One log serves every partition, in write order. Records are {@code [int payload
+ * length][byte type][payload]}: an add carries the raw float32 vector and the stored document
+ * JSON, a delete carries the document id. Each record sets the whole state of one document id,
+ * and an add also removes the id from any other partition, so moving a document is a single
+ * record. Records are keyed by document id, not graph node, so they stay valid when a graph is
+ * rebuilt.
+ *
+ * <p>Because records are applied in order and each one overwrites its id, replaying records that
+ * were already folded into some or all snapshots yields the same state. A crash between writing
+ * snapshots and resetting the log therefore only costs a redundant replay. A torn record at the
+ * end, left by a crash mid-append, is truncated away.
+ */
+final class HnswWriteLog implements Closeable {
+
+    static final byte ADD = 1;
+    static final byte DELETE = 2;
+
+    /** Receives the records of a log being replayed. */
+    interface Replay {
+        void add(double[] vector, byte[] document);
+
+        void delete(String id);
+    }
+
+    private final FileChannel channel;
+    private final int dimensions;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+    private long size;
+
+    private HnswWriteLog(FileChannel channel, int dimensions, long size) {
+        this.channel = channel;
+        this.dimensions = dimensions;
+        this.size = size;
+    }
+
+    /** Opens the log at {@code file}, replaying its records into {@code replay}. */
+    static HnswWriteLog open(Path file, int dimensions, Replay replay) throws IOException {
+        FileChannel channel =
+                FileChannel.open(
+                        file,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        try {
+            long valid = replay(channel, dimensions, replay);
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+            }
+            channel.position(valid);
+            return new HnswWriteLog(channel, dimensions, valid);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Returns the length of the valid prefix. */
+    private static long replay(FileChannel channel, int dimensions, Replay replay)
+            throws IOException {
+        channel.position(0);
+        DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        long valid = 0;
+        long remaining = channel.size();
+        int vectorBytes = dimensions * Float.BYTES;
+        while (remaining >= Integer.BYTES + 1) {
+            int length = in.readInt();
+            byte type = in.readByte();
+            if (length < 0 || length > remaining - Integer.BYTES - 1) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            try {
+                in.readFully(payload);
+            } catch (EOFException e) {
+                break;
+            }
+            if (type == ADD) {
+                if (length < vectorBytes) {
+                    throw new IllegalStateException(
+                            "HNSW log record does not match " + dimensions + " dimensions");
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(payload);
+                double[] vector = new double[dimensions];
+                for (int i = 0; i < dimensions; i++) {
+                    vector[i] = buffer.getFloat();
+                }
+                byte[] document = new byte[length - vectorBytes];
+                buffer.get(document);
+                replay.add(vector, document);
+            } else if (type == DELETE) {
+                replay.delete(new String(payload, StandardCharsets.UTF_8));
+            } else {
+                break;
+            }
+            valid += Integer.BYTES + 1 + length;
+            remaining -= Integer.BYTES + 1 + length;
+        }
+        return valid;
+    }
+
+    /** Buffers an add record until the next {@link #commit()}. */
+    void appendAdd(double[] vector, byte[] document) throws IOException {
+        pendingOut.writeInt(dimensions * Float.BYTES + document.length);
+        pendingOut.writeByte(ADD);
+        for (double value : vector) {
+            pendingOut.writeFloat((float) value);
+        }
+        pendingOut.write(document);
+    }
+
+    /** Buffers a delete record until the next {@link #commit()}. */
+    void appendDelete(String id) throws IOException {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        pendingOut.writeInt(bytes.length);
+        pendingOut.writeByte(DELETE);
+        pendingOut.write(bytes);
+    }
+
+    /**
+     * Appends the buffered records and forces them to disk. If that fails, the log is truncated
+     * back to its last committed size and the records stay buffered for the next commit, so a
+     * partial write never leaves a torn record ahead of later ones.
+     */
+    void commit() throws IOException {
+        if (pending.size() == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(size);
+                channel.position(size);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        pending.reset();
+        size = channel.position();
+    }
+
+    /** Empties the log after its records, committed or buffered, were folded into snapshots. */
+    void reset() throws IOException {
+        pending.reset();
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(false);
+        size = 0;
+    }
+
+    /** Returns the committed size in bytes. */
+    long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
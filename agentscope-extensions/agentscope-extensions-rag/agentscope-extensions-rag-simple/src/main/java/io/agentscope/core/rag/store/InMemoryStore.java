@@ -22,16 +22,22 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import reactor.core.publisher.Mono;
 
 /**
  * In-memory implementation of vector database storage.
  *
- * <p>This implementation stores vectors in memory using a ConcurrentHashMap for thread safety.
- * It uses cosine similarity for vector search, which is the most common metric for embedding
- * vectors.
+ * <p>This implementation stores vectors in memory, guarded by a read-write lock so that searches
+ * run concurrently. It uses cosine similarity for vector search, which is the most common metric
+ * for embedding vectors.
+ *
+ * <p>Vectors are scanned from a contiguous float32 arena of pre-normalized rows (see {@link
+ * FloatVectorArena}), keeping only the best {@code limit} candidates; large stores are scanned in
+ * parallel. The returned candidates are then re-scored against the stored double-precision
+ * embeddings, so reported scores are exact while candidate selection may differ from an exact
+ * ranking only between near-ties.
  *
  * <p>This implementation is suitable for:
  * <ul>
@@ -64,7 +70,14 @@ import reactor.core.publisher.Mono;
  */
 public class InMemoryStore implements VDBStoreBase {
 
-    private final Map<String, Document> documents;
+    /**
+     * Slack applied to the score threshold during the float32 scan, so that candidates whose
+     * exact score meets the threshold are not lost to rounding.
+     */
+    private static final double SCAN_THRESHOLD_SLACK = 1e-4;
+
+    private final FloatVectorArena arena;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
     private final int dimensions;
 
     /**
@@ -78,7 +91,7 @@ public class InMemoryStore implements VDBStoreBase {
             throw new IllegalArgumentException("Dimensions must be positive");
         }
         this.dimensions = dimensions;
-        this.documents = new ConcurrentHashMap<>();
+        this.arena = new FloatVectorArena(dimensions);
     }
 
     @Override
@@ -92,6 +105,7 @@ public class InMemoryStore implements VDBStoreBase {
 
         return Mono.fromCallable(
                 () -> {
+                    List<Document> copies = new ArrayList<>(documentList.size());
                     for (Document document : documentList) {
                         if (document == null) {
                             throw new IllegalArgumentException("Document cannot be null");
@@ -109,7 +123,13 @@ public class InMemoryStore implements VDBStoreBase {
                         Document docCopy = new Document(document.getMetadata());
                         docCopy.setEmbedding(embeddingCopy);
                         docCopy.setVectorName(document.getVectorName());
-                        documents.put(document.getId(), docCopy);
+                        copies.add(docCopy);
+                    }
+                    lock.writeLock().lock();
+                    try {
+                        copies.forEach(arena::put);
+                    } finally {
+                        lock.writeLock().unlock();
                     }
                     return null;
                 });
@@ -134,41 +154,41 @@ public class InMemoryStore implements VDBStoreBase {
 
         return Mono.fromCallable(
                 () -> {
-                    if (documents.isEmpty()) {
-                        return new ArrayList<>();
-                    }
+                    float[] query = FloatVectorArena.normalize(queryEmbedding);
+                    float minScore =
+                            scoreThreshold != null
+                                    ? (float) (scoreThreshold - SCAN_THRESHOLD_SLACK)
+                                    : Float.NEGATIVE_INFINITY;
 
                     List<Document> results = new ArrayList<>();
+                    lock.readLock().lock();
+                    try {
+                        for (int slot : arena.search(query, vectorName, limit, minScore)) {
+                            Document doc = arena.document(slot);
+                            double similarity =
+                                    DistanceCalculator.cosineSimilarity(
+                                            queryEmbedding, doc.getEmbedding());
 
-                    // Calculate similarity for all documents
-                    for (Document doc : documents.values()) {
-                        if (vectorName != null && !vectorName.equals(doc.getVectorName())) {
-                            continue;
-                        }
-
-                        double similarity =
-                                DistanceCalculator.cosineSimilarity(
-                                        queryEmbedding, doc.getEmbedding());
+                            // Apply score threshold if specified
+                            if (scoreThreshold != null && similarity < scoreThreshold) {
+                                continue;
+                            }
 
-                        // Apply score threshold if specified
-                        if (scoreThreshold != null && similarity < scoreThreshold) {
-                            continue;
+                            Document docWithScore = new Document(doc.getMetadata());
+                            docWithScore.setEmbedding(doc.getEmbedding());
+                            docWithScore.setScore(similarity);
+                            results.add(docWithScore);
                         }
-
-                        Document docWithScore = new Document(doc.getMetadata());
-                        docWithScore.setEmbedding(doc.getEmbedding());
-                        docWithScore.setScore(similarity);
-                        results.add(docWithScore);
+                    } finally {
+                        lock.readLock().unlock();
                     }
 
-                    // Sort by similarity (descending) and take top results
-                    return results.stream()
-                            .sorted(
-                                    Comparator.comparing(
-                                            Document::getScore,
-                                            Comparator.nullsLast(Comparator.reverseOrder())))
-                            .limit(limit)
-                            .toList();
+                    // Order by the exact similarity (descending)
+                    results.sort(
+                            Comparator.comparing(
+                                    Document::getScore,
+                                    Comparator.nullsLast(Comparator.reverseOrder())));
+                    return results;
                 });
     }
 
@@ -179,8 +199,12 @@ public class InMemoryStore implements VDBStoreBase {
         }
         return Mono.fromCallable(
                 () -> {
-                    Document removed = documents.remove(id);
-                    return removed != null;
+                    lock.writeLock().lock();
+                    try {
+                        return arena.remove(id);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
                 });
     }
 
@@ -213,7 +237,12 @@ public class InMemoryStore implements VDBStoreBase {
      * @return the number of stored documents (always non-negative)
      */
     public int size() {
-        return documents.size();
+        lock.readLock().lock();
+        try {
+            return arena.size();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -224,7 +253,7 @@ public class InMemoryStore implements VDBStoreBase {
      * @return true if the store contains no documents, false otherwise
      */
     public boolean isEmpty() {
-        return documents.isEmpty();
+        return size() == 0;
     }
 
     /**
@@ -234,7 +263,12 @@ public class InMemoryStore implements VDBStoreBase {
      * This operation is thread-safe.
      */
     public void clear() {
-        documents.clear();
+        lock.writeLock().lock();
+        try {
+            arena.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
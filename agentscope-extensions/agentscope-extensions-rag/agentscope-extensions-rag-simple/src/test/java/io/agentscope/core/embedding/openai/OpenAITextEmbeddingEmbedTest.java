@@ -314,4 +314,52 @@ class OpenAITextEmbeddingEmbedTest {
                     .verify();
         }
     }
+
+    @Test
+    @DisplayName("Should embed a batch in one request and order vectors by index")
+    void testEmbedAllOrdersByIndex() {
+        // The API may return items out of order; each carries the index of its input
+        Embedding second = mock(Embedding.class);
+        when(second.index()).thenReturn(1L);
+        when(second.embedding()).thenReturn(Arrays.asList(0.2f, 0.2f));
+        Embedding first = mock(Embedding.class);
+        when(first.index()).thenReturn(0L);
+        when(first.embedding()).thenReturn(Arrays.asList(0.1f, 0.1f));
+
+        CreateEmbeddingResponse mockResponse = mock(CreateEmbeddingResponse.class);
+        when(mockResponse.data()).thenReturn(Arrays.asList(second, first));
+
+        try (MockedStatic<OpenAIOkHttpClient> mockedClient =
+                Mockito.mockStatic(OpenAIOkHttpClient.class)) {
+
+            OpenAIOkHttpClient.Builder mockBuilder = mock(OpenAIOkHttpClient.Builder.class);
+            OpenAIClient mockOpenAIClient = mock(OpenAIClient.class);
+            EmbeddingService mockEmbeddings = mock(EmbeddingService.class);
+
+            when(mockBuilder.build()).thenReturn(mockOpenAIClient);
+            when(mockBuilder.apiKey(any())).thenReturn(mockBuilder);
+            when(mockBuilder.baseUrl(any(String.class))).thenReturn(mockBuilder);
+            when(mockBuilder.putHeader(any(), any())).thenReturn(mockBuilder);
+
+            mockedClient.when(OpenAIOkHttpClient::builder).thenReturn(mockBuilder);
+
+            when(mockOpenAIClient.embeddings()).thenReturn(mockEmbeddings);
+            when(mockEmbeddings.create(any(EmbeddingCreateParams.class))).thenReturn(mockResponse);
+
+            StepVerifier.create(
+                            model.embedAll(
+                                    List.of(
+                                            TextBlock.builder().text("first").build(),
+                                            TextBlock.builder().text("second").build())))
+                    .assertNext(
+                            embeddings -> {
+                                assertEquals(2, embeddings.size());
+                                assertEquals(0.1, embeddings.get(0)[0], 0.001);
+                                assertEquals(0.2, embeddings.get(1)[0], 0.001);
+                            })
+                    .verifyComplete();
+            Mockito.verify(mockEmbeddings, Mockito.times(1))
+                    .create(any(EmbeddingCreateParams.class));
+        }
+    }
 }
@@ -19,7 +19,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import io.agentscope.core.embedding.EmbeddingCache;
 import io.agentscope.core.embedding.EmbeddingModel;
 import io.agentscope.core.message.ContentBlock;
 import io.agentscope.core.message.TextBlock;
@@ -27,6 +31,9 @@ import io.agentscope.core.rag.model.Document;
 import io.agentscope.core.rag.model.DocumentMetadata;
 import io.agentscope.core.rag.model.RetrieveConfig;
 import io.agentscope.core.rag.store.InMemoryStore;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +41,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -273,6 +283,76 @@ class SimpleKnowledgeTest {
         assertEquals(0, vectorStore.size());
     }
 
+    @Test
+    @DisplayName("Should embed documents in model-sized batches and store them in larger ones")
+    void testAddDocumentsInBatches() {
+        BatchingEmbeddingModel model = new BatchingEmbeddingModel(DIMENSIONS, 4);
+        InMemoryStore store = spy(vectorStore);
+        SimpleKnowledge kb =
+                SimpleKnowledge.builder()
+                        .embeddingModel(model)
+                        .embeddingStore(store)
+                        .maxConcurrency(2)
+                        .storeBatchSize(6)
+                        .build();
+        List<Document> docs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            docs.add(createDocument("doc" + i, "Content " + i));
+        }
+
+        StepVerifier.create(kb.addDocuments(docs)).verifyComplete();
+
+        assertEquals(List.of(4, 4, 2), model.batchSizes);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Document>> writes = ArgumentCaptor.forClass(List.class);
+        verify(store, times(2)).add(writes.capture());
+        assertEquals(List.of(6, 4), writes.getAllValues().stream().map(List::size).toList());
+        assertEquals(10, vectorStore.size());
+        for (Document doc : docs) {
+            assertEquals(
+                    embeddingModel.embed(doc.getMetadata().getContent()).block()[0],
+                    doc.getEmbedding()[0],
+                    1e-12);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not re-embed cached content")
+    void testAddDocumentsWithCache(@TempDir Path cacheDir) {
+        BatchingEmbeddingModel model = new BatchingEmbeddingModel(DIMENSIONS, 8);
+        SimpleKnowledge kb =
+                SimpleKnowledge.builder()
+                        .embeddingModel(model)
+                        .embeddingStore(vectorStore)
+                        .embeddingCache(EmbeddingCache.builder().directory(cacheDir).build())
+                        .build();
+
+        kb.addDocuments(
+                        List.of(
+                                createDocument("doc1", "Same"),
+                                createDocument("doc2", "Same"),
+                                createDocument("doc3", "Other")))
+                .block();
+        assertEquals(List.of(2), model.batchSizes);
+
+        kb.addDocuments(List.of(createDocument("doc1", "Same"), createDocument("doc4", "New")))
+                .block();
+        assertEquals(List.of(2, 1), model.batchSizes);
+
+        // A fresh cache over the same directory still has the vectors
+        SimpleKnowledge restarted =
+                SimpleKnowledge.builder()
+                        .embeddingModel(model)
+                        .embeddingStore(vectorStore)
+                        .embeddingCache(EmbeddingCache.builder().directory(cacheDir).build())
+                        .build();
+        Document reloaded = createDocument("doc5", "Other");
+        restarted.addDocuments(List.of(reloaded)).block();
+        assertEquals(List.of(2, 1), model.batchSizes);
+        assertNotNull(reloaded.getEmbedding());
+        assertEquals(5, vectorStore.size());
+    }
+
     /**
      * Creates a test document.
      */
@@ -282,6 +362,30 @@ class SimpleKnowledgeTest {
         return new Document(metadata);
     }
 
+    /**
+     * Mock EmbeddingModel with a batch API that records the size of every batch.
+     */
+    private static class BatchingEmbeddingModel extends MockEmbeddingModel {
+        private final int maxBatchSize;
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        BatchingEmbeddingModel(int dimensions, int maxBatchSize) {
+            super(dimensions);
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        @Override
+        public Mono<List<double[]>> embedAll(List<ContentBlock> blocks) {
+            batchSizes.add(blocks.size());
+            return Flux.fromIterable(blocks).concatMap(this::embed).collectList();
+        }
+
+        @Override
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+    }
+
     /**
      * Mock EmbeddingModel for testing.
      */
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.core.rag.store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.rag.exception.VectorStoreException;
+import io.agentscope.core.rag.model.Document;
+import io.agentscope.core.rag.model.DocumentMetadata;
+import io.agentscope.core.rag.store.dto.SearchDocumentDto;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for HnswStore.
+ */
+@Tag("unit")
+@DisplayName("HnswStore Unit Tests")
+class HnswStoreTest {
+
+    private static final int DIMENSIONS = 16;
+
+    @Test
+    @DisplayName("Should find nearly all exact nearest neighbours")
+    void testRecallAgainstExactSearch() throws Exception {
+        HnswStore store = HnswStore.builder().dimensions(DIMENSIONS).build();
+        Random random = new Random(7);
+        List<Document> docs = randomDocuments(random, 2000, null);
+        store.add(docs).block();
+
+        int found = 0;
+        int expected = 0;
+        for (int q = 0; q < 20; q++) {
+            double[] query = randomVector(random);
+            Set<String> exact =
+                    docs.stream()
+                            .sorted(
+                                    Comparator.comparingDouble(
+                                            (Document d) ->
+                                                    -DistanceCalculator.cosineSimilarity(
+                                                            query, d.getEmbedding())))
+                            .limit(10)
+                            .map(Document::getId)
+                            .collect(Collectors.toSet());
+            List<Document> results = search(store, query, 10, null);
+            expected += exact.size();
+            found += (int) results.stream().filter(d -> exact.contains(d.getId())).count();
+        }
+
+        assertTrue(found >= expected * 0.95, "recall@10 was " + found + "/" + expected);
+    }
+
+    @Test
+    @DisplayName("Should report exact scores in descending order")
+    void testExactScores() throws Exception {
+        HnswStore store = HnswStore.builder().dimensions(3).build();
+        Document doc1 = createDocument("doc-1", "one", new double[] {1.0, 2.0, 3.0});
+        Document doc2 = createDocument("doc-2", "two", new double[] {3.0, 2.0, 1.0});
+        store.add(List.of(doc1, doc2)).block();
+
+        List<Document> results = search(store, new double[] {1.0, 2.0, 3.0}, 2, null);
+
+        assertEquals(doc1.getId(), results.get(0).getId());
+        assertEquals(1.0, results.get(0).getScore(), 1e-9);
+        assertTrue(results.get(0).getScore() > results.get(1).getScore());
+        assertEquals(1, search(store, new double[] {1.0, 2.0, 3.0}, 2, 0.99).size());
+    }
+
+    @Test
+    @DisplayName("Should re-score and return embeddings at full precision")
+    void testFullPrecisionEmbeddings() throws Exception {
+        HnswStore store = HnswStore.builder().dimensions(3).build();
+        double[] embedding = {0.1, 0.2, 0.30000000000000004};
+        store.add(List.of(createDocument("doc-1", "one", embedding))).block();
+        double[] query = {0.7, 0.11, 0.123456789};
+
+        Document hit = search(store, query, 1, null).get(0);
+
+        assertArrayEquals(embedding, hit.getEmbedding());
+        assertEquals(DistanceCalculator.cosineSimilarity(query, embedding), hit.getScore());
+    }
+
+    @Test
+    @DisplayName("Should exclude deleted and replaced documents from results")
+    void testDeleteTombstones() throws Exception {
+        HnswStore store = HnswStore.builder().dimensions(DIMENSIONS).build();
+        List<Document> docs = randomDocuments(new Random(3), 300, null);
+        store.add(docs).block();
+
+        Set<String> deleted = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            assertTrue(store.delete(docs.get(i).getId()).block());
+            deleted.add(docs.get(i).getId());
+        }
+        assertFalse(store.delete(docs.get(0).getId()).block());
+        assertEquals(100, store.size());
+
+        for (int i = 0; i < 10; i++) {
+            List<Document> results = search(store, docs.get(i).getEmbedding(), 10, null);
+            assertEquals(10, results.size());
+            assertTrue(results.stream().noneMatch(d -> deleted.contains(d.getId())));
+        }
+        Document live = docs.get(250);
+        assertEquals(live.getId(), search(store, live.getEmbedding(), 1, null).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should search only the requested vector name partition")
+    void testVectorNamePartitions() throws Exception {
+        HnswStore store = HnswStore.builder().dimensions(DIMENSIONS).build();
+        Random random = new Random(11);
+        store.add(randomDocuments(random, 50, "title")).block();
+        store.add(randomDocuments(random, 50, "body")).block();
+
+        List<Document> titles =
+                store.search(
+                                SearchDocumentDto.builder()
+                                        .queryEmbedding(randomVector(random))
+                                        .limit(100)
+                                        .vectorName("title")
+                                        .build())
+                        .block();
+        List<Document> all = search(store, randomVector(random), 100, null);
+
+        assertEquals(50, titles.size());
+        assertTrue(titles.stream().allMatch(d -> "title".equals(d.getVectorName())));
+        assertEquals(100, all.size());
+    }
+
+    @Test
+    @DisplayName("Should reload documents and graph from the persistence directory")
+    void testPersistenceRoundTrip(@TempDir Path dir) throws Exception {
+        HnswStore store =
+                HnswStore.builder().dimensions(DIMENSIONS).persistenceDirectory(dir).build();
+        Random random = new Random(5);
+        List<Document> docs = new ArrayList<>(randomDocuments(random, 200, null));
+        Document named =
+                new Document(
+                        new DocumentMetadata(
+                                TextBlock.builder().text("named").build(),
+                                "named",
+                                "0",
+                                Map.of("author", "alice")));
+        named.setEmbedding(randomVector(random));
+        named.setVectorName("title");
+        docs.add(named);
+        store.add(docs).block();
+        store.delete(docs.get(0).getId()).block();
+
+        HnswStore reloaded =
+                HnswStore.builder().dimensions(DIMENSIONS).persistenceDirectory(dir).build();
+
+        assertEquals(200, reloaded.size());
+        Document probe = docs.get(42);
+        Document hit = search(reloaded, probe.getEmbedding(), 1, null).get(0);
+        assertEquals(probe.getId(), hit.getId());
+        assertEquals(1.0, hit.getScore(), 1e-6);
+        Document namedHit =
+                reloaded.search(
+                                SearchDocumentDto.builder()
+                                        .queryEmbedding(named.getEmbedding())
+                                        .limit(1)
+                                        .vectorName("title")
+                                        .build())
+                        .block()
+                        .get(0);
+        assertEquals(named.getId(), namedHit.getId());
+        assertEquals("alice", namedHit.getPayloadValue("author"));
+        assertEquals("named", ((TextBlock) namedHit.getMetadata().getContent()).getText());
+    }
+
+    @Test
+    @DisplayName("Should append writes to a log and fold it into the snapshots on flush")
+    void testWriteLogAndFlush(@TempDir Path dir) throws Exception {
+        HnswStore store =
+                HnswStore.builder().dimensions(DIMENSIONS).persistenceDirectory(dir).build();
+        List<Document> docs = randomDocuments(new Random(9), 50, null);
+        store.add(docs).block();
+        Path snapshot = dir.resolve("default.hnsw");
+        Path writeLog = dir.resolve(HnswStore.WRITE_LOG_FILE);
+        assertFalse(Files.exists(snapshot));
+        assertTrue(Files.size(writeLog) > 0);
+
+        store.flush();
+        assertEquals(0, Files.size(writeLog));
+        assertTrue(Files.size(snapshot) > 0);
+
+        // Moves a document to another partition after the snapshot: replayed from the log.
+        Document moved = docs.get(7);
+        moved.setVectorName("title");
+        store.add(List.of(moved)).block();
+        store.delete(docs.get(8).getId()).block();
+
+        HnswStore reloaded =
+                HnswStore.builder().dimensions(DIMENSIONS).persistenceDirectory(dir).build();
+        assertEquals(49, reloaded.size());
+        assertTrue(
+                search(reloaded, docs.get(8).getEmbedding(), 49, null).stream()
+                        .noneMatch(doc -> doc.getId().equals(docs.get(8).getId())));
+        Document hit =
+                reloaded.search(
+                                SearchDocumentDto.builder()
+                                        .queryEmbedding(moved.getEmbedding())
+                                        .limit(1)
+                                        .vectorName("title")
+                                        .build())
+                        .block()
+                        .get(0);
+        assertEquals(moved.getId(), hit.getId());
+        reloaded.close();
+
+        store.close();
+        assertEquals(0, Files.size(writeLog));
+        StepVerifier.create(store.add(docs)).expectError(VectorStoreException.class).verify();
+    }
+
+    @Test
+    @DisplayName("Should keep a moved document in one partition after a crash mid-snapshot")
+    void testMoveSurvivesPartialSnapshot(@TempDir Path dir) throws Exception {
+        HnswStore store =
+                HnswStore.builder().dimensions(DIMENSIONS).persistenceDirectory(dir).build();
+        List<Document> docs = randomDocuments(new Random(13), 20, null);
+        store.add(docs).block();
+        store.flush();
+        Path source = dir.resolve("default.hnsw");
+        Path writeLog = dir.resolve(HnswStore.WRITE_LOG_FILE);
+        byte[] staleSource = Files.readAllBytes(source);
+
+        Document moved = docs.get(3);
+        moved.setVectorName("title");
+        store.add(List.of(moved)).block();
+        byte[] pendingLog = Files.readAllBytes(writeLog);
+        store.flush();
+
+        // As if the process died after writing the new partition's snapshot only.
+        Files.write(source, staleSource);
+        Files.write(writeLog, pendingLog);
+
+        HnswStore reloaded =
+                HnswStore.builder().dimensions(DIMENSIONS).persistenceDirectory(dir).build();
+        assertEquals(20, reloaded.size());
+        assertTrue(
+                search(reloaded, moved.getEmbedding(), 20, null).stream()
+                        .filter(doc -> doc.getId().equals(moved.getId()))
+                        .allMatch(doc -> "title".equals(doc.getVectorName())));
+        List<Document> defaults =
+                reloaded.search(
+                                SearchDocumentDto.builder()
+                                        .queryEmbedding(moved.getEmbedding())
+                                        .limit(20)
+                                        .build())
+                        .block();
+        assertEquals(1, defaults.stream().filter(doc -> doc.getId().equals(moved.getId())).count());
+        reloaded.close();
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should reject a persisted index with different dimensions")
+    void testPersistedDimensionMismatch(@TempDir Path dir) throws Exception {
+        HnswStore store =
+                HnswStore.builder().dimensions(DIMENSIONS).persistenceDirectory(dir).build();
+        store.add(randomDocuments(new Random(1), 5, null)).block();
+
+        assertThrows(
+                VectorStoreException.class,
+                () -> HnswStore.builder().dimensions(8).persistenceDirectory(dir).build());
+    }
+
+    @Test
+    @DisplayName("Should validate query dimensions and limit")
+    void testInvalidSearch() throws Exception {
+        HnswStore store = HnswStore.builder().dimensions(3).build();
+        StepVerifier.create(
+                        store.search(
+                                SearchDocumentDto.builder()
+                                        .queryEmbedding(new double[] {1.0})
+                                        .limit(1)
+                                        .build()))
+                .expectError(VectorStoreException.class)
+                .verify();
+        StepVerifier.create(
+                        store.search(
+                                SearchDocumentDto.builder()
+                                        .queryEmbedding(new double[] {1.0, 0.0, 0.0})
+                                        .limit(0)
+                                        .build()))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private static List<Document> search(
+            HnswStore store, double[] query, int limit, Double threshold) {
+        return store.search(
+                        SearchDocumentDto.builder()
+                                .queryEmbedding(query)
+                                .limit(limit)
+                                .scoreThreshold(threshold)
+                                .build())
+                .block();
+    }
+
+    private static List<Document> randomDocuments(Random random, int count, String vectorName) {
+        List<Document> docs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Document doc =
+                    createDocument(
+                            vectorName + "-" + i + "-" + random.nextInt(),
+                            "content " + i,
+                            randomVector(random));
+            doc.setVectorName(vectorName);
+            docs.add(doc);
+        }
+        return docs;
+    }
+
+    private static double[] randomVector(Random random) {
+        double[] vector = new double[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] = random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static Document createDocument(String docId, String content, double[] embedding) {
+        TextBlock textBlock = TextBlock.builder().text(content).build();
+        DocumentMetadata metadata = new DocumentMetadata(textBlock, docId, "0");
+        Document doc = new Document(metadata);
+        doc.setEmbedding(embedding);
+        return doc;
+    }
+}
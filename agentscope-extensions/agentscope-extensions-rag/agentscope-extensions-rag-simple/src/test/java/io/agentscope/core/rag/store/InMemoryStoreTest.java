@@ -27,9 +27,11 @@ import io.agentscope.core.rag.model.Document;
 import io.agentscope.core.rag.model.DocumentMetadata;
 import io.agentscope.core.rag.store.dto.SearchDocumentDto;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -547,6 +549,65 @@ class InMemoryStoreTest {
     /**
      * Helper method to create a test document.
      */
+    @Test
+    @DisplayName("Should match an exact ranking when scanning a large store in parallel")
+    void testParallelSearchMatchesExactRanking() {
+        int dims = 8;
+        InMemoryStore large = InMemoryStore.builder().dimensions(dims).build();
+        Random random = new Random(42);
+        List<Document> docs = new ArrayList<>();
+        for (int i = 0; i < FloatVectorArena.PARALLEL_THRESHOLD + 1000; i++) {
+            double[] embedding = new double[dims];
+            for (int d = 0; d < dims; d++) {
+                embedding[d] = random.nextGaussian();
+            }
+            docs.add(createDocument("doc-" + i, "content " + i, embedding));
+        }
+        large.add(docs).block();
+        double[] query = docs.get(7).getEmbedding();
+
+        List<String> expected =
+                docs.stream()
+                        .sorted(
+                                Comparator.comparingDouble(
+                                        (Document d) ->
+                                                -DistanceCalculator.cosineSimilarity(
+                                                        query, d.getEmbedding())))
+                        .limit(5)
+                        .map(Document::getId)
+                        .toList();
+
+        List<Document> results =
+                large.search(SearchDocumentDto.builder().queryEmbedding(query).limit(5).build())
+                        .block();
+
+        assertEquals(expected, results.stream().map(Document::getId).toList());
+        assertEquals(1.0, results.get(0).getScore(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should keep remaining documents searchable after deleting from the middle")
+    void testSearchAfterDelete() {
+        Document doc1 = createDocument("doc-1", "one", new double[] {1.0, 0.0, 0.0});
+        Document doc2 = createDocument("doc-2", "two", new double[] {0.0, 1.0, 0.0});
+        Document doc3 = createDocument("doc-3", "three", new double[] {0.0, 0.0, 1.0});
+        store.add(List.of(doc1, doc2, doc3)).block();
+
+        assertTrue(store.delete(doc1.getId()).block());
+
+        List<Document> results =
+                store.search(
+                                SearchDocumentDto.builder()
+                                        .queryEmbedding(new double[] {0.0, 0.0, 1.0})
+                                        .limit(3)
+                                        .build())
+                        .block();
+        assertEquals(2, results.size());
+        assertEquals(doc3.getId(), results.get(0).getId());
+        assertEquals(1.0, results.get(0).getScore(), 1e-9);
+        assertEquals(doc2.getId(), results.get(1).getId());
+    }
+
     private Document createDocument(String docId, String content, double[] embedding) {
         TextBlock textBlock = TextBlock.builder().text(content).build();
         DocumentMetadata metadata = new DocumentMetadata(textBlock, docId, "0");
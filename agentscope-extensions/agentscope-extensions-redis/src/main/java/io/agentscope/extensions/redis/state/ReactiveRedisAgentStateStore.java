@@ -0,0 +1,370 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.extensions.redis.state;
+
+import io.agentscope.core.state.AgentState;
+import io.agentscope.core.state.ListHashUtil;
+import io.agentscope.core.state.ReactiveAgentStateStore;
+import io.agentscope.core.state.SessionPage;
+import io.agentscope.core.state.SessionQuery;
+import io.agentscope.core.state.State;
+import io.agentscope.core.util.JsonUtils;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Native non-blocking {@link ReactiveAgentStateStore} for {@link RedisAgentStateStore}, used when
+ * the configured adapter implements {@link ReactiveRedisClientAdapter}.
+ *
+ * <p>Uses the same key layout and list-hash change detection as the blocking store, so both views
+ * can be used interchangeably on the same data. Results are published on
+ * {@code boundedElastic} so downstream agent logic never runs on the Redis client's I/O threads.
+ *
+ * <p>When the owning store journals {@link AgentState} values, those reads and writes are routed
+ * through {@code journalFallback} (an offloading view of the owner), since journal replay keeps
+ * per-state cursors that are maintained by the blocking code path.
+ *
+ * <p>Writes maintain the owner's per-user session index with the same commands as the blocking
+ * store; paginated listing is delegated to the owner.
+ */
+final class ReactiveRedisAgentStateStore implements ReactiveAgentStateStore {
+
+    private final RedisAgentStateStore owner;
+
+    private final ReactiveRedisClientAdapter client;
+
+    private final ReactiveAgentStateStore journalFallback;
+
+    ReactiveRedisAgentStateStore(
+            RedisAgentStateStore owner,
+            ReactiveRedisClientAdapter client,
+            ReactiveAgentStateStore journalFallback) {
+        this.owner = owner;
+        this.client = client;
+        this.journalFallback = journalFallback;
+    }
+
+    @Override
+    public Mono<Void> save(String userId, String sessionId, String key, State value) {
+        if (journalFallback != null && value instanceof AgentState) {
+            return journalFallback.save(userId, sessionId, key, value);
+        }
+        return Mono.defer(
+                        () -> {
+                            String slotId = RedisAgentStateStore.slotId(userId, sessionId);
+                            String json = JsonUtils.getJsonCodec().toJson(value);
+                            String stateKey = owner.getStateKey(slotId, key);
+                            // One MSET, so the version never describes another value
+                            return client.setAllReactive(
+                                            Map.of(
+                                                    stateKey,
+                                                    json,
+                                                    stateKey + RedisAgentStateStore.VERSION_SUFFIX,
+                                                    RedisAgentStateStore.newVersionToken()))
+                                    .then(client.addToSetReactive(owner.getKeysKey(slotId), key))
+                                    .then(
+                                            touchSession(
+                                                    userId,
+                                                    sessionId,
+                                                    value instanceof AgentState agentState
+                                                            ? agentState.getContext().size()
+                                                            : -1));
+                        })
+                .onErrorMap(e -> new RuntimeException("Failed to save state: " + key, e));
+    }
+
+    @Override
+    public Mono<Void> save(
+            String userId, String sessionId, String key, List<? extends State> values) {
+        return Mono.defer(
+                        () -> {
+                            String slotId = RedisAgentStateStore.slotId(userId, sessionId);
+                            String listKey = owner.getListKey(slotId, key);
+                            String hashKey = listKey + RedisAgentStateStore.HASH_SUFFIX;
+                            String currentHash = ListHashUtil.computeHash(values);
+                            return Mono.zip(
+                                            client.getReactive(hashKey).defaultIfEmpty(""),
+                                            client.getListLengthReactive(listKey))
+                                    .flatMap(
+                                            t ->
+                                                    writeList(
+                                                            listKey,
+                                                            values,
+                                                            t.getT1().isEmpty() ? null : t.getT1(),
+                                                            t.getT2().intValue()))
+                                    .then(
+                                            client.setAllReactive(
+                                                    Map.of(
+                                                            hashKey,
+                                                            currentHash,
+                                                            listKey
+                                                                    + RedisAgentStateStore
+                                                                            .VERSION_SUFFIX,
+                                                            RedisAgentStateStore
+                                                                    .newVersionToken())))
+                                    .then(
+                                            client.addToSetReactive(
+                                                    owner.getKeysKey(slotId),
+                                                    key + RedisAgentStateStore.LIST_SUFFIX))
+                                    .then(touchSession(userId, sessionId, -1));
+                        })
+                .onErrorMap(e -> new RuntimeException("Failed to save list: " + key, e));
+    }
+
+    /** Rewrites or extends {@code listKey}, mirroring the blocking store's change detection. */
+    private Mono<Void> writeList(
+            String listKey, List<? extends State> values, String storedHash, int existingCount) {
+        if (ListHashUtil.needsFullRewrite(values, storedHash, existingCount)) {
+            return client.deleteKeysReactive(listKey)
+                    .then(client.rightPushListReactive(listKey, toJson(values)));
+        } else if (values.size() > existingCount) {
+            List<? extends State> newItems = values.subList(existingCount, values.size());
+            return client.rightPushListReactive(listKey, toJson(newItems));
+        }
+        // else: no change, skip
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> append(
+            String userId, String sessionId, String key, List<? extends State> items) {
+        if (items.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.defer(
+                        () -> {
+                            String slotId = RedisAgentStateStore.slotId(userId, sessionId);
+                            String listKey = owner.getListKey(slotId, key);
+                            // The stored hash no longer describes the list; force the next save to
+                            // rewrite it.
+                            return client.rightPushListReactive(listKey, toJson(items))
+                                    .then(
+                                            client.deleteKeysReactive(
+                                                    listKey + RedisAgentStateStore.HASH_SUFFIX))
+                                    .then(
+                                            client.setReactive(
+                                                    listKey + RedisAgentStateStore.VERSION_SUFFIX,
+                                                    RedisAgentStateStore.newVersionToken()))
+                                    .then(
+                                            client.addToSetReactive(
+                                                    owner.getKeysKey(slotId),
+                                                    key + RedisAgentStateStore.LIST_SUFFIX))
+                                    .then(touchSession(userId, sessionId, -1));
+                        })
+                .onErrorMap(e -> new RuntimeException("Failed to append to list: " + key, e));
+    }
+
+    @Override
+    public <T extends State> Mono<T> get(
+            String userId, String sessionId, String key, Class<T> type) {
+        if (journalFallback != null && type == AgentState.class) {
+            return journalFallback.get(userId, sessionId, key, type);
+        }
+        return Mono.defer(
+                        () -> {
+                            String slotId = RedisAgentStateStore.slotId(userId, sessionId);
+                            return client.getReactive(owner.getStateKey(slotId, key));
+                        })
+                .publishOn(Schedulers.boundedElastic())
+                .map(json -> JsonUtils.getJsonCodec().fromJson(json, type))
+                .onErrorMap(e -> new RuntimeException("Failed to get state: " + key, e));
+    }
+
+    @Override
+    public <T extends State> Flux<T> getList(
+            String userId, String sessionId, String key, Class<T> itemType) {
+        return Flux.defer(
+                        () -> {
+                            String slotId = RedisAgentStateStore.slotId(userId, sessionId);
+                            return client.rangeListReactive(owner.getListKey(slotId, key), 0, -1);
+                        })
+                .publishOn(Schedulers.boundedElastic())
+                .map(json -> JsonUtils.getJsonCodec().fromJson(json, itemType))
+                .onErrorMap(e -> new RuntimeException("Failed to get list: " + key, e));
+    }
+
+    @Override
+    public Mono<String> version(String userId, String sessionId, String key) {
+        if (journalFallback != null) {
+            return journalFallback.version(userId, sessionId, key);
+        }
+        return Mono.defer(
+                        () -> {
+                            String slotId = RedisAgentStateStore.slotId(userId, sessionId);
+                            return Flux.fromIterable(owner.getVersionKeys(slotId, key))
+                                    .concatMap(
+                                            versionKey ->
+                                                    client.getReactive(versionKey)
+                                                            .map(Optional::of)
+                                                            .defaultIfEmpty(Optional.empty()))
+                                    .map(token -> token.orElse(null))
+                                    .collectList();
+                        })
+                .flatMap(tokens -> Mono.justOrEmpty(RedisAgentStateStore.joinVersionTokens(tokens)))
+                .onErrorMap(e -> new RuntimeException("Failed to read state version: " + key, e));
+    }
+
+    @Override
+    public Mono<Boolean> exists(String userId, String sessionId) {
+        return Mono.defer(
+                        () -> {
+                            String slotId = RedisAgentStateStore.slotId(userId, sessionId);
+                            return client.getSetSizeReactive(owner.getKeysKey(slotId));
+                        })
+                .map(size -> size > 0)
+                .defaultIfEmpty(false)
+                .publishOn(Schedulers.boundedElastic())
+                .onErrorMap(
+                        e ->
+                                new RuntimeException(
+                                        "Failed to check session existence: " + sessionId, e));
+    }
+
+    @Override
+    public Mono<Void> delete(String userId, String sessionId) {
+        return Mono.defer(
+                        () -> {
+                            String slotId = RedisAgentStateStore.slotId(userId, sessionId);
+                            String keysKey = owner.getKeysKey(slotId);
+                            return client.getSetMembersReactive(keysKey)
+                                    .collectList()
+                                    .flatMap(
+                                            tracked -> {
+                                                if (tracked.isEmpty()) {
+                                                    return Mono.empty();
+                                                }
+                                                return client.deleteKeysReactive(
+                                                        keysToDelete(slotId, keysKey, tracked));
+                                            })
+                                    .then(untrackSession(userId, sessionId));
+                        })
+                .onErrorMap(e -> new RuntimeException("Failed to delete session: " + sessionId, e));
+    }
+
+    @Override
+    public Mono<Void> delete(String userId, String sessionId, String key) {
+        // The blocking store does not support per-key deletion either.
+        return Mono.empty();
+    }
+
+    @Override
+    public Flux<String> listSessionIds(String userId) {
+        String userPrefix = owner.getKeyPrefix() + RedisAgentStateStore.normalizeUser(userId) + "/";
+        int suffixLength = RedisAgentStateStore.KEYS_SUFFIX.length();
+        return client.findKeysByPatternReactive(userPrefix + "*" + RedisAgentStateStore.KEYS_SUFFIX)
+                .map(
+                        keysKey ->
+                                keysKey.substring(
+                                        userPrefix.length(), keysKey.length() - suffixLength))
+                .distinct()
+                .publishOn(Schedulers.boundedElastic())
+                .onErrorMap(e -> new RuntimeException("Failed to list sessions", e));
+    }
+
+    /**
+     * Reads the page through the blocking store's sorted set queries on {@code boundedElastic};
+     * a page is a handful of round trips, not worth a second reactive implementation.
+     */
+    @Override
+    public Mono<SessionPage> listSessions(SessionQuery query) {
+        return Mono.fromCallable(() -> owner.listSessions(query))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** Mirrors the blocking store's session index maintenance after a write. */
+    private Mono<Void> touchSession(String userId, String sessionId, int messageCount) {
+        if (!owner.isSessionIndexEnabled()) {
+            return Mono.empty();
+        }
+        String userSegment = RedisAgentStateStore.normalizeUser(userId);
+        Mono<Void> touch =
+                client.addToSortedSetReactive(
+                                owner.getSessionsByTimeKey(userSegment),
+                                System.currentTimeMillis(),
+                                sessionId)
+                        .then(
+                                client.addToSortedSetReactive(
+                                        owner.getSessionsByIdKey(userSegment), 0, sessionId));
+        if (messageCount >= 0) {
+            touch =
+                    touch.then(
+                            client.setReactive(
+                                    owner.getMessagesKey(
+                                            RedisAgentStateStore.slotId(userId, sessionId)),
+                                    String.valueOf(messageCount)));
+        }
+        return touch.onErrorResume(UnsupportedOperationException.class, this::disableIndex);
+    }
+
+    private Mono<Void> untrackSession(String userId, String sessionId) {
+        if (!owner.isSessionIndexEnabled()) {
+            return Mono.empty();
+        }
+        String userSegment = RedisAgentStateStore.normalizeUser(userId);
+        return client.removeFromSortedSetReactive(
+                        owner.getSessionsByTimeKey(userSegment), sessionId)
+                .then(
+                        client.removeFromSortedSetReactive(
+                                owner.getSessionsByIdKey(userSegment), sessionId))
+                .then(
+                        client.deleteKeysReactive(
+                                owner.getMessagesKey(
+                                        RedisAgentStateStore.slotId(userId, sessionId))))
+                .onErrorResume(UnsupportedOperationException.class, this::disableIndex);
+    }
+
+    private Mono<Void> disableIndex(UnsupportedOperationException e) {
+        owner.disableSessionIndex(e);
+        return Mono.empty();
+    }
+
+    private String[] keysToDelete(String slotId, String keysKey, List<String> trackedKeys) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(keysKey);
+        for (String trackedKey : trackedKeys) {
+            if (trackedKey.endsWith(RedisAgentStateStore.LIST_SUFFIX)) {
+                String baseKey =
+                        trackedKey.substring(
+                                0, trackedKey.length() - RedisAgentStateStore.LIST_SUFFIX.length());
+                String listKey = owner.getListKey(slotId, baseKey);
+                keys.add(listKey);
+                keys.add(listKey + RedisAgentStateStore.HASH_SUFFIX);
+                keys.add(listKey + RedisAgentStateStore.VERSION_SUFFIX);
+            } else {
+                keys.add(owner.getStateKey(slotId, trackedKey));
+                keys.add(
+                        owner.getStateKey(slotId, trackedKey)
+                                + RedisAgentStateStore.VERSION_SUFFIX);
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    private static List<String> toJson(List<? extends State> items) {
+        List<String> json = new ArrayList<>(items.size());
+        for (State item : items) {
+            json.add(JsonUtils.getJsonCodec().toJson(item));
+        }
+        return json;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.extensions.redis.state;
+
+import java.util.List;
+import java.util.Map;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link RedisClientAdapter}.
+ *
+ * <p>Implemented by adapters whose client exposes a Reactor-compatible API (currently
+ * {@link io.agentscope.extensions.redis.state.lettuce.LettuceClientAdapter}). When the adapter
+ * configured on a {@link RedisAgentStateStore} implements this interface,
+ * {@link RedisAgentStateStore#reactive()} returns a native non-blocking store instead of offloading
+ * the blocking calls to a worker pool.
+ *
+ * <p>Method names mirror {@link RedisClientAdapter}; every method is lazy and performs no I/O
+ * until subscribed.
+ */
+public interface ReactiveRedisClientAdapter {
+
+    /**
+     * Set a string value.
+     *
+     * @param key the Redis key
+     * @param value the string value
+     * @return a Mono completing when the write is acknowledged
+     */
+    Mono<Void> setReactive(String key, String value);
+
+    /**
+     * Set several string values together ({@code MSET} where supported). On a single node the
+     * values are written atomically; cluster adapters split the keys by slot.
+     *
+     * @param values the values by Redis key
+     * @return a Mono completing when every write is acknowledged
+     */
+    default Mono<Void> setAllReactive(Map<String, String> values) {
+        return Flux.fromIterable(values.entrySet())
+                .concatMap(entry -> setReactive(entry.getKey(), entry.getValue()))
+                .then();
+    }
+
+    /**
+     * Get a string value.
+     *
+     * @param key the Redis key
+     * @return a Mono emitting the value, or completing empty if not found
+     */
+    Mono<String> getReactive(String key);
+
+    /**
+     * Append values to the right end of a list in one command.
+     *
+     * @param key the Redis list key
+     * @param values the values to append, in order
+     * @return a Mono completing when the write is acknowledged
+     */
+    Mono<Void> rightPushListReactive(String key, List<String> values);
+
+    /**
+     * Get a range of elements from a list.
+     *
+     * @param key the Redis list key
+     * @param start the start index (inclusive)
+     * @param end the end index (inclusive, -1 for all elements)
+     * @return a Flux of values in list order
+     */
+    Flux<String> rangeListReactive(String key, long start, long end);
+
+    /**
+     * Get the length of a list.
+     *
+     * @param key the Redis list key
+     * @return a Mono emitting the length
+     */
+    Mono<Long> getListLengthReactive(String key);
+
+    /**
+     * Delete one or more keys.
+     *
+     * @param keys the keys to delete
+     * @return a Mono completing when the keys are deleted
+     */
+    Mono<Void> deleteKeysReactive(String... keys);
+
+    /**
+     * Add a member to a set.
+     *
+     * @param key the Redis set key
+     * @param member the member to add
+     * @return a Mono completing when the write is acknowledged
+     */
+    Mono<Void> addToSetReactive(String key, String member);
+
+    /**
+     * Get all members of a set.
+     *
+     * @param key the Redis set key
+     * @return a Flux of members
+     */
+    Flux<String> getSetMembersReactive(String key);
+
+    /**
+     * Get the number of members in a set.
+     *
+     * @param key the Redis set key
+     * @return a Mono emitting the number of members
+     */
+    Mono<Long> getSetSizeReactive(String key);
+
+    /**
+     * Find all keys matching a pattern using incremental {@code SCAN}.
+     *
+     * @param pattern the key pattern (e.g., "prefix:*")
+     * @return a Flux of matching keys (may contain duplicates, as SCAN does)
+     */
+    Flux<String> findKeysByPatternReactive(String pattern);
+
+    /**
+     * Add a member to a sorted set, or update its score.
+     *
+     * @param key the Redis sorted set key
+     * @param score the score
+     * @param member the member
+     * @return a Mono completing when the write is acknowledged
+     */
+    default Mono<Void> addToSortedSetReactive(String key, double score, String member) {
+        return Mono.error(
+                new UnsupportedOperationException(getClass().getName() + " lacks sorted sets"));
+    }
+
+    /**
+     * Remove a member from a sorted set.
+     *
+     * @param key the Redis sorted set key
+     * @param member the member to remove
+     * @return a Mono completing when the write is acknowledged
+     */
+    default Mono<Void> removeFromSortedSetReactive(String key, String member) {
+        return Mono.error(
+                new UnsupportedOperationException(getClass().getName() + " lacks sorted sets"));
+    }
+}
@@ -15,8 +15,15 @@
  */
 package io.agentscope.extensions.redis.state;
 
+import io.agentscope.core.state.AgentState;
+import io.agentscope.core.state.AgentStateJournal;
 import io.agentscope.core.state.AgentStateStore;
 import io.agentscope.core.state.ListHashUtil;
+import io.agentscope.core.state.ReactiveAgentStateStore;
+import io.agentscope.core.state.SessionCursor;
+import io.agentscope.core.state.SessionInfo;
+import io.agentscope.core.state.SessionPage;
+import io.agentscope.core.state.SessionQuery;
 import io.agentscope.core.state.State;
 import io.agentscope.core.util.JsonUtils;
 import io.agentscope.extensions.redis.state.jedis.JedisClientAdapter;
@@ -27,9 +34,15 @@ import io.lettuce.core.cluster.RedisClusterClient;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import redis.clients.jedis.UnifiedJedis;
@@ -52,9 +65,30 @@ import redis.clients.jedis.UnifiedJedis;
  *   <li>Single state: {@code {prefix}{sessionId}:{stateKey}} - Redis String containing JSON
  *   <li>List state: {@code {prefix}{sessionId}:{stateKey}:list} - Redis List containing JSON items
  *   <li>List hash: {@code {prefix}{sessionId}:{stateKey}:list:_hash} - Hash for change detection
+ *   <li>Version: {@code {prefix}{sessionId}:{stateKey}:_version} and
+ *       {@code {prefix}{sessionId}:{stateKey}:list:_version} - random token replaced on every
+ *       write, returned by {@link #version(String, String, String)}
  *   <li>AgentStateStore marker: {@code {prefix}{sessionId}:_keys} - Redis Set tracking all state keys
+ *   <li>Message count: {@code {prefix}{sessionId}:_messages} - context size of the last saved
+ *       {@link AgentState}
+ *   <li>Session index: {@code {prefix}{userId}:_sessions_by_time} - Sorted Set of the user's
+ *       session ids scored by last update time (epoch millis), and
+ *       {@code {prefix}{userId}:_sessions_by_id} - Sorted Set of the same ids with score 0 for
+ *       lexicographical range queries
  * </ul>
  *
+ * <p>The two sorted sets are maintained on every write and back {@link #listSessions(SessionQuery)},
+ * which reads one page with {@code ZRANGEBYSCORE} / {@code ZRANGEBYLEX} instead of scanning the
+ * keyspace. Sessions written before the index existed are added once per user, found by
+ * {@code SCAN}, with a last update time of 0. Disable the index with
+ * {@link Builder#sessionIndex(boolean)} to save the extra round trips per write when paginated
+ * listing is not needed.
+ *
+ * <p>With {@link Builder#agentStateJournal(AgentStateJournal)} configured, {@link AgentState}
+ * values are persisted as an append-only journal under the list key
+ * {@code {prefix}{sessionId}:{stateKey}_journal:list}: each save RPUSHes one delta entry with the
+ * new messages and changed sections instead of re-SETting the whole document.
+ *
  * <p><strong>Jedis Usage Examples:</strong></p>
  *
  * <p>Jedis Standalone (using RedisClient):
@@ -178,16 +212,39 @@ public class RedisAgentStateStore implements AgentStateStore {
 
     private static final String DEFAULT_KEY_PREFIX = "agentscope:session:";
 
-    private static final String KEYS_SUFFIX = ":_keys";
+    static final String KEYS_SUFFIX = ":_keys";
+
+    static final String LIST_SUFFIX = ":list";
+
+    static final String HASH_SUFFIX = ":_hash";
+
+    static final String VERSION_SUFFIX = ":_version";
 
-    private static final String LIST_SUFFIX = ":list";
+    static final String MESSAGES_SUFFIX = ":_messages";
 
-    private static final String HASH_SUFFIX = ":_hash";
+    static final String SESSIONS_BY_TIME_SUFFIX = ":_sessions_by_time";
+
+    static final String SESSIONS_BY_ID_SUFFIX = ":_sessions_by_id";
+
+    static final String SESSIONS_INDEXED_SUFFIX = ":_sessions_indexed";
+
+    /** Largest code point; appended to a prefix it bounds every id that starts with the prefix. */
+    private static final String MAX_CODE_POINT = new String(Character.toChars(0x10FFFF));
+
+    private static final Logger log = LoggerFactory.getLogger(RedisAgentStateStore.class);
 
     private final RedisClientAdapter client;
 
     private final String keyPrefix;
 
+    private final AgentStateJournal journal;
+
+    /** Cleared when the adapter turns out not to support sorted sets. */
+    private volatile boolean sessionIndex;
+
+    /** Users whose pre-existing sessions have been added to the index. */
+    private final Set<String> indexedUsers = ConcurrentHashMap.newKeySet();
+
     private RedisAgentStateStore(Builder builder) {
         if (builder.client == null) {
             throw new IllegalArgumentException("Redis client cannot be null");
@@ -197,6 +254,8 @@ public class RedisAgentStateStore implements AgentStateStore {
         }
         this.client = builder.client;
         this.keyPrefix = builder.keyPrefix;
+        this.journal = builder.journal;
+        this.sessionIndex = builder.sessionIndex;
     }
 
     /**
@@ -210,14 +269,24 @@ public class RedisAgentStateStore implements AgentStateStore {
 
     @Override
     public void save(String userId, String sessionId, String key, State value) {
+        if (journal != null && value instanceof AgentState agentState) {
+            journal.write(this, userId, sessionId, key, agentState);
+            touchSession(userId, sessionId, agentState.getContext().size());
+            return;
+        }
         String slotId = slotId(userId, sessionId);
         String redisKey = getStateKey(slotId, key);
         String keysKey = getKeysKey(slotId);
         try {
             String json = JsonUtils.getJsonCodec().toJson(value);
-            client.set(redisKey, json);
+            // One MSET, so the version never describes another value
+            client.setAll(Map.of(redisKey, json, redisKey + VERSION_SUFFIX, newVersionToken()));
             // Track this key in the session's key set
             client.addToSet(keysKey, key);
+            touchSession(
+                    userId,
+                    sessionId,
+                    value instanceof AgentState agentState ? agentState.getContext().size() : -1);
         } catch (Exception e) {
             throw new RuntimeException("Failed to save state: " + key, e);
         }
@@ -242,31 +311,53 @@ public class RedisAgentStateStore implements AgentStateStore {
             if (needsFullRewrite) {
                 // Delete and recreate the list
                 client.deleteKeys(listKey);
-                for (State item : values) {
-                    String json = JsonUtils.getJsonCodec().toJson(item);
-                    client.rightPushList(listKey, json);
-                }
+                client.rightPushList(listKey, toJson(values));
             } else if (values.size() > existingCount) {
                 // Incremental append
                 List<? extends State> newItems = values.subList((int) existingCount, values.size());
-                for (State item : newItems) {
-                    String json = JsonUtils.getJsonCodec().toJson(item);
-                    client.rightPushList(listKey, json);
-                }
+                client.rightPushList(listKey, toJson(newItems));
             }
             // else: no change, skip
-            // Update hash
-            client.set(hashKey, currentHash);
+            // Update hash and version together
+            client.setAll(
+                    Map.of(hashKey, currentHash, listKey + VERSION_SUFFIX, newVersionToken()));
             // Track this key in the session's key set
             client.addToSet(keysKey, key + LIST_SUFFIX);
+            touchSession(userId, sessionId, -1);
         } catch (Exception e) {
             throw new RuntimeException("Failed to save list: " + key, e);
         }
     }
 
+    @Override
+    public void append(String userId, String sessionId, String key, List<? extends State> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        String slotId = slotId(userId, sessionId);
+        String listKey = getListKey(slotId, key);
+        String keysKey = getKeysKey(slotId);
+        try {
+            client.rightPushList(listKey, toJson(items));
+            // The stored hash no longer describes the list; force the next save to rewrite it.
+            client.deleteKeys(listKey + HASH_SUFFIX);
+            client.set(listKey + VERSION_SUFFIX, newVersionToken());
+            client.addToSet(keysKey, key + LIST_SUFFIX);
+            touchSession(userId, sessionId, -1);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to append to list: " + key, e);
+        }
+    }
+
     @Override
     public <T extends State> Optional<T> get(
             String userId, String sessionId, String key, Class<T> type) {
+        if (journal != null && type == AgentState.class) {
+            Optional<AgentState> replayed = journal.read(this, userId, sessionId, key);
+            if (replayed.isPresent()) {
+                return Optional.of(type.cast(replayed.get()));
+            }
+        }
         String slotId = slotId(userId, sessionId);
         String redisKey = getStateKey(slotId, key);
         try {
@@ -301,6 +392,21 @@ public class RedisAgentStateStore implements AgentStateStore {
         }
     }
 
+    /**
+     * Returns the version tokens of {@code key}'s value, list and (with a journal) journal, read
+     * with one multi-key lookup. Every write replaces the token of what it wrote with a random
+     * one, so a token never repeats, even after the session is deleted and written again.
+     */
+    @Override
+    public Optional<String> version(String userId, String sessionId, String key) {
+        String slotId = slotId(userId, sessionId);
+        try {
+            return joinVersionTokens(client.getAll(getVersionKeys(slotId, key)));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read state version: " + key, e);
+        }
+    }
+
     @Override
     public boolean exists(String userId, String sessionId) {
         String slotId = slotId(userId, sessionId);
@@ -323,6 +429,7 @@ public class RedisAgentStateStore implements AgentStateStore {
             if (trackedKeys != null && !trackedKeys.isEmpty()) {
                 Set<String> keysToDelete = new HashSet<>();
                 keysToDelete.add(keysKey);
+                keysToDelete.add(getMessagesKey(slotId));
 
                 for (String trackedKey : trackedKeys) {
                     if (trackedKey.endsWith(LIST_SUFFIX)) {
@@ -330,18 +437,34 @@ public class RedisAgentStateStore implements AgentStateStore {
                                 trackedKey.substring(0, trackedKey.length() - LIST_SUFFIX.length());
                         keysToDelete.add(getListKey(slotId, baseKey));
                         keysToDelete.add(getListKey(slotId, baseKey) + HASH_SUFFIX);
+                        keysToDelete.add(getListKey(slotId, baseKey) + VERSION_SUFFIX);
                     } else {
                         keysToDelete.add(getStateKey(slotId, trackedKey));
+                        keysToDelete.add(getStateKey(slotId, trackedKey) + VERSION_SUFFIX);
                     }
                 }
 
                 client.deleteKeys(keysToDelete.toArray(new String[0]));
             }
+            if (sessionIndex) {
+                untrackSession(userId, sessionId);
+            }
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete session: " + slotId, e);
         }
     }
 
+    /** Removes {@code sessionId} from the user's session index. */
+    private void untrackSession(String userId, String sessionId) {
+        String userSegment = normalizeUser(userId);
+        try {
+            client.removeFromSortedSet(getSessionsByTimeKey(userSegment), sessionId);
+            client.removeFromSortedSet(getSessionsByIdKey(userSegment), sessionId);
+        } catch (UnsupportedOperationException e) {
+            disableSessionIndex(e);
+        }
+    }
+
     @Override
     public Set<String> listSessionIds(String userId) {
         String userSegment = normalizeUser(userId);
@@ -363,21 +486,264 @@ public class RedisAgentStateStore implements AgentStateStore {
         }
     }
 
+    /**
+     * Lists a page of sessions from the user's sorted set index.
+     *
+     * <p>{@link SessionQuery.SortBy#LAST_UPDATED} pages read {@code _sessions_by_time} with
+     * {@code ZRANGEBYSCORE}, bounded by the query's time range and cursor; {@link
+     * SessionQuery.SortBy#SESSION_ID} pages read {@code _sessions_by_id} with {@code
+     * ZRANGEBYLEX}, bounded by the id prefix and cursor. Filters the range cannot express (an id
+     * prefix on a time-sorted page, a time range on an id-sorted page) are applied while reading,
+     * in batches. The message count and component count of the returned sessions are read in
+     * pipelined batches, one round trip each per page; the size is reported as {@code -1}.
+     *
+     * <p>Without the index (disabled, or unsupported by the adapter) this falls back to the
+     * {@code SCAN}-based default.
+     */
+    @Override
+    public SessionPage listSessions(SessionQuery query) {
+        if (!sessionIndex) {
+            return AgentStateStore.super.listSessions(query);
+        }
+        String userSegment = normalizeUser(query.getUserId());
+        try {
+            ensureSessionIndex(query.getUserId());
+            List<SessionInfo> fetched =
+                    query.getSortBy() == SessionQuery.SortBy.SESSION_ID
+                            ? listById(userSegment, query)
+                            : listByTime(userSegment, query);
+            return SessionPage.fromOrdered(fetched, query);
+        } catch (UnsupportedOperationException e) {
+            disableSessionIndex(e);
+            return AgentStateStore.super.listSessions(query);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to list sessions", e);
+        }
+    }
+
+    private List<SessionInfo> listByTime(String userSegment, SessionQuery query) {
+        double min = query.getUpdatedAfter() != null ? query.getUpdatedAfter() : 0;
+        double max =
+                query.getUpdatedBefore() != null
+                        ? query.getUpdatedBefore() - 1
+                        : Double.POSITIVE_INFINITY;
+        SessionCursor cursor = query.getDecodedCursor();
+        if (cursor != null) {
+            // Inclusive: sessions sharing the cursor's timestamp are filtered one by one below.
+            if (query.isDescending()) {
+                max = Math.min(max, cursor.lastUpdated());
+            } else {
+                min = Math.max(min, cursor.lastUpdated());
+            }
+        }
+        String key = getSessionsByTimeKey(userSegment);
+        int wanted = query.getLimit() + 1;
+        List<String> sessionIds = new ArrayList<>(wanted);
+        List<Long> updatedTimes = new ArrayList<>(wanted);
+        int offset = 0;
+        while (sessionIds.size() < wanted && min <= max) {
+            List<RedisClientAdapter.ScoredMember> batch =
+                    client.rangeSortedSetByScore(
+                            key, min, max, query.isDescending(), offset, wanted);
+            for (RedisClientAdapter.ScoredMember member : batch) {
+                long updated = (long) member.score();
+                if (sessionIds.size() < wanted
+                        && query.matches(member.member(), updated)
+                        && query.isAfterCursor(member.member(), updated)) {
+                    sessionIds.add(member.member());
+                    updatedTimes.add(updated);
+                }
+            }
+            if (batch.size() < wanted) {
+                break;
+            }
+            offset += batch.size();
+        }
+        return describe(query.getUserId(), sessionIds, updatedTimes);
+    }
+
+    private List<SessionInfo> listById(String userSegment, SessionQuery query) {
+        String prefix = query.getSessionIdPrefix();
+        String cursor =
+                query.getDecodedCursor() != null ? query.getDecodedCursor().sessionId() : null;
+        String from = prefix;
+        boolean fromInclusive = true;
+        String to = prefix != null ? prefix + MAX_CODE_POINT : null;
+        boolean toInclusive = true;
+        if (cursor != null) {
+            if (!query.isDescending() && (from == null || cursor.compareTo(from) >= 0)) {
+                from = cursor;
+                fromInclusive = false;
+            } else if (query.isDescending() && (to == null || cursor.compareTo(to) <= 0)) {
+                to = cursor;
+                toInclusive = false;
+            }
+        }
+        String key = getSessionsByIdKey(userSegment);
+        String timeKey = getSessionsByTimeKey(userSegment);
+        int wanted = query.getLimit() + 1;
+        List<String> sessionIds = new ArrayList<>(wanted);
+        List<Long> updatedTimes = new ArrayList<>(wanted);
+        int offset = 0;
+        while (sessionIds.size() < wanted) {
+            List<String> batch =
+                    client.rangeSortedSetByLex(
+                            key,
+                            from,
+                            fromInclusive,
+                            to,
+                            toInclusive,
+                            query.isDescending(),
+                            offset,
+                            wanted);
+            List<Double> scores =
+                    batch.isEmpty() ? List.of() : client.getSortedSetScores(timeKey, batch);
+            for (int i = 0; i < batch.size(); i++) {
+                String sessionId = batch.get(i);
+                Double score = scores.get(i);
+                long updated = score != null ? score.longValue() : 0L;
+                if (sessionIds.size() < wanted && query.matches(sessionId, updated)) {
+                    sessionIds.add(sessionId);
+                    updatedTimes.add(updated);
+                }
+            }
+            if (batch.size() < wanted) {
+                break;
+            }
+            offset += batch.size();
+        }
+        return describe(query.getUserId(), sessionIds, updatedTimes);
+    }
+
+    /** Reads the message and component counts of a page of sessions in two pipelined batches. */
+    private List<SessionInfo> describe(
+            String userId, List<String> sessionIds, List<Long> updatedTimes) {
+        if (sessionIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> messagesKeys = new ArrayList<>(sessionIds.size());
+        List<String> keysKeys = new ArrayList<>(sessionIds.size());
+        for (String sessionId : sessionIds) {
+            String slotId = slotId(userId, sessionId);
+            messagesKeys.add(getMessagesKey(slotId));
+            keysKeys.add(getKeysKey(slotId));
+        }
+        List<String> messages = client.getAll(messagesKeys);
+        List<Long> components = client.getSetSizes(keysKeys);
+        List<SessionInfo> result = new ArrayList<>(sessionIds.size());
+        for (int i = 0; i < sessionIds.size(); i++) {
+            String count = messages.get(i);
+            result.add(
+                    new SessionInfo(
+                            userId,
+                            sessionIds.get(i),
+                            -1,
+                            updatedTimes.get(i),
+                            components.get(i).intValue(),
+                            count != null ? Integer.parseInt(count) : -1));
+        }
+        return result;
+    }
+
+    /** Records a write to {@code sessionId} in the user's session index. */
+    private void touchSession(String userId, String sessionId, int messageCount) {
+        if (!sessionIndex) {
+            return;
+        }
+        String userSegment = normalizeUser(userId);
+        try {
+            client.addToSortedSet(
+                    getSessionsByTimeKey(userSegment), System.currentTimeMillis(), sessionId);
+            client.addToSortedSet(getSessionsByIdKey(userSegment), 0, sessionId);
+            if (messageCount >= 0) {
+                client.set(getMessagesKey(slotId(userId, sessionId)), String.valueOf(messageCount));
+            }
+        } catch (UnsupportedOperationException e) {
+            disableSessionIndex(e);
+        }
+    }
+
+    /**
+     * Adds sessions written before the index existed, found by {@code SCAN}, once per user. Their
+     * real update time is unknown, so until their next write they get distinct placeholder times
+     * in the first milliseconds of the epoch, in session id order. Distinct scores keep the
+     * inclusive cursor bound of a time-sorted page from rescanning every backfilled session.
+     */
+    private void ensureSessionIndex(String userId) {
+        String userSegment = normalizeUser(userId);
+        if (indexedUsers.contains(userSegment)) {
+            return;
+        }
+        String marker = keyPrefix + userSegment + SESSIONS_INDEXED_SUFFIX;
+        if (!client.keyExists(marker)) {
+            String timeKey = getSessionsByTimeKey(userSegment);
+            List<String> sessionIds = new ArrayList<>(new TreeSet<>(listSessionIds(userId)));
+            List<Double> scores =
+                    sessionIds.isEmpty()
+                            ? List.of()
+                            : client.getSortedSetScores(timeKey, sessionIds);
+            for (int i = 0; i < sessionIds.size(); i++) {
+                if (scores.get(i) == null) {
+                    client.addToSortedSet(timeKey, i + 1, sessionIds.get(i));
+                    client.addToSortedSet(getSessionsByIdKey(userSegment), 0, sessionIds.get(i));
+                }
+            }
+            client.set(marker, "1");
+        }
+        indexedUsers.add(userSegment);
+    }
+
+    void disableSessionIndex(UnsupportedOperationException e) {
+        if (sessionIndex) {
+            sessionIndex = false;
+            log.warn(
+                    "Redis adapter does not support sorted sets, session index disabled: {}",
+                    e.getMessage());
+        }
+    }
+
+    boolean isSessionIndexEnabled() {
+        return sessionIndex;
+    }
+
     /** Sentinel for {@code userId == null} (anonymous sessions). */
     private static final String ANON_USER = "__anon__";
 
-    private static String normalizeUser(String userId) {
+    static String normalizeUser(String userId) {
         return userId == null || userId.isBlank() ? ANON_USER : userId;
     }
 
     /** Combine {@code (userId, sessionId)} into a single Redis slot identifier. */
-    private static String slotId(String userId, String sessionId) {
+    static String slotId(String userId, String sessionId) {
         if (sessionId == null || sessionId.isBlank()) {
             throw new IllegalArgumentException("sessionId must not be blank");
         }
         return normalizeUser(userId) + "/" + sessionId;
     }
 
+    /**
+     * Returns a non-blocking view of this store.
+     *
+     * <p>When the configured adapter implements {@link ReactiveRedisClientAdapter} (Lettuce), the
+     * view issues commands through the client's native reactive API and never parks a thread on
+     * I/O. Other adapters fall back to offloading the blocking calls to {@code boundedElastic}.
+     *
+     * @return a reactive view sharing this store's data
+     */
+    @Override
+    public ReactiveAgentStateStore reactive() {
+        ReactiveAgentStateStore offloading = ReactiveAgentStateStore.offloading(this);
+        if (client instanceof ReactiveRedisClientAdapter reactiveClient) {
+            return new ReactiveRedisAgentStateStore(
+                    this, reactiveClient, journal != null ? offloading : null);
+        }
+        return offloading;
+    }
+
+    String getKeyPrefix() {
+        return keyPrefix;
+    }
+
     @Override
     public void close() {
         client.close();
@@ -396,6 +762,7 @@ public class RedisAgentStateStore implements AgentStateStore {
                                 if (!keys.isEmpty()) {
                                     client.deleteKeys(keys.toArray(new String[0]));
                                 }
+                                indexedUsers.clear();
                                 return keys.size();
                             } catch (Exception e) {
                                 throw new RuntimeException("Failed to clear sessions", e);
@@ -411,7 +778,7 @@ public class RedisAgentStateStore implements AgentStateStore {
      * @param key the state key
      * @return Redis key in format {prefix}{sessionId}:{key}
      */
-    private String getStateKey(String sessionId, String key) {
+    String getStateKey(String sessionId, String key) {
         return keyPrefix + sessionId + ":" + key;
     }
 
@@ -422,20 +789,91 @@ public class RedisAgentStateStore implements AgentStateStore {
      * @param key the state key
      * @return Redis key in format {prefix}{sessionId}:{key}:list
      */
-    private String getListKey(String sessionId, String key) {
+    String getListKey(String sessionId, String key) {
         return keyPrefix + sessionId + ":" + key + LIST_SUFFIX;
     }
 
+    /**
+     * Get the Redis keys of the version tokens of a state key, in the order they are joined.
+     *
+     * @param sessionId the session ID
+     * @param key the state key
+     * @return the version keys of the single value, the list and, with a journal, the journal
+     */
+    List<String> getVersionKeys(String sessionId, String key) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add(getStateKey(sessionId, key) + VERSION_SUFFIX);
+        keys.add(getListKey(sessionId, key) + VERSION_SUFFIX);
+        if (journal != null) {
+            keys.add(getListKey(sessionId, AgentStateJournal.journalKey(key)) + VERSION_SUFFIX);
+        }
+        return keys;
+    }
+
+    private static List<String> toJson(List<? extends State> items) {
+        List<String> json = new ArrayList<>(items.size());
+        for (State item : items) {
+            json.add(JsonUtils.getJsonCodec().toJson(item));
+        }
+        return json;
+    }
+
+    /** Returns a token for a new write; random, so tokens of deleted keys are never reused. */
+    static String newVersionToken() {
+        return UUID.randomUUID().toString();
+    }
+
+    /** Joins the tokens found for {@link #getVersionKeys}; empty if none of them exists. */
+    static Optional<String> joinVersionTokens(List<String> tokens) {
+        StringBuilder joined = new StringBuilder();
+        boolean found = false;
+        for (String token : tokens) {
+            found |= token != null;
+            joined.append(token != null ? token : "-").append('/');
+        }
+        return found ? Optional.of(joined.toString()) : Optional.empty();
+    }
+
     /**
      * Get the Redis key for tracking session keys.
      *
      * @param sessionId the session ID
      * @return Redis key in format {prefix}{sessionId}:_keys
      */
-    private String getKeysKey(String sessionId) {
+    String getKeysKey(String sessionId) {
         return keyPrefix + sessionId + KEYS_SUFFIX;
     }
 
+    /**
+     * Get the Redis key holding the session's message count.
+     *
+     * @param sessionId the session ID
+     * @return Redis key in format {prefix}{sessionId}:_messages
+     */
+    String getMessagesKey(String sessionId) {
+        return keyPrefix + sessionId + MESSAGES_SUFFIX;
+    }
+
+    /**
+     * Get the Redis key of a user's sessions sorted by last update time.
+     *
+     * @param userSegment the normalized user ID
+     * @return Redis key in format {prefix}{userId}:_sessions_by_time
+     */
+    String getSessionsByTimeKey(String userSegment) {
+        return keyPrefix + userSegment + SESSIONS_BY_TIME_SUFFIX;
+    }
+
+    /**
+     * Get the Redis key of a user's sessions sorted by id.
+     *
+     * @param userSegment the normalized user ID
+     * @return Redis key in format {prefix}{userId}:_sessions_by_id
+     */
+    String getSessionsByIdKey(String userSegment) {
+        return keyPrefix + userSegment + SESSIONS_BY_ID_SUFFIX;
+    }
+
     /**
      * Builder for {@link RedisAgentStateStore}.
      *
@@ -456,6 +894,10 @@ public class RedisAgentStateStore implements AgentStateStore {
 
         private RedisClientAdapter client;
 
+        private AgentStateJournal journal;
+
+        private boolean sessionIndex = true;
+
         public Builder keyPrefix(String keyPrefix) {
             this.keyPrefix = keyPrefix;
             return this;
@@ -486,6 +928,30 @@ public class RedisAgentStateStore implements AgentStateStore {
             return this;
         }
 
+        /**
+         * Persist {@link AgentState} values through an append-only journal instead of rewriting
+         * the whole document on every save.
+         *
+         * @param journal the journal, or {@code null} to disable journaling
+         * @return this builder
+         */
+        public Builder agentStateJournal(AgentStateJournal journal) {
+            this.journal = journal;
+            return this;
+        }
+
+        /**
+         * Maintain the per-user sorted set index used by {@link #listSessions(SessionQuery)}.
+         * Default is {@code true}; when disabled, listing falls back to {@code SCAN}.
+         *
+         * @param sessionIndex whether to maintain the session index
+         * @return this builder
+         */
+        public Builder sessionIndex(boolean sessionIndex) {
+            this.sessionIndex = sessionIndex;
+            return this;
+        }
+
         public RedisAgentStateStore build() {
             return new RedisAgentStateStore(this);
         }
@@ -15,7 +15,9 @@
  */
 package io.agentscope.extensions.redis.state;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -31,7 +33,17 @@ import java.util.Set;
  *   <li>List operations: {@code rightPushList}, {@code rangeList}, {@code getListLength}</li>
  *   <li>Set operations: {@code addToSet}, {@code getSetMembers}, {@code getSetSize}</li>
  *   <li>Key operations: {@code keyExists}, {@code deleteKeys}, {@code findKeysByPattern}</li>
+ *   <li>Sorted set operations: {@code addToSortedSet}, {@code removeFromSortedSet},
+ *       {@code getSortedSetScore}, {@code rangeSortedSetByScore}, {@code rangeSortedSetByLex}</li>
  * </ul>
+ *
+ * <p>The sorted set operations back {@link RedisAgentStateStore#listSessions}. They have default
+ * implementations that throw {@link UnsupportedOperationException}, so custom adapters written
+ * before they existed keep compiling; such adapters only fail when sessions are listed by page.
+ * The batch reads ({@code getSortedSetScores}, {@code getAll}, {@code getSetSizes}) default to
+ * one command per key; adapters override them to pipeline the commands in one round trip. The
+ * batch writes ({@code setAll} and the list form of {@code rightPushList}) likewise default to one
+ * command per value; adapters override them with a single {@code MSET} or {@code RPUSH}.
  */
 public interface RedisClientAdapter {
 
@@ -124,6 +136,158 @@ public interface RedisClientAdapter {
      */
     Set<String> findKeysByPattern(String pattern);
 
+    /**
+     * A sorted set member with its score.
+     *
+     * @param member the member
+     * @param score the member's score
+     */
+    record ScoredMember(String member, double score) {}
+
+    /**
+     * Add a member to a sorted set, or update its score ({@code ZADD}).
+     *
+     * @param key the Redis sorted set key
+     * @param score the score
+     * @param member the member
+     */
+    default void addToSortedSet(String key, double score, String member) {
+        throw new UnsupportedOperationException(getClass().getName() + " lacks sorted sets");
+    }
+
+    /**
+     * Remove a member from a sorted set ({@code ZREM}).
+     *
+     * @param key the Redis sorted set key
+     * @param member the member to remove
+     */
+    default void removeFromSortedSet(String key, String member) {
+        throw new UnsupportedOperationException(getClass().getName() + " lacks sorted sets");
+    }
+
+    /**
+     * Get the score of a sorted set member ({@code ZSCORE}).
+     *
+     * @param key the Redis sorted set key
+     * @param member the member
+     * @return the score, or null if the member does not exist
+     */
+    default Double getSortedSetScore(String key, String member) {
+        throw new UnsupportedOperationException(getClass().getName() + " lacks sorted sets");
+    }
+
+    /**
+     * Get members with scores between {@code min} and {@code max}, both inclusive
+     * ({@code ZRANGEBYSCORE ... WITHSCORES LIMIT}, or {@code ZREVRANGEBYSCORE} when reversed).
+     *
+     * @param key the Redis sorted set key
+     * @param min the minimum score (inclusive)
+     * @param max the maximum score (inclusive)
+     * @param reverse whether to return members from the highest score down
+     * @param offset number of matching members to skip
+     * @param count maximum number of members to return
+     * @return the members with their scores, in range order
+     */
+    default List<ScoredMember> rangeSortedSetByScore(
+            String key, double min, double max, boolean reverse, int offset, int count) {
+        throw new UnsupportedOperationException(getClass().getName() + " lacks sorted sets");
+    }
+
+    /**
+     * Get members of a sorted set whose members all share one score, in lexicographical order
+     * ({@code ZRANGEBYLEX ... LIMIT}, or {@code ZREVRANGEBYLEX} when reversed).
+     *
+     * @param key the Redis sorted set key
+     * @param from the lower bound, or null for unbounded
+     * @param fromInclusive whether {@code from} itself is included
+     * @param to the upper bound, or null for unbounded
+     * @param toInclusive whether {@code to} itself is included
+     * @param reverse whether to return members from the upper bound down
+     * @param offset number of matching members to skip
+     * @param count maximum number of members to return
+     * @return the members, in range order
+     */
+    default List<String> rangeSortedSetByLex(
+            String key,
+            String from,
+            boolean fromInclusive,
+            String to,
+            boolean toInclusive,
+            boolean reverse,
+            int offset,
+            int count) {
+        throw new UnsupportedOperationException(getClass().getName() + " lacks sorted sets");
+    }
+
+    /**
+     * Get the scores of several sorted set members ({@code ZSCORE} each, pipelined where
+     * supported).
+     *
+     * @param key the Redis sorted set key
+     * @param members the members
+     * @return the scores in member order, null for members that do not exist
+     */
+    default List<Double> getSortedSetScores(String key, List<String> members) {
+        List<Double> scores = new ArrayList<>(members.size());
+        for (String member : members) {
+            scores.add(getSortedSetScore(key, member));
+        }
+        return scores;
+    }
+
+    /**
+     * Get several string values ({@code GET} each, pipelined where supported). Unlike {@code
+     * MGET}, the keys may live in different cluster slots.
+     *
+     * @param keys the Redis keys
+     * @return the values in key order, null for keys that do not exist
+     */
+    default List<String> getAll(List<String> keys) {
+        List<String> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(get(key));
+        }
+        return values;
+    }
+
+    /**
+     * Get the sizes of several sets ({@code SCARD} each, pipelined where supported).
+     *
+     * @param keys the Redis set keys
+     * @return the sizes in key order, 0 for keys that do not exist
+     */
+    default List<Long> getSetSizes(List<String> keys) {
+        List<Long> sizes = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            sizes.add(getSetSize(key));
+        }
+        return sizes;
+    }
+
+    /**
+     * Set several string values together ({@code MSET} where supported). On a single node the
+     * values are written atomically; cluster adapters split the keys by slot.
+     *
+     * @param values the values by Redis key
+     */
+    default void setAll(Map<String, String> values) {
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            set(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Append values to the right end of a list ({@code RPUSH} with every value where supported).
+     *
+     * @param key the Redis list key
+     * @param values the values to append, in order
+     */
+    default void rightPushList(String key, List<String> values) {
+        for (String value : values) {
+            rightPushList(key, value);
+        }
+    }
+
     /**
      * Close the adapter and release resources.
      */
@@ -16,15 +16,21 @@
 package io.agentscope.extensions.redis.state.jedis;
 
 import io.agentscope.extensions.redis.state.RedisClientAdapter;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import redis.clients.jedis.AbstractPipeline;
+import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.RedisClient;
 import redis.clients.jedis.RedisClusterClient;
 import redis.clients.jedis.RedisSentinelClient;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.UnifiedJedis;
 import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.resps.Tuple;
 
 /**
  * Adapter for Jedis Redis client.
@@ -168,6 +174,117 @@ public class JedisClientAdapter implements RedisClientAdapter {
         return matchingKeys;
     }
 
+    @Override
+    public void addToSortedSet(String key, double score, String member) {
+        unifiedJedis.zadd(key, score, member);
+    }
+
+    @Override
+    public void removeFromSortedSet(String key, String member) {
+        unifiedJedis.zrem(key, member);
+    }
+
+    @Override
+    public Double getSortedSetScore(String key, String member) {
+        return unifiedJedis.zscore(key, member);
+    }
+
+    @Override
+    public List<ScoredMember> rangeSortedSetByScore(
+            String key, double min, double max, boolean reverse, int offset, int count) {
+        List<Tuple> tuples =
+                reverse
+                        ? unifiedJedis.zrevrangeByScoreWithScores(key, max, min, offset, count)
+                        : unifiedJedis.zrangeByScoreWithScores(key, min, max, offset, count);
+        List<ScoredMember> result = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            result.add(new ScoredMember(tuple.getElement(), tuple.getScore()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> rangeSortedSetByLex(
+            String key,
+            String from,
+            boolean fromInclusive,
+            String to,
+            boolean toInclusive,
+            boolean reverse,
+            int offset,
+            int count) {
+        String min = from == null ? "-" : (fromInclusive ? "[" : "(") + from;
+        String max = to == null ? "+" : (toInclusive ? "[" : "(") + to;
+        return reverse
+                ? unifiedJedis.zrevrangeByLex(key, max, min, offset, count)
+                : unifiedJedis.zrangeByLex(key, min, max, offset, count);
+    }
+
+    @Override
+    public List<Double> getSortedSetScores(String key, List<String> members) {
+        try (AbstractPipeline pipeline = unifiedJedis.pipelined()) {
+            List<Response<Double>> responses = new ArrayList<>(members.size());
+            for (String member : members) {
+                responses.add(pipeline.zscore(key, member));
+            }
+            pipeline.sync();
+            return responses.stream().map(Response::get).toList();
+        }
+    }
+
+    @Override
+    public List<String> getAll(List<String> keys) {
+        try (AbstractPipeline pipeline = unifiedJedis.pipelined()) {
+            List<Response<String>> responses = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                responses.add(pipeline.get(key));
+            }
+            pipeline.sync();
+            return responses.stream().map(Response::get).toList();
+        }
+    }
+
+    @Override
+    public List<Long> getSetSizes(List<String> keys) {
+        try (AbstractPipeline pipeline = unifiedJedis.pipelined()) {
+            List<Response<Long>> responses = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                responses.add(pipeline.scard(key));
+            }
+            pipeline.sync();
+            return responses.stream().map(Response::get).toList();
+        }
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (unifiedJedis instanceof RedisClusterClient || unifiedJedis instanceof JedisCluster) {
+            // MSET cannot span cluster slots
+            try (AbstractPipeline pipeline = unifiedJedis.pipelined()) {
+                values.forEach(pipeline::set);
+                pipeline.sync();
+            }
+            return;
+        }
+        String[] keysValues = new String[values.size() * 2];
+        int i = 0;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            keysValues[i++] = entry.getKey();
+            keysValues[i++] = entry.getValue();
+        }
+        unifiedJedis.mset(keysValues);
+    }
+
+    @Override
+    public void rightPushList(String key, List<String> values) {
+        if (!values.isEmpty()) {
+            unifiedJedis.rpush(key, values.toArray(new String[0]));
+        }
+    }
+
     @Override
     public void close() {
         unifiedJedis.close();
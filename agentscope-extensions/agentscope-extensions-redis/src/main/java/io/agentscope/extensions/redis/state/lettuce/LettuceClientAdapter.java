@@ -15,21 +15,35 @@
  */
 package io.agentscope.extensions.redis.state.lettuce;
 
+import io.agentscope.extensions.redis.state.ReactiveRedisClientAdapter;
 import io.agentscope.extensions.redis.state.RedisClientAdapter;
 import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
 import io.lettuce.core.RedisClient;
 import io.lettuce.core.ScanArgs;
 import io.lettuce.core.ScanCursor;
+import io.lettuce.core.ScanStream;
+import io.lettuce.core.ScoredValue;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
 import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.api.sync.RedisSortedSetCommands;
 import io.lettuce.core.cluster.RedisClusterClient;
 import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.cluster.api.reactive.RedisAdvancedClusterReactiveCommands;
 import io.lettuce.core.cluster.api.sync.RedisAdvancedClusterCommands;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Adapter for Lettuce Redis client.
@@ -42,7 +56,8 @@ import org.slf4j.LoggerFactory;
  * </ul>
  *
  * <p>The adapter internally manages a shared connection and commands instance for efficient
- * connection usage.
+ * connection usage. The same connection also backs the {@link ReactiveRedisClientAdapter} view,
+ * which {@code RedisAgentStateStore#reactive()} uses for fully non-blocking access.
  *
  * <p>This implementation uses direct conditional checks to handle Lettuce's separate command
  * APIs for standalone/sentinel and cluster modes. This is the simplest approach given
@@ -90,7 +105,7 @@ import org.slf4j.LoggerFactory;
  *     .build();
  * }</pre>
  */
-public class LettuceClientAdapter implements RedisClientAdapter {
+public class LettuceClientAdapter implements RedisClientAdapter, ReactiveRedisClientAdapter {
 
     private static final Logger log = LoggerFactory.getLogger(LettuceClientAdapter.class);
 
@@ -106,6 +121,18 @@ public class LettuceClientAdapter implements RedisClientAdapter {
      */
     private final RedisAdvancedClusterCommands<String, String> clusterCommands;
 
+    /**
+     * Reactive commands for standalone and sentinel modes.
+     * Null when operating in cluster mode.
+     */
+    private final RedisReactiveCommands<String, String> reactiveCommands;
+
+    /**
+     * Reactive cluster commands for cluster mode.
+     * Null when operating in standalone or sentinel mode.
+     */
+    private final RedisAdvancedClusterReactiveCommands<String, String> reactiveClusterCommands;
+
     /**
      * Closeable resource handler for cleaning up connections and clients.
      * Uses a strategy pattern to handle different cleanup logic for
@@ -116,9 +143,13 @@ public class LettuceClientAdapter implements RedisClientAdapter {
     private LettuceClientAdapter(
             RedisCommands<String, String> commands,
             RedisAdvancedClusterCommands<String, String> clusterCommands,
+            RedisReactiveCommands<String, String> reactiveCommands,
+            RedisAdvancedClusterReactiveCommands<String, String> reactiveClusterCommands,
             AutoCloseable closeable) {
         this.commands = commands;
         this.clusterCommands = clusterCommands;
+        this.reactiveCommands = reactiveCommands;
+        this.reactiveClusterCommands = reactiveClusterCommands;
         this.closeable = closeable;
     }
 
@@ -135,7 +166,11 @@ public class LettuceClientAdapter implements RedisClientAdapter {
         }
         StatefulRedisConnection<String, String> connection = redisClient.connect();
         return new LettuceClientAdapter(
-                connection.sync(), null, new StandaloneCloser(connection, redisClient));
+                connection.sync(),
+                null,
+                connection.reactive(),
+                null,
+                new StandaloneCloser(connection, redisClient));
     }
 
     /**
@@ -151,7 +186,11 @@ public class LettuceClientAdapter implements RedisClientAdapter {
         }
         StatefulRedisClusterConnection<String, String> connection = redisClusterClient.connect();
         return new LettuceClientAdapter(
-                null, connection.sync(), new ClusterCloser(connection, redisClusterClient));
+                null,
+                connection.sync(),
+                null,
+                connection.reactive(),
+                new ClusterCloser(connection, redisClusterClient));
     }
 
     @Override
@@ -181,6 +220,32 @@ public class LettuceClientAdapter implements RedisClientAdapter {
         }
     }
 
+    @Override
+    public void rightPushList(String key, List<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        String[] array = values.toArray(new String[0]);
+        if (commands != null) {
+            commands.rpush(key, array);
+        } else {
+            clusterCommands.rpush(key, array);
+        }
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        // The cluster commands split a cross-slot MSET by slot
+        if (commands != null) {
+            commands.mset(values);
+        } else {
+            clusterCommands.mset(values);
+        }
+    }
+
     @Override
     public List<String> rangeList(String key, long start, long end) {
         if (commands != null) {
@@ -253,6 +318,105 @@ public class LettuceClientAdapter implements RedisClientAdapter {
         }
     }
 
+    @Override
+    public void addToSortedSet(String key, double score, String member) {
+        sortedSets().zadd(key, score, member);
+    }
+
+    @Override
+    public void removeFromSortedSet(String key, String member) {
+        sortedSets().zrem(key, member);
+    }
+
+    @Override
+    public Double getSortedSetScore(String key, String member) {
+        return sortedSets().zscore(key, member);
+    }
+
+    @Override
+    public List<ScoredMember> rangeSortedSetByScore(
+            String key, double min, double max, boolean reverse, int offset, int count) {
+        List<ScoredValue<String>> values =
+                reverse
+                        ? sortedSets().zrevrangebyscoreWithScores(key, max, min, offset, count)
+                        : sortedSets().zrangebyscoreWithScores(key, min, max, offset, count);
+        List<ScoredMember> result = new ArrayList<>(values.size());
+        for (ScoredValue<String> value : values) {
+            result.add(new ScoredMember(value.getValue(), value.getScore()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> rangeSortedSetByLex(
+            String key,
+            String from,
+            boolean fromInclusive,
+            String to,
+            boolean toInclusive,
+            boolean reverse,
+            int offset,
+            int count) {
+        Range<String> range = Range.from(boundary(from, fromInclusive), boundary(to, toInclusive));
+        Limit limit = Limit.create(offset, count);
+        return reverse
+                ? sortedSets().zrevrangebylex(key, range, limit)
+                : sortedSets().zrangebylex(key, range, limit);
+    }
+
+    @Override
+    public List<Double> getSortedSetScores(String key, List<String> members) {
+        return pipelined(
+                members,
+                member ->
+                        reactiveCommands != null
+                                ? reactiveCommands.zscore(key, member)
+                                : reactiveClusterCommands.zscore(key, member));
+    }
+
+    @Override
+    public List<String> getAll(List<String> keys) {
+        return pipelined(keys, this::getReactive);
+    }
+
+    @Override
+    public List<Long> getSetSizes(List<String> keys) {
+        return pipelined(keys, this::getSetSizeReactive);
+    }
+
+    /**
+     * Issues one command per argument on the shared connection without waiting in between, so
+     * Lettuce pipelines them, and collects the results in argument order (null for empty).
+     */
+    private static <T> List<T> pipelined(List<String> args, Function<String, Mono<T>> command) {
+        List<Optional<T>> results =
+                Flux.fromIterable(args)
+                        .flatMapSequential(
+                                arg ->
+                                        command.apply(arg)
+                                                .map(Optional::of)
+                                                .defaultIfEmpty(Optional.empty()))
+                        .collectList()
+                        .block();
+        List<T> values = new ArrayList<>(args.size());
+        for (Optional<T> result : results) {
+            values.add(result.orElse(null));
+        }
+        return values;
+    }
+
+    private static Range.Boundary<String> boundary(String value, boolean inclusive) {
+        if (value == null) {
+            return Range.Boundary.unbounded();
+        }
+        return inclusive ? Range.Boundary.including(value) : Range.Boundary.excluding(value);
+    }
+
+    /** Sorted set commands of whichever connection mode is active. */
+    private RedisSortedSetCommands<String, String> sortedSets() {
+        return commands != null ? commands : clusterCommands;
+    }
+
     /**
      * Helper method to scan keys using the provided scan function.
      *
@@ -280,6 +444,134 @@ public class LettuceClientAdapter implements RedisClientAdapter {
         KeyScanCursor<String> scan(ScanCursor cursor, ScanArgs scanArgs);
     }
 
+    @Override
+    public Mono<Void> setReactive(String key, String value) {
+        if (reactiveCommands != null) {
+            return reactiveCommands.set(key, value).then();
+        } else {
+            return reactiveClusterCommands.set(key, value).then();
+        }
+    }
+
+    @Override
+    public Mono<Void> setAllReactive(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return Mono.empty();
+        }
+        if (reactiveCommands != null) {
+            return reactiveCommands.mset(values).then();
+        } else {
+            return reactiveClusterCommands.mset(values).then();
+        }
+    }
+
+    @Override
+    public Mono<String> getReactive(String key) {
+        if (reactiveCommands != null) {
+            return reactiveCommands.get(key);
+        } else {
+            return reactiveClusterCommands.get(key);
+        }
+    }
+
+    @Override
+    public Mono<Void> rightPushListReactive(String key, List<String> values) {
+        if (values.isEmpty()) {
+            return Mono.empty();
+        }
+        String[] array = values.toArray(new String[0]);
+        if (reactiveCommands != null) {
+            return reactiveCommands.rpush(key, array).then();
+        } else {
+            return reactiveClusterCommands.rpush(key, array).then();
+        }
+    }
+
+    @Override
+    public Flux<String> rangeListReactive(String key, long start, long end) {
+        if (reactiveCommands != null) {
+            return reactiveCommands.lrange(key, start, end);
+        } else {
+            return reactiveClusterCommands.lrange(key, start, end);
+        }
+    }
+
+    @Override
+    public Mono<Long> getListLengthReactive(String key) {
+        if (reactiveCommands != null) {
+            return reactiveCommands.llen(key);
+        } else {
+            return reactiveClusterCommands.llen(key);
+        }
+    }
+
+    @Override
+    public Mono<Void> deleteKeysReactive(String... keys) {
+        if (keys.length == 0) {
+            return Mono.empty();
+        }
+        if (reactiveCommands != null) {
+            return reactiveCommands.del(keys).then();
+        } else {
+            return reactiveClusterCommands.del(keys).then();
+        }
+    }
+
+    @Override
+    public Mono<Void> addToSetReactive(String key, String member) {
+        if (reactiveCommands != null) {
+            return reactiveCommands.sadd(key, member).then();
+        } else {
+            return reactiveClusterCommands.sadd(key, member).then();
+        }
+    }
+
+    @Override
+    public Flux<String> getSetMembersReactive(String key) {
+        if (reactiveCommands != null) {
+            return reactiveCommands.smembers(key);
+        } else {
+            return reactiveClusterCommands.smembers(key);
+        }
+    }
+
+    @Override
+    public Mono<Long> getSetSizeReactive(String key) {
+        if (reactiveCommands != null) {
+            return reactiveCommands.scard(key);
+        } else {
+            return reactiveClusterCommands.scard(key);
+        }
+    }
+
+    @Override
+    public Flux<String> findKeysByPatternReactive(String pattern) {
+        ScanArgs scanArgs = ScanArgs.Builder.matches(pattern);
+        if (reactiveCommands != null) {
+            return ScanStream.scan(reactiveCommands, scanArgs);
+        } else {
+            return ScanStream.scan(reactiveClusterCommands, scanArgs);
+        }
+    }
+
+    @Override
+    public Mono<Void> addToSortedSetReactive(String key, double score, String member) {
+        if (reactiveCommands != null) {
+            return reactiveCommands.zadd(key, score, member).then();
+        } else {
+            return reactiveClusterCommands.zadd(key, score, member).then();
+        }
+    }
+
+    @Override
+    public Mono<Void> removeFromSortedSetReactive(String key, String member) {
+        if (reactiveCommands != null) {
+            return reactiveCommands.zrem(key, member).then();
+        } else {
+            return reactiveClusterCommands.zrem(key, member).then();
+        }
+    }
+
     @Override
     public void close() {
         try {
@@ -16,16 +16,25 @@
 package io.agentscope.extensions.redis.state.redisson;
 
 import io.agentscope.extensions.redis.state.RedisClientAdapter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import org.redisson.api.RBatch;
 import org.redisson.api.RBucket;
+import org.redisson.api.RFuture;
 import org.redisson.api.RKeys;
+import org.redisson.api.RLexSortedSet;
 import org.redisson.api.RList;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScoredSortedSetAsync;
 import org.redisson.api.RSet;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.options.KeysScanOptions;
 import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.ScoredEntry;
 
 /**
  * Adapter for Redisson Redis client.
@@ -153,6 +162,21 @@ public class RedissonClientAdapter implements RedisClientAdapter {
         rList.add(value);
     }
 
+    @Override
+    public void rightPushList(String key, List<String> values) {
+        if (!values.isEmpty()) {
+            redissonClient.<String>getList(key, StringCodec.INSTANCE).addAll(values);
+        }
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        if (!values.isEmpty()) {
+            // MSET; Redisson splits the keys by slot in cluster mode
+            redissonClient.getBuckets(StringCodec.INSTANCE).set(values);
+        }
+    }
+
     @Override
     public List<String> rangeList(String key, long start, long end) {
         if (start > Integer.MAX_VALUE
@@ -214,6 +238,114 @@ public class RedissonClientAdapter implements RedisClientAdapter {
         return result;
     }
 
+    @Override
+    public void addToSortedSet(String key, double score, String member) {
+        RScoredSortedSet<String> set = redissonClient.getScoredSortedSet(key, StringCodec.INSTANCE);
+        set.add(score, member);
+    }
+
+    @Override
+    public void removeFromSortedSet(String key, String member) {
+        RScoredSortedSet<String> set = redissonClient.getScoredSortedSet(key, StringCodec.INSTANCE);
+        set.remove(member);
+    }
+
+    @Override
+    public Double getSortedSetScore(String key, String member) {
+        RScoredSortedSet<String> set = redissonClient.getScoredSortedSet(key, StringCodec.INSTANCE);
+        return set.getScore(member);
+    }
+
+    @Override
+    public List<Double> getSortedSetScores(String key, List<String> members) {
+        RBatch batch = redissonClient.createBatch();
+        RScoredSortedSetAsync<String> set = batch.getScoredSortedSet(key, StringCodec.INSTANCE);
+        List<RFuture<Double>> futures = new ArrayList<>(members.size());
+        for (String member : members) {
+            futures.add(set.getScoreAsync(member));
+        }
+        return executeBatch(batch, futures);
+    }
+
+    @Override
+    public List<String> getAll(List<String> keys) {
+        RBatch batch = redissonClient.createBatch();
+        List<RFuture<String>> futures = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            futures.add(batch.<String>getBucket(key, StringCodec.INSTANCE).getAsync());
+        }
+        return executeBatch(batch, futures);
+    }
+
+    @Override
+    public List<Long> getSetSizes(List<String> keys) {
+        RBatch batch = redissonClient.createBatch();
+        List<RFuture<Integer>> futures = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            futures.add(batch.<String>getSet(key, StringCodec.INSTANCE).sizeAsync());
+        }
+        List<Long> sizes = new ArrayList<>(keys.size());
+        for (Integer size : executeBatch(batch, futures)) {
+            sizes.add(size != null ? size.longValue() : 0L);
+        }
+        return sizes;
+    }
+
+    /** Sends the queued batch in one round trip and returns the results in queue order. */
+    private static <T> List<T> executeBatch(RBatch batch, List<RFuture<T>> futures) {
+        batch.execute();
+        List<T> results = new ArrayList<>(futures.size());
+        for (RFuture<T> future : futures) {
+            results.add(future.toCompletableFuture().join());
+        }
+        return results;
+    }
+
+    @Override
+    public List<ScoredMember> rangeSortedSetByScore(
+            String key, double min, double max, boolean reverse, int offset, int count) {
+        RScoredSortedSet<String> set = redissonClient.getScoredSortedSet(key, StringCodec.INSTANCE);
+        Collection<ScoredEntry<String>> entries =
+                reverse
+                        ? set.entryRangeReversed(min, true, max, true, offset, count)
+                        : set.entryRange(min, true, max, true, offset, count);
+        List<ScoredMember> result = new ArrayList<>(entries.size());
+        for (ScoredEntry<String> entry : entries) {
+            result.add(new ScoredMember(entry.getValue(), entry.getScore()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> rangeSortedSetByLex(
+            String key,
+            String from,
+            boolean fromInclusive,
+            String to,
+            boolean toInclusive,
+            boolean reverse,
+            int offset,
+            int count) {
+        RLexSortedSet set = redissonClient.getLexSortedSet(key);
+        // Every member sorts at or after the empty string, which stands in for "unbounded below".
+        String lower = from == null ? "" : from;
+        boolean lowerInclusive = from == null || fromInclusive;
+        Collection<String> members;
+        if (to == null) {
+            members =
+                    reverse
+                            ? set.rangeTailReversed(lower, lowerInclusive, offset, count)
+                            : set.rangeTail(lower, lowerInclusive, offset, count);
+        } else {
+            members =
+                    reverse
+                            ? set.rangeReversed(
+                                    lower, lowerInclusive, to, toInclusive, offset, count)
+                            : set.range(lower, lowerInclusive, to, toInclusive, offset, count);
+        }
+        return new ArrayList<>(members);
+    }
+
     @Override
     public void close() {
         redissonClient.shutdown();
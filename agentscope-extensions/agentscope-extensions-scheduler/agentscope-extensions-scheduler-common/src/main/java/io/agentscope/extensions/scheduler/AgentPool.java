@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.extensions.scheduler;
+
+import io.agentscope.core.ReActAgent;
+import io.agentscope.extensions.scheduler.config.RuntimeAgentConfig;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of idle {@link ReActAgent} instances keyed by {@link RuntimeAgentConfig}.
+ *
+ * <p>Building a ReActAgent wires its toolkit, formatter, middlewares and hooks, which is wasted
+ * work when the same scheduled agent fires over and over. A task configured with a pool borrows an
+ * agent for the duration of one run and returns it afterwards. Each borrowed agent is used by
+ * exactly one run at a time, so runs of the same task never share conversation state.
+ *
+ * <p>On release the agent's default session is replaced with a fresh {@link
+ * io.agentscope.core.state.AgentState} and its cached permission engine is dropped, so the next
+ * run starts as if the agent were freshly built: permissions granted and tool groups activated
+ * during a run do not carry over. Permission rules configured on the agent's builder apply again.
+ * Agents whose run failed or was cancelled are discarded instead of being returned.
+ *
+ * <p>Tasks with equal configurations share the same idle agents. At most {@code
+ * maxIdlePerConfig} idle agents are kept per configuration; agents released beyond that are
+ * closed. The number of agents in use is not limited here, see {@link AsyncAgentExecutor} for
+ * bounding concurrent runs.
+ *
+ * <p><b>Usage Example:</b>
+ * <pre>{@code
+ * AgentPool pool = AgentPool.builder().maxIdlePerConfig(4).build();
+ * QuartzAgentScheduler scheduler = QuartzAgentScheduler.builder()
+ *     .agentPool(pool)
+ *     .build();
+ * }</pre>
+ */
+public class AgentPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(AgentPool.class);
+
+    private final int maxIdlePerConfig;
+    private final Map<RuntimeAgentConfig, Deque<ReActAgent>> idle = new ConcurrentHashMap<>();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+
+    private AgentPool(Builder builder) {
+        this.maxIdlePerConfig = builder.maxIdlePerConfig;
+    }
+
+    /**
+     * Create a new builder instance.
+     *
+     * @return A new AgentPool.Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Borrow an agent for the given configuration, building a new one if none is idle.
+     *
+     * @param config The runtime agent configuration
+     * @return An agent for exclusive use until it is released or discarded
+     * @throws IllegalArgumentException if name, sysPrompt, or model is missing
+     */
+    public ReActAgent acquire(RuntimeAgentConfig config) {
+        Deque<ReActAgent> agents = idle.get(config);
+        if (agents != null) {
+            ReActAgent agent;
+            synchronized (agents) {
+                agent = agents.pollFirst();
+            }
+            if (agent != null) {
+                reused.incrementAndGet();
+                return agent;
+            }
+        }
+        ReActAgent agent = BaseScheduleAgentTask.createAgent(config);
+        created.incrementAndGet();
+        return agent;
+    }
+
+    /**
+     * Return an agent after a successful run so it can be reused.
+     *
+     * @param config The configuration the agent was acquired for
+     * @param agent The agent to return
+     */
+    public void release(RuntimeAgentConfig config, ReActAgent agent) {
+        try {
+            reset(agent);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reset pooled agent '{}', discarding it", agent.getName(), e);
+            discard(agent);
+            return;
+        }
+        Deque<ReActAgent> agents = idle.computeIfAbsent(config, k -> new ArrayDeque<>());
+        synchronized (agents) {
+            if (agents.size() < maxIdlePerConfig) {
+                agents.addFirst(agent);
+                return;
+            }
+        }
+        discard(agent);
+    }
+
+    /**
+     * Drop an agent that must not be reused, e.g. because its run failed or was cancelled.
+     *
+     * @param agent The agent to close
+     */
+    public void discard(ReActAgent agent) {
+        try {
+            agent.close();
+        } catch (RuntimeException e) {
+            logger.debug("Failed to close discarded agent '{}'", agent.getName(), e);
+        }
+    }
+
+    /**
+     * Get the number of idle agents kept for the given configuration.
+     *
+     * @param config The runtime agent configuration
+     * @return The idle agent count
+     */
+    public int getIdleCount(RuntimeAgentConfig config) {
+        Deque<ReActAgent> agents = idle.get(config);
+        if (agents == null) {
+            return 0;
+        }
+        synchronized (agents) {
+            return agents.size();
+        }
+    }
+
+    /**
+     * Get the number of agents built by this pool.
+     *
+     * @return The total created count
+     */
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * Get the number of acquisitions served by an idle agent.
+     *
+     * @return The total reuse count
+     */
+    public long getReusedCount() {
+        return reused.get();
+    }
+
+    /** Close and drop all idle agents. */
+    public void clear() {
+        for (Deque<ReActAgent> agents : idle.values()) {
+            synchronized (agents) {
+                agents.forEach(this::discard);
+                agents.clear();
+            }
+        }
+        idle.clear();
+    }
+
+    private static void reset(ReActAgent agent) {
+        agent.resetSession(null, agent.getDefaultSessionId());
+    }
+
+    /**
+     * Builder for {@link AgentPool}.
+     */
+    public static class Builder {
+        private int maxIdlePerConfig = 4;
+
+        private Builder() {}
+
+        /**
+         * Set the maximum number of idle agents kept per configuration.
+         * Default is {@code 4}.
+         *
+         * @param maxIdlePerConfig The idle limit (must be positive)
+         * @return This builder
+         */
+        public Builder maxIdlePerConfig(int maxIdlePerConfig) {
+            if (maxIdlePerConfig <= 0) {
+                throw new IllegalArgumentException("maxIdlePerConfig must be positive");
+            }
+            this.maxIdlePerConfig = maxIdlePerConfig;
+            return this;
+        }
+
+        /**
+         * Build the AgentPool instance.
+         *
+         * @return A new AgentPool
+         */
+        public AgentPool build() {
+            return new AgentPool(this);
+        }
+    }
+}
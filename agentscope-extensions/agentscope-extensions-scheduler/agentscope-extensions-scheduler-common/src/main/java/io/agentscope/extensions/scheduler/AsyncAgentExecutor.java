@@ -0,0 +1,435 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.extensions.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Bounded executor that runs scheduled agent tasks without holding a scheduler thread for the
+ * duration of the run.
+ *
+ * <p>Schedulers hand a run to {@link #submit(String, Supplier)} and return immediately; the run
+ * is subscribed on a Reactor {@link Scheduler} once a slot is free. Two limits apply:
+ * <ul>
+ *   <li><b>maxConcurrency</b> - runs in flight across all tasks</li>
+ *   <li><b>maxConcurrencyPerTask</b> - runs in flight of the same task, so a slow cron agent
+ *       does not overlap with itself</li>
+ * </ul>
+ *
+ * <p>A run that cannot start yet waits in a FIFO backlog, holding no thread. The backlog is
+ * bounded both overall ({@code maxBacklog}) and per task ({@code maxQueuedPerTask}); a run that
+ * does not fit is rejected and its {@link Mono} fails with {@link RejectedExecutionException}.
+ * With the defaults a task has at most one run in flight and one waiting, and further fires are
+ * dropped until it catches up.
+ *
+ * <p>Counters for submitted, completed, failed, rejected and misfired runs, together with the
+ * current running and queued counts, are available overall through {@link #getStats()} and per
+ * task through {@link #getStats(String)}. Misfires are detected by the scheduler and reported via
+ * {@link #recordMisfire(String)}.
+ *
+ * <p><b>Usage Example:</b>
+ * <pre>{@code
+ * AsyncAgentExecutor executor = AsyncAgentExecutor.builder()
+ *     .maxConcurrency(200)
+ *     .maxConcurrencyPerTask(1)
+ *     .build();
+ * QuartzAgentScheduler scheduler = QuartzAgentScheduler.builder()
+ *     .asyncExecutor(executor)
+ *     .build();
+ *
+ * AsyncAgentExecutor.Stats stats = executor.getStats();
+ * }</pre>
+ */
+public class AsyncAgentExecutor {
+
+    /**
+     * Snapshot of execution counters.
+     *
+     * @param submitted runs handed to {@link #submit(String, Supplier)}, including rejected ones
+     * @param completed runs that finished successfully
+     * @param failed runs that finished with an error
+     * @param rejected runs refused because the backlog was full or the executor was shut down
+     * @param misfired fires the scheduler reported as missed
+     * @param running runs currently in flight
+     * @param queued runs currently waiting for a slot
+     */
+    public record Stats(
+            long submitted,
+            long completed,
+            long failed,
+            long rejected,
+            long misfired,
+            int running,
+            int queued) {
+
+        static final Stats EMPTY = new Stats(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    private final int maxConcurrency;
+    private final int maxConcurrencyPerTask;
+    private final int maxQueuedPerTask;
+    private final int maxBacklog;
+    private final Scheduler scheduler;
+
+    private final Object lock = new Object();
+    private final Deque<Run<?>> backlog = new ArrayDeque<>();
+    private final Set<Run<?>> inFlight = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Counters total = new Counters();
+    private final Map<String, Counters> perTask = new HashMap<>();
+    private boolean shutdown;
+
+    private AsyncAgentExecutor(Builder builder) {
+        this.maxConcurrency = builder.maxConcurrency;
+        this.maxConcurrencyPerTask = builder.maxConcurrencyPerTask;
+        this.maxQueuedPerTask = builder.maxQueuedPerTask;
+        this.maxBacklog = builder.maxBacklog;
+        this.scheduler = builder.scheduler;
+    }
+
+    /**
+     * Create a new builder instance.
+     *
+     * @return A new AsyncAgentExecutor.Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Submit a run of the given task.
+     *
+     * <p>The run starts as soon as a slot is free, whether or not the returned Mono is
+     * subscribed. The returned Mono replays the run's outcome to every subscriber.
+     *
+     * @param taskName The task the run belongs to, used for the per-task limits and counters
+     * @param run Supplies the run; invoked on the executor's scheduler when the run starts
+     * @param <T> The result type
+     * @return A Mono that completes with the run's result, or fails with {@link
+     *     RejectedExecutionException} if the run was not accepted
+     */
+    public <T> Mono<T> submit(String taskName, Supplier<Mono<T>> run) {
+        if (taskName == null || run == null) {
+            throw new IllegalArgumentException("Task name and run must not be null");
+        }
+        Run<T> submitted = new Run<>(taskName, run);
+        boolean start = false;
+        String rejection = null;
+        synchronized (lock) {
+            Counters task = perTask.computeIfAbsent(taskName, k -> new Counters());
+            total.submitted++;
+            task.submitted++;
+            if (shutdown) {
+                rejection = "Executor has been shut down";
+            } else if (hasSlot(task)) {
+                markStarted(submitted, task);
+                start = true;
+            } else if (total.queued >= maxBacklog) {
+                rejection = "Backlog is full (" + maxBacklog + " runs)";
+            } else if (task.queued >= maxQueuedPerTask) {
+                rejection = "Task already has " + task.queued + " run(s) waiting";
+            } else {
+                backlog.addLast(submitted);
+                total.queued++;
+                task.queued++;
+            }
+            if (rejection != null) {
+                total.rejected++;
+                task.rejected++;
+            }
+        }
+        if (rejection != null) {
+            submitted.sink.tryEmitError(
+                    new RejectedExecutionException(
+                            "Run of task '" + taskName + "' rejected: " + rejection));
+        } else if (start) {
+            start(submitted);
+        }
+        return submitted.sink.asMono();
+    }
+
+    /**
+     * Record that a scheduled fire of the given task was missed.
+     *
+     * @param taskName The task whose fire was missed
+     */
+    public void recordMisfire(String taskName) {
+        synchronized (lock) {
+            total.misfired++;
+            perTask.computeIfAbsent(taskName, k -> new Counters()).misfired++;
+        }
+    }
+
+    /**
+     * Get the counters across all tasks.
+     *
+     * @return A snapshot of the overall counters
+     */
+    public Stats getStats() {
+        synchronized (lock) {
+            return total.snapshot();
+        }
+    }
+
+    /**
+     * Get the counters of one task.
+     *
+     * @param taskName The task name
+     * @return A snapshot of the task's counters, all zero if the task never ran
+     */
+    public Stats getStats(String taskName) {
+        synchronized (lock) {
+            Counters task = perTask.get(taskName);
+            return task != null ? task.snapshot() : Stats.EMPTY;
+        }
+    }
+
+    /**
+     * Stop accepting runs, reject queued runs and cancel runs in flight.
+     *
+     * <p>Pending Monos fail with {@link CancellationException}.
+     */
+    public void shutdown() {
+        List<Run<?>> dropped;
+        synchronized (lock) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            dropped = new ArrayList<>(backlog);
+            dropped.addAll(inFlight);
+            backlog.clear();
+            inFlight.clear();
+        }
+        for (Run<?> run : dropped) {
+            Disposable subscription = run.subscription;
+            if (subscription != null) {
+                subscription.dispose();
+            }
+            run.sink.tryEmitError(new CancellationException("Executor has been shut down"));
+        }
+    }
+
+    /**
+     * Check whether {@link #shutdown()} has been called.
+     *
+     * @return true if the executor no longer accepts runs
+     */
+    public boolean isShutdown() {
+        synchronized (lock) {
+            return shutdown;
+        }
+    }
+
+    private boolean hasSlot(Counters task) {
+        return total.running < maxConcurrency && task.running < maxConcurrencyPerTask;
+    }
+
+    private void markStarted(Run<?> run, Counters task) {
+        total.running++;
+        task.running++;
+        inFlight.add(run);
+    }
+
+    private <T> void start(Run<T> run) {
+        run.subscription =
+                Mono.defer(run.supplier)
+                        .subscribeOn(scheduler)
+                        .subscribe(
+                                run.sink::tryEmitValue,
+                                error -> finish(run, error),
+                                () -> finish(run, null));
+    }
+
+    private void finish(Run<?> run, Throwable error) {
+        List<Run<?>> next = new ArrayList<>();
+        synchronized (lock) {
+            if (!inFlight.remove(run)) {
+                // Dropped by shutdown
+                return;
+            }
+            Counters task = perTask.get(run.taskName);
+            total.running--;
+            task.running--;
+            if (error == null) {
+                total.completed++;
+                task.completed++;
+            } else {
+                total.failed++;
+                task.failed++;
+            }
+            // Start the oldest waiting runs whose task has a free slot
+            Iterator<Run<?>> it = backlog.iterator();
+            while (it.hasNext() && total.running < maxConcurrency) {
+                Run<?> waiting = it.next();
+                Counters waitingTask = perTask.get(waiting.taskName);
+                if (waitingTask.running < maxConcurrencyPerTask) {
+                    it.remove();
+                    total.queued--;
+                    waitingTask.queued--;
+                    markStarted(waiting, waitingTask);
+                    next.add(waiting);
+                }
+            }
+        }
+        if (error != null) {
+            run.sink.tryEmitError(error);
+        } else {
+            run.sink.tryEmitEmpty();
+        }
+        next.forEach(this::start);
+    }
+
+    private static final class Run<T> {
+        private final String taskName;
+        private final Supplier<Mono<T>> supplier;
+        private final Sinks.One<T> sink = Sinks.one();
+        private volatile Disposable subscription;
+
+        private Run(String taskName, Supplier<Mono<T>> supplier) {
+            this.taskName = taskName;
+            this.supplier = supplier;
+        }
+    }
+
+    /** Mutable counters, guarded by {@code lock}. */
+    private static final class Counters {
+        private long submitted;
+        private long completed;
+        private long failed;
+        private long rejected;
+        private long misfired;
+        private int running;
+        private int queued;
+
+        private Stats snapshot() {
+            return new Stats(submitted, completed, failed, rejected, misfired, running, queued);
+        }
+    }
+
+    /**
+     * Builder for {@link AsyncAgentExecutor}.
+     */
+    public static class Builder {
+        private int maxConcurrency = 64;
+        private int maxConcurrencyPerTask = 1;
+        private int maxQueuedPerTask = 1;
+        private int maxBacklog = 1024;
+        private Scheduler scheduler = Schedulers.boundedElastic();
+
+        private Builder() {}
+
+        /**
+         * Set the maximum number of runs in flight across all tasks.
+         * Default is {@code 64}.
+         *
+         * @param maxConcurrency The global concurrency limit (must be positive)
+         * @return This builder
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency <= 0) {
+                throw new IllegalArgumentException("maxConcurrency must be positive");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of runs in flight of the same task.
+         * Default is {@code 1}.
+         *
+         * @param maxConcurrencyPerTask The per-task concurrency limit (must be positive)
+         * @return This builder
+         */
+        public Builder maxConcurrencyPerTask(int maxConcurrencyPerTask) {
+            if (maxConcurrencyPerTask <= 0) {
+                throw new IllegalArgumentException("maxConcurrencyPerTask must be positive");
+            }
+            this.maxConcurrencyPerTask = maxConcurrencyPerTask;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of runs of the same task waiting for a slot.
+         * Default is {@code 1}; {@code 0} drops every fire that cannot start immediately.
+         *
+         * @param maxQueuedPerTask The per-task backlog limit (must not be negative)
+         * @return This builder
+         */
+        public Builder maxQueuedPerTask(int maxQueuedPerTask) {
+            if (maxQueuedPerTask < 0) {
+                throw new IllegalArgumentException("maxQueuedPerTask must not be negative");
+            }
+            this.maxQueuedPerTask = maxQueuedPerTask;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of runs waiting for a slot across all tasks.
+         * Default is {@code 1024}.
+         *
+         * @param maxBacklog The global backlog limit (must not be negative)
+         * @return This builder
+         */
+        public Builder maxBacklog(int maxBacklog) {
+            if (maxBacklog < 0) {
+                throw new IllegalArgumentException("maxBacklog must not be negative");
+            }
+            this.maxBacklog = maxBacklog;
+            return this;
+        }
+
+        /**
+         * Set the Reactor scheduler runs are subscribed on.
+         * Default is {@link Schedulers#boundedElastic()}.
+         *
+         * @param scheduler The scheduler
+         * @return This builder
+         */
+        public Builder scheduler(Scheduler scheduler) {
+            if (scheduler == null) {
+                throw new IllegalArgumentException("Scheduler must not be null");
+            }
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Build the AsyncAgentExecutor instance.
+         *
+         * @return A new AsyncAgentExecutor
+         */
+        public AsyncAgentExecutor build() {
+            return new AsyncAgentExecutor(this);
+        }
+    }
+}
@@ -16,7 +16,6 @@
 package io.agentscope.extensions.scheduler;
 
 import io.agentscope.core.ReActAgent;
-import io.agentscope.core.agent.Agent;
 import io.agentscope.core.hook.Hook;
 import io.agentscope.core.message.Msg;
 import io.agentscope.core.model.Model;
@@ -38,6 +37,8 @@ import reactor.core.publisher.Mono;
  * <p>This class represents a scheduled agent task that manages the lifecycle and execution
  * of agents according to a schedule. It uses {@link AgentConfig} to dynamically create
  * fresh Agent instances for each execution, providing better state isolation and resource management.
+ * When constructed with an {@link AgentPool}, executions borrow a reset agent from the pool instead
+ * of building one.
  *
  * <p><b>Key Features:</b>
  * <ul>
@@ -97,6 +98,7 @@ public class BaseScheduleAgentTask implements ScheduleAgentTask<Msg> {
     private final AgentScheduler scheduler;
     private final AtomicBoolean cancelled;
     private final AtomicLong executionCount;
+    private final AgentPool agentPool;
 
     /**
      * Constructor for BaseScheduleAgentTask.
@@ -109,12 +111,29 @@ public class BaseScheduleAgentTask implements ScheduleAgentTask<Msg> {
             RuntimeAgentConfig agentConfig,
             ScheduleConfig scheduleConfig,
             AgentScheduler scheduler) {
+        this(agentConfig, scheduleConfig, scheduler, null);
+    }
+
+    /**
+     * Constructor for BaseScheduleAgentTask that reuses agents from a pool.
+     *
+     * @param agentConfig The runtime agent configuration containing model, toolkit, and hooks
+     * @param scheduleConfig The schedule configuration defining timing and execution policies
+     * @param scheduler The scheduler managing this task
+     * @param agentPool The pool to borrow agents from, or null to build a fresh agent per run
+     */
+    public BaseScheduleAgentTask(
+            RuntimeAgentConfig agentConfig,
+            ScheduleConfig scheduleConfig,
+            AgentScheduler scheduler,
+            AgentPool agentPool) {
         this.id = UUID.randomUUID().toString();
         this.agentConfig = agentConfig;
         this.scheduleConfig = scheduleConfig;
         this.scheduler = scheduler;
         this.cancelled = new AtomicBoolean(false);
         this.executionCount = new AtomicLong(0);
+        this.agentPool = agentPool;
     }
 
     // ==================== ScheduleAgentTask Interface Implementation ====================
@@ -149,6 +168,9 @@ public class BaseScheduleAgentTask implements ScheduleAgentTask<Msg> {
      * <p>This method creates a fresh Agent instance and executes it with the provided input messages.
      * Each execution increments the execution count for tracking purposes.
      *
+     * <p>With an {@link AgentPool} the agent is borrowed when the returned Mono is subscribed and
+     * given back when it completes; configuration errors are then signalled through the Mono.
+     *
      * @param msgs The input messages to pass to the agent (optional, can be empty or null)
      * @return A Mono that emits the agent's response message when execution completes
      * @throws IllegalStateException if the task has been cancelled
@@ -158,11 +180,22 @@ public class BaseScheduleAgentTask implements ScheduleAgentTask<Msg> {
         if (cancelled.get()) {
             throw new IllegalStateException("Cannot run a cancelled task: " + getName());
         }
-        // Create a fresh Agent instance for this execution
-        Agent agent = createAgent();
-
-        Mono<Msg> result =
-                agent.call(msgs == null || msgs.length == 0 ? List.of() : Arrays.asList(msgs));
+        List<Msg> input = msgs == null || msgs.length == 0 ? List.of() : Arrays.asList(msgs);
+        Mono<Msg> result;
+        if (agentPool != null) {
+            // Failed or cancelled runs may leave the agent mid-iteration, so only clean
+            // completions go back to the pool
+            result =
+                    Mono.usingWhen(
+                            Mono.fromCallable(() -> agentPool.acquire(agentConfig)),
+                            agent -> agent.call(input),
+                            agent -> Mono.fromRunnable(() -> agentPool.release(agentConfig, agent)),
+                            (agent, error) -> Mono.fromRunnable(() -> agentPool.discard(agent)),
+                            agent -> Mono.fromRunnable(() -> agentPool.discard(agent)));
+        } else {
+            // Create a fresh Agent instance for this execution
+            result = createAgent(agentConfig).call(input);
+        }
         // Increment execution count for tracking
         incrementExecutionCount();
         return result;
@@ -218,6 +251,15 @@ public class BaseScheduleAgentTask implements ScheduleAgentTask<Msg> {
         return agentConfig;
     }
 
+    /**
+     * Get the agent pool used by this task.
+     *
+     * @return The AgentPool, or null if each execution builds a fresh agent
+     */
+    public AgentPool getAgentPool() {
+        return agentPool;
+    }
+
     /**
      * Create and return a fresh Agent instance.
      *
@@ -225,29 +267,30 @@ public class BaseScheduleAgentTask implements ScheduleAgentTask<Msg> {
      * instance with clean state for each execution, using the configuration from RuntimeAgentConfig.
      * The agent is built with the configured model, toolkit (if provided), and hooks (if provided).
      *
+     * @param agentConfig The runtime agent configuration
      * @return A new ReActAgent instance
      * @throws IllegalArgumentException if name, sysPrompt, or model is missing
      */
-    private Agent createAgent() {
-        String name = Optional.ofNullable(this.agentConfig.getName()).orElse("");
-        String sysPrompt = Optional.ofNullable(this.agentConfig.getSysPrompt()).orElse("");
+    static ReActAgent createAgent(RuntimeAgentConfig agentConfig) {
+        String name = Optional.ofNullable(agentConfig.getName()).orElse("");
+        String sysPrompt = Optional.ofNullable(agentConfig.getSysPrompt()).orElse("");
 
         if (name.isEmpty() || sysPrompt.isEmpty()) {
             throw new IllegalArgumentException(
                     "Parameter configuration error: name or sysPrompt cannot be empty.");
         }
         ReActAgent.Builder builder = ReActAgent.builder().name(name).sysPrompt(sysPrompt);
-        Model model = this.agentConfig.getModel();
+        Model model = agentConfig.getModel();
         if (model != null) {
-            builder.model(this.agentConfig.getModel());
+            builder.model(model);
         } else {
             throw new IllegalArgumentException("Model cannot be null.");
         }
-        Toolkit toolkit = this.agentConfig.getToolkit();
+        Toolkit toolkit = agentConfig.getToolkit();
         if (toolkit != null) {
             builder.toolkit(toolkit);
         }
-        List<Hook> hooks = this.agentConfig.getHooks();
+        List<Hook> hooks = agentConfig.getHooks();
         if (hooks != null) {
             builder.hooks(hooks);
         }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.extensions.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import io.agentscope.core.ReActAgent;
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.model.ChatResponse;
+import io.agentscope.core.model.GenerateOptions;
+import io.agentscope.core.model.Model;
+import io.agentscope.core.model.ToolSchema;
+import io.agentscope.core.permission.PermissionBehavior;
+import io.agentscope.core.permission.PermissionContextState;
+import io.agentscope.core.permission.PermissionEngine;
+import io.agentscope.core.permission.PermissionRule;
+import io.agentscope.core.state.AgentState;
+import io.agentscope.extensions.scheduler.config.ModelConfig;
+import io.agentscope.extensions.scheduler.config.RuntimeAgentConfig;
+import io.agentscope.extensions.scheduler.config.ScheduleConfig;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+/** Unit tests for {@link AgentPool}. */
+class AgentPoolTest {
+
+    private final AtomicInteger modelCalls = new AtomicInteger();
+    private RuntimeAgentConfig agentConfig;
+
+    @BeforeEach
+    void setUp() {
+        Model model =
+                new Model() {
+                    @Override
+                    public Flux<ChatResponse> stream(
+                            List<Msg> messages, List<ToolSchema> tools, GenerateOptions options) {
+                        modelCalls.incrementAndGet();
+                        return Flux.just(
+                                ChatResponse.builder()
+                                        .content(List.of(TextBlock.builder().text("done").build()))
+                                        .build());
+                    }
+
+                    @Override
+                    public String getModelName() {
+                        return "test-model";
+                    }
+                };
+        agentConfig =
+                RuntimeAgentConfig.builder()
+                        .name("PooledAgent")
+                        .modelConfig(modelConfig(model))
+                        .sysPrompt("You are a test assistant")
+                        .build();
+    }
+
+    @Test
+    void testRunsReuseResetAgent() {
+        AgentPool pool = AgentPool.builder().build();
+        BaseScheduleAgentTask task =
+                new BaseScheduleAgentTask(
+                        agentConfig,
+                        ScheduleConfig.builder().build(),
+                        mock(AgentScheduler.class),
+                        pool);
+
+        Msg first = task.run(userMsg("first")).block();
+        assertEquals("done", first.getTextContent());
+        assertEquals(1, pool.getIdleCount(agentConfig));
+
+        ReActAgent pooled = pool.acquire(agentConfig);
+        assertTrue(
+                pooled.getAgentState(null, pooled.getDefaultSessionId()).getContext().isEmpty(),
+                "Released agents must not keep the previous conversation");
+        pool.release(agentConfig, pooled);
+
+        task.run(userMsg("second")).block();
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(2, pool.getReusedCount());
+        assertEquals(2, task.getExecutionCount());
+        assertEquals(2, modelCalls.get());
+    }
+
+    @Test
+    void testReleaseDropsGrantsAndToolState() {
+        AgentPool pool = AgentPool.builder().build();
+        ReActAgent agent = pool.acquire(agentConfig);
+        AgentState state = agent.getAgentState(null, agent.getDefaultSessionId());
+        state.setPermissionContext(
+                PermissionContextState.builder()
+                        .addAllowRule(
+                                "bash",
+                                new PermissionRule(
+                                        "bash", null, PermissionBehavior.ALLOW, "session"))
+                        .build());
+        state.getToolContext().setActivatedGroups(List.of("web"));
+        @SuppressWarnings("deprecation")
+        PermissionEngine engine = agent.getPermissionEngine();
+
+        pool.release(agentConfig, agent);
+        ReActAgent reused = pool.acquire(agentConfig);
+        assertSame(agent, reused);
+
+        AgentState fresh = reused.getAgentState(null, reused.getDefaultSessionId());
+        assertNotSame(state, fresh);
+        assertTrue(fresh.getPermissionContext().getAllowRules().isEmpty());
+        assertTrue(fresh.getToolContext().getActivatedGroups().isEmpty());
+        @SuppressWarnings("deprecation")
+        PermissionEngine reusedEngine = reused.getPermissionEngine();
+        assertNotSame(engine, reusedEngine);
+    }
+
+    @Test
+    void testIdleLimitAndFailedRuns() {
+        AgentPool pool = AgentPool.builder().maxIdlePerConfig(1).build();
+        ReActAgent a = pool.acquire(agentConfig);
+        ReActAgent b = pool.acquire(agentConfig);
+        assertNotSame(a, b);
+
+        pool.release(agentConfig, a);
+        pool.release(agentConfig, b);
+        assertEquals(1, pool.getIdleCount(agentConfig));
+        assertSame(a, pool.acquire(agentConfig));
+
+        RuntimeAgentConfig noModel =
+                RuntimeAgentConfig.builder()
+                        .name("Broken")
+                        .modelConfig(modelConfig(null))
+                        .sysPrompt("prompt")
+                        .build();
+        BaseScheduleAgentTask task =
+                new BaseScheduleAgentTask(
+                        noModel,
+                        ScheduleConfig.builder().build(),
+                        mock(AgentScheduler.class),
+                        pool);
+        assertThrows(IllegalArgumentException.class, () -> task.run().block());
+        assertEquals(0, pool.getIdleCount(noModel));
+
+        pool.clear();
+        assertEquals(0, pool.getIdleCount(agentConfig));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> AgentPool.builder().maxIdlePerConfig(0).build());
+    }
+
+    private static ModelConfig modelConfig(Model model) {
+        return new ModelConfig() {
+            @Override
+            public String getModelName() {
+                return "test-model";
+            }
+
+            @Override
+            public Model createModel() {
+                return model;
+            }
+        };
+    }
+
+    private static Msg userMsg(String text) {
+        return Msg.builder()
+                .role(MsgRole.USER)
+                .content(TextBlock.builder().text(text).build())
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.extensions.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+/** Unit tests for {@link AsyncAgentExecutor}. */
+class AsyncAgentExecutorTest {
+
+    private final List<Sinks.One<String>> pending = new ArrayList<>();
+
+    private Mono<String> controlledRun() {
+        Sinks.One<String> sink = Sinks.one();
+        pending.add(sink);
+        return sink.asMono();
+    }
+
+    private AsyncAgentExecutor.Builder builder() {
+        return AsyncAgentExecutor.builder().scheduler(Schedulers.immediate());
+    }
+
+    @Test
+    void testPerTaskLimitQueuesAndRejects() {
+        AsyncAgentExecutor executor =
+                builder().maxConcurrencyPerTask(1).maxQueuedPerTask(1).build();
+
+        Mono<String> first = executor.submit("a", this::controlledRun);
+        Mono<String> second = executor.submit("a", this::controlledRun);
+        Mono<String> third = executor.submit("a", this::controlledRun);
+
+        assertEquals(1, pending.size(), "Only one run of the task may be in flight");
+        StepVerifier.create(third).expectError(RejectedExecutionException.class).verify();
+        assertEquals(new AsyncAgentExecutor.Stats(3, 0, 0, 1, 0, 1, 1), executor.getStats("a"));
+
+        pending.get(0).tryEmitValue("one");
+        StepVerifier.create(first).expectNext("one").verifyComplete();
+        assertEquals(2, pending.size(), "Queued run starts when the slot frees up");
+
+        pending.get(1).tryEmitError(new IllegalStateException("boom"));
+        StepVerifier.create(second).expectError(IllegalStateException.class).verify();
+
+        AsyncAgentExecutor.Stats stats = executor.getStats();
+        assertEquals(1, stats.completed());
+        assertEquals(1, stats.failed());
+        assertEquals(0, stats.running());
+        assertEquals(0, stats.queued());
+    }
+
+    @Test
+    void testGlobalLimitIsFairAcrossTasks() {
+        AsyncAgentExecutor executor =
+                builder().maxConcurrency(1).maxConcurrencyPerTask(2).maxBacklog(2).build();
+
+        executor.submit("a", this::controlledRun);
+        Mono<String> queuedB = executor.submit("b", this::controlledRun);
+        executor.submit("a", this::controlledRun);
+        StepVerifier.create(executor.submit("c", this::controlledRun))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+        assertEquals(1, pending.size());
+
+        pending.get(0).tryEmitValue("a1");
+        assertEquals(2, pending.size());
+        pending.get(1).tryEmitValue("b1");
+        StepVerifier.create(queuedB).expectNext("b1").verifyComplete();
+        assertEquals(1, executor.getStats().running());
+        assertEquals(1, executor.getStats("a").running());
+    }
+
+    @Test
+    void testMisfiresAndShutdown() {
+        AsyncAgentExecutor executor = builder().build();
+        executor.recordMisfire("a");
+        executor.recordMisfire("a");
+        assertEquals(2, executor.getStats("a").misfired());
+        assertEquals(AsyncAgentExecutor.Stats.EMPTY, executor.getStats("unknown"));
+
+        Mono<String> running = executor.submit("a", this::controlledRun);
+        Mono<String> queued = executor.submit("a", this::controlledRun);
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+
+        StepVerifier.create(running).expectError(CancellationException.class).verify();
+        StepVerifier.create(queued).expectError(CancellationException.class).verify();
+        StepVerifier.create(executor.submit("a", this::controlledRun))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> AsyncAgentExecutor.builder().maxConcurrency(0).build());
+    }
+}
@@ -17,11 +17,14 @@ package io.agentscope.extensions.scheduler.quartz;
 
 import io.agentscope.core.message.Msg;
 import io.agentscope.core.util.JsonUtils;
+import io.agentscope.extensions.scheduler.AsyncAgentExecutor;
 import io.agentscope.extensions.scheduler.ScheduleAgentTask;
 import io.agentscope.extensions.scheduler.config.ScheduleMode;
+import java.util.concurrent.RejectedExecutionException;
 import org.quartz.InterruptableJob;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +34,10 @@ import org.slf4j.LoggerFactory;
  * <p>This job retrieves the corresponding {@link QuartzAgentScheduler} and
  * {@link QuartzScheduleAgentTask} using job data, and then executes the agent's run logic.
  * It also handles the rescheduling for {@code FIXED_DELAY} tasks.
+ *
+ * <p>If the scheduler has an {@link AsyncAgentExecutor}, the run is submitted to it and the job
+ * returns without waiting; {@code FIXED_DELAY} tasks are then rescheduled once the run completes
+ * or is rejected.
  */
 public class AgentQuartzJob implements InterruptableJob {
 
@@ -89,6 +96,12 @@ public class AgentQuartzJob implements InterruptableJob {
             }
         }
 
+        AsyncAgentExecutor asyncExecutor = scheduler.getAsyncExecutor();
+        if (asyncExecutor != null) {
+            submit(asyncExecutor, scheduler, task, taskName, inputMsg, context);
+            return;
+        }
+
         try {
             // Blocking is acceptable here because Quartz jobs run in their own dedicated thread
             // pool
@@ -114,6 +127,52 @@ public class AgentQuartzJob implements InterruptableJob {
         }
     }
 
+    private void submit(
+            AsyncAgentExecutor asyncExecutor,
+            QuartzAgentScheduler scheduler,
+            QuartzScheduleAgentTask task,
+            String taskName,
+            Msg inputMsg,
+            JobExecutionContext context) {
+        JobKey jobKey = context.getJobDetail().getKey();
+        boolean fixedDelay = task.getScheduleConfig().getScheduleMode() == ScheduleMode.FIXED_DELAY;
+        long delay =
+                fixedDelay ? context.getJobDetail().getJobDataMap().getLongValue("fixedDelay") : 0L;
+
+        asyncExecutor
+                .submit(taskName, () -> inputMsg != null ? task.run(inputMsg) : task.run())
+                .subscribe(
+                        result -> {},
+                        error -> {
+                            if (error instanceof RejectedExecutionException) {
+                                logger.warn("Skipped scheduled agent task: {}", error.getMessage());
+                                // Keep the fixed delay chain alive; the next run waits again
+                                if (fixedDelay) {
+                                    rescheduleQuietly(scheduler, jobKey, delay);
+                                }
+                            } else {
+                                logger.error(
+                                        "Error executing scheduled agent task: {}",
+                                        taskName,
+                                        error);
+                            }
+                        },
+                        () -> {
+                            if (fixedDelay && !interrupted) {
+                                rescheduleQuietly(scheduler, jobKey, delay);
+                            }
+                        });
+    }
+
+    private static void rescheduleQuietly(
+            QuartzAgentScheduler scheduler, JobKey jobKey, long delay) {
+        try {
+            scheduler.rescheduleNextFixedDelay(jobKey, delay);
+        } catch (RuntimeException e) {
+            // Already logged by the scheduler; there is no Quartz thread to report to
+        }
+    }
+
     /**
      * Interrupts the currently running job.
      */
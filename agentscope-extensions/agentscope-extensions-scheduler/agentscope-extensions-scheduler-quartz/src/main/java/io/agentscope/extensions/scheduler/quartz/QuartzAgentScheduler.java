@@ -18,7 +18,9 @@ package io.agentscope.extensions.scheduler.quartz;
 import io.agentscope.core.message.Msg;
 import io.agentscope.core.model.Model;
 import io.agentscope.core.util.JsonUtils;
+import io.agentscope.extensions.scheduler.AgentPool;
 import io.agentscope.extensions.scheduler.AgentScheduler;
+import io.agentscope.extensions.scheduler.AsyncAgentExecutor;
 import io.agentscope.extensions.scheduler.ScheduleAgentTask;
 import io.agentscope.extensions.scheduler.config.AgentConfig;
 import io.agentscope.extensions.scheduler.config.ModelConfig;
@@ -47,6 +49,7 @@ import org.quartz.TriggerBuilder;
 import org.quartz.TriggerKey;
 import org.quartz.impl.StdSchedulerFactory;
 import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.listeners.TriggerListenerSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -110,6 +113,20 @@ import org.slf4j.LoggerFactory;
  *   <li>Each scheduler instance has a unique ID to support multiple schedulers in the same JVM</li>
  * </ul>
  *
+ * <p><b>Asynchronous Execution:</b>
+ * By default a job blocks its Quartz worker thread until the agent replies, so the Quartz thread
+ * pool bounds how many agents can wait on the model at once. With an {@link AsyncAgentExecutor}
+ * configured, jobs hand the run to the executor and return immediately; the executor enforces
+ * its own global and per-task limits and counts misfires reported by Quartz. {@code FIXED_DELAY}
+ * tasks are rescheduled when the run completes. Combine it with an {@link AgentPool} to reuse
+ * agent instances across runs:
+ * <pre>{@code
+ * QuartzAgentScheduler scheduler = QuartzAgentScheduler.builder()
+ *     .asyncExecutor(AsyncAgentExecutor.builder().maxConcurrency(200).build())
+ *     .agentPool(AgentPool.builder().build())
+ *     .build();
+ * }</pre>
+ *
  * @see AgentScheduler
  * @see ScheduleAgentTask
  */
@@ -120,13 +137,21 @@ public class QuartzAgentScheduler implements AgentScheduler {
     private final Scheduler scheduler;
     private final Map<String, QuartzScheduleAgentTask> tasks = new ConcurrentHashMap<>();
     private final String schedulerId;
-
-    private QuartzAgentScheduler(Scheduler scheduler, String schedulerId) {
+    private final AsyncAgentExecutor asyncExecutor;
+    private final AgentPool agentPool;
+
+    private QuartzAgentScheduler(
+            Scheduler scheduler,
+            String schedulerId,
+            AsyncAgentExecutor asyncExecutor,
+            AgentPool agentPool) {
         if (scheduler == null) {
             throw new IllegalArgumentException("Scheduler must not be null");
         }
         this.scheduler = scheduler;
         this.schedulerId = schedulerId;
+        this.asyncExecutor = asyncExecutor;
+        this.agentPool = agentPool;
     }
 
     /**
@@ -136,6 +161,28 @@ public class QuartzAgentScheduler implements AgentScheduler {
         QuartzAgentSchedulerRegistry.register(schedulerId, this);
     }
 
+    /**
+     * Count Quartz misfires of this scheduler's jobs in the async executor's metrics.
+     */
+    private void registerMisfireListener() throws SchedulerException {
+        String listenerName = "agentscope-misfire-" + schedulerId;
+        scheduler
+                .getListenerManager()
+                .addTriggerListener(
+                        new TriggerListenerSupport() {
+                            @Override
+                            public String getName() {
+                                return listenerName;
+                            }
+
+                            @Override
+                            public void triggerMisfired(Trigger trigger) {
+                                asyncExecutor.recordMisfire(trigger.getJobKey().getName());
+                            }
+                        },
+                        GroupMatcher.triggerGroupEquals("agentscope-quartz"));
+    }
+
     /**
      * Create a new Builder instance for QuartzAgentScheduler.
      *
@@ -241,7 +288,8 @@ public class QuartzAgentScheduler implements AgentScheduler {
         }
 
         QuartzScheduleAgentTask task =
-                new QuartzScheduleAgentTask(runtimeConfig, scheduleConfig, this, jobKey, scheduler);
+                new QuartzScheduleAgentTask(
+                        runtimeConfig, scheduleConfig, this, jobKey, scheduler, agentPool);
 
         ScheduleMode mode = scheduleConfig.getScheduleMode();
         if (mode == ScheduleMode.FIXED_RATE) {
@@ -416,6 +464,12 @@ public class QuartzAgentScheduler implements AgentScheduler {
         } catch (SchedulerException e) {
             logger.error("Error occurred while shutting down QuartzAgentScheduler", e);
         } finally {
+            if (asyncExecutor != null) {
+                asyncExecutor.shutdown();
+            }
+            if (agentPool != null) {
+                agentPool.clear();
+            }
             QuartzAgentSchedulerRegistry.unregister(schedulerId);
         }
     }
@@ -425,6 +479,27 @@ public class QuartzAgentScheduler implements AgentScheduler {
         return "quartz";
     }
 
+    /**
+     * Get the executor that runs jobs asynchronously.
+     *
+     * <p>Use {@link AsyncAgentExecutor#getStats()} to monitor running, queued, rejected and
+     * misfired runs.
+     *
+     * @return The AsyncAgentExecutor, or null if jobs block their Quartz worker thread
+     */
+    public AsyncAgentExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Get the pool tasks of this scheduler borrow agents from.
+     *
+     * @return The AgentPool, or null if each run builds a fresh agent
+     */
+    public AgentPool getAgentPool() {
+        return agentPool;
+    }
+
     /**
      * Pause a scheduled task.
      *
@@ -627,6 +702,8 @@ public class QuartzAgentScheduler implements AgentScheduler {
         private boolean autoStart = true;
         private Scheduler scheduler;
         private String schedulerId = "default-scheduler";
+        private AsyncAgentExecutor asyncExecutor;
+        private AgentPool agentPool;
 
         /**
          * Set the scheduler ID.
@@ -662,6 +739,29 @@ public class QuartzAgentScheduler implements AgentScheduler {
             return this;
         }
 
+        /**
+         * Run jobs asynchronously on the given executor instead of blocking Quartz worker
+         * threads. The executor is shut down together with the scheduler.
+         *
+         * @param asyncExecutor The executor, or null for blocking execution
+         * @return This builder
+         */
+        public Builder asyncExecutor(AsyncAgentExecutor asyncExecutor) {
+            this.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        /**
+         * Reuse agent instances from the given pool instead of building one per run.
+         *
+         * @param agentPool The pool, or null to build a fresh agent per run
+         * @return This builder
+         */
+        public Builder agentPool(AgentPool agentPool) {
+            this.agentPool = agentPool;
+            return this;
+        }
+
         /**
          * Build the QuartzAgentScheduler instance.
          *
@@ -681,12 +781,15 @@ public class QuartzAgentScheduler implements AgentScheduler {
                     throw new IllegalArgumentException("Scheduler must not be null");
                 }
 
+                QuartzAgentScheduler agentScheduler =
+                        new QuartzAgentScheduler(scheduler, schedulerId, asyncExecutor, agentPool);
+                if (asyncExecutor != null) {
+                    agentScheduler.registerMisfireListener();
+                }
                 if (autoStart) {
                     scheduler.start();
                     logger.info("Quartz scheduler started successfully");
                 }
-                QuartzAgentScheduler agentScheduler =
-                        new QuartzAgentScheduler(scheduler, schedulerId);
                 agentScheduler.register();
                 return agentScheduler;
             } catch (SchedulerException e) {
@@ -15,6 +15,7 @@
  */
 package io.agentscope.extensions.scheduler.quartz;
 
+import io.agentscope.extensions.scheduler.AgentPool;
 import io.agentscope.extensions.scheduler.BaseScheduleAgentTask;
 import io.agentscope.extensions.scheduler.config.RuntimeAgentConfig;
 import io.agentscope.extensions.scheduler.config.ScheduleConfig;
@@ -48,7 +49,27 @@ class QuartzScheduleAgentTask extends BaseScheduleAgentTask {
             QuartzAgentScheduler scheduler,
             JobKey jobKey,
             Scheduler quartzScheduler) {
-        super(agentConfig, scheduleConfig, scheduler);
+        this(agentConfig, scheduleConfig, scheduler, jobKey, quartzScheduler, null);
+    }
+
+    /**
+     * Constructs a new QuartzScheduleAgentTask that borrows agents from a pool.
+     *
+     * @param agentConfig    The agent configuration
+     * @param scheduleConfig The schedule configuration
+     * @param scheduler      The parent QuartzAgentScheduler
+     * @param jobKey         The Quartz JobKey
+     * @param quartzScheduler The Quartz Scheduler instance
+     * @param agentPool      The agent pool, or null to build a fresh agent per run
+     */
+    QuartzScheduleAgentTask(
+            RuntimeAgentConfig agentConfig,
+            ScheduleConfig scheduleConfig,
+            QuartzAgentScheduler scheduler,
+            JobKey jobKey,
+            Scheduler quartzScheduler,
+            AgentPool agentPool) {
+        super(agentConfig, scheduleConfig, scheduler, agentPool);
         this.jobKey = jobKey;
         this.quartzScheduler = quartzScheduler;
     }
@@ -16,6 +16,7 @@
 package io.agentscope.extensions.scheduler.quartz;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +29,7 @@ import static org.mockito.Mockito.when;
 
 import io.agentscope.core.message.Msg;
 import io.agentscope.core.message.TextBlock;
+import io.agentscope.extensions.scheduler.AsyncAgentExecutor;
 import io.agentscope.extensions.scheduler.config.ScheduleConfig;
 import io.agentscope.extensions.scheduler.config.ScheduleMode;
 import org.junit.jupiter.api.AfterEach;
@@ -41,6 +43,8 @@ import org.quartz.JobKey;
 import org.quartz.Trigger;
 import org.quartz.TriggerKey;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
 /** Unit tests for {@link AgentQuartzJob}. */
 class AgentQuartzJobTest {
@@ -284,4 +288,41 @@ class AgentQuartzJobTest {
         verify(mockTask, never()).run();
         verify(mockTask, never()).run(any(Msg.class));
     }
+
+    @Test
+    void testExecuteAsyncReschedulesFixedDelayOnCompletion() throws JobExecutionException {
+        AsyncAgentExecutor executor =
+                AsyncAgentExecutor.builder().scheduler(Schedulers.immediate()).build();
+        when(mockScheduler.getAsyncExecutor()).thenReturn(executor);
+        when(mockScheduler.getScheduledAgent(taskName)).thenReturn(mockTask);
+        Sinks.One<Msg> reply = Sinks.one();
+        when(mockTask.run()).thenReturn(reply.asMono());
+
+        ScheduleConfig scheduleConfig = mock(ScheduleConfig.class);
+        when(scheduleConfig.getScheduleMode()).thenReturn(ScheduleMode.FIXED_DELAY);
+        when(mockTask.getScheduleConfig()).thenReturn(scheduleConfig);
+        long delay = 1000L;
+        when(mockJobDataMap.getLongValue("fixedDelay")).thenReturn(delay);
+        JobKey jobKey = new JobKey(taskName);
+        when(mockJobDetail.getKey()).thenReturn(jobKey);
+
+        // The job returns while the agent is still running
+        agentQuartzJob.execute(mockContext);
+        verify(mockTask, times(1)).run();
+        verify(mockScheduler, never()).rescheduleNextFixedDelay(any(), anyLong());
+        assertEquals(1, executor.getStats(taskName).running());
+
+        reply.tryEmitValue(Msg.builder().content(TextBlock.builder().text("done").build()).build());
+        verify(mockScheduler, times(1)).rescheduleNextFixedDelay(jobKey, delay);
+        assertEquals(1, executor.getStats(taskName).completed());
+
+        // A fire that overlaps a running one is queued, further ones are rejected
+        when(mockTask.run()).thenReturn(Mono.never());
+        agentQuartzJob.execute(mockContext);
+        agentQuartzJob.execute(mockContext);
+        agentQuartzJob.execute(mockContext);
+        assertEquals(1, executor.getStats(taskName).queued());
+        assertEquals(1, executor.getStats(taskName).rejected());
+        verify(mockScheduler, times(2)).rescheduleNextFixedDelay(jobKey, delay);
+    }
 }
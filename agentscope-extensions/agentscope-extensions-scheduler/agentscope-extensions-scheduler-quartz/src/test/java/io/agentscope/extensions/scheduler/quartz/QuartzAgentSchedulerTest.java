@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,6 +29,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.agentscope.extensions.scheduler.AgentPool;
+import io.agentscope.extensions.scheduler.AsyncAgentExecutor;
 import io.agentscope.extensions.scheduler.ScheduleAgentTask;
 import io.agentscope.extensions.scheduler.config.AgentConfig;
 import io.agentscope.extensions.scheduler.config.DashScopeModelConfig;
@@ -39,15 +42,19 @@ import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.quartz.CronScheduleBuilder;
 import org.quartz.JobBuilder;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
+import org.quartz.ListenerManager;
+import org.quartz.Matcher;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
 import org.quartz.Trigger;
 import org.quartz.Trigger.TriggerState;
 import org.quartz.TriggerBuilder;
+import org.quartz.TriggerListener;
 import org.quartz.UnableToInterruptJobException;
 
 /** Unit tests for {@link QuartzAgentScheduler}. */
@@ -947,4 +954,36 @@ class QuartzAgentSchedulerTest {
         // Verify unregistered
         assertNull(QuartzAgentSchedulerRegistry.get(customId));
     }
+
+    @Test
+    void testBuilderWithAsyncExecutorCountsMisfires() throws SchedulerException {
+        Scheduler mockScheduler = mock(Scheduler.class);
+        ListenerManager listenerManager = mock(ListenerManager.class);
+        when(mockScheduler.getListenerManager()).thenReturn(listenerManager);
+        AsyncAgentExecutor executor = AsyncAgentExecutor.builder().build();
+        AgentPool pool = AgentPool.builder().build();
+
+        QuartzAgentScheduler asyncScheduler =
+                QuartzAgentScheduler.builder()
+                        .schedulerId("async-scheduler")
+                        .scheduler(mockScheduler)
+                        .asyncExecutor(executor)
+                        .agentPool(pool)
+                        .build();
+        assertSame(executor, asyncScheduler.getAsyncExecutor());
+        assertSame(pool, asyncScheduler.getAgentPool());
+
+        ArgumentCaptor<TriggerListener> listener = ArgumentCaptor.forClass(TriggerListener.class);
+        verify(listenerManager).addTriggerListener(listener.capture(), any(Matcher.class));
+        Trigger trigger =
+                TriggerBuilder.newTrigger()
+                        .withIdentity("AsyncTask", "agentscope-quartz")
+                        .forJob("AsyncTask", "agentscope-quartz")
+                        .build();
+        listener.getValue().triggerMisfired(trigger);
+        assertEquals(1, executor.getStats("AsyncTask").misfired());
+
+        asyncScheduler.shutdown();
+        assertTrue(executor.isShutdown());
+    }
 }
@@ -25,7 +25,9 @@ import io.agentscope.core.hook.PostReasoningEvent;
 import io.agentscope.core.message.Msg;
 import io.agentscope.core.message.MsgRole;
 import io.agentscope.core.message.TextBlock;
+import io.agentscope.extensions.scheduler.AgentPool;
 import io.agentscope.extensions.scheduler.AgentScheduler;
+import io.agentscope.extensions.scheduler.AsyncAgentExecutor;
 import io.agentscope.extensions.scheduler.BaseScheduleAgentTask;
 import io.agentscope.extensions.scheduler.ScheduleAgentTask;
 import io.agentscope.extensions.scheduler.config.AgentConfig;
@@ -36,6 +38,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
@@ -108,6 +112,14 @@ import reactor.core.publisher.Mono;
  *   <li>Pause/resume operations are not directly supported; use XXL-Job admin console instead</li>
  * </ul>
  *
+ * <p><b>Asynchronous Execution:</b>
+ * By default the JobHandler blocks the XXL-Job executor thread until the agent replies and
+ * reports the outcome to the admin console. When constructed with an {@link AsyncAgentExecutor},
+ * the handler submits the run and returns at once, reporting only whether the run was accepted;
+ * the outcome is logged locally, and agent output is not attached to the XXL-Job log because the
+ * run no longer happens on the handler thread. An {@link AgentPool} lets runs reuse agent
+ * instances instead of building one each time.
+ *
  * @see AgentScheduler
  * @see ScheduleAgentTask
  */
@@ -117,6 +129,8 @@ public class XxlJobAgentScheduler implements AgentScheduler {
 
     private final XxlJobExecutor executor;
     private final Map<String, ScheduleAgentTask> scheduleAgentTasks;
+    private final AsyncAgentExecutor asyncExecutor;
+    private final AgentPool agentPool;
 
     /**
      * Constructor for XxlJobAgentScheduler.
@@ -124,11 +138,26 @@ public class XxlJobAgentScheduler implements AgentScheduler {
      * @param executor The XXL-Job executor instance (must be initialized and started)
      */
     public XxlJobAgentScheduler(XxlJobExecutor executor) {
+        this(executor, null, null);
+    }
+
+    /**
+     * Constructor for XxlJobAgentScheduler with asynchronous execution and agent reuse.
+     *
+     * @param executor The XXL-Job executor instance (must be initialized and started)
+     * @param asyncExecutor The executor runs are submitted to, or null to run on the handler
+     *     thread
+     * @param agentPool The pool to borrow agents from, or null to build a fresh agent per run
+     */
+    public XxlJobAgentScheduler(
+            XxlJobExecutor executor, AsyncAgentExecutor asyncExecutor, AgentPool agentPool) {
         if (executor == null) {
             throw new IllegalArgumentException("XxlJobExecutor must not be null");
         }
         this.executor = executor;
         this.scheduleAgentTasks = new ConcurrentHashMap<>();
+        this.asyncExecutor = asyncExecutor;
+        this.agentPool = agentPool;
     }
 
     /**
@@ -202,7 +231,7 @@ public class XxlJobAgentScheduler implements AgentScheduler {
 
         // Create ScheduleAgent (implements ScheduleAgentTask)
         BaseScheduleAgentTask scheduleAgentTask =
-                new BaseScheduleAgentTask(runtimeAgentConfig, scheduleConfig, this);
+                new BaseScheduleAgentTask(runtimeAgentConfig, scheduleConfig, this, agentPool);
 
         try {
             // Register JobHandler to XXL-Job with version compatibility
@@ -210,7 +239,11 @@ public class XxlJobAgentScheduler implements AgentScheduler {
                     new IJobHandler() {
                         @Override
                         public void execute() throws Exception {
-                            executeAgent(scheduleAgentTask);
+                            if (asyncExecutor != null) {
+                                submitAgent(scheduleAgentTask);
+                            } else {
+                                executeAgent(scheduleAgentTask);
+                            }
                         }
                     };
             registerJobHandler(jobName, jobHandler);
@@ -262,12 +295,7 @@ public class XxlJobAgentScheduler implements AgentScheduler {
                     context != null ? context.getJobId() : "N/A",
                     context != null ? context.getJobParam() : "N/A");
             // Prepare input message with XXL-Job context
-            String jobParam = context != null ? context.getJobParam() : "";
-            Msg inputMsg =
-                    Msg.builder()
-                            .role(MsgRole.USER)
-                            .content(TextBlock.builder().text(jobParam).build())
-                            .build();
+            Msg inputMsg = buildInputMsg(context);
 
             // Create a fresh Agent instance for this execution
             Msg result = scheduleAgentTask.run(inputMsg).block();
@@ -286,6 +314,52 @@ public class XxlJobAgentScheduler implements AgentScheduler {
         }
     }
 
+    /**
+     * Submit the scheduled agent task to the async executor without waiting for it.
+     *
+     * <p>The XXL-Job execution is marked successful once the run is accepted, and failed if the
+     * executor rejects it because the task or the executor is at its limit.
+     *
+     * @param scheduleAgentTask The scheduled task to submit
+     */
+    private void submitAgent(BaseScheduleAgentTask scheduleAgentTask) {
+        String name = scheduleAgentTask.getName();
+        Msg inputMsg = buildInputMsg(XxlJobContext.getXxlJobContext());
+        AtomicBoolean rejected = new AtomicBoolean();
+
+        // Rejection is signalled synchronously, before submit returns
+        asyncExecutor
+                .submit(name, () -> scheduleAgentTask.run(inputMsg))
+                .subscribe(
+                        result ->
+                                logger.info(
+                                        "Successfully executed scheduled task '{}'. Result: {}",
+                                        name,
+                                        result.getTextContent()),
+                        error -> {
+                            if (error instanceof RejectedExecutionException) {
+                                rejected.set(true);
+                                logger.warn("Skipped scheduled task: {}", error.getMessage());
+                            } else {
+                                logger.error("Failed to execute scheduled task '{}'", name, error);
+                            }
+                        });
+
+        if (rejected.get()) {
+            XxlJobHelper.handleFail("Scheduled task '" + name + "' rejected: executor is busy");
+        } else {
+            XxlJobHelper.handleSuccess("Submitted scheduled task '" + name + "'");
+        }
+    }
+
+    private static Msg buildInputMsg(XxlJobContext context) {
+        String jobParam = context != null ? context.getJobParam() : "";
+        return Msg.builder()
+                .role(MsgRole.USER)
+                .content(TextBlock.builder().text(jobParam).build())
+                .build();
+    }
+
     /**
      * Cancel a scheduled task.
      *
@@ -343,10 +417,25 @@ public class XxlJobAgentScheduler implements AgentScheduler {
     public void shutdown() {
         logger.info("Shutting down XxlJobAgentScheduler. Removing all registered JobHandlers...");
         this.executor.destroy();
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+        }
+        if (agentPool != null) {
+            agentPool.clear();
+        }
         scheduleAgentTasks.clear();
         logger.info("XxlJobAgentScheduler shutdown completed");
     }
 
+    /**
+     * Get the executor runs are submitted to.
+     *
+     * @return The AsyncAgentExecutor, or null if runs block the XXL-Job handler thread
+     */
+    public AsyncAgentExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
     /**
      * Get the type identifier of this scheduler implementation.
      *
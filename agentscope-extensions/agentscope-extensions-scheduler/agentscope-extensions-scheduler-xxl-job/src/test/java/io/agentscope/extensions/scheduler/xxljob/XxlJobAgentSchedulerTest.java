@@ -23,6 +23,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 import com.xxl.job.core.executor.XxlJobExecutor;
+import io.agentscope.extensions.scheduler.AgentPool;
+import io.agentscope.extensions.scheduler.AsyncAgentExecutor;
+import io.agentscope.extensions.scheduler.BaseScheduleAgentTask;
 import io.agentscope.extensions.scheduler.ScheduleAgentTask;
 import io.agentscope.extensions.scheduler.config.AgentConfig;
 import io.agentscope.extensions.scheduler.config.DashScopeModelConfig;
@@ -634,4 +637,29 @@ class XxlJobAgentSchedulerTest {
             assertEquals(0, scheduler.getAllScheduleAgentTasks().size());
         }
     }
+
+    @Test
+    void testAsyncExecutionWithAgentPool() {
+        AsyncAgentExecutor asyncExecutor = AsyncAgentExecutor.builder().build();
+        AgentPool pool = AgentPool.builder().build();
+        XxlJobAgentScheduler asyncScheduler =
+                new XxlJobAgentScheduler(mockExecutor, asyncExecutor, pool);
+        assertSame(asyncExecutor, asyncScheduler.getAsyncExecutor());
+
+        RuntimeAgentConfig agentConfig =
+                RuntimeAgentConfig.builder()
+                        .name("AsyncAgent")
+                        .modelConfig(
+                                DashScopeModelConfig.builder()
+                                        .apiKey("test-key")
+                                        .modelName("qwen-max")
+                                        .build())
+                        .sysPrompt("Test prompt")
+                        .build();
+        ScheduleAgentTask task = asyncScheduler.schedule(agentConfig);
+        assertSame(pool, ((BaseScheduleAgentTask) task).getAgentPool());
+
+        asyncScheduler.shutdown();
+        assertTrue(asyncExecutor.isShutdown());
+    }
 }
@@ -292,6 +292,16 @@ public class GitSkillRepository implements AgentSkillRepository {
         return SkillFileSystemHelper.getAllSkills(skillsPath, getSource());
     }
 
+    /**
+     * Returns the commit id checked out after syncing, so a {@link CachingSkillRepository} only
+     * re-reads the skills after a pull brought in a new commit.
+     */
+    @Override
+    public String getCatalogVersion() {
+        ensureAutoSynced();
+        return resolveLocalHead();
+    }
+
     @Override
     public boolean skillExists(String skillName) {
         ensureAutoSynced();
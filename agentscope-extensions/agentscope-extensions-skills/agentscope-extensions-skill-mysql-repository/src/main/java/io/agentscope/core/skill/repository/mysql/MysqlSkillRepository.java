@@ -19,6 +19,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import io.agentscope.core.skill.AgentSkill;
 import io.agentscope.core.skill.repository.AgentSkillRepository;
 import io.agentscope.core.skill.repository.AgentSkillRepositoryInfo;
+import io.agentscope.core.skill.repository.SkillMetadata;
 import io.agentscope.core.util.JsonUtils;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -596,6 +597,85 @@ public class MysqlSkillRepository implements AgentSkillRepository {
         }
     }
 
+    /**
+     * Lists skill metadata with a single query over the skills table; {@code skill_content} and
+     * resources are not read. The version of each skill is its row id plus {@code updated_at},
+     * which changes on every save since saves replace the row.
+     */
+    @Override
+    public List<SkillMetadata> listSkillMetadata() {
+        String selectSql =
+                "SELECT id, name, description, source, updated_at"
+                        + (metadataJsonColumnSupported ? ", metadata_json" : "")
+                        + " FROM "
+                        + getFullTableName(skillsTableName)
+                        + " ORDER BY name";
+
+        List<SkillMetadata> result = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(selectSql);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String name = rs.getString("name");
+                String metadataJson =
+                        metadataJsonColumnSupported ? rs.getString("metadata_json") : null;
+                String version = rs.getLong("id") + "@" + rs.getTimestamp("updated_at");
+                try {
+                    result.add(
+                            new SkillMetadata(
+                                    deserializeMetadata(
+                                            metadataJson, name, rs.getString("description")),
+                                    rs.getString("source"),
+                                    version));
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Failed to build skill metadata: {}", e.getMessage(), e);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to list skill metadata", e);
+        }
+        return result;
+    }
+
+    /**
+     * Returns row counts, the highest skill id and the latest {@code updated_at} of both tables,
+     * read with one aggregate query. Saves replace rows and deletes shrink the counts, so any
+     * write through a repository changes the token. Returns {@code null} if the query fails.
+     */
+    @Override
+    public String getCatalogVersion() {
+        String skills = getFullTableName(skillsTableName);
+        String resources = getFullTableName(resourcesTableName);
+        String selectSql =
+                "SELECT (SELECT COUNT(*) FROM "
+                        + skills
+                        + "), (SELECT MAX(id) FROM "
+                        + skills
+                        + "), (SELECT MAX(updated_at) FROM "
+                        + skills
+                        + "), (SELECT COUNT(*) FROM "
+                        + resources
+                        + "), (SELECT MAX(updated_at) FROM "
+                        + resources
+                        + ")";
+
+        try (Connection conn = dataSource.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(selectSql);
+                ResultSet rs = stmt.executeQuery()) {
+            if (!rs.next()) {
+                return null;
+            }
+            StringBuilder version = new StringBuilder();
+            for (int i = 1; i <= 5; i++) {
+                version.append(i > 1 ? ":" : "").append(rs.getString(i));
+            }
+            return version.toString();
+        } catch (SQLException e) {
+            logger.debug("Failed to read skill catalog version: {}", e.getMessage());
+            return null;
+        }
+    }
+
     @Override
     public boolean save(List<AgentSkill> skills, boolean force) {
         if (skills == null || skills.isEmpty()) {
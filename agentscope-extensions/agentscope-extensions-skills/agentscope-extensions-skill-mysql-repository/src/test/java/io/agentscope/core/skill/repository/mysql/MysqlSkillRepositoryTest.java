@@ -18,10 +18,12 @@ package io.agentscope.core.skill.repository.mysql;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
@@ -30,10 +32,12 @@ import static org.mockito.Mockito.when;
 
 import io.agentscope.core.skill.AgentSkill;
 import io.agentscope.core.skill.repository.AgentSkillRepositoryInfo;
+import io.agentscope.core.skill.repository.SkillMetadata;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -680,6 +684,45 @@ public class MysqlSkillRepositoryTest {
             assertEquals("hello", skills.get(0).getResources().get("readme.md"));
         }
 
+        @Test
+        @DisplayName("Should list skill metadata without reading content or resources")
+        void testListSkillMetadata() throws SQLException {
+            when(mockResultSet.next()).thenReturn(true, true, false);
+            when(mockResultSet.getLong("id")).thenReturn(7L);
+            when(mockResultSet.getString("name")).thenReturn("skill1");
+            when(mockResultSet.getString("description")).thenReturn("Desc 1");
+            when(mockResultSet.getString("source")).thenReturn("mysql_test");
+            when(mockResultSet.getTimestamp("updated_at"))
+                    .thenReturn(Timestamp.valueOf("2026-01-02 03:04:05"));
+            when(mockResultSet.getString("metadata_json"))
+                    .thenReturn("{\"homepage\":\"https://example.com/1\"}");
+
+            MysqlSkillRepository metadataRepo =
+                    new MysqlSkillRepository(mockDataSource, true, true);
+
+            List<SkillMetadata> metadata = metadataRepo.listSkillMetadata();
+
+            assertEquals(1, metadata.size());
+            assertEquals("skill1", metadata.get(0).name());
+            assertEquals("https://example.com/1", metadata.get(0).metadata().get("homepage"));
+            assertEquals("7@2026-01-02 03:04:05.0", metadata.get(0).version());
+            verify(mockConnection, never())
+                    .prepareStatement(startsWith("SELECT id, name, description, skill_content"));
+        }
+
+        @Test
+        @DisplayName("Should derive the catalog version from one aggregate query")
+        void testGetCatalogVersion() throws SQLException {
+            when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+            when(mockResultSet.next()).thenReturn(true);
+            when(mockResultSet.getString(anyInt())).thenReturn("2", "9", "t1", "3", "t2");
+
+            assertEquals("2:9:t1:3:t2", repo.getCatalogVersion());
+
+            when(mockStatement.executeQuery()).thenThrow(new SQLException("no updated_at"));
+            assertNull(repo.getCatalogVersion());
+        }
+
         @Test
         @DisplayName("Should throw exception when skill not found")
         void testGetSkillNotFound() throws SQLException {
@@ -40,8 +40,10 @@ import io.agentscope.spring.boot.admin.endpoint.AgentscopeStatusEndpoint;
 import io.agentscope.spring.boot.admin.endpoint.AgentscopeSubagentsEndpoint;
 import io.agentscope.spring.boot.admin.endpoint.AgentscopeToolsEndpoint;
 import io.agentscope.spring.boot.admin.endpoint.AgentscopeUsageEndpoint;
+import io.agentscope.spring.boot.admin.metrics.LatencyRecorder;
 import io.agentscope.spring.boot.admin.metrics.MetricsHook;
 import io.agentscope.spring.boot.admin.metrics.MetricsRecorder;
+import io.agentscope.spring.boot.admin.metrics.TimedAgentStateStore;
 import io.agentscope.spring.boot.admin.openapi.AdminOpenApiConfiguration;
 import io.agentscope.spring.boot.admin.properties.AdminProperties;
 import io.agentscope.spring.boot.admin.registry.AgentRegistry;
@@ -60,6 +62,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -149,8 +152,10 @@ public class AgentscopeAdminAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public SnapshotStore agentscopeSnapshotStore() {
-        return new SnapshotStore();
+    public SnapshotStore agentscopeSnapshotStore(AdminProperties properties) {
+        return SnapshotStore.builder()
+                .maxTotalBytes(properties.getUndoMemoryBudget().toBytes())
+                .build();
     }
 
     @Bean
@@ -159,8 +164,9 @@ public class AgentscopeAdminAutoConfiguration {
             AgentRegistry registry,
             SummarizationStrategy summarizer,
             AdminProperties properties,
-            SnapshotStore snapshots) {
-        return new SessionOperations(registry, summarizer, properties, snapshots);
+            SnapshotStore snapshots,
+            LatencyRecorder latency) {
+        return new SessionOperations(registry, summarizer, properties, snapshots, latency);
     }
 
     @Bean
@@ -193,16 +199,50 @@ public class AgentscopeAdminAutoConfiguration {
         return new MetricsRecorder();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public LatencyRecorder agentscopeLatencyRecorder(AdminProperties properties) {
+        return new LatencyRecorder(properties.getLatencyWindow());
+    }
+
     /**
      * Registers a {@link MetricsHook} into {@link AgentBase#addSystemHook(Hook)}
-     * at startup so every subsequently constructed agent contributes token-usage counters.
+     * at startup so every subsequently constructed agent contributes token-usage counters and
+     * phase latencies.
      *
      * <p>The hook is unregistered on context close, so reloading the starter does not double-count.
      */
     @Bean
     @ConditionalOnMissingBean
-    public MetricsHookLifecycle agentscopeMetricsHookLifecycle(MetricsRecorder recorder) {
-        return new MetricsHookLifecycle(new MetricsHook(recorder));
+    public MetricsHookLifecycle agentscopeMetricsHookLifecycle(
+            MetricsRecorder recorder, LatencyRecorder latency) {
+        return new MetricsHookLifecycle(new MetricsHook(recorder, latency));
+    }
+
+    /**
+     * Wraps every {@link AgentStateStore} bean in a {@link TimedAgentStateStore} so state
+     * load/save latency is recorded. Opt-in with {@code agentscope.admin.time-state-store=true}:
+     * the wrapped bean is only assignable to {@code AgentStateStore}, so injection by concrete
+     * type fails, and code checking the store type must unwrap {@link
+     * AgentStateStore#getDelegate()}.
+     */
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "agentscope.admin",
+            name = "time-state-store",
+            havingValue = "true")
+    public static BeanPostProcessor agentscopeTimedStateStorePostProcessor(
+            ObjectProvider<LatencyRecorder> latency) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AgentStateStore store
+                        && !(bean instanceof TimedAgentStateStore)) {
+                    return new TimedAgentStateStore(store, latency.getObject());
+                }
+                return bean;
+            }
+        };
     }
 
     /** Tiny lifecycle bean — wires/unwires the metrics hook with the application context. */
@@ -313,8 +353,12 @@ public class AgentscopeAdminAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public AgentscopeUsageEndpoint agentscopeUsageEndpoint(MetricsRecorder recorder) {
-            return new AgentscopeUsageEndpoint(recorder);
+        public AgentscopeUsageEndpoint agentscopeUsageEndpoint(
+                MetricsRecorder recorder,
+                LatencyRecorder latency,
+                AdminProperties properties,
+                AdminAuditLogger audit) {
+            return new AgentscopeUsageEndpoint(recorder, latency, properties, audit);
         }
 
         @Bean
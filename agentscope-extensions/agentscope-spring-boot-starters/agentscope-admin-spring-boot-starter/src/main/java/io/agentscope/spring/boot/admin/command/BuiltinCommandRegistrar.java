@@ -54,6 +54,20 @@ public final class BuiltinCommandRegistrar {
                         false,
                         true,
                         "List known session keys from the configured AgentStateStore store"));
+        registry.register(
+                new AdminCommand(
+                        "session.page",
+                        "List sessions (paginated)",
+                        "AgentStateStore",
+                        CommandPlane.DATA,
+                        "GET",
+                        base + "/sessions:page",
+                        List.of(),
+                        false,
+                        true,
+                        "List one page of sessions with last update, message count and size;"
+                                + " filter by user, id prefix and update time, continue with"
+                                + " the returned cursor"));
         registry.register(
                 new AdminCommand(
                         "session.messages",
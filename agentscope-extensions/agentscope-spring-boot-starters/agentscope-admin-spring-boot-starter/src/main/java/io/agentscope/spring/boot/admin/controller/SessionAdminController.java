@@ -16,19 +16,23 @@
 package io.agentscope.spring.boot.admin.controller;
 
 import io.agentscope.core.state.AgentStateStore;
+import io.agentscope.core.state.SessionQuery;
 import io.agentscope.spring.boot.admin.audit.AdminAuditLogger;
 import io.agentscope.spring.boot.admin.dto.AgentTaskView;
 import io.agentscope.spring.boot.admin.dto.CompactRequest;
 import io.agentscope.spring.boot.admin.dto.CompactResponse;
 import io.agentscope.spring.boot.admin.dto.MessageView;
 import io.agentscope.spring.boot.admin.dto.PlanModeView;
+import io.agentscope.spring.boot.admin.dto.SessionPageView;
 import io.agentscope.spring.boot.admin.properties.AdminProperties;
 import io.agentscope.spring.boot.admin.service.SessionOperations;
 import jakarta.annotation.Nullable;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -36,7 +40,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
 
 /**
@@ -85,6 +91,66 @@ public class SessionAdminController {
                                         Map.of("count", list.size())));
     }
 
+    /**
+     * One page of sessions with metadata. Pass the returned {@code nextCursor} as {@code cursor}
+     * to fetch the following page with otherwise identical parameters.
+     *
+     * @param sort {@code last_updated} (default) or {@code session_id}
+     * @param order {@code desc} (default) or {@code asc}
+     * @param updatedAfter inclusive lower bound on the last update, epoch millis
+     * @param updatedBefore exclusive upper bound on the last update, epoch millis
+     */
+    @GetMapping("${agentscope.admin.base-path:/v1/admin}/sessions:page")
+    public Mono<SessionPageView> listSessionPage(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Long updatedAfter,
+            @RequestParam(required = false) Long updatedBefore,
+            @RequestHeader(value = OPERATOR_HEADER, required = false) String operator) {
+        SessionQuery query;
+        try {
+            SessionQuery.Builder builder =
+                    SessionQuery.builder().userId(userId).cursor(cursor).sessionIdPrefix(prefix);
+            if (limit != null) {
+                builder.limit(limit);
+            }
+            if (sort != null) {
+                builder.sortBy(SessionQuery.SortBy.valueOf(sort.trim().toUpperCase(Locale.ROOT)));
+            }
+            if (order != null) {
+                builder.descending(!"asc".equalsIgnoreCase(order.trim()));
+            }
+            if (updatedAfter != null) {
+                builder.updatedAfter(updatedAfter);
+            }
+            if (updatedBefore != null) {
+                builder.updatedBefore(updatedBefore);
+            }
+            query = builder.build();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        AgentStateStore stateStore = sessions.getIfAvailable();
+        return ops.listSessionPage(stateStore, query)
+                .doOnSuccess(
+                        page ->
+                                audit.record(
+                                        "session.page",
+                                        operator,
+                                        "*",
+                                        false,
+                                        "ok",
+                                        Map.of(
+                                                "count",
+                                                page.sessions().size(),
+                                                "has_more",
+                                                page.nextCursor() != null)));
+    }
+
     @GetMapping("${agentscope.admin.base-path:/v1/admin}/sessions/{sessionId}/messages")
     public Mono<List<MessageView>> messages(
             @PathVariable String sessionId,
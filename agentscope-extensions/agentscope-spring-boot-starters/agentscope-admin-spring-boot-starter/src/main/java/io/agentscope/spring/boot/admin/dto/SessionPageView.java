@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.spring.boot.admin.dto;
+
+import io.agentscope.core.state.SessionInfo;
+import io.agentscope.core.state.SessionPage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response body for {@code GET /v1/admin/sessions:page}.
+ *
+ * <p>Numeric fields are {@code -1} when the store cannot report them cheaply.
+ *
+ * @param sessions the sessions of this page, in the requested order
+ * @param nextCursor opaque cursor for the following page, or {@code null} on the last page
+ */
+public record SessionPageView(List<Entry> sessions, String nextCursor) {
+
+    /**
+     * One listed session.
+     *
+     * @param userId owning user, {@code null} for anonymous sessions
+     * @param sessionId session identifier
+     * @param lastUpdated epoch millis of the last write
+     * @param messageCount context size of the last saved agent state
+     * @param size stored bytes
+     * @param componentCount number of stored state keys
+     */
+    public record Entry(
+            String userId,
+            String sessionId,
+            long lastUpdated,
+            int messageCount,
+            long size,
+            int componentCount) {}
+
+    public static SessionPageView of(SessionPage page) {
+        List<Entry> sessions = new ArrayList<>(page.sessions().size());
+        for (SessionInfo info : page.sessions()) {
+            sessions.add(
+                    new Entry(
+                            info.getUserId(),
+                            info.getSessionId(),
+                            info.getLastModified(),
+                            info.getMessageCount(),
+                            info.getSize(),
+                            info.getComponentCount()));
+        }
+        return new SessionPageView(sessions, page.nextCursor());
+    }
+}
@@ -15,16 +15,29 @@
  */
 package io.agentscope.spring.boot.admin.endpoint;
 
+import io.agentscope.spring.boot.admin.audit.AdminAuditLogger;
+import io.agentscope.spring.boot.admin.metrics.LatencyRecorder;
 import io.agentscope.spring.boot.admin.metrics.MetricsRecorder;
 import io.agentscope.spring.boot.admin.metrics.UsageStats;
+import io.agentscope.spring.boot.admin.properties.AdminProperties;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
 
 /**
  * {@code GET /actuator/agentscope-usage}: process-cumulative token usage, sliced both by agent
- * name and by model name.
+ * name and by model name, plus latency percentiles per phase under {@code latency}.
+ *
+ * <p>Latency is reported per phase (call, queue wait, state load/save, time to first token, model
+ * call, tool, summary, compaction) globally and by agent, model and tool. Each phase carries
+ * {@code total} (since startup or the last reset) and {@code recent} (the current and previous
+ * rolling window of {@code agentscope.admin.latency-window}).
+ *
+ * <p>{@code DELETE /actuator/agentscope-usage?confirm=yes} clears all counters and histograms, e.g.
+ * at the start of a load test. It is a write operation and is guarded like the other admin writes.
  *
  * <p>Counters reset on JVM restart (in-process only). For long-horizon billing, forward the
  * derived {@link io.agentscope.spring.boot.admin.audit.AdminAuditEvent}s into your data
@@ -34,9 +47,19 @@ import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 public class AgentscopeUsageEndpoint {
 
     private final MetricsRecorder recorder;
+    private final LatencyRecorder latency;
+    private final AdminProperties properties;
+    private final AdminAuditLogger audit;
 
-    public AgentscopeUsageEndpoint(MetricsRecorder recorder) {
+    public AgentscopeUsageEndpoint(
+            MetricsRecorder recorder,
+            LatencyRecorder latency,
+            AdminProperties properties,
+            AdminAuditLogger audit) {
         this.recorder = recorder;
+        this.latency = latency;
+        this.properties = properties;
+        this.audit = audit;
     }
 
     @ReadOperation
@@ -45,14 +68,40 @@ public class AgentscopeUsageEndpoint {
         out.put("global", recorder.globalSnapshot());
         out.put("by_agent", recorder.snapshotByAgent());
         out.put("by_model", recorder.snapshotByModel());
+        Map<String, Object> phases = new LinkedHashMap<>();
+        phases.put("window_seconds", latency.getWindow().toSeconds());
+        phases.put("global", latency.globalSnapshot());
+        phases.put("by_agent", latency.snapshotByAgent());
+        phases.put("by_model", latency.snapshotByModel());
+        phases.put("by_tool", latency.snapshotByTool());
+        out.put("latency", phases);
         return out;
     }
 
     /** Convenience for callers asking only about a single agent. */
     @ReadOperation
-    public UsageStats forAgent(
-            @org.springframework.boot.actuate.endpoint.annotation.Selector String agentName) {
+    public UsageStats forAgent(@Selector String agentName) {
         Map<String, UsageStats> snapshot = recorder.snapshotByAgent();
         return snapshot.getOrDefault(agentName, UsageStats.zero(agentName));
     }
+
+    @DeleteOperation
+    public Map<String, Object> reset(String confirm, String token) {
+        WriteGuardSupport.check(properties, token, confirm);
+        UsageStats before = recorder.globalSnapshot();
+        recorder.reset();
+        latency.reset();
+        Map<String, Object> attrs = new LinkedHashMap<>();
+        attrs.put("calls_before", before.calls());
+        audit.record(
+                "system.usage.reset",
+                /* operator */ null,
+                /* target */ "process",
+                /* writes */ true,
+                /* outcome */ "ok",
+                attrs);
+        Map<String, Object> out = new LinkedHashMap<>(attrs);
+        out.put("reset", true);
+        return out;
+    }
 }
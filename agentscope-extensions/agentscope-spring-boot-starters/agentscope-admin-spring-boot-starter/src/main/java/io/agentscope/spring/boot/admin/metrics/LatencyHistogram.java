@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.spring.boot.admin.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets over microseconds.
+ *
+ * <p>Values below 64µs get one bucket each; above that every power-of-two range is split into 32
+ * equal sub-buckets, so a reported percentile is within ~3% of the true sample. Values beyond
+ * {@link #MAX_TRACKABLE_MICROS} (~19 hours) are clamped. Recording is a bucket index computation
+ * plus one {@link AtomicLongArray} increment; the sum and max use {@link LongAdder} and {@link
+ * LongAccumulator} so hot paths never contend on a single counter.
+ *
+ * <p>Reads copy the buckets without stopping writers, so a snapshot taken during recording may
+ * miss samples that land concurrently, never more.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+
+    static final long MAX_TRACKABLE_MICROS = (1L << 36) - 1;
+    static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    void record(long micros) {
+        long value = Math.min(Math.max(0L, micros), MAX_TRACKABLE_MICROS);
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /** Adds this histogram's current contents to {@code into}. */
+    void copyInto(Counts into) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            into.buckets[i] += counts.get(i);
+        }
+        into.sum += sum.sum();
+        into.max = Math.max(into.max, max.get());
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0L);
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        int sub = (int) (micros >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + sub;
+    }
+
+    /** Returns the midpoint of the values that map to bucket {@code index}. */
+    static long valueAt(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+        int sub = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        long lower = (long) (SUB_BUCKET_COUNT + sub) << shift;
+        return lower + ((1L << shift) >> 1);
+    }
+
+    /** Mutable merge target for one or more histograms. */
+    static final class Counts {
+        private final long[] buckets = new long[BUCKET_COUNT];
+        private long sum;
+        private long max;
+
+        LatencyStats toStats() {
+            long count = 0;
+            for (long c : buckets) {
+                count += c;
+            }
+            if (count == 0) {
+                return LatencyStats.EMPTY;
+            }
+            return new LatencyStats(
+                    count,
+                    millis((double) sum / count),
+                    millis(percentile(count, 0.50)),
+                    millis(percentile(count, 0.90)),
+                    millis(percentile(count, 0.99)),
+                    millis(percentile(count, 0.999)),
+                    millis(max));
+        }
+
+        private long percentile(long count, double quantile) {
+            long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    // Bucket midpoints may overshoot the largest sample actually seen.
+                    return Math.min(valueAt(i), max);
+                }
+            }
+            return max;
+        }
+
+        private static double millis(double micros) {
+            return Math.round(micros) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.spring.boot.admin.metrics;
+
+import java.util.Locale;
+
+/**
+ * Timed phases of an agent call recorded by {@link LatencyRecorder}.
+ *
+ * <p>Model-bound phases are additionally sliced by model name and {@link #TOOL} by tool name.
+ */
+public enum LatencyPhase {
+
+    /** Whole {@code call()}, from the pre-call hooks to the post-call hooks. */
+    CALL(Subject.NONE),
+
+    /** Time a call waited behind earlier calls of the same session before it was admitted. */
+    QUEUE_WAIT(Subject.NONE),
+
+    /** {@code AgentStateStore} reads: {@code get}, {@code getList} and {@code version}. */
+    STATE_LOAD(Subject.NONE),
+
+    /** {@code AgentStateStore} writes: {@code save} and {@code append}. */
+    STATE_SAVE(Subject.NONE),
+
+    /** From the start of a reasoning step to the first streamed chunk of the model response. */
+    TIME_TO_FIRST_TOKEN(Subject.MODEL),
+
+    /** One reasoning step, i.e. one model call including its streamed response. */
+    MODEL_CALL(Subject.MODEL),
+
+    /** One tool execution, from the pre-acting to the post-acting hook. */
+    TOOL(Subject.TOOL),
+
+    /** The summary a ReAct agent writes when it reaches its maximum number of iterations. */
+    SUMMARY(Subject.MODEL),
+
+    /** Compacting a session's history on request of the admin API. */
+    COMPACTION(Subject.MODEL);
+
+    enum Subject {
+        NONE,
+        MODEL,
+        TOOL
+    }
+
+    private final Subject subject;
+
+    LatencyPhase(Subject subject) {
+        this.subject = subject;
+    }
+
+    Subject subject() {
+        return subject;
+    }
+
+    /** Lower-case key used in endpoint payloads, e.g. {@code time_to_first_token}. */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.spring.boot.admin.metrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe recorder of per-phase latency distributions, sliced by agent name, by model name
+ * (model-bound phases) and by tool name ({@link LatencyPhase#TOOL}).
+ *
+ * <p>Each phase of each bucket keeps two {@link LatencyHistogram}s' worth of data: a cumulative
+ * one and a rolling window that rotates every {@code window} (one minute by default). Snapshots
+ * report both, so capacity dashboards can read current behaviour without the tail being diluted
+ * by hours of history. Histograms are created on the first sample of a phase, so agents that
+ * never call tools carry no tool histograms.
+ */
+public final class LatencyRecorder {
+
+    private static final LatencyPhase[] PHASES = LatencyPhase.values();
+
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final Series global = new Series();
+    private final ConcurrentMap<String, Series> byAgent = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Series> byModel = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Series> byTool = new ConcurrentHashMap<>();
+
+    public LatencyRecorder() {
+        this(Duration.ofMinutes(1));
+    }
+
+    public LatencyRecorder(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    LatencyRecorder(Duration window, LongSupplier clock) {
+        if (window == null || window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Record one sample.
+     *
+     * @param phase the timed phase
+     * @param agentName agent bucket; ignored when blank
+     * @param subject model name for model-bound phases, tool name for {@link LatencyPhase#TOOL};
+     *     ignored for other phases or when blank
+     * @param durationNanos the measured duration; negative values are dropped
+     */
+    public void record(LatencyPhase phase, String agentName, String subject, long durationNanos) {
+        if (phase == null || durationNanos < 0) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+        long now = clock.getAsLong();
+        global.record(phase, micros, now);
+        if (!isBlank(agentName)) {
+            byAgent.computeIfAbsent(agentName, k -> new Series()).record(phase, micros, now);
+        }
+        if (isBlank(subject)) {
+            return;
+        }
+        switch (phase.subject()) {
+            case MODEL ->
+                    byModel.computeIfAbsent(subject, k -> new Series()).record(phase, micros, now);
+            case TOOL ->
+                    byTool.computeIfAbsent(subject, k -> new Series()).record(phase, micros, now);
+            case NONE -> {}
+        }
+    }
+
+    public Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    /** Phase key to snapshot, across all agents. */
+    public Map<String, LatencySnapshot> globalSnapshot() {
+        return global.snapshot(clock.getAsLong());
+    }
+
+    /** Agent name to phase key to snapshot. */
+    public Map<String, Map<String, LatencySnapshot>> snapshotByAgent() {
+        return snapshotMap(byAgent);
+    }
+
+    /** Model name to phase key to snapshot. */
+    public Map<String, Map<String, LatencySnapshot>> snapshotByModel() {
+        return snapshotMap(byModel);
+    }
+
+    /** Tool name to phase key to snapshot. */
+    public Map<String, Map<String, LatencySnapshot>> snapshotByTool() {
+        return snapshotMap(byTool);
+    }
+
+    /** Phase key to snapshot for a single agent; empty when the agent has no samples. */
+    public Map<String, LatencySnapshot> snapshotForAgent(String agentName) {
+        Series series = agentName == null ? null : byAgent.get(agentName);
+        return series == null ? Map.of() : series.snapshot(clock.getAsLong());
+    }
+
+    /** Drop all samples and start a fresh window. */
+    public void reset() {
+        byAgent.clear();
+        byModel.clear();
+        byTool.clear();
+        global.reset();
+    }
+
+    private Map<String, Map<String, LatencySnapshot>> snapshotMap(
+            ConcurrentMap<String, Series> src) {
+        long now = clock.getAsLong();
+        Map<String, Map<String, LatencySnapshot>> out = new LinkedHashMap<>();
+        for (Map.Entry<String, Series> e : src.entrySet()) {
+            out.put(e.getKey(), e.getValue().snapshot(now));
+        }
+        return out;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    /** Lazily created per-phase histograms of one bucket. */
+    private final class Series {
+        private final AtomicReferenceArray<Windowed> phases =
+                new AtomicReferenceArray<>(PHASES.length);
+
+        void record(LatencyPhase phase, long micros, long now) {
+            Windowed windowed = phases.get(phase.ordinal());
+            if (windowed == null) {
+                Windowed created = new Windowed(now);
+                windowed =
+                        phases.compareAndSet(phase.ordinal(), null, created)
+                                ? created
+                                : phases.get(phase.ordinal());
+            }
+            windowed.record(micros, now);
+        }
+
+        Map<String, LatencySnapshot> snapshot(long now) {
+            Map<String, LatencySnapshot> out = new LinkedHashMap<>();
+            for (LatencyPhase phase : PHASES) {
+                Windowed windowed = phases.get(phase.ordinal());
+                if (windowed != null) {
+                    out.put(phase.key(), windowed.snapshot(now));
+                }
+            }
+            return out;
+        }
+
+        void reset() {
+            for (int i = 0; i < PHASES.length; i++) {
+                phases.set(i, null);
+            }
+        }
+    }
+
+    /**
+     * One rolling window: {@code current} receives samples recorded since {@code start}, {@code
+     * previous} (nullable) holds the window before it.
+     */
+    private record Window(long start, LatencyHistogram current, LatencyHistogram previous) {}
+
+    /** Cumulative histogram plus a rolling window, rotated by whichever writer sees it expire. */
+    private final class Windowed {
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final AtomicReference<Window> window;
+
+        Windowed(long now) {
+            this.window = new AtomicReference<>(new Window(now, new LatencyHistogram(), null));
+        }
+
+        void record(long micros, long now) {
+            total.record(micros);
+            current(now).current().record(micros);
+        }
+
+        private Window current(long now) {
+            Window w = window.get();
+            while (now - w.start() >= windowNanos) {
+                long elapsed = (now - w.start()) / windowNanos;
+                Window next =
+                        new Window(
+                                w.start() + elapsed * windowNanos,
+                                new LatencyHistogram(),
+                                elapsed == 1 ? w.current() : null);
+                if (window.compareAndSet(w, next)) {
+                    return next;
+                }
+                w = window.get();
+            }
+            return w;
+        }
+
+        LatencySnapshot snapshot(long now) {
+            LatencyHistogram.Counts totalCounts = new LatencyHistogram.Counts();
+            total.copyInto(totalCounts);
+            // Read-only view of the window: rotation is left to writers so idle buckets do not
+            // allocate on every scrape.
+            Window w = window.get();
+            long elapsed = (now - w.start()) / windowNanos;
+            LatencyHistogram.Counts recentCounts = new LatencyHistogram.Counts();
+            if (elapsed <= 1) {
+                w.current().copyInto(recentCounts);
+            }
+            if (elapsed == 0 && w.previous() != null) {
+                w.previous().copyInto(recentCounts);
+            }
+            return new LatencySnapshot(totalCounts.toStats(), recentCounts.toStats());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.spring.boot.admin.metrics;
+
+/**
+ * Immutable latency distribution for one phase and bucket, in milliseconds.
+ *
+ * <p>Percentiles are resolved from log-linear histogram buckets and are accurate to ~3%;
+ * {@code mean} and {@code max} are exact. All fields are zero when no sample was recorded.
+ */
+public record LatencyStats(
+        long count, double mean, double p50, double p90, double p99, double p999, double max) {
+
+    public static final LatencyStats EMPTY = new LatencyStats(0L, 0, 0, 0, 0, 0, 0);
+}
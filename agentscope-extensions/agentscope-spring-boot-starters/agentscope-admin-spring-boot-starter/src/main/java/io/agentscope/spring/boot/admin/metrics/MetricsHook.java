@@ -17,22 +17,49 @@ package io.agentscope.spring.boot.admin.metrics;
 
 import io.agentscope.core.ReActAgent;
 import io.agentscope.core.agent.Agent;
+import io.agentscope.core.agent.AgentBase;
+import io.agentscope.core.hook.ErrorEvent;
 import io.agentscope.core.hook.Hook;
 import io.agentscope.core.hook.HookEvent;
+import io.agentscope.core.hook.PostActingEvent;
 import io.agentscope.core.hook.PostCallEvent;
+import io.agentscope.core.hook.PostReasoningEvent;
+import io.agentscope.core.hook.PostSummaryEvent;
+import io.agentscope.core.hook.PreActingEvent;
+import io.agentscope.core.hook.PreCallEvent;
+import io.agentscope.core.hook.PreReasoningEvent;
+import io.agentscope.core.hook.PreSummaryEvent;
+import io.agentscope.core.hook.ReasoningChunkEvent;
 import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.ToolUseBlock;
 import io.agentscope.core.model.ChatUsage;
 import io.agentscope.spring.boot.admin.registry.AgentResolver;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
- * Legacy {@link Hook} that observes {@link PostCallEvent} and forwards the per-call token usage
- * to a {@link MetricsRecorder}.
+ * Legacy {@link Hook} that observes call, reasoning, acting and summary events, forwarding the
+ * per-call token usage to a {@link MetricsRecorder} and phase durations to a {@link
+ * LatencyRecorder}.
  *
  * <p>The hook is intentionally a non-modifying observer: it never mutates the agent's final
  * message and always returns the event verbatim, so it is safe to register globally via
  * {@link io.agentscope.core.agent.AgentBase#addSystemHook(Hook)}.
  *
+ * <p>Start and end events are paired per call: the call scope carried on the Reactor Context
+ * ({@link AgentBase#CALL_SCOPE_KEY}) keeps concurrent calls on one agent instance apart, and tool
+ * executions are further keyed by tool-use id. Queue wait is read from {@link
+ * AgentBase#CALL_QUEUE_WAIT_NANOS_KEY} when the call went through a session gate.
+ *
+ * <p>Pending starts are dropped on {@link PostCallEvent} and {@link ErrorEvent}. A cancelled call
+ * emits neither, so the start maps hold their scope weakly: the entries go away once the call's
+ * scope (or, for agents without one, the agent) is no longer reachable.
+ *
  * <p><b>Timing caveat:</b> {@code addSystemHook} only applies to agents constructed AFTER the
  * hook is registered (see {@code AgentBase} constructor). Agents instantiated before the admin
  * starter wires this hook in will not contribute to usage stats.
@@ -41,9 +68,35 @@ import reactor.core.publisher.Mono;
 public final class MetricsHook implements Hook {
 
     private final MetricsRecorder recorder;
+    private final LatencyRecorder latency;
+    private final LongSupplier clock;
+
+    private final Map<Object, Long> callStarts = weakKeys();
+    private final Map<Object, Long> reasoningStarts = weakKeys();
+    private final Map<Object, Long> firstTokenPending = weakKeys();
+    private final Map<Object, Long> summaryStarts = weakKeys();
+    private final Map<Object, Map<String, Long>> toolStarts = weakKeys();
 
     public MetricsHook(MetricsRecorder recorder) {
+        this(recorder, null);
+    }
+
+    /**
+     * @param recorder token usage sink
+     * @param latency phase duration sink; {@code null} records token usage only
+     */
+    public MetricsHook(MetricsRecorder recorder, LatencyRecorder latency) {
+        this(recorder, latency, System::nanoTime);
+    }
+
+    MetricsHook(MetricsRecorder recorder, LatencyRecorder latency, LongSupplier clock) {
         this.recorder = recorder;
+        this.latency = latency;
+        this.clock = clock;
+    }
+
+    private static <V> Map<Object, V> weakKeys() {
+        return Collections.synchronizedMap(new WeakHashMap<>());
     }
 
     @Override
@@ -55,10 +108,105 @@ public final class MetricsHook implements Hook {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends HookEvent> Mono<T> onEvent(T event) {
-        if (event instanceof PostCallEvent post) {
+        if (latency == null) {
+            if (event instanceof PostCallEvent post) {
+                recordSafe(post);
+            }
+            return Mono.just(event);
+        }
+        return Mono.deferContextual(
+                cv -> {
+                    try {
+                        observe(event, cv);
+                    } catch (RuntimeException ignored) {
+                        // Never let a metrics hook break agent execution.
+                    }
+                    return Mono.just(event);
+                });
+    }
+
+    private void observe(HookEvent event, ContextView cv) {
+        long now = clock.getAsLong();
+        Object scope = cv.getOrDefault(AgentBase.CALL_SCOPE_KEY, null);
+        if (scope == null) {
+            scope = event.getAgent();
+        }
+        if (scope == null) {
+            return;
+        }
+        if (event instanceof ReasoningChunkEvent chunk) {
+            Long start = firstTokenPending.remove(scope);
+            if (start != null) {
+                record(LatencyPhase.TIME_TO_FIRST_TOKEN, chunk, chunk.getModelName(), now - start);
+            }
+        } else if (event instanceof PreReasoningEvent) {
+            reasoningStarts.put(scope, now);
+            firstTokenPending.put(scope, now);
+        } else if (event instanceof PostReasoningEvent post) {
+            firstTokenPending.remove(scope);
+            Long start = reasoningStarts.remove(scope);
+            if (start != null) {
+                record(LatencyPhase.MODEL_CALL, post, post.getModelName(), now - start);
+            }
+        } else if (event instanceof PreActingEvent pre) {
+            ToolUseBlock tool = pre.getToolUse();
+            if (tool != null && tool.getId() != null) {
+                toolStarts
+                        .computeIfAbsent(scope, unused -> new ConcurrentHashMap<>())
+                        .put(tool.getId(), now);
+            }
+        } else if (event instanceof PostActingEvent post) {
+            ToolUseBlock tool = post.getToolUse();
+            Map<String, Long> tools = toolStarts.get(scope);
+            Long start =
+                    tool == null || tool.getId() == null || tools == null
+                            ? null
+                            : tools.remove(tool.getId());
+            if (start != null) {
+                record(LatencyPhase.TOOL, post, tool.getName(), now - start);
+            }
+        } else if (event instanceof PreSummaryEvent) {
+            summaryStarts.put(scope, now);
+        } else if (event instanceof PostSummaryEvent post) {
+            Long start = summaryStarts.remove(scope);
+            if (start != null) {
+                record(LatencyPhase.SUMMARY, post, post.getModelName(), now - start);
+            }
+        } else if (event instanceof PreCallEvent pre) {
+            callStarts.put(scope, now);
+            Long waited = cv.getOrDefault(AgentBase.CALL_QUEUE_WAIT_NANOS_KEY, null);
+            if (waited != null) {
+                record(LatencyPhase.QUEUE_WAIT, pre, null, waited);
+            }
+        } else if (event instanceof PostCallEvent post) {
             recordSafe(post);
+            Long start = callStarts.get(scope);
+            if (start != null) {
+                record(LatencyPhase.CALL, post, null, now - start);
+            }
+            forget(scope);
+        } else if (event instanceof ErrorEvent) {
+            forget(scope);
         }
-        return Mono.just(event);
+    }
+
+    private void record(LatencyPhase phase, HookEvent event, String subject, long nanos) {
+        Agent agent = event.getAgent();
+        latency.record(phase, agent == null ? null : agent.getName(), subject, nanos);
+    }
+
+    /** Drop the pending starts of a finished call, including steps cut short by an error. */
+    private void forget(Object scope) {
+        callStarts.remove(scope);
+        reasoningStarts.remove(scope);
+        firstTokenPending.remove(scope);
+        summaryStarts.remove(scope);
+        toolStarts.remove(scope);
+    }
+
+    /** Number of scopes with pending starts; for tests. */
+    int pendingScopes() {
+        return Math.max(callStarts.size(), reasoningStarts.size());
     }
 
     private void recordSafe(PostCallEvent post) {
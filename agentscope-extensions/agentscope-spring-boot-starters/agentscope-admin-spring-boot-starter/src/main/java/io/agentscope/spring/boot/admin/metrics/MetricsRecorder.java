@@ -58,7 +58,7 @@ public final class MetricsRecorder {
         return snapshotMap(byModel);
     }
 
-    /** Test-only — drop all counters. */
+    /** Drop all counters; exposed through the usage endpoint's reset operation. */
     public void reset() {
         byAgent.clear();
         byModel.clear();
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.spring.boot.admin.metrics;
+
+import io.agentscope.core.state.AgentStateStore;
+import io.agentscope.core.state.ReactiveAgentStateStore;
+import io.agentscope.core.state.SessionPage;
+import io.agentscope.core.state.SessionQuery;
+import io.agentscope.core.state.State;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link AgentStateStore} decorator that records read latency as {@link LatencyPhase#STATE_LOAD}
+ * and write latency as {@link LatencyPhase#STATE_SAVE}.
+ *
+ * <p>{@link #reactive()} wraps the delegate's own reactive view, so stores with a native
+ * non-blocking client keep it and agents loading state on the call path are timed as well. Store
+ * calls carry no agent identity, so samples only land in the global bucket.
+ */
+public final class TimedAgentStateStore implements AgentStateStore {
+
+    private final AgentStateStore delegate;
+    private final LatencyRecorder latency;
+
+    public TimedAgentStateStore(AgentStateStore delegate, LatencyRecorder latency) {
+        if (delegate == null || latency == null) {
+            throw new IllegalArgumentException("delegate and latency must not be null");
+        }
+        this.delegate = delegate;
+        this.latency = latency;
+    }
+
+    @Override
+    public AgentStateStore getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void save(String userId, String sessionId, String key, State value) {
+        timed(LatencyPhase.STATE_SAVE, () -> delegate.save(userId, sessionId, key, value));
+    }
+
+    @Override
+    public void save(String userId, String sessionId, String key, List<? extends State> values) {
+        timed(LatencyPhase.STATE_SAVE, () -> delegate.save(userId, sessionId, key, values));
+    }
+
+    @Override
+    public void append(String userId, String sessionId, String key, List<? extends State> items) {
+        timed(LatencyPhase.STATE_SAVE, () -> delegate.append(userId, sessionId, key, items));
+    }
+
+    @Override
+    public <T extends State> Optional<T> get(
+            String userId, String sessionId, String key, Class<T> type) {
+        return timed(LatencyPhase.STATE_LOAD, () -> delegate.get(userId, sessionId, key, type));
+    }
+
+    @Override
+    public <T extends State> List<T> getList(
+            String userId, String sessionId, String key, Class<T> itemType) {
+        return timed(
+                LatencyPhase.STATE_LOAD, () -> delegate.getList(userId, sessionId, key, itemType));
+    }
+
+    @Override
+    public Optional<String> version(String userId, String sessionId, String key) {
+        return timed(LatencyPhase.STATE_LOAD, () -> delegate.version(userId, sessionId, key));
+    }
+
+    @Override
+    public boolean exists(String userId, String sessionId) {
+        return delegate.exists(userId, sessionId);
+    }
+
+    @Override
+    public void delete(String userId, String sessionId) {
+        delegate.delete(userId, sessionId);
+    }
+
+    @Override
+    public void delete(String userId, String sessionId, String key) {
+        delegate.delete(userId, sessionId, key);
+    }
+
+    @Override
+    public Set<String> listSessionIds(String userId) {
+        return delegate.listSessionIds(userId);
+    }
+
+    @Override
+    public SessionPage listSessions(SessionQuery query) {
+        return delegate.listSessions(query);
+    }
+
+    @Override
+    public ReactiveAgentStateStore reactive() {
+        ReactiveAgentStateStore reactive = delegate.reactive();
+        // A null view makes callers offload this store, whose blocking methods are timed already.
+        return reactive == null ? null : new Reactive(reactive);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private void timed(LatencyPhase phase, Runnable action) {
+        timed(
+                phase,
+                () -> {
+                    action.run();
+                    return null;
+                });
+    }
+
+    private <T> T timed(LatencyPhase phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            latency.record(phase, null, null, System.nanoTime() - start);
+        }
+    }
+
+    /** Times the reactive view; cancelled operations are not recorded. */
+    private final class Reactive implements ReactiveAgentStateStore {
+
+        private final ReactiveAgentStateStore delegate;
+
+        Reactive(ReactiveAgentStateStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Mono<Void> save(String userId, String sessionId, String key, State value) {
+            return timed(LatencyPhase.STATE_SAVE, delegate.save(userId, sessionId, key, value));
+        }
+
+        @Override
+        public Mono<Void> save(
+                String userId, String sessionId, String key, List<? extends State> values) {
+            return timed(LatencyPhase.STATE_SAVE, delegate.save(userId, sessionId, key, values));
+        }
+
+        @Override
+        public Mono<Void> append(
+                String userId, String sessionId, String key, List<? extends State> items) {
+            return timed(LatencyPhase.STATE_SAVE, delegate.append(userId, sessionId, key, items));
+        }
+
+        @Override
+        public <T extends State> Mono<T> get(
+                String userId, String sessionId, String key, Class<T> type) {
+            return timed(LatencyPhase.STATE_LOAD, delegate.get(userId, sessionId, key, type));
+        }
+
+        @Override
+        public <T extends State> Flux<T> getList(
+                String userId, String sessionId, String key, Class<T> itemType) {
+            Flux<T> list = delegate.getList(userId, sessionId, key, itemType);
+            return Flux.defer(
+                    () -> {
+                        long start = System.nanoTime();
+                        return list.doOnTerminate(() -> record(LatencyPhase.STATE_LOAD, start));
+                    });
+        }
+
+        @Override
+        public Mono<String> version(String userId, String sessionId, String key) {
+            return timed(LatencyPhase.STATE_LOAD, delegate.version(userId, sessionId, key));
+        }
+
+        @Override
+        public Mono<Boolean> exists(String userId, String sessionId) {
+            return delegate.exists(userId, sessionId);
+        }
+
+        @Override
+        public Mono<Void> delete(String userId, String sessionId) {
+            return delegate.delete(userId, sessionId);
+        }
+
+        @Override
+        public Mono<Void> delete(String userId, String sessionId, String key) {
+            return delegate.delete(userId, sessionId, key);
+        }
+
+        @Override
+        public Flux<String> listSessionIds(String userId) {
+            return delegate.listSessionIds(userId);
+        }
+
+        @Override
+        public Mono<SessionPage> listSessions(SessionQuery query) {
+            return delegate.listSessions(query);
+        }
+
+        private <T> Mono<T> timed(LatencyPhase phase, Mono<T> operation) {
+            return Mono.defer(
+                    () -> {
+                        long start = System.nanoTime();
+                        return operation.doOnTerminate(() -> record(phase, start));
+                    });
+        }
+
+        private void record(LatencyPhase phase, long start) {
+            latency.record(phase, null, null, System.nanoTime() - start);
+        }
+    }
+}
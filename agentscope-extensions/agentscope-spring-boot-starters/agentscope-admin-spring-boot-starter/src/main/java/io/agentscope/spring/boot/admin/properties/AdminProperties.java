@@ -15,7 +15,9 @@
  */
 package io.agentscope.spring.boot.admin.properties;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Configuration properties for the AgentScope admin/ops starter.
@@ -49,9 +51,24 @@ public class AdminProperties {
     /** Maximum number of messages to keep verbatim when compacting a session. */
     private int compactKeepLastMessages = 2;
 
+    /** Memory budget shared by the undo/redo snapshots of all sessions. */
+    private DataSize undoMemoryBudget = DataSize.ofMegabytes(64);
+
     /** Whether to broadcast {@code AdminAuditEvent} to the Spring {@code ApplicationEventPublisher}. */
     private boolean publishAuditEvents = true;
 
+    /**
+     * Length of the rolling window behind the {@code recent} latency percentiles reported by
+     * {@code /actuator/agentscope-usage}.
+     */
+    private Duration latencyWindow = Duration.ofMinutes(1);
+
+    /**
+     * Whether {@code AgentStateStore} beans are wrapped to record state load/save latency. Off by
+     * default, as the wrapper cannot be injected by the store's concrete type.
+     */
+    private boolean timeStateStore;
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -96,6 +113,14 @@ public class AdminProperties {
         this.compactKeepLastMessages = compactKeepLastMessages;
     }
 
+    public DataSize getUndoMemoryBudget() {
+        return undoMemoryBudget;
+    }
+
+    public void setUndoMemoryBudget(DataSize undoMemoryBudget) {
+        this.undoMemoryBudget = undoMemoryBudget;
+    }
+
     public boolean isPublishAuditEvents() {
         return publishAuditEvents;
     }
@@ -103,4 +128,20 @@ public class AdminProperties {
     public void setPublishAuditEvents(boolean publishAuditEvents) {
         this.publishAuditEvents = publishAuditEvents;
     }
+
+    public Duration getLatencyWindow() {
+        return latencyWindow;
+    }
+
+    public void setLatencyWindow(Duration latencyWindow) {
+        this.latencyWindow = latencyWindow;
+    }
+
+    public boolean isTimeStateStore() {
+        return timeStateStore;
+    }
+
+    public void setTimeStateStore(boolean timeStateStore) {
+        this.timeStateStore = timeStateStore;
+    }
 }
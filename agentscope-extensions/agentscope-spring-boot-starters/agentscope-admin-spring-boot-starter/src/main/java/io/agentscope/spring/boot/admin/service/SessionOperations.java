@@ -20,12 +20,17 @@ import io.agentscope.core.agent.Agent;
 import io.agentscope.core.message.Msg;
 import io.agentscope.core.state.AgentState;
 import io.agentscope.core.state.AgentStateStore;
+import io.agentscope.core.state.SessionPage;
+import io.agentscope.core.state.SessionQuery;
 import io.agentscope.harness.agent.HarnessAgent;
 import io.agentscope.spring.boot.admin.dto.AgentTaskView;
 import io.agentscope.spring.boot.admin.dto.CompactRequest;
 import io.agentscope.spring.boot.admin.dto.CompactResponse;
 import io.agentscope.spring.boot.admin.dto.MessageView;
 import io.agentscope.spring.boot.admin.dto.PlanModeView;
+import io.agentscope.spring.boot.admin.dto.SessionPageView;
+import io.agentscope.spring.boot.admin.metrics.LatencyPhase;
+import io.agentscope.spring.boot.admin.metrics.LatencyRecorder;
 import io.agentscope.spring.boot.admin.properties.AdminProperties;
 import io.agentscope.spring.boot.admin.registry.AgentRegistry;
 import io.agentscope.spring.boot.admin.registry.AgentResolver;
@@ -53,19 +58,37 @@ public final class SessionOperations {
     private final SummarizationStrategy summarizer;
     private final AdminProperties properties;
     private final SnapshotStore snapshots;
+    private final LatencyRecorder latency;
 
     public SessionOperations(
             AgentRegistry registry,
             SummarizationStrategy summarizer,
             AdminProperties properties,
             SnapshotStore snapshots) {
+        this(registry, summarizer, properties, snapshots, null);
+    }
+
+    /**
+     * @param latency receives {@link LatencyPhase#COMPACTION} samples for {@link #compact}; may be
+     *     {@code null}
+     */
+    public SessionOperations(
+            AgentRegistry registry,
+            SummarizationStrategy summarizer,
+            AdminProperties properties,
+            SnapshotStore snapshots,
+            LatencyRecorder latency) {
         this.registry = registry;
         this.summarizer = summarizer;
         this.properties = properties;
         this.snapshots = snapshots;
+        this.latency = latency;
     }
 
-    /** Read-only listing of known session ids from {@link AgentStateStore#listSessionIds(String)}. */
+    /**
+     * Read-only listing of known session ids from {@link AgentStateStore#listSessionIds(String)}.
+     * Loads every id of the store; prefer {@link #listSessionPage} on large stores.
+     */
     public Mono<List<String>> listSessions(AgentStateStore stateStore) {
         if (stateStore == null) {
             return Mono.just(List.of());
@@ -83,6 +106,18 @@ public final class SessionOperations {
                 .subscribeOn(Schedulers.boundedElastic());
     }
 
+    /**
+     * One page of sessions with metadata from {@link AgentStateStore#listSessions(SessionQuery)}.
+     * Returns an empty page when no store is configured.
+     */
+    public Mono<SessionPageView> listSessionPage(AgentStateStore stateStore, SessionQuery query) {
+        if (stateStore == null) {
+            return Mono.just(SessionPageView.of(SessionPage.EMPTY));
+        }
+        return Mono.fromCallable(() -> SessionPageView.of(stateStore.listSessions(query)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
     /** Return the in-memory message list of a registered agent. */
     public Mono<List<MessageView>> listMessages(String agentIdOrSessionId) {
         return resolveReact(agentIdOrSessionId)
@@ -183,6 +218,7 @@ public final class SessionOperations {
                                     new ArrayList<>(context.subList(0, before - keepLast));
                             // Snapshot BEFORE we touch the live state, so undo can revert.
                             snapshots.push(state.getSessionId(), state.toJson());
+                            long startedAt = System.nanoTime();
                             return summarizer
                                     .summarize(react.getModel(), previousSummary, toFold)
                                     .defaultIfEmpty(previousSummary)
@@ -203,6 +239,10 @@ public final class SessionOperations {
                                                 context.clear();
                                                 context.addAll(kept);
                                                 return persist(react, state)
+                                                        .doOnSuccess(
+                                                                v ->
+                                                                        recordCompaction(
+                                                                                react, startedAt))
                                                         .thenReturn(
                                                                 new CompactResponse(
                                                                         state.getSessionId(),
@@ -432,6 +472,15 @@ public final class SessionOperations {
                         });
     }
 
+    private void recordCompaction(ReActAgent react, long startedAt) {
+        if (latency == null) {
+            return;
+        }
+        String model = react.getModel() == null ? null : react.getModel().getModelName();
+        latency.record(
+                LatencyPhase.COMPACTION, react.getName(), model, System.nanoTime() - startedAt);
+    }
+
     private Mono<Void> persist(ReActAgent react, AgentState state) {
         AgentStateStore stateStore = react.getStateStore();
         if (stateStore == null) {
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.spring.boot.admin.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Structural delta between two snapshot JSON documents, used by {@link SnapshotStore} to keep
+ * only the newest snapshot of a stack in full.
+ *
+ * <p>For JSON objects the delta is computed per top-level field: unchanged fields are omitted,
+ * arrays that share a prefix (the usual case for {@code context}, which grows by appended
+ * messages) are stored as "keep the first n elements, then add these", and any other change
+ * stores the new field value. Inputs that are not JSON objects, and deltas that would not be
+ * smaller than the target, fall back to the full target text.
+ *
+ * <p>Encoded deltas start with {@code F} (full text follows) or {@code D} (structural delta
+ * follows).
+ */
+final class SnapshotDelta {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final char FULL = 'F';
+    private static final char STRUCTURAL = 'D';
+
+    private SnapshotDelta() {}
+
+    /** Returns the delta that turns {@code from} into {@code to}. */
+    static String diff(String from, String to) {
+        ObjectNode source = parseObject(from);
+        ObjectNode target = parseObject(to);
+        if (source == null || target == null) {
+            return FULL + to;
+        }
+        ObjectNode set = MAPPER.createObjectNode();
+        ObjectNode splice = MAPPER.createObjectNode();
+        ArrayNode remove = MAPPER.createArrayNode();
+        for (Iterator<Map.Entry<String, JsonNode>> it = target.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode before = source.get(field.getKey());
+            JsonNode after = field.getValue();
+            if (after.equals(before)) {
+                continue;
+            }
+            if (before != null && before.isArray() && after.isArray()) {
+                int keep = commonPrefix(before, after);
+                if (keep > 0) {
+                    ObjectNode op = splice.putObject(field.getKey());
+                    op.put("keep", keep);
+                    ArrayNode add = op.putArray("add");
+                    for (int i = keep; i < after.size(); i++) {
+                        add.add(after.get(i));
+                    }
+                    continue;
+                }
+            }
+            set.set(field.getKey(), after);
+        }
+        for (Iterator<String> it = source.fieldNames(); it.hasNext(); ) {
+            String name = it.next();
+            if (!target.has(name)) {
+                remove.add(name);
+            }
+        }
+        ObjectNode delta = MAPPER.createObjectNode();
+        if (!set.isEmpty()) {
+            delta.set("set", set);
+        }
+        if (!splice.isEmpty()) {
+            delta.set("splice", splice);
+        }
+        if (!remove.isEmpty()) {
+            delta.set("remove", remove);
+        }
+        String encoded = STRUCTURAL + write(delta);
+        return encoded.length() < to.length() ? encoded : FULL + to;
+    }
+
+    /** Applies a delta produced by {@link #diff(String, String)} to {@code from}. */
+    static String apply(String from, String delta) {
+        if (delta.charAt(0) == FULL) {
+            return delta.substring(1);
+        }
+        ObjectNode target = parseObject(from);
+        ObjectNode ops = parseObject(delta.substring(1));
+        if (target == null || ops == null) {
+            throw new IllegalStateException("corrupt snapshot delta");
+        }
+        JsonNode remove = ops.path("remove");
+        for (JsonNode name : remove) {
+            target.remove(name.asText());
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> it = ops.path("splice").fields();
+                it.hasNext(); ) {
+            Map.Entry<String, JsonNode> op = it.next();
+            JsonNode current = target.path(op.getKey());
+            int keep = op.getValue().path("keep").asInt();
+            ArrayNode spliced = target.arrayNode();
+            for (int i = 0; i < keep && i < current.size(); i++) {
+                spliced.add(current.get(i));
+            }
+            spliced.addAll((ArrayNode) op.getValue().path("add"));
+            target.set(op.getKey(), spliced);
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> it = ops.path("set").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> op = it.next();
+            target.set(op.getKey(), op.getValue());
+        }
+        return write(target);
+    }
+
+    private static int commonPrefix(JsonNode a, JsonNode b) {
+        int limit = Math.min(a.size(), b.size());
+        int i = 0;
+        while (i < limit && a.get(i).equals(b.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static ObjectNode parseObject(String json) {
+        if (json == null || json.isEmpty() || json.charAt(0) != '{') {
+            return null;
+        }
+        try {
+            return MAPPER.readTree(json) instanceof ObjectNode object ? object : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static String write(JsonNode node) {
+        try {
+            return MAPPER.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("failed to write snapshot JSON", e);
+        }
+    }
+}
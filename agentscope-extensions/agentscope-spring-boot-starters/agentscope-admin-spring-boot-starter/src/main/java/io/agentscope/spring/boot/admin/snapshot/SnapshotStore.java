@@ -15,18 +15,41 @@
  */
 package io.agentscope.spring.boot.admin.snapshot;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Deque;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * In-memory undo/redo stacks per session.
  *
  * <p>Stacks store the serialized JSON form of {@link io.agentscope.core.state.AgentState} —
  * deserialization happens at restore time. A bounded per-session capacity (default 20) caps
- * memory use; the oldest snapshot is dropped when the limit is hit.
+ * the depth; the oldest snapshot is dropped when the limit is hit.
+ *
+ * <p>Only the top of each stack is kept in full. Every older entry is a {@link SnapshotDelta}
+ * against the entry above it, so a snapshot that differs from its successor by a few appended
+ * messages costs a few messages, not the whole session. Popping applies one delta; dropping the
+ * oldest entry is free. Entries above 256 bytes are deflate-compressed unless disabled.
+ *
+ * <p>Each session is locked on its own, so undo traffic on one session never waits for another.
+ * The store also enforces a global memory budget (64 MiB by default): when a push exceeds it,
+ * whole histories of the least recently modified sessions are evicted until usage is back under
+ * 90% of the budget. If the pushing session alone exceeds the budget, its oldest entries are
+ * dropped instead, keeping at least its latest undo step.
  *
  * <p>This is a deliberately simple, single-node store. Cluster-aware deployments should swap in
  * a Redis-backed implementation by exposing a custom {@code SnapshotStore} bean.
@@ -36,26 +59,52 @@ public final class SnapshotStore {
     /** Default per-session undo depth. */
     public static final int DEFAULT_CAPACITY = 20;
 
+    /** Default budget for all retained snapshots, in bytes. */
+    public static final long DEFAULT_MAX_TOTAL_BYTES = 64L * 1024 * 1024;
+
+    private static final int COMPRESS_THRESHOLD = 256;
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
     private final int capacityPerSession;
-    private final ConcurrentMap<String, SessionStacks> sessions = new ConcurrentHashMap<>();
+    private final long maxTotalBytes;
+    private final boolean compress;
+    private final ConcurrentMap<String, History> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong ticks = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
 
     public SnapshotStore() {
         this(DEFAULT_CAPACITY);
     }
 
     public SnapshotStore(int capacityPerSession) {
-        this.capacityPerSession = Math.max(1, capacityPerSession);
+        this(builder().capacityPerSession(capacityPerSession));
+    }
+
+    private SnapshotStore(Builder builder) {
+        this.capacityPerSession = builder.capacityPerSession;
+        this.maxTotalBytes = builder.maxTotalBytes;
+        this.compress = builder.compress;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     /** Push a new snapshot for {@code sessionId}. Clears the redo stack — this is a fresh edit. */
-    public synchronized void push(String sessionId, String json) {
+    public void push(String sessionId, String json) {
         if (sessionId == null || json == null) return;
-        SessionStacks s = sessions.computeIfAbsent(sessionId, k -> new SessionStacks());
-        s.undo.push(json);
-        s.redo.clear();
-        while (s.undo.size() > capacityPerSession) {
-            s.undo.removeLast();
-        }
+        update(
+                sessionId,
+                true,
+                h -> {
+                    h.undo.push(json);
+                    h.redo.clear();
+                    h.undo.trim(capacityPerSession);
+                    return null;
+                });
+        evictIfOverBudget(sessionId);
     }
 
     /**
@@ -64,56 +113,305 @@ public final class SnapshotStore {
      *
      * @return the JSON of the snapshot to restore, or empty if none available
      */
-    public synchronized Optional<String> undo(String sessionId, String currentJson) {
-        SessionStacks s = sessions.get(sessionId);
-        if (s == null || s.undo.isEmpty()) {
+    public Optional<String> undo(String sessionId, String currentJson) {
+        Optional<String> snap = update(sessionId, false, h -> move(h.undo, h.redo, currentJson));
+        evictIfOverBudget(sessionId);
+        return snap == null ? Optional.empty() : snap;
+    }
+
+    /**
+     * Pop the most recent redo snapshot, and push {@code currentJson} onto the undo stack so a
+     * subsequent {@link #undo(String, String)} can revert it.
+     */
+    public Optional<String> redo(String sessionId, String currentJson) {
+        Optional<String> snap = update(sessionId, false, h -> move(h.redo, h.undo, currentJson));
+        evictIfOverBudget(sessionId);
+        return snap == null ? Optional.empty() : snap;
+    }
+
+    public int undoDepth(String sessionId) {
+        History h = sessionId == null ? null : sessions.get(sessionId);
+        if (h == null) {
+            return 0;
+        }
+        synchronized (h) {
+            return h.undo.size();
+        }
+    }
+
+    public int redoDepth(String sessionId) {
+        History h = sessionId == null ? null : sessions.get(sessionId);
+        if (h == null) {
+            return 0;
+        }
+        synchronized (h) {
+            return h.redo.size();
+        }
+    }
+
+    public void clear(String sessionId) {
+        History h = sessionId == null ? null : sessions.get(sessionId);
+        if (h != null) {
+            retire(sessionId, h);
+        }
+    }
+
+    /** Bytes currently held by all snapshots, after delta encoding and compression. */
+    public long retainedBytes() {
+        return totalBytes.get();
+    }
+
+    private Optional<String> move(Chain from, Chain to, String currentJson) {
+        if (from.size() == 0) {
             return Optional.empty();
         }
-        String snap = s.undo.pop();
+        String snap = from.pop();
         if (currentJson != null) {
-            s.redo.push(currentJson);
-            while (s.redo.size() > capacityPerSession) {
-                s.redo.removeLast();
-            }
+            to.push(currentJson);
+            to.trim(capacityPerSession);
         }
         return Optional.of(snap);
     }
 
     /**
-     * Pop the most recent redo snapshot, and push {@code currentJson} onto the undo stack so a
-     * subsequent {@link #undo(String, String)} can revert it.
+     * Runs {@code action} under the session's lock and accounts for the bytes it added or freed.
+     * Returns {@code null} without running it when the session has no history and {@code create}
+     * is false.
      */
-    public synchronized Optional<String> redo(String sessionId, String currentJson) {
-        SessionStacks s = sessions.get(sessionId);
-        if (s == null || s.redo.isEmpty()) {
-            return Optional.empty();
+    private <T> T update(String sessionId, boolean create, Function<History, T> action) {
+        if (sessionId == null) {
+            return null;
         }
-        String snap = s.redo.pop();
-        if (currentJson != null) {
-            s.undo.push(currentJson);
-            while (s.undo.size() > capacityPerSession) {
-                s.undo.removeLast();
+        while (true) {
+            History h =
+                    create
+                            ? sessions.computeIfAbsent(sessionId, k -> new History())
+                            : sessions.get(sessionId);
+            if (h == null) {
+                return null;
+            }
+            synchronized (h) {
+                if (h.retired) {
+                    // Evicted between lookup and lock; retry against a fresh history.
+                    continue;
+                }
+                h.lastModified = ticks.incrementAndGet();
+                long before = h.bytes();
+                try {
+                    return action.apply(h);
+                } finally {
+                    totalBytes.addAndGet(h.bytes() - before);
+                }
             }
         }
-        return Optional.of(snap);
     }
 
-    public synchronized int undoDepth(String sessionId) {
-        SessionStacks s = sessions.get(sessionId);
-        return s == null ? 0 : s.undo.size();
+    private void retire(String sessionId, History h) {
+        synchronized (h) {
+            if (h.retired) {
+                return;
+            }
+            h.retired = true;
+            totalBytes.addAndGet(-h.bytes());
+        }
+        sessions.remove(sessionId, h);
+    }
+
+    private void evictIfOverBudget(String activeSession) {
+        if (totalBytes.get() <= maxTotalBytes || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long target = maxTotalBytes - maxTotalBytes / 10;
+            List<Map.Entry<String, History>> candidates = new ArrayList<>();
+            for (Map.Entry<String, History> e : sessions.entrySet()) {
+                if (!e.getKey().equals(activeSession)) {
+                    candidates.add(e);
+                }
+            }
+            candidates.sort(Comparator.comparingLong(e -> e.getValue().lastModified));
+            for (Map.Entry<String, History> e : candidates) {
+                if (totalBytes.get() <= target) {
+                    return;
+                }
+                retire(e.getKey(), e.getValue());
+            }
+            // The active session alone is over budget: shed its own oldest entries.
+            while (totalBytes.get() > maxTotalBytes
+                    && Boolean.TRUE.equals(update(activeSession, false, History::dropOldest))) {
+                // keep trimming
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private byte[] encode(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        if (!compress || raw.length < COMPRESS_THRESHOLD) {
+            return tagged(RAW, raw, raw.length);
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+            byte[] buf = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+            }
+            byte[] deflated = out.toByteArray();
+            return deflated.length < raw.length
+                    ? tagged(DEFLATED, deflated, deflated.length)
+                    : tagged(RAW, raw, raw.length);
+        } finally {
+            deflater.end();
+        }
     }
 
-    public synchronized int redoDepth(String sessionId) {
-        SessionStacks s = sessions.get(sessionId);
-        return s == null ? 0 : s.redo.size();
+    private static byte[] tagged(byte tag, byte[] payload, int length) {
+        byte[] out = new byte[length + 1];
+        out[0] = tag;
+        System.arraycopy(payload, 0, out, 1, length);
+        return out;
     }
 
-    public synchronized void clear(String sessionId) {
-        sessions.remove(sessionId);
+    private static String decode(byte[] stored) {
+        if (stored[0] == RAW) {
+            return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 1, stored.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(stored.length * 4);
+            byte[] buf = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("truncated snapshot");
+                }
+                out.write(buf, 0, n);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("corrupt snapshot", e);
+        } finally {
+            inflater.end();
+        }
     }
 
-    private static final class SessionStacks {
-        final Deque<String> undo = new ArrayDeque<>();
-        final Deque<String> redo = new ArrayDeque<>();
+    private final class History {
+        final Chain undo = new Chain();
+        final Chain redo = new Chain();
+        long lastModified;
+        boolean retired;
+
+        long bytes() {
+            return undo.bytes + redo.bytes;
+        }
+
+        /** Drops the oldest entry, redo first; never the latest undo step. */
+        boolean dropOldest() {
+            if (redo.size() > 0) {
+                redo.dropOldest();
+                return true;
+            }
+            if (undo.size() > 1) {
+                undo.dropOldest();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** Stack whose top is stored in full and every older entry as a delta to the one above. */
+    private final class Chain {
+        private byte[] top;
+        private final Deque<byte[]> older = new ArrayDeque<>();
+        private long bytes;
+
+        int size() {
+            return top == null ? 0 : 1 + older.size();
+        }
+
+        void push(String json) {
+            if (top != null) {
+                byte[] delta = encode(SnapshotDelta.diff(json, decode(top)));
+                older.addFirst(delta);
+                bytes += delta.length - top.length;
+            }
+            top = encode(json);
+            bytes += top.length;
+        }
+
+        String pop() {
+            String current = decode(top);
+            bytes -= top.length;
+            byte[] delta = older.pollFirst();
+            if (delta == null) {
+                top = null;
+            } else {
+                bytes -= delta.length;
+                top = encode(SnapshotDelta.apply(current, decode(delta)));
+                bytes += top.length;
+            }
+            return current;
+        }
+
+        void trim(int capacity) {
+            while (size() > capacity) {
+                dropOldest();
+            }
+        }
+
+        void dropOldest() {
+            if (!older.isEmpty()) {
+                bytes -= older.removeLast().length;
+            } else if (top != null) {
+                bytes -= top.length;
+                top = null;
+            }
+        }
+
+        void clear() {
+            top = null;
+            older.clear();
+            bytes = 0;
+        }
+    }
+
+    /** Builder for {@link SnapshotStore}. */
+    public static final class Builder {
+        private int capacityPerSession = DEFAULT_CAPACITY;
+        private long maxTotalBytes = DEFAULT_MAX_TOTAL_BYTES;
+        private boolean compress = true;
+
+        private Builder() {}
+
+        /** Per-session undo (and redo) depth; values below 1 are raised to 1. */
+        public Builder capacityPerSession(int capacityPerSession) {
+            this.capacityPerSession = Math.max(1, capacityPerSession);
+            return this;
+        }
+
+        /** Memory budget for all sessions' snapshots, in bytes; must be positive. */
+        public Builder maxTotalBytes(long maxTotalBytes) {
+            if (maxTotalBytes <= 0) {
+                throw new IllegalArgumentException("maxTotalBytes must be positive");
+            }
+            this.maxTotalBytes = maxTotalBytes;
+            return this;
+        }
+
+        /** Whether entries above 256 bytes are deflate-compressed. Defaults to {@code true}. */
+        public Builder compress(boolean compress) {
+            this.compress = compress;
+            return this;
+        }
+
+        public SnapshotStore build() {
+            return new SnapshotStore(this);
+        }
     }
 }
@@ -17,6 +17,8 @@ package io.agentscope.spring.boot.admin;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.agentscope.core.state.AgentStateStore;
+import io.agentscope.core.state.InMemoryAgentStateStore;
 import io.agentscope.spring.boot.admin.audit.AdminAuditLogger;
 import io.agentscope.spring.boot.admin.command.AdminCommandRegistry;
 import io.agentscope.spring.boot.admin.controller.SessionAdminController;
@@ -28,7 +30,9 @@ import io.agentscope.spring.boot.admin.endpoint.AgentscopeShutdownEndpoint;
 import io.agentscope.spring.boot.admin.endpoint.AgentscopeStatusEndpoint;
 import io.agentscope.spring.boot.admin.endpoint.AgentscopeSubagentsEndpoint;
 import io.agentscope.spring.boot.admin.endpoint.AgentscopeUsageEndpoint;
+import io.agentscope.spring.boot.admin.metrics.LatencyRecorder;
 import io.agentscope.spring.boot.admin.metrics.MetricsRecorder;
+import io.agentscope.spring.boot.admin.metrics.TimedAgentStateStore;
 import io.agentscope.spring.boot.admin.properties.AdminProperties;
 import io.agentscope.spring.boot.admin.registry.AgentRegistry;
 import io.agentscope.spring.boot.admin.service.AgentInventory;
@@ -127,6 +131,30 @@ class AgentscopeAdminAutoConfigurationTest {
                         });
     }
 
+    @Test
+    void stateStoreBeansAreTimedOnlyWhenEnabled() {
+        ApplicationContextRunner runner =
+                new ApplicationContextRunner()
+                        .withConfiguration(
+                                AutoConfigurations.of(AgentscopeAdminAutoConfiguration.class))
+                        .withBean(AgentStateStore.class, InMemoryAgentStateStore::new)
+                        .withPropertyValues("agentscope.admin.enabled=true");
+        runner.run(
+                ctx -> {
+                    assertThat(ctx.getBean(AgentStateStore.class))
+                            .isInstanceOf(InMemoryAgentStateStore.class);
+                    assertThat(ctx).hasSingleBean(LatencyRecorder.class);
+                });
+        runner.withPropertyValues("agentscope.admin.time-state-store=true")
+                .run(
+                        ctx -> {
+                            AgentStateStore store = ctx.getBean(AgentStateStore.class);
+                            assertThat(store).isInstanceOf(TimedAgentStateStore.class);
+                            assertThat(store.getDelegate())
+                                    .isInstanceOf(InMemoryAgentStateStore.class);
+                        });
+    }
+
     @Test
     void controllerRegistersInWebApplication() {
         new WebApplicationContextRunner()
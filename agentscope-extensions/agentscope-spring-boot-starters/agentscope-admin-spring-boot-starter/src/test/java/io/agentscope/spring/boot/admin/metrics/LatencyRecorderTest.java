@@ -0,0 +1,182 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.spring.boot.admin.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.agentscope.core.agent.Agent;
+import io.agentscope.core.agent.AgentBase;
+import io.agentscope.core.hook.PostActingEvent;
+import io.agentscope.core.hook.PostReasoningEvent;
+import io.agentscope.core.hook.PreActingEvent;
+import io.agentscope.core.hook.PreReasoningEvent;
+import io.agentscope.core.hook.ReasoningChunkEvent;
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolResultBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import io.agentscope.core.state.InMemoryAgentStateStore;
+import io.agentscope.core.state.ReactiveAgentStateStore;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import reactor.util.context.Context;
+
+class LatencyRecorderTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    void histogramPercentilesStayWithinBucketPrecision() {
+        LatencyRecorder r = new LatencyRecorder(Duration.ofMinutes(1), now::get);
+        for (int i = 1; i <= 1000; i++) {
+            r.record(LatencyPhase.MODEL_CALL, "alice", "qwen-plus", ms(i));
+        }
+
+        LatencyStats total = r.globalSnapshot().get("model_call").total();
+        assertThat(total.count()).isEqualTo(1000);
+        assertThat(total.mean()).isCloseTo(500.5, within(0.01));
+        assertThat(total.p50()).isCloseTo(500, within(500 * 0.04));
+        assertThat(total.p99()).isCloseTo(990, within(990 * 0.04));
+        assertThat(total.max()).isEqualTo(1000.0);
+        assertThat(r.snapshotByAgent().get("alice")).containsOnlyKeys("model_call");
+        assertThat(r.snapshotByModel()).containsOnlyKeys("qwen-plus");
+        assertThat(r.snapshotByTool()).isEmpty();
+    }
+
+    @Test
+    void bucketIndexIsContinuousAndMonotonic() {
+        int previous = -1;
+        for (long v = 0; v < 1 << 16; v++) {
+            int index = LatencyHistogram.indexOf(v);
+            assertThat(index).isBetween(previous, previous + 1);
+            previous = index;
+        }
+        assertThat(LatencyHistogram.indexOf(LatencyHistogram.MAX_TRACKABLE_MICROS))
+                .isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    void recentWindowRollsOverWhileTotalKeepsHistory() {
+        LatencyRecorder r = new LatencyRecorder(Duration.ofSeconds(10), now::get);
+        r.record(LatencyPhase.TOOL, "alice", "search", ms(100));
+        now.addAndGet(ms(11_000));
+        r.record(LatencyPhase.TOOL, "alice", "search", ms(200));
+
+        LatencySnapshot snap = r.snapshotByTool().get("search").get("tool");
+        assertThat(snap.total().count()).isEqualTo(2);
+        assertThat(snap.recent().count()).isEqualTo(2);
+
+        now.addAndGet(ms(10_000));
+        snap = r.snapshotByTool().get("search").get("tool");
+        assertThat(snap.recent().count()).isEqualTo(1);
+        assertThat(snap.recent().max()).isEqualTo(200.0);
+
+        now.addAndGet(ms(10_000));
+        snap = r.snapshotByTool().get("search").get("tool");
+        assertThat(snap.recent()).isEqualTo(LatencyStats.EMPTY);
+        assertThat(snap.total().count()).isEqualTo(2);
+
+        r.reset();
+        assertThat(r.globalSnapshot()).isEmpty();
+        assertThat(r.snapshotByAgent()).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void hookPairsReasoningAndActingEvents() {
+        LatencyRecorder latency = new LatencyRecorder(Duration.ofMinutes(1), now::get);
+        MetricsHook hook = new MetricsHook(new MetricsRecorder(), latency, now::get);
+        Agent agent = mock(Agent.class);
+        when(agent.getName()).thenReturn("alice");
+        Msg chunk =
+                Msg.builder()
+                        .role(MsgRole.ASSISTANT)
+                        .content(TextBlock.builder().text("hi").build())
+                        .build();
+        ToolUseBlock toolUse =
+                ToolUseBlock.builder().id("call-1").name("search").input(Map.of()).build();
+
+        hook.onEvent(new PreReasoningEvent(agent, "qwen-plus", null, List.of())).block();
+        now.addAndGet(ms(120));
+        hook.onEvent(new ReasoningChunkEvent(agent, "qwen-plus", null, chunk, chunk)).block();
+        now.addAndGet(ms(80));
+        hook.onEvent(new ReasoningChunkEvent(agent, "qwen-plus", null, chunk, chunk)).block();
+        hook.onEvent(new PostReasoningEvent(agent, "qwen-plus", null, chunk)).block();
+        hook.onEvent(new PreActingEvent(agent, null, toolUse)).block();
+        now.addAndGet(ms(40));
+        hook.onEvent(new PostActingEvent(agent, null, toolUse, ToolResultBlock.text("ok"))).block();
+
+        Map<String, LatencySnapshot> byModel = latency.snapshotByModel().get("qwen-plus");
+        assertThat(byModel.get("time_to_first_token").total().count()).isEqualTo(1);
+        assertThat(byModel.get("time_to_first_token").total().max()).isEqualTo(120.0);
+        assertThat(byModel.get("model_call").total().max()).isEqualTo(200.0);
+        assertThat(latency.snapshotByTool().get("search").get("tool").total().max())
+                .isEqualTo(40.0);
+        assertThat(latency.snapshotForAgent("alice"))
+                .containsOnlyKeys("time_to_first_token", "model_call", "tool");
+    }
+
+    @Test
+    void hookReleasesStartsOfAbandonedCalls() throws InterruptedException {
+        MetricsHook hook = new MetricsHook(new MetricsRecorder(), new LatencyRecorder(), now::get);
+        Agent agent = mock(Agent.class);
+        startAndAbandonCall(hook, agent);
+
+        for (int i = 0; i < 50 && hook.pendingScopes() > 0; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertThat(hook.pendingScopes()).isZero();
+    }
+
+    private static void startAndAbandonCall(MetricsHook hook, Agent agent) {
+        Object scope = new Object();
+        hook.onEvent(new PreReasoningEvent(agent, "qwen-plus", null, List.of()))
+                .contextWrite(Context.of(AgentBase.CALL_SCOPE_KEY, scope))
+                .block();
+        assertThat(hook.pendingScopes()).isEqualTo(1);
+    }
+
+    @Test
+    void timedStoreRecordsBlockingAndReactiveAccess() {
+        LatencyRecorder latency = new LatencyRecorder();
+        TimedAgentStateStore store =
+                new TimedAgentStateStore(new InMemoryAgentStateStore(), latency);
+        store.save("u", "s", "k", List.of());
+        store.getList("u", "s", "k", Msg.class);
+
+        ReactiveAgentStateStore reactive = store.reactive();
+        reactive.version("u", "s", "k").block();
+        reactive.getList("u", "s", "k", Msg.class).collectList().block();
+
+        Map<String, LatencySnapshot> global = latency.globalSnapshot();
+        assertThat(global.get("state_save").total().count()).isEqualTo(1);
+        assertThat(global.get("state_load").total().count()).isEqualTo(3);
+        assertThat(latency.snapshotByAgent()).isEmpty();
+    }
+}
@@ -22,8 +22,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.agentscope.core.agent.Agent;
+import io.agentscope.core.state.AgentState;
+import io.agentscope.core.state.InMemoryAgentStateStore;
+import io.agentscope.core.state.SessionQuery;
+import io.agentscope.spring.boot.admin.dto.SessionPageView;
 import io.agentscope.spring.boot.admin.properties.AdminProperties;
 import io.agentscope.spring.boot.admin.registry.InMemoryAgentRegistry;
+import java.util.List;
 import java.util.NoSuchElementException;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
@@ -53,6 +58,45 @@ class SessionOperationsTest {
                 .verifyComplete();
     }
 
+    @Test
+    void listSessionPagePaginatesStoreSessions() {
+        InMemoryAgentStateStore store = new InMemoryAgentStateStore();
+        for (String id : List.of("s1", "s2", "s3")) {
+            store.save("alice", id, "agent_state", AgentState.builder().sessionId(id).build());
+        }
+        SessionOperations ops =
+                ops(
+                        new InMemoryAgentRegistry(),
+                        new io.agentscope.spring.boot.admin.snapshot.SnapshotStore());
+        SessionQuery first =
+                SessionQuery.builder()
+                        .userId("alice")
+                        .sortBy(SessionQuery.SortBy.SESSION_ID)
+                        .descending(false)
+                        .limit(2)
+                        .build();
+
+        SessionPageView page = ops.listSessionPage(store, first).block();
+        assertThat(page.sessions())
+                .extracting(SessionPageView.Entry::sessionId)
+                .containsExactly("s1", "s2");
+        assertThat(page.sessions().get(0).messageCount()).isZero();
+        assertThat(page.nextCursor()).isNotNull();
+
+        StepVerifier.create(ops.listSessionPage(store, first.withCursor(page.nextCursor())))
+                .assertNext(
+                        next -> {
+                            assertThat(next.sessions())
+                                    .extracting(SessionPageView.Entry::sessionId)
+                                    .containsExactly("s3");
+                            assertThat(next.nextCursor()).isNull();
+                        })
+                .verifyComplete();
+        StepVerifier.create(ops.listSessionPage(null, first))
+                .assertNext(empty -> assertThat(empty.sessions()).isEmpty())
+                .verifyComplete();
+    }
+
     @Test
     void resolveErrorsWhenAgentMissing() {
         SessionOperations ops =
@@ -17,6 +17,9 @@ package io.agentscope.spring.boot.admin.snapshot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
@@ -93,4 +96,82 @@ class SnapshotStoreTest {
         s.push("sess", "v1");
         assertThat(s.undoDepth("sess")).isEqualTo(1);
     }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** AgentState-shaped JSON whose context holds {@code turns} messages. */
+    private static String stateJson(String session, int turns, String summary) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"session_id\":\"").append(session).append("\",\"summary\":\"");
+        sb.append(summary).append("\",\"context\":[");
+        for (int i = 0; i < turns; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"role\":\"user\",\"content\":\"message number ")
+                    .append(i)
+                    .append(" with some padding text to make it realistic\"}");
+        }
+        sb.append("],\"cur_iter\":").append(turns).append('}');
+        return sb.toString();
+    }
+
+    private static void assertSameJson(String actual, String expected) throws Exception {
+        assertThat(MAPPER.readTree(actual)).isEqualTo(MAPPER.readTree(expected));
+    }
+
+    @Test
+    void deltaEncodedHistoryRestoresEveryStep() throws Exception {
+        SnapshotStore s = new SnapshotStore();
+        List<String> pushed = new ArrayList<>();
+        for (int turn = 1; turn <= 15; turn++) {
+            String json = stateJson("sess", turn * 4, turn < 10 ? "" : "summary " + turn);
+            pushed.add(json);
+            s.push("sess", json);
+        }
+        long full = pushed.stream().mapToLong(String::length).sum();
+        assertThat(s.retainedBytes()).isLessThan(full / 4);
+
+        String current = stateJson("sess", 64, "live");
+        for (int i = pushed.size() - 1; i >= 0; i--) {
+            String restored = s.undo("sess", current).orElseThrow();
+            assertSameJson(restored, pushed.get(i));
+            current = restored;
+        }
+        assertThat(s.undo("sess", current)).isEmpty();
+
+        // Redo walks forward again through the delta-encoded redo stack.
+        for (int i = 1; i < pushed.size(); i++) {
+            current = s.redo("sess", current).orElseThrow();
+            assertSameJson(current, pushed.get(i));
+        }
+        assertSameJson(s.redo("sess", current).orElseThrow(), stateJson("sess", 64, "live"));
+    }
+
+    @Test
+    void budgetEvictsLeastRecentlyModifiedSessions() {
+        long one = stateJson("old", 10, "").length() + 1;
+        long budget = one * 5 / 2;
+        SnapshotStore s = SnapshotStore.builder().maxTotalBytes(budget).compress(false).build();
+        s.push("old", stateJson("old", 10, ""));
+        s.push("recent", stateJson("recent", 10, ""));
+        assertThat(s.undoDepth("old")).isEqualTo(1);
+
+        s.push("new", stateJson("new", 10, ""));
+        assertThat(s.retainedBytes()).isLessThanOrEqualTo(budget);
+        assertThat(s.undoDepth("old")).isZero();
+        assertThat(s.undoDepth("recent")).isEqualTo(1);
+        assertThat(s.undoDepth("new")).isEqualTo(1);
+    }
+
+    @Test
+    void oversizedSessionKeepsItsLatestStep() {
+        SnapshotStore s = SnapshotStore.builder().maxTotalBytes(1024).compress(false).build();
+        for (int turn = 1; turn <= 5; turn++) {
+            s.push("big", stateJson("big", turn * 10, "summary " + turn));
+        }
+        assertThat(s.undoDepth("big")).isEqualTo(1);
+        assertThat(s.undo("big", "current")).isPresent();
+        assertThat(s.retainedBytes()).isPositive();
+        s.clear("big");
+        assertThat(s.retainedBytes()).isZero();
+    }
 }
@@ -992,10 +992,14 @@ public class HarnessAgent implements Agent, AutoCloseable {
      * Returns true when the given session is a local in-process implementation that cannot share
      * state across nodes. Used by sandbox / remote-filesystem fail-fast checks to reject
      * configurations that would silently leak per-node state in distributed deployments.
+     * Decorating stores are unwrapped through {@link AgentStateStore#getDelegate()}.
      */
     static boolean isLocalSession(AgentStateStore stateStore) {
-        return stateStore instanceof JsonFileAgentStateStore
-                || stateStore instanceof InMemoryAgentStateStore;
+        AgentStateStore store = stateStore;
+        while (store != null && store.getDelegate() != null) {
+            store = store.getDelegate();
+        }
+        return store instanceof JsonFileAgentStateStore || store instanceof InMemoryAgentStateStore;
     }
 
     // ==================== Builder ====================
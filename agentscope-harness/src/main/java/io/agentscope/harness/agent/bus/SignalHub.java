@@ -0,0 +1,315 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.bus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Push channels for {@link WorkspaceMessageBus} pub/sub, shared by all bus instances in the JVM
+ * that use the same bus directory.
+ *
+ * <p>Payloads published in this JVM are delivered directly to in-JVM subscribers through a
+ * multicast sink per channel. When the bus directory is on the local disk, every publish also
+ * touches a per-channel, per-JVM signal file under {@code {busRoot}/signals/}, and a
+ * {@link WatchService} on that directory turns signal files written by other processes into an
+ * empty payload on the channel. Signals from this JVM are skipped by the watcher since their
+ * subscribers were already notified directly. Other processes receive only the notification, not
+ * the payload, matching the "signal, then read the queue" use of pub/sub by the bus helpers.
+ *
+ * <p>Signal files of this JVM are deleted when the last bus instance releases the hub. Files left
+ * behind by processes that died are swept by publishers once they have not been touched for
+ * {@link #STALE_SIGNAL_AGE}; a live publisher whose file was swept simply recreates it.
+ */
+final class SignalHub {
+
+    private static final Logger log = LoggerFactory.getLogger(SignalHub.class);
+
+    /** Identifies this JVM in signal file names. */
+    static final String NODE_ID = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+
+    private static final String SIGNAL_SUFFIX = ".signal";
+    private static final Duration EMIT_RETRY = Duration.ofSeconds(1);
+    static final Duration STALE_SIGNAL_AGE = Duration.ofHours(1);
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(10);
+
+    private static final Map<String, SignalHub> HUBS = new ConcurrentHashMap<>();
+
+    private final String id;
+    private final Path signalDir;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    /** Channels this JVM has written a signal file for. */
+    private final Set<String> signalledChannels = ConcurrentHashMap.newKeySet();
+
+    /** Earliest {@link System#currentTimeMillis()} of the next stale signal sweep. */
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    /** Bus instances using this hub; guarded by {@link #HUBS}. */
+    private int refs;
+
+    /** Guarded by {@code this}. */
+    private WatchService watchService;
+
+    private volatile boolean watchFailed;
+
+    private SignalHub(String id, Path signalDir) {
+        this.id = id;
+        this.signalDir = signalDir;
+    }
+
+    /**
+     * Returns the hub for {@code id}, creating it if needed. Every call must be paired with
+     * {@link #release()}.
+     *
+     * @param id identifies the bus directory; bus instances with the same id share channels
+     * @param signalDir host directory for cross-process signal files, or {@code null} when the
+     *     bus directory is not on the local disk
+     */
+    static SignalHub acquire(String id, Path signalDir) {
+        return HUBS.compute(
+                id,
+                (k, hub) -> {
+                    SignalHub h = hub != null ? hub : new SignalHub(k, signalDir);
+                    h.refs++;
+                    return h;
+                });
+    }
+
+    /** Drops one reference; the last one stops the watcher and deletes this JVM's signals. */
+    void release() {
+        HUBS.computeIfPresent(
+                id,
+                (k, hub) -> {
+                    if (--hub.refs > 0) {
+                        return hub;
+                    }
+                    hub.stopWatching();
+                    hub.deleteOwnSignals();
+                    return null;
+                });
+    }
+
+    /**
+     * Returns whether publishes from other processes are pushed to subscribers. Starts the
+     * directory watcher on first use.
+     */
+    boolean watchesOtherProcesses() {
+        if (signalDir == null || watchFailed) {
+            return false;
+        }
+        synchronized (this) {
+            if (watchService != null) {
+                return true;
+            }
+            try {
+                Files.createDirectories(signalDir);
+                WatchService ws = signalDir.getFileSystem().newWatchService();
+                signalDir.register(
+                        ws,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                Thread thread = new Thread(() -> watch(ws), "agentscope-bus-signals");
+                thread.setDaemon(true);
+                thread.start();
+                watchService = ws;
+                return true;
+            } catch (IOException | UnsupportedOperationException e) {
+                log.warn(
+                        "Cannot watch {} for bus signals, falling back to polling: {}",
+                        signalDir,
+                        e.getMessage());
+                watchFailed = true;
+                return false;
+            }
+        }
+    }
+
+    /** Live payloads of {@code channel}, starting at subscription. */
+    Flux<Map<String, Object>> subscribe(String channel) {
+        return Flux.defer(
+                () -> {
+                    Channel c = join(channel);
+                    return c.sink.asFlux().doFinally(sig -> leave(channel, c));
+                });
+    }
+
+    /** Delivers {@code payload} to in-JVM subscribers and signals other processes. */
+    void publish(String channel, Map<String, Object> payload) {
+        emit(channel, payload);
+        if (signalDir == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(signalDir);
+            signalledChannels.add(channel);
+            Files.writeString(
+                    ownSignal(channel), Long.toString(System.nanoTime()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.debug("Failed to write bus signal for {}: {}", channel, e.getMessage());
+        }
+        long now = System.currentTimeMillis();
+        long due = nextSweep.get();
+        if (now >= due && nextSweep.compareAndSet(due, now + SWEEP_INTERVAL.toMillis())) {
+            sweepStaleSignals(now - STALE_SIGNAL_AGE.toMillis());
+        }
+    }
+
+    private Path ownSignal(String channel) {
+        return signalDir.resolve(channel + "." + NODE_ID + SIGNAL_SUFFIX);
+    }
+
+    /** Deletes signal files, of any process, last modified before {@code cutoffMillis}. */
+    private void sweepStaleSignals(long cutoffMillis) {
+        try (DirectoryStream<Path> files =
+                Files.newDirectoryStream(signalDir, "*" + SIGNAL_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < cutoffMillis) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    // Deleted concurrently by another sweeper
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Failed to sweep bus signals in {}: {}", signalDir, e.getMessage());
+        }
+    }
+
+    private void deleteOwnSignals() {
+        for (String channel : signalledChannels) {
+            try {
+                Files.deleteIfExists(ownSignal(channel));
+            } catch (IOException e) {
+                log.debug("Failed to delete bus signal for {}: {}", channel, e.getMessage());
+            }
+        }
+        signalledChannels.clear();
+    }
+
+    private void emit(String channel, Map<String, Object> payload) {
+        Channel c = channels.get(channel);
+        if (c != null) {
+            c.sink.emitNext(payload, Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+        }
+    }
+
+    private Channel join(String channel) {
+        return channels.compute(
+                channel,
+                (k, c) -> {
+                    Channel joined = c != null ? c : new Channel();
+                    joined.subscribers++;
+                    return joined;
+                });
+    }
+
+    private void leave(String channel, Channel c) {
+        channels.computeIfPresent(
+                channel, (k, current) -> current == c && --c.subscribers == 0 ? null : current);
+    }
+
+    private void watch(WatchService ws) {
+        try {
+            while (true) {
+                WatchKey key = ws.take();
+                // Coalesce the create/modify events of one write, and bursts of writes
+                Set<String> signalled = new LinkedHashSet<>();
+                boolean overflow = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                    } else if (event.context() instanceof Path file) {
+                        String channel = foreignChannel(file.getFileName().toString());
+                        if (channel != null) {
+                            signalled.add(channel);
+                        }
+                    }
+                }
+                if (overflow) {
+                    signalled.addAll(channels.keySet());
+                }
+                for (String channel : signalled) {
+                    emit(channel, Map.of());
+                }
+                if (!key.reset()) {
+                    log.warn("Bus signal directory {} is no longer watchable", signalDir);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // stopped
+        }
+        synchronized (this) {
+            if (watchService == ws) {
+                watchService = null;
+            }
+        }
+    }
+
+    /** Returns the channel of a signal file written by another JVM, or {@code null}. */
+    static String foreignChannel(String fileName) {
+        if (!fileName.endsWith(SIGNAL_SUFFIX)) {
+            return null;
+        }
+        String base = fileName.substring(0, fileName.length() - SIGNAL_SUFFIX.length());
+        int dot = base.lastIndexOf('.');
+        if (dot <= 0 || base.substring(dot + 1).equals(NODE_ID)) {
+            return null;
+        }
+        return base.substring(0, dot);
+    }
+
+    private synchronized void stopWatching() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Failed to close bus signal watcher: {}", e.getMessage());
+            }
+            watchService = null;
+        }
+    }
+
+    private static final class Channel {
+        final Sinks.Many<Map<String, Object>> sink = Sinks.many().multicast().directBestEffort();
+
+        /** Guarded by the channel map. */
+        int subscribers;
+    }
+}
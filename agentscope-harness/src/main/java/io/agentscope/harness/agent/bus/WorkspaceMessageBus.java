@@ -18,14 +18,17 @@ package io.agentscope.harness.agent.bus;
 import io.agentscope.core.agent.RuntimeContext;
 import io.agentscope.core.util.JsonUtils;
 import io.agentscope.harness.agent.filesystem.AbstractFilesystem;
+import io.agentscope.harness.agent.filesystem.local.LocalFilesystem;
+import io.agentscope.harness.agent.filesystem.model.FileDownloadResponse;
 import io.agentscope.harness.agent.filesystem.model.FileInfo;
 import io.agentscope.harness.agent.filesystem.model.LsResult;
-import io.agentscope.harness.agent.filesystem.model.ReadResult;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,8 +42,12 @@ import reactor.core.scheduler.Schedulers;
  * <p>Works with any filesystem backend (local, remote, sandbox). Suitable for cross-process
  * scenarios where multiple JVMs share the same workspace directory.
  *
- * <p>Mode D (pub/sub) is degraded to polling: {@link #subscribe} returns a {@code Flux} that emits
- * an empty signal every 3 seconds; {@link #publish} is a no-op.
+ * <p>Mode D (pub/sub) is push-based within the JVM: {@link #publish} delivers the payload to every
+ * current subscriber of the key on any bus instance sharing the same bus directory. Across
+ * processes only the fact that something was published travels, as an empty payload: on a
+ * {@link LocalFilesystem} a per-key signal file is touched and picked up by a {@code WatchService}
+ * in the other processes; on other backends {@link #subscribe} additionally emits an empty payload
+ * every 3 seconds so remote publishers are noticed by polling.
  *
  * <p>File layout under {@code busRoot}:
  * <pre>
@@ -49,6 +56,8 @@ import reactor.core.scheduler.Schedulers;
  *     {entryId}.json       — Mode A entries (drain = ls + read + delete)
  *   logs/{key-hash}/
  *     {entryId}.json       — Mode C entries (append-only)
+ *   signals/
+ *     {key-hash}.{node}.signal — Mode D cross-process notifications (local disk only)
  * </pre>
  */
 public class WorkspaceMessageBus implements MessageBus {
@@ -60,6 +69,8 @@ public class WorkspaceMessageBus implements MessageBus {
     private final AbstractFilesystem fs;
     private final String busRoot;
     private final AtomicLong seq = new AtomicLong(System.nanoTime());
+    private final SignalHub signals;
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     /**
      * @param filesystem any {@link AbstractFilesystem} implementation
@@ -68,6 +79,25 @@ public class WorkspaceMessageBus implements MessageBus {
     public WorkspaceMessageBus(AbstractFilesystem filesystem, String busRoot) {
         this.fs = filesystem;
         this.busRoot = busRoot.endsWith("/") ? busRoot.substring(0, busRoot.length() - 1) : busRoot;
+        Path signalDir = localSignalDir(filesystem, this.busRoot);
+        this.signals =
+                SignalHub.acquire(
+                        signalDir != null
+                                ? signalDir.toString()
+                                : "bus@" + Integer.toHexString(System.identityHashCode(this)),
+                        signalDir);
+    }
+
+    private static Path localSignalDir(AbstractFilesystem filesystem, String busRoot) {
+        if (!(filesystem instanceof LocalFilesystem local)) {
+            return null;
+        }
+        try {
+            return local.toHostPath(RC, busRoot + "/signals").toAbsolutePath().normalize();
+        } catch (RuntimeException e) {
+            log.debug("Bus root {} has no host path, using polling: {}", busRoot, e.getMessage());
+            return null;
+        }
     }
 
     // ---- Mode A: drain queue ----
@@ -80,8 +110,7 @@ public class WorkspaceMessageBus implements MessageBus {
                     String dir = queueDir(key);
                     ensureDir(dir);
                     String path = dir + "/" + entryId + ".json";
-                    String json = JsonUtils.getJsonCodec().toJson(payload);
-                    fs.write(RC, path, json);
+                    writeEntry(path, payload);
                     return entryId;
                 });
     }
@@ -96,7 +125,7 @@ public class WorkspaceMessageBus implements MessageBus {
                     int count = Math.min(maxCount, files.size());
                     for (int i = 0; i < count; i++) {
                         FileInfo fi = files.get(i);
-                        String content = readFileContent(fi.path());
+                        byte[] content = readFileBytes(fi.path());
                         if (content == null) {
                             // Transient read failure (race with concurrent drain, I/O error).
                             // Do NOT delete — preserve the entry so the next drain can retry it.
@@ -148,8 +177,7 @@ public class WorkspaceMessageBus implements MessageBus {
                     String dir = logDir(key);
                     ensureDir(dir);
                     String path = dir + "/" + entryId + ".json";
-                    String json = JsonUtils.getJsonCodec().toJson(payload);
-                    fs.write(RC, path, json);
+                    writeEntry(path, payload);
 
                     if (maxLen > 0) {
                         List<FileInfo> files = listSorted(dir);
@@ -188,7 +216,7 @@ public class WorkspaceMessageBus implements MessageBus {
                     int endIdx = Math.min(startIdx + maxCount, files.size());
                     for (int i = startIdx; i < endIdx; i++) {
                         FileInfo fi = files.get(i);
-                        String content = readFileContent(fi.path());
+                        byte[] content = readFileBytes(fi.path());
                         if (content != null) {
                             String entryId = extractEntryId(fi.path());
                             @SuppressWarnings("unchecked")
@@ -206,18 +234,33 @@ public class WorkspaceMessageBus implements MessageBus {
         return Mono.fromRunnable(() -> fs.delete(RC, logDir(key)));
     }
 
-    // ---- Mode D: degraded pub/sub ----
+    // ---- Mode D: pub/sub ----
 
     @Override
     public Mono<Void> publish(String key, Map<String, Object> payload) {
-        return Mono.empty();
+        return Mono.fromRunnable(() -> signals.publish(hashKey(key), payload));
     }
 
     @Override
     public Flux<Map<String, Object>> subscribe(String key) {
-        return Flux.interval(POLL_INTERVAL)
-                .map(tick -> Map.<String, Object>of())
-                .subscribeOn(Schedulers.boundedElastic());
+        return Flux.defer(
+                () -> {
+                    Flux<Map<String, Object>> pushed = signals.subscribe(hashKey(key));
+                    if (signals.watchesOtherProcesses()) {
+                        return pushed;
+                    }
+                    return Flux.merge(
+                            pushed,
+                            Flux.interval(POLL_INTERVAL, Schedulers.boundedElastic())
+                                    .map(tick -> Map.<String, Object>of()));
+                });
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            signals.release();
+        }
     }
 
     // ---- Internal helpers ----
@@ -261,12 +304,19 @@ public class WorkspaceMessageBus implements MessageBus {
                 .toList();
     }
 
-    private String readFileContent(String path) {
-        ReadResult rr = fs.read(RC, path, 0, Integer.MAX_VALUE);
-        if (!rr.isSuccess() || rr.fileData() == null) {
+    /** Writes {@code payload} as UTF-8 JSON bytes, without an intermediate String. */
+    private void writeEntry(String path, Map<String, Object> payload) {
+        byte[] json = JsonUtils.getJsonCodec().toJsonBytes(payload);
+        fs.uploadFiles(RC, List.of(Map.entry(path, json)));
+    }
+
+    /** Returns the raw bytes of {@code path}, or {@code null} if it cannot be read. */
+    private byte[] readFileBytes(String path) {
+        List<FileDownloadResponse> responses = fs.downloadFiles(RC, List.of(path));
+        if (responses.isEmpty() || !responses.get(0).isSuccess()) {
             return null;
         }
-        return rr.fileData().content();
+        return responses.get(0).content();
     }
 
     private void ensureDir(String dir) {
@@ -167,6 +167,20 @@ public interface AbstractFilesystem {
      */
     boolean exists(RuntimeContext runtimeContext, String path);
 
+    /**
+     * Returns a revision token for each of {@code paths} that can be looked up without reading
+     * file content, such as a store-side version number.
+     * <p>Tokens are opaque and change whenever a file's content changes; callers only compare
+     * them for equality. Paths that do not exist, or whose revision is not available cheaply, are
+     * absent from the result. The default implementation reports none.
+     * @param runtimeContext per-call agent runtime; {@link RuntimeContext#empty()} when none
+     * @param paths file paths, in the form accepted by {@link #read}
+     * @return path to revision token; never {@code null}
+     */
+    default Map<String, String> revisions(RuntimeContext runtimeContext, List<String> paths) {
+        return Map.of();
+    }
+
     // ==================== Path validation utility ====================
 
     /**
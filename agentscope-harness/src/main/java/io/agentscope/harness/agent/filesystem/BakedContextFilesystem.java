@@ -110,4 +110,9 @@ public final class BakedContextFilesystem implements AbstractFilesystem {
     public boolean exists(RuntimeContext runtimeContext, String path) {
         return delegate.exists(bakedRc, path);
     }
+
+    @Override
+    public Map<String, String> revisions(RuntimeContext runtimeContext, List<String> paths) {
+        return delegate.revisions(bakedRc, paths);
+    }
 }
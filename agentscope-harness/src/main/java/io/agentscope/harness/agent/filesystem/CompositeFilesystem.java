@@ -34,6 +34,8 @@ import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -508,6 +510,32 @@ public class CompositeFilesystem implements AbstractFilesystem {
         return route.backend().exists(runtimeContext, route.backendPath());
     }
 
+    @Override
+    public Map<String, String> revisions(RuntimeContext runtimeContext, List<String> paths) {
+        // One lookup per backend, keyed back to the caller's paths
+        Map<AbstractFilesystem, Map<String, String>> byBackend = new IdentityHashMap<>();
+        for (String path : paths) {
+            RouteResult route = routeForPath(path);
+            byBackend
+                    .computeIfAbsent(route.backend(), b -> new LinkedHashMap<>())
+                    .put(route.backendPath(), path);
+        }
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<AbstractFilesystem, Map<String, String>> e : byBackend.entrySet()) {
+            Map<String, String> originals = e.getValue();
+            e.getKey()
+                    .revisions(runtimeContext, new ArrayList<>(originals.keySet()))
+                    .forEach(
+                            (backendPath, revision) -> {
+                                String original = originals.get(backendPath);
+                                if (original != null) {
+                                    result.put(original, revision);
+                                }
+                            });
+        }
+        return result;
+    }
+
     /** Returns the default store. */
     public AbstractFilesystem getDefaultBackend() {
         return defaultBackend;
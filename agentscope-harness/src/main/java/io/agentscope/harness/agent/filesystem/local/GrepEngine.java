@@ -0,0 +1,493 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.filesystem.local;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process literal grep used by {@link LocalFilesystem}.
+ *
+ * <p>Directories are walked in parallel on a shared fork-join pool, one task per directory and per
+ * file. Like {@code rg}, the walk skips hidden entries, paths excluded by {@code .gitignore} files
+ * met along the way (nested files take precedence over outer ones) and binary files (a NUL byte in
+ * the first {@value #BINARY_PROBE_BYTES} bytes); symbolic links to directories are not followed.
+ * Files are searched as bytes for the UTF-8 encoding of the pattern, memory-mapped above
+ * {@value #MAP_THRESHOLD_BYTES} bytes, and only matching lines are decoded. The walk stops
+ * scheduling work once {@code maxMatches} lines have matched.
+ *
+ * <p>Directory listings and parsed {@code .gitignore} rules are cached between calls and
+ * revalidated against the directory's (or ignore file's) modification time. Listings of
+ * directories modified within the last {@value #RACY_MILLIS} ms are not cached, since a
+ * coarse-grained timestamp could hide a change made in the same tick.
+ */
+final class GrepEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(GrepEngine.class);
+
+    /** Default upper bound on returned matches. */
+    static final int DEFAULT_MAX_MATCHES = 10_000;
+
+    private static final int BINARY_PROBE_BYTES = 8192;
+    private static final long MAP_THRESHOLD_BYTES = 1L << 20;
+    private static final int MAX_CACHED_DIRS = 16_384;
+    private static final long RACY_MILLIS = 2_000;
+
+    private static final ForkJoinPool POOL =
+            new ForkJoinPool(Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors())));
+
+    /** A matching line. */
+    record Hit(Path file, int line, String text) {}
+
+    private record Entry(String name, boolean directory, boolean file) {}
+
+    private record Listing(FileTime modified, List<Entry> entries) {}
+
+    private record IgnoreFile(FileTime modified, GitIgnore rules) {}
+
+    private final Map<Path, Listing> listings =
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, Listing> eldest) {
+                    return size() > MAX_CACHED_DIRS;
+                }
+            };
+
+    private final Map<Path, IgnoreFile> ignoreFiles =
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, IgnoreFile> eldest) {
+                    return size() > MAX_CACHED_DIRS;
+                }
+            };
+
+    /**
+     * Searches {@code base} (a directory or a single file) for lines containing {@code literal}.
+     *
+     * @param includeGlob optional glob; matched against the file name, or against the path
+     *     relative to {@code base} when it contains a {@code /}
+     * @param maxFileSize files larger than this are skipped
+     * @param maxMatches stop after this many matching lines
+     * @return hits ordered by file path and line number
+     */
+    List<Hit> search(
+            Path base, String literal, String includeGlob, long maxFileSize, int maxMatches) {
+        byte[] needle = literal.getBytes(StandardCharsets.UTF_8);
+        Search search = new Search(base, needle, includeGlob, maxFileSize, maxMatches);
+        if (Files.isDirectory(base)) {
+            POOL.invoke(new DirTask(search, base, List.of()));
+        } else if (Files.isRegularFile(base)) {
+            search.file(base);
+        }
+        List<Hit> hits = new ArrayList<>(search.hits);
+        hits.sort(Comparator.comparing((Hit h) -> h.file().toString()).thenComparing(Hit::line));
+        return hits.size() > maxMatches ? hits.subList(0, maxMatches) : hits;
+    }
+
+    private List<Entry> list(Path dir) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(dir);
+        synchronized (listings) {
+            Listing cached = listings.get(dir);
+            if (cached != null && cached.modified().equals(modified)) {
+                return cached.entries();
+            }
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path child : stream) {
+                BasicFileAttributes attrs;
+                try {
+                    attrs =
+                            Files.readAttributes(
+                                    child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (IOException e) {
+                    continue;
+                }
+                boolean file = attrs.isRegularFile();
+                if (attrs.isSymbolicLink()) {
+                    // Follow links to files, never links to directories
+                    file = Files.isRegularFile(child);
+                }
+                entries.add(new Entry(child.getFileName().toString(), attrs.isDirectory(), file));
+            }
+        }
+        List<Entry> frozen = List.copyOf(entries);
+        if (System.currentTimeMillis() - modified.toMillis() > RACY_MILLIS) {
+            synchronized (listings) {
+                listings.put(dir, new Listing(modified, frozen));
+            }
+        }
+        return frozen;
+    }
+
+    private GitIgnore ignoreRules(Path dir, List<Entry> entries) {
+        boolean present = false;
+        for (Entry e : entries) {
+            if (e.file() && e.name().equals(".gitignore")) {
+                present = true;
+                break;
+            }
+        }
+        Path file = dir.resolve(".gitignore");
+        if (!present) {
+            synchronized (ignoreFiles) {
+                ignoreFiles.remove(file);
+            }
+            return null;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            synchronized (ignoreFiles) {
+                IgnoreFile cached = ignoreFiles.get(file);
+                if (cached != null && cached.modified().equals(modified)) {
+                    return cached.rules();
+                }
+            }
+            GitIgnore rules =
+                    GitIgnore.parse(dir, Files.readAllLines(file, StandardCharsets.UTF_8));
+            synchronized (ignoreFiles) {
+                ignoreFiles.put(file, new IgnoreFile(modified, rules));
+            }
+            return rules;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** State of one search, shared by its tasks. */
+    private final class Search {
+        final Path root;
+        final byte[] needle;
+        final PathMatcher glob;
+        final boolean globOnRelativePath;
+        final long maxFileSize;
+        final int maxMatches;
+        final Queue<Hit> hits = new ConcurrentLinkedQueue<>();
+        final AtomicInteger matched = new AtomicInteger();
+
+        Search(Path root, byte[] needle, String includeGlob, long maxFileSize, int maxMatches) {
+            boolean hasGlob = includeGlob != null && !includeGlob.isBlank();
+            this.root = root;
+            this.needle = needle;
+            this.glob =
+                    hasGlob ? FileSystems.getDefault().getPathMatcher("glob:" + includeGlob) : null;
+            this.globOnRelativePath = hasGlob && includeGlob.contains("/");
+            this.maxFileSize = maxFileSize;
+            this.maxMatches = maxMatches;
+        }
+
+        boolean done() {
+            return matched.get() >= maxMatches;
+        }
+
+        boolean included(Path file) {
+            if (glob == null) {
+                return true;
+            }
+            return globOnRelativePath
+                    ? glob.matches(root.relativize(file))
+                    : glob.matches(file.getFileName());
+        }
+
+        void file(Path file) {
+            if (done()) {
+                return;
+            }
+            try {
+                long size = Files.size(file);
+                if (size > maxFileSize) {
+                    return;
+                }
+                scan(file, read(file, size));
+            } catch (NoSuchFileException e) {
+                // Deleted while walking
+            } catch (IOException e) {
+                log.debug("Skipping unreadable file {}: {}", file, e.getMessage());
+            }
+        }
+
+        private ByteBuffer read(Path file, long size) throws IOException {
+            if (size < MAP_THRESHOLD_BYTES) {
+                return ByteBuffer.wrap(Files.readAllBytes(file));
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+
+        private void scan(Path file, ByteBuffer data) {
+            int limit = data.limit();
+            for (int i = 0, probe = Math.min(limit, BINARY_PROBE_BYTES); i < probe; i++) {
+                if (data.get(i) == 0) {
+                    return;
+                }
+            }
+            int line = 1;
+            int lineStart = 0;
+            int counted = 0;
+            int from = 0;
+            while (from <= limit && !done()) {
+                int at = indexOf(data, from, limit);
+                if (at < 0) {
+                    return;
+                }
+                // Advance the line counter to the line containing the match
+                for (int i = counted; i < at; i++) {
+                    if (data.get(i) == '\n') {
+                        line++;
+                        lineStart = i + 1;
+                    }
+                }
+                int lineEnd = at;
+                while (lineEnd < limit && data.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                hits.add(new Hit(file, line, decode(data, lineStart, lineEnd)));
+                matched.incrementAndGet();
+                counted = lineEnd;
+                from = lineEnd + 1;
+            }
+        }
+
+        private int indexOf(ByteBuffer data, int from, int limit) {
+            if (needle.length == 0) {
+                return from < limit ? from : -1;
+            }
+            byte first = needle[0];
+            int last = limit - needle.length;
+            outer:
+            for (int i = from; i <= last; i++) {
+                if (data.get(i) != first) {
+                    continue;
+                }
+                for (int j = 1; j < needle.length; j++) {
+                    if (data.get(i + j) != needle[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+
+        private String decode(ByteBuffer data, int start, int end) {
+            if (end > start && data.get(end - 1) == '\r') {
+                end--;
+            }
+            byte[] bytes = new byte[end - start];
+            data.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private final class DirTask extends RecursiveAction {
+        private final Search search;
+        private final Path dir;
+        private final List<GitIgnore> ignores;
+
+        DirTask(Search search, Path dir, List<GitIgnore> ignores) {
+            this.search = search;
+            this.dir = dir;
+            this.ignores = ignores;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.done()) {
+                return;
+            }
+            List<Entry> entries;
+            try {
+                entries = list(dir);
+            } catch (IOException e) {
+                log.debug("Skipping unreadable directory {}: {}", dir, e.getMessage());
+                return;
+            }
+            List<GitIgnore> scoped = ignores;
+            GitIgnore local = ignoreRules(dir, entries);
+            if (local != null) {
+                scoped = new ArrayList<>(ignores);
+                scoped.add(local);
+            }
+            List<RecursiveAction> tasks = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry.name().startsWith(".")) {
+                    continue;
+                }
+                Path child = dir.resolve(entry.name());
+                if (isIgnored(scoped, child, entry.directory())) {
+                    continue;
+                }
+                if (entry.directory()) {
+                    tasks.add(new DirTask(search, child, scoped));
+                } else if (entry.file() && search.included(child)) {
+                    tasks.add(new FileTask(search, child));
+                }
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    private static final class FileTask extends RecursiveAction {
+        private final Search search;
+        private final Path file;
+
+        FileTask(Search search, Path file) {
+            this.search = search;
+            this.file = file;
+        }
+
+        @Override
+        protected void compute() {
+            search.file(file);
+        }
+    }
+
+    private static boolean isIgnored(List<GitIgnore> scoped, Path path, boolean directory) {
+        for (int i = scoped.size() - 1; i >= 0; i--) {
+            Boolean ignored = scoped.get(i).match(path, directory);
+            if (ignored != null) {
+                return ignored;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The rules of one {@code .gitignore} file: blank lines and comments are skipped, {@code !}
+     * re-includes, a trailing {@code /} restricts a rule to directories, and a rule containing a
+     * {@code /} elsewhere is anchored to the file's directory. {@code *}, {@code ?}, {@code [...]}
+     * and {@code **} have their gitignore meaning.
+     */
+    static final class GitIgnore {
+
+        private record Rule(Pattern pattern, boolean negated, boolean directoryOnly) {}
+
+        private final Path dir;
+        private final List<Rule> rules;
+
+        private GitIgnore(Path dir, List<Rule> rules) {
+            this.dir = dir;
+            this.rules = rules;
+        }
+
+        static GitIgnore parse(Path dir, List<String> lines) {
+            List<Rule> rules = new ArrayList<>();
+            for (String raw : lines) {
+                String line = raw.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                boolean negated = line.startsWith("!");
+                if (negated) {
+                    line = line.substring(1);
+                }
+                boolean directoryOnly = line.endsWith("/");
+                if (directoryOnly) {
+                    line = line.substring(0, line.length() - 1);
+                }
+                boolean anchored = line.contains("/");
+                if (line.startsWith("/")) {
+                    line = line.substring(1);
+                }
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String regex = (anchored ? "" : "(?:.*/)?") + toRegex(line);
+                rules.add(new Rule(Pattern.compile(regex), negated, directoryOnly));
+            }
+            return new GitIgnore(dir, List.copyOf(rules));
+        }
+
+        /**
+         * Returns {@code true} if the last matching rule ignores {@code path}, {@code false} if it
+         * re-includes it, and {@code null} if no rule matches.
+         */
+        Boolean match(Path path, boolean directory) {
+            String relative = dir.relativize(path).toString().replace('\\', '/');
+            for (int i = rules.size() - 1; i >= 0; i--) {
+                Rule rule = rules.get(i);
+                if (rule.directoryOnly() && !directory) {
+                    continue;
+                }
+                if (rule.pattern().matcher(relative).matches()) {
+                    return !rule.negated();
+                }
+            }
+            return null;
+        }
+
+        private static String toRegex(String glob) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < glob.length(); i++) {
+                char c = glob.charAt(i);
+                if (c == '*') {
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        boolean slashAfter = i + 2 < glob.length() && glob.charAt(i + 2) == '/';
+                        sb.append(slashAfter ? "(?:.*/)?" : ".*");
+                        i += slashAfter ? 2 : 1;
+                    } else {
+                        sb.append("[^/]*");
+                    }
+                } else if (c == '?') {
+                    sb.append("[^/]");
+                } else if (c == '[') {
+                    int close = glob.indexOf(']', i + 1);
+                    if (close < 0) {
+                        sb.append("\\[");
+                    } else {
+                        String body = glob.substring(i + 1, close);
+                        if (body.startsWith("!")) {
+                            body = "^" + body.substring(1);
+                        }
+                        sb.append('[').append(body.replace("\\", "\\\\")).append(']');
+                        i = close;
+                    }
+                } else if (c == '\\' && i + 1 < glob.length()) {
+                    sb.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                } else {
+                    sb.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.filesystem.local;
+
+import io.agentscope.harness.agent.filesystem.util.LineIndex;
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of {@link LineIndex}es for large local files, so paging through a file with {@code
+ * read(offset, limit)} scans it for newlines once rather than on every page.
+ *
+ * <p>An entry is reused only while the file's size and modification time are unchanged; any write
+ * through {@link LocalFilesystem} or another process invalidates it on the next lookup.
+ */
+final class LineIndexCache {
+
+    /**
+     * Files modified this recently are not cached: a same-size rewrite within the timestamp
+     * granularity would otherwise go unnoticed.
+     */
+    private static final long RACY_MILLIS = 2_000;
+
+    private record Entry(long size, FileTime modified, LineIndex index) {}
+
+    private final int maxEntries;
+    private final Map<Path, Entry> entries;
+
+    LineIndexCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Path, Entry> eldest) {
+                        return size() > LineIndexCache.this.maxEntries;
+                    }
+                };
+    }
+
+    /**
+     * Returns the index of {@code file}, building it from {@code channel} when it is missing or
+     * stale. {@code attrs} must have been read before the channel was opened.
+     */
+    LineIndex get(Path file, BasicFileAttributes attrs, SeekableByteChannel channel)
+            throws IOException {
+        synchronized (entries) {
+            Entry cached = entries.get(file);
+            if (cached != null
+                    && cached.size() == attrs.size()
+                    && cached.modified().equals(attrs.lastModifiedTime())) {
+                return cached.index();
+            }
+        }
+        LineIndex index = LineIndex.of(channel);
+        // Only keep the index if the file is settled and did not change while it was indexed
+        BasicFileAttributes after = Files.readAttributes(file, BasicFileAttributes.class);
+        if (after.size() == attrs.size()
+                && after.lastModifiedTime().equals(attrs.lastModifiedTime())
+                && System.currentTimeMillis() - attrs.lastModifiedTime().toMillis() > RACY_MILLIS) {
+            synchronized (entries) {
+                entries.put(file, new Entry(attrs.size(), attrs.lastModifiedTime(), index));
+            }
+        }
+        return index;
+    }
+}
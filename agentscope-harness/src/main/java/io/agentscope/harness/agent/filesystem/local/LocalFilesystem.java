@@ -30,11 +30,11 @@ import io.agentscope.harness.agent.filesystem.model.ReadResult;
 import io.agentscope.harness.agent.filesystem.model.WriteResult;
 import io.agentscope.harness.agent.filesystem.remote.store.NamespaceFactory;
 import io.agentscope.harness.agent.filesystem.util.FilesystemUtils;
+import io.agentscope.harness.agent.filesystem.util.LineIndex;
 import io.agentscope.harness.agent.workspace.LocalFsMode;
 import io.agentscope.harness.agent.workspace.PathPolicy;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystem;
@@ -54,7 +54,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -79,6 +78,11 @@ public class LocalFilesystem implements AbstractFilesystem {
 
     private static final int DEFAULT_MAX_FILE_SIZE_MB = 10;
 
+    /** Text files at least this large are read through a {@link LineIndex}. */
+    static final long INDEXED_READ_THRESHOLD_BYTES = 256 * 1024;
+
+    private static final int MAX_CACHED_LINE_INDEXES = 64;
+
     private final Path cwd;
     private final LocalFsMode mode;
     private final PathPolicy pathPolicy;
@@ -92,6 +96,12 @@ public class LocalFilesystem implements AbstractFilesystem {
      */
     private final ConcurrentHashMap<String, ReentrantLock> fileLocks = new ConcurrentHashMap<>();
 
+    /** In-process grep; keeps directory listings cached across {@link #grep} calls. */
+    private final GrepEngine grepEngine = new GrepEngine();
+
+    /** Line indexes of large files, reused while paging through them with {@link #read}. */
+    private final LineIndexCache lineIndexCache = new LineIndexCache(MAX_CACHED_LINE_INDEXES);
+
     /**
      * Same as {@link #LocalFilesystem(Path)} with {@link Path#of(String, String...) Path.of(path)}
      * after {@link String#strip()}. Pass {@code null} for the same CWD semantics as a {@code null}
@@ -234,6 +244,14 @@ public class LocalFilesystem implements AbstractFilesystem {
         return pathPolicy;
     }
 
+    /**
+     * Returns the host path a filesystem path resolves to, using the same rules as every other
+     * operation. For callers that need native file APIs, such as change notifications.
+     */
+    public Path toHostPath(RuntimeContext runtimeContext, String path) {
+        return resolvePath(runtimeContext, path);
+    }
+
     @Override
     public LsResult ls(RuntimeContext runtimeContext, String path) {
         Path dirPath = resolvePath(runtimeContext, path);
@@ -283,6 +301,11 @@ public class LocalFilesystem implements AbstractFilesystem {
                 return ReadResult.success(new FileData(encoded, "base64"));
             }
 
+            BasicFileAttributes attrs = Files.readAttributes(resolved, BasicFileAttributes.class);
+            if (attrs.size() >= INDEXED_READ_THRESHOLD_BYTES) {
+                return readIndexed(resolved, attrs, offset, limit);
+            }
+
             String content = Files.readString(resolved, StandardCharsets.UTF_8);
 
             if (content.isEmpty() || content.isBlank()) {
@@ -318,6 +341,27 @@ public class LocalFilesystem implements AbstractFilesystem {
         }
     }
 
+    /**
+     * Reads a window of lines from a large file, seeking to it through the file's cached {@link
+     * LineIndex} instead of loading and splitting the whole content.
+     */
+    private ReadResult readIndexed(Path file, BasicFileAttributes attrs, int offset, int limit)
+            throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            LineIndex index = lineIndexCache.get(file, attrs, channel);
+            int startIdx = Math.max(0, offset);
+            if (startIdx >= index.lineCount()) {
+                return ReadResult.fail(
+                        "Line offset "
+                                + offset
+                                + " exceeds file length ("
+                                + index.lineCount()
+                                + " lines)");
+            }
+            return ReadResult.success(new FileData(index.read(channel, startIdx, limit), "utf-8"));
+        }
+    }
+
     @Override
     public WriteResult write(RuntimeContext runtimeContext, String filePath, String content) {
         Path resolved = resolvePath(runtimeContext, filePath);
@@ -397,9 +441,17 @@ public class LocalFilesystem implements AbstractFilesystem {
             return GrepResult.success(List.of());
         }
 
-        List<GrepMatch> matches = ripgrepSearch(runtimeContext, pattern, basePath, glob);
-        if (matches == null) {
-            matches = javaSearch(runtimeContext, pattern, basePath, glob);
+        List<GrepMatch> matches = new ArrayList<>();
+        for (GrepEngine.Hit hit :
+                grepEngine.search(
+                        basePath,
+                        pattern,
+                        glob,
+                        maxFileSizeBytes,
+                        GrepEngine.DEFAULT_MAX_MATCHES)) {
+            matches.add(
+                    new GrepMatch(
+                            resolveEntryPath(runtimeContext, hit.file()), hit.line(), hit.text()));
         }
         return GrepResult.success(matches);
     }
@@ -730,160 +782,4 @@ public class LocalFilesystem implements AbstractFilesystem {
         }
         return relPath;
     }
-
-    // ==================== Grep implementations ====================
-
-    private List<GrepMatch> ripgrepSearch(
-            RuntimeContext rc, String pattern, Path basePath, String includeGlob) {
-        List<String> cmd = new ArrayList<>();
-        cmd.add("rg");
-        cmd.add("--json");
-        cmd.add("-F");
-        if (includeGlob != null && !includeGlob.isBlank()) {
-            cmd.add("--glob");
-            cmd.add(includeGlob);
-        }
-        cmd.add("--");
-        cmd.add(pattern);
-        cmd.add(basePath.toString());
-
-        try {
-            ProcessBuilder pb = new ProcessBuilder(cmd);
-            pb.redirectErrorStream(true);
-            Process proc = pb.start();
-
-            List<GrepMatch> matches = new ArrayList<>();
-            try (BufferedReader reader =
-                    new BufferedReader(
-                            new InputStreamReader(proc.getInputStream(), StandardCharsets.UTF_8))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    GrepMatch match = parseRipgrepJsonLine(rc, line);
-                    if (match != null) {
-                        matches.add(match);
-                    }
-                }
-            }
-
-            proc.waitFor();
-            return matches;
-
-        } catch (IOException | InterruptedException e) {
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
-            }
-            return null;
-        }
-    }
-
-    private GrepMatch parseRipgrepJsonLine(RuntimeContext rc, String jsonLine) {
-        try {
-            if (!jsonLine.contains("\"type\":\"match\"")) {
-                return null;
-            }
-            String pathText = extractJsonStringField(jsonLine, "text", "path");
-            String lineNumStr = extractJsonField(jsonLine, "line_number");
-            String linesText = extractJsonStringField(jsonLine, "text", "lines");
-
-            if (pathText == null || lineNumStr == null) {
-                return null;
-            }
-            String filePath = resolveEntryPath(rc, Path.of(pathText));
-            int lineNum = Integer.parseInt(lineNumStr.trim());
-            String text = linesText != null ? linesText.replaceAll("[\r\n]+$", "") : "";
-            return new GrepMatch(filePath, lineNum, text);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private static String extractJsonStringField(String json, String field, String parentField) {
-        String searchKey = "\"" + parentField + "\":{";
-        int parentIdx = json.indexOf(searchKey);
-        if (parentIdx < 0) {
-            return extractSimpleJsonString(json, field);
-        }
-        String sub = json.substring(parentIdx + searchKey.length());
-        return extractSimpleJsonString(sub, field);
-    }
-
-    private static String extractSimpleJsonString(String json, String field) {
-        String key = "\"" + field + "\":\"";
-        int start = json.indexOf(key);
-        if (start < 0) {
-            return null;
-        }
-        start += key.length();
-        int end = json.indexOf('"', start);
-        if (end < 0) {
-            return null;
-        }
-        return json.substring(start, end);
-    }
-
-    private static String extractJsonField(String json, String field) {
-        String key = "\"" + field + "\":";
-        int start = json.indexOf(key);
-        if (start < 0) {
-            return null;
-        }
-        start += key.length();
-        int end = start;
-        while (end < json.length() && json.charAt(end) != ',' && json.charAt(end) != '}') {
-            end++;
-        }
-        return json.substring(start, end).trim();
-    }
-
-    private List<GrepMatch> javaSearch(
-            RuntimeContext rc, String pattern, Path basePath, String includeGlob) {
-        Pattern compiledPattern = Pattern.compile(Pattern.quote(pattern));
-        PathMatcher globMatcher = null;
-        if (includeGlob != null && !includeGlob.isBlank()) {
-            globMatcher = FileSystems.getDefault().getPathMatcher("glob:" + includeGlob);
-        }
-
-        List<GrepMatch> matches = new ArrayList<>();
-        Path root = Files.isDirectory(basePath) ? basePath : basePath.getParent();
-
-        try (Stream<Path> walk = Files.walk(root)) {
-            PathMatcher finalGlobMatcher = globMatcher;
-            walk.filter(Files::isRegularFile)
-                    .filter(
-                            p -> {
-                                if (finalGlobMatcher != null) {
-                                    return finalGlobMatcher.matches(p.getFileName());
-                                }
-                                return true;
-                            })
-                    .filter(
-                            p -> {
-                                try {
-                                    return Files.size(p) <= maxFileSizeBytes;
-                                } catch (IOException e) {
-                                    return false;
-                                }
-                            })
-                    .forEach(
-                            file -> {
-                                try {
-                                    List<String> lines =
-                                            Files.readAllLines(file, StandardCharsets.UTF_8);
-                                    for (int i = 0; i < lines.size(); i++) {
-                                        if (compiledPattern.matcher(lines.get(i)).find()) {
-                                            String filePath = resolveEntryPath(rc, file);
-                                            matches.add(
-                                                    new GrepMatch(filePath, i + 1, lines.get(i)));
-                                        }
-                                    }
-                                } catch (IOException e) {
-                                    // Skip binary/unreadable files
-                                }
-                            });
-        } catch (IOException e) {
-            log.warn("Java search failed: {}", e.getMessage());
-        }
-
-        return matches;
-    }
 }
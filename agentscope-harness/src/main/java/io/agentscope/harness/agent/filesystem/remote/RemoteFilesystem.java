@@ -32,6 +32,7 @@ import io.agentscope.harness.agent.filesystem.remote.store.BaseStore;
 import io.agentscope.harness.agent.filesystem.remote.store.NamespaceFactory;
 import io.agentscope.harness.agent.filesystem.remote.store.StoreItem;
 import io.agentscope.harness.agent.filesystem.util.FilesystemUtils;
+import io.agentscope.harness.agent.filesystem.util.LineIndex;
 import io.agentscope.harness.agent.workspace.WorkspaceIndex;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
@@ -41,6 +42,7 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +61,14 @@ import java.util.Set;
  * RemoteFilesystem fs = new RemoteFilesystem(store,
  *     () -> List.of("sessions", sessionIdSupplier.get(), "filesystem"));
  * }</pre>
+ *
+ * <p>Decoded file contents are kept in a size-bounded read-through cache (see
+ * {@link #withContentCache}). A cached copy is only used after confirming with
+ * {@link BaseStore#batchGetVersions} that the stored version is unchanged; for stores without a
+ * cheap {@linkplain BaseStore#hasVersionLookup() version lookup} the items are fetched anyway and
+ * the cache only spares decoding content whose version did not change. Multi-file
+ * operations ({@code grep} over indexed candidates, {@code downloadFiles}) fetch all missing files
+ * with one {@link BaseStore#batchGet}, so they take a fixed number of store round-trips.
  */
 public class RemoteFilesystem implements AbstractFilesystem {
 
@@ -72,6 +82,12 @@ public class RemoteFilesystem implements AbstractFilesystem {
      */
     private WorkspaceIndex index;
 
+    /** Default bound of the content cache: 32 MiB. */
+    public static final long DEFAULT_CONTENT_CACHE_BYTES = 32L * 1024 * 1024;
+
+    /** Read-through cache of decoded contents; {@code null} when disabled. */
+    private StoreContentCache contentCache = new StoreContentCache(DEFAULT_CONTENT_CACHE_BYTES);
+
     /**
      * Creates a RemoteFilesystem with a {@link NamespaceFactory} that is called on every operation,
      * allowing the namespace to vary based on runtime context.
@@ -134,6 +150,21 @@ public class RemoteFilesystem implements AbstractFilesystem {
         return this;
     }
 
+    /**
+     * Sets the bound of the read-through content cache, replacing the current cache. Defaults to
+     * {@link #DEFAULT_CONTENT_CACHE_BYTES}.
+     *
+     * @param maxBytes approximate maximum heap size of cached contents; {@code 0} disables caching
+     * @return this instance (fluent)
+     */
+    public RemoteFilesystem withContentCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative, got: " + maxBytes);
+        }
+        this.contentCache = maxBytes > 0 ? new StoreContentCache(maxBytes) : null;
+        return this;
+    }
+
     private static NamespaceFactory toFactory(List<String> namespace) {
         if (namespace == null || namespace.isEmpty()) {
             throw new IllegalArgumentException("namespace must not be empty");
@@ -213,12 +244,13 @@ public class RemoteFilesystem implements AbstractFilesystem {
 
     @Override
     public ReadResult read(RuntimeContext runtimeContext, String filePath, int offset, int limit) {
-        StoreItem item = store.get(getNamespace(runtimeContext), filePath);
-        if (item == null) {
+        List<String> ns = getNamespace(runtimeContext);
+        Map<String, FileData> fetched = fetchFiles(ns, List.of(filePath));
+        if (!fetched.containsKey(filePath)) {
             return ReadResult.fail("File '" + filePath + "' not found");
         }
 
-        FileData fileData = convertItemToFileData(item);
+        FileData fileData = fetched.get(filePath);
         if (fileData == null) {
             return ReadResult.fail("Invalid file data for '" + filePath + "'");
         }
@@ -232,26 +264,22 @@ public class RemoteFilesystem implements AbstractFilesystem {
             return ReadResult.success(fileData);
         }
 
-        String[] lines = content.split("\n", -1);
+        StoreContentCache cache = contentCache;
+        LineIndex index =
+                cache != null ? cache.lineIndex(ns, filePath, fileData) : LineIndex.of(content);
         int startIdx = Math.max(0, offset);
-        int endIdx = limit > 0 ? Math.min(startIdx + limit, lines.length) : lines.length;
-
-        if (startIdx >= lines.length) {
+        if (startIdx >= index.lineCount()) {
             return ReadResult.fail(
-                    "Line offset " + offset + " exceeds file length (" + lines.length + " lines)");
-        }
-
-        StringBuilder sb = new StringBuilder();
-        for (int i = startIdx; i < endIdx; i++) {
-            if (i > startIdx) {
-                sb.append('\n');
-            }
-            sb.append(lines[i]);
+                    "Line offset "
+                            + offset
+                            + " exceeds file length ("
+                            + index.lineCount()
+                            + " lines)");
         }
 
         return ReadResult.success(
                 new FileData(
-                        sb.toString(),
+                        index.slice(content, startIdx, limit),
                         fileData.encoding(),
                         fileData.createdAt(),
                         fileData.modifiedAt()));
@@ -263,6 +291,7 @@ public class RemoteFilesystem implements AbstractFilesystem {
         FileData fileData = FileData.create(content);
         // CAS create-if-absent: atomic under concurrent writers across nodes.
         boolean written = store.putIfVersion(ns, filePath, fileDataToStoreValue(fileData), 0L);
+        invalidate(ns, filePath);
         if (!written) {
             return WriteResult.fail(
                     "Cannot write to "
@@ -314,6 +343,7 @@ public class RemoteFilesystem implements AbstractFilesystem {
             boolean ok =
                     store.putIfVersion(ns, filePath, fileDataToStoreValue(updated), item.version());
             if (ok) {
+                invalidate(ns, filePath);
                 return EditResult.ok(filePath, occurrences);
             }
             // Version mismatch — another writer raced us. Re-read and retry.
@@ -345,7 +375,7 @@ public class RemoteFilesystem implements AbstractFilesystem {
                     "/".equals(normalizedPath)
                             ? index.listByPrefix("")
                             : index.listByPrefix(normalizedPath);
-            List<GrepMatch> matches = new ArrayList<>();
+            List<String> selected = new ArrayList<>();
             for (String key : candidates) {
                 if (!matchesPathPrefix(key, normalizedPath)) {
                     continue;
@@ -357,18 +387,19 @@ public class RemoteFilesystem implements AbstractFilesystem {
                         continue;
                     }
                 }
-                StoreItem item = store.get(getNamespace(runtimeContext), key);
-                if (item == null) {
-                    continue;
-                }
-                FileData fd = convertItemToFileData(item);
+                selected.add(key);
+            }
+            List<GrepMatch> matches = new ArrayList<>();
+            for (Map.Entry<String, FileData> e :
+                    fetchFiles(getNamespace(runtimeContext), selected).entrySet()) {
+                FileData fd = e.getValue();
                 if (fd == null || fd.content() == null) {
                     continue;
                 }
                 String[] lines = fd.content().split("\n", -1);
                 for (int i = 0; i < lines.length; i++) {
                     if (lines[i].contains(pattern)) {
-                        matches.add(new GrepMatch(key, i + 1, lines[i]));
+                        matches.add(new GrepMatch(e.getKey(), i + 1, lines[i]));
                     }
                 }
             }
@@ -505,6 +536,7 @@ public class RemoteFilesystem implements AbstractFilesystem {
             // create-if-absent semantics should use {@link #write} instead, which preserves
             // CAS-create-if-absent for the tool-surface write path.
             store.put(ns, filePath, fileDataToStoreValue(fileData));
+            invalidate(ns, filePath);
             responses.add(FileUploadResponse.success(filePath));
         }
         return responses;
@@ -514,15 +546,15 @@ public class RemoteFilesystem implements AbstractFilesystem {
     public List<FileDownloadResponse> downloadFiles(
             RuntimeContext runtimeContext, List<String> paths) {
         List<String> ns = getNamespace(runtimeContext);
+        Map<String, FileData> fetched = fetchFiles(ns, paths);
         List<FileDownloadResponse> responses = new ArrayList<>();
         for (String filePath : paths) {
-            StoreItem item = store.get(ns, filePath);
-            if (item == null) {
+            if (!fetched.containsKey(filePath)) {
                 responses.add(FileDownloadResponse.fail(filePath, "file_not_found"));
                 continue;
             }
 
-            FileData fd = convertItemToFileData(item);
+            FileData fd = fetched.get(filePath);
             if (fd == null || fd.content() == null) {
                 responses.add(FileDownloadResponse.fail(filePath, "invalid file data"));
                 continue;
@@ -571,6 +603,28 @@ public class RemoteFilesystem implements AbstractFilesystem {
         return false;
     }
 
+    /**
+     * Reports the store version of each path as its revision, with one {@link
+     * BaseStore#batchGetVersions} call. Stores without a cheap {@linkplain
+     * BaseStore#hasVersionLookup() version lookup} report none, since deriving versions there
+     * fetches the items themselves.
+     */
+    @Override
+    public Map<String, String> revisions(RuntimeContext runtimeContext, List<String> paths) {
+        if (paths.isEmpty() || !store.hasVersionLookup()) {
+            return Map.of();
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        store.batchGetVersions(getNamespace(runtimeContext), paths)
+                .forEach(
+                        (path, version) -> {
+                            if (version != null) {
+                                result.put(path, "v" + version);
+                            }
+                        });
+        return result;
+    }
+
     // Also update index on delete/move so entries don't linger
     @Override
     public WriteResult delete(RuntimeContext runtimeContext, String path) {
@@ -581,6 +635,7 @@ public class RemoteFilesystem implements AbstractFilesystem {
         for (StoreItem item : items) {
             if (item.key().equals(normalizedPath) || item.key().startsWith(normalizedPath + "/")) {
                 store.delete(ns, item.key());
+                invalidate(ns, item.key());
                 if (index != null) {
                     index.remove(item.key());
                 }
@@ -605,6 +660,8 @@ public class RemoteFilesystem implements AbstractFilesystem {
                 String newKey = normTo + key.substring(normFrom.length());
                 store.put(ns, newKey, item.value());
                 store.delete(ns, key);
+                invalidate(ns, key);
+                invalidate(ns, newKey);
                 if (index != null) {
                     index.rename(key, newKey);
                 }
@@ -619,6 +676,73 @@ public class RemoteFilesystem implements AbstractFilesystem {
 
     // ==================== Internal helpers ====================
 
+    /**
+     * Returns the decoded contents of {@code paths}, served from the content cache where the
+     * cached version is still current and fetched with one batch read otherwise. Without a cheap
+     * version lookup every path is fetched and the cache only reuses decoded content.
+     *
+     * @return path to content, in the order of {@code paths}; paths that do not exist are absent
+     *     and items that cannot be decoded map to {@code null}
+     */
+    private Map<String, FileData> fetchFiles(List<String> ns, List<String> paths) {
+        StoreContentCache cache = contentCache;
+        Map<String, FileData> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        if (cache == null || !store.hasVersionLookup()) {
+            missing.addAll(paths);
+        } else {
+            List<String> cached = new ArrayList<>();
+            for (String path : paths) {
+                if (cache.cachedVersion(ns, path) != null) {
+                    cached.add(path);
+                } else {
+                    missing.add(path);
+                }
+            }
+            if (!cached.isEmpty()) {
+                Map<String, Long> versions = store.batchGetVersions(ns, cached);
+                for (String path : cached) {
+                    Long version = versions.get(path);
+                    FileData hit = version != null ? cache.get(ns, path, version) : null;
+                    if (hit != null) {
+                        found.put(path, hit);
+                    } else if (version != null) {
+                        missing.add(path);
+                    } else {
+                        cache.invalidate(ns, path);
+                    }
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Map.Entry<String, StoreItem> e : store.batchGet(ns, missing).entrySet()) {
+                long version = e.getValue().version();
+                FileData fd = cache != null ? cache.get(ns, e.getKey(), version) : null;
+                if (fd == null) {
+                    fd = convertItemToFileData(e.getValue());
+                    if (cache != null) {
+                        cache.put(ns, e.getKey(), version, fd);
+                    }
+                }
+                found.put(e.getKey(), fd);
+            }
+        }
+        Map<String, FileData> result = new LinkedHashMap<>();
+        for (String path : paths) {
+            if (found.containsKey(path)) {
+                result.put(path, found.get(path));
+            }
+        }
+        return result;
+    }
+
+    private void invalidate(List<String> ns, String path) {
+        StoreContentCache cache = contentCache;
+        if (cache != null) {
+            cache.invalidate(ns, path);
+        }
+    }
+
     private List<StoreItem> searchAllItems(RuntimeContext runtimeContext) {
         List<String> ns = getNamespace(runtimeContext);
         List<StoreItem> all = new ArrayList<>();
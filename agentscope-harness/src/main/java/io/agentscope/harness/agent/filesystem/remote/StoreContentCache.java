@@ -0,0 +1,129 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.filesystem.remote;
+
+import io.agentscope.harness.agent.filesystem.model.FileData;
+import io.agentscope.harness.agent.filesystem.util.LineIndex;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache of decoded file contents for {@link RemoteFilesystem}, keyed by
+ * namespace and path and tagged with the store version the content was read at.
+ *
+ * <p>An entry is only served for the exact version it was cached at, so callers look up the
+ * current version in the store first (cheap where {@code BaseStore#hasVersionLookup}) or pass the
+ * version of an item they just fetched, and never see stale content. Items without a version
+ * ({@code 0}) cannot be validated and are not cached. The bound is on the approximate heap size
+ * of the cached strings.
+ *
+ * <p><strong>Thread-safety:</strong> all methods are synchronized.
+ */
+final class StoreContentCache {
+
+    /** Fixed per-entry overhead added to the content size, in bytes. */
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private record Key(List<String> namespace, String path) {}
+
+    private record Entry(long version, FileData data, long weight, LineIndex lineIndex) {}
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    StoreContentCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Returns the version {@code path} is cached at, or {@code null} if it is not cached. */
+    synchronized Long cachedVersion(List<String> namespace, String path) {
+        Entry entry = entries.get(new Key(namespace, path));
+        return entry != null ? entry.version() : null;
+    }
+
+    /**
+     * Returns the cached content of {@code path} if it was cached at {@code version}. An entry for
+     * another version is dropped.
+     */
+    synchronized FileData get(List<String> namespace, String path, long version) {
+        Key key = new Key(namespace, path);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.version() != version) {
+            remove(key);
+            return null;
+        }
+        return entry.data();
+    }
+
+    synchronized void put(List<String> namespace, String path, long version, FileData data) {
+        if (version <= 0 || data == null) {
+            return;
+        }
+        String content = data.content();
+        long weight = ENTRY_OVERHEAD + (content != null ? 2L * content.length() : 0);
+        if (weight > maxBytes) {
+            return;
+        }
+        Key key = new Key(List.copyOf(namespace), path);
+        remove(key);
+        entries.put(key, new Entry(version, data, weight, null));
+        bytes += weight;
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().weight();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Returns a {@link LineIndex} of {@code data}'s content, kept with the cache entry when {@code
+     * data} is the instance cached for {@code path} so repeated ranged reads index it only once.
+     */
+    LineIndex lineIndex(List<String> namespace, String path, FileData data) {
+        Key key = new Key(namespace, path);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.data() == data && entry.lineIndex() != null) {
+                return entry.lineIndex();
+            }
+        }
+        LineIndex index = LineIndex.of(data.content());
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.data() == data) {
+                entries.put(key, new Entry(entry.version(), data, entry.weight(), index));
+            }
+        }
+        return index;
+    }
+
+    synchronized void invalidate(List<String> namespace, String path) {
+        remove(new Key(namespace, path));
+    }
+
+    private void remove(Key key) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            bytes -= old.weight();
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package io.agentscope.harness.agent.filesystem.remote.store;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +37,59 @@ public interface BaseStore {
      */
     StoreItem get(List<String> namespace, String key);
 
+    /**
+     * Get several items of one namespace at once.
+     *
+     * <p>The default implementation calls {@link #get} per key. Backends with a network round-trip
+     * per call should override it with a single multi-key lookup.
+     *
+     * @param namespace hierarchical namespace path
+     * @param keys the item keys within the namespace
+     * @return the items found, keyed by item key in the iteration order of {@code keys}; keys that
+     *     do not exist are absent
+     */
+    default Map<String, StoreItem> batchGet(List<String> namespace, Collection<String> keys) {
+        Map<String, StoreItem> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            StoreItem item = get(namespace, key);
+            if (item != null) {
+                result.put(key, item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the current {@link StoreItem#version()} of several items without their values, so that
+     * callers holding a cached copy can check whether it is still current.
+     *
+     * <p>The default implementation derives the versions from {@link #batchGet}. Backends that can
+     * return versions without transferring values should override it, together with {@link
+     * #hasVersionLookup()}.
+     *
+     * @param namespace hierarchical namespace path
+     * @param keys the item keys within the namespace
+     * @return the versions of the items found, keyed by item key; keys that do not exist are absent
+     */
+    default Map<String, Long> batchGetVersions(List<String> namespace, Collection<String> keys) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, StoreItem> e : batchGet(namespace, keys).entrySet()) {
+            result.put(e.getKey(), e.getValue().version());
+        }
+        return result;
+    }
+
+    /**
+     * Whether {@link #batchGetVersions} is cheaper than {@link #batchGet}, i.e. the backend reads
+     * versions without transferring values. Callers holding cached values only probe versions
+     * first when this returns {@code true}; otherwise they fetch the items directly.
+     *
+     * @return {@code true} if {@code batchGetVersions} is overridden with a values-free lookup
+     */
+    default boolean hasVersionLookup() {
+        return false;
+    }
+
     /**
      * Store or update an item.
      *
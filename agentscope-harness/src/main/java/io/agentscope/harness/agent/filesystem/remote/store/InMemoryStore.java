@@ -16,7 +16,9 @@
 package io.agentscope.harness.agent.filesystem.remote.store;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -40,6 +42,37 @@ public class InMemoryStore implements BaseStore {
         return store.get(compoundKey(namespace, key));
     }
 
+    @Override
+    public Map<String, StoreItem> batchGet(List<String> namespace, Collection<String> keys) {
+        String prefix = namespacePrefix(namespace);
+        Map<String, StoreItem> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            StoreItem item = store.get(prefix + key);
+            if (item != null) {
+                result.put(key, item);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> batchGetVersions(List<String> namespace, Collection<String> keys) {
+        String prefix = namespacePrefix(namespace);
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            StoreItem item = store.get(prefix + key);
+            if (item != null) {
+                result.put(key, item.version());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean hasVersionLookup() {
+        return true;
+    }
+
     @Override
     public void put(List<String> namespace, String key, Map<String, Object> value) {
         String ck = compoundKey(namespace, key);
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.filesystem.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Sparse index of line start offsets, for reading a window of lines without splitting the whole
+ * content.
+ *
+ * <p>Lines are delimited by {@code '\n'} exactly like {@code content.split("\n", -1)}: a trailing
+ * newline starts one last, empty line, and {@code '\r'} is kept. The start offset of every
+ * {@value #STRIDE}th line is recorded, so a window starting at line {@code n} is located by
+ * jumping to the nearest checkpoint at or before {@code n} and scanning at most {@value #STRIDE}
+ * lines. Offsets are character positions for indexes built from text and byte positions for
+ * indexes built from a channel.
+ *
+ * <p>Instances are immutable and safe to share.
+ */
+public final class LineIndex {
+
+    /** Lines between two checkpoints. */
+    static final int STRIDE = 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final long[] checkpoints;
+    private final int lineCount;
+
+    private LineIndex(long[] checkpoints, int lineCount) {
+        this.checkpoints = checkpoints;
+        this.lineCount = lineCount;
+    }
+
+    /** Indexes {@code text}. */
+    public static LineIndex of(CharSequence text) {
+        Builder builder = new Builder();
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (text.charAt(i) == '\n') {
+                builder.newline(i);
+            }
+        }
+        return builder.build();
+    }
+
+    /** Indexes the bytes of {@code channel} from position 0 to its end. */
+    public static LineIndex of(SeekableByteChannel channel) throws IOException {
+        Builder builder = new Builder();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = 0;
+        channel.position(0);
+        int read;
+        while ((read = channel.read(buffer)) != -1) {
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    builder.newline(position + i);
+                }
+            }
+            position += read;
+            buffer.clear();
+        }
+        return builder.build();
+    }
+
+    /** Number of lines, counted like {@code content.split("\n", -1).length}. */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns lines {@code [offset, offset + limit)} of the indexed {@code text} joined by {@code
+     * '\n'}, or through the last line when {@code limit <= 0}.
+     *
+     * @throws IndexOutOfBoundsException if {@code offset} is not a line of the text
+     */
+    public String slice(String text, int offset, int limit) {
+        checkOffset(offset);
+        int start = (int) checkpoints[offset / STRIDE];
+        for (int line = offset / STRIDE * STRIDE; line < offset; line++) {
+            start = text.indexOf('\n', start) + 1;
+        }
+        int end = start;
+        for (int line = 0, count = windowSize(offset, limit); line < count; line++) {
+            int newline = text.indexOf('\n', end);
+            if (newline < 0 || line == count - 1) {
+                end = newline < 0 ? text.length() : newline;
+                break;
+            }
+            end = newline + 1;
+        }
+        return text.substring(start, end);
+    }
+
+    /**
+     * Reads lines {@code [offset, offset + limit)} of the indexed channel joined by {@code '\n'},
+     * or through the last line when {@code limit <= 0}, decoded as UTF-8. Only the bytes from the
+     * checkpoint before {@code offset} to the end of the window are read.
+     *
+     * @throws IndexOutOfBoundsException if {@code offset} is not a line of the file
+     */
+    public String read(SeekableByteChannel channel, int offset, int limit) throws IOException {
+        checkOffset(offset);
+        channel.position(checkpoints[offset / STRIDE]);
+        int toSkip = offset - offset / STRIDE * STRIDE;
+        int remaining = windowSize(offset, limit);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        int read;
+        outer:
+        while ((read = channel.read(buffer)) != -1) {
+            byte[] bytes = buffer.array();
+            int from = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] != '\n') {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                    from = i + 1;
+                } else if (--remaining == 0) {
+                    out.write(bytes, from, i - from);
+                    break outer;
+                }
+            }
+            if (toSkip == 0) {
+                out.write(bytes, from, read - from);
+            }
+            buffer.clear();
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void checkOffset(int offset) {
+        if (offset < 0 || offset >= lineCount) {
+            throw new IndexOutOfBoundsException(
+                    "Line offset " + offset + " exceeds file length (" + lineCount + " lines)");
+        }
+    }
+
+    private int windowSize(int offset, int limit) {
+        int available = lineCount - offset;
+        return limit > 0 ? Math.min(limit, available) : available;
+    }
+
+    private static final class Builder {
+        private long[] checkpoints = new long[16];
+        private int lines = 1;
+
+        void newline(long position) {
+            if (lines % STRIDE == 0) {
+                int slot = lines / STRIDE;
+                if (slot == checkpoints.length) {
+                    checkpoints = Arrays.copyOf(checkpoints, slot * 2);
+                }
+                checkpoints[slot] = position + 1;
+            }
+            lines++;
+        }
+
+        LineIndex build() {
+            return new LineIndex(Arrays.copyOf(checkpoints, (lines - 1) / STRIDE + 1), lines);
+        }
+    }
+}
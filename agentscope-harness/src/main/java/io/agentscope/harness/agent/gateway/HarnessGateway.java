@@ -31,7 +31,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
@@ -458,6 +457,11 @@ public final class HarnessGateway implements Gateway, WakeupDispatcher.WakeupTar
         return gateKey != null && sessionTurnGate.isRunning(gateKey);
     }
 
+    /** Returns turn-gate counters: granted and rejected turns, queued turns and wait times. */
+    public SessionTurnGate.Stats turnGateStats() {
+        return sessionTurnGate.stats();
+    }
+
     /**
      * Triggers a wakeup-driven run for an idle session. Called by {@link WakeupDispatcher} when a
      * background task completes or a team message arrives. The agent starts a reasoning round with
@@ -518,46 +522,13 @@ public final class HarnessGateway implements Gateway, WakeupDispatcher.WakeupTar
     // ------------------------------------------------------------------
 
     private Mono<Msg> withGatedTurn(String gateKey, Supplier<Mono<Msg>> turn) {
-        AtomicBoolean acquired = new AtomicBoolean(false);
-        return Mono.defer(turn::get)
-                .doOnSubscribe(
-                        s -> {
-                            try {
-                                sessionTurnGate.acquire(gateKey);
-                                acquired.set(true);
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                                throw new IllegalStateException(e);
-                            }
-                        })
-                .doFinally(
-                        sig -> {
-                            if (acquired.get()) {
-                                sessionTurnGate.release(gateKey);
-                            }
-                        })
-                .subscribeOn(Schedulers.boundedElastic());
+        // Queued turns wait without a thread; only the granted turn is moved off the caller
+        return sessionTurnGate.withTurn(
+                gateKey, () -> Mono.defer(turn::get).subscribeOn(Schedulers.boundedElastic()));
     }
 
     private Flux<AgentEvent> withGatedStream(String gateKey, Supplier<Flux<AgentEvent>> stream) {
-        AtomicBoolean acquired = new AtomicBoolean(false);
-        return Flux.defer(stream::get)
-                .doOnSubscribe(
-                        s -> {
-                            try {
-                                sessionTurnGate.acquire(gateKey);
-                                acquired.set(true);
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                                throw new IllegalStateException(e);
-                            }
-                        })
-                .doFinally(
-                        sig -> {
-                            if (acquired.get()) {
-                                sessionTurnGate.release(gateKey);
-                            }
-                        })
-                .subscribeOn(Schedulers.boundedElastic());
+        return sessionTurnGate.withTurnMany(
+                gateKey, () -> Flux.defer(stream::get).subscribeOn(Schedulers.boundedElastic()));
     }
 }
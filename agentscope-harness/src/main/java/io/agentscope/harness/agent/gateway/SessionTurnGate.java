@@ -15,25 +15,135 @@
  */
 package io.agentscope.harness.agent.gateway;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 
 /**
  * Fair per-key mutual exclusion for gateway turns (user/channel inbound runs and subagent
  * notification).
+ *
+ * <p>Turns are handed out through {@link #acquireTurn}, which emits a {@link Permit} once every
+ * earlier waiter for the same key has had its turn. Waiting does not occupy a thread, so bursts
+ * of inbound traffic only cost a queue entry per pending turn. A subscriber that cancels while
+ * waiting leaves the queue; one that cancels after being granted releases its permit.
+ *
+ * <p>State is only kept for keys that are running or have waiters: the entry for a key is removed
+ * as soon as its last permit is released, so the gate stays small no matter how many sessions
+ * it has seen. When {@code maxQueueDepth} is set, a turn requested while that many turns are
+ * already waiting for the key fails with a {@link RejectedExecutionException}.
  */
 public final class SessionTurnGate {
 
-    private final ConcurrentHashMap<String, Semaphore> gates = new ConcurrentHashMap<>();
+    /** Queue depth meaning "no limit". */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final int maxQueueDepth;
 
+    /** Hand-offs queued while the current thread is already delivering one; see {@link #deliver}. */
+    private final ThreadLocal<ArrayDeque<Waiter>> pendingHandOffs = new ThreadLocal<>();
+
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public SessionTurnGate() {
+        this(UNBOUNDED);
+    }
+
+    /**
+     * @param maxQueueDepth maximum number of turns that may wait per key behind the running one
+     */
+    public SessionTurnGate(int maxQueueDepth) {
+        if (maxQueueDepth < 0) {
+            throw new IllegalArgumentException(
+                    "maxQueueDepth must not be negative, got: " + maxQueueDepth);
+        }
+        this.maxQueueDepth = maxQueueDepth;
+    }
+
+    /** Snapshot of gate counters. */
+    public record Stats(
+            long granted,
+            long rejected,
+            int activeKeys,
+            int waiting,
+            Duration totalWait,
+            Duration maxWait) {
+
+        /** Mean time a granted turn spent queued; zero when nothing was granted yet. */
+        public Duration averageWait() {
+            return granted == 0 ? Duration.ZERO : totalWait.dividedBy(granted);
+        }
+    }
+
+    /**
+     * Requests the turn for {@code key}. The returned {@code Mono} is lazy: the request joins the
+     * queue on subscription and the permit is emitted when the turn is granted. The permit must
+     * be {@linkplain Permit#release() released} when the turn ends; {@link #withTurn} and
+     * {@link #withTurnMany} take care of that.
+     */
+    public Mono<Permit> acquireTurn(String key) {
+        return Mono.create(sink -> enqueue(key, sink));
+    }
+
+    /** Runs {@code turn} while holding the turn for {@code key}; the turn is released on any
+     * terminal signal or cancellation. */
+    public <T> Mono<T> withTurn(String key, Supplier<? extends Mono<T>> turn) {
+        return Mono.usingWhen(acquireTurn(key), permit -> Mono.defer(turn), Permit::releaseAsync);
+    }
+
+    /** Streaming variant of {@link #withTurn}. */
+    public <T> Flux<T> withTurnMany(String key, Supplier<? extends Flux<T>> turn) {
+        return Flux.usingWhen(acquireTurn(key), permit -> Flux.defer(turn), Permit::releaseAsync);
+    }
+
+    /**
+     * Blocking variant for callers that are not reactive: waits for the turn and holds it until
+     * {@link #release(String)} is called for the same key.
+     */
     public void acquire(String key) throws InterruptedException {
-        gates.computeIfAbsent(key, k -> new Semaphore(1, true)).acquire();
+        CompletableFuture<Permit> future = acquireTurn(key).toFuture();
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            // Leaves the queue, or gives the turn back if it was granted concurrently
+            future.cancel(true);
+            future.thenAccept(Permit::release);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(cause);
+        }
     }
 
+    /** Releases the turn currently held for {@code key}; a no-op when none is held. */
     public void release(String key) {
-        Semaphore s = gates.get(key);
-        if (s != null) {
-            s.release();
+        Lane lane = lanes.get(key);
+        Permit holder;
+        if (lane == null) {
+            return;
+        }
+        synchronized (lane) {
+            holder = lane.holder;
+        }
+        if (holder != null) {
+            holder.release();
         }
     }
 
@@ -43,7 +153,224 @@ public final class SessionTurnGate {
      * already active — their current run will drain the inbox naturally.
      */
     public boolean isRunning(String key) {
-        Semaphore s = gates.get(key);
-        return s != null && s.availablePermits() == 0;
+        Lane lane = lanes.get(key);
+        if (lane == null) {
+            return false;
+        }
+        synchronized (lane) {
+            return lane.holder != null;
+        }
+    }
+
+    /** Number of turns waiting for {@code key}, not counting the running one. */
+    public int queueDepth(String key) {
+        Lane lane = lanes.get(key);
+        if (lane == null) {
+            return 0;
+        }
+        synchronized (lane) {
+            return lane.waiters.size();
+        }
+    }
+
+    /** Number of keys that currently have a running or waiting turn. */
+    public int activeKeys() {
+        return lanes.size();
+    }
+
+    public Stats stats() {
+        int waiting = 0;
+        for (Lane lane : lanes.values()) {
+            synchronized (lane) {
+                waiting += lane.waiters.size();
+            }
+        }
+        return new Stats(
+                granted.sum(),
+                rejected.sum(),
+                lanes.size(),
+                waiting,
+                Duration.ofNanos(totalWaitNanos.sum()),
+                Duration.ofNanos(maxWaitNanos.get()));
+    }
+
+    private void enqueue(String key, MonoSink<Permit> sink) {
+        Waiter waiter = new Waiter(sink, System.nanoTime());
+        sink.onCancel(() -> cancel(waiter));
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(key, Lane::new);
+            boolean grantNow;
+            synchronized (lane) {
+                if (lane.retired) {
+                    // Removed by a concurrent release after we looked it up; use a fresh one
+                    continue;
+                }
+                // Publish the lane before checking for cancellation; cancel() does the reverse
+                waiter.lane = lane;
+                if (waiter.cancelled) {
+                    return;
+                }
+                grantNow = lane.holder == null;
+                if (grantNow) {
+                    lane.holder = new Permit(lane, 0L);
+                    waiter.permit = lane.holder;
+                } else if (lane.waiters.size() < maxQueueDepth) {
+                    waiter.queued = true;
+                    lane.waiters.addLast(waiter);
+                    return;
+                } else {
+                    rejected.increment();
+                }
+            }
+            if (grantNow) {
+                grant(waiter);
+            } else {
+                sink.error(
+                        new RejectedExecutionException(
+                                "Too many turns queued for "
+                                        + key
+                                        + " (max "
+                                        + maxQueueDepth
+                                        + ")"));
+            }
+            return;
+        }
+    }
+
+    private void grant(Waiter waiter) {
+        Permit permit = waiter.permit;
+        granted.increment();
+        totalWaitNanos.add(permit.waitedNanos);
+        maxWaitNanos.accumulateAndGet(permit.waitedNanos, Math::max);
+        waiter.sink.success(permit);
+    }
+
+    /**
+     * Cancellation before the permit was delivered: leave the queue, or give back a turn that was
+     * granted concurrently. Once delivered, the sink no longer signals cancellation and releasing
+     * is up to the holder.
+     */
+    private void cancel(Waiter waiter) {
+        waiter.cancelled = true;
+        Lane lane = waiter.lane;
+        if (lane == null) {
+            return;
+        }
+        Permit permit;
+        synchronized (lane) {
+            if (waiter.queued) {
+                waiter.queued = false;
+                lane.waiters.remove(waiter);
+                return;
+            }
+            permit = waiter.permit;
+        }
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    private void handOff(Permit released) {
+        Lane lane = released.lane;
+        Waiter next;
+        synchronized (lane) {
+            if (lane.holder != released) {
+                return;
+            }
+            next = lane.waiters.pollFirst();
+            if (next == null) {
+                lane.holder = null;
+                lane.retired = true;
+                lanes.remove(lane.key, lane);
+                return;
+            }
+            next.queued = false;
+            next.permit = new Permit(lane, System.nanoTime() - next.requestedAt);
+            lane.holder = next.permit;
+        }
+        deliver(next);
+    }
+
+    /**
+     * Grants a handed-off turn. The next turn runs inside {@code sink.success}, and when it ends
+     * synchronously its release hands off again on the same thread. To keep a long queue of such
+     * turns from growing the stack, a nested hand-off is only queued and the outermost call
+     * grants the queued turns in a loop.
+     */
+    private void deliver(Waiter waiter) {
+        ArrayDeque<Waiter> pending = pendingHandOffs.get();
+        if (pending != null) {
+            pending.addLast(waiter);
+            return;
+        }
+        pending = new ArrayDeque<>();
+        pendingHandOffs.set(pending);
+        try {
+            for (Waiter next = waiter; next != null; next = pending.pollFirst()) {
+                grant(next);
+            }
+        } finally {
+            pendingHandOffs.remove();
+        }
+    }
+
+    /** A granted turn. Releasing it more than once has no further effect. */
+    public final class Permit {
+
+        private final Lane lane;
+        private final long waitedNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Lane lane, long waitedNanos) {
+            this.lane = lane;
+            this.waitedNanos = waitedNanos;
+        }
+
+        /** The key this turn belongs to. */
+        public String key() {
+            return lane.key;
+        }
+
+        /** How long the turn was queued before it was granted. */
+        public Duration waited() {
+            return Duration.ofNanos(waitedNanos);
+        }
+
+        /** Ends the turn and hands it to the next waiter, if any. */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                handOff(this);
+            }
+        }
+
+        private Mono<Void> releaseAsync() {
+            return Mono.fromRunnable(this::release);
+        }
+    }
+
+    private static final class Lane {
+        final String key;
+        final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        Permit holder;
+        boolean retired;
+
+        Lane(String key) {
+            this.key = key;
+        }
+    }
+
+    /** A pending or granted acquisition; mutable state is guarded by the lane's monitor. */
+    private static final class Waiter {
+        final MonoSink<Permit> sink;
+        final long requestedAt;
+        volatile Lane lane;
+        volatile boolean cancelled;
+        boolean queued;
+        Permit permit;
+
+        Waiter(MonoSink<Permit> sink, long requestedAt) {
+            this.sink = sink;
+            this.requestedAt = requestedAt;
+        }
     }
 }
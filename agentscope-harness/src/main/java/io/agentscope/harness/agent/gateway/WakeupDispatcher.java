@@ -24,13 +24,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Per-process dispatcher that wakes idle sessions when background work completes.
  *
  * <p>Subscribes to the shared wakeup signal channel on {@link MessageBus#subscribeWakeup()} and
  * drains the durable wakeup queue on each signal. For each queued entry whose target session is
- * idle, triggers a new reasoning round via {@link WakeupTarget#runWakeup(String)}.
+ * idle, triggers a new reasoning round via {@link WakeupTarget#runWakeup(String)}. Signals are
+ * handled on a bounded-elastic worker, never on the publisher's thread, and signals arriving while
+ * a drain is in progress are collapsed into a single follow-up drain.
  *
  * It serves as the universal activator for all cross-session communication:
  *
@@ -78,6 +81,8 @@ public class WakeupDispatcher implements AutoCloseable {
         subscription =
                 messageBus
                         .subscribeWakeup()
+                        .onBackpressureLatest()
+                        .publishOn(Schedulers.boundedElastic(), 1)
                         .subscribe(
                                 signal -> drainAndDispatch(),
                                 err ->
@@ -100,15 +105,16 @@ public class WakeupDispatcher implements AutoCloseable {
 
     private void drainAndDispatch() {
         try {
-            List<BusEntry> entries =
-                    messageBus.queueDrain("agentscope:wakeups", MAX_DRAIN_COUNT).block();
-            if (entries == null || entries.isEmpty()) {
-                return;
-            }
-
-            for (BusEntry entry : entries) {
-                dispatch(entry.payload());
-            }
+            List<BusEntry> entries;
+            do {
+                entries = messageBus.queueDrain("agentscope:wakeups", MAX_DRAIN_COUNT).block();
+                if (entries == null) {
+                    return;
+                }
+                for (BusEntry entry : entries) {
+                    dispatch(entry.payload());
+                }
+            } while (entries.size() >= MAX_DRAIN_COUNT);
         } catch (Exception e) {
             log.warn("WakeupDispatcher: drainAndDispatch failed", e);
         }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.memory.compaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline byte-pair-encoding token counter for vocabularies in the tiktoken file format.
+ *
+ * <p>A tiktoken vocabulary file has one token per line: the base64-encoded token bytes, a space
+ * and the token's merge rank. OpenAI's {@code cl100k_base.tiktoken} and Qwen's
+ * {@code qwen.tiktoken} both use this format. Vocabulary files are not bundled; put the file for
+ * your model on the classpath or on disk and load it with {@link #fromClasspath} or
+ * {@link #fromFile}, together with the model's pre-tokenization pattern ({@link #CL100K_PATTERN}
+ * or {@link #QWEN_PATTERN}).
+ *
+ * <p>Counting follows tiktoken: the text is split with the pattern, each piece is UTF-8 encoded,
+ * and pieces not in the vocabulary are merged pairwise, lowest rank first. Special tokens are not
+ * recognized; they are counted like ordinary text.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * TokenCounter qwen = BpeTokenCounter.fromClasspath("tokenizers/qwen.tiktoken",
+ *         BpeTokenCounter.QWEN_PATTERN);
+ * CompactionConfig config = CompactionConfig.builder().tokenCounter(qwen).build();
+ * }</pre>
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class BpeTokenCounter implements TokenCounter {
+
+    /** Pre-tokenization pattern of {@code cl100k_base} (GPT-3.5/GPT-4). */
+    public static final Pattern CL100K_PATTERN =
+            Pattern.compile(
+                    "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}{1,3}"
+                            + "| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+");
+
+    /** Pre-tokenization pattern of the Qwen vocabulary; like cl100k, but digits split singly. */
+    public static final Pattern QWEN_PATTERN =
+            Pattern.compile(
+                    "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}"
+                            + "| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+");
+
+    /**
+     * Token bytes to merge rank. Keys are the token bytes widened one-to-one to chars
+     * (ISO-8859-1), which gives compact, hashable keys without a byte-array wrapper.
+     */
+    private final Map<String, Integer> ranks;
+
+    private final Pattern pattern;
+
+    private BpeTokenCounter(Map<String, Integer> ranks, Pattern pattern) {
+        this.ranks = ranks;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Loads a tiktoken vocabulary from the classpath.
+     *
+     * @param resource classpath resource name, e.g. {@code tokenizers/cl100k_base.tiktoken}
+     * @param pattern the model's pre-tokenization pattern
+     * @return the counter
+     * @throws IllegalArgumentException if the resource does not exist
+     * @throws UncheckedIOException if the resource cannot be read or is malformed
+     */
+    public static BpeTokenCounter fromClasspath(String resource, Pattern pattern) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = BpeTokenCounter.class.getClassLoader();
+        }
+        try (InputStream in = loader.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Tokenizer vocabulary not found: " + resource);
+            }
+            return load(in, pattern);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read tokenizer vocabulary " + resource, e);
+        }
+    }
+
+    /**
+     * Loads a tiktoken vocabulary file.
+     *
+     * @param file the vocabulary file
+     * @param pattern the model's pre-tokenization pattern
+     * @return the counter
+     * @throws UncheckedIOException if the file cannot be read or is malformed
+     */
+    public static BpeTokenCounter fromFile(Path file, Pattern pattern) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in, pattern);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read tokenizer vocabulary " + file, e);
+        }
+    }
+
+    /**
+     * Reads a tiktoken vocabulary from a stream, which is not closed.
+     *
+     * @param in the vocabulary in tiktoken format
+     * @param pattern the model's pre-tokenization pattern
+     * @return the counter
+     * @throws IOException if the stream cannot be read or a line is malformed
+     */
+    public static BpeTokenCounter load(InputStream in, Pattern pattern) throws IOException {
+        Map<String, Integer> ranks = new HashMap<>();
+        BufferedReader reader =
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            int space = line.indexOf(' ');
+            try {
+                byte[] token = Base64.getDecoder().decode(line.substring(0, space));
+                int rank = Integer.parseInt(line.substring(space + 1).strip());
+                ranks.put(new String(token, StandardCharsets.ISO_8859_1), rank);
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed vocabulary line " + lineNo + ": " + line, e);
+            }
+        }
+        return new BpeTokenCounter(ranks, pattern);
+    }
+
+    /** Returns the number of tokens in the vocabulary. */
+    public int vocabularySize() {
+        return ranks.size();
+    }
+
+    @Override
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int tokens = 0;
+        Matcher m = pattern.matcher(text);
+        while (m.find()) {
+            String piece =
+                    new String(
+                            m.group().getBytes(StandardCharsets.UTF_8),
+                            StandardCharsets.ISO_8859_1);
+            tokens += ranks.containsKey(piece) ? 1 : mergedLength(piece);
+        }
+        return tokens;
+    }
+
+    /**
+     * Applies byte-pair merges to {@code piece} (one char per byte) and returns the number of
+     * resulting tokens.
+     */
+    private int mergedLength(String piece) {
+        // Token boundaries; token i spans [bounds[i], bounds[i + 1])
+        List<Integer> bounds = new ArrayList<>(piece.length() + 1);
+        for (int i = 0; i <= piece.length(); i++) {
+            bounds.add(i);
+        }
+        while (bounds.size() > 2) {
+            int best = -1;
+            int bestRank = Integer.MAX_VALUE;
+            for (int i = 0; i + 2 < bounds.size(); i++) {
+                Integer rank = ranks.get(piece.substring(bounds.get(i), bounds.get(i + 2)));
+                if (rank != null && rank < bestRank) {
+                    bestRank = rank;
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            bounds.remove(best + 1);
+        }
+        return bounds.size() - 1;
+    }
+}
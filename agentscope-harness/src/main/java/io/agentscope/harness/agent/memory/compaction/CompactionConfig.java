@@ -129,6 +129,7 @@ public class CompactionConfig {
     private final TruncateArgsConfig truncateArgsConfig;
     private final PruneConfig pruneConfig;
     private final Model model;
+    private final TokenCounter tokenCounter;
 
     private CompactionConfig(Builder b) {
         this.triggerMessages = b.triggerMessages;
@@ -145,6 +146,7 @@ public class CompactionConfig {
         this.truncateArgsConfig = b.truncateArgsConfig;
         this.pruneConfig = b.pruneConfig;
         this.model = b.model;
+        this.tokenCounter = b.tokenCounter;
     }
 
     /** Message count above which compaction is triggered (0 = disabled). */
@@ -241,6 +243,11 @@ public class CompactionConfig {
         return model;
     }
 
+    /** Counts the tokens of message text for the token-based thresholds. */
+    public TokenCounter getTokenCounter() {
+        return tokenCounter;
+    }
+
     /**
      * Creates a resolved copy with effective trigger and keep values computed from a model's
      * context window. Used by {@code CompactionMiddleware} to resolve dynamic defaults.
@@ -261,6 +268,7 @@ public class CompactionConfig {
         b.truncateArgsConfig = this.truncateArgsConfig;
         b.pruneConfig = this.pruneConfig;
         b.model = this.model;
+        b.tokenCounter = this.tokenCounter;
         return new CompactionConfig(b);
     }
 
@@ -284,6 +292,7 @@ public class CompactionConfig {
         private TruncateArgsConfig truncateArgsConfig = null;
         private PruneConfig pruneConfig = PruneConfig.defaults();
         private Model model = null;
+        private TokenCounter tokenCounter = TokenCounter.estimating();
 
         /** Trigger compaction when conversation has at least this many messages (0 = disabled). */
         public Builder triggerMessages(int triggerMessages) {
@@ -396,6 +405,16 @@ public class CompactionConfig {
             return this;
         }
 
+        /**
+         * Sets how message text is counted against the token thresholds. Defaults to
+         * {@link TokenCounter#estimating()}; use a {@link BpeTokenCounter} with the model's
+         * vocabulary for exact counts.
+         */
+        public Builder tokenCounter(TokenCounter tokenCounter) {
+            this.tokenCounter = tokenCounter != null ? tokenCounter : TokenCounter.estimating();
+            return this;
+        }
+
         public CompactionConfig build() {
             return new CompactionConfig(this);
         }
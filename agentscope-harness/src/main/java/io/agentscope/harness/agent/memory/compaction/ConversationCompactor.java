@@ -99,17 +99,20 @@ public class ConversationCompactor {
 
         // Step 1a: Lightweight arg truncation (non-LLM).
         // Step 1b: Aggregate tool-result pruning (non-LLM).
+        TokenCounter counter = config.getTokenCounter();
         List<Msg> messages =
                 pruneToolResults(
-                        truncateArgs(conversationMessages, config.getTruncateArgsConfig()),
-                        config.getPruneConfig());
+                        truncateArgs(conversationMessages, config.getTruncateArgsConfig(), counter),
+                        config.getPruneConfig(),
+                        counter);
 
-        int totalTokens = TokenCounterUtil.calculateToken(messages);
+        int[] tokenSums = TokenCounterUtil.prefixSums(messages, counter);
+        int totalTokens = tokenSums[messages.size()];
         if (!shouldCompact(messages, totalTokens, config)) {
             return Mono.just(Optional.empty());
         }
 
-        int cutoff = determineCutoffIndex(messages, totalTokens, config);
+        int cutoff = determineCutoffIndex(messages, tokenSums, config);
         if (cutoff <= 0) {
             log.debug("Compaction triggered but safe cutoff is 0 — skipping");
             return Mono.just(Optional.empty());
@@ -233,10 +236,10 @@ public class ConversationCompactor {
      * <p>The cutoff is adjusted so that ASSISTANT/TOOL pairs are never split.
      */
     private static int determineCutoffIndex(
-            List<Msg> messages, int totalTokens, CompactionConfig config) {
+            List<Msg> messages, int[] tokenSums, CompactionConfig config) {
         int rawCutoff;
         if (config.getKeepTokens() > 0) {
-            rawCutoff = findTokenBasedCutoff(messages, totalTokens, config.getKeepTokens());
+            rawCutoff = findTokenBasedCutoff(tokenSums, config.getKeepTokens());
         } else {
             rawCutoff = findMessageBasedCutoff(messages, config.getKeepMessages());
         }
@@ -244,27 +247,30 @@ public class ConversationCompactor {
     }
 
     /** Returns the earliest index such that {@code messages[index:]} fits within the token budget. */
-    private static int findTokenBasedCutoff(List<Msg> messages, int totalTokens, int keepTokens) {
-        if (totalTokens <= keepTokens) {
-            return 0;
-        }
-        // Binary search for the earliest index where the suffix token count <= keepTokens
+    private static int findTokenBasedCutoff(int[] tokenSums, int keepTokens) {
+        // Clamp so at least 1 message is always kept
+        return Math.min(earliestSuffixWithin(tokenSums, keepTokens), tokenSums.length - 2);
+    }
+
+    /**
+     * Returns the earliest index whose suffix holds at most {@code budget} tokens, given the
+     * prefix sums of the message token counts. Suffix sums shrink as the index grows, so this is
+     * a binary search.
+     */
+    private static int earliestSuffixWithin(int[] tokenSums, int budget) {
+        int size = tokenSums.length - 1;
+        int totalTokens = tokenSums[size];
         int left = 0;
-        int right = messages.size();
-        int candidate = messages.size();
-        int maxIter = Integer.SIZE - Integer.numberOfLeadingZeros(messages.size()) + 1;
-        for (int i = 0; i < maxIter && left < right; i++) {
-            int mid = (left + right) / 2;
-            if (TokenCounterUtil.calculateToken(messages.subList(mid, messages.size()))
-                    <= keepTokens) {
-                candidate = mid;
+        int right = size;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (totalTokens - tokenSums[mid] <= budget) {
                 right = mid;
             } else {
                 left = mid + 1;
             }
         }
-        // Clamp so at least 1 message is always kept
-        return Math.min(candidate, messages.size() - 1);
+        return left;
     }
 
     /** Returns the cutoff that keeps the last {@code keepMessages} messages verbatim. */
@@ -489,7 +495,8 @@ public class ConversationCompactor {
      *
      * <p>Non-LLM operation. Returns the original list if no pruning occurred.
      */
-    List<Msg> pruneToolResults(List<Msg> messages, CompactionConfig.PruneConfig pruneConfig) {
+    List<Msg> pruneToolResults(
+            List<Msg> messages, CompactionConfig.PruneConfig pruneConfig, TokenCounter counter) {
         if (pruneConfig == null || messages == null || messages.isEmpty()) {
             return messages;
         }
@@ -522,7 +529,7 @@ public class ConversationCompactor {
                 if (text.isBlank()) {
                     continue;
                 }
-                int tokens = TokenCounterUtil.calculateToken(List.of(msg));
+                int tokens = TokenCounterUtil.countMessage(msg, counter);
                 if (protectedTokens < protectBudget) {
                     protectedTokens += tokens;
                     continue;
@@ -591,17 +598,18 @@ public class ConversationCompactor {
      *
      * <p>When {@code truncateConfig} is {@code null}, the original list is returned unchanged.
      */
-    List<Msg> truncateArgs(List<Msg> messages, TruncateArgsConfig truncateConfig) {
+    List<Msg> truncateArgs(
+            List<Msg> messages, TruncateArgsConfig truncateConfig, TokenCounter counter) {
         if (truncateConfig == null || messages == null || messages.isEmpty()) {
             return messages;
         }
 
-        int totalTokens = TokenCounterUtil.calculateToken(messages);
-        if (!shouldTruncateArgs(messages, totalTokens, truncateConfig)) {
+        int[] tokenSums = TokenCounterUtil.prefixSums(messages, counter);
+        if (!shouldTruncateArgs(messages, tokenSums[messages.size()], truncateConfig)) {
             return messages;
         }
 
-        int cutoff = determineTruncateCutoff(messages, truncateConfig);
+        int cutoff = determineTruncateCutoff(messages, tokenSums, truncateConfig);
         if (cutoff >= messages.size()) {
             return messages; // Nothing in the truncation window
         }
@@ -635,18 +643,11 @@ public class ConversationCompactor {
         return cfg.getTriggerTokens() > 0 && totalTokens >= cfg.getTriggerTokens();
     }
 
-    private static int determineTruncateCutoff(List<Msg> messages, TruncateArgsConfig cfg) {
+    private static int determineTruncateCutoff(
+            List<Msg> messages, int[] tokenSums, TruncateArgsConfig cfg) {
         if (cfg.getKeepTokens() > 0) {
-            // Token-budget-based keep window: scan from the end
-            int tokensKept = 0;
-            for (int i = messages.size() - 1; i >= 0; i--) {
-                int msgTokens = TokenCounterUtil.calculateToken(List.of(messages.get(i)));
-                if (tokensKept + msgTokens > cfg.getKeepTokens()) {
-                    return i + 1;
-                }
-                tokensKept += msgTokens;
-            }
-            return 0;
+            // Token-budget-based keep window
+            return earliestSuffixWithin(tokenSums, cfg.getKeepTokens());
         }
         // Message-count keep window
         int keep = cfg.getKeepMessages();
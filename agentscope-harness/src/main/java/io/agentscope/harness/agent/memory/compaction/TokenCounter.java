@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.memory.compaction;
+
+/**
+ * Counts the tokens a piece of text occupies in a model's context window.
+ *
+ * <p>Used by {@link TokenCounterUtil} for the text parts of messages; message and tool-call
+ * structure overheads are added on top. The default, {@link #estimating()}, is a
+ * character-ratio heuristic that needs no vocabulary. For accurate compaction thresholds,
+ * configure a {@link BpeTokenCounter} loaded with the target model's vocabulary via
+ * {@link CompactionConfig.Builder#tokenCounter(TokenCounter)}.
+ *
+ * <p>Implementations must be thread-safe and deterministic: counts are memoized per message.
+ */
+@FunctionalInterface
+public interface TokenCounter {
+
+    /**
+     * Counts the tokens of {@code text}.
+     *
+     * @param text the text; may be {@code null} or empty
+     * @return the number of tokens, {@code 0} for {@code null} or empty text
+     */
+    int countTokens(String text);
+
+    /**
+     * Returns the character-ratio estimator (about 2.5 characters per token), which works
+     * reasonably for mixed English and Chinese text.
+     *
+     * @return the shared estimating counter
+     */
+    static TokenCounter estimating() {
+        return TokenCounterUtil.ESTIMATING;
+    }
+}
@@ -20,8 +20,10 @@ import io.agentscope.core.message.Msg;
 import io.agentscope.core.message.TextBlock;
 import io.agentscope.core.message.ToolResultBlock;
 import io.agentscope.core.message.ToolUseBlock;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Utility class for estimating token count in messages.
@@ -37,6 +39,13 @@ import java.util.Map;
  *   <li>Tool results: Includes output content and structure overhead
  *   <li>Message structure: Role, name, and formatting overhead
  * </ul>
+ *
+ * <p>Text is counted with a {@link TokenCounter}: the character-ratio estimate by default, or a
+ * vocabulary-based one such as {@link BpeTokenCounter}. Since messages are immutable, the count
+ * of each {@link Msg} instance is memoized (weakly, so messages can still be collected), and
+ * repeated checks over a growing conversation only count the messages added since the last one.
+ * {@link #prefixSums} turns the counts into prefix sums so that the token count of any
+ * contiguous range is a subtraction.
  */
 public class TokenCounterUtil {
 
@@ -55,6 +64,15 @@ public class TokenCounterUtil {
     // Overhead tokens for tool result structure
     private static final int TOOL_RESULT_OVERHEAD = 8;
 
+    /** The character-ratio estimator returned by {@link TokenCounter#estimating()}. */
+    static final TokenCounter ESTIMATING = TokenCounterUtil::estimateTextTokens;
+
+    /** Memoized per-message counts, keyed by message identity. */
+    private static final Map<Msg, MemoizedCount> MEMO =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private record MemoizedCount(TokenCounter counter, int tokens) {}
+
     /**
      * Calculates the estimated total input tokens for a list of messages.
      *
@@ -69,6 +87,18 @@ public class TokenCounterUtil {
      * @return estimated number of input tokens
      */
     public static int calculateToken(List<Msg> messages) {
+        return calculateToken(messages, ESTIMATING);
+    }
+
+    /**
+     * Calculates the total input tokens for a list of messages, counting text with
+     * {@code counter}.
+     *
+     * @param messages the list of messages to count tokens for
+     * @param counter counts the tokens of text content
+     * @return number of input tokens
+     */
+    public static int calculateToken(List<Msg> messages, TokenCounter counter) {
         if (messages == null || messages.isEmpty()) {
             return 0;
         }
@@ -76,38 +106,73 @@ public class TokenCounterUtil {
         int totalTokens = 0;
 
         for (Msg msg : messages) {
-            totalTokens += estimateMessageTokens(msg);
+            totalTokens += countMessage(msg, counter);
         }
 
         return totalTokens;
     }
 
     /**
-     * Estimates tokens for a single message.
+     * Returns the prefix sums of the messages' token counts: element {@code i} is the number of
+     * tokens in {@code messages[0:i]}, so the array has {@code messages.size() + 1} elements and
+     * the tokens of {@code messages[i:j]} are {@code sums[j] - sums[i]}.
      *
-     * @param msg the message to estimate
-     * @return estimated number of tokens for this message
+     * @param messages the messages
+     * @param counter counts the tokens of text content
+     * @return the prefix sums
      */
-    private static int estimateMessageTokens(Msg msg) {
+    public static int[] prefixSums(List<Msg> messages, TokenCounter counter) {
+        int size = messages == null ? 0 : messages.size();
+        int[] sums = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            sums[i + 1] = sums[i] + countMessage(messages.get(i), counter);
+        }
+        return sums;
+    }
+
+    /**
+     * Returns the tokens of a single message, memoized per message instance and counter.
+     *
+     * @param msg the message; may be {@code null}
+     * @param counter counts the tokens of text content
+     * @return number of tokens for this message
+     */
+    public static int countMessage(Msg msg, TokenCounter counter) {
         if (msg == null) {
             return 0;
         }
+        MemoizedCount memo = MEMO.get(msg);
+        if (memo != null && memo.counter() == counter) {
+            return memo.tokens();
+        }
+        int tokens = estimateMessageTokens(msg, counter);
+        MEMO.put(msg, new MemoizedCount(counter, tokens));
+        return tokens;
+    }
 
+    /**
+     * Counts tokens for a single message.
+     *
+     * @param msg the message to count
+     * @param counter counts the tokens of text content
+     * @return number of tokens for this message
+     */
+    private static int estimateMessageTokens(Msg msg, TokenCounter counter) {
         int tokens = MESSAGE_OVERHEAD;
 
         // Add overhead for role and name
         if (msg.getRole() != null) {
-            tokens += estimateTextTokens(msg.getRole().name());
+            tokens += counter.countTokens(msg.getRole().name());
         }
         if (msg.getName() != null) {
-            tokens += estimateTextTokens(msg.getName());
+            tokens += counter.countTokens(msg.getName());
         }
 
-        // Estimate tokens for content blocks
+        // Count tokens for content blocks
         List<ContentBlock> content = msg.getContent();
         if (content != null) {
             for (ContentBlock block : content) {
-                tokens += estimateContentBlockTokens(block);
+                tokens += estimateContentBlockTokens(block, counter);
             }
         }
 
@@ -118,19 +183,20 @@ public class TokenCounterUtil {
      * Estimates tokens for a content block.
      *
      * @param block the content block to estimate
+     * @param counter counts the tokens of text content
      * @return estimated number of tokens for this block
      */
-    private static int estimateContentBlockTokens(ContentBlock block) {
+    private static int estimateContentBlockTokens(ContentBlock block, TokenCounter counter) {
         if (block == null) {
             return 0;
         }
 
         if (block instanceof TextBlock textBlock) {
-            return estimateTextTokens(textBlock.getText());
+            return counter.countTokens(textBlock.getText());
         } else if (block instanceof ToolUseBlock toolUseBlock) {
-            return estimateToolUseBlockTokens(toolUseBlock);
+            return estimateToolUseBlockTokens(toolUseBlock, counter);
         } else if (block instanceof ToolResultBlock toolResultBlock) {
-            return estimateToolResultBlockTokens(toolResultBlock);
+            return estimateToolResultBlockTokens(toolResultBlock, counter);
         }
 
         // For other block types (ImageBlock, AudioBlock, etc.), estimate minimal overhead
@@ -141,19 +207,20 @@ public class TokenCounterUtil {
      * Estimates tokens for a ToolUseBlock.
      *
      * @param toolUseBlock the tool use block to estimate
+     * @param counter counts the tokens of text content
      * @return estimated number of tokens
      */
-    private static int estimateToolUseBlockTokens(ToolUseBlock toolUseBlock) {
+    private static int estimateToolUseBlockTokens(ToolUseBlock toolUseBlock, TokenCounter counter) {
         int tokens = TOOL_CALL_OVERHEAD;
 
         // Tool name
         if (toolUseBlock.getName() != null) {
-            tokens += estimateTextTokens(toolUseBlock.getName());
+            tokens += counter.countTokens(toolUseBlock.getName());
         }
 
         // Tool ID
         if (toolUseBlock.getId() != null) {
-            tokens += estimateTextTokens(toolUseBlock.getId());
+            tokens += counter.countTokens(toolUseBlock.getId());
         }
 
         // Tool input parameters
@@ -161,12 +228,12 @@ public class TokenCounterUtil {
         if (input != null && !input.isEmpty()) {
             // Estimate tokens for JSON representation of parameters
             String inputJson = estimateMapAsJson(input);
-            tokens += estimateTextTokens(inputJson);
+            tokens += counter.countTokens(inputJson);
         }
 
         // Raw content (if present)
         if (toolUseBlock.getContent() != null) {
-            tokens += estimateTextTokens(toolUseBlock.getContent());
+            tokens += counter.countTokens(toolUseBlock.getContent());
         }
 
         return tokens;
@@ -176,26 +243,28 @@ public class TokenCounterUtil {
      * Estimates tokens for a ToolResultBlock.
      *
      * @param toolResultBlock the tool result block to estimate
+     * @param counter counts the tokens of text content
      * @return estimated number of tokens
      */
-    private static int estimateToolResultBlockTokens(ToolResultBlock toolResultBlock) {
+    private static int estimateToolResultBlockTokens(
+            ToolResultBlock toolResultBlock, TokenCounter counter) {
         int tokens = TOOL_RESULT_OVERHEAD;
 
         // Tool name
         if (toolResultBlock.getName() != null) {
-            tokens += estimateTextTokens(toolResultBlock.getName());
+            tokens += counter.countTokens(toolResultBlock.getName());
         }
 
         // Tool ID
         if (toolResultBlock.getId() != null) {
-            tokens += estimateTextTokens(toolResultBlock.getId());
+            tokens += counter.countTokens(toolResultBlock.getId());
         }
 
         // Output content blocks
         List<ContentBlock> output = toolResultBlock.getOutput();
         if (output != null) {
             for (ContentBlock outputBlock : output) {
-                tokens += estimateContentBlockTokens(outputBlock);
+                tokens += estimateContentBlockTokens(outputBlock, counter);
             }
         }
 
@@ -0,0 +1,548 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.memory.session;
+
+import io.agentscope.core.util.JsonCodec;
+import io.agentscope.core.util.JsonUtils;
+import io.agentscope.harness.agent.workspace.MemorySearchIndex;
+import io.agentscope.harness.agent.workspace.WorkspaceConstants;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Best-effort SQLite full-text index over the message entries of session log files
+ * ({@code agents/&#42;/sessions/&#42;.log.jsonl}).
+ *
+ * <p>Once a workspace has been searched, messages are indexed as {@link SessionTree} appends
+ * them to a log file, so searching never has to load or parse session files. Each log file's indexed byte length is recorded;
+ * since log files are append-only, {@link #catchUp} only parses the bytes written since the last
+ * indexing (for example by another process, or before the index existed), and re-indexes a file
+ * from scratch only when it shrank or was rewritten.
+ *
+ * <p>Message text is tokenized with {@link MemorySearchIndex#tokenize} (lower-cased words plus
+ * CJK unigrams and bigrams) and stored in an FTS5 table, which ranks matches with BM25. Query
+ * terms of three or more characters also match as prefixes. Hits can be filtered by path prefix
+ * (namespace), agent, role and timestamp range, and paged with an offset.
+ *
+ * <p>The database lives in {@code .index/sessions.db} under the workspace root. Connections are
+ * opened per operation, so instances hold no resources and need no closing. Like
+ * {@link io.agentscope.harness.agent.workspace.WorkspaceIndex}, failures are logged and never
+ * propagate; session log files remain authoritative.
+ */
+public class SessionSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionSearchIndex.class);
+
+    private static final String INDEX_DIR = ".index";
+    private static final String INDEX_DB = "sessions.db";
+
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    /** Milliseconds SQLite waits on a lock held by another connection before failing. */
+    private static final int BUSY_TIMEOUT_MS = 5_000;
+
+    /** Bytes of a log file read per step of {@link #catchUp}; grown for longer lines. */
+    static final int TAIL_CHUNK_BYTES = 1 << 20;
+
+    private static final Map<Path, SessionSearchIndex> OPEN = new ConcurrentHashMap<>();
+
+    private final Path dbFile;
+    private final String url;
+
+    /** A ranked message. {@code score} is higher for better matches. */
+    public record Hit(
+            String path,
+            String agentId,
+            String sessionId,
+            String entryId,
+            String role,
+            Instant timestamp,
+            String content,
+            double score) {}
+
+    /**
+     * Restricts which messages a search returns. Every component may be {@code null} to not
+     * filter on it.
+     *
+     * @param agentId only messages of this agent
+     * @param role only messages with this role (case-insensitive)
+     * @param since only messages at or after this instant
+     * @param until only messages before this instant
+     */
+    public record Filter(String agentId, String role, Instant since, Instant until) {
+
+        /** A filter that matches every message. */
+        public static final Filter NONE = new Filter(null, null, null, null);
+    }
+
+    /**
+     * Returns the index for {@code workspaceRoot}, creating its database on first use or when
+     * it was deleted.
+     *
+     * @param workspaceRoot the workspace root directory
+     * @return the index, or {@code null} if SQLite or FTS5 is unavailable
+     */
+    public static SessionSearchIndex forWorkspace(Path workspaceRoot) {
+        Path root = workspaceRoot.toAbsolutePath().normalize();
+        SessionSearchIndex existing = OPEN.get(root);
+        if (existing != null && Files.isRegularFile(existing.dbFile)) {
+            return existing;
+        }
+        try {
+            Path indexDir = root.resolve(INDEX_DIR);
+            Files.createDirectories(indexDir);
+            SessionSearchIndex index = new SessionSearchIndex(indexDir.resolve(INDEX_DB));
+            index.initSchema();
+            OPEN.put(root, index);
+            return index;
+        } catch (Exception e) {
+            log.warn("SessionSearchIndex unavailable (non-fatal): {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the index for {@code workspaceRoot} only if its database already exists, i.e. the
+     * workspace has been searched before. Writers use this so that workspaces that are never
+     * searched pay nothing; the first search back-fills them through {@link #catchUp}.
+     *
+     * @param workspaceRoot the workspace root directory
+     * @return the index, or {@code null} if it was never created or is unavailable
+     */
+    public static SessionSearchIndex ifExists(Path workspaceRoot) {
+        Path root = workspaceRoot.toAbsolutePath().normalize();
+        SessionSearchIndex existing = OPEN.get(root);
+        if (existing != null && Files.isRegularFile(existing.dbFile)) {
+            return existing;
+        }
+        return Files.isRegularFile(root.resolve(INDEX_DIR).resolve(INDEX_DB))
+                ? forWorkspace(root)
+                : null;
+    }
+
+    private SessionSearchIndex(Path dbFile) {
+        this.dbFile = dbFile;
+        this.url = "jdbc:sqlite:" + dbFile;
+    }
+
+    private Connection connect() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement st = conn.createStatement()) {
+            st.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS);
+        }
+        return conn;
+    }
+
+    private void initSchema() throws SQLException {
+        try (Connection conn = connect();
+                Statement st = conn.createStatement()) {
+            st.execute("PRAGMA journal_mode=WAL");
+            st.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS session_files ("
+                            + "path          TEXT PRIMARY KEY,"
+                            + "indexed_bytes INTEGER NOT NULL"
+                            + ")");
+            st.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS session_messages ("
+                            + "id         INTEGER PRIMARY KEY,"
+                            + "path       TEXT NOT NULL,"
+                            + "agent_id   TEXT,"
+                            + "session_id TEXT,"
+                            + "entry_id   TEXT NOT NULL,"
+                            + "role       TEXT,"
+                            + "ts         INTEGER,"
+                            + "content    TEXT,"
+                            + "UNIQUE(path, entry_id)"
+                            + ")");
+            st.executeUpdate(
+                    "CREATE INDEX IF NOT EXISTS session_messages_agent_ts"
+                            + " ON session_messages(agent_id, ts)");
+            st.executeUpdate(
+                    "CREATE VIRTUAL TABLE IF NOT EXISTS session_fts USING fts5("
+                            + "terms, tokenize='unicode61 remove_diacritics 0')");
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    //  Write operations
+    // -------------------------------------------------------------------------
+
+    /**
+     * Indexes messages that were just appended to a log file.
+     *
+     * <p>If the index had already covered the file up to {@code fromBytes}, the file is marked
+     * as indexed up to {@code toBytes}. Otherwise the messages are still indexed, but the file is
+     * left for {@link #catchUp} to fill the gap; entries indexed twice are deduplicated by id.
+     *
+     * @param path workspace-relative path of the log file
+     * @param fromBytes file length before the append
+     * @param toBytes file length after the append
+     * @param entries the appended entries; non-message entries are ignored
+     */
+    public void appended(String path, long fromBytes, long toBytes, List<SessionEntry> entries) {
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try {
+                long indexed = indexedBytes(conn, path);
+                insertMessages(conn, path, entries);
+                if (indexed == fromBytes) {
+                    setIndexedBytes(conn, path, toBytes);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            log.debug("Session index append failed for '{}' (non-fatal): {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Brings the index up to date with the log files under {@code pathPrefix}.
+     *
+     * <p>For each file only the bytes appended since it was last indexed are parsed, in chunks of
+     * {@link #TAIL_CHUNK_BYTES} cut at line boundaries; a trailing line without a newline is left
+     * for a later call. Indexed files under the prefix that are
+     * not in {@code logFiles} any more are dropped.
+     *
+     * @param pathPrefix workspace-relative prefix of the files to reconcile
+     * @param logFiles the log files currently under the prefix, keyed by workspace-relative path
+     */
+    public void catchUp(String pathPrefix, Map<String, Path> logFiles) {
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try {
+                for (String stale : indexedPaths(conn, pathPrefix)) {
+                    if (!logFiles.containsKey(stale)) {
+                        removePath(conn, stale);
+                    }
+                }
+                for (Map.Entry<String, Path> e : logFiles.entrySet()) {
+                    catchUp(conn, e.getKey(), e.getValue());
+                }
+                conn.commit();
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            log.debug("Session index catch-up failed (non-fatal): {}", e.getMessage());
+        }
+    }
+
+    private void catchUp(Connection conn, String path, Path file) throws SQLException, IOException {
+        long indexed = indexedBytes(conn, path);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == indexed) {
+                return;
+            }
+            if (size < indexed || !endsWithNewline(channel, indexed)) {
+                // Truncated or rewritten: start over
+                removePath(conn, path);
+                indexed = 0;
+            }
+            ByteBuffer buf = ByteBuffer.allocate((int) Math.min(TAIL_CHUNK_BYTES, size - indexed));
+            while (indexed < size) {
+                buf.clear().limit((int) Math.min(buf.capacity(), size - indexed));
+                while (buf.hasRemaining() && channel.read(buf, indexed + buf.position()) >= 0) {
+                    // keep reading
+                }
+                byte[] bytes = buf.array();
+                int complete = buf.position();
+                while (complete > 0 && bytes[complete - 1] != '\n') {
+                    complete--;
+                }
+                if (complete == 0) {
+                    if (buf.hasRemaining() || buf.limit() == size - indexed) {
+                        break; // only a trailing line without a newline is left
+                    }
+                    // A single line longer than the buffer
+                    buf =
+                            ByteBuffer.allocate(
+                                    (int) Math.min(2L * buf.capacity(), Integer.MAX_VALUE - 8));
+                    continue;
+                }
+                insertMessages(conn, path, parseEntries(bytes, complete));
+                indexed += complete;
+            }
+            setIndexedBytes(conn, path, indexed);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    //  Read operations
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the messages best matching {@code query}, highest score first.
+     *
+     * @param pathPrefix only messages of log files under this workspace-relative prefix
+     * @param query free-text query
+     * @param filter additional restrictions; {@code null} for none
+     * @param offset number of leading hits to skip
+     * @param limit maximum number of hits
+     * @return ranked hits; empty if nothing matches or the index fails
+     */
+    public List<Hit> search(String pathPrefix, String query, Filter filter, int offset, int limit) {
+        String match = toMatchExpression(query);
+        if (match == null || limit <= 0) {
+            return List.of();
+        }
+        Filter f = filter != null ? filter : Filter.NONE;
+        StringBuilder sql =
+                new StringBuilder(
+                        "SELECT m.path, m.agent_id, m.session_id, m.entry_id, m.role, m.ts,"
+                                + " m.content, bm25(session_fts) AS rank"
+                                + " FROM session_fts JOIN session_messages m"
+                                + " ON m.id = session_fts.rowid"
+                                + " WHERE session_fts MATCH ?"
+                                + " AND substr(m.path, 1, length(?)) = ?");
+        List<Object> params = new ArrayList<>(List.of(match, pathPrefix, pathPrefix));
+        if (f.agentId() != null) {
+            sql.append(" AND m.agent_id = ?");
+            params.add(f.agentId());
+        }
+        if (f.role() != null) {
+            sql.append(" AND m.role = ? COLLATE NOCASE");
+            params.add(f.role());
+        }
+        if (f.since() != null) {
+            sql.append(" AND m.ts >= ?");
+            params.add(f.since().toEpochMilli());
+        }
+        if (f.until() != null) {
+            sql.append(" AND m.ts < ?");
+            params.add(f.until().toEpochMilli());
+        }
+        sql.append(" ORDER BY rank, m.id LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(Math.max(0, offset));
+
+        List<Hit> hits = new ArrayList<>();
+        try (Connection conn = connect();
+                PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long ts = rs.getLong(6);
+                    hits.add(
+                            new Hit(
+                                    rs.getString(1),
+                                    rs.getString(2),
+                                    rs.getString(3),
+                                    rs.getString(4),
+                                    rs.getString(5),
+                                    rs.wasNull() ? null : Instant.ofEpochMilli(ts),
+                                    rs.getString(7),
+                                    -rs.getDouble(8)));
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Session index search failed (non-fatal): {}", e.getMessage());
+            return List.of();
+        }
+        return hits;
+    }
+
+    // -------------------------------------------------------------------------
+    //  Helpers
+    // -------------------------------------------------------------------------
+
+    /** Builds an FTS5 OR-query of the quoted query terms, or {@code null} if there are none. */
+    static String toMatchExpression(String query) {
+        Set<String> terms = new LinkedHashSet<>(MemorySearchIndex.tokenize(query));
+        if (terms.isEmpty()) {
+            return null;
+        }
+        List<String> clauses = new ArrayList<>();
+        for (String term : terms) {
+            // Terms are letters and digits only, so quoting cannot be broken out of
+            String quoted = "\"" + term + "\"";
+            clauses.add(term.length() >= MIN_PREFIX_LENGTH ? quoted + "*" : quoted);
+        }
+        return String.join(" OR ", clauses);
+    }
+
+    private static List<String> indexedPaths(Connection conn, String pathPrefix)
+            throws SQLException {
+        List<String> paths = new ArrayList<>();
+        try (PreparedStatement ps =
+                conn.prepareStatement(
+                        "SELECT path FROM session_files WHERE substr(path, 1, length(?)) = ?")) {
+            ps.setString(1, pathPrefix);
+            ps.setString(2, pathPrefix);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    paths.add(rs.getString(1));
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static long indexedBytes(Connection conn, String path) throws SQLException {
+        try (PreparedStatement ps =
+                conn.prepareStatement("SELECT indexed_bytes FROM session_files WHERE path=?")) {
+            ps.setString(1, path);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private static void setIndexedBytes(Connection conn, String path, long bytes)
+            throws SQLException {
+        try (PreparedStatement ps =
+                conn.prepareStatement(
+                        "INSERT INTO session_files(path, indexed_bytes) VALUES(?,?)"
+                                + " ON CONFLICT(path) DO UPDATE SET"
+                                + "  indexed_bytes=excluded.indexed_bytes")) {
+            ps.setString(1, path);
+            ps.setLong(2, bytes);
+            ps.executeUpdate();
+        }
+    }
+
+    private static void removePath(Connection conn, String path) throws SQLException {
+        try (PreparedStatement fts =
+                        conn.prepareStatement(
+                                "DELETE FROM session_fts WHERE rowid IN"
+                                        + " (SELECT id FROM session_messages WHERE path=?)");
+                PreparedStatement messages =
+                        conn.prepareStatement("DELETE FROM session_messages WHERE path=?");
+                PreparedStatement files =
+                        conn.prepareStatement("DELETE FROM session_files WHERE path=?")) {
+            for (PreparedStatement ps : List.of(fts, messages, files)) {
+                ps.setString(1, path);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private static void insertMessages(Connection conn, String path, List<SessionEntry> entries)
+            throws SQLException {
+        String[] owner = agentAndSession(path);
+        try (PreparedStatement message =
+                        conn.prepareStatement(
+                                "INSERT OR IGNORE INTO session_messages(path, agent_id,"
+                                        + " session_id, entry_id, role, ts, content)"
+                                        + " VALUES(?,?,?,?,?,?,?)");
+                PreparedStatement fts =
+                        conn.prepareStatement(
+                                "INSERT INTO session_fts(rowid, terms)"
+                                        + " VALUES(last_insert_rowid(), ?)")) {
+            for (SessionEntry entry : entries) {
+                if (!(entry instanceof SessionEntry.MessageEntry msg) || msg.getContent() == null) {
+                    continue;
+                }
+                message.setString(1, path);
+                message.setString(2, owner[0]);
+                message.setString(3, owner[1]);
+                message.setString(4, msg.getId());
+                message.setString(5, msg.getRole());
+                if (msg.getTimestamp() != null) {
+                    message.setLong(6, msg.getTimestamp().toEpochMilli());
+                } else {
+                    // Unknown time: read back as a null timestamp, excluded by time filters
+                    message.setNull(6, Types.INTEGER);
+                }
+                message.setString(7, msg.getContent());
+                if (message.executeUpdate() == 0) {
+                    continue; // already indexed
+                }
+                fts.setString(1, String.join(" ", MemorySearchIndex.tokenize(msg.getContent())));
+                fts.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Extracts the agent and session id from a path ending in
+     * {@code agents/<agentId>/sessions/<sessionId>.log.jsonl}; components that do not match are
+     * {@code null}.
+     */
+    static String[] agentAndSession(String path) {
+        String[] parts = path.split("/");
+        int n = parts.length;
+        String sessionId = null;
+        String agentId = null;
+        if (n >= 1 && parts[n - 1].endsWith(WorkspaceConstants.SESSION_LOG_EXT)) {
+            String name = parts[n - 1];
+            sessionId =
+                    name.substring(0, name.length() - WorkspaceConstants.SESSION_LOG_EXT.length());
+        }
+        if (n >= 4
+                && WorkspaceConstants.SESSIONS_DIR.equals(parts[n - 2])
+                && WorkspaceConstants.AGENTS_DIR.equals(parts[n - 4])) {
+            agentId = parts[n - 3];
+        }
+        return new String[] {agentId, sessionId};
+    }
+
+    private static boolean endsWithNewline(FileChannel channel, long position) throws IOException {
+        if (position == 0) {
+            return true;
+        }
+        ByteBuffer one = ByteBuffer.allocate(1);
+        return channel.read(one, position - 1) == 1 && one.get(0) == '\n';
+    }
+
+    /** Parses the first {@code length} bytes of UTF-8 JSONL, skipping malformed lines. */
+    private static List<SessionEntry> parseEntries(byte[] bytes, int length) {
+        JsonCodec codec = JsonUtils.getJsonCodec();
+        List<SessionEntry> result = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            int start = lineStart;
+            lineStart = i + 1;
+            if (i - start > 0) {
+                try {
+                    result.add(codec.fromJson(bytes, start, i - start, SessionEntry.class));
+                } catch (Exception e) {
+                    log.debug("Skipping malformed session entry: {}", e.getMessage());
+                }
+            }
+        }
+        return result;
+    }
+}
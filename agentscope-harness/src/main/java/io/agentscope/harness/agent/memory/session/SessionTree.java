@@ -16,13 +16,14 @@
 package io.agentscope.harness.agent.memory.session;
 
 import io.agentscope.core.agent.RuntimeContext;
+import io.agentscope.core.util.JsonCodec;
 import io.agentscope.core.util.JsonUtils;
 import io.agentscope.harness.agent.filesystem.AbstractFilesystem;
 import io.agentscope.harness.agent.filesystem.model.ReadResult;
 import io.agentscope.harness.agent.workspace.WorkspaceIndex;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -59,6 +60,8 @@ import org.slf4j.LoggerFactory;
  * with the local file so that entries written on another machine are visible to the current one.
  * On every {@link #flush()}, pending entries are appended to the local files synchronously and
  * then mirrored to the remote filesystem asynchronously (fire-and-forget, best-effort).
+ * Entries appended to the log file are also recorded in the workspace's
+ * {@link SessionSearchIndex}, once session search has created it.
  *
  * <h2>Deferred persistence</h2>
  * Entries are buffered in memory and only flushed to disk on the first call to {@link #flush()}
@@ -259,7 +262,7 @@ public class SessionTree {
         }
 
         overwriteFile(contextFile, merged);
-        appendToFile(logFile, remoteNewEntries);
+        appendToLog(remoteNewEntries);
 
         // Update in-memory state with the newly discovered remote entries.
         for (SessionEntry entry : remoteNewEntries) {
@@ -317,7 +320,7 @@ public class SessionTree {
         pendingWrites.clear();
 
         appendToFile(contextFile, toWrite);
-        appendToFile(logFile, toWrite);
+        appendToLog(toWrite);
         scheduleMirror();
     }
 
@@ -412,33 +415,18 @@ public class SessionTree {
         }
 
         int syncCount = 0;
-        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.strip();
-                if (line.isEmpty()) {
-                    continue;
-                }
-                try {
-                    SessionEntry entry =
-                            JsonUtils.getJsonCodec().fromJson(line, SessionEntry.class);
-                    if (!entriesById.containsKey(entry.getId())) {
-                        entriesById.put(entry.getId(), entry);
-                        appendOrder.add(entry);
-                        pendingWrites.add(entry);
-                        syncCount++;
-
-                        if (entry instanceof SessionEntry.CompactionEntry ce) {
-                            lastCompactionFirstKeptId = ce.getFirstKeptEntryId();
-                            lastSummaryEntryId = ce.getSummaryEntryId();
-                        }
-                    }
-                } catch (Exception e) {
-                    log.debug("Skipping malformed log entry during sync: {}", e.getMessage());
+        for (SessionEntry entry : readLocalEntries(logFile)) {
+            if (!entriesById.containsKey(entry.getId())) {
+                entriesById.put(entry.getId(), entry);
+                appendOrder.add(entry);
+                pendingWrites.add(entry);
+                syncCount++;
+
+                if (entry instanceof SessionEntry.CompactionEntry ce) {
+                    lastCompactionFirstKeptId = ce.getFirstKeptEntryId();
+                    lastSummaryEntryId = ce.getSummaryEntryId();
                 }
             }
-        } catch (IOException e) {
-            log.warn("Failed to sync from log file {}: {}", logFile, e.getMessage());
         }
 
         if (syncCount > 0) {
@@ -494,13 +482,8 @@ public class SessionTree {
         if (!Files.isRegularFile(file)) {
             return List.of();
         }
-        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
-            StringBuilder sb = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line).append('\n');
-            }
-            return parseJsonlEntries(sb.toString());
+        try {
+            return parseJsonlEntries(Files.readAllBytes(file));
         } catch (IOException e) {
             log.warn("Failed to read local session file {}: {}", file, e.getMessage());
             return List.of();
@@ -524,51 +507,111 @@ public class SessionTree {
         return result;
     }
 
+    /**
+     * Parses UTF-8 JSONL bytes into a list of {@link SessionEntry} objects, skipping bad lines.
+     * Each line is decoded straight from {@code bytes} without an intermediate String.
+     */
+    private List<SessionEntry> parseJsonlEntries(byte[] bytes) {
+        JsonCodec codec = JsonUtils.getJsonCodec();
+        List<SessionEntry> result = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i <= bytes.length; i++) {
+            if (i < bytes.length && bytes[i] != '\n') {
+                continue;
+            }
+            int start = lineStart;
+            int end = i;
+            lineStart = i + 1;
+            while (start < end && (bytes[start] & 0xff) <= ' ') {
+                start++;
+            }
+            while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                continue;
+            }
+            try {
+                result.add(codec.fromJson(bytes, start, end - start, SessionEntry.class));
+            } catch (Exception e) {
+                log.warn("Skipping malformed session entry: {}", e.getMessage());
+            }
+        }
+        return result;
+    }
+
     /** Overwrites {@code file} with the serialised form of {@code entries} (TRUNCATE + WRITE). */
     private void overwriteFile(Path file, List<SessionEntry> entries) {
         try {
             if (file.getParent() != null) {
                 Files.createDirectories(file.getParent());
             }
-            try (BufferedWriter writer =
-                    Files.newBufferedWriter(
-                            file,
-                            StandardCharsets.UTF_8,
-                            StandardOpenOption.CREATE,
-                            StandardOpenOption.TRUNCATE_EXISTING,
-                            StandardOpenOption.WRITE)) {
-                for (SessionEntry entry : entries) {
-                    writer.write(JsonUtils.getJsonCodec().toJson(entry));
-                    writer.newLine();
-                }
+            try (OutputStream out =
+                    new BufferedOutputStream(
+                            Files.newOutputStream(
+                                    file,
+                                    StandardOpenOption.CREATE,
+                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                    StandardOpenOption.WRITE))) {
+                writeEntries(out, entries);
             }
         } catch (IOException e) {
             log.warn("Failed to overwrite session file {}: {}", file, e.getMessage());
         }
     }
 
+    /**
+     * Appends {@code entries} to the log file and records them in the workspace's
+     * {@link SessionSearchIndex} when one exists, so that session search does not have to
+     * re-read the log.
+     */
+    private void appendToLog(List<SessionEntry> entries) {
+        long before = sizeOf(logFile);
+        appendToFile(logFile, entries);
+        if (workspaceRoot == null) {
+            return;
+        }
+        String relativePath = toWorkspaceRelative(logFile);
+        SessionSearchIndex searchIndex = SessionSearchIndex.ifExists(workspaceRoot);
+        if (relativePath != null && searchIndex != null) {
+            searchIndex.appended(relativePath, before, sizeOf(logFile), entries);
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.isRegularFile(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
     private void appendToFile(Path file, List<SessionEntry> entries) {
         try {
             if (file.getParent() != null) {
                 Files.createDirectories(file.getParent());
             }
-            try (BufferedWriter writer =
-                    Files.newBufferedWriter(
-                            file,
-                            StandardCharsets.UTF_8,
-                            StandardOpenOption.CREATE,
-                            StandardOpenOption.APPEND)) {
-                for (SessionEntry entry : entries) {
-                    String json = JsonUtils.getJsonCodec().toJson(entry);
-                    writer.write(json);
-                    writer.newLine();
-                }
+            try (OutputStream out =
+                    new BufferedOutputStream(
+                            Files.newOutputStream(
+                                    file, StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                writeEntries(out, entries);
             }
         } catch (IOException e) {
             log.warn("Failed to append to session file {}: {}", file, e.getMessage());
         }
     }
 
+    /** Writes one compact JSON line per entry, encoding each entry straight to bytes. */
+    private static void writeEntries(OutputStream out, List<SessionEntry> entries)
+            throws IOException {
+        JsonCodec codec = JsonUtils.getJsonCodec();
+        for (SessionEntry entry : entries) {
+            codec.writeTo(entry, out);
+            out.write('\n');
+        }
+    }
+
     /**
      * Uploads {@code file} to the remote filesystem (full-file upload). Only called from the
      * mirror executor thread; failures are logged as warnings.
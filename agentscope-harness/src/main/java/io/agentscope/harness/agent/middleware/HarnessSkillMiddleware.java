@@ -21,6 +21,7 @@ import io.agentscope.core.middleware.MiddlewareBase;
 import io.agentscope.core.skill.AgentSkill;
 import io.agentscope.core.skill.SkillFilter;
 import io.agentscope.core.skill.repository.AgentSkillRepository;
+import io.agentscope.core.skill.repository.CachingSkillRepository;
 import io.agentscope.core.tool.Toolkit;
 import io.agentscope.harness.agent.skill.LazyResourceCapable;
 import io.agentscope.harness.agent.skill.SkillResources;
@@ -50,7 +51,7 @@ import reactor.core.publisher.Mono;
  * <ol>
  *   <li>Resolve the current {@link RuntimeContext} from the agent.
  *   <li>Iterate repositories low-to-high priority and merge by {@code AgentSkill.name} (later
- *       wins).
+ *       wins). Repositories wrapped in a {@link CachingSkillRepository} answer from memory.
  *   <li>Apply the optional {@link SkillVisibilityFilter}.
  *   <li>Stage Layer-1/Layer-2 marketplace skills' resources into
  *       {@code <wsRoot>/.skills-cache/<source-ns>/<skill>/} via {@link MarketplaceStager}.
@@ -171,7 +172,7 @@ public class HarnessSkillMiddleware implements MiddlewareBase {
         List<HarnessSkillEntry> entries = new ArrayList<>(visible.size());
         for (RepoBound bound : visible) {
             SkillResources lazy = null;
-            if (bound.repo() instanceof LazyResourceCapable lrc) {
+            if (CachingSkillRepository.unwrap(bound.repo()) instanceof LazyResourceCapable lrc) {
                 try {
                     lazy = lrc.resourcesFor(bound.skill().getName(), ctx);
                 } catch (Exception e) {
@@ -17,6 +17,7 @@ package io.agentscope.harness.agent.skill.runtime;
 
 import io.agentscope.core.skill.AgentSkill;
 import io.agentscope.core.skill.repository.AgentSkillRepository;
+import io.agentscope.core.skill.repository.CachingSkillRepository;
 import io.agentscope.harness.agent.skill.WorkspaceSkillRepository;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -99,7 +100,8 @@ public final class MarketplaceStager {
             // and report no filesRoot for the affected skills; shell-mode rendering will
             // omit them gracefully.
             for (RepoBound bound : visible) {
-                if (bound.repo() instanceof WorkspaceSkillRepository) {
+                if (CachingSkillRepository.unwrap(bound.repo())
+                        instanceof WorkspaceSkillRepository) {
                     roots.put(bound.skill().getName(), new StageResult.WorkspaceNative());
                 } else {
                     roots.put(bound.skill().getName(), StageResult.NONE);
@@ -118,7 +120,7 @@ public final class MarketplaceStager {
                 continue;
             }
 
-            if (bound.repo() instanceof WorkspaceSkillRepository) {
+            if (CachingSkillRepository.unwrap(bound.repo()) instanceof WorkspaceSkillRepository) {
                 // Workspace-native: skills/<name>/ already on the right path.
                 roots.put(name, new StageResult.WorkspaceNative());
                 continue;
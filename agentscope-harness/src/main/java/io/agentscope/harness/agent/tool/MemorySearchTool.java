@@ -18,24 +18,28 @@ package io.agentscope.harness.agent.tool;
 import io.agentscope.core.agent.RuntimeContext;
 import io.agentscope.core.tool.Tool;
 import io.agentscope.core.tool.ToolParam;
+import io.agentscope.harness.agent.workspace.MemorySearchIndex;
 import io.agentscope.harness.agent.workspace.WorkspaceManager;
 import java.util.List;
 import java.util.StringJoiner;
-import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Tool for searching through persisted memories (MEMORY.md and memory/*.md files).
  *
- * <p>Uses keyword-based search through all memory files visible via the configured
+ * <p>Looks the query up in the {@link WorkspaceManager}'s BM25-ranked memory index, which covers
+ * all memory files visible via the configured
  * {@link io.agentscope.harness.agent.filesystem.AbstractFilesystem} (works across Local,
- * Sandbox, and Store stores).
+ * Sandbox, and Store stores) and is refreshed incrementally rather than rescanned per query.
  */
 public class MemorySearchTool {
 
     private static final Logger log = LoggerFactory.getLogger(MemorySearchTool.class);
 
+    /** Maximum number of ranked lines returned per query. */
+    private static final int MAX_RESULTS = 20;
+
     private final WorkspaceManager workspaceManager;
 
     public MemorySearchTool(WorkspaceManager workspaceManager) {
@@ -62,29 +66,15 @@ public class MemorySearchTool {
     }
 
     private String keywordSearch(RuntimeContext rc, String query) {
-        StringJoiner results = new StringJoiner("\n");
-        int matchCount = 0;
-
-        List<String> memoryPaths = workspaceManager.listMemoryFilePaths(rc);
-        Pattern pattern = Pattern.compile(Pattern.quote(query), Pattern.CASE_INSENSITIVE);
-
-        for (String relativePath : memoryPaths) {
-            String content = workspaceManager.readManagedWorkspaceFileUtf8(rc, relativePath);
-            if (content == null || content.isEmpty()) {
-                continue;
-            }
-            String[] lines = content.split("\n", -1);
-            for (int i = 0; i < lines.length; i++) {
-                if (pattern.matcher(lines[i]).find()) {
-                    results.add(String.format("Source: %s#%d: %s", relativePath, i + 1, lines[i]));
-                    matchCount++;
-                }
-            }
+        List<MemorySearchIndex.Hit> hits = workspaceManager.searchMemory(rc, query, MAX_RESULTS);
+        if (hits.isEmpty()) {
+            return "No matching memories found for: " + query;
         }
 
-        if (matchCount == 0) {
-            return "No matching memories found for: " + query;
+        StringJoiner results = new StringJoiner("\n");
+        for (MemorySearchIndex.Hit hit : hits) {
+            results.add(String.format("Source: %s#%d: %s", hit.path(), hit.line(), hit.text()));
         }
-        return "Found " + matchCount + " matches:\n\n" + results;
+        return "Found " + hits.size() + " matches:\n\n" + results;
     }
 }
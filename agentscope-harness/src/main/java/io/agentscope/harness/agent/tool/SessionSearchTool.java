@@ -19,14 +19,21 @@ import io.agentscope.core.agent.RuntimeContext;
 import io.agentscope.core.tool.Tool;
 import io.agentscope.core.tool.ToolParam;
 import io.agentscope.harness.agent.memory.session.SessionEntry;
+import io.agentscope.harness.agent.memory.session.SessionSearchIndex;
 import io.agentscope.harness.agent.memory.session.SessionTree;
 import io.agentscope.harness.agent.workspace.WorkspaceConstants;
 import io.agentscope.harness.agent.workspace.WorkspaceManager;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +41,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Tool for searching past session transcripts and viewing session history.
  *
+ * <p>{@code session_search} is served from the workspace's {@link SessionSearchIndex}, which
+ * {@link SessionTree} fills as it appends to session logs; only log bytes the index has not seen
+ * yet are parsed per search. When the index is unavailable, session files are scanned instead.
+ *
  * <p>Operates exclusively on the local session cache. Remote synchronisation is handled by
  * {@link io.agentscope.harness.agent.memory.session.SessionTree#load()} in write paths
  * (e.g. {@link io.agentscope.harness.agent.memory.MemoryFlushManager}), keeping this tool
@@ -53,7 +64,7 @@ public class SessionSearchTool {
             name = "session_search",
             readOnly = true,
             description =
-                    "Search past session transcripts for a keyword or phrase."
+                    "Search past session transcripts by keywords, best matches first."
                             + " Returns matching entries with session context.")
     public String sessionSearch(
             RuntimeContext runtimeContext,
@@ -68,24 +79,79 @@ public class SessionSearchTool {
                             name = "maxResults",
                             description = "Maximum number of results to return (default: 10)",
                             required = false)
-                    Integer maxResults) {
+                    Integer maxResults,
+            @ToolParam(
+                            name = "role",
+                            description = "Only messages with this role, e.g. USER or ASSISTANT",
+                            required = false)
+                    String role,
+            @ToolParam(
+                            name = "since",
+                            description =
+                                    "Only messages at or after this time (ISO-8601 instant or"
+                                            + " date, e.g. 2026-01-31)",
+                            required = false)
+                    String since,
+            @ToolParam(
+                            name = "until",
+                            description =
+                                    "Only messages before this time (ISO-8601 instant, or date"
+                                            + " to include that whole day)",
+                            required = false)
+                    String until,
+            @ToolParam(
+                            name = "offset",
+                            description = "Number of results to skip, for paging (default: 0)",
+                            required = false)
+                    Integer offset) {
         if (query == null || query.isBlank()) {
             return "Error: query is required";
         }
 
         RuntimeContext rc = runtimeContext != null ? runtimeContext : RuntimeContext.empty();
         int limit = maxResults != null && maxResults > 0 ? maxResults : 10;
+        int skip = offset != null && offset > 0 ? offset : 0;
         String effectiveAgentId = agentId != null && !agentId.isBlank() ? agentId : null;
-        String lowerQuery = query.toLowerCase();
+        SessionSearchIndex.Filter filter;
+        try {
+            filter =
+                    new SessionSearchIndex.Filter(
+                            effectiveAgentId,
+                            role != null && !role.isBlank() ? role : null,
+                            parseTime(since, false),
+                            parseTime(until, true));
+        } catch (DateTimeParseException e) {
+            return "Error: invalid time '" + e.getParsedString() + "', expected ISO-8601";
+        }
 
         List<String> results = new ArrayList<>();
-
-        List<Path> sessionFiles = listLogFiles(rc, effectiveAgentId);
-        for (Path file : sessionFiles) {
-            if (results.size() >= limit) {
-                break;
+        boolean more;
+        SessionSearchIndex index = SessionSearchIndex.forWorkspace(workspaceManager.getWorkspace());
+        if (index != null) {
+            String prefix = sessionPathPrefix(rc, effectiveAgentId);
+            Map<String, Path> logFiles = new LinkedHashMap<>();
+            for (Path file : listLogFiles(rc, effectiveAgentId)) {
+                logFiles.put(toWorkspaceRelative(file), file);
             }
-            searchInSessionFile(file, lowerQuery, results, limit);
+            index.catchUp(prefix, logFiles);
+            List<SessionSearchIndex.Hit> hits =
+                    index.search(prefix, query, filter, skip, limit + 1);
+            more = hits.size() > limit;
+            for (SessionSearchIndex.Hit hit : hits.subList(0, Math.min(limit, hits.size()))) {
+                results.add(formatResult(hit.path(), hit.entryId(), hit.role(), hit.content()));
+            }
+        } else {
+            String lowerQuery = query.toLowerCase();
+            for (Path file : listLogFiles(rc, effectiveAgentId)) {
+                if (results.size() > skip + limit) {
+                    break;
+                }
+                searchInSessionFile(file, lowerQuery, filter, results, skip + limit + 1);
+            }
+            more = results.size() > skip + limit;
+            results =
+                    results.subList(
+                            Math.min(skip, results.size()), Math.min(skip + limit, results.size()));
         }
 
         if (results.isEmpty()) {
@@ -97,6 +163,12 @@ public class SessionSearchTool {
         for (String result : results) {
             sb.append(result).append("\n");
         }
+        if (more) {
+            sb.append(
+                    String.format(
+                            "\nMore matches available; repeat with offset=%d for the next page.\n",
+                            skip + limit));
+        }
         return sb.toString();
     }
 
@@ -265,8 +337,16 @@ public class SessionSearchTool {
         }
     }
 
+    /**
+     * Fallback scan used when the {@link SessionSearchIndex} is unavailable: loads the session
+     * and keeps messages containing the query as a substring.
+     */
     private void searchInSessionFile(
-            Path logFile, String lowerQuery, List<String> results, int limit) {
+            Path logFile,
+            String lowerQuery,
+            SessionSearchIndex.Filter filter,
+            List<String> results,
+            int limit) {
         try {
             Path contextFile =
                     logFile.resolveSibling(
@@ -278,19 +358,16 @@ public class SessionSearchTool {
             SessionTree tree = new SessionTree(contextFile, workspaceManager.getWorkspace(), null);
             tree.load();
 
-            String relPath = workspaceManager.getWorkspace().relativize(logFile).toString();
+            String relPath = toWorkspaceRelative(logFile);
             for (SessionEntry.MessageEntry msg : tree.getMessageEntries()) {
                 if (results.size() >= limit) {
                     break;
                 }
                 String content = msg.getContent();
-                if (content != null && content.toLowerCase().contains(lowerQuery)) {
-                    String preview =
-                            content.length() > 200 ? content.substring(0, 200) + "..." : content;
-                    results.add(
-                            String.format(
-                                    "  [%s] %s — [%s]: %s",
-                                    relPath, msg.getId(), msg.getRole(), preview));
+                if (content != null
+                        && content.toLowerCase().contains(lowerQuery)
+                        && matches(filter, msg)) {
+                    results.add(formatResult(relPath, msg.getId(), msg.getRole(), content));
                 }
             }
         } catch (Exception e) {
@@ -298,6 +375,52 @@ public class SessionSearchTool {
         }
     }
 
+    private static boolean matches(
+            SessionSearchIndex.Filter filter, SessionEntry.MessageEntry msg) {
+        return (filter.role() == null || filter.role().equalsIgnoreCase(msg.getRole()))
+                && (filter.since() == null || !msg.getTimestamp().isBefore(filter.since()))
+                && (filter.until() == null || msg.getTimestamp().isBefore(filter.until()));
+    }
+
+    private static String formatResult(String relPath, String id, String role, String content) {
+        String preview = content.length() > 200 ? content.substring(0, 200) + "..." : content;
+        return String.format("  [%s] %s — [%s]: %s", relPath, id, role, preview);
+    }
+
+    /**
+     * Workspace-relative prefix of the session logs searched for {@code agentId} (or all agents
+     * when {@code null}) in the caller's namespace.
+     */
+    private String sessionPathPrefix(RuntimeContext rc, String agentId) {
+        String agents =
+                toWorkspaceRelative(
+                        workspaceManager.resolveRuntimeDataPath(rc, WorkspaceConstants.AGENTS_DIR));
+        return agentId == null
+                ? agents + "/"
+                : agents + "/" + agentId + "/" + WorkspaceConstants.SESSIONS_DIR + "/";
+    }
+
+    private String toWorkspaceRelative(Path file) {
+        Path root = workspaceManager.getWorkspace().toAbsolutePath().normalize();
+        return root.relativize(file.toAbsolutePath().normalize()).toString().replace('\\', '/');
+    }
+
+    /**
+     * Parses an ISO-8601 instant or date; a date means the start of that day in UTC, or the
+     * start of the next day when {@code endOfDay} is set.
+     */
+    private static Instant parseTime(String value, boolean endOfDay) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.strip();
+        if (trimmed.length() == 10) {
+            LocalDate date = LocalDate.parse(trimmed);
+            return (endOfDay ? date.plusDays(1) : date).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        return Instant.parse(trimmed);
+    }
+
     private String readLegacySession(Path file, int limit) {
         try {
             String content = Files.readString(file);
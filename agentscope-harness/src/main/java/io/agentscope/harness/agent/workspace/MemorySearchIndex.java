@@ -0,0 +1,364 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.workspace;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory inverted index over memory files ({@code MEMORY.md} and {@code memory/*.md}),
+ * ranked with BM25.
+ *
+ * <p>Every non-blank line of a memory file is one indexed document, so hits point at the same
+ * {@code path#line} locations {@code memory_get} reads around. Text is tokenized into
+ * lower-cased runs of letters and digits; CJK characters, which are not separated by spaces,
+ * are indexed as single characters and as overlapping bigrams so that multi-character words
+ * match without a dictionary. Query terms of three or more characters also match longer index
+ * terms they are a prefix of.
+ *
+ * <p>One corpus is kept per namespace key. A corpus is maintained incrementally:
+ * {@link #update} replaces a single file after a write, and {@link #refresh} reconciles it with
+ * a listing of the memory files, re-reading only files that are new or whose fingerprint (a
+ * store revision, or size and modification time) changed. Files the listing has no fingerprint
+ * for are re-read once their indexed copy is older than a recheck interval, so edits made
+ * elsewhere to them show up with that delay. Like {@link WorkspaceIndex}, the index is
+ * best-effort and never authoritative; it lives in memory and is rebuilt by the first search
+ * after a restart.
+ *
+ * <p><strong>Thread-safety:</strong> each corpus is guarded by its own monitor.
+ */
+public class MemorySearchIndex {
+
+    /** BM25 term-frequency saturation. */
+    private static final double K1 = 1.2;
+
+    /** BM25 document-length normalization. */
+    private static final double B = 0.75;
+
+    /** Weight of a prefix match relative to an exact term match. */
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    /** Default age after which a file without a fingerprint is read again. */
+    public static final Duration DEFAULT_RECHECK_INTERVAL = Duration.ofSeconds(30);
+
+    private final Map<String, Corpus> corpora = new ConcurrentHashMap<>();
+
+    private final long recheckNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates an index that re-reads files without a fingerprint at most every {@link
+     * #DEFAULT_RECHECK_INTERVAL}.
+     */
+    public MemorySearchIndex() {
+        this(DEFAULT_RECHECK_INTERVAL, System::nanoTime);
+    }
+
+    /**
+     * @param recheckInterval age after which a file without a fingerprint is read again
+     * @param nanoClock source of monotonic nanosecond readings
+     */
+    MemorySearchIndex(Duration recheckInterval, LongSupplier nanoClock) {
+        this.recheckNanos = recheckInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /** A ranked line of a memory file. */
+    public record Hit(String path, int line, String text, double score) {}
+
+    /**
+     * Reconciles the corpus for {@code namespaceKey} with the current set of memory files.
+     *
+     * <p>Files no longer listed are dropped. Files that are not indexed yet, or whose listed
+     * fingerprint differs from the indexed one, are read with {@code reader} and re-indexed. A
+     * {@code null} fingerprint means the filesystem does not report one; such files are re-read
+     * only once their indexed copy is older than the recheck interval, so a search does not cost
+     * a read per file.
+     *
+     * @param namespaceKey the namespace the paths belong to
+     * @param fingerprints workspace-relative memory file paths mapped to their fingerprints
+     * @param reader reads a file's UTF-8 content; may return {@code null} or empty
+     */
+    public void refresh(
+            String namespaceKey,
+            Map<String, String> fingerprints,
+            Function<String, String> reader) {
+        Corpus corpus = corpora.computeIfAbsent(namespaceKey, k -> new Corpus());
+        synchronized (corpus) {
+            for (String path : new ArrayList<>(corpus.files.keySet())) {
+                if (!fingerprints.containsKey(path)) {
+                    corpus.remove(path);
+                }
+            }
+            long now = nanoClock.getAsLong();
+            for (Map.Entry<String, String> e : fingerprints.entrySet()) {
+                IndexedFile indexed = corpus.files.get(e.getKey());
+                if (indexed == null) {
+                    corpus.put(e.getKey(), reader.apply(e.getKey()), e.getValue(), now);
+                } else if (e.getValue() == null) {
+                    if (now - indexed.indexedAt >= recheckNanos) {
+                        corpus.put(e.getKey(), reader.apply(e.getKey()), null, now);
+                    }
+                } else if (indexed.fingerprint == null) {
+                    // Indexed from a write of our own; adopt the fingerprint it now has
+                    indexed.fingerprint = e.getValue();
+                } else if (!e.getValue().equals(indexed.fingerprint)) {
+                    corpus.put(e.getKey(), reader.apply(e.getKey()), e.getValue(), now);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the indexed content of one memory file after it was written.
+     *
+     * @param namespaceKey the namespace the path belongs to
+     * @param path workspace-relative memory file path
+     * @param content the file's complete new content
+     */
+    public void update(String namespaceKey, String path, String content) {
+        Corpus corpus = corpora.computeIfAbsent(namespaceKey, k -> new Corpus());
+        synchronized (corpus) {
+            corpus.put(path, content, null, nanoClock.getAsLong());
+        }
+    }
+
+    /**
+     * Returns the lines best matching {@code query}, highest score first.
+     *
+     * @param namespaceKey the namespace to search
+     * @param query free-text query
+     * @param limit maximum number of hits
+     * @return ranked hits; empty if nothing matches
+     */
+    public List<Hit> search(String namespaceKey, String query, int limit) {
+        Corpus corpus = corpora.get(namespaceKey);
+        List<String> terms = tokenize(query);
+        if (corpus == null || terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        synchronized (corpus) {
+            return corpus.search(terms, limit);
+        }
+    }
+
+    /** Returns whether a corpus exists for {@code namespaceKey}. */
+    public boolean isIndexed(String namespaceKey) {
+        return corpora.containsKey(namespaceKey);
+    }
+
+    /**
+     * Splits text into index terms: lower-cased letter/digit runs, plus unigrams and bigrams of
+     * consecutive CJK characters.
+     *
+     * @param text text to tokenize; may be {@code null}
+     * @return the terms in text order, with duplicates
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder word = new StringBuilder();
+        int previousCjk = -1;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (isCjk(cp)) {
+                flush(word, terms);
+                terms.add(new String(Character.toChars(cp)));
+                if (previousCjk >= 0) {
+                    terms.add(
+                            new StringBuilder()
+                                    .appendCodePoint(previousCjk)
+                                    .appendCodePoint(cp)
+                                    .toString());
+                }
+                previousCjk = cp;
+            } else {
+                previousCjk = -1;
+                if (Character.isLetterOrDigit(cp)) {
+                    word.appendCodePoint(Character.toLowerCase(cp));
+                } else {
+                    flush(word, terms);
+                }
+            }
+        }
+        flush(word, terms);
+        return terms;
+    }
+
+    private static void flush(StringBuilder word, List<String> terms) {
+        if (!word.isEmpty()) {
+            terms.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static final class IndexedFile {
+        /** Document ids of the file's indexed lines. */
+        final List<Integer> docs = new ArrayList<>();
+
+        String fingerprint;
+
+        /** Clock reading, in nanoseconds, when the content was indexed. */
+        long indexedAt;
+    }
+
+    private record Line(
+            String path, int line, String text, Map<String, Integer> termFreqs, int length) {}
+
+    private static final class Corpus {
+        final Map<String, IndexedFile> files = new HashMap<>();
+        final Map<Integer, Line> lines = new HashMap<>();
+
+        /** Term to (document id to term frequency); sorted for prefix lookups. */
+        final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+
+        long totalLength;
+        int nextDoc;
+
+        void put(String path, String content, String fingerprint, long indexedAt) {
+            remove(path);
+            IndexedFile file = new IndexedFile();
+            file.fingerprint = fingerprint;
+            file.indexedAt = indexedAt;
+            files.put(path, file);
+            if (content == null || content.isEmpty()) {
+                return;
+            }
+            String[] split = content.split("\n", -1);
+            for (int i = 0; i < split.length; i++) {
+                List<String> terms = tokenize(split[i]);
+                if (terms.isEmpty()) {
+                    continue;
+                }
+                Map<String, Integer> tf = new HashMap<>();
+                for (String term : terms) {
+                    tf.merge(term, 1, Integer::sum);
+                }
+                int doc = nextDoc++;
+                lines.put(doc, new Line(path, i + 1, split[i], tf, terms.size()));
+                file.docs.add(doc);
+                totalLength += terms.size();
+                for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                    postings.computeIfAbsent(e.getKey(), k -> new HashMap<>())
+                            .put(doc, e.getValue());
+                }
+            }
+        }
+
+        void remove(String path) {
+            IndexedFile file = files.remove(path);
+            if (file == null) {
+                return;
+            }
+            for (int doc : file.docs) {
+                Line line = lines.remove(doc);
+                totalLength -= line.length();
+                for (String term : line.termFreqs().keySet()) {
+                    Map<Integer, Integer> docs = postings.get(term);
+                    docs.remove(doc);
+                    if (docs.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        List<Hit> search(List<String> queryTerms, int limit) {
+            int n = lines.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / n;
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String queryTerm : new HashSet<>(queryTerms)) {
+                for (Map.Entry<String, Double> match : expand(queryTerm).entrySet()) {
+                    Map<Integer, Integer> docs = postings.get(match.getKey());
+                    double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+                    for (Map.Entry<Integer, Integer> posting : docs.entrySet()) {
+                        double tf = posting.getValue();
+                        double norm =
+                                K1 * (1 - B + B * lines.get(posting.getKey()).length() / avgLength);
+                        scores.merge(
+                                posting.getKey(),
+                                match.getValue() * idf * tf * (K1 + 1) / (tf + norm),
+                                Double::sum);
+                    }
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(
+                            Map.Entry.<Integer, Double>comparingByValue()
+                                    .reversed()
+                                    .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(
+                            e -> {
+                                Line line = lines.get(e.getKey());
+                                return new Hit(line.path(), line.line(), line.text(), e.getValue());
+                            })
+                    .toList();
+        }
+
+        /** Index terms matched by a query term, with their weight. */
+        private Map<String, Double> expand(String queryTerm) {
+            Map<String, Double> matches = new HashMap<>();
+            if (postings.containsKey(queryTerm)) {
+                matches.put(queryTerm, 1.0);
+            }
+            if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+                for (String term :
+                        postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false)
+                                .keySet()) {
+                    matches.put(term, PREFIX_WEIGHT);
+                }
+            }
+            return matches;
+        }
+    }
+
+    /** Returns the set of files indexed for {@code namespaceKey}; for tests. */
+    Set<String> indexedPaths(String namespaceKey) {
+        Corpus corpus = corpora.get(namespaceKey);
+        if (corpus == null) {
+            return Set.of();
+        }
+        synchronized (corpus) {
+            return Set.copyOf(corpus.files.keySet());
+        }
+    }
+}
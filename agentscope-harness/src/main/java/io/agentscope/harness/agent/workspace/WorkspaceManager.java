@@ -123,6 +123,9 @@ public class WorkspaceManager implements AutoCloseable {
 
     private final NamespaceFactory namespaceFactory;
 
+    /** Ranked full-text index over memory files, kept current by this manager's writes. */
+    private final MemorySearchIndex memoryIndex = new MemorySearchIndex();
+
     /**
      * {@code true} when this manager allocated its own {@link #index} (via the {@code (workspace,
      * filesystem)} constructor) and is therefore responsible for closing it. When the index is
@@ -378,6 +381,12 @@ public class WorkspaceManager implements AutoCloseable {
         try {
             if (filesystem == null) {
                 appendLocalFile(normalized, content);
+                if (isMemoryFilePath(normalized)) {
+                    memoryIndex.update(
+                            namespaceKey(rc),
+                            normalized,
+                            readFileQuietly(workspace.resolve(normalized)));
+                }
                 return;
             }
             ReadResult rr = filesystem.read(rc, normalized, 0, 0);
@@ -388,6 +397,9 @@ public class WorkspaceManager implements AutoCloseable {
             String merged = existing + content;
             filesystem.uploadFiles(
                     rc, List.of(Map.entry(normalized, merged.getBytes(StandardCharsets.UTF_8))));
+            if (isMemoryFilePath(normalized)) {
+                memoryIndex.update(namespaceKey(rc), normalized, merged);
+            }
         } finally {
             lock.unlock();
         }
@@ -724,13 +736,16 @@ public class WorkspaceManager implements AutoCloseable {
         }
         if (filesystem == null) {
             writeLocalFile(normalized, content);
-            return;
+        } else {
+            filesystem.uploadFiles(
+                    rc, List.of(Map.entry(normalized, content.getBytes(StandardCharsets.UTF_8))));
+            // Best-effort: record upload size in index (no local file to stat from)
+            if (index != null) {
+                index.upsert(normalized, content.getBytes(StandardCharsets.UTF_8).length, null);
+            }
         }
-        filesystem.uploadFiles(
-                rc, List.of(Map.entry(normalized, content.getBytes(StandardCharsets.UTF_8))));
-        // Best-effort: record upload size in index (no local file to stat from)
-        if (index != null) {
-            index.upsert(normalized, content.getBytes(StandardCharsets.UTF_8).length, null);
+        if (isMemoryFilePath(normalized)) {
+            memoryIndex.update(namespaceKey(rc), normalized, content);
         }
     }
 
@@ -935,40 +950,133 @@ public class WorkspaceManager implements AutoCloseable {
      * deduplicating by relative path.
      */
     public List<String> listMemoryFilePaths(RuntimeContext rc) {
-        Set<String> paths = new LinkedHashSet<>();
+        return new ArrayList<>(listMemoryFiles(rc).keySet());
+    }
+
+    /**
+     * Searches memory files for lines matching {@code query}, ranked by BM25.
+     *
+     * <p>Backed by a {@link MemorySearchIndex} that is updated by every memory write made
+     * through this manager. Before searching, the index is reconciled with one listing of the
+     * memory files plus one {@link AbstractFilesystem#revisions revision lookup}; only files
+     * that are new or whose revision (or size and modification time) changed since they were
+     * indexed are read again. Files with neither are re-read after the index's recheck interval.
+     *
+     * @param rc runtime context selecting the namespace
+     * @param query free-text query
+     * @param limit maximum number of hits
+     * @return ranked hits, best first
+     */
+    public List<MemorySearchIndex.Hit> searchMemory(RuntimeContext rc, String query, int limit) {
+        String key = namespaceKey(rc);
+        memoryIndex.refresh(
+                key, listMemoryFiles(rc), path -> readManagedWorkspaceFileUtf8(rc, path));
+        return memoryIndex.search(key, query, limit);
+    }
+
+    /**
+     * Lists memory files mapped to a change fingerprint: the filesystem's revision token, else
+     * size and modification time, else {@code null} when the backing store reports neither.
+     */
+    private Map<String, String> listMemoryFiles(RuntimeContext rc) {
+        Map<String, String> files = new LinkedHashMap<>();
 
         if (filesystem != null) {
-            ReadResult memMd = filesystem.read(rc, MEMORY_MD, 0, 1);
-            if (memMd.isSuccess()) {
-                paths.add(MEMORY_MD);
-            }
+            Map<String, String> globbed = new LinkedHashMap<>();
             GlobResult glob = filesystem.glob(rc, "*.md", MEMORY_DIR);
             if (glob.isSuccess() && glob.matches() != null) {
                 for (FileInfo fi : glob.matches()) {
                     if (fi.path() != null && !fi.path().isBlank()) {
                         String rel = normalizeRelativePath(fi.path().trim());
                         if (!rel.isEmpty()) {
-                            paths.add(rel);
+                            globbed.put(rel, fingerprint(fi.size(), fi.modifiedAt()));
                         }
                     }
                 }
             }
+            // Store revisions, where available, in one lookup for all files
+            List<String> candidates = new ArrayList<>();
+            candidates.add(MEMORY_MD);
+            candidates.addAll(globbed.keySet());
+            Map<String, String> revisions = filesystem.revisions(rc, candidates);
+
+            String memMdRevision = revisions.get(MEMORY_MD);
+            if (memMdRevision != null) {
+                files.put(MEMORY_MD, memMdRevision);
+            } else {
+                ReadResult memMd = filesystem.read(rc, MEMORY_MD, 0, 1);
+                if (memMd.isSuccess()) {
+                    String modifiedAt =
+                            memMd.fileData() != null ? memMd.fileData().modifiedAt() : null;
+                    files.put(
+                            MEMORY_MD,
+                            modifiedAt == null || modifiedAt.isBlank() ? null : modifiedAt);
+                }
+            }
+            for (Map.Entry<String, String> e : globbed.entrySet()) {
+                String revision = revisions.get(e.getKey());
+                files.put(e.getKey(), revision != null ? revision : e.getValue());
+            }
         }
 
-        if (Files.isRegularFile(resolveRuntimeDataPath(rc, MEMORY_MD))) {
-            paths.add(MEMORY_MD);
+        Path memMdFile = resolveRuntimeDataPath(rc, MEMORY_MD);
+        if (Files.isRegularFile(memMdFile)) {
+            putLocalMemoryFile(files, MEMORY_MD, memMdFile);
         }
         Path memDir = getMemoryDir(rc);
         if (Files.isDirectory(memDir)) {
             try (Stream<Path> walk = Files.list(memDir)) {
                 walk.filter(p -> p.toString().endsWith(".md"))
                         .filter(Files::isRegularFile)
-                        .forEach(p -> paths.add(MEMORY_DIR + "/" + p.getFileName()));
+                        .forEach(
+                                p ->
+                                        putLocalMemoryFile(
+                                                files, MEMORY_DIR + "/" + p.getFileName(), p));
             } catch (IOException e) {
                 log.warn("Failed to list memory dir: {}", e.getMessage());
             }
         }
-        return new ArrayList<>(paths);
+        return files;
+    }
+
+    /** Adds a local memory file unless the filesystem layer already reported a fingerprint. */
+    private static void putLocalMemoryFile(Map<String, String> files, String rel, Path file) {
+        if (files.get(rel) != null) {
+            return;
+        }
+        String fp = null;
+        try {
+            fp = fingerprint(Files.size(file), Files.getLastModifiedTime(file).toString());
+        } catch (IOException e) {
+            log.debug("Failed to stat memory file {}: {}", file, e.getMessage());
+        }
+        files.put(rel, fp);
+    }
+
+    /**
+     * Size and modification time, or {@code null} without a time: a size alone would miss edits
+     * that keep the length.
+     */
+    private static String fingerprint(long size, String modifiedAt) {
+        if (modifiedAt == null || modifiedAt.isBlank()) {
+            return null;
+        }
+        return size + "@" + modifiedAt;
+    }
+
+    private static boolean isMemoryFilePath(String normalized) {
+        return MEMORY_MD.equals(normalized)
+                || (normalized.startsWith(MEMORY_DIR + "/")
+                        && normalized.endsWith(".md")
+                        && normalized.indexOf('/', MEMORY_DIR.length() + 1) < 0);
+    }
+
+    private String namespaceKey(RuntimeContext rc) {
+        if (namespaceFactory == null) {
+            return "";
+        }
+        List<String> ns = namespaceFactory.getNamespace(rc != null ? rc : RuntimeContext.empty());
+        return ns == null ? "" : String.join("/", ns);
     }
 
     /**
@@ -27,6 +27,7 @@ import static org.mockito.Mockito.when;
 import io.agentscope.core.model.ChatResponse;
 import io.agentscope.core.model.Model;
 import io.agentscope.core.state.AgentStateStore;
+import io.agentscope.core.state.InMemoryAgentStateStore;
 import io.agentscope.harness.agent.filesystem.remote.store.BaseStore;
 import io.agentscope.harness.agent.filesystem.spec.RemoteFilesystemSpec;
 import io.agentscope.harness.agent.sandbox.impl.docker.DockerFilesystemSpec;
@@ -110,6 +111,23 @@ class HarnessAgentDistributedSandboxTest {
                         + " implementation (JsonFileAgentStateStore / InMemoryAgentStateStore)");
     }
 
+    @Test
+    void remoteFilesystemMode_withDecoratedLocalSession_failsFast() {
+        BaseStore store = mock(BaseStore.class);
+        AgentStateStore decorated = mock(AgentStateStore.class);
+        when(decorated.getDelegate()).thenReturn(new InMemoryAgentStateStore());
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        HarnessAgent.builder()
+                                .name("agent")
+                                .model(stubModel("ok"))
+                                .workspace(workspace)
+                                .filesystem(new RemoteFilesystemSpec(store))
+                                .stateStore(decorated)
+                                .build());
+    }
+
     @Test
     void remoteFilesystemMode_withDistributedSession_succeeds() throws Exception {
         BaseStore store = mock(BaseStore.class);
@@ -16,19 +16,27 @@
 package io.agentscope.harness.agent.bus;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.agentscope.harness.agent.filesystem.local.LocalFilesystem;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import reactor.core.Disposable;
 
 class WorkspaceMessageBusTest {
 
@@ -41,6 +49,11 @@ class WorkspaceMessageBusTest {
         bus = new WorkspaceMessageBus(fs, "/bus");
     }
 
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
     // ---- Mode A: drain queue ----
 
     @Test
@@ -219,6 +232,88 @@ class WorkspaceMessageBusTest {
         assertTrue(bus.sessionReadEvents("s1", null, 100).block().isEmpty());
     }
 
+    // ---- Pub/sub ----
+
+    @Test
+    void publishPushesPayloadToSubscribersOfAllInstances() {
+        WorkspaceMessageBus bus2 =
+                new WorkspaceMessageBus(new LocalFilesystem(tempDir, true, 10), "/bus");
+        try {
+            List<Map<String, Object>> received = new CopyOnWriteArrayList<>();
+            Disposable sub1 = bus.subscribe("chan").subscribe(received::add);
+            Disposable sub2 = bus2.subscribe("chan").subscribe(received::add);
+            bus.subscribe("other").subscribe(received::add);
+
+            bus.publish("chan", Map.of("v", 1)).block();
+
+            assertEquals(List.of(Map.of("v", 1), Map.of("v", 1)), received);
+            sub1.dispose();
+            sub2.dispose();
+        } finally {
+            bus2.close();
+        }
+    }
+
+    @Test
+    void subscribeIsWokenBySignalsFromOtherProcesses() throws Exception {
+        CountDownLatch signalled = new CountDownLatch(1);
+        Disposable sub = bus.subscribe("chan").subscribe(payload -> signalled.countDown());
+        try {
+            Path signalDir = tempDir.resolve("bus/signals");
+            // Signals written by this JVM were already delivered in-process and are ignored
+            Files.writeString(
+                    signalDir.resolve(
+                            WorkspaceMessageBus.hashKey("chan")
+                                    + "."
+                                    + SignalHub.NODE_ID
+                                    + ".signal"),
+                    "1");
+            assertFalse(signalled.await(300, TimeUnit.MILLISECONDS));
+
+            Files.writeString(
+                    signalDir.resolve(WorkspaceMessageBus.hashKey("chan") + ".othernode.signal"),
+                    "1");
+            assertTrue(signalled.await(5, TimeUnit.SECONDS));
+        } finally {
+            sub.dispose();
+        }
+    }
+
+    @Test
+    void signalFilesAreDeletedOnCloseAndSweptWhenStale() throws Exception {
+        Path signalDir = tempDir.resolve("bus/signals");
+        Files.createDirectories(signalDir);
+        Path stale = signalDir.resolve(WorkspaceMessageBus.hashKey("gone") + ".deadnode.signal");
+        Files.writeString(stale, "1");
+        Files.setLastModifiedTime(
+                stale,
+                FileTime.fromMillis(
+                        System.currentTimeMillis()
+                                - SignalHub.STALE_SIGNAL_AGE.toMillis()
+                                - 60_000));
+        Path live = signalDir.resolve(WorkspaceMessageBus.hashKey("chan") + ".othernode.signal");
+        Files.writeString(live, "1");
+
+        bus.publish("chan", Map.of("v", 1)).block();
+        Path own =
+                signalDir.resolve(
+                        WorkspaceMessageBus.hashKey("chan") + "." + SignalHub.NODE_ID + ".signal");
+        assertTrue(Files.exists(own));
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(live));
+
+        bus.close();
+        assertFalse(Files.exists(own));
+        assertTrue(Files.exists(live));
+    }
+
+    @Test
+    void foreignChannelParsesSignalFileNames() {
+        assertEquals("a.b_1f", SignalHub.foreignChannel("a.b_1f.othernode.signal"));
+        assertNull(SignalHub.foreignChannel("a.b_1f." + SignalHub.NODE_ID + ".signal"));
+        assertNull(SignalHub.foreignChannel("a.b_1f.json"));
+    }
+
     // ---- File structure verification ----
 
     @Test
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.filesystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.agent.RuntimeContext;
+import io.agentscope.harness.agent.filesystem.local.LocalFilesystem;
+import io.agentscope.harness.agent.filesystem.model.GrepMatch;
+import io.agentscope.harness.agent.filesystem.model.GrepResult;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Exercises the in-process grep engine behind {@link LocalFilesystem#grep}. */
+class LocalFilesystemGrepTest {
+
+    private static final RuntimeContext CTX = RuntimeContext.empty();
+
+    @Test
+    void grep_skipsIgnoredHiddenAndBinaryFiles(@TempDir Path root) throws IOException {
+        write(root, ".gitignore", "build/\n*.log\n!keep.log\n");
+        write(root, "src/a/Main.java", "class Main {}\n// TODO fix\n");
+        write(root, "src/a/.gitignore", "generated.txt\n");
+        write(root, "src/a/generated.txt", "TODO generated\n");
+        write(root, "build/out.txt", "TODO built\n");
+        write(root, "debug.log", "TODO log\n");
+        write(root, "keep.log", "TODO kept\r\n");
+        write(root, ".hidden/notes.txt", "TODO hidden\n");
+        Files.write(root.resolve("blob.bin"), new byte[] {'T', 'O', 'D', 'O', 0, 1});
+
+        GrepResult result = new LocalFilesystem(root).grep(CTX, "TODO", ".", null);
+
+        assertTrue(result.isSuccess());
+        assertEquals(
+                List.of("keep.log:1:TODO kept", "src/a/Main.java:2:// TODO fix"),
+                format(result.matches()));
+    }
+
+    @Test
+    void grep_filtersByGlobAndSearchesSingleFile(@TempDir Path root) throws IOException {
+        write(root, "docs/guide.md", "needle one\nhay\nneedle two\n");
+        write(root, "docs/notes.txt", "needle three\n");
+        LocalFilesystem fs = new LocalFilesystem(root);
+
+        assertEquals(
+                List.of("docs/guide.md:1:needle one", "docs/guide.md:3:needle two"),
+                format(fs.grep(CTX, "needle", ".", "*.md").matches()));
+        assertEquals(
+                List.of("docs/notes.txt:1:needle three"),
+                format(fs.grep(CTX, "needle", "docs/notes.txt", null).matches()));
+        assertEquals(
+                List.of("docs/notes.txt:1:needle three"),
+                format(fs.grep(CTX, "needle", ".", "docs/*.txt").matches()));
+    }
+
+    @Test
+    void grep_capsMatchCount(@TempDir Path root) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 6_000; i++) {
+            sb.append("hit ").append(i).append('\n');
+        }
+        write(root, "a.txt", sb.toString());
+        write(root, "b.txt", sb.toString());
+
+        List<GrepMatch> matches = new LocalFilesystem(root).grep(CTX, "hit", ".", null).matches();
+
+        assertEquals(10_000, matches.size());
+        assertEquals("a.txt", matches.get(0).path());
+    }
+
+    @Test
+    void grep_seesFilesAddedToCachedDirectory(@TempDir Path root) throws IOException {
+        write(root, "dir/old.txt", "marker\n");
+        Files.setLastModifiedTime(
+                root.resolve("dir"), FileTime.from(Instant.now().minusSeconds(3600)));
+        LocalFilesystem fs = new LocalFilesystem(root);
+        assertEquals(1, fs.grep(CTX, "marker", ".", null).matches().size());
+
+        write(root, "dir/new.txt", "marker\n");
+
+        assertEquals(
+                List.of("dir/new.txt:1:marker", "dir/old.txt:1:marker"),
+                format(fs.grep(CTX, "marker", ".", null).matches()));
+    }
+
+    private static void write(Path root, String relative, String content) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> format(List<GrepMatch> matches) {
+        return matches.stream().map(m -> m.path() + ":" + m.line() + ":" + m.text()).toList();
+    }
+}
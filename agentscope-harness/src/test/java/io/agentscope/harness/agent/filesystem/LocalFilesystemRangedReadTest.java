@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.filesystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.agent.RuntimeContext;
+import io.agentscope.harness.agent.filesystem.local.LocalFilesystem;
+import io.agentscope.harness.agent.filesystem.model.ReadResult;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Ranged reads of files large enough to go through the line index. */
+class LocalFilesystemRangedReadTest {
+
+    private static final RuntimeContext CTX = RuntimeContext.empty();
+
+    @Test
+    void read_returnsWindowOfLargeFile(@TempDir Path root) throws IOException {
+        Path file = root.resolve("app.log");
+        Files.writeString(file, lines(0, 40_000), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(60)));
+        assertTrue(Files.size(file) > 256 * 1024);
+        LocalFilesystem fs = new LocalFilesystem(root);
+
+        assertEquals(
+                "entry 15000\nentry 15001",
+                fs.read(CTX, "app.log", 15_000, 2).fileData().content());
+        assertEquals("entry 39999\n", fs.read(CTX, "app.log", 39_999, 0).fileData().content());
+        ReadResult past = fs.read(CTX, "app.log", 40_001, 10);
+        assertFalse(past.isSuccess());
+        assertTrue(past.error().contains("40001 lines"), past.error());
+    }
+
+    @Test
+    void read_seesAppendsToIndexedFile(@TempDir Path root) throws IOException {
+        Path file = root.resolve("app.log");
+        Files.writeString(file, lines(0, 40_000), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(60)));
+        LocalFilesystem fs = new LocalFilesystem(root);
+        assertEquals("entry 10", fs.read(CTX, "app.log", 10, 1).fileData().content());
+
+        Files.writeString(
+                file, lines(40_000, 40_010), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertEquals("entry 40005", fs.read(CTX, "app.log", 40_005, 1).fileData().content());
+    }
+
+    private static String lines(int from, int to) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            sb.append("entry ").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+}
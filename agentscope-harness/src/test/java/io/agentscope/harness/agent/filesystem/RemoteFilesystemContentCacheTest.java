@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.filesystem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.agent.RuntimeContext;
+import io.agentscope.harness.agent.filesystem.model.FileDownloadResponse;
+import io.agentscope.harness.agent.filesystem.remote.RemoteFilesystem;
+import io.agentscope.harness.agent.filesystem.remote.store.InMemoryStore;
+import io.agentscope.harness.agent.filesystem.remote.store.StoreItem;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that {@link RemoteFilesystem} reads several files with one batch call and serves
+ * repeated reads from its content cache only while the stored version is unchanged.
+ */
+class RemoteFilesystemContentCacheTest {
+
+    private static final RuntimeContext CTX = RuntimeContext.empty();
+
+    @Test
+    void downloadFiles_fetchesMissesInOneBatchAndRevalidatesHits() {
+        CountingStore store = new CountingStore();
+        RemoteFilesystem fs = new RemoteFilesystem(store, List.of("ws"));
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            paths.add("/notes/n" + i + ".md");
+            assertTrue(fs.write(CTX, paths.get(i), "note " + i).isSuccess());
+        }
+        List<String> requested = new ArrayList<>(paths);
+        requested.add("/notes/missing.md");
+
+        List<FileDownloadResponse> first = fs.downloadFiles(CTX, requested);
+        assertEquals(21, first.size());
+        assertEquals("note 7", text(first.get(7)));
+        assertFalse(first.get(20).isSuccess());
+        assertEquals(1, store.batchGets.get());
+        assertEquals(0, store.gets.get());
+
+        List<FileDownloadResponse> second = fs.downloadFiles(CTX, paths);
+        assertEquals("note 19", text(second.get(19)));
+        assertEquals(1, store.batchGets.get(), "all hits must be served from the cache");
+        assertEquals(1, store.versionChecks.get());
+    }
+
+    @Test
+    void read_seesWritesFromSiblingInstance() {
+        CountingStore store = new CountingStore();
+        RemoteFilesystem nodeA = new RemoteFilesystem(store, List.of("ws"));
+        RemoteFilesystem nodeB = new RemoteFilesystem(store, List.of("ws"));
+        nodeA.write(CTX, "/a.md", "line one\nline two");
+
+        assertEquals("line two", nodeA.read(CTX, "/a.md", 1, 1).fileData().content());
+        assertTrue(nodeB.edit(CTX, "/a.md", "two", "2", false).isSuccess());
+
+        assertEquals("line 2", nodeA.read(CTX, "/a.md", 1, 1).fileData().content());
+        assertEquals(2, store.batchGets.get());
+    }
+
+    @Test
+    void withContentCache_zeroDisablesCaching() {
+        CountingStore store = new CountingStore();
+        RemoteFilesystem fs = new RemoteFilesystem(store, List.of("ws")).withContentCache(0);
+        fs.write(CTX, "/a.md", "x");
+
+        fs.read(CTX, "/a.md", 0, 0);
+        fs.read(CTX, "/a.md", 0, 0);
+
+        assertEquals(2, store.batchGets.get());
+        assertEquals(0, store.versionChecks.get());
+    }
+
+    @Test
+    void read_withoutVersionLookup_fetchesItemsInsteadOfProbingVersions() {
+        CountingStore store = new CountingStore(false);
+        RemoteFilesystem nodeA = new RemoteFilesystem(store, List.of("ws"));
+        RemoteFilesystem nodeB = new RemoteFilesystem(store, List.of("ws"));
+        nodeA.write(CTX, "/a.md", "line one\nline two");
+
+        assertEquals("line two", nodeA.read(CTX, "/a.md", 1, 1).fileData().content());
+        assertEquals("line two", nodeA.read(CTX, "/a.md", 1, 1).fileData().content());
+        assertTrue(nodeB.edit(CTX, "/a.md", "two", "2", false).isSuccess());
+        assertEquals("line 2", nodeA.read(CTX, "/a.md", 1, 1).fileData().content());
+
+        assertEquals(0, store.versionChecks.get());
+        assertEquals(3, store.batchGets.get());
+    }
+
+    private static String text(FileDownloadResponse response) {
+        return new String(response.content(), StandardCharsets.UTF_8);
+    }
+
+    private static final class CountingStore extends InMemoryStore {
+        final AtomicInteger gets = new AtomicInteger();
+        final AtomicInteger batchGets = new AtomicInteger();
+        final AtomicInteger versionChecks = new AtomicInteger();
+        private final boolean versionLookup;
+
+        CountingStore() {
+            this(true);
+        }
+
+        CountingStore(boolean versionLookup) {
+            this.versionLookup = versionLookup;
+        }
+
+        @Override
+        public StoreItem get(List<String> namespace, String key) {
+            gets.incrementAndGet();
+            return super.get(namespace, key);
+        }
+
+        @Override
+        public Map<String, StoreItem> batchGet(List<String> namespace, Collection<String> keys) {
+            batchGets.incrementAndGet();
+            return super.batchGet(namespace, keys);
+        }
+
+        @Override
+        public Map<String, Long> batchGetVersions(List<String> namespace, Collection<String> keys) {
+            versionChecks.incrementAndGet();
+            return super.batchGetVersions(namespace, keys);
+        }
+
+        @Override
+        public boolean hasVersionLookup() {
+            return versionLookup;
+        }
+    }
+}
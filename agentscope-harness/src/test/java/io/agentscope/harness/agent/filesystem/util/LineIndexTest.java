@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.filesystem.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LineIndexTest {
+
+    @Test
+    void slice_matchesSplitAcrossCheckpoints() {
+        String text = sample(3 * LineIndex.STRIDE + 17, true);
+        String[] lines = text.split("\n", -1);
+        LineIndex index = LineIndex.of(text);
+
+        assertEquals(lines.length, index.lineCount());
+        for (int offset : new int[] {0, 1, 1023, 1024, 1025, 2048, lines.length - 1}) {
+            for (int limit : new int[] {0, 1, 7, 1024, 5000}) {
+                assertEquals(
+                        expected(lines, offset, limit),
+                        index.slice(text, offset, limit),
+                        "offset=" + offset + " limit=" + limit);
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> index.slice(text, lines.length, 1));
+    }
+
+    @Test
+    void read_matchesSplitOnChannel(@TempDir Path dir) throws IOException {
+        // Multi-byte characters and lines long enough to straddle read buffers
+        String text =
+                sample(2 * LineIndex.STRIDE + 5, false).replace("line", "línea-" + "x".repeat(40));
+        Path file = dir.resolve("big.log");
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+        String[] lines = text.split("\n", -1);
+
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            LineIndex index = LineIndex.of(channel);
+            assertEquals(lines.length, index.lineCount());
+            for (int offset : new int[] {0, 5, 1024, 1500, 2048, lines.length - 1}) {
+                for (int limit : new int[] {0, 1, 3, 700}) {
+                    assertEquals(
+                            expected(lines, offset, limit),
+                            index.read(channel, offset, limit),
+                            "offset=" + offset + " limit=" + limit);
+                }
+            }
+        }
+    }
+
+    @Test
+    void of_handlesEmptyAndSingleLineContent() {
+        assertEquals(1, LineIndex.of("").lineCount());
+        assertEquals("", LineIndex.of("").slice("", 0, 10));
+        assertEquals(2, LineIndex.of("one\n").lineCount());
+        assertEquals("one", LineIndex.of("one\n").slice("one\n", 0, 1));
+        assertEquals("one\n", LineIndex.of("one\n").slice("one\n", 0, 0));
+    }
+
+    private static String sample(int lines, boolean trailingNewline) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                sb.append('\n');
+            }
+            sb.append("line ").append(i).append(i % 10 == 0 ? "\r" : "");
+        }
+        return trailingNewline ? sb.append('\n').toString() : sb.toString();
+    }
+
+    private static String expected(String[] lines, int offset, int limit) {
+        int end = limit > 0 ? Math.min(offset + limit, lines.length) : lines.length;
+        return String.join("\n", Arrays.copyOfRange(lines, offset, end));
+    }
+}
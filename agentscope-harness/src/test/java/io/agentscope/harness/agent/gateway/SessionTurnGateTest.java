@@ -0,0 +1,196 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+class SessionTurnGateTest {
+
+    @Test
+    void acquireTurn_grantsInFifoOrderAndRemovesIdleKeys() {
+        SessionTurnGate gate = new SessionTurnGate();
+        List<String> order = new CopyOnWriteArrayList<>();
+        AtomicReference<SessionTurnGate.Permit> second = new AtomicReference<>();
+
+        SessionTurnGate.Permit first = gate.acquireTurn("k").block();
+        gate.acquireTurn("k")
+                .subscribe(
+                        p -> {
+                            order.add("second");
+                            second.set(p);
+                        });
+        gate.acquireTurn("k").subscribe(p -> order.add("third"));
+        assertTrue(gate.isRunning("k"));
+        assertEquals(2, gate.queueDepth("k"));
+        assertTrue(order.isEmpty());
+
+        first.release();
+        first.release();
+        assertEquals(List.of("second"), order);
+        second.get().release();
+        assertEquals(List.of("second", "third"), order);
+
+        gate.release("k");
+        assertFalse(gate.isRunning("k"));
+        assertEquals(0, gate.activeKeys());
+        assertEquals(3, gate.stats().granted());
+    }
+
+    @Test
+    void acquireTurn_cancelledWaiterLeavesQueue() {
+        SessionTurnGate gate = new SessionTurnGate();
+        SessionTurnGate.Permit held = gate.acquireTurn("k").block();
+        AtomicInteger granted = new AtomicInteger();
+
+        Disposable waiting = gate.acquireTurn("k").subscribe(p -> granted.incrementAndGet());
+        assertEquals(1, gate.queueDepth("k"));
+        waiting.dispose();
+        assertEquals(0, gate.queueDepth("k"));
+
+        held.release();
+        assertEquals(0, granted.get());
+        assertEquals(0, gate.activeKeys());
+    }
+
+    @Test
+    void acquireTurn_rejectsBeyondQueueDepth() {
+        SessionTurnGate gate = new SessionTurnGate(1);
+        SessionTurnGate.Permit held = gate.acquireTurn("k").block();
+        gate.acquireTurn("k").subscribe();
+
+        assertThrows(RejectedExecutionException.class, () -> gate.acquireTurn("k").block());
+        assertEquals(1, gate.stats().rejected());
+        // Other keys are unaffected
+        assertTrue(gate.acquireTurn("other").block() != null);
+        held.release();
+    }
+
+    @Test
+    void withTurn_serializesTurnsWithoutBlockingAndReleasesOnError() {
+        SessionTurnGate gate = new SessionTurnGate();
+        Sinks.One<String> firstResult = Sinks.one();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        Mono<String> first =
+                gate.withTurn(
+                        "k",
+                        () -> {
+                            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                            return firstResult.asMono().doOnTerminate(concurrent::decrementAndGet);
+                        });
+        Flux<Integer> second =
+                gate.withTurnMany(
+                        "k",
+                        () -> {
+                            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                            return Flux.just(1, 2).doOnTerminate(concurrent::decrementAndGet);
+                        });
+        Mono<String> failing =
+                gate.withTurn("k", () -> Mono.error(new IllegalStateException("boom")));
+
+        AtomicReference<String> firstValue = new AtomicReference<>();
+        first.subscribe(firstValue::set);
+        List<Integer> secondValues = new CopyOnWriteArrayList<>();
+        second.subscribe(secondValues::add);
+        assertTrue(secondValues.isEmpty());
+
+        firstResult.tryEmitValue("done");
+        assertEquals("done", firstValue.get());
+        assertEquals(List.of(1, 2), secondValues);
+        assertEquals(1, maxConcurrent.get());
+
+        assertThrows(IllegalStateException.class, failing::block);
+        assertFalse(gate.isRunning("k"));
+        assertEquals(0, gate.activeKeys());
+    }
+
+    @Test
+    void withTurn_handsOffSynchronousTurnsWithoutGrowingTheStack() {
+        SessionTurnGate gate = new SessionTurnGate();
+        AtomicInteger ran = new AtomicInteger();
+        int turns = 20_000;
+
+        SessionTurnGate.Permit first = gate.acquireTurn("k").block();
+        for (int i = 0; i < turns; i++) {
+            gate.withTurn("k", () -> Mono.fromRunnable(ran::incrementAndGet)).subscribe();
+        }
+        first.release();
+
+        assertEquals(turns, ran.get());
+        assertEquals(0, gate.activeKeys());
+    }
+
+    @Test
+    void withTurn_handlesBurstsAcrossManyKeys() {
+        SessionTurnGate gate = new SessionTurnGate();
+        AtomicIntegerArray inTurn = new AtomicIntegerArray(50);
+        AtomicInteger overlaps = new AtomicInteger();
+
+        Flux.range(0, 2_000)
+                .flatMap(
+                        i -> gate.withTurn("k" + (i % 50), () -> turn(inTurn, i % 50, overlaps)),
+                        2_000)
+                .blockLast(Duration.ofSeconds(30));
+
+        assertEquals(0, overlaps.get());
+        assertEquals(0, gate.activeKeys());
+        assertEquals(2_000, gate.stats().granted());
+    }
+
+    private static Mono<Void> turn(AtomicIntegerArray inTurn, int slot, AtomicInteger overlaps) {
+        return Mono.<Void>fromRunnable(
+                        () -> {
+                            if (inTurn.incrementAndGet(slot) > 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            inTurn.decrementAndGet(slot);
+                        })
+                .subscribeOn(Schedulers.parallel());
+    }
+
+    @Test
+    void acquire_blockingVariantInteroperatesWithReactiveTurns() throws Exception {
+        SessionTurnGate gate = new SessionTurnGate();
+        gate.acquire("k");
+        AtomicInteger granted = new AtomicInteger();
+        gate.acquireTurn("k").subscribe(p -> granted.incrementAndGet());
+
+        assertEquals(0, granted.get());
+        gate.release("k");
+        assertEquals(1, granted.get());
+        assertTrue(gate.isRunning("k"));
+        gate.release("k");
+        assertEquals(0, gate.activeKeys());
+    }
+}
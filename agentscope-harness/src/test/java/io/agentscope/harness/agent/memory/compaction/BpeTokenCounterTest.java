@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.memory.compaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class BpeTokenCounterTest {
+
+    /** All 256 bytes plus the merges he, ll, hell, hello, or, ld and 12. */
+    private static final String TINY_VOCAB = "tokenizers/tiny.tiktoken";
+
+    @Test
+    void countTokens_mergesPairsByRank() {
+        BpeTokenCounter counter =
+                BpeTokenCounter.fromClasspath(TINY_VOCAB, BpeTokenCounter.CL100K_PATTERN);
+
+        assertEquals(263, counter.vocabularySize());
+        assertEquals(0, counter.countTokens(""));
+        // "hello" is a vocabulary token; " world" merges to ' ' 'w' 'or' 'ld'
+        assertEquals(5, counter.countTokens("hello world"));
+        // h e l l x -> he l l x -> he ll x -> hell x
+        assertEquals(2, counter.countTokens("hellx"));
+        // Non-ASCII text falls back to its UTF-8 bytes
+        assertEquals(6, counter.countTokens("你好"));
+    }
+
+    @Test
+    void countTokens_followsThePreTokenizationPattern() {
+        BpeTokenCounter cl100k =
+                BpeTokenCounter.fromClasspath(TINY_VOCAB, BpeTokenCounter.CL100K_PATTERN);
+        BpeTokenCounter qwen =
+                BpeTokenCounter.fromClasspath(TINY_VOCAB, BpeTokenCounter.QWEN_PATTERN);
+
+        // cl100k groups up to three digits ("123" -> 12 3, then 4); Qwen splits every digit
+        assertEquals(3, cl100k.countTokens("1234"));
+        assertEquals(4, qwen.countTokens("1234"));
+    }
+
+    @Test
+    void load_rejectsMalformedVocabulary() {
+        assertThrows(
+                IOException.class,
+                () ->
+                        BpeTokenCounter.load(
+                                new ByteArrayInputStream(
+                                        "aGk= x\n".getBytes(StandardCharsets.US_ASCII)),
+                                BpeTokenCounter.CL100K_PATTERN));
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        BpeTokenCounter.fromClasspath(
+                                "tokenizers/missing.tiktoken", BpeTokenCounter.CL100K_PATTERN));
+    }
+}
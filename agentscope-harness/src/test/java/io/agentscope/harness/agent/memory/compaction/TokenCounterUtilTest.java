@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.memory.compaction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.agentscope.core.message.Msg;
+import io.agentscope.core.message.MsgRole;
+import io.agentscope.core.message.TextBlock;
+import io.agentscope.core.message.ToolUseBlock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TokenCounterUtilTest {
+
+    @Test
+    void calculateToken_estimatesStructureAndText() {
+        // 5 overhead + "USER" (2) + 10 chars (4)
+        assertEquals(
+                11, TokenCounterUtil.calculateToken(List.of(text(MsgRole.USER, "0123456789"))));
+
+        Msg toolCall =
+                Msg.builder()
+                        .role(MsgRole.ASSISTANT)
+                        .content(
+                                ToolUseBlock.builder()
+                                        .id("c1")
+                                        .name("read")
+                                        .input(Map.of("path", "a.txt"))
+                                        .build())
+                        .build();
+        // 5 + "ASSISTANT" (4) + 10 + "read" (2) + "c1" (1) + {"path":"a.txt"} (7)
+        assertEquals(29, TokenCounterUtil.calculateToken(List.of(toolCall)));
+    }
+
+    @Test
+    void prefixSums_accumulateMessageCounts() {
+        List<Msg> messages =
+                List.of(text(MsgRole.USER, "0123456789"), text(MsgRole.ASSISTANT, "ab"));
+        int[] sums = TokenCounterUtil.prefixSums(messages, TokenCounter.estimating());
+
+        assertArrayEquals(new int[] {0, 11, 21}, sums);
+        assertEquals(sums[2], TokenCounterUtil.calculateToken(messages));
+    }
+
+    @Test
+    void countMessage_isMemoizedPerMessageAndCounter() {
+        AtomicInteger calls = new AtomicInteger();
+        TokenCounter words =
+                text -> {
+                    calls.incrementAndGet();
+                    return text == null || text.isBlank() ? 0 : text.split("\\s+").length;
+                };
+        Msg msg = text(MsgRole.USER, "one two three");
+
+        assertEquals(9, TokenCounterUtil.countMessage(msg, words));
+        int afterFirst = calls.get();
+        assertEquals(9, TokenCounterUtil.countMessage(msg, words));
+        TokenCounterUtil.prefixSums(List.of(msg, msg), words);
+        assertEquals(afterFirst, calls.get());
+
+        // A different counter is not served from the memo
+        assertEquals(13, TokenCounterUtil.countMessage(msg, TokenCounter.estimating()));
+    }
+
+    private static Msg text(MsgRole role, String text) {
+        return Msg.builder().role(role).content(TextBlock.builder().text(text).build()).build();
+    }
+}
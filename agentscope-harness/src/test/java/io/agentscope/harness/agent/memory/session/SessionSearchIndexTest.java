@@ -0,0 +1,185 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.memory.session;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.util.JsonUtils;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SessionSearchIndexTest {
+
+    private static final String A_LOG = "agents/a/sessions/s1.log.jsonl";
+
+    @TempDir Path workspace;
+
+    @Test
+    void flush_indexesMessagesForRankedFilteredSearch() {
+        SessionSearchIndex index = SessionSearchIndex.forWorkspace(workspace);
+        assertNotNull(index);
+        SessionTree tree =
+                new SessionTree(workspace.resolve("agents/a/sessions/s1.jsonl"), workspace, null);
+        tree.append(
+                message("m1", "USER", "please renew the TLS certificate", "2026-03-01T10:00:00Z"));
+        tree.append(
+                message("m2", "ASSISTANT", "the certificate looks fine", "2026-03-02T10:00:00Z"));
+        tree.append(message("m3", "USER", "what about lunch", "2026-03-03T10:00:00Z"));
+        tree.flush();
+
+        List<SessionSearchIndex.Hit> hits =
+                index.search("agents/", "renew certificate", SessionSearchIndex.Filter.NONE, 0, 10);
+        assertEquals(
+                List.of("m1", "m2"), hits.stream().map(SessionSearchIndex.Hit::entryId).toList());
+        assertEquals("a", hits.get(0).agentId());
+        assertEquals("s1", hits.get(0).sessionId());
+        assertEquals(A_LOG, hits.get(0).path());
+
+        assertEquals(
+                List.of("m2"),
+                ids(
+                        index.search(
+                                "agents/",
+                                "certificate",
+                                new SessionSearchIndex.Filter(null, "assistant", null, null),
+                                0,
+                                10)));
+        assertEquals(
+                List.of("m2"),
+                ids(
+                        index.search(
+                                "agents/",
+                                "certificate",
+                                new SessionSearchIndex.Filter(
+                                        "a", null, Instant.parse("2026-03-02T00:00:00Z"), null),
+                                0,
+                                10)));
+        assertTrue(
+                index.search(
+                                "agents/",
+                                "certificate",
+                                new SessionSearchIndex.Filter("b", null, null, null),
+                                0,
+                                10)
+                        .isEmpty());
+        assertEquals(
+                1,
+                index.search("agents/", "certificate", SessionSearchIndex.Filter.NONE, 1, 10)
+                        .size());
+        assertTrue(
+                index.search("other/", "certificate", SessionSearchIndex.Filter.NONE, 0, 10)
+                        .isEmpty());
+    }
+
+    @Test
+    void catchUp_parsesOnlyCompleteNewLinesAndDropsMissingFiles() throws Exception {
+        SessionSearchIndex index = SessionSearchIndex.forWorkspace(workspace);
+        Path log = workspace.resolve(A_LOG);
+        Files.createDirectories(log.getParent());
+        String first = line(message("m1", "USER", "用户偏好深色主题", "2026-03-01T10:00:00Z"));
+        String second = line(message("m2", "USER", "deadline is friday", "2026-03-01T11:00:00Z"));
+        Files.writeString(log, first + second.substring(0, 10), StandardCharsets.UTF_8);
+
+        index.catchUp("agents/", Map.of(A_LOG, log));
+        assertEquals(List.of("m1"), ids(index.search("agents/", "深色", null, 0, 10)));
+        assertTrue(index.search("agents/", "friday", null, 0, 10).isEmpty());
+
+        Files.writeString(
+                log, second.substring(10), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        index.catchUp("agents/", Map.of(A_LOG, log));
+        assertEquals(List.of("m2"), ids(index.search("agents/", "friday", null, 0, 10)));
+
+        // Rewritten shorter: re-indexed from scratch
+        Files.writeString(log, second, StandardCharsets.UTF_8);
+        index.catchUp("agents/", Map.of(A_LOG, log));
+        assertTrue(index.search("agents/", "深色", null, 0, 10).isEmpty());
+        assertEquals(1, index.search("agents/", "friday", null, 0, 10).size());
+
+        index.catchUp("agents/", Map.of());
+        assertTrue(index.search("agents/", "friday", null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void catchUp_readsLargeTailsInChunksAcrossLongLines() throws Exception {
+        SessionSearchIndex index = SessionSearchIndex.forWorkspace(workspace);
+        Path log = workspace.resolve(A_LOG);
+        Files.createDirectories(log.getParent());
+        StringBuilder lines = new StringBuilder();
+        String filler = "word ".repeat(SessionSearchIndex.TAIL_CHUNK_BYTES / 5);
+        lines.append(line(message("m1", "USER", "alpha " + filler, "2026-03-01T10:00:00Z")));
+        lines.append(line(message("m2", "USER", "beta " + filler, "2026-03-01T10:01:00Z")));
+        lines.append(line(message("m3", "USER", "gamma", "2026-03-01T10:02:00Z")));
+        Files.writeString(log, lines, StandardCharsets.UTF_8);
+
+        index.catchUp("agents/", Map.of(A_LOG, log));
+
+        assertEquals(List.of("m1"), ids(index.search("agents/", "alpha", null, 0, 10)));
+        assertEquals(List.of("m2"), ids(index.search("agents/", "beta", null, 0, 10)));
+        assertEquals(List.of("m3"), ids(index.search("agents/", "gamma", null, 0, 10)));
+    }
+
+    @Test
+    void flush_skipsIndexingUntilWorkspaceWasSearched() {
+        SessionTree tree =
+                new SessionTree(workspace.resolve("agents/a/sessions/s1.jsonl"), workspace, null);
+        tree.append(message("m1", "USER", "alpha", "2026-03-01T10:00:00Z"));
+        tree.flush();
+        assertNull(SessionSearchIndex.ifExists(workspace));
+
+        SessionSearchIndex index = SessionSearchIndex.forWorkspace(workspace);
+        index.catchUp("agents/", Map.of(A_LOG, workspace.resolve(A_LOG)));
+        tree.append(message("m2", "USER", "alpha beta", "2026-03-01T10:01:00Z"));
+        tree.flush();
+        index.catchUp("agents/", Map.of(A_LOG, workspace.resolve(A_LOG)));
+
+        assertEquals(List.of("m1", "m2"), ids(index.search("agents/", "alpha", null, 0, 10)));
+    }
+
+    @Test
+    void agentAndSession_parsesNamespacedPaths() {
+        assertArrayEquals(
+                new String[] {"a", "s1"},
+                SessionSearchIndex.agentAndSession("user-1/agents/a/sessions/s1.log.jsonl"));
+        assertEquals(
+                "\"renew\"* OR \"tl\" OR \"用\" OR \"户\" OR \"用户\"",
+                SessionSearchIndex.toMatchExpression("Renew TL: 用户"));
+    }
+
+    private static SessionEntry.MessageEntry message(
+            String id, String role, String content, String timestamp) {
+        return new SessionEntry.MessageEntry(
+                id, null, Instant.parse(timestamp), role, content, null);
+    }
+
+    private static String line(SessionEntry entry) {
+        return JsonUtils.getJsonCodec().toJson(entry) + "\n";
+    }
+
+    private static List<String> ids(List<SessionSearchIndex.Hit> hits) {
+        return hits.stream().map(SessionSearchIndex.Hit::entryId).toList();
+    }
+}
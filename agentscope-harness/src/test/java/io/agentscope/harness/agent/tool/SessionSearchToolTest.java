@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.tool;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.agent.RuntimeContext;
+import io.agentscope.harness.agent.memory.session.SessionEntry;
+import io.agentscope.harness.agent.memory.session.SessionTree;
+import io.agentscope.harness.agent.workspace.WorkspaceManager;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SessionSearchToolTest {
+
+    @TempDir Path workspace;
+
+    @Test
+    void sessionSearch_filtersAndPages() {
+        SessionTree tree =
+                new SessionTree(workspace.resolve("agents/a/sessions/s1.jsonl"), workspace, null);
+        for (int i = 0; i < 3; i++) {
+            tree.append(
+                    new SessionEntry.MessageEntry(
+                            "u" + i,
+                            null,
+                            Instant.parse("2026-03-0" + (i + 1) + "T10:00:00Z"),
+                            "USER",
+                            "deploy step " + i,
+                            null));
+        }
+        tree.append(
+                new SessionEntry.MessageEntry(
+                        "a0",
+                        null,
+                        Instant.parse("2026-03-01T11:00:00Z"),
+                        "ASSISTANT",
+                        "deploy done",
+                        null));
+        tree.flush();
+        SessionSearchTool tool = new SessionSearchTool(new WorkspaceManager(workspace));
+        RuntimeContext rc = RuntimeContext.empty();
+
+        String firstPage = tool.sessionSearch(rc, "deploy", "a", 2, "user", null, null, null);
+        assertTrue(firstPage.startsWith("Found 2 matches"), firstPage);
+        assertTrue(firstPage.contains("offset=2"), firstPage);
+        assertFalse(firstPage.contains("ASSISTANT"), firstPage);
+
+        String lastPage = tool.sessionSearch(rc, "deploy", "a", 2, "user", null, null, 2);
+        assertTrue(lastPage.startsWith("Found 1 matches"), lastPage);
+        assertFalse(lastPage.contains("offset="), lastPage);
+
+        String day =
+                tool.sessionSearch(rc, "deploy", null, 10, null, "2026-03-01", "2026-03-01", null);
+        assertTrue(day.contains("u0") && day.contains("a0") && !day.contains("u1"), day);
+
+        assertTrue(
+                tool.sessionSearch(rc, "deploy", null, 10, null, "yesterday", null, null)
+                        .startsWith("Error"));
+    }
+
+    @Test
+    void sessionSearch_picksUpLogLinesWrittenOutsideSessionTree() throws Exception {
+        Path log = workspace.resolve("agents/b/sessions/s2.log.jsonl");
+        Files.createDirectories(log.getParent());
+        Files.writeString(
+                log,
+                "{\"type\":\"message\",\"id\":\"x1\",\"role\":\"USER\",\"content\":\"rotate the"
+                        + " keys\"}\n",
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE);
+        SessionSearchTool tool = new SessionSearchTool(new WorkspaceManager(workspace));
+
+        String result =
+                tool.sessionSearch(
+                        RuntimeContext.empty(), "keys", null, null, null, null, null, null);
+        assertTrue(
+                result.contains("[agents/b/sessions/s2.log.jsonl] x1 — [USER]: rotate the keys"),
+                result);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.agentscope.harness.agent.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.agentscope.core.agent.RuntimeContext;
+import io.agentscope.harness.agent.filesystem.local.LocalFilesystem;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MemorySearchIndexTest {
+
+    @TempDir Path workspace;
+
+    @Test
+    void tokenize_splitsWordsAndCjkBigrams() {
+        assertEquals(
+                List.of("deploy", "v2", "用", "户", "用户", "偏", "户偏", "好", "偏好"),
+                MemorySearchIndex.tokenize("Deploy-v2: 用户偏好"));
+    }
+
+    @Test
+    void search_ranksRareTermsAndMatchesPrefixes() {
+        MemorySearchIndex index = new MemorySearchIndex();
+        index.update(
+                "",
+                "memory/2026-01-01.md",
+                "- met alice about the deployment\n\n- lunch with bob\n- alice prefers tea");
+        index.update("", "MEMORY.md", "# Notes\n- bob owns deployment scripts");
+
+        List<MemorySearchIndex.Hit> hits = index.search("", "alice tea", 10);
+        assertEquals(2, hits.size());
+        assertEquals("memory/2026-01-01.md", hits.get(0).path());
+        assertEquals(4, hits.get(0).line());
+        assertEquals("- alice prefers tea", hits.get(0).text());
+
+        List<MemorySearchIndex.Hit> prefix = index.search("", "deploy", 10);
+        assertEquals(2, prefix.size());
+        assertTrue(index.search("", "xyz", 10).isEmpty());
+    }
+
+    @Test
+    void search_findsCjkWords() {
+        MemorySearchIndex index = new MemorySearchIndex();
+        index.update("", "MEMORY.md", "- 用户偏好深色主题\n- 项目截止日期是周五");
+
+        List<MemorySearchIndex.Hit> hits = index.search("", "截止日期", 10);
+        assertEquals(2, hits.get(0).line());
+    }
+
+    @Test
+    void refresh_readsOnlyNewOrChangedFiles() {
+        MemorySearchIndex index = new MemorySearchIndex();
+        Map<String, String> contents = new LinkedHashMap<>();
+        contents.put("MEMORY.md", "- coffee order is flat white");
+        contents.put("memory/a.md", "- standup at nine");
+        List<String> reads = new ArrayList<>();
+        Map<String, String> listing = new LinkedHashMap<>();
+        listing.put("MEMORY.md", "1@t1");
+        listing.put("memory/a.md", "1@t1");
+
+        index.refresh("", listing, p -> record(reads, contents, p));
+        index.refresh("", listing, p -> record(reads, contents, p));
+        assertEquals(List.of("MEMORY.md", "memory/a.md"), reads);
+
+        contents.put("memory/a.md", "- standup moved to ten");
+        listing.put("memory/a.md", "2@t2");
+        listing.remove("MEMORY.md");
+        index.refresh("", listing, p -> record(reads, contents, p));
+
+        assertEquals(List.of("MEMORY.md", "memory/a.md", "memory/a.md"), reads);
+        assertTrue(index.search("", "coffee", 10).isEmpty());
+        assertEquals(1, index.search("", "ten", 10).size());
+        assertTrue(index.search("", "nine", 10).isEmpty());
+    }
+
+    @Test
+    void refresh_rereadsFilesWithoutFingerprintAfterRecheckInterval() {
+        AtomicLong clock = new AtomicLong();
+        MemorySearchIndex index = new MemorySearchIndex(Duration.ofSeconds(30), clock::get);
+        Map<String, String> contents = new LinkedHashMap<>();
+        contents.put("MEMORY.md", "- coffee order is flat white");
+        List<String> reads = new ArrayList<>();
+        Map<String, String> listing = new LinkedHashMap<>();
+        listing.put("MEMORY.md", null);
+
+        index.update("", "MEMORY.md", contents.get("MEMORY.md"));
+        contents.put("MEMORY.md", "- coffee order is oat latte");
+        index.refresh("", listing, p -> record(reads, contents, p));
+        assertTrue(reads.isEmpty());
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        index.refresh("", listing, p -> record(reads, contents, p));
+        index.refresh("", listing, p -> record(reads, contents, p));
+
+        assertEquals(List.of("MEMORY.md"), reads);
+        assertTrue(index.search("", "white", 10).isEmpty());
+        assertEquals(1, index.search("", "latte", 10).size());
+
+        // Once the listing reports a fingerprint it is adopted and unchanged files are not read
+        listing.put("MEMORY.md", "v7");
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        index.refresh("", listing, p -> record(reads, contents, p));
+        index.refresh("", listing, p -> record(reads, contents, p));
+        assertEquals(1, reads.size());
+    }
+
+    @Test
+    void workspaceManager_indexesMemoryWritesAndExternalEdits() throws Exception {
+        try (WorkspaceManager manager =
+                new WorkspaceManager(workspace, new LocalFilesystem(workspace))) {
+            RuntimeContext rc = RuntimeContext.empty();
+            manager.appendUtf8WorkspaceRelative(
+                    rc, "memory/2026-02-03.md", "- renewed the TLS certificate\n");
+            manager.writeUtf8WorkspaceRelative(rc, "MEMORY.md", "- prefers concise answers\n");
+
+            assertEquals(
+                    "memory/2026-02-03.md",
+                    manager.searchMemory(rc, "certificate", 5).get(0).path());
+            assertEquals("MEMORY.md", manager.searchMemory(rc, "concise", 5).get(0).path());
+
+            // An edit that bypasses the manager is picked up from the changed size/mtime
+            Files.writeString(
+                    workspace.resolve("MEMORY.md"),
+                    "- prefers detailed answers with examples\n",
+                    StandardCharsets.UTF_8);
+            assertTrue(manager.searchMemory(rc, "concise", 5).isEmpty());
+            assertEquals(1, manager.searchMemory(rc, "examples", 5).size());
+        }
+    }
+
+    private static String record(List<String> reads, Map<String, String> contents, String path) {
+        reads.add(path);
+        return contents.get(path);
+    }
+}